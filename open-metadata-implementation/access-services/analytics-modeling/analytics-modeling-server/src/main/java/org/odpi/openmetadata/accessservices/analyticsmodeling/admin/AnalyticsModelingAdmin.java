@@ -82,6 +82,15 @@ public class AnalyticsModelingAdmin extends AccessServiceAdmin
             List<String> supportedZones = this.extractSupportedZones(accessServiceConfig.getAccessServiceOptions(),
                     accessServiceConfig.getAccessServiceName(), auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.ANALYTICS_MODELING_OMAS.getAccessServiceFullName(),
+                                    enterpriseConnector.getServerName(),
+                                    enterpriseOMRSTopicConnector,
+                                    auditLog);
+
             instance = new AnalyticsModelingServicesInstance(enterpriseConnector, supportedZones,
                     auditLog, serverUserName,  enterpriseConnector.getMaxPageSize());
 
@@ -157,6 +166,8 @@ public class AnalyticsModelingAdmin extends AccessServiceAdmin
         {
             instance.shutdown();
         }
+
+        super.removeAnchorCache(AccessServiceDescription.ANALYTICS_MODELING_OMAS.getAccessServiceFullName(), serverName);
         
         auditLog.logMessage(actionDescription, AnalyticsModelingAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
@@ -63,6 +63,15 @@ public class AssetConsumerAdmin extends AccessServiceAdmin
                                                                       accessServiceConfig.getAccessServiceName(),
                                                                       auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.ASSET_CONSUMER_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    omrsTopicConnector,
+                                    auditLog);
+
             this.instance = new AssetConsumerServicesInstance(repositoryConnector,
                                                               supportedZones,
                                                               auditLog,
@@ -127,6 +136,8 @@ public class AssetConsumerAdmin extends AccessServiceAdmin
             this.instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.ASSET_CONSUMER_OMAS.getAccessServiceFullName(), serverName);
+
         auditLog.logMessage(actionDescription, AssetConsumerAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
 }
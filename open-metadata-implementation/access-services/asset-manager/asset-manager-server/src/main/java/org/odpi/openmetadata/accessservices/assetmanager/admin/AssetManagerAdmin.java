@@ -83,6 +83,15 @@ public class AssetManagerAdmin extends AccessServiceAdmin
                                                                  accessServiceConfig.getAccessServiceName(),
                                                                  auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.ASSET_MANAGER_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    omrsTopicConnector,
+                                    auditLog);
+
             this.instance   = new AssetManagerServicesInstance(repositoryConnector,
                                                                supportedZones,
                                                                defaultZones,
@@ -182,6 +191,8 @@ public class AssetManagerAdmin extends AccessServiceAdmin
             instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.ASSET_MANAGER_OMAS.getAccessServiceFullName(), serverName);
+
         auditLog.logMessage(actionDescription, AssetManagerAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
 }
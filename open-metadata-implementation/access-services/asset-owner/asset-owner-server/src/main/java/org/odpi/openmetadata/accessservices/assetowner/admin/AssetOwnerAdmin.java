@@ -69,6 +69,15 @@ public class AssetOwnerAdmin extends AccessServiceAdmin
                                                                  accessServiceConfig.getAccessServiceName(),
                                                                  auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.ASSET_OWNER_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    omrsTopicConnector,
+                                    auditLog);
+
             this.instance = new AssetOwnerServicesInstance(repositoryConnector,
                                                            supportedZones,
                                                            defaultZones,
@@ -113,6 +122,8 @@ public class AssetOwnerAdmin extends AccessServiceAdmin
             this.instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.ASSET_OWNER_OMAS.getAccessServiceFullName(), serverName);
+
         auditLog.logMessage(actionDescription, AssetOwnerAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
 }
@@ -84,6 +84,15 @@ public class CommunityProfileAdmin extends AccessServiceAdmin
                                                                    accessServiceConfig.getAccessServiceName(),
                                                                    auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.COMMUNITY_PROFILE_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    omrsTopicConnector,
+                                    auditLog);
+
             /*
              * The instance is used to support REST API calls to this server instance.  It is given the
              * OutTopic connection for the client so that the client can query it to connect to the right
@@ -175,6 +184,8 @@ public class CommunityProfileAdmin extends AccessServiceAdmin
             this.instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.COMMUNITY_PROFILE_OMAS.getAccessServiceFullName(), serverName);
+
         auditLog.logMessage(actionDescription, CommunityProfileAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
 }
@@ -61,6 +61,15 @@ public class DataEngineAdmin extends AccessServiceAdmin {
             List<String> defaultZones = this.extractDefaultZones(accessServiceConfig.getAccessServiceOptions(),
                     accessServiceConfig.getAccessServiceName(), auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.DATA_ENGINE_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    enterpriseOMRSTopicConnector,
+                                    auditLog);
+
             instance = new DataEngineServicesInstance(repositoryConnector, supportedZones, defaultZones, auditLog, serverUserName,
                     repositoryConnector.getMaxPageSize(),
                     super.getOutTopicConnection(accessServiceConfig.getAccessServiceInTopic(),
@@ -104,6 +113,8 @@ public class DataEngineAdmin extends AccessServiceAdmin {
             instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.DATA_ENGINE_OMAS.getAccessServiceFullName(), serverName);
+
         if (auditLog != null) {
             final String actionDescription = "shutdown";
 
@@ -19,7 +19,6 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
-
 import java.util.List;
 
 /**
@@ -80,6 +79,15 @@ public class DataManagerAdmin extends AccessServiceAdmin
                                                                  accessServiceConfig.getAccessServiceName(),
                                                                  auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.DATA_MANAGER_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    omrsTopicConnector,
+                                    auditLog);
+
             this.instance   = new DataManagerServicesInstance(repositoryConnector,
                                                                supportedZones,
                                                                defaultZones,
@@ -166,7 +174,8 @@ public class DataManagerAdmin extends AccessServiceAdmin
             instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.DATA_MANAGER_OMAS.getAccessServiceFullName(), serverName);
+
         auditLog.logMessage(actionDescription, DataManagerAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
 }
-
@@ -70,6 +70,15 @@ public class DigitalArchitectureAdmin extends AccessServiceAdmin
                                                                       accessServiceConfig.getAccessServiceName(),
                                                                       auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.DIGITAL_ARCHITECTURE_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    omrsTopicConnector,
+                                    auditLog);
+
             this.instance = new DigitalArchitectureServicesInstance(repositoryConnector,
                                                                     supportedZones,
                                                                     defaultZones,
@@ -134,6 +143,8 @@ public class DigitalArchitectureAdmin extends AccessServiceAdmin
             this.instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.DIGITAL_ARCHITECTURE_OMAS.getAccessServiceFullName(), serverName);
+
         auditLog.logMessage(actionDescription, DigitalArchitectureAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
 }
@@ -77,6 +77,15 @@ public class DiscoveryEngineAdmin extends AccessServiceAdmin
                                                                    accessServiceConfig.getAccessServiceName(),
                                                                    auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.DISCOVERY_ENGINE_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    omrsTopicConnector,
+                                    auditLog);
+
             /*
              * The instance is used to support REST API calls to this server instance.  It is given the
              * OutTopic connection for the client so that the client can query it to connect to the right
@@ -138,6 +147,8 @@ public class DiscoveryEngineAdmin extends AccessServiceAdmin
             this.instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.DISCOVERY_ENGINE_OMAS.getAccessServiceFullName(), serverName);
+
         auditLog.logMessage(actionDescription, DiscoveryEngineAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
 }
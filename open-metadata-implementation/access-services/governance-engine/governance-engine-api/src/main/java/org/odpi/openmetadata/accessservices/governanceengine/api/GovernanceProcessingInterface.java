@@ -155,6 +155,23 @@ public interface GovernanceProcessingInterface
                                                                    PropertyServerException;
 
 
+    /**
+     * Hand back a governance action that the caller has claimed but is not able to run.  The governance action
+     * is set back to APPROVED so it can be claimed again.
+     *
+     * @param userId identifier of calling user
+     * @param governanceActionGUID identifier of the governance action request.
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException the governance action is not claimed by the caller.
+     * @throws PropertyServerException there was a problem detected by the metadata store.
+     */
+    void releaseGovernanceAction(String userId,
+                                 String governanceActionGUID) throws InvalidParameterException,
+                                                                     UserNotAuthorizedException,
+                                                                     PropertyServerException;
+
+
     /**
      * Retrieve the governance actions that are known to the server.
      *
@@ -1542,6 +1542,40 @@ public class GovernanceEngineClient implements MetadataElementInterface, Governa
 
 
 
+    /**
+     * Hand back a governance action that the caller has claimed but is not able to run.  The governance action
+     * is set back to APPROVED so it can be claimed again.
+     *
+     * @param userId identifier of calling user
+     * @param governanceActionGUID identifier of the governance action request.
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException the governance action is not claimed by the caller.
+     * @throws PropertyServerException there was a problem detected by the metadata store.
+     */
+    @Override
+    public void releaseGovernanceAction(String userId,
+                                        String governanceActionGUID) throws InvalidParameterException,
+                                                                            UserNotAuthorizedException,
+                                                                            PropertyServerException
+    {
+        final String methodName = "releaseGovernanceAction";
+        final String guidParameterName = "governanceActionGUID";
+        final String urlTemplate = "/servers/{0}/open-metadata/access-services/governance-engine/users/{1}/governance-actions/{2}/release";
+
+        invalidParameterHandler.validateUserId(userId, methodName);
+        invalidParameterHandler.validateGUID(governanceActionGUID, guidParameterName, methodName);
+
+        restClient.callVoidPostRESTCall(methodName,
+                                        serverPlatformURLRoot + urlTemplate,
+                                        nullRequestBody,
+                                        serverName,
+                                        userId,
+                                        governanceActionGUID);
+    }
+
+
+
 
     /**
      * Retrieve the governance actions known to the server.
@@ -74,6 +74,15 @@ public class GovernanceEngineAdmin extends AccessServiceAdmin
                                                                    accessServiceConfig.getAccessServiceName(),
                                                                    auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.GOVERNANCE_ENGINE_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    omrsTopicConnector,
+                                    auditLog);
+
             /*
              * The instance is used to support REST API calls to this server instance.  It is given the
              * OutTopic connection for the client so that the client can query it to connect to the right
@@ -169,6 +178,8 @@ public class GovernanceEngineAdmin extends AccessServiceAdmin
             this.instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.GOVERNANCE_ENGINE_OMAS.getAccessServiceFullName(), serverName);
+
         if (this.eventPublisher != null)
         {
             this.eventPublisher.disconnect();
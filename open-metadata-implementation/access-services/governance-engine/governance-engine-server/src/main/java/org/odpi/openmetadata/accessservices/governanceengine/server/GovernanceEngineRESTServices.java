@@ -1739,6 +1739,53 @@ public class GovernanceEngineRESTServices
     }
 
 
+
+    /**
+     * Hand back a governance action that the caller has claimed but is not able to run.  The governance action
+     * is set back to APPROVED so it can be claimed again.
+     *
+     * @param serverName     name of server instance to route request to
+     * @param userId identifier of calling user
+     * @param governanceActionGUID identifier of the governance action request.
+     * @param requestBody null request body
+     *
+     * @return void or
+     *
+     *  InvalidParameterException one of the parameters is null or invalid.
+     *  UserNotAuthorizedException the governance action is not claimed by the caller.
+     *  PropertyServerException there was a problem detected by the metadata store.
+     */
+    @SuppressWarnings(value = "unused")
+    public VoidResponse releaseGovernanceAction(String          serverName,
+                                                String          userId,
+                                                String          governanceActionGUID,
+                                                NullRequestBody requestBody)
+    {
+        final String methodName = "releaseGovernanceAction";
+
+        RESTCallToken token = restCallLogger.logRESTCall(serverName, userId, methodName);
+
+        AuditLog auditLog = null;
+        VoidResponse response = new VoidResponse();
+
+        try
+        {
+            auditLog = instanceHandler.getAuditLog(userId, serverName, methodName);
+
+            GovernanceActionHandler<GovernanceActionElement> handler = instanceHandler.getGovernanceActionHandler(userId, serverName, methodName);
+
+            handler.releaseGovernanceAction(userId, governanceActionGUID, new Date(), methodName);
+        }
+        catch (Exception error)
+        {
+            restExceptionHandler.captureExceptions(response, error, methodName, auditLog);
+        }
+
+        restCallLogger.logRESTCallReturn(token, response.toString());
+        return response;
+    }
+
+
     /**
      * Retrieve the governance actions that are known to the server.
      *
@@ -824,6 +824,33 @@ public class GovernanceEngineOMASResource
     }
 
 
+
+    /**
+     * Hand back a governance action that the caller has claimed but is not able to run.  The governance action
+     * is set back to APPROVED so it can be claimed again.
+     *
+     * @param serverName     name of server instance to route request to
+     * @param userId identifier of calling user
+     * @param governanceActionGUID identifier of the governance action request.
+     * @param requestBody null request body
+     *
+     * @return void or
+     *
+     *  InvalidParameterException one of the parameters is null or invalid.
+     *  UserNotAuthorizedException the governance action is not claimed by the caller.
+     *  PropertyServerException there was a problem detected by the metadata store.
+     */
+    @PostMapping(path = "/governance-actions/{governanceActionGUID}/release")
+
+    public VoidResponse releaseGovernanceAction(@PathVariable                  String          serverName,
+                                                @PathVariable                  String          userId,
+                                                @PathVariable                  String          governanceActionGUID,
+                                                @RequestBody(required = false) NullRequestBody requestBody)
+    {
+        return restAPI.releaseGovernanceAction(serverName, userId, governanceActionGUID, requestBody);
+    }
+
+
     /**
      * Retrieve the governance actions that are known to the server.
      *
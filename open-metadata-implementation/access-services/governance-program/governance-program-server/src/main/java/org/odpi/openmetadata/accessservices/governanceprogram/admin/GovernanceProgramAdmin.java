@@ -57,6 +57,16 @@ public class GovernanceProgramAdmin extends AccessServiceAdmin
         {
             this.auditLog = auditLog;
             this.repositoryConnector = enterpriseOMRSRepositoryConnector;
+
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.GOVERNANCE_PROGRAM_OMAS.getAccessServiceFullName(),
+                                    enterpriseOMRSRepositoryConnector.getServerName(),
+                                    enterpriseOMRSTopicConnector,
+                                    auditLog);
+
             this.instance = new GovernanceProgramServicesInstance(repositoryConnector,
                                                                   auditLog,
                                                                   serverUserName,
@@ -98,6 +108,8 @@ public class GovernanceProgramAdmin extends AccessServiceAdmin
             this.instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.GOVERNANCE_PROGRAM_OMAS.getAccessServiceFullName(), serverName);
+
         auditLog.logMessage(actionDescription, GovernanceProgramAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
 }
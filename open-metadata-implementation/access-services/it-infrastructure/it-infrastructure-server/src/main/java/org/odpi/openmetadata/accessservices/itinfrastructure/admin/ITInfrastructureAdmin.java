@@ -62,6 +62,15 @@ public class ITInfrastructureAdmin extends AccessServiceAdmin
                                                                       accessServiceConfig.getAccessServiceName(),
                                                                       auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.IT_INFRASTRUCTURE_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    omrsTopicConnector,
+                                    auditLog);
+
             this.instance = new ITInfrastructureServicesInstance(repositoryConnector,
                                                                  supportedZones,
                                                                  auditLog,
@@ -124,6 +133,8 @@ public class ITInfrastructureAdmin extends AccessServiceAdmin
             this.instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.IT_INFRASTRUCTURE_OMAS.getAccessServiceFullName(), serverName);
+
         auditLog.logMessage(actionDescription, ITInfrastructureAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
 }
@@ -84,6 +84,15 @@ public class SecurityManagerAdmin extends AccessServiceAdmin
                                                                  accessServiceConfig.getAccessServiceName(),
                                                                  auditLog);
 
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.SECURITY_MANAGER_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    omrsTopicConnector,
+                                    auditLog);
+
             this.instance   = new SecurityManagerServicesInstance(repositoryConnector,
                                                                supportedZones,
                                                                defaultZones,
@@ -194,6 +203,8 @@ public class SecurityManagerAdmin extends AccessServiceAdmin
             instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.SECURITY_MANAGER_OMAS.getAccessServiceFullName(), serverName);
+
         auditLog.logMessage(actionDescription, SecurityManagerAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
 }
@@ -53,6 +53,15 @@ public class SubjectAreaAdmin extends AccessServiceAdmin {
         this.auditLog = auditLog;
 
         try {
+            /*
+             * The anchor cache must be in place before the handlers are created by the instance.
+             */
+            super.createAnchorCache(accessServiceConfig.getAccessServiceOptions(),
+                                    AccessServiceDescription.SUBJECT_AREA_OMAS.getAccessServiceFullName(),
+                                    repositoryConnector.getServerName(),
+                                    omrsTopicConnector,
+                                    auditLog);
+
             this.instance = new SubjectAreaServicesInstance(repositoryConnector,
                                                             auditLog,
                                                             serverUserName,
@@ -105,6 +114,8 @@ public class SubjectAreaAdmin extends AccessServiceAdmin {
             this.instance.shutdown();
         }
 
+        super.removeAnchorCache(AccessServiceDescription.SUBJECT_AREA_OMAS.getAccessServiceFullName(), serverName);
+
         auditLog.logMessage(actionDescription, SubjectAreaAuditCode.SERVICE_SHUTDOWN.getMessageDefinition(serverName));
     }
 }
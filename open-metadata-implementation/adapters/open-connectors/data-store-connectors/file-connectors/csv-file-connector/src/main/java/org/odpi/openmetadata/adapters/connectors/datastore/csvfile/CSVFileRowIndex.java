@@ -0,0 +1,450 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * CSVFileRowIndex provides random access to the rows of a CSV file.  It records the byte offset of every
+ * rowsPerIndexEntry'th row so that a row is located by jumping to the nearest preceding recorded offset and
+ * skipping at most rowsPerIndexEntry - 1 lines.  This keeps the index small (a few megabytes for a multi-gigabyte file)
+ * while each read touches only the bytes near the requested row.
+ * <p>
+ *     The index is built on first use with a single sequential pass over the file.  For large files it is saved
+ *     beside the file (with the suffix ".rowindex") so that later connector instances can reuse it.  The saved index
+ *     records the length and last modified time of the file, and the index is rebuilt whenever either of these change.
+ *     If the index can not be saved (for example, the directory is read only) it is simply held in memory.
+ * </p>
+ * <p>
+ *     Rows are read through a memory-mapped window onto the file that is moved as the reads progress.  Rows
+ *     are separated by a new line character and a trailing carriage return is removed.  Blank lines at the
+ *     end of the file are not counted as rows.
+ * </p>
+ */
+class CSVFileRowIndex
+{
+    static final String indexFileSuffix   = ".rowindex";
+    static final int    rowsPerIndexEntry = 64;
+
+    private static final long indexFileMagicNumber = 0x4353565277496478L;
+    private static final int  indexFileVersion     = 1;
+    private static final int  mappedWindowSize     = 64 * 1024 * 1024;
+    private static final int  scanBufferSize       = 1024 * 1024;
+
+    private static final Logger log = LoggerFactory.getLogger(CSVFileRowIndex.class);
+
+    private final File    dataFile;
+    private final File    indexFile;
+    private final Charset charset;
+    private final long    minimumSavedFileSize;
+
+    /*
+     * Details of the file when the index was built.
+     */
+    private long   fileLength    = -1;
+    private long   lastModified  = -1;
+    private long   rowCount      = 0;
+    private long[] entryOffsets  = null;
+
+    /*
+     * The current memory-mapped window onto the file.
+     */
+    private MappedByteBuffer window      = null;
+    private long             windowStart = 0;
+
+
+    /**
+     * Constructor
+     *
+     * @param dataFile CSV file to index
+     * @param charset character set of the file
+     * @param minimumSavedFileSize files smaller than this are indexed in memory only
+     */
+    CSVFileRowIndex(File    dataFile,
+                    Charset charset,
+                    long    minimumSavedFileSize)
+    {
+        this.dataFile             = dataFile;
+        this.indexFile            = new File(dataFile.getPath() + indexFileSuffix);
+        this.charset              = charset;
+        this.minimumSavedFileSize = minimumSavedFileSize;
+    }
+
+
+    /**
+     * Return the number of rows in the file.
+     *
+     * @return row count
+     * @throws IOException unable to read the file
+     */
+    synchronized long getRowCount() throws IOException
+    {
+        validateIndex();
+
+        return rowCount;
+    }
+
+
+    /**
+     * Return the unparsed contents of a sequence of rows.  Fewer rows are returned if the file ends first.
+     *
+     * @param firstRow number of the first row to return - the first row in the file is row 0
+     * @param maxRows maximum number of rows to return
+     * @return list of rows - empty if the first row is beyond the end of the file
+     * @throws IOException unable to read the file
+     */
+    synchronized List<String> readRows(long firstRow,
+                                       int  maxRows) throws IOException
+    {
+        validateIndex();
+
+        List<String> rows = new ArrayList<>();
+
+        if ((firstRow < 0) || (firstRow >= rowCount))
+        {
+            return rows;
+        }
+
+        long lastRow  = Math.min(rowCount, firstRow + maxRows);
+        long row      = (firstRow / rowsPerIndexEntry) * rowsPerIndexEntry;
+        long position = entryOffsets[(int)(firstRow / rowsPerIndexEntry)];
+
+        while (row < lastRow)
+        {
+            long rowEnd = findRowEnd(position);
+
+            if (row >= firstRow)
+            {
+                rows.add(decodeRow(position, rowEnd));
+            }
+
+            position = rowEnd + 1;
+            row ++;
+        }
+
+        return rows;
+    }
+
+
+    /**
+     * Release the memory-mapped window.
+     */
+    synchronized void close()
+    {
+        window = null;
+    }
+
+
+    /**
+     * Ensure the index matches the current contents of the file.  The index is loaded from the saved index file
+     * if it is still valid, otherwise it is rebuilt from the file.
+     *
+     * @throws IOException unable to read the file
+     */
+    private void validateIndex() throws IOException
+    {
+        long currentLength       = dataFile.length();
+        long currentLastModified = dataFile.lastModified();
+
+        if ((entryOffsets != null) && (currentLength == fileLength) && (currentLastModified == lastModified))
+        {
+            return;
+        }
+
+        window = null;
+
+        if (! loadIndex(currentLength, currentLastModified))
+        {
+            /*
+             * If the file changes while it is being indexed, it is indexed again.  If it is still changing,
+             * the index is used as it is and is rebuilt on the next request.
+             */
+            if ((buildIndex()) || (buildIndex()))
+            {
+                if (fileLength >= minimumSavedFileSize)
+                {
+                    saveIndex();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Load the saved index if it matches the file.
+     *
+     * @param currentLength length of the file
+     * @param currentLastModified last modified time of the file
+     * @return true if the index was loaded
+     */
+    private boolean loadIndex(long currentLength,
+                              long currentLastModified)
+    {
+        if (! indexFile.isFile())
+        {
+            return false;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile))))
+        {
+            if ((input.readLong() != indexFileMagicNumber) ||
+                (input.readInt() != indexFileVersion) ||
+                (input.readInt() != rowsPerIndexEntry) ||
+                (input.readLong() != currentLength) ||
+                (input.readLong() != currentLastModified))
+            {
+                log.debug("Index file " + indexFile.getPath() + " is out of date");
+
+                Files.deleteIfExists(indexFile.toPath());
+                return false;
+            }
+
+            long   savedRowCount     = input.readLong();
+            long[] savedEntryOffsets = new long[input.readInt()];
+
+            for (int i = 0; i < savedEntryOffsets.length; i++)
+            {
+                savedEntryOffsets[i] = input.readLong();
+            }
+
+            this.fileLength   = currentLength;
+            this.lastModified = currentLastModified;
+            this.rowCount     = savedRowCount;
+            this.entryOffsets = savedEntryOffsets;
+
+            return true;
+        }
+        catch (IOException error)
+        {
+            log.debug("Unable to load index file " + indexFile.getPath() + ": " + error.getMessage());
+
+            indexFile.delete();
+            return false;
+        }
+    }
+
+
+    /**
+     * Build the index with a sequential pass over the file.
+     *
+     * @return false if the file changed while it was being indexed (the index is still set up from the contents read)
+     * @throws IOException unable to read the file
+     */
+    private boolean buildIndex() throws IOException
+    {
+        long   startLength       = dataFile.length();
+        long   startLastModified = dataFile.lastModified();
+        long[] offsets           = new long[16];
+        int    offsetCount       = 1;
+        long   currentRow        = 0;
+        long   lastContentRow    = -1;
+        long   position          = 0;
+
+        boolean rowHasContent = false;
+
+        try (FileChannel channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ))
+        {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(scanBufferSize);
+
+            while (channel.read(buffer) > 0)
+            {
+                buffer.flip();
+
+                while (buffer.hasRemaining())
+                {
+                    byte character = buffer.get();
+
+                    position ++;
+
+                    if (character == '\n')
+                    {
+                        if (rowHasContent)
+                        {
+                            lastContentRow = currentRow;
+                            rowHasContent  = false;
+                        }
+
+                        currentRow ++;
+
+                        if (currentRow % rowsPerIndexEntry == 0)
+                        {
+                            if (offsetCount == offsets.length)
+                            {
+                                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                            }
+
+                            offsets[offsetCount ++] = position;
+                        }
+                    }
+                    else if ((character != ' ') && (character != '\t') && (character != '\r') && (character != '\f'))
+                    {
+                        rowHasContent = true;
+                    }
+                }
+
+                buffer.clear();
+            }
+        }
+
+        if (rowHasContent)
+        {
+            lastContentRow = currentRow;
+        }
+
+        this.fileLength   = position;
+        this.lastModified = startLastModified;
+        this.rowCount     = lastContentRow + 1;
+        this.entryOffsets = Arrays.copyOf(offsets, (int)((rowCount + rowsPerIndexEntry - 1) / rowsPerIndexEntry));
+
+        return (position == startLength) && (dataFile.length() == startLength) && (dataFile.lastModified() == startLastModified);
+    }
+
+
+    /**
+     * Save the index beside the file.  The index is written to a temporary file that is then renamed so that
+     * other connectors never see a partial index.  Failures are ignored since the index can be rebuilt.
+     */
+    private void saveIndex()
+    {
+        File temporaryFile = new File(indexFile.getPath() + ".tmp");
+
+        try
+        {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile))))
+            {
+                output.writeLong(indexFileMagicNumber);
+                output.writeInt(indexFileVersion);
+                output.writeInt(rowsPerIndexEntry);
+                output.writeLong(fileLength);
+                output.writeLong(lastModified);
+                output.writeLong(rowCount);
+                output.writeInt(entryOffsets.length);
+
+                for (long entryOffset : entryOffsets)
+                {
+                    output.writeLong(entryOffset);
+                }
+            }
+
+            Files.move(temporaryFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException | SecurityException error)
+        {
+            log.debug("Unable to save index file " + indexFile.getPath() + ": " + error.getMessage());
+
+            temporaryFile.delete();
+        }
+    }
+
+
+    /**
+     * Return the position of the new line character that ends the row starting at the supplied position
+     * (or the end of the file if the last row has no new line).
+     *
+     * @param rowStart position of the start of the row
+     * @return position of the end of the row
+     * @throws IOException unable to read the file
+     */
+    private long findRowEnd(long rowStart) throws IOException
+    {
+        long position = rowStart;
+
+        while (position < fileLength)
+        {
+            if ((window == null) || (position < windowStart) || (position >= windowStart + window.limit()))
+            {
+                mapWindow(position, 0);
+            }
+
+            for (int i = (int)(position - windowStart); i < window.limit(); i++)
+            {
+                if (window.get(i) == '\n')
+                {
+                    return windowStart + i;
+                }
+            }
+
+            position = windowStart + window.limit();
+        }
+
+        return fileLength;
+    }
+
+
+    /**
+     * Return the contents of a row without its line ending.
+     *
+     * @param rowStart position of the start of the row
+     * @param rowEnd position of the end of the row
+     * @return row contents
+     * @throws IOException unable to read the file
+     */
+    private String decodeRow(long rowStart,
+                             long rowEnd) throws IOException
+    {
+        int rowLength = (int)(rowEnd - rowStart);
+
+        if ((window == null) || (rowStart < windowStart) || (rowEnd > windowStart + window.limit()))
+        {
+            mapWindow(rowStart, rowLength);
+        }
+
+        byte[] rowBytes = new byte[rowLength];
+        int    offset   = (int)(rowStart - windowStart);
+
+        for (int i = 0; i < rowLength; i++)
+        {
+            rowBytes[i] = window.get(offset + i);
+        }
+
+        if ((rowLength > 0) && (rowBytes[rowLength - 1] == '\r'))
+        {
+            rowLength --;
+        }
+
+        return new String(rowBytes, 0, rowLength, charset);
+    }
+
+
+    /**
+     * Map a window onto the file starting at the requested position.  The mapping remains valid after the
+     * channel is closed.
+     *
+     * @param start position in the file of the start of the window
+     * @param minimumSize the window must include at least this number of bytes (if the file is long enough)
+     * @throws IOException unable to read the file
+     */
+    private void mapWindow(long start,
+                           int  minimumSize) throws IOException
+    {
+        long size = Math.min(fileLength - start, Math.max(mappedWindowSize, minimumSize));
+
+        try (FileChannel channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ))
+        {
+            window      = channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+            windowStart = start;
+        }
+    }
+}
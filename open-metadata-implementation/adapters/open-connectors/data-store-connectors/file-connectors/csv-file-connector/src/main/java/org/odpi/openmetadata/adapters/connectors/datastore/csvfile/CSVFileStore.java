@@ -8,6 +8,7 @@ import org.odpi.openmetadata.adapters.connectors.datastore.basicfile.ffdc.except
 import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.ffdc.exception.FileReadException;
 
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -42,8 +43,8 @@ public interface CSVFileStore extends BasicFileStore
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The records are counted when the file is first indexed
+     * (a single scan of the file) and the count is then reused until the file changes.
      *
      * @return count
      * @throws FileException there is a problem accessing the file
@@ -74,4 +75,31 @@ public interface CSVFileStore extends BasicFileStore
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     List<String>      readRecord(int  rowNumber) throws FileException, FileReadException;
+
+
+    /**
+     * Return a sequence of data records.  The first record is record 0.  If the first line of the file is the column
+     * names then record 0 is the line following the column names.  Fewer records are returned if the file ends
+     * before the requested number of records have been read.
+     *
+     * @param startRecordNumber number of the first record to return
+     * @param maxRecords maximum number of records to return
+     * @return list of records, each record is a list of the values from the columns.
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or read the file, or the file does not include the start record.
+     */
+    List<List<String>> readRecords(int  startRecordNumber,
+                                   int  maxRecords) throws FileException, FileReadException;
+
+
+    /**
+     * Return an iterator that steps through the data records in the file in order.  The records are read from the file
+     * in batches as the iteration proceeds so the file does not need to fit in memory.  Problems reading the file
+     * during the iteration are reported with OCFRuntimeException.
+     *
+     * @return iterator over the data records
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    Iterator<List<String>> getRecordIterator() throws FileException, FileReadException;
 }
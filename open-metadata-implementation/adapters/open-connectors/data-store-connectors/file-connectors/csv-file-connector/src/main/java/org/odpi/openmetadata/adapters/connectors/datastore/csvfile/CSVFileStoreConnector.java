@@ -7,6 +7,7 @@ import org.odpi.openmetadata.adapters.connectors.datastore.basicfile.BasicFileSt
 import org.odpi.openmetadata.adapters.connectors.datastore.basicfile.ffdc.exception.FileException;
 import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.ffdc.CSVFileConnectorErrorCode;
 import org.odpi.openmetadata.adapters.connectors.datastore.csvfile.ffdc.exception.FileReadException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFRuntimeException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.slf4j.Logger;
@@ -14,6 +15,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.*;
 
 
@@ -29,6 +31,21 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private char           delimiterChar     = ',';
     private char           quoteChar         = '"';
 
+    /*
+     * Random access index onto the rows of the file - created on first use.
+     */
+    private CSVFileRowIndex rowIndex         = null;
+
+    /*
+     * Files at least this size have their row index saved beside the file.
+     */
+    private static final long minimumSavedIndexFileSize = 16 * 1024 * 1024;
+
+    /*
+     * Number of records read from the file at a time by the record iterator.
+     */
+    private static final int  recordIteratorBatchSize   = 1000;
+
     /*
      * Variables used for logging and debug.
      */
@@ -127,8 +144,8 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The records are counted when the file is first indexed
+     * (a single scan of the file) and the count is then reused until the file changes.
      *
      * @return count
      * @throws FileException problem accessing the file
@@ -138,22 +155,18 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     {
         final String  methodName = "getRecordCount";
 
-        long    rowCount = 0;
-
-        File fileStore = getFile(methodName);
+        CSVFileRowIndex fileRowIndex = getRowIndex(methodName);
 
-        try (Scanner scanner  = new Scanner(fileStore))
+        try
         {
-            while (scanner.hasNext())
-            {
-                scanner.nextLine();
-                rowCount ++;
-            }
+            long rowCount = fileRowIndex.getRowCount();
 
             if ((rowCount > 0) && (columnNames == null))
             {
                 rowCount = rowCount - 1;
             }
+
+            return rowCount;
         }
         catch (IOException  error)
         {
@@ -164,8 +177,6 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
                                         error,
                                         fileStoreName);
         }
-
-        return rowCount;
     }
 
 
@@ -220,6 +231,58 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     }
 
 
+    /**
+     * Return a sequence of data records.  The first record is record 0.  If the first line of the file is the column
+     * names then record 0 is the line following the column names.  Fewer records are returned if the file ends
+     * before the requested number of records have been read.
+     *
+     * @param startRecordNumber number of the first record to return
+     * @param maxRecords maximum number of records to return
+     * @return list of records, each record is a list of the values from the columns.
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file, or the file does not include the start record.
+     */
+    public List<List<String>> readRecords(int  startRecordNumber,
+                                          int  maxRecords) throws FileException, FileReadException
+    {
+        final String  methodName = "readRecords";
+
+        List<List<String>> records = new ArrayList<>();
+
+        if (columnNames == null)
+        {
+            for (String row : readRows(startRecordNumber + 1, maxRecords, methodName))
+            {
+                records.add(parseRecord(row));
+            }
+        }
+        else
+        {
+            for (String row : readRows(startRecordNumber, maxRecords, methodName))
+            {
+                records.add(parseRecord(row));
+            }
+        }
+
+        return records;
+    }
+
+
+    /**
+     * Return an iterator that steps through the data records in the file in order.  The records are read from the file
+     * in batches as the iteration proceeds so the file does not need to fit in memory.  Problems reading the file
+     * during the iteration are reported with OCFRuntimeException.
+     *
+     * @return iterator over the data records
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    public Iterator<List<String>> getRecordIterator() throws FileException, FileReadException
+    {
+        return new RecordIterator(getRecordCount());
+    }
+
+
     /**
      * Return the requested row in the file.  The first record is record 0.
      *
@@ -232,32 +295,40 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private List<String>      readRow(int     recordLocation,
                                       String  methodName) throws FileException, FileReadException
     {
+        return parseRecord(readRows(recordLocation, 1, methodName).get(0));
+    }
 
-        File fileStore = super.getFile(methodName);
 
-        try (Scanner scanner = new Scanner(fileStore))
+    /**
+     * Return the unparsed contents of a sequence of rows from the file using the row index.  The first row is row 0.
+     *
+     * @param firstRowLocation location of the first row to return
+     * @param maxRows maximum number of rows to return
+     * @param methodName name of calling method
+     * @return list of rows - fewer than maxRows if the file ends first
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file, or the file does not include the first row.
+     */
+    private List<String>      readRows(int     firstRowLocation,
+                                       int     maxRows,
+                                       String  methodName) throws FileException, FileReadException
+    {
+        CSVFileRowIndex fileRowIndex = getRowIndex(methodName);
+
+        try
         {
+            List<String> rows = fileRowIndex.readRows(firstRowLocation, maxRows);
 
-            int rowCounter = 0;
-            while (scanner.hasNext())
+            if (rows.isEmpty())
             {
-                if (rowCounter == recordLocation)
-                {
-                    return parseRecord(scanner.nextLine());
-                }
-                else
-                {
-                    scanner.nextLine();
-                }
-                rowCounter ++;
+                throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
+                                                                                                          Integer.toString(firstRowLocation)),
+                                            this.getClass().getName(),
+                                            methodName,
+                                            fileStoreName);
             }
 
-            throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
-                                                                                                      Integer.toString(recordLocation)),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        fileStoreName);
-
+            return rows;
         }
         catch (IOException  error)
         {
@@ -271,6 +342,27 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     }
 
 
+    /**
+     * Return the row index for the file, creating it if necessary.  The index is built from the file the first time
+     * it is used and rebuilt if the file changes.
+     *
+     * @param methodName name of calling method
+     * @return row index
+     * @throws FileException problem accessing the file
+     */
+    private synchronized CSVFileRowIndex getRowIndex(String  methodName) throws FileException
+    {
+        File fileStore = super.getFile(methodName);
+
+        if (rowIndex == null)
+        {
+            rowIndex = new CSVFileRowIndex(fileStore, Charset.defaultCharset(), minimumSavedIndexFileSize);
+        }
+
+        return rowIndex;
+    }
+
+
     /**
      * Step through the record, character by character, extracting each column and enduring that escaped double quotes
      * and other tricks found in CSV files are handled.
@@ -369,6 +461,15 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
      */
     public void disconnect()
     {
+        synchronized (this)
+        {
+            if (rowIndex != null)
+            {
+                rowIndex.close();
+                rowIndex = null;
+            }
+        }
+
         try
         {
             super.disconnect();
@@ -380,4 +481,78 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
         log.debug("Closing Structured File Store");
     }
+
+
+    /**
+     * RecordIterator steps through the data records of the file, reading them in batches.  The number of records
+     * is fixed when the iterator is created.
+     */
+    private class RecordIterator implements Iterator<List<String>>
+    {
+        private final long               recordCount;
+        private       int                nextRecordNumber = 0;
+        private       List<List<String>> batch            = Collections.emptyList();
+        private       int                batchPosition    = 0;
+
+
+        /**
+         * Constructor
+         *
+         * @param recordCount number of records to return
+         */
+        RecordIterator(long recordCount)
+        {
+            this.recordCount = recordCount;
+        }
+
+
+        /**
+         * Return whether there are more records.
+         *
+         * @return boolean
+         */
+        @Override
+        public boolean hasNext()
+        {
+            return (batchPosition < batch.size()) || (nextRecordNumber < recordCount);
+        }
+
+
+        /**
+         * Return the next record, reading the next batch from the file if necessary.
+         *
+         * @return list of column values
+         */
+        @Override
+        public List<String> next()
+        {
+            final String methodName = "getRecordIterator.next";
+
+            if (batchPosition >= batch.size())
+            {
+                if (nextRecordNumber >= recordCount)
+                {
+                    throw new NoSuchElementException();
+                }
+
+                try
+                {
+                    batch = readRecords(nextRecordNumber, (int)Math.min(recordIteratorBatchSize, recordCount - nextRecordNumber));
+                }
+                catch (FileException | FileReadException error)
+                {
+                    throw new OCFRuntimeException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                                         error.getMessage()),
+                                                  this.getClass().getName(),
+                                                  methodName,
+                                                  error);
+                }
+
+                nextRecordNumber = nextRecordNumber + batch.size();
+                batchPosition    = 0;
+            }
+
+            return batch.get(batchPosition ++);
+        }
+    }
 }
@@ -0,0 +1,140 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.datastore.csvfile;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the row index locates the rows of a CSV file, is saved beside the file and is rebuilt when the
+ * file changes.
+ */
+public class CSVFileRowIndexTest
+{
+    private File dataFile  = null;
+    private File indexFile = null;
+
+
+    /**
+     * Create the data file.
+     *
+     * @throws Exception unable to create the file
+     */
+    @BeforeMethod
+    public void createFile() throws Exception
+    {
+        dataFile  = File.createTempFile("csv-row-index-test", ".csv");
+        indexFile = new File(dataFile.getPath() + CSVFileRowIndex.indexFileSuffix);
+
+        writeRows(1000, "\r\n");
+    }
+
+
+    /**
+     * Remove the data file and its index.
+     *
+     * @throws Exception unable to remove the files
+     */
+    @AfterMethod
+    public void removeFile() throws Exception
+    {
+        Files.deleteIfExists(dataFile.toPath());
+        Files.deleteIfExists(indexFile.toPath());
+    }
+
+
+    /**
+     * Write the data file with a header row, the requested number of data rows and some trailing blank lines.
+     *
+     * @param rowCount number of data rows
+     * @param lineEnding characters that end each line
+     * @throws Exception unable to write the file
+     */
+    private void writeRows(int    rowCount,
+                           String lineEnding) throws Exception
+    {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(dataFile), StandardCharsets.UTF_8))
+        {
+            writer.write("Id,Name,Value" + lineEnding);
+
+            for (int i = 0; i < rowCount; i++)
+            {
+                writer.write(i + ",Name " + i + "," + (i * 7) + lineEnding);
+            }
+
+            writer.write(lineEnding + "  " + lineEnding);
+        }
+    }
+
+
+    /**
+     * Validate random and sequential access to the rows.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testReadRows() throws Exception
+    {
+        CSVFileRowIndex rowIndex = new CSVFileRowIndex(dataFile, StandardCharsets.UTF_8, Long.MAX_VALUE);
+
+        assertEquals(rowIndex.getRowCount(), 1001);
+        assertEquals(rowIndex.readRows(0, 1).get(0), "Id,Name,Value");
+        assertEquals(rowIndex.readRows(64, 1).get(0), "63,Name 63,441");
+        assertEquals(rowIndex.readRows(1000, 1).get(0), "999,Name 999,6993");
+        assertTrue(rowIndex.readRows(1001, 1).isEmpty());
+
+        List<String> rows = rowIndex.readRows(990, 100);
+        assertEquals(rows.size(), 11);
+        assertEquals(rows.get(0), "989,Name 989,6923");
+
+        for (int i = 1; i <= 1000; i = i + 37)
+        {
+            assertEquals(rowIndex.readRows(i, 1).get(0), (i - 1) + ",Name " + (i - 1) + "," + ((i - 1) * 7));
+        }
+
+        assertFalse(indexFile.exists());
+    }
+
+
+    /**
+     * Validate that the index is saved, reused by a new index object and rebuilt when the file changes.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testSavedIndex() throws Exception
+    {
+        CSVFileRowIndex rowIndex = new CSVFileRowIndex(dataFile, StandardCharsets.UTF_8, 0);
+
+        assertEquals(rowIndex.getRowCount(), 1001);
+        assertTrue(indexFile.exists());
+
+        CSVFileRowIndex reloadedIndex = new CSVFileRowIndex(dataFile, StandardCharsets.UTF_8, 0);
+
+        assertEquals(reloadedIndex.getRowCount(), 1001);
+        assertEquals(reloadedIndex.readRows(500, 1).get(0), "499,Name 499,3493");
+
+        writeRows(200, "\n");
+        assertTrue(dataFile.setLastModified(dataFile.lastModified() + 10000));
+
+        assertEquals(reloadedIndex.getRowCount(), 201);
+        assertEquals(reloadedIndex.readRows(200, 1).get(0), "199,Name 199,1393");
+        assertEquals(rowIndex.getRowCount(), 201);
+
+        reloadedIndex.close();
+        rowIndex.close();
+    }
+}
@@ -101,6 +101,19 @@ public class CSVFileStoreConnectorTest
             assertTrue(columnNames.size() == columns.size());
         }
 
+        List<List<String>>     records  = connector.readRecords(0, 10000);
+        Iterator<List<String>> iterator = connector.getRecordIterator();
+
+        assertTrue(records.size() == connector.getRecordCount());
+
+        for (List<String> columns : records)
+        {
+            assertTrue(iterator.hasNext());
+            assertTrue(columns.equals(iterator.next()));
+        }
+
+        assertFalse(iterator.hasNext());
+
         try
         {
             connector.readRecord(10000);
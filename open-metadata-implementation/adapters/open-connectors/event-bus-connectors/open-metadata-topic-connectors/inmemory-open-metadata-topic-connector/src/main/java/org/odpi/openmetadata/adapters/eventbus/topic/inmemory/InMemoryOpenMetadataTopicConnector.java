@@ -52,7 +52,7 @@ public class InMemoryOpenMetadataTopicConnector extends OpenMetadataTopicConnect
 
 
     /**
-     * Sends the supplied event to the topic.
+     * Sends the supplied event to the topic and wakes the listener thread to pass it on.
      *
      * @param event  OMRSEvent object containing the event properties.
      */
@@ -60,7 +60,7 @@ public class InMemoryOpenMetadataTopicConnector extends OpenMetadataTopicConnect
     public void sendEvent(String event)
     {
         this.putEvent(event);
-
+        super.eventsAvailable();
     }
 
 
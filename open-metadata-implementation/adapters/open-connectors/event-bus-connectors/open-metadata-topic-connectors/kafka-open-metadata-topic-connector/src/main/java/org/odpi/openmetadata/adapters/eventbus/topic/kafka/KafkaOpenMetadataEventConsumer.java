@@ -9,6 +9,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ConcurrentHashMap;
@@ -16,6 +17,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.kafka.clients.consumer.CommitFailedException;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
@@ -32,6 +34,18 @@ import org.slf4j.LoggerFactory;
 /**
  * KafkaOpenMetadataEventConsumer is used to process events from kafka topic and is part of native
  * Apache Kafka event/messaging infrastructure.
+ * <p>
+ *     By default the received events are passed to the topic listeners on the connector's listener thread.
+ *     When more than one partition worker is configured, the events are passed to the listeners by a
+ *     KafkaPartitionEventDispatcher that processes the partitions concurrently while keeping the events
+ *     of each partition in order.  When auto commit is disabled, the offset committed for each partition
+ *     is the one after the last event in the unbroken run of fully processed events at the start of
+ *     its queue, so no event is committed before it, and every event before it, has been processed.
+ *     When auto commit is enabled and partition workers are in use, the offset recorded for each partition
+ *     is the one after the last event its worker has completed rather than the last event polled, so the
+ *     offsets committed when partitions are revoked, or the consumer shuts down, do not pass events that
+ *     are still queued.
+ * </p>
  */
 public class KafkaOpenMetadataEventConsumer implements Runnable
 {
@@ -43,7 +57,8 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
     private final long pollTimeout;
     private final long maxQueueSize;
 
-    private              KafkaConsumer<String, String>   consumer;
+    private              Consumer<String, String>        consumer;
+    private              KafkaPartitionEventDispatcher   partitionDispatcher = null;
     private final              String                    topicToSubscribe;
     private final              String                    localServerId;
 
@@ -64,6 +79,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
 
     private final Map<TopicPartition, OffsetAndMetadata> currentOffsets = new ConcurrentHashMap<>();
     private final Map<TopicPartition, BlockingDeque<KafkaIncomingEvent>> unprocessedEventQueues = new ConcurrentHashMap<>();
+    private final Set<TopicPartition> revokedPartitions = ConcurrentHashMap.newKeySet();
 
     private final AtomicBoolean running = new AtomicBoolean(true);
     
@@ -85,9 +101,32 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                                    Properties                                  kafkaConsumerProperties,
                                    KafkaOpenMetadataTopicConnector             connector,
                                    AuditLog                                    auditLog)
+    {
+        this(topicName, localServerId, config, kafkaConsumerProperties, new KafkaConsumer<>(kafkaConsumerProperties), connector, auditLog);
+    }
+
+
+    /**
+     * Constructor for the event consumer that is passed the Kafka consumer to use.
+     *
+     * @param topicName name of the topic to listen on.
+     * @param localServerId identifier to enable receiver to identify that an event came from this server.
+     * @param config additional properties
+     * @param kafkaConsumerProperties properties for the consumer.
+     * @param consumer Kafka consumer
+     * @param connector connector holding the inbound listeners.
+     * @param auditLog  audit log for this component.
+     */
+    KafkaOpenMetadataEventConsumer(String                                      topicName,
+                                   String                                      localServerId,
+                                   KafkaOpenMetadataEventConsumerConfiguration config,
+                                   Properties                                  kafkaConsumerProperties,
+                                   Consumer<String, String>                    consumer,
+                                   KafkaOpenMetadataTopicConnector             connector,
+                                   AuditLog                                    auditLog)
     {
         this.auditLog = auditLog;
-        this.consumer = new KafkaConsumer<>(kafkaConsumerProperties);
+        this.consumer = consumer;
         this.topicToSubscribe = topicName;
         this.consumer.subscribe(Collections.singletonList(topicToSubscribe), new HandleRebalance(auditLog));
         this.connector = connector;
@@ -109,6 +148,12 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
         this.messageProcessingStatusCheckIntervalMs = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.COMMIT_CHECK_INTERVAL_MS);
         long messageTimeoutMins = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.CONSUMER_EVENT_PROCESSING_TIMEOUT_MINS);
         this.messageProcessingTimeoutMs = messageTimeoutMins < 0 ? messageTimeoutMins : TimeUnit.MILLISECONDS.convert(messageTimeoutMins, TimeUnit.MINUTES);
+
+        int partitionWorkers = config.getIntProperty(KafkaOpenMetadataEventConsumerProperty.PARTITION_WORKERS);
+        if (partitionWorkers > 1)
+        {
+            this.partitionDispatcher = new KafkaPartitionEventDispatcher(connector, "Kafka-Consumer-" + topicName, partitionWorkers, this::eventCompleted);
+        }
     }
 
 
@@ -149,7 +194,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
             
             
                 	
-            	int nUnprocessedEvents = connector.getNumberOfUnprocessedEvents();
+            	int nUnprocessedEvents = getNumberOfQueuedEvents();
             	if (! pollRequired && nUnprocessedEvents > maxQueueSize)
             	{
             		//The connector queue is too big.  Wait until the size goes down until
@@ -177,7 +222,15 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                         try
                         {
                             addUnprocessedEvent(record.partition(), record.topic(), event);
-                            connector.distributeToListeners(event);
+
+                            if (partitionDispatcher != null)
+                            {
+                                partitionDispatcher.dispatch(new TopicPartition(record.topic(), record.partition()), record.offset(), event);
+                            }
+                            else
+                            {
+                                connector.distributeToListeners(event);
+                            }
                         }
                         catch (Exception error)
                         {
@@ -197,9 +250,17 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                     else
                     {
                         log.debug("Ignoring message with key: " + record.key() + " and value " + record.value());
+
+                        if ((isAutoCommitEnabled) && (partitionDispatcher != null))
+                        {
+                            /*
+                             * The offset is recorded once the events queued before it have been processed.
+                             */
+                            partitionDispatcher.dispatch(new TopicPartition(record.topic(), record.partition()), record.offset(), null);
+                        }
                     }
 
-                    if ( isAutoCommitEnabled) {
+                    if ( isAutoCommitEnabled && partitionDispatcher == null) {
                         /*
                          * Acknowledge receipt of message.
                          */
@@ -237,6 +298,11 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
             }
         }
 
+        if (partitionDispatcher != null)
+        {
+            partitionDispatcher.shutdown();
+        }
+
         if (consumer != null)
         {
             try
@@ -292,6 +358,24 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
         }
     }
 
+    /**
+     * Return the number of received events that are waiting to be passed to the topic listeners.
+     *
+     * @return count
+     */
+    private int getNumberOfQueuedEvents()
+    {
+        int count = connector.getNumberOfUnprocessedEvents();
+
+        if (partitionDispatcher != null)
+        {
+            count = count + partitionDispatcher.getQueuedEventCount();
+        }
+
+        return count;
+    }
+
+
     private void addUnprocessedEvent(int partition, String topic, KafkaIncomingEvent event) {
         if (isAutoCommitEnabled) {
             return;
@@ -511,54 +595,144 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
     }
 
 
-    private class HandleRebalance implements ConsumerRebalanceListener
+    /**
+     * Called when partitions are revoked from this consumer during a rebalance, or just before it is closed.
+     * It runs on the consumer thread inside poll().  The offsets of the fully processed events are committed
+     * and then the events that are still queued or in progress for the revoked partitions are forgotten -
+     * the consumer that is assigned the partitions receives them again from the committed offset.
+     *
+     * @param partitions revoked partitions
+     */
+    void partitionsRevoked(Collection<TopicPartition> partitions)
     {
-        AuditLog auditLog = null;
-        public HandleRebalance(AuditLog auditLog) {
-            this.auditLog = auditLog;
-        }
+        final String methodName = "onPartitionsRevoked.commitSync";
 
-        public void onPartitionsAssigned(Collection<TopicPartition> partitions)
+        if (partitionDispatcher != null)
         {
+            /*
+             * Events of these partitions that are in progress may complete after the offsets are committed.
+             * Their offsets must not be recorded since this consumer no longer owns the partitions.
+             */
+            synchronized (revokedPartitions)
+            {
+                revokedPartitions.addAll(partitions);
+            }
+
+            int removed = partitionDispatcher.removeEvents(partitions);
+
+            if (removed > 0)
+            {
+                log.info("Removed " + removed + " queued events for revoked partitions " + partitions);
+            }
         }
 
-        public void onPartitionsRevoked(Collection<TopicPartition> partitions)
+        if (! isAutoCommitEnabled)
         {
-            final String methodName = "onPartitionsRevoked.commitSync";
-            if( !currentOffsets.isEmpty() )
+            /*
+             * Commit the offsets of the events that have completed before the partitions are handed over.
+             */
+            checkForFullyProcessedMessages();
+
+            for (TopicPartition partition : partitions)
             {
-                log.info("Lost partitions in rebalance. Committing current offsets:" + currentOffsets);
-                try
-                {
-                    consumer.commitSync(currentOffsets);
-                } catch (WakeupException error)
+                unprocessedEventQueues.remove(partition);
+                currentOffsets.remove(partition);
+            }
+        }
+        else if ( !currentOffsets.isEmpty() )
+        {
+            log.info("Lost partitions in rebalance. Committing current offsets:" + currentOffsets);
+            try
+            {
+                consumer.commitSync(currentOffsets);
+            } catch (WakeupException error)
+            {
+                /*
+                This has occurred because a client was woken up to poll for new messages
+                and can safely be ignored.
+                 */
+            }
+            catch (CommitFailedException error )
+            {
+                /*
+                This is usually encountered during development because a debug session has prevented the kafka client
+                from honouring the heartbeat configuration.
+                 */
+                auditLog.logMessage( methodName, KafkaOpenMetadataTopicConnectorAuditCode.FAILED_TO_COMMIT_CONSUMED_EVENTS.getMessageDefinition());
+            }
+            catch (Exception error)
+            {
+                if (auditLog != null)
                 {
-                    /*
-                    This has occurred because a client was woken up to poll for new messages
-                    and can safely be ignored.
-                     */
+                    auditLog.logException(methodName,
+                            KafkaOpenMetadataTopicConnectorAuditCode.EXCEPTION_COMMITTING_OFFSETS.getMessageDefinition(error.getClass().getName(),
+                                    topicToSubscribe,
+                                    error.getMessage()),
+                            error);
                 }
-                catch (CommitFailedException error )
+
+            }
+            finally
+            {
+                for (TopicPartition partition : partitions)
                 {
-                    /*
-                    This is usually encountered during development because a debug session has prevented the kafka client
-                    from honouring the heartbeat configuration.
-                     */
-                    auditLog.logMessage( methodName, KafkaOpenMetadataTopicConnectorAuditCode.FAILED_TO_COMMIT_CONSUMED_EVENTS.getMessageDefinition());
+                    currentOffsets.remove(partition);
                 }
-                catch (Exception error)
-                {
-                    if (auditLog != null)
-                    {
-                        auditLog.logException(methodName,
-                                KafkaOpenMetadataTopicConnectorAuditCode.EXCEPTION_COMMITTING_OFFSETS.getMessageDefinition(error.getClass().getName(),
-                                        topicToSubscribe,
-                                        error.getMessage()),
-                                error);
-                    }
+            }
+        }
+    }
 
+
+    /**
+     * Called by the partition workers once an event has been passed to the listeners.  When auto commit is enabled,
+     * the offset after the event becomes the offset to commit for its partition.  The events of a partition are
+     * completed in offset order.  Offsets are not recorded for partitions that have been revoked from this consumer.
+     *
+     * @param partition partition the event was read from
+     * @param offset offset of the event
+     */
+    private void eventCompleted(TopicPartition partition,
+                                Long           offset)
+    {
+        if (isAutoCommitEnabled)
+        {
+            synchronized (revokedPartitions)
+            {
+                if (! revokedPartitions.contains(partition))
+                {
+                    currentOffsets.put(partition, new OffsetAndMetadata(offset + 1));
                 }
             }
         }
     }
+
+
+    /**
+     * Called when partitions are assigned to this consumer during a rebalance.
+     *
+     * @param partitions assigned partitions
+     */
+    void partitionsAssigned(Collection<TopicPartition> partitions)
+    {
+        revokedPartitions.removeAll(partitions);
+    }
+
+
+    private class HandleRebalance implements ConsumerRebalanceListener
+    {
+        AuditLog auditLog = null;
+        public HandleRebalance(AuditLog auditLog) {
+            this.auditLog = auditLog;
+        }
+
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions)
+        {
+            partitionsAssigned(partitions);
+        }
+
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions)
+        {
+            partitionsRevoked(partitions);
+        }
+    }
 }
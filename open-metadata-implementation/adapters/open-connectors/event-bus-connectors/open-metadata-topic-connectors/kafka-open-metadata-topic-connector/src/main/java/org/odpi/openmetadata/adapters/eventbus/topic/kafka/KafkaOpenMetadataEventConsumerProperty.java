@@ -54,7 +54,17 @@ public enum KafkaOpenMetadataEventConsumerProperty
      * used if auto commit is disabled in the Kafka consumer. 
      * 
      */
-    COMMIT_CHECK_INTERVAL_MS("commit_check_interval_ms", "5000");
+    COMMIT_CHECK_INTERVAL_MS("commit_check_interval_ms", "5000"),
+
+    /**
+     * The number of worker threads that pass the received events to the topic listeners.  Each
+     * partition of the topic is handled by one worker so the events from a partition are processed
+     * in order, while the partitions are processed concurrently.  The default of 1 passes all of
+     * the events to the listeners on the connector's single listener thread.
+     *
+     * With more than one worker, the topic listeners must be able to process events concurrently.
+     */
+    PARTITION_WORKERS("consumer_partition_workers", "1");
 
 	private final String propertyName;
 	private final String defaultValue;
@@ -13,8 +13,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * KafkaOpenMetadataEventProducer manages the sending of events on Apache Kafka.  This is done through called to
@@ -23,11 +27,18 @@ import java.util.concurrent.TimeUnit;
  * Kafka is not always running.  When this occurs, the call to publish events hangs and this is disruptive to the
  * rest of the server.  So the role of this class is to manage the sending of events in a separate thread
  * and manage the logging of errors to alert the operations team that Kafka needs restarting.
+ *
+ * Events are held in a bounded queue until the producer thread passes them to the Kafka producer.  The sends are
+ * asynchronous so that the Kafka producer can batch the events (see linger.ms, batch.size and compression.type).
+ * The number of events waiting for an acknowledgement from the broker is limited by the max_in_flight_sends property.
+ * When the queue is full, callers wait for space for up to send_queue_timeout_ms.  Events that fail with a
+ * retryable error are resent in the order they were queued, once the other events in flight have completed and
+ * before any more events are passed to the Kafka producer.  Events that were already in flight when an event failed
+ * may reach the topic ahead of it.  An event is discarded once it has been resent max_send_retries times.
+ * These settings come from the egeria_kafka_producer properties rather than the Kafka producer properties.
  */
 public class KafkaOpenMetadataEventProducer implements Runnable
 {
-    private final List<String> sendBuffer = Collections.synchronizedList(new ArrayList<>());
-
     private static final Logger log = LoggerFactory.getLogger(KafkaOpenMetadataEventProducer.class);
 
     private static final String       defaultThreadName = "KafkaProducer for topic ";
@@ -41,12 +52,30 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     private static final long recoverySleepTimeSec = 10L;
 
     private final String                          localServerId;
+    private final Properties                      producerEgeriaProperties;
     private final Properties                      producerProperties;
     private Producer<String, String>        producer = null;
 
     private KafkaOpenMetadataTopicConnector connector;
 
-    private long    messageSendCount = 0;
+    private final BlockingQueue<String>           sendQueue;
+    private final long                            sendQueueTimeout;
+    private final int                             maxInFlightSends;
+    private final Semaphore                       inFlightSends;
+    private final int                             maxSendRetries;
+
+    /*
+     * Events that failed with a retryable error, keyed by the order they were sent.
+     */
+    private final SortedMap<Long, String>         failedSends = Collections.synchronizedSortedMap(new TreeMap<>());
+    private long                                  nextSequenceNumber = 0;
+
+    private final AtomicLong messageSendCount    = new AtomicLong(0);
+    private final AtomicLong messageFailureCount = new AtomicLong(0);
+    private final AtomicLong messageRetryCount   = new AtomicLong(0);
+    private final AtomicLong lastSendLatency     = new AtomicLong(0);
+    private final AtomicLong maxSendLatency      = new AtomicLong(0);
+    private final AtomicLong totalSendLatency    = new AtomicLong(0);
 
 
     /**
@@ -55,12 +84,14 @@ public class KafkaOpenMetadataEventProducer implements Runnable
      *
      * @param topicName name of the topic to listen on.
      * @param localServerId identifier to enable receiver to identify that an event came from this server.
-     * @param producerProperties properties for the consumer.
+     * @param producerEgeriaProperties properties for this producer that are not passed to Kafka.
+     * @param producerProperties properties for the Kafka producer.
      * @param connector connector holding the inbound listeners.
      * @param auditLog  audit log for this component.
      */
     KafkaOpenMetadataEventProducer(String                          topicName,
                                    String                          localServerId,
+                                   Properties                      producerEgeriaProperties,
                                    Properties                      producerProperties,
                                    KafkaOpenMetadataTopicConnector connector,
                                    AuditLog                        auditLog)
@@ -69,9 +100,16 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         this.topicName = topicName;
         this.localServerId = localServerId;
         this.connector = connector;
+        this.producerEgeriaProperties = producerEgeriaProperties;
         this.producerProperties = producerProperties;
         this.listenerThreadName = defaultThreadName + topicName;
 
+        this.sendQueue = new ArrayBlockingQueue<>(Math.max(getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_SEND_QUEUE_SIZE), 1));
+        this.sendQueueTimeout = getIntProperty(KafkaOpenMetadataEventProducerProperty.SEND_QUEUE_TIMEOUT);
+        this.maxInFlightSends = Math.max(getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_IN_FLIGHT_SENDS), 1);
+        this.inFlightSends = new Semaphore(maxInFlightSends);
+        this.maxSendRetries = Math.max(getIntProperty(KafkaOpenMetadataEventProducerProperty.MAX_SEND_RETRIES), 1);
+
         final String           actionDescription = "new producer";
 
         auditLog.logMessage(actionDescription,
@@ -81,25 +119,52 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     }
 
 
+    /**
+     * Return the value of one of the producer's own properties.
+     *
+     * @param property property definition
+     * @return property value or its default if it is not set or not a number
+     */
+    private int getIntProperty(KafkaOpenMetadataEventProducerProperty property)
+    {
+        String value = producerEgeriaProperties.getProperty(property.getPropertyName(), property.getDefaultValue());
+
+        try
+        {
+            return Integer.parseInt(value.trim());
+        }
+        catch (NumberFormatException error)
+        {
+            return Integer.parseInt(property.getDefaultValue());
+        }
+    }
+
 
     /**
-     * Sends the supplied event to the topic.  It retries if Kafka is not responding.
+     * Create the Kafka producer.
      *
-     * @param event object containing the event properties.
-     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     * @return new producer
      */
-    private void publishEvent(String event) throws ConnectorCheckedException
+    protected Producer<String, String> createProducer()
     {
-        final String methodName = "publishEvent";
+        return new KafkaProducer<>(producerProperties);
+    }
 
-        boolean                  eventSent = false;
-        long                     eventRetryCount = 0;
+
+    /**
+     * Ensure the Kafka producer has been created.
+     *
+     * @throws ConnectorCheckedException the producer can not be created
+     */
+    private void connectProducer() throws ConnectorCheckedException
+    {
+        final String methodName = "connectProducer";
 
         if (producer == null)
         {
             try
             {
-                producer = new KafkaProducer<>(producerProperties);
+                producer = createProducer();
             }
             catch ( Exception error )
             {
@@ -114,58 +179,213 @@ public class KafkaOpenMetadataEventProducer implements Runnable
                                                     error);
             }
         }
-        while (!eventSent)
+    }
+
+
+    /**
+     * Passes the supplied event to the Kafka producer.  The send completes asynchronously.
+     * This method waits if the maximum number of events are already in flight.
+     *
+     * @param event object containing the event properties.
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     * @throws InterruptedException the thread was interrupted while waiting for an event to complete
+     */
+    private void publishEvent(String event) throws ConnectorCheckedException, InterruptedException
+    {
+        final String methodName = "publishEvent";
+
+        connectProducer();
+
+        inFlightSends.acquire();
+
+        final long sequenceNumber = nextSequenceNumber++;
+        final long startTime      = System.currentTimeMillis();
+
+        try
+        {
+            log.debug("Sending message {0}" + event);
+            ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, event);
+            producer.send(record, (metadata, error) -> sendComplete(sequenceNumber, event, startTime, error));
+        }
+        catch (Exception error)
+        {
+            inFlightSends.release();
+
+            /*
+             * The event is resent once the producer has recovered.
+             */
+            failedSends.put(sequenceNumber, event);
+
+            producer.close();
+            producer = null;
+            log.debug("Send Events Throwable catch block closed producer");
+            log.error("Exception in sendEvent " + error.toString());
+
+            throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(error.getClass().getName(),
+                                                                                                                                  topicName,
+                                                                                                                                  error.getMessage()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                error);
+        }
+    }
+
+
+    /**
+     * Called by the Kafka producer when the broker has acknowledged an event or the send has failed.
+     *
+     * @param sequenceNumber order that the event was sent
+     * @param event event that was sent
+     * @param startTime time the event was passed to the Kafka producer
+     * @param error exception or null if the event was sent
+     */
+    private void sendComplete(long      sequenceNumber,
+                              String    event,
+                              long      startTime,
+                              Exception error)
+    {
+        final String methodName = "sendComplete";
+
+        try
+        {
+            if (error == null)
+            {
+                recordSendLatency(startTime);
+            }
+            else if (isRetryable(error))
+            {
+                log.debug("Kafka had trouble sending event: " + event + "exception message is " + error.getMessage());
+
+                failedSends.put(sequenceNumber, event);
+            }
+            else
+            {
+                messageFailureCount.incrementAndGet();
+
+                log.error("Kafka rejected event: " + error.toString());
+
+                if (auditLog != null)
+                {
+                    auditLog.logMessage(methodName,
+                                        KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_FAILED.getMessageDefinition(topicName,
+                                                                                                                        error.getClass().getName(),
+                                                                                                                        error.getMessage()));
+                }
+            }
+        }
+        finally
+        {
+            inFlightSends.release();
+        }
+    }
+
+
+    /**
+     * Update the statistics for an event that has been sent.
+     *
+     * @param startTime time the event was passed to the Kafka producer
+     */
+    private void recordSendLatency(long startTime)
+    {
+        long latency = System.currentTimeMillis() - startTime;
+
+        messageSendCount.incrementAndGet();
+        lastSendLatency.set(latency);
+        maxSendLatency.accumulateAndGet(latency, Math::max);
+        totalSendLatency.addAndGet(latency);
+    }
+
+
+    /**
+     * Wait for the events in flight to complete and then resend the events that failed with a retryable error
+     * in the order they were originally sent.  Each event is sent synchronously, so the following events
+     * are not sent until it has succeeded or it has been resent max_send_retries times and discarded.
+     *
+     * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     * @throws InterruptedException the thread was interrupted while waiting
+     */
+    private void resendFailedEvents() throws ConnectorCheckedException, InterruptedException
+    {
+        final String methodName = "resendFailedEvents";
+
+        long eventRetryCount = 0;
+
+        inFlightSends.acquire(maxInFlightSends);
+        inFlightSends.release(maxInFlightSends);
+
+        while ((! failedSends.isEmpty()) && (isRunning()))
         {
+            connectProducer();
+
+            Long   sequenceNumber = failedSends.firstKey();
+            String event          = failedSends.get(sequenceNumber);
+            long   startTime      = System.currentTimeMillis();
+
             try
             {
-                log.debug("Sending message {0}" + event);
+                messageRetryCount.incrementAndGet();
+
                 ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, event);
                 producer.send(record).get();
-                eventSent = true;
-                messageSendCount++;
+
+                failedSends.remove(sequenceNumber);
+                recordSendLatency(startTime);
+                eventRetryCount = 0;
             }
             catch (ExecutionException error)
             {
                 /*
                  * This may be a simple timeout or something else more
                  */
-                log.debug("Kafka had trouble sending event: " + event + "exception message is " + error.getMessage());
+                log.debug("Kafka had trouble resending event: " + event + "exception message is " + error.getMessage());
 
                 if (!isExceptionRetryable(error))
                 {
-                    /* kafka thinks this isn't a retryable problem */
-                    /* so let the caller try */
+                    /* kafka thinks this isn't a retryable problem so discard the event */
+                    failedSends.remove(sequenceNumber);
+                    messageFailureCount.incrementAndGet();
 
-                    producer.close();
-                    producer = null;
-
-                    throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(error.getClass().getName(),
-                                                                                                                                          topicName,
-                                                                                                                                          error.getMessage()),
-                                                                                                                                          this.getClass().getName(),
-                                                                                                                                          methodName,
-                                                                                                                                          error);
+                    if (auditLog != null)
+                    {
+                        auditLog.logMessage(methodName,
+                                            KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_FAILED.getMessageDefinition(topicName,
+                                                                                                                            error.getCause().getClass().getName(),
+                                                                                                                            error.getMessage()));
+                    }
                 }
-                if (eventRetryCount == 10)
+                else if (eventRetryCount + 1 >= maxSendRetries)
                 {
-                    /* we've retried now let the caller retry */
+                    /* the event has been retried enough times so discard it and start again with a new producer */
+                    failedSends.remove(sequenceNumber);
+                    messageFailureCount.incrementAndGet();
+                    eventRetryCount = 0;
+
                     producer.close();
                     producer = null;
                     log.error("Retryable Exception closed producer ");
-                    break;
+
+                    if (auditLog != null)
+                    {
+                        auditLog.logMessage(methodName,
+                                            KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_RETRIES_EXHAUSTED.getMessageDefinition(topicName,
+                                                                                                                                       Integer.toString(maxSendRetries),
+                                                                                                                                       error.getMessage()));
+                    }
                 }
                 else
                 {
-                    if (eventRetryCount == 0)
+                    if ((eventRetryCount == 0) && (auditLog != null))
                     {
                         auditLog.logMessage(methodName,
                                             KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP.getMessageDefinition(topicName,
-                                                                                                                                   Long.toString(messageSendCount),
+                                                                                                                                   Long.toString(messageSendCount.get()),
                                                                                                                                    Long.toString(this.getSendBufferSize()),
                                                                                                                                    error.getMessage()));
                     }
 
                     eventRetryCount++;
+
+                    this.recoverAfterError();
                 }
             }
             catch (WakeupException error)
@@ -176,8 +396,8 @@ public class KafkaOpenMetadataEventProducer implements Runnable
             {
                 producer.close();
                 producer = null;
-                log.debug("Send Events Throwable catch block closed producer");
-                log.error("Exception in sendEvent " + error.toString());
+                log.debug("Resend Events Throwable catch block closed producer");
+                log.error("Exception in resendFailedEvents " + error.toString());
 
                 throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(error.getClass().getName(),
                                                                                                                                       topicName,
@@ -187,7 +407,6 @@ public class KafkaOpenMetadataEventProducer implements Runnable
                                                     error);
             }
         }
-
     }
 
 
@@ -201,7 +420,7 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
         auditLog.logMessage(actionDescription,
                             KafkaOpenMetadataTopicConnectorAuditCode.KAFKA_PRODUCER_START.getMessageDefinition(topicName,
-                                                                                                               String.valueOf(sendBuffer.size())),
+                                                                                                               String.valueOf(sendQueue.size())),
                             this.producerProperties.toString());
 
 
@@ -209,24 +428,31 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         {
             try
             {
-                String bufferedEvent = this.getEvent();
-
-                /*
-                 * If there are no events waiting then sleep
-                 */
-                if (bufferedEvent == null)
+                if (! failedSends.isEmpty())
                 {
-                    TimeUnit.MILLISECONDS.sleep(sleepTime);
+                    /*
+                     * Events that failed are resent before any new events.
+                     */
+                    resendFailedEvents();
                 }
                 else
                 {
                     /*
-                     * Send all waiting events
+                     * Wait for the next event - the wait is limited so that the thread notices a shutdown request.
                      */
-                    while (bufferedEvent != null)
+                    String bufferedEvent = sendQueue.poll(sleepTime, TimeUnit.MILLISECONDS);
+
+                    if (bufferedEvent != null)
                     {
+                        /*
+                         * An event in flight may have failed while waiting.
+                         */
+                        if (! failedSends.isEmpty())
+                        {
+                            resendFailedEvents();
+                        }
+
                         publishEvent(bufferedEvent);
-                        bufferedEvent = this.getEvent();
                     }
                 }
             }
@@ -252,6 +478,8 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         /* producer may have already closed by exception handler in publishEvent */
         if(producer != null) {
             log.debug("");
+
+            /* close waits for the events in flight to complete */
             producer.close();
             producer = null;
         }
@@ -259,57 +487,144 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         auditLog.logMessage(actionDescription,
                             KafkaOpenMetadataTopicConnectorAuditCode.KAFKA_PRODUCER_SHUTDOWN.getMessageDefinition(topicName,
                                                                                                                   Integer.toString(getSendBufferSize()),
-                                                                                                                  Long.toString(messageSendCount)),
+                                                                                                                  Long.toString(messageSendCount.get())),
                            this.producerProperties.toString());
     }
 
 
     /**
-     * Supports putting events to the in memory OMRS Topic
+     * Returns the number of events that have not been sent.
      *
-     * @param newEvent  event to publish
+     * @return int
      */
-    private void putEvent(String  newEvent)
+    private int getSendBufferSize()
     {
-        sendBuffer.add(newEvent);
+        return sendQueue.size() + failedSends.size();
     }
 
 
     /**
-     * Returns the size of the send buffer
+     * Sends the supplied event to the topic.  If the send queue is full, this method waits for space.
      *
-     * @return int
+     * @param event  OMRSEvent object containing the event properties.
+     * @throws ConnectorCheckedException the send queue remained full for the send queue timeout
      */
-    private int getSendBufferSize()
+    public void sendEvent(String event) throws ConnectorCheckedException
     {
-        return sendBuffer.size();
+        final String methodName = "sendEvent";
+
+        try
+        {
+            if (sendQueue.offer(event, sendQueueTimeout, TimeUnit.MILLISECONDS))
+            {
+                return;
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.SEND_QUEUE_FULL.getMessageDefinition(topicName,
+                                                                                                                          Long.toString(sendQueueTimeout)),
+                                            this.getClass().getName(),
+                                            methodName);
     }
 
 
     /**
-     * Returns all of the events found on the in memory OMRS Topic.
+     * Return the number of events waiting to be passed to the Kafka producer.
      *
-     * @return list of received events.
+     * @return count
      */
-    private String getEvent()
+    public int getSendQueueDepth()
     {
-        if (sendBuffer.isEmpty())
-        {
-            return null;
-        }
+        return sendQueue.size();
+    }
+
 
-        return sendBuffer.remove(0);
+    /**
+     * Return the number of events passed to the Kafka producer that have not yet been acknowledged by the broker.
+     *
+     * @return count
+     */
+    public int getInFlightCount()
+    {
+        return maxInFlightSends - inFlightSends.availablePermits();
     }
 
 
     /**
-     * Sends the supplied event to the topic.
+     * Return the number of events sent since the producer started.
      *
-     * @param event  OMRSEvent object containing the event properties.
+     * @return count
      */
-    public void sendEvent(String event)
+    public long getMessageSendCount()
     {
-        this.putEvent(event);
+        return messageSendCount.get();
+    }
+
+
+    /**
+     * Return the number of events discarded because Kafka rejected them with a non-retryable error.
+     *
+     * @return count
+     */
+    public long getMessageFailureCount()
+    {
+        return messageFailureCount.get();
+    }
+
+
+    /**
+     * Return the number of times an event has been resent after a retryable error.
+     *
+     * @return count
+     */
+    public long getMessageRetryCount()
+    {
+        return messageRetryCount.get();
+    }
+
+
+    /**
+     * Return the time in milliseconds between passing the most recently acknowledged event to the Kafka producer
+     * and its acknowledgement.
+     *
+     * @return milliseconds
+     */
+    public long getLastSendLatency()
+    {
+        return lastSendLatency.get();
+    }
+
+
+    /**
+     * Return the longest time in milliseconds between passing an event to the Kafka producer and its acknowledgement.
+     *
+     * @return milliseconds
+     */
+    public long getMaxSendLatency()
+    {
+        return maxSendLatency.get();
+    }
+
+
+    /**
+     * Return the average time in milliseconds between passing an event to the Kafka producer and its acknowledgement.
+     *
+     * @return milliseconds
+     */
+    public long getAverageSendLatency()
+    {
+        long sendCount = messageSendCount.get();
+
+        if (sendCount == 0)
+        {
+            return 0;
+        }
+
+        return totalSendLatency.get() / sendCount;
     }
 
 
@@ -359,6 +674,28 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         running = false;
     }
 
+
+    /**
+     * Return whether the error returned by the Kafka producer for an event is one that may clear if the event is resent.
+     *
+     * @param error exception from the send
+     * @return boolean
+     */
+    private boolean isRetryable(Throwable error)
+    {
+        while (error != null)
+        {
+            if (error instanceof RetriableException)
+            {
+                return true;
+            }
+
+            error = error.getCause();
+        }
+
+        return false;
+    }
+
     private boolean isExceptionRetryable( Exception error)
     {
 
@@ -0,0 +1,53 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+/**
+ * Configurable properties for the KafkaOpenMetadataEventProducer.  They are supplied in the
+ * egeria_kafka_producer properties so that they are not passed to the Apache Kafka producer.
+ * The batching and compression of the events is controlled by the standard Apache Kafka
+ * producer properties, such as linger.ms, batch.size and compression.type.
+ */
+public enum KafkaOpenMetadataEventProducerProperty
+{
+	/*
+	 * Controls the maximum number of events waiting to be passed to the Kafka producer.
+	 * When the queue is full, the caller sending an event waits for space.
+	 */
+	MAX_SEND_QUEUE_SIZE("event_bus_max_send_queue_size", "10000"),
+
+	/*
+	 * The maximum time (in ms) that a caller waits for space in the send queue before
+	 * the event is rejected.
+	 */
+	SEND_QUEUE_TIMEOUT("send_queue_timeout_ms", "60000"),
+
+	/*
+	 * Controls the maximum number of events that have been passed to the Kafka producer
+	 * and are waiting to be acknowledged by the broker.
+	 */
+	MAX_IN_FLIGHT_SENDS("max_in_flight_sends", "100"),
+
+	/*
+	 * The number of times an event that failed with a retryable error is resent before
+	 * it is discarded.
+	 */
+	MAX_SEND_RETRIES("max_send_retries", "10");
+
+	private final String propertyName;
+	private final String defaultValue;
+
+	KafkaOpenMetadataEventProducerProperty(String name, String defaultValue)
+	{
+		this.propertyName = name;
+		this.defaultValue = defaultValue;
+	}
+
+	public String getPropertyName() {
+		return propertyName;
+	}
+
+	public String getDefaultValue() {
+		return defaultValue;
+	}
+}
@@ -37,6 +37,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     
     private final Properties producerProperties = new Properties();
+    private final Properties producerEgeriaProperties = new Properties();
     private final Properties consumerEgeriaProperties = new Properties();
     private final Properties consumerProperties = new Properties();
 
@@ -116,7 +117,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         producerProperties.put("acks", "all");
         producerProperties.put("retries", 1);
         producerProperties.put("batch.size", 16384);
-        producerProperties.put("linger.ms", 0);
+        producerProperties.put("linger.ms", 5);
         producerProperties.put("buffer.memory", 33554432);
         producerProperties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
         producerProperties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
@@ -213,6 +214,9 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
             
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaConsumerPropertyName);
             copyProperties(propertiesObject, consumerEgeriaProperties);
+
+            propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaProducerPropertyName);
+            copyProperties(propertiesObject, producerEgeriaProperties);
         }
         catch (Exception   error)
         {
@@ -312,7 +316,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     private void initializeProducerAndProducerThread() {
 
-        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, this, auditLog);
+        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerEgeriaProperties, producerProperties, this, auditLog);
         producerThread = new Thread(producer, threadHeader + "Producer-" + topicName);
     }
 
@@ -343,8 +347,9 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     {
         List<IncomingEvent> newEvents = null;
 
-        // This method is called periodically from a independent thread managed by OpenMetadataTopic
-        // (superclass) so it should not block.
+        // This method is called from an independent thread managed by OpenMetadataTopic
+        // (superclass) when it is woken by distributeToListeners() or its sleep time passes,
+        // so it should not block.
 
         if ((incomingEventsList != null) && (!incomingEventsList.isEmpty()))
         {
@@ -358,6 +363,19 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         return newEvents;
     }
 
+    /**
+     * Pass an event to each of the registered listeners on the calling thread.  This is used by the
+     * consumer's partition workers.
+     *
+     * @param event object containing the event properties.
+     */
+    @Override
+    protected void distributeEvent(IncomingEvent event)
+    {
+        super.distributeEvent(event);
+    }
+
+
     /**
      * Distribute events to other listeners.
      *
@@ -367,6 +385,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     {
         log.debug("distribute event to listeners" + event);
         incomingEventsList.add(event);
+        super.eventsAvailable();
     }
 
 
@@ -141,6 +141,19 @@ public enum KafkaOpenMetadataTopicConnectorAuditCode implements AuditLogMessageS
             "Check the  Kafka error logs for related messages that could " +
                     "indicate the cause of this error.  Work to clear the underlying error.  " +
                     "Once fixed, it may be necessary to restart the server to cause a reconnect to Kafka."),
+
+    EVENT_SEND_FAILED("OCF-KAFKA-TOPIC-CONNECTOR-0020",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "Apache Kafka rejected an event for topic {0} with the non-retryable {1} exception.  The event has been discarded.  The error message was {2}",
+            "The event is not sent.  The producer continues to send the events that follow it.",
+            "Review the error message and the Kafka error logs to determine the cause of the error.  This is typically a " +
+                    "configuration error, such as an event that is larger than the maximum message size of the topic."),
+    EVENT_SEND_RETRIES_EXHAUSTED("OCF-KAFKA-TOPIC-CONNECTOR-0021",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "Apache Kafka failed to accept an event for topic {0} after {1} retries.  The event has been discarded.  The last error was {2}",
+            "The event is not sent.  The producer reconnects to Kafka and continues to send the events that follow it.",
+            "Check the Kafka error logs for related messages that indicate why the broker is not accepting events.  " +
+                    "The number of retries is set by the max_send_retries property of the egeria_kafka_producer properties."),
     ;
 
     private final AuditLogMessageDefinition messageDefinition;
@@ -40,7 +40,14 @@ public enum KafkaOpenMetadataTopicConnectorErrorCode implements ExceptionMessage
     ERROR_CONNECTING_KAFKA_PRODUCER(400, "OCF-KAFKA-TOPIC-CONNECTOR-400-003 ",
             "Egeria encountered an exception while attempting to connect a message producer to a Kafka.  The message in the exception was: {0}",
             "Egeria is unable to produce events",
-            "Ensure that the Kafka service is available and that the connection properties are valid.")
+            "Ensure that the Kafka service is available and that the connection properties are valid."),
+
+    SEND_QUEUE_FULL(503, "OCF-KAFKA-TOPIC-CONNECTOR-503-001 ",
+            "The queue of events waiting to be sent to topic {0} has remained full for {1} milliseconds",
+            "The system is unable to queue the event because events are not being sent to Apache Kafka as fast as they are produced.",
+            "Review the audit log for errors sending events to Apache Kafka and ensure that it is running.  If the server is " +
+                    "producing events faster than they can be sent, increase the event_bus_max_send_queue_size and max_in_flight_sends " +
+                    "properties in the egeria_kafka_producer properties.")
         ;
         private final ExceptionMessageDefinition messageDefinition;
 
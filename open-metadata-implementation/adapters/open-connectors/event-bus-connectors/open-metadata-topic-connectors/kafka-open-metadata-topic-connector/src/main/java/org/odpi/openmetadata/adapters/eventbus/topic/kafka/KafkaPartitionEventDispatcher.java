@@ -0,0 +1,224 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiConsumer;
+
+
+/**
+ * KafkaPartitionEventDispatcher passes the events received by the KafkaOpenMetadataEventConsumer to the
+ * topic listeners using a pool of worker threads so that the partitions of the topic are processed
+ * concurrently.  Each partition is always handled by the same worker, and each worker processes its events
+ * one at a time, so the events from a partition reach the listeners in offset order.  The completion handler
+ * is called with the partition and offset of each event once the listeners have been called, again in offset
+ * order for each partition.
+ * <p>
+ *     The queues are not bounded here - the consumer stops polling Kafka while the number of
+ *     queued events is above its maximum queue size.
+ * </p>
+ */
+class KafkaPartitionEventDispatcher
+{
+    private static final Logger log = LoggerFactory.getLogger(KafkaPartitionEventDispatcher.class);
+
+    private final KafkaOpenMetadataTopicConnector           connector;
+    private final BiConsumer<TopicPartition, Long>          completionHandler;
+    private final List<Worker>                              workers = new ArrayList<>();
+
+    private volatile boolean keepRunning = true;
+
+
+    /**
+     * Constructor starts the worker threads.
+     *
+     * @param connector connector holding the topic listeners
+     * @param threadName prefix for the names of the worker threads
+     * @param workerCount number of worker threads
+     * @param completionHandler called with the partition and offset of each event once it has been processed
+     */
+    KafkaPartitionEventDispatcher(KafkaOpenMetadataTopicConnector  connector,
+                                  String                           threadName,
+                                  int                              workerCount,
+                                  BiConsumer<TopicPartition, Long> completionHandler)
+    {
+        this.connector = connector;
+        this.completionHandler = completionHandler;
+
+        for (int i = 0; i < workerCount; i++)
+        {
+            Worker worker = new Worker(threadName + "-Worker-" + (i + 1));
+
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+
+    /**
+     * Queue an event for the worker that handles its partition.  An event that is not passed to the listeners
+     * (such as one sent by this server) may be queued with a null event so that its offset is passed to the
+     * completion handler in sequence with the events around it.
+     *
+     * @param partition partition the event was read from
+     * @param offset offset of the event in the partition
+     * @param event event to pass to the listeners or null if it is only to be completed
+     */
+    void dispatch(TopicPartition     partition,
+                  long               offset,
+                  KafkaIncomingEvent event)
+    {
+        Worker worker = workers.get(Math.floorMod(partition.partition(), workers.size()));
+
+        worker.queue.add(new PartitionEvent(partition, offset, event));
+    }
+
+
+    /**
+     * Remove the events that are still waiting to be processed for partitions that have been revoked
+     * from this consumer.  The consumer that is assigned the partitions receives them again from the last
+     * committed offset.  An event that a worker has already started is allowed to complete.
+     *
+     * @param partitions revoked partitions
+     * @return number of events removed
+     */
+    int removeEvents(Collection<TopicPartition> partitions)
+    {
+        int removed = 0;
+
+        for (Worker worker : workers)
+        {
+            int queued = worker.queue.size();
+
+            worker.queue.removeIf(partitionEvent -> partitions.contains(partitionEvent.partition));
+
+            removed = removed + (queued - worker.queue.size());
+        }
+
+        return removed;
+    }
+
+
+    /**
+     * Return the number of events waiting for a worker.
+     *
+     * @return count
+     */
+    int getQueuedEventCount()
+    {
+        int count = 0;
+
+        for (Worker worker : workers)
+        {
+            count = count + worker.queue.size();
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Stop the worker threads.  Events still waiting in the queues are discarded.  They have not been passed to
+     * the completion handler so their offsets are not committed, and they are received again from the last
+     * committed offset.
+     */
+    void shutdown()
+    {
+        keepRunning = false;
+
+        for (Worker worker : workers)
+        {
+            worker.queue.clear();
+            worker.interrupt();
+        }
+    }
+
+
+    /**
+     * PartitionEvent holds an event waiting for a worker along with the partition it was read from.
+     */
+    private static class PartitionEvent
+    {
+        private final TopicPartition     partition;
+        private final long               offset;
+        private final KafkaIncomingEvent event;
+
+
+        /**
+         * Constructor supplies the event.
+         *
+         * @param partition partition the event was read from
+         * @param offset offset of the event in the partition
+         * @param event event to pass to the listeners or null if it is only to be completed
+         */
+        PartitionEvent(TopicPartition     partition,
+                       long               offset,
+                       KafkaIncomingEvent event)
+        {
+            this.partition = partition;
+            this.offset = offset;
+            this.event = event;
+        }
+    }
+
+
+    /**
+     * Worker is a daemon thread that passes the events from its queue to the listeners one at a time.
+     */
+    private class Worker extends Thread
+    {
+        private final BlockingQueue<PartitionEvent> queue = new LinkedBlockingQueue<>();
+
+
+        /**
+         * Constructor supplies the thread name.
+         *
+         * @param threadName name of the thread
+         */
+        Worker(String threadName)
+        {
+            super(threadName);
+
+            this.setDaemon(true);
+        }
+
+
+        /**
+         * Pass the queued events to the listeners until the dispatcher is shutdown.
+         */
+        @Override
+        public void run()
+        {
+            while (keepRunning)
+            {
+                PartitionEvent partitionEvent;
+
+                try
+                {
+                    partitionEvent = queue.take();
+                }
+                catch (InterruptedException error)
+                {
+                    break;
+                }
+
+                log.debug("Worker " + this.getName() + " processing offset " + partitionEvent.offset + " from " + partitionEvent.partition);
+
+                if (partitionEvent.event != null)
+                {
+                    connector.distributeEvent(partitionEvent.event);
+                }
+
+                completionHandler.accept(partitionEvent.partition, partitionEvent.offset);
+            }
+        }
+    }
+}
@@ -0,0 +1,461 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.InternalOMRSEventProcessingContext;
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the KafkaOpenMetadataEventConsumer processes partitions concurrently while keeping the events of
+ * each partition in order, and only commits the offsets of events once they, and the events before them, have
+ * been processed.  The Apache Kafka MockConsumer is used in place of a real broker.
+ */
+public class KafkaOpenMetadataEventConsumerTest
+{
+    private static final String TOPIC_NAME = "TestTopic";
+    private static final long   WAIT_TIME  = 20000L;
+
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC_NAME, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC_NAME, 1);
+
+
+    /**
+     * Wait until the condition is true or the wait time expires.
+     *
+     * @param condition condition to test
+     * @throws Exception interrupted
+     */
+    private void waitFor(BooleanSupplier condition) throws Exception
+    {
+        long endTime = System.currentTimeMillis() + WAIT_TIME;
+
+        while ((! condition.getAsBoolean()) && (System.currentTimeMillis() < endTime))
+        {
+            Thread.sleep(10);
+        }
+
+        assertTrue(condition.getAsBoolean());
+    }
+
+
+    /**
+     * Return the offset committed for a partition.
+     *
+     * @param mockConsumer mock consumer
+     * @param partition partition
+     * @return offset or null if nothing has been committed
+     */
+    private Long getCommittedOffset(MockConsumer<String, String> mockConsumer,
+                                    TopicPartition               partition)
+    {
+        OffsetAndMetadata offset = mockConsumer.committed(Collections.singleton(partition)).get(partition);
+
+        return offset == null ? null : offset.offset();
+    }
+
+
+    /**
+     * Assign both partitions of the test topic to the mock consumer and add the supplied events.  The
+     * event consumer must have subscribed to the topic first.
+     *
+     * @param mockConsumer mock consumer
+     * @param partition0Events events for partition 0
+     * @param partition1Events events for partition 1
+     */
+    private void addEvents(MockConsumer<String, String> mockConsumer,
+                           List<String>                 partition0Events,
+                           List<String>                 partition1Events)
+    {
+        Map<TopicPartition, Long> beginningOffsets = new HashMap<>();
+        beginningOffsets.put(PARTITION_0, 0L);
+        beginningOffsets.put(PARTITION_1, 0L);
+
+        mockConsumer.rebalance(Arrays.asList(PARTITION_0, PARTITION_1));
+        mockConsumer.updateBeginningOffsets(beginningOffsets);
+
+        for (int offset = 0; offset < partition0Events.size(); offset++)
+        {
+            mockConsumer.addRecord(new ConsumerRecord<>(TOPIC_NAME, 0, offset, "OtherServerId", partition0Events.get(offset)));
+        }
+
+        for (int offset = 0; offset < partition1Events.size(); offset++)
+        {
+            mockConsumer.addRecord(new ConsumerRecord<>(TOPIC_NAME, 1, offset, "OtherServerId", partition1Events.get(offset)));
+        }
+    }
+
+
+    /**
+     * Create an event consumer with two partition workers and auto commit disabled that passes its events
+     * to the supplied listener.
+     *
+     * @param mockConsumer mock consumer
+     * @param listener topic listener
+     * @return event consumer
+     */
+    private KafkaOpenMetadataEventConsumer getEventConsumer(MockConsumer<String, String> mockConsumer,
+                                                           TestListener                 listener)
+    {
+        return getEventConsumer(mockConsumer, listener, false);
+    }
+
+
+    /**
+     * Create an event consumer with two partition workers that passes its events to the supplied listener.
+     *
+     * @param mockConsumer mock consumer
+     * @param listener topic listener
+     * @param autoCommit value for enable.auto.commit
+     * @return event consumer
+     */
+    private KafkaOpenMetadataEventConsumer getEventConsumer(MockConsumer<String, String> mockConsumer,
+                                                           TestListener                 listener,
+                                                           boolean                      autoCommit)
+    {
+        AuditLog auditLog = getAuditLog();
+
+        KafkaOpenMetadataTopicConnector connector = new KafkaOpenMetadataTopicConnector();
+        connector.setAuditLog(auditLog);
+        connector.registerListener(listener);
+
+        Properties egeriaProperties = new Properties();
+        egeriaProperties.setProperty(KafkaOpenMetadataEventConsumerProperty.PARTITION_WORKERS.getPropertyName(), "2");
+        egeriaProperties.setProperty(KafkaOpenMetadataEventConsumerProperty.COMMIT_CHECK_INTERVAL_MS.getPropertyName(), "0");
+        egeriaProperties.setProperty(KafkaOpenMetadataEventConsumerProperty.POLL_TIMEOUT.getPropertyName(), "10");
+
+        Properties kafkaProperties = new Properties();
+        kafkaProperties.setProperty(KafkaOpenMetadataTopicConnector.ENABLE_AUTO_COMMIT_PROPERTY, Boolean.toString(autoCommit));
+        kafkaProperties.setProperty("key.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+        kafkaProperties.setProperty("value.deserializer", "org.apache.kafka.common.serialization.StringDeserializer");
+
+        return new KafkaOpenMetadataEventConsumer(TOPIC_NAME,
+                                                  "TestServerId",
+                                                  new KafkaOpenMetadataEventConsumerConfiguration(egeriaProperties, auditLog),
+                                                  kafkaProperties,
+                                                  mockConsumer,
+                                                  connector,
+                                                  auditLog);
+    }
+
+
+    /**
+     * Create an audit log that discards its records.
+     *
+     * @return audit log
+     */
+    private AuditLog getAuditLog()
+    {
+        AuditLogDestination destination = new AuditLogDestination(new HashMap<>())
+        {
+            @Override
+            public void addLogRecord(AuditLogRecord logRecord)
+            {
+            }
+        };
+
+        return new AuditLog(destination, 0, "TestComponent", "Test component", null);
+    }
+
+
+    /**
+     * Stop the event consumer and wait for its thread to end.
+     *
+     * @param eventConsumer event consumer
+     * @param thread thread running the event consumer
+     * @throws Exception interrupted
+     */
+    private void stop(KafkaOpenMetadataEventConsumer eventConsumer,
+                      Thread                         thread) throws Exception
+    {
+        eventConsumer.safeCloseConsumer();
+        thread.join(WAIT_TIME);
+    }
+
+
+    /**
+     * Validate that a slow event in one partition does not hold up the other partition, that the events
+     * of each partition reach the listener in order, and that the offsets are committed once processed.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testPartitionsAreProcessedConcurrently() throws Exception
+    {
+        List<String> partition0Events = Arrays.asList("P0-0", "P0-1", "P0-2", "P0-3", "P0-4");
+        List<String> partition1Events = Arrays.asList("P1-0", "P1-1", "P1-2", "P1-3", "P1-4");
+
+        MockConsumer<String, String>   mockConsumer  = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TestListener                   listener      = new TestListener("P0-0", null);
+        KafkaOpenMetadataEventConsumer eventConsumer = getEventConsumer(mockConsumer, listener);
+        Thread                         thread        = new Thread(eventConsumer);
+
+        addEvents(mockConsumer, partition0Events, partition1Events);
+
+        thread.start();
+
+        /*
+         * Partition 1 is processed while the first event of partition 0 is blocked.
+         */
+        waitFor(() -> listener.getEvents("P1").size() == partition1Events.size());
+        assertEquals(listener.getEvents("P0"), Collections.singletonList("P0-0"));
+        assertEquals(listener.getEvents("P1"), partition1Events);
+
+        listener.releaseBlockedEvent();
+
+        waitFor(() -> listener.getEvents("P0").size() == partition0Events.size());
+        assertEquals(listener.getEvents("P0"), partition0Events);
+
+        waitFor(() -> Long.valueOf(partition0Events.size()).equals(getCommittedOffset(mockConsumer, PARTITION_0)));
+        waitFor(() -> Long.valueOf(partition1Events.size()).equals(getCommittedOffset(mockConsumer, PARTITION_1)));
+
+        stop(eventConsumer, thread);
+    }
+
+
+    /**
+     * Validate that the committed offset does not pass an event whose asynchronous processing is incomplete,
+     * even when the events after it have completed.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testCommitStopsAtIncompleteEvent() throws Exception
+    {
+        MockConsumer<String, String>   mockConsumer  = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TestListener                   listener      = new TestListener(null, "P0-0");
+        KafkaOpenMetadataEventConsumer eventConsumer = getEventConsumer(mockConsumer, listener);
+        Thread                         thread        = new Thread(eventConsumer);
+
+        addEvents(mockConsumer, Arrays.asList("P0-0", "P0-1", "P0-2"), Collections.singletonList("P1-0"));
+
+        thread.start();
+
+        waitFor(() -> listener.getEvents("P0").size() == 3);
+
+        /*
+         * Partition 1 and partition 0 are checked together so partition 0 has nothing to commit.
+         */
+        waitFor(() -> Long.valueOf(1).equals(getCommittedOffset(mockConsumer, PARTITION_1)));
+        assertNull(getCommittedOffset(mockConsumer, PARTITION_0));
+
+        listener.completeAsyncProcessing();
+
+        waitFor(() -> Long.valueOf(3).equals(getCommittedOffset(mockConsumer, PARTITION_0)));
+
+        stop(eventConsumer, thread);
+    }
+
+
+    /**
+     * Validate that the offsets of a revoked partition are no longer committed by this consumer once
+     * the partition is revoked, even when its incomplete events later complete.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testRevokedPartitionIsNotCommitted() throws Exception
+    {
+        MockConsumer<String, String>   mockConsumer  = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TestListener                   listener      = new TestListener(null, "P0-0");
+        KafkaOpenMetadataEventConsumer eventConsumer = getEventConsumer(mockConsumer, listener);
+        Thread                         thread        = new Thread(eventConsumer);
+
+        addEvents(mockConsumer, Arrays.asList("P0-0", "P0-1"), Collections.singletonList("P1-0"));
+
+        thread.start();
+
+        waitFor(() -> listener.getEvents("P0").size() == 2);
+        waitFor(() -> Long.valueOf(1).equals(getCommittedOffset(mockConsumer, PARTITION_1)));
+
+        /*
+         * The rebalance callback runs on the consumer thread inside poll().
+         */
+        AtomicBoolean revoked = new AtomicBoolean(false);
+        mockConsumer.schedulePollTask(() ->
+                                      {
+                                          eventConsumer.partitionsRevoked(Collections.singleton(PARTITION_0));
+                                          revoked.set(true);
+                                      });
+        waitFor(revoked::get);
+
+        listener.completeAsyncProcessing();
+        mockConsumer.addRecord(new ConsumerRecord<>(TOPIC_NAME, 1, 1, "OtherServerId", "P1-1"));
+
+        waitFor(() -> Long.valueOf(2).equals(getCommittedOffset(mockConsumer, PARTITION_1)));
+        assertNull(getCommittedOffset(mockConsumer, PARTITION_0));
+
+        stop(eventConsumer, thread);
+    }
+
+
+    /**
+     * Validate that, with auto commit enabled, the offsets committed when partitions are revoked only cover
+     * the events that the partition workers have completed, and not the events still queued behind a slow event.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testAutoCommitOnlyCommitsCompletedEvents() throws Exception
+    {
+        List<String> partition1Events = Arrays.asList("P1-0", "P1-1", "P1-2");
+
+        MockConsumer<String, String>   mockConsumer  = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        TestListener                   listener      = new TestListener("P0-1", null);
+        KafkaOpenMetadataEventConsumer eventConsumer = getEventConsumer(mockConsumer, listener, true);
+        Thread                         thread        = new Thread(eventConsumer);
+
+        addEvents(mockConsumer, Arrays.asList("P0-0", "P0-1", "P0-2", "P0-3"), partition1Events);
+        mockConsumer.addRecord(new ConsumerRecord<>(TOPIC_NAME, 1, 3, "TestServerId", "P1-3"));
+
+        thread.start();
+
+        waitFor(() -> listener.getEvents("P1").size() == partition1Events.size());
+        waitFor(() -> listener.getEvents("P0").size() == 2);
+
+        AtomicBoolean revoked = new AtomicBoolean(false);
+        mockConsumer.schedulePollTask(() ->
+                                      {
+                                          eventConsumer.partitionsRevoked(Arrays.asList(PARTITION_0, PARTITION_1));
+                                          revoked.set(true);
+                                      });
+        waitFor(revoked::get);
+
+        /*
+         * P0-1 is still in progress so only P0-0 is committed.  The event sent by this server is
+         * committed with the events of partition 1.
+         */
+        assertEquals(getCommittedOffset(mockConsumer, PARTITION_0), Long.valueOf(1));
+        assertEquals(getCommittedOffset(mockConsumer, PARTITION_1), Long.valueOf(4));
+
+        listener.releaseBlockedEvent();
+        stop(eventConsumer, thread);
+    }
+
+
+    /**
+     * TestListener records the events it receives.  It can block on one event until released, and can leave the
+     * asynchronous processing of another incomplete until told to complete it.
+     */
+    private static class TestListener implements OpenMetadataTopicListener
+    {
+        private final List<String>   events          = new ArrayList<>();
+        private final String         blockedEvent;
+        private final String         asyncEvent;
+        private final CountDownLatch release         = new CountDownLatch(1);
+        private final AtomicBoolean  asyncComplete   = new AtomicBoolean(false);
+
+
+        /**
+         * Constructor
+         *
+         * @param blockedEvent event to block on until released
+         * @param asyncEvent event with incomplete asynchronous processing
+         */
+        TestListener(String blockedEvent,
+                     String asyncEvent)
+        {
+            this.blockedEvent = blockedEvent;
+            this.asyncEvent = asyncEvent;
+        }
+
+
+        /**
+         * Record the event.
+         *
+         * @param event inbound event
+         */
+        @Override
+        public void processEvent(String event)
+        {
+            synchronized (events)
+            {
+                events.add(event);
+            }
+
+            if (event.equals(asyncEvent))
+            {
+                InternalOMRSEventProcessingContext.getInstance().addAsyncProcessingResult(asyncComplete::get);
+            }
+
+            if (event.equals(blockedEvent))
+            {
+                try
+                {
+                    release.await(WAIT_TIME, TimeUnit.MILLISECONDS);
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+
+        /**
+         * Return the events received from a partition in the order they were received.
+         *
+         * @param prefix prefix of the events from the partition
+         * @return events
+         */
+        List<String> getEvents(String prefix)
+        {
+            List<String> partitionEvents = new ArrayList<>();
+
+            synchronized (events)
+            {
+                for (String event : events)
+                {
+                    if (event.startsWith(prefix))
+                    {
+                        partitionEvents.add(event);
+                    }
+                }
+            }
+
+            return partitionEvents;
+        }
+
+
+        /**
+         * Allow the blocked event to complete.
+         */
+        void releaseBlockedEvent()
+        {
+            release.countDown();
+        }
+
+
+        /**
+         * Mark the asynchronous processing as complete.
+         */
+        void completeAsyncProcessing()
+        {
+            asyncComplete.set(true);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify the pipelining, ordering and retry behaviour of the KafkaOpenMetadataEventProducer using the
+ * Apache Kafka MockProducer in place of a real broker.
+ */
+public class KafkaOpenMetadataEventProducerTest
+{
+    private static final String TOPIC_NAME = "TestTopic";
+    private static final long   WAIT_TIME  = 10000L;
+
+
+    /**
+     * Wait until the condition is true or the wait time expires.
+     *
+     * @param condition condition to test
+     * @throws Exception interrupted
+     */
+    private void waitFor(BooleanSupplier condition) throws Exception
+    {
+        long endTime = System.currentTimeMillis() + WAIT_TIME;
+
+        while ((! condition.getAsBoolean()) && (System.currentTimeMillis() < endTime))
+        {
+            Thread.sleep(5);
+        }
+
+        assertTrue(condition.getAsBoolean());
+    }
+
+
+    /**
+     * Return the values of the records passed to the mock producer.
+     *
+     * @param mockProducer mock producer
+     * @return list of events
+     */
+    private List<String> getSentEvents(MockProducer<String, String> mockProducer)
+    {
+        List<String> sentEvents = new ArrayList<>();
+
+        for (ProducerRecord<String, String> record : mockProducer.history())
+        {
+            sentEvents.add(record.value());
+        }
+
+        return sentEvents;
+    }
+
+
+    /**
+     * Validate that events are passed to Kafka without waiting for each acknowledgement, up to the in flight limit,
+     * and in the order they were queued.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testEventsArePipelined() throws Exception
+    {
+        TestProducer producer = new TestProducer(5, 100);
+        Thread       thread   = producer.start();
+
+        List<String> events = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+        {
+            events.add("Event" + i);
+            producer.sendEvent("Event" + i);
+        }
+
+        waitFor(() -> producer.mockProducer.history().size() == 5);
+        Thread.sleep(50);
+        assertEquals(producer.mockProducer.history().size(), 5);
+        assertEquals(producer.getInFlightCount(), 5);
+
+        while (producer.getMessageSendCount() < events.size())
+        {
+            producer.mockProducer.completeNext();
+            Thread.sleep(1);
+        }
+
+        assertEquals(getSentEvents(producer.mockProducer), events);
+        assertEquals(producer.getSendQueueDepth(), 0);
+        assertEquals(producer.getMessageFailureCount(), 0);
+
+        producer.stop(thread);
+    }
+
+
+    /**
+     * Validate that an event that fails with a retryable error is resent before the events that are
+     * passed to Kafka after the failure.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testRetryableFailureIsResentInOrder() throws Exception
+    {
+        TestProducer producer = new TestProducer(3, 100);
+        Thread       thread   = producer.start();
+
+        for (int i = 0; i < 3; i++)
+        {
+            producer.sendEvent("Event" + i);
+        }
+
+        waitFor(() -> producer.mockProducer.history().size() == 3);
+
+        producer.mockProducer.completeNext();
+        producer.mockProducer.errorNext(new TimeoutException("Test timeout"));
+        producer.mockProducer.completeNext();
+
+        /*
+         * Event1 is resent before Event3 is sent.
+         */
+        producer.sendEvent("Event3");
+
+        waitFor(() -> producer.mockProducer.history().size() == 4);
+        assertEquals(producer.mockProducer.history().get(3).value(), "Event1");
+        producer.mockProducer.completeNext();
+
+        waitFor(() -> producer.mockProducer.history().size() == 5);
+        assertEquals(producer.mockProducer.history().get(4).value(), "Event3");
+        producer.mockProducer.completeNext();
+
+        waitFor(() -> producer.getMessageSendCount() == 4);
+        assertEquals(producer.getMessageRetryCount(), 1);
+        assertEquals(producer.getMessageFailureCount(), 0);
+        assertTrue(producer.recoveryCount == 0);
+
+        producer.stop(thread);
+    }
+
+
+    /**
+     * Validate that an event that fails with a non-retryable error is discarded and reported.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testNonRetryableFailureIsDiscarded() throws Exception
+    {
+        TestProducer producer = new TestProducer(3, 100);
+        Thread       thread   = producer.start();
+
+        producer.sendEvent("Event0");
+        producer.sendEvent("Event1");
+
+        waitFor(() -> producer.mockProducer.history().size() == 2);
+
+        producer.mockProducer.errorNext(new RecordTooLargeException("Test too large"));
+        producer.mockProducer.completeNext();
+
+        waitFor(() -> producer.getMessageSendCount() == 1);
+        assertEquals(producer.getMessageFailureCount(), 1);
+        assertEquals(producer.mockProducer.history().size(), 2);
+
+        boolean failureLogged = false;
+        for (AuditLogRecord logRecord : producer.logRecords)
+        {
+            if (logRecord.getMessageId().startsWith("OCF-KAFKA-TOPIC-CONNECTOR-0020"))
+            {
+                failureLogged = true;
+            }
+        }
+        assertTrue(failureLogged);
+
+        producer.stop(thread);
+    }
+
+
+    /**
+     * Validate that an event that keeps failing with a retryable error is discarded once it has been resent
+     * the maximum number of times, and that the events after it are then sent through a new Kafka producer.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testRetriesAreBounded() throws Exception
+    {
+        TestProducer producer = new TestProducer(1, 100, 2);
+        Thread       thread   = producer.start();
+
+        producer.sendEvent("Event0");
+
+        for (int i = 1; i <= 3; i++)
+        {
+            final int sendCount = i;
+
+            waitFor(() -> producer.mockProducer.history().size() == sendCount);
+            producer.mockProducer.errorNext(new TimeoutException("Test timeout"));
+        }
+
+        producer.sendEvent("Event1");
+
+        waitFor(() -> getSentEvents(producer.mockProducer).contains("Event1"));
+        assertEquals(getSentEvents(producer.mockProducer).size(), 1);
+        producer.mockProducer.completeNext();
+
+        waitFor(() -> producer.getMessageSendCount() == 1);
+        assertEquals(producer.getMessageRetryCount(), 2);
+        assertEquals(producer.getMessageFailureCount(), 1);
+        assertEquals(producer.recoveryCount, 1);
+
+        boolean failureLogged = false;
+        for (AuditLogRecord logRecord : producer.logRecords)
+        {
+            if (logRecord.getMessageId().startsWith("OCF-KAFKA-TOPIC-CONNECTOR-0021"))
+            {
+                failureLogged = true;
+            }
+        }
+        assertTrue(failureLogged);
+
+        producer.stop(thread);
+    }
+
+
+    /**
+     * Validate that the caller is rejected when the send queue stays full.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testFullSendQueueRejectsEvent() throws Exception
+    {
+        TestProducer producer = new TestProducer(1, 2);
+
+        producer.sendEvent("Event0");
+        producer.sendEvent("Event1");
+
+        assertEquals(producer.getSendQueueDepth(), 2);
+        assertThrows(ConnectorCheckedException.class, () -> producer.sendEvent("Event2"));
+    }
+
+
+    /**
+     * TestProducer replaces the Kafka producer with a MockProducer that completes sends when the test requests it.
+     */
+    private static class TestProducer extends KafkaOpenMetadataEventProducer
+    {
+        volatile MockProducer<String, String> mockProducer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+        final List<AuditLogRecord>            logRecords;
+        volatile int                          recoveryCount = 0;
+
+
+        /**
+         * Constructor sets up the limits for the producer.
+         *
+         * @param maxInFlightSends maximum events waiting for acknowledgement
+         * @param maxSendQueueSize maximum events waiting to be sent
+         */
+        TestProducer(int maxInFlightSends,
+                     int maxSendQueueSize)
+        {
+            this(maxInFlightSends, maxSendQueueSize, 10);
+        }
+
+
+        /**
+         * Constructor sets up the limits for the producer, including the number of retries.
+         *
+         * @param maxInFlightSends maximum events waiting for acknowledgement
+         * @param maxSendQueueSize maximum events waiting to be sent
+         * @param maxSendRetries maximum times an event is resent
+         */
+        TestProducer(int maxInFlightSends,
+                     int maxSendQueueSize,
+                     int maxSendRetries)
+        {
+            this(maxInFlightSends, maxSendQueueSize, maxSendRetries, new ArrayList<>());
+        }
+
+
+        /**
+         * Constructor sets up the limits for the producer and the list to store the audit log records.
+         *
+         * @param maxInFlightSends maximum events waiting for acknowledgement
+         * @param maxSendQueueSize maximum events waiting to be sent
+         * @param maxSendRetries maximum times an event is resent
+         * @param logRecords list of audit log records
+         */
+        private TestProducer(int                  maxInFlightSends,
+                             int                  maxSendQueueSize,
+                             int                  maxSendRetries,
+                             List<AuditLogRecord> logRecords)
+        {
+            super(TOPIC_NAME,
+                  "TestServerId",
+                  getEgeriaProperties(maxInFlightSends, maxSendQueueSize, maxSendRetries),
+                  new Properties(),
+                  null,
+                  getAuditLog(logRecords));
+
+            this.logRecords = logRecords;
+        }
+
+
+        /**
+         * Return the producer's own properties.
+         *
+         * @param maxInFlightSends maximum events waiting for acknowledgement
+         * @param maxSendQueueSize maximum events waiting to be sent
+         * @param maxSendRetries maximum times an event is resent
+         * @return properties
+         */
+        private static Properties getEgeriaProperties(int maxInFlightSends,
+                                                      int maxSendQueueSize,
+                                                      int maxSendRetries)
+        {
+            Properties properties = new Properties();
+
+            properties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_IN_FLIGHT_SENDS.getPropertyName(), Integer.toString(maxInFlightSends));
+            properties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_SEND_QUEUE_SIZE.getPropertyName(), Integer.toString(maxSendQueueSize));
+            properties.setProperty(KafkaOpenMetadataEventProducerProperty.SEND_QUEUE_TIMEOUT.getPropertyName(), "10");
+            properties.setProperty(KafkaOpenMetadataEventProducerProperty.MAX_SEND_RETRIES.getPropertyName(), Integer.toString(maxSendRetries));
+
+            return properties;
+        }
+
+
+        /**
+         * Return an audit log that stores its records in the supplied list.
+         *
+         * @param logRecords list of audit log records
+         * @return audit log
+         */
+        private static AuditLog getAuditLog(List<AuditLogRecord> logRecords)
+        {
+            AuditLogDestination destination = new AuditLogDestination(new HashMap<>())
+            {
+                @Override
+                public synchronized void addLogRecord(AuditLogRecord logRecord)
+                {
+                    logRecords.add(logRecord);
+                }
+            };
+
+            return new AuditLog(destination, 0, "TestComponent", "Test component", null);
+        }
+
+
+        /**
+         * Return the mock producer.  A new mock producer replaces one that has been closed.
+         *
+         * @return mock producer
+         */
+        @Override
+        protected Producer<String, String> createProducer()
+        {
+            if (mockProducer.closed())
+            {
+                mockProducer = new MockProducer<>(false, new StringSerializer(), new StringSerializer());
+            }
+
+            return mockProducer;
+        }
+
+
+        /**
+         * Do not wait in the tests.
+         */
+        @Override
+        protected void recoverAfterError()
+        {
+            recoveryCount++;
+        }
+
+
+        /**
+         * Start the producer thread.
+         *
+         * @return thread
+         */
+        Thread start()
+        {
+            Thread thread = new Thread(this, "TestProducer");
+
+            thread.start();
+
+            return thread;
+        }
+
+
+        /**
+         * Stop the producer thread.
+         *
+         * @param thread thread to stop
+         * @throws Exception interrupted
+         */
+        void stop(Thread thread) throws Exception
+        {
+            this.safeCloseProducer();
+
+            thread.join(WAIT_TIME);
+        }
+    }
+}
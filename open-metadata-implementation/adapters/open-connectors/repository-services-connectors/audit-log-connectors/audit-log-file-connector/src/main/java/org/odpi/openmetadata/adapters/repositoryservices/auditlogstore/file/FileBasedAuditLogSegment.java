@@ -0,0 +1,715 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogReportingComponent;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * FileBasedAuditLogSegment is one of the files of the file based audit log store.  The log records are
+ * appended to the file as JSON, one record per line, and are never updated.
+ * <p>
+ *     The segment keeps an index of its records in memory.  This holds the position of each record in the file,
+ *     the earliest and latest time stamps of each block of BLOCK_SIZE records (so a query by time only reads the
+ *     blocks that overlap the requested time period) and a bitmap for each severity and each reporting
+ *     component, with a bit set for each record that has that value, and the hash code of each record's unique
+ *     identifier.  Only the hash codes are kept (rather than the unique identifiers themselves) so the index of a
+ *     large segment stays small - a request for a record by unique identifier reads the records with a matching
+ *     hash code to find the one that is requested.  The index is rebuilt from the file when the segment is reopened.
+ * </p>
+ * <p>
+ *     The records are appended by a single writer.  The caller must ensure that the index is not updated
+ *     while it is being queried.
+ * </p>
+ */
+class FileBasedAuditLogSegment
+{
+    static final int BLOCK_SIZE = 64;
+
+    private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogSegment.class);
+
+    private static final byte NEW_LINE = '\n';
+
+    private final File        file;
+    private final FileChannel channel;
+
+    private long   writeOffset   = 0;
+    private long   indexedSize   = 0;
+    private int    recordCount   = 0;
+    private long[] recordOffsets = new long[BLOCK_SIZE];
+    private int[]  guidHashes    = new int[BLOCK_SIZE];
+    private long[] blockMinTimes = new long[16];
+    private long[] blockMaxTimes = new long[16];
+    private long   minTime       = Long.MAX_VALUE;
+    private long   maxTime       = Long.MIN_VALUE;
+
+    private final Map<String, BitSet> severityIndex  = new HashMap<>();
+    private final Map<String, BitSet> componentIndex = new HashMap<>();
+
+
+    /**
+     * Open the segment file, creating it if it does not exist.  The records in an existing file are indexed.
+     * A partly written record at the end of the file (from a failure during a write) is removed.  A complete record
+     * that can not be read is skipped.
+     *
+     * @param file segment file
+     * @throws IOException the file can not be opened or read
+     */
+    FileBasedAuditLogSegment(File file) throws IOException
+    {
+        this.file = file;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() > 0)
+        {
+            recover();
+        }
+    }
+
+
+    /**
+     * Index the records already in the file.  Only the bytes after the last new line can be a partly written record
+     * so they are the only bytes that are removed.  A complete line that can not be read is logged and skipped so
+     * the valid records that follow it are kept.
+     *
+     * @throws IOException the file can not be read
+     */
+    private void recover() throws IOException
+    {
+        byte[] contents    = Files.readAllBytes(file.toPath());
+        int    recordStart = 0;
+
+        for (int i = 0; i < contents.length; i++)
+        {
+            if (contents[i] == NEW_LINE)
+            {
+                try
+                {
+                    OMRSAuditLogRecord logRecord = OMRSJSONMapper.readValue(new String(contents,
+                                                                                       recordStart,
+                                                                                       i - recordStart,
+                                                                                       StandardCharsets.UTF_8),
+                                                                            OMRSAuditLogRecord.class);
+
+                    addToIndex(recordStart,
+                               i + 1 - recordStart,
+                               logRecord.getGUID(),
+                               getTime(logRecord),
+                               logRecord.getSeverity(),
+                               getComponentName(logRecord));
+                }
+                catch (IOException error)
+                {
+                    log.error("Skipping unreadable audit log record at position " + recordStart + " of " + file.getName(), error);
+                }
+
+                recordStart = i + 1;
+            }
+        }
+
+        if (recordStart < contents.length)
+        {
+            log.warn("Removing " + (contents.length - recordStart) + " bytes of an incomplete audit log record from the end of " + file.getName());
+
+            channel.truncate(recordStart);
+        }
+
+        writeOffset = recordStart;
+    }
+
+
+    /**
+     * Return the time stamp of the log record as used by the index.
+     *
+     * @param logRecord log record
+     * @return milliseconds since the epoch
+     */
+    static long getTime(OMRSAuditLogRecord logRecord)
+    {
+        if (logRecord.getTimeStamp() == null)
+        {
+            return 0;
+        }
+
+        return logRecord.getTimeStamp().getTime();
+    }
+
+
+    /**
+     * Return the name of the component that reported the log record.
+     *
+     * @param logRecord log record
+     * @return component name or null
+     */
+    static String getComponentName(OMRSAuditLogRecord logRecord)
+    {
+        AuditLogReportingComponent originatorComponent = logRecord.getOriginatorComponent();
+
+        if (originatorComponent != null)
+        {
+            return originatorComponent.getComponentName();
+        }
+
+        OMRSAuditLogReportingComponent reportingComponent = logRecord.getReportingComponent();
+
+        if (reportingComponent != null)
+        {
+            return reportingComponent.getComponentName();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the segment file.
+     *
+     * @return file
+     */
+    File getFile()
+    {
+        return file;
+    }
+
+
+    /**
+     * Return the number of bytes written to the segment.
+     *
+     * @return size in bytes
+     */
+    long getSize()
+    {
+        return writeOffset;
+    }
+
+
+    /**
+     * Return the number of records in the index.
+     *
+     * @return count
+     */
+    int getRecordCount()
+    {
+        return recordCount;
+    }
+
+
+    /**
+     * Append a batch of log records to the end of the file with a single write.  The records are not added to
+     * the index until index() is called.
+     *
+     * @param entries log records to write
+     * @param syncWrites whether to wait for the records to reach the storage device
+     * @return position of the first record in the file
+     * @throws IOException the records could not be written - none of the batch is kept
+     */
+    long write(List<Entry> entries,
+               boolean     syncWrites) throws IOException
+    {
+        int length = 0;
+
+        for (Entry entry : entries)
+        {
+            length = length + entry.json.length + 1;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        for (Entry entry : entries)
+        {
+            buffer.put(entry.json);
+            buffer.put(NEW_LINE);
+        }
+
+        buffer.flip();
+
+        long startOffset = writeOffset;
+        long position    = startOffset;
+
+        try
+        {
+            while (buffer.hasRemaining())
+            {
+                position = position + channel.write(buffer, position);
+            }
+
+            if (syncWrites)
+            {
+                channel.force(false);
+            }
+        }
+        catch (IOException error)
+        {
+            /*
+             * Remove any part of the batch that was written so the next batch follows the last complete record.
+             */
+            try
+            {
+                channel.truncate(startOffset);
+            }
+            catch (IOException truncateError)
+            {
+                log.error("Unable to remove partly written audit log records from " + file.getName(), truncateError);
+            }
+
+            throw error;
+        }
+
+        writeOffset = position;
+
+        return startOffset;
+    }
+
+
+    /**
+     * Add a batch of log records that have been written to the file to the index.
+     *
+     * @param startOffset position of the first record in the file
+     * @param entries log records that were written
+     */
+    void index(long        startOffset,
+               List<Entry> entries)
+    {
+        long offset = startOffset;
+
+        for (Entry entry : entries)
+        {
+            addToIndex(offset, entry.json.length + 1, entry.guid, entry.time, entry.severity, entry.component);
+
+            offset = offset + entry.json.length + 1;
+        }
+    }
+
+
+    /**
+     * Add a log record to the index.
+     *
+     * @param offset position of the record in the file
+     * @param length length of the record in the file
+     * @param guid unique identifier of the record
+     * @param time time stamp of the record
+     * @param severity severity of the record
+     * @param component name of the component that reported the record
+     */
+    private void addToIndex(long   offset,
+                            long   length,
+                            String guid,
+                            long   time,
+                            String severity,
+                            String component)
+    {
+        int recordNumber = recordCount;
+        int block        = recordNumber / BLOCK_SIZE;
+
+        if (recordNumber == recordOffsets.length)
+        {
+            recordOffsets = Arrays.copyOf(recordOffsets, recordNumber * 2);
+            guidHashes = Arrays.copyOf(guidHashes, recordNumber * 2);
+        }
+
+        if (block == blockMinTimes.length)
+        {
+            blockMinTimes = Arrays.copyOf(blockMinTimes, block * 2);
+            blockMaxTimes = Arrays.copyOf(blockMaxTimes, block * 2);
+        }
+
+        recordOffsets[recordNumber] = offset;
+        guidHashes[recordNumber] = getGUIDHash(guid);
+
+        if (recordNumber % BLOCK_SIZE == 0)
+        {
+            blockMinTimes[block] = time;
+            blockMaxTimes[block] = time;
+        }
+        else
+        {
+            blockMinTimes[block] = Math.min(blockMinTimes[block], time);
+            blockMaxTimes[block] = Math.max(blockMaxTimes[block], time);
+        }
+
+        minTime = Math.min(minTime, time);
+        maxTime = Math.max(maxTime, time);
+
+        if (severity != null)
+        {
+            severityIndex.computeIfAbsent(severity, key -> new BitSet()).set(recordNumber);
+        }
+
+        if (component != null)
+        {
+            componentIndex.computeIfAbsent(component, key -> new BitSet()).set(recordNumber);
+        }
+
+        recordCount = recordNumber + 1;
+        indexedSize = offset + length;
+    }
+
+
+    /**
+     * Add the log records from this segment that match the query to the results, in the order they were written,
+     * until the results hold the maximum number of records requested by the query.
+     *
+     * @param query query
+     * @param results results of the query so far
+     * @throws IOException the records could not be read
+     */
+    void findRecords(Query                    query,
+                     List<OMRSAuditLogRecord> results) throws IOException
+    {
+        if ((recordCount == 0) || (maxTime < query.startTime) || (minTime > query.endTime))
+        {
+            return;
+        }
+
+        /*
+         * Records with the requested severity and component - null means every record matches.
+         */
+        BitSet candidates = null;
+
+        if (query.severity != null)
+        {
+            BitSet severityRecords = severityIndex.get(query.severity);
+
+            if (severityRecords == null)
+            {
+                return;
+            }
+
+            candidates = (BitSet) severityRecords.clone();
+        }
+
+        if (query.component != null)
+        {
+            BitSet componentRecords = componentIndex.get(query.component);
+
+            if (componentRecords == null)
+            {
+                return;
+            }
+
+            if (candidates == null)
+            {
+                candidates = componentRecords;
+            }
+            else
+            {
+                candidates.and(componentRecords);
+            }
+        }
+
+        int blockCount = (recordCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+        for (int block = 0; (block < blockCount) && (! query.isComplete(results)); block++)
+        {
+            if ((blockMaxTimes[block] < query.startTime) || (blockMinTimes[block] > query.endTime))
+            {
+                continue;
+            }
+
+            /*
+             * When every record in the block is within the time period the records that are skipped by the
+             * offset do not need to be read.  Otherwise each candidate is read to check its time stamp.
+             */
+            boolean       inTimePeriod    = (blockMinTimes[block] >= query.startTime) && (blockMaxTimes[block] <= query.endTime);
+            int           firstRecord     = block * BLOCK_SIZE;
+            int           lastRecord      = Math.min(firstRecord + BLOCK_SIZE, recordCount) - 1;
+            List<Integer> recordsToRead   = new ArrayList<>();
+            int           recordsRequired = query.maximumRecords - results.size();
+
+            for (int recordNumber = firstRecord; recordNumber <= lastRecord; recordNumber++)
+            {
+                if ((candidates == null) || (candidates.get(recordNumber)))
+                {
+                    if (! inTimePeriod)
+                    {
+                        recordsToRead.add(recordNumber);
+                    }
+                    else if (! query.skipRecord())
+                    {
+                        recordsToRead.add(recordNumber);
+
+                        if ((query.maximumRecords > 0) && (recordsToRead.size() == recordsRequired))
+                        {
+                            break;
+                        }
+                    }
+                }
+            }
+
+            if (! recordsToRead.isEmpty())
+            {
+                int    firstToRead = recordsToRead.get(0);
+                byte[] contents    = read(firstToRead, recordsToRead.get(recordsToRead.size() - 1));
+
+                for (int recordNumber : recordsToRead)
+                {
+                    OMRSAuditLogRecord logRecord = parseRecord(contents, firstToRead, recordNumber);
+
+                    if (! inTimePeriod)
+                    {
+                        long time = getTime(logRecord);
+
+                        if ((time < query.startTime) || (time > query.endTime) || (query.skipRecord()))
+                        {
+                            continue;
+                        }
+                    }
+
+                    results.add(logRecord);
+
+                    if (query.isComplete(results))
+                    {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the hash code of a unique identifier as stored in the index.
+     *
+     * @param guid unique identifier or null
+     * @return hash code
+     */
+    private static int getGUIDHash(String guid)
+    {
+        if (guid == null)
+        {
+            return 0;
+        }
+
+        return guid.hashCode();
+    }
+
+
+    /**
+     * Return the first log record with the requested unique identifier.  Each record with the same hash code
+     * is read until the one with the unique identifier is found.
+     *
+     * @param guid unique identifier of the log record
+     * @return log record or null if it is not in this segment
+     * @throws IOException the records could not be read
+     */
+    OMRSAuditLogRecord getRecord(String guid) throws IOException
+    {
+        int guidHash = getGUIDHash(guid);
+
+        for (int recordNumber = 0; recordNumber < recordCount; recordNumber++)
+        {
+            if (guidHashes[recordNumber] == guidHash)
+            {
+                OMRSAuditLogRecord logRecord = parseRecord(read(recordNumber, recordNumber), recordNumber, recordNumber);
+
+                if (guid.equals(logRecord.getGUID()))
+                {
+                    return logRecord;
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Read the consecutive records between the first and last record numbers with a single read.
+     *
+     * @param firstRecord first record number
+     * @param lastRecord last record number
+     * @return contents of the file
+     * @throws IOException the file could not be read
+     */
+    private byte[] read(int firstRecord,
+                        int lastRecord) throws IOException
+    {
+        long       startOffset = recordOffsets[firstRecord];
+        long       endOffset   = getEndOffset(lastRecord);
+        ByteBuffer buffer      = ByteBuffer.allocate((int) (endOffset - startOffset));
+
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, startOffset + buffer.position()) < 0)
+            {
+                throw new IOException("Unexpected end of audit log segment " + file.getName());
+            }
+        }
+
+        return buffer.array();
+    }
+
+
+    /**
+     * Parse one of the records returned by read().  The record ends at the first new line after its start
+     * since a skipped unreadable line may follow it.
+     *
+     * @param contents contents returned by read()
+     * @param firstRecord record number of the first record in the contents
+     * @param recordNumber record number to parse
+     * @return log record
+     * @throws IOException the record is not valid JSON
+     */
+    private OMRSAuditLogRecord parseRecord(byte[] contents,
+                                           int    firstRecord,
+                                           int    recordNumber) throws IOException
+    {
+        long base  = recordOffsets[firstRecord];
+        int  start = (int) (recordOffsets[recordNumber] - base);
+        int  end   = start;
+
+        while (contents[end] != NEW_LINE)
+        {
+            end++;
+        }
+
+        return OMRSJSONMapper.readValue(new String(contents, start, end - start, StandardCharsets.UTF_8), OMRSAuditLogRecord.class);
+    }
+
+
+    /**
+     * Return the position in the file after the end of a record.
+     *
+     * @param recordNumber record number
+     * @return file position
+     */
+    private long getEndOffset(int recordNumber)
+    {
+        if (recordNumber + 1 < recordCount)
+        {
+            return recordOffsets[recordNumber + 1];
+        }
+
+        return indexedSize;
+    }
+
+
+    /**
+     * Close the file.
+     *
+     * @throws IOException the file could not be closed
+     */
+    void close() throws IOException
+    {
+        channel.close();
+    }
+
+
+    /**
+     * Entry is a log record waiting to be written to a segment along with the values that are indexed.
+     */
+    static class Entry
+    {
+        private final byte[] json;
+        private final String guid;
+        private final long   time;
+        private final String severity;
+        private final String component;
+
+
+        /**
+         * Constructor
+         *
+         * @param logRecord log record
+         * @param json log record in JSON format
+         */
+        Entry(OMRSAuditLogRecord logRecord,
+              String             json)
+        {
+            this.json = json.getBytes(StandardCharsets.UTF_8);
+            this.guid = logRecord.getGUID();
+            this.time = getTime(logRecord);
+            this.severity = logRecord.getSeverity();
+            this.component = getComponentName(logRecord);
+        }
+    }
+
+
+    /**
+     * Query describes the log records to return from the segments and tracks the paging as the segments are
+     * searched.  A null severity or component matches any value.  A maximum of zero means no limit.
+     */
+    static class Query
+    {
+        private final long   startTime;
+        private final long   endTime;
+        private final String severity;
+        private final String component;
+        private final int    maximumRecords;
+        private int          recordsToSkip;
+
+
+        /**
+         * Constructor
+         *
+         * @param startTime start of the time period (inclusive)
+         * @param endTime end of the time period (inclusive)
+         * @param severity severity to match or null
+         * @param component reporting component to match or null
+         * @param offset number of matching records to skip
+         * @param maximumRecords maximum number of records to return - zero means no limit
+         */
+        Query(long   startTime,
+              long   endTime,
+              String severity,
+              String component,
+              int    offset,
+              int    maximumRecords)
+        {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.severity = severity;
+            this.component = component;
+            this.recordsToSkip = offset;
+            this.maximumRecords = maximumRecords;
+        }
+
+
+        /**
+         * Called for each matching record - returns true if the record is to be skipped because of the offset.
+         *
+         * @return whether to skip the record
+         */
+        boolean skipRecord()
+        {
+            if (recordsToSkip > 0)
+            {
+                recordsToSkip--;
+                return true;
+            }
+
+            return false;
+        }
+
+
+        /**
+         * Return whether the results hold the maximum number of records requested.
+         *
+         * @param results results so far
+         * @return boolean
+         */
+        boolean isComplete(List<OMRSAuditLogRecord> results)
+        {
+            return (maximumRecords > 0) && (results.size() >= maximumRecords);
+        }
+    }
+}
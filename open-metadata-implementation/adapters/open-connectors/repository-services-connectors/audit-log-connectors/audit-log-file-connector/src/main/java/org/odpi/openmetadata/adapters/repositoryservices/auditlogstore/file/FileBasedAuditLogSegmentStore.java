@@ -0,0 +1,437 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+ * FileBasedAuditLogSegmentStore manages the segment files of the file based audit log store.  New log records
+ * are appended to the latest segment and a new segment is started when the latest segment reaches its
+ * maximum size.
+ * <p>
+ *     Log records are passed to a writer thread through a bounded queue.  The writer thread takes all of the
+ *     records that are waiting (up to the maximum batch size) and appends them to the segment with a single
+ *     write, so the cost of each write (and of each sync when synchronous writes are requested) is shared by
+ *     the batch.  If the queue is full, the caller waits for space rather than losing the log record.
+ * </p>
+ */
+class FileBasedAuditLogSegmentStore
+{
+    private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogSegmentStore.class);
+
+    private static final String segmentFilePrefix = "audit-log-segment-";
+    private static final String segmentFileSuffix = ".log";
+    private static final long   pollInterval      = 100L;
+
+    private final File    directory;
+    private final long    maxSegmentSize;
+    private final int     maxBatchSize;
+    private final boolean syncWrites;
+
+    private final List<FileBasedAuditLogSegment>                segments   = new ArrayList<>();
+    private final ReadWriteLock                                 indexLock  = new ReentrantReadWriteLock();
+    private final BlockingQueue<FileBasedAuditLogSegment.Entry> writeQueue;
+    private final Object                                        writeSignal = new Object();
+    private final Thread                                        writerThread;
+
+    private int              lastSegmentNumber = 0;
+    private long             queuedCount       = 0;
+    private long             writtenCount      = 0;
+    private volatile boolean keepRunning       = true;
+
+
+    /**
+     * Open the segments in the directory and start the writer thread.
+     *
+     * @param directory directory holding the segment files
+     * @param maxSegmentSize size in bytes at which a new segment is started
+     * @param maxBatchSize maximum number of log records written together
+     * @param syncWrites whether each batch is synced to the storage device
+     * @throws IOException the segments could not be opened
+     */
+    FileBasedAuditLogSegmentStore(File    directory,
+                                  long    maxSegmentSize,
+                                  int     maxBatchSize,
+                                  boolean syncWrites) throws IOException
+    {
+        this.directory = directory;
+        this.maxSegmentSize = maxSegmentSize;
+        this.maxBatchSize = maxBatchSize;
+        this.syncWrites = syncWrites;
+        this.writeQueue = new ArrayBlockingQueue<>(maxBatchSize * 4);
+
+        File[] segmentFiles = directory.listFiles((dir, name) -> name.startsWith(segmentFilePrefix) && name.endsWith(segmentFileSuffix));
+
+        if (segmentFiles != null)
+        {
+            Arrays.sort(segmentFiles);
+
+            for (File segmentFile : segmentFiles)
+            {
+                segments.add(new FileBasedAuditLogSegment(segmentFile));
+
+                lastSegmentNumber = Math.max(lastSegmentNumber, getSegmentNumber(segmentFile));
+            }
+        }
+
+        if (segments.isEmpty())
+        {
+            lastSegmentNumber++;
+            segments.add(new FileBasedAuditLogSegment(getSegmentFile(lastSegmentNumber)));
+        }
+
+        writerThread = new Thread(this::writeLogRecords, "FileBasedAuditLogWriter-" + directory.getName());
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+
+    /**
+     * Return the file for a segment.
+     *
+     * @param segmentNumber sequence number of the segment
+     * @return file
+     */
+    private File getSegmentFile(int segmentNumber)
+    {
+        return new File(directory, String.format(segmentFilePrefix + "%08d" + segmentFileSuffix, segmentNumber));
+    }
+
+
+    /**
+     * Return the sequence number of a segment from the name of its file.  The older segments may have been
+     * removed so the number of segments is not the number of the latest one.
+     *
+     * @param segmentFile segment file
+     * @return sequence number or zero if the name does not hold a number
+     */
+    private int getSegmentNumber(File segmentFile)
+    {
+        String name = segmentFile.getName();
+
+        try
+        {
+            return Integer.parseInt(name.substring(segmentFilePrefix.length(), name.length() - segmentFileSuffix.length()));
+        }
+        catch (NumberFormatException error)
+        {
+            log.warn("Audit log segment " + name + " does not have a sequence number");
+
+            return 0;
+        }
+    }
+
+
+    /**
+     * Queue a log record for the writer thread.  If the store is closed while the record is being queued, the
+     * record is either written by close() or taken back off the queue and the caller is told that the store is closed.
+     *
+     * @param entry log record
+     * @throws IOException the store is closed or the caller was interrupted
+     */
+    void addLogRecord(FileBasedAuditLogSegment.Entry entry) throws IOException
+    {
+        if (! keepRunning)
+        {
+            throw new IOException("Audit log store in " + directory.getPath() + " is closed");
+        }
+
+        synchronized (writeSignal)
+        {
+            queuedCount++;
+        }
+
+        try
+        {
+            writeQueue.put(entry);
+        }
+        catch (InterruptedException error)
+        {
+            synchronized (writeSignal)
+            {
+                queuedCount--;
+                writeSignal.notifyAll();
+            }
+
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while queuing audit log record", error);
+        }
+
+        /*
+         * The writer thread only stops once the queue is empty and close() writes any records queued after that.
+         * A record queued after close() has finished is removed again.
+         */
+        if ((! keepRunning) && (! writerThread.isAlive()) && (writeQueue.remove(entry)))
+        {
+            synchronized (writeSignal)
+            {
+                queuedCount--;
+                writeSignal.notifyAll();
+            }
+
+            throw new IOException("Audit log store in " + directory.getPath() + " is closed");
+        }
+    }
+
+
+    /**
+     * Wait for the log records queued before this call to be written so that queries include them.
+     */
+    private void waitForWrites()
+    {
+        synchronized (writeSignal)
+        {
+            long target = queuedCount;
+
+            while ((writtenCount < target) && (writerThread.isAlive()))
+            {
+                try
+                {
+                    writeSignal.wait(pollInterval);
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * The writer thread writes the queued log records in batches until the store is closed and the queue is empty.
+     */
+    private void writeLogRecords()
+    {
+        List<FileBasedAuditLogSegment.Entry> batch = new ArrayList<>();
+
+        while (keepRunning || (! writeQueue.isEmpty()))
+        {
+            try
+            {
+                FileBasedAuditLogSegment.Entry entry = writeQueue.poll(pollInterval, TimeUnit.MILLISECONDS);
+
+                if (entry == null)
+                {
+                    continue;
+                }
+
+                batch.add(entry);
+                writeQueue.drainTo(batch, maxBatchSize - 1);
+
+                writeBatch(batch);
+            }
+            catch (InterruptedException error)
+            {
+                log.debug("Audit log writer interrupted");
+            }
+            catch (Exception error)
+            {
+                log.error("Unable to write " + batch.size() + " audit log records to " + directory.getPath(), error);
+            }
+            finally
+            {
+                if (! batch.isEmpty())
+                {
+                    synchronized (writeSignal)
+                    {
+                        writtenCount = writtenCount + batch.size();
+                        writeSignal.notifyAll();
+                    }
+
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Append a batch of log records to the latest segment and add them to its index.
+     *
+     * @param batch log records
+     * @throws IOException the records could not be written
+     */
+    private void writeBatch(List<FileBasedAuditLogSegment.Entry> batch) throws IOException
+    {
+        FileBasedAuditLogSegment segment = segments.get(segments.size() - 1);
+
+        if ((segment.getSize() >= maxSegmentSize) && (segment.getRecordCount() > 0))
+        {
+            segment = new FileBasedAuditLogSegment(getSegmentFile(lastSegmentNumber + 1));
+            lastSegmentNumber++;
+
+            indexLock.writeLock().lock();
+
+            try
+            {
+                segments.add(segment);
+            }
+            finally
+            {
+                indexLock.writeLock().unlock();
+            }
+        }
+
+        long startOffset = segment.write(batch, syncWrites);
+
+        indexLock.writeLock().lock();
+
+        try
+        {
+            segment.index(startOffset, batch);
+        }
+        finally
+        {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Return the log records that match the query in the order they were written.
+     *
+     * @param query query
+     * @return list of log records (may be empty)
+     * @throws IOException the segments could not be read
+     */
+    List<OMRSAuditLogRecord> findRecords(FileBasedAuditLogSegment.Query query) throws IOException
+    {
+        List<OMRSAuditLogRecord> results = new ArrayList<>();
+
+        waitForWrites();
+
+        indexLock.readLock().lock();
+
+        try
+        {
+            for (FileBasedAuditLogSegment segment : segments)
+            {
+                segment.findRecords(query, results);
+
+                if (query.isComplete(results))
+                {
+                    break;
+                }
+            }
+        }
+        finally
+        {
+            indexLock.readLock().unlock();
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Return the log record with the requested unique identifier.
+     *
+     * @param guid unique identifier of the log record
+     * @return log record or null if it is not stored
+     * @throws IOException the segments could not be read
+     */
+    OMRSAuditLogRecord getRecord(String guid) throws IOException
+    {
+        waitForWrites();
+
+        indexLock.readLock().lock();
+
+        try
+        {
+            /*
+             * The most recent records are the most likely to be requested.
+             */
+            for (int i = segments.size() - 1; i >= 0; i--)
+            {
+                OMRSAuditLogRecord logRecord = segments.get(i).getRecord(guid);
+
+                if (logRecord != null)
+                {
+                    return logRecord;
+                }
+            }
+        }
+        finally
+        {
+            indexLock.readLock().unlock();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Write the queued log records, stop the writer thread and close the segments.  The records queued
+     * between the writer thread's last check of the queue and its exit are written here.
+     */
+    void close()
+    {
+        keepRunning = false;
+
+        try
+        {
+            writerThread.join();
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        indexLock.writeLock().lock();
+
+        try
+        {
+            List<FileBasedAuditLogSegment.Entry> batch = new ArrayList<>();
+
+            if ((! writerThread.isAlive()) && (writeQueue.drainTo(batch) > 0))
+            {
+                try
+                {
+                    writeBatch(batch);
+                }
+                catch (IOException error)
+                {
+                    log.error("Unable to write " + batch.size() + " audit log records to " + directory.getPath(), error);
+                }
+
+                synchronized (writeSignal)
+                {
+                    writtenCount = writtenCount + batch.size();
+                    writeSignal.notifyAll();
+                }
+            }
+
+            for (FileBasedAuditLogSegment segment : segments)
+            {
+                try
+                {
+                    segment.close();
+                }
+                catch (IOException error)
+                {
+                    log.error("Unable to close audit log segment " + segment.getFile().getName(), error);
+                }
+            }
+        }
+        finally
+        {
+            indexLock.writeLock().unlock();
+        }
+    }
+}
@@ -2,11 +2,12 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.io.FileUtils;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
@@ -18,19 +19,26 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in a directory as a sequence of append-only segment files.  Each audit log record
+ * is written to the latest segment as a line of JSON and a new segment is started when the latest one reaches
+ * its maximum size.  The records are written in batches by a background thread and the segments are indexed
+ * in memory by time, severity and reporting component to support the queries.
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
     private static final String defaultDirectoryTemplate = "omag.server.auditlog";
+    private static final long   defaultMaxSegmentSize    = 64L * 1024L * 1024L;
+    private static final int    defaultMaxBatchSize      = 256;
 
     private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
 
-    private String configStoreTemplateName  = null;
+    private          String                        configStoreTemplateName = null;
+    private volatile FileBasedAuditLogSegmentStore segmentStore            = null;
+    private          String                        storeErrorMessage       = null;
 
 
     /**
@@ -42,7 +50,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
 
     /**
-     * Set up the name of the file store
+     * Set up the directory for the file store and open its segments.
      *
      * @throws ConnectorCheckedException something went wrong
      */
@@ -63,21 +71,93 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
             configStoreTemplateName = defaultDirectoryTemplate;
         }
 
+        long    maxSegmentSize = defaultMaxSegmentSize;
+        int     maxBatchSize   = defaultMaxBatchSize;
+        boolean syncWrites     = false;
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            Object propertyValue = configurationProperties.get(FileBasedAuditLogStoreProvider.maxSegmentSizeProperty);
+
+            if (propertyValue != null)
+            {
+                maxSegmentSize = getPositiveNumber(FileBasedAuditLogStoreProvider.maxSegmentSizeProperty, propertyValue);
+            }
+
+            propertyValue = configurationProperties.get(FileBasedAuditLogStoreProvider.maxBatchSizeProperty);
+
+            if (propertyValue != null)
+            {
+                maxBatchSize = (int) Math.min(Integer.MAX_VALUE / 4,
+                                              getPositiveNumber(FileBasedAuditLogStoreProvider.maxBatchSizeProperty, propertyValue));
+            }
+
+            propertyValue = configurationProperties.get(FileBasedAuditLogStoreProvider.syncWritesProperty);
+
+            if (propertyValue != null)
+            {
+                syncWrites = Boolean.parseBoolean(propertyValue.toString());
+            }
+        }
+
         try
         {
             File         configStoreDirectory = new File(configStoreTemplateName);
 
             FileUtils.forceMkdir(configStoreDirectory);
+
+            segmentStore = new FileBasedAuditLogSegmentStore(configStoreDirectory, maxSegmentSize, maxBatchSize, syncWrites);
         }
         catch (IOException ioException)
         {
+            storeErrorMessage = ioException.getMessage();
+
             log.error("Unusable Server Audit Log Store :(", ioException);
         }
     }
 
 
     /**
-     * Store the audit log record in the audit log store.
+     * Return the value of a configuration property that must be a number greater than zero.
+     *
+     * @param propertyName name of the property
+     * @param propertyValue value from the connection
+     * @return property value
+     * @throws ConnectorCheckedException the value is not a number or is not greater than zero
+     */
+    private long getPositiveNumber(String propertyName,
+                                   Object propertyValue) throws ConnectorCheckedException
+    {
+        final String methodName = "start";
+
+        try
+        {
+            long value = Long.parseLong(propertyValue.toString().trim());
+
+            if (value > 0)
+            {
+                return value;
+            }
+        }
+        catch (NumberFormatException error)
+        {
+            log.debug("Invalid value for " + propertyName, error);
+        }
+
+        throw new ConnectorCheckedException(OCFErrorCode.INVALID_CONFIGURATION_PROPERTY.getMessageDefinition(propertyName,
+                                                                                                            connectionProperties.getConnectionName(),
+                                                                                                            propertyValue.toString(),
+                                                                                                            "number greater than zero"),
+                                            this.getClass().getName(),
+                                            methodName);
+    }
+
+
+    /**
+     * Store the audit log record in the audit log store.  The record is queued and written by the
+     * background writer.
      *
      * @param logRecord  log record to store
      * @return unique identifier assigned to the log record
@@ -90,16 +170,13 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
         super.validateLogRecord(logRecord, methodName);
 
-        if (isSupportedSeverity(logRecord))
+        if ((isSupportedSeverity(logRecord)) && (segmentStore != null))
         {
+            String jsonLogRecord = super.getJSONLogRecord(logRecord, methodName);
+
             try
             {
-                File configStoreFile =
-                        new File(configStoreTemplateName + "/log-record-" + logRecord.getGUID());
-                ObjectMapper objectMapper    = new ObjectMapper();
-
-                String configStoreFileContents = objectMapper.writeValueAsString(logRecord);
-                FileUtils.writeStringToFile(configStoreFile, configStoreFileContents, (String)null, false);
+                segmentStore.addLogRecord(new FileBasedAuditLogSegment.Entry(logRecord, jsonLogRecord));
             }
             catch (IOException ioException)
             {
@@ -115,7 +192,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
      * Retrieve a specific audit log record.
      *
      * @param logRecordId unique identifier for the log record
-     * @return requested audit log record
+     * @return requested audit log record or null if it is not stored
      * @throws InvalidParameterException     indicates that the logRecordId parameter is invalid.
      * @throws RepositoryErrorException      indicates that the audit log store is not available or has an error.
      */
@@ -123,9 +200,21 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     public OMRSAuditLogRecord getAuditLogRecord(String logRecordId) throws InvalidParameterException,
                                                                            RepositoryErrorException
     {
-        final String methodName = "getAuditLogRecord";
+        final String methodName    = "getAuditLogRecord";
+        final String parameterName = "logRecordId";
+
+        validateQueryValue(logRecordId, parameterName, methodName);
 
-        return null;
+        FileBasedAuditLogSegmentStore store = getSegmentStore(methodName);
+
+        try
+        {
+            return store.getRecord(logRecordId);
+        }
+        catch (IOException ioException)
+        {
+            throw getStoreError(ioException, methodName);
+        }
     }
 
 
@@ -152,7 +241,7 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByTimeStamp";
 
-        return null;
+        return findRecords(null, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -179,9 +268,12 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                                             PagingErrorException,
                                                                                             RepositoryErrorException
     {
-        final String methodName = "getAuditLogRecordsBySeverity";
+        final String methodName    = "getAuditLogRecordsBySeverity";
+        final String parameterName = "severity";
 
-        return null;
+        validateQueryValue(severity, parameterName, methodName);
+
+        return findRecords(severity, null, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
@@ -208,20 +300,174 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                                                 PagingErrorException,
                                                                                                 RepositoryErrorException
     {
-        final String methodName = "getAuditLogRecordsByComponent";
+        final String methodName    = "getAuditLogRecordsByComponent";
+        final String parameterName = "component";
+
+        validateQueryValue(component, parameterName, methodName);
 
-        return null;
+        return findRecords(null, component, startDate, endDate, offset, maximumRecords, methodName);
     }
 
 
     /**
-     * Free up any resources held since the connector is no longer needed.
+     * Run a query against the segments.  A null start or end date leaves that end of the time period open.
+     * A maximumRecords value of zero means there is no limit to the number of records returned.
+     *
+     * @param severity severity to match or null for any severity
+     * @param component reporting component to match or null for any component
+     * @param startDate start of time period
+     * @param endDate end of time period
+     * @param offset offset of full collection to begin the return results
+     * @param maximumRecords maximum number of log records to return
+     * @param methodName calling method
+     * @return list of log records or null if none match
+     * @throws InvalidParameterException the time period is invalid
+     * @throws PagingErrorException the offset or the maximumRecords parameters are invalid
+     * @throws RepositoryErrorException the audit log store is not available or has an error
+     */
+    private List<OMRSAuditLogRecord> findRecords(String severity,
+                                                 String component,
+                                                 Date   startDate,
+                                                 Date   endDate,
+                                                 int    offset,
+                                                 int    maximumRecords,
+                                                 String methodName) throws InvalidParameterException,
+                                                                           PagingErrorException,
+                                                                           RepositoryErrorException
+    {
+        final String parameterName = "startDate";
+
+        if ((offset < 0) || (maximumRecords < 0))
+        {
+            throw new PagingErrorException(OMRSErrorCode.INVALID_AUDIT_LOG_PAGING.getMessageDefinition(super.getDestinationName(),
+                                                                                                       Integer.toString(offset),
+                                                                                                       Integer.toString(maximumRecords),
+                                                                                                       methodName),
+                                           this.getClass().getName(),
+                                           methodName);
+        }
+
+        if ((startDate != null) && (endDate != null) && (startDate.after(endDate)))
+        {
+            throw new InvalidParameterException(OMRSErrorCode.INVALID_TIME_RANGE.getMessageDefinition(methodName,
+                                                                                                      startDate.toString(),
+                                                                                                      endDate.toString()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                parameterName);
+        }
+
+        FileBasedAuditLogSegmentStore store = getSegmentStore(methodName);
+
+        FileBasedAuditLogSegment.Query query = new FileBasedAuditLogSegment.Query(startDate == null ? Long.MIN_VALUE : startDate.getTime(),
+                                                                                  endDate == null ? Long.MAX_VALUE : endDate.getTime(),
+                                                                                  severity,
+                                                                                  component,
+                                                                                  offset,
+                                                                                  maximumRecords);
+
+        try
+        {
+            List<OMRSAuditLogRecord> results = store.findRecords(query);
+
+            if (results.isEmpty())
+            {
+                return null;
+            }
+
+            return results;
+        }
+        catch (IOException ioException)
+        {
+            throw getStoreError(ioException, methodName);
+        }
+    }
+
+
+    /**
+     * Validate that a value to match has been supplied to a query.
+     *
+     * @param value value to match
+     * @param parameterName name of the parameter
+     * @param methodName calling method
+     * @throws InvalidParameterException the value is null
+     */
+    private void validateQueryValue(String value,
+                                    String parameterName,
+                                    String methodName) throws InvalidParameterException
+    {
+        if (value == null)
+        {
+            throw new InvalidParameterException(OMRSErrorCode.NULL_AUDIT_LOG_QUERY_VALUE.getMessageDefinition(parameterName,
+                                                                                                              methodName,
+                                                                                                              super.getDestinationName()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                parameterName);
+        }
+    }
+
+
+    /**
+     * Return the segment store if it was opened successfully.
+     *
+     * @param methodName calling method
+     * @return segment store
+     * @throws RepositoryErrorException the store is not available
+     */
+    private FileBasedAuditLogSegmentStore getSegmentStore(String methodName) throws RepositoryErrorException
+    {
+        FileBasedAuditLogSegmentStore store = segmentStore;
+
+        if (store == null)
+        {
+            throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                                storeErrorMessage),
+                                               this.getClass().getName(),
+                                               methodName);
+        }
+
+        return store;
+    }
+
+
+    /**
+     * Build the exception for an error reading the segments.
+     *
+     * @param ioException error from the segment store
+     * @param methodName calling method
+     * @return exception to throw
+     */
+    private RepositoryErrorException getStoreError(IOException ioException,
+                                                   String      methodName)
+    {
+        return new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                             ioException.getMessage()),
+                                            this.getClass().getName(),
+                                            methodName,
+                                            ioException);
+    }
+
+
+    /**
+     * Free up any resources held since the connector is no longer needed.  The queued log records are
+     * written before the segments are closed.
      *
      * @throws ConnectorCheckedException there is a problem within the connector.
      */
     @Override
     public  void disconnect() throws ConnectorCheckedException
     {
+        FileBasedAuditLogSegmentStore store = segmentStore;
+
+        segmentStore = null;
+        storeErrorMessage = "closed";
+
+        if (store != null)
+        {
+            store.close();
+        }
+
         super.disconnect();
     }
 }
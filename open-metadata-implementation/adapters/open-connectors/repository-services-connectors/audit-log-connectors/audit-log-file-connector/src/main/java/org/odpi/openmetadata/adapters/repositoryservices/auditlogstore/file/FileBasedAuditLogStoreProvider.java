@@ -5,8 +5,12 @@ package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreProviderBase;
 
+import java.util.List;
+
 /**
  * FileBasedAuditLogStoreProvider is the OCF connector provider for the file based audit log store.
+ * The optional configuration properties control the size of the segment files, the number of log records
+ * written together and whether each write is synced to the storage device.
  */
 public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBase
 {
@@ -14,6 +18,10 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
     private static final String  connectorTypeName = "File Based Audit Log Store Connector";
     private static final String  connectorTypeDescription = "Connector supports storing of audit log messages in a file.";
 
+    public static final String  maxSegmentSizeProperty = "maxSegmentSize";
+    public static final String  maxBatchSizeProperty   = "maxBatchSize";
+    public static final String  syncWritesProperty     = "syncWrites";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * audit log store implementation.
@@ -32,6 +40,12 @@ public class FileBasedAuditLogStoreProvider extends OMRSAuditLogStoreProviderBas
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = super.getRecognizedConfigurationProperties();
+        recognizedConfigurationProperties.add(maxSegmentSizeProperty);
+        recognizedConfigurationProperties.add(maxBatchSizeProperty);
+        recognizedConfigurationProperties.add(syncWritesProperty);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
     }
 }
@@ -0,0 +1,480 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the file based audit log store writes its log records to segment files and that the queries
+ * return the matching records in the order they were written, including after the store is reopened.
+ */
+public class FileBasedAuditLogStoreConnectorTest
+{
+    private static final String[] severities = {"Information", "Error", "Exception"};
+    private static final String[] components = {"ComponentA", "ComponentB"};
+    private static final long     baseTime   = 1600000000000L;
+
+    private File directory = null;
+
+
+    /**
+     * Create an empty directory for the store.
+     *
+     * @throws Exception unable to create the directory
+     */
+    @BeforeMethod
+    public void createDirectory() throws Exception
+    {
+        directory = Files.createTempDirectory("audit-log-file-connector-test").toFile();
+    }
+
+
+    /**
+     * Remove the directory used by the store.
+     *
+     * @throws Exception unable to remove the directory
+     */
+    @AfterMethod
+    public void removeDirectory() throws Exception
+    {
+        FileUtils.deleteDirectory(directory);
+    }
+
+
+    /**
+     * Create and start a connector for the test directory.
+     *
+     * @param maxSegmentSize size at which a new segment is started
+     * @return connector
+     * @throws Exception the connector fails to start
+     */
+    private FileBasedAuditLogStoreConnector getConnector(Object maxSegmentSize) throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(FileBasedAuditLogStoreProvider.maxSegmentSizeProperty, maxSegmentSize);
+        configurationProperties.put(FileBasedAuditLogStoreProvider.maxBatchSizeProperty, 16);
+
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress(directory.getPath());
+
+        Connection connection = new Connection();
+        connection.setDisplayName("TestAuditLogStore");
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        FileBasedAuditLogStoreConnector connector = new FileBasedAuditLogStoreConnector();
+        connector.initialize("TestConnectorInstanceId", new ConnectionProperties(connection));
+        connector.start();
+
+        return connector;
+    }
+
+
+    /**
+     * Build a log record.  The severity and component cycle through the test values and the time stamp
+     * is one second after the previous record.
+     *
+     * @param recordNumber sequence number of the record
+     * @return log record
+     */
+    private OMRSAuditLogRecord getLogRecord(int recordNumber)
+    {
+        AuditLogReportingComponent component = new AuditLogReportingComponent();
+        component.setComponentName(components[recordNumber % components.length]);
+
+        OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord();
+        logRecord.setGUID("log-record-" + recordNumber);
+        logRecord.setTimeStamp(new Date(baseTime + (recordNumber * 1000L)));
+        logRecord.setSeverity(severities[recordNumber % severities.length]);
+        logRecord.setOriginatorComponent(component);
+        logRecord.setOriginatorProperties(new HashMap<>());
+        logRecord.setMessageText("Message " + recordNumber);
+
+        return logRecord;
+    }
+
+
+    /**
+     * Store a sequence of log records.
+     *
+     * @param connector connector
+     * @param firstRecord sequence number of the first record
+     * @param recordCount number of records to store
+     * @throws Exception the records are rejected
+     */
+    private void storeLogRecords(FileBasedAuditLogStoreConnector connector,
+                                 int                             firstRecord,
+                                 int                             recordCount) throws Exception
+    {
+        for (int i = firstRecord; i < firstRecord + recordCount; i++)
+        {
+            connector.storeLogRecord(getLogRecord(i));
+        }
+    }
+
+
+    /**
+     * Validate the queries against records spread over several segments.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testQueries() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(8192);
+
+        try
+        {
+            storeLogRecords(connector, 0, 600);
+
+            File[] segmentFiles = directory.listFiles();
+            assertNotNull(segmentFiles);
+            assertTrue(segmentFiles.length > 1, "Records not spread over several segments");
+
+            List<OMRSAuditLogRecord> results = connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+            assertNotNull(results);
+            assertEquals(results.size(), 600);
+
+            for (int i = 0; i < 600; i++)
+            {
+                assertEquals(results.get(i).getGUID(), "log-record-" + i);
+            }
+
+            results = connector.getAuditLogRecordsByTimeStamp(new Date(baseTime + 100000L), new Date(baseTime + 199000L), 10, 20);
+            assertNotNull(results);
+            assertEquals(results.size(), 20);
+            assertEquals(results.get(0).getGUID(), "log-record-110");
+            assertEquals(results.get(19).getGUID(), "log-record-129");
+
+            results = connector.getAuditLogRecordsBySeverity("Error", new Date(baseTime), new Date(baseTime + 299000L), 0, 0);
+            assertNotNull(results);
+            assertEquals(results.size(), 100);
+            assertEquals(results.get(0).getGUID(), "log-record-1");
+
+            results = connector.getAuditLogRecordsByComponent("ComponentB", null, null, 5, 3);
+            assertNotNull(results);
+            assertEquals(results.size(), 3);
+            assertEquals(results.get(0).getGUID(), "log-record-11");
+            assertEquals(results.get(2).getGUID(), "log-record-15");
+
+            assertNull(connector.getAuditLogRecordsBySeverity("Unknown", null, null, 0, 0));
+            assertNull(connector.getAuditLogRecordsByTimeStamp(new Date(baseTime + 1000000L), null, 0, 0));
+
+            OMRSAuditLogRecord logRecord = connector.getAuditLogRecord("log-record-42");
+            assertNotNull(logRecord);
+            assertEquals(logRecord.getMessageText(), "Message 42");
+            assertNull(connector.getAuditLogRecord("log-record-4200"));
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    /**
+     * Validate that the records are indexed again when the store is reopened and that an incomplete record
+     * at the end of the latest segment is discarded.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testReopen() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(1024L * 1024L);
+
+        storeLogRecords(connector, 0, 100);
+        connector.disconnect();
+
+        File[] segmentFiles = directory.listFiles();
+        assertNotNull(segmentFiles);
+        assertEquals(segmentFiles.length, 1);
+
+        try (FileOutputStream segment = new FileOutputStream(segmentFiles[0], true))
+        {
+            segment.write("{\"guid\":\"log-rec".getBytes(StandardCharsets.UTF_8));
+        }
+
+        connector = getConnector(1024L * 1024L);
+
+        try
+        {
+            storeLogRecords(connector, 100, 50);
+
+            List<OMRSAuditLogRecord> results = connector.getAuditLogRecordsBySeverity("Information", null, null, 0, 0);
+            assertNotNull(results);
+            assertEquals(results.size(), 50);
+            assertEquals(results.get(49).getGUID(), "log-record-147");
+
+            assertEquals(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0).size(), 150);
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    /**
+     * Validate that an unreadable record in the middle of a segment is skipped when the store is reopened
+     * and that the records after it are kept.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testUnreadableRecordSkipped() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(1024L * 1024L);
+
+        storeLogRecords(connector, 0, 10);
+        connector.disconnect();
+
+        File[] segmentFiles = directory.listFiles();
+        assertNotNull(segmentFiles);
+        assertEquals(segmentFiles.length, 1);
+
+        List<String> lines = Files.readAllLines(segmentFiles[0].toPath(), StandardCharsets.UTF_8);
+        lines.add(5, "{\"guid\":\"log-record-corrupt\",");
+        Files.write(segmentFiles[0].toPath(), lines, StandardCharsets.UTF_8);
+
+        connector = getConnector(1024L * 1024L);
+
+        try
+        {
+            storeLogRecords(connector, 10, 5);
+
+            List<OMRSAuditLogRecord> results = connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+            assertNotNull(results);
+            assertEquals(results.size(), 15);
+
+            for (int i = 0; i < 15; i++)
+            {
+                assertEquals(results.get(i).getGUID(), "log-record-" + i);
+            }
+
+            assertEquals(connector.getAuditLogRecord("log-record-4").getMessageText(), "Message 4");
+            assertEquals(connector.getAuditLogRecord("log-record-5").getMessageText(), "Message 5");
+            assertEquals(connector.getAuditLogRecord("log-record-12").getMessageText(), "Message 12");
+            assertNull(connector.getAuditLogRecord("log-record-corrupt"));
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    /**
+     * Validate that a new segment does not replace an existing one when the oldest segments have been removed,
+     * and that records in the older segments are still found by their unique identifier.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testOldSegmentsRemoved() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(8192);
+
+        storeLogRecords(connector, 0, 300);
+        connector.disconnect();
+
+        File[] segmentFiles = directory.listFiles();
+        assertNotNull(segmentFiles);
+        assertTrue(segmentFiles.length > 3, "Records not spread over several segments");
+
+        Arrays.sort(segmentFiles);
+        assertTrue(segmentFiles[0].delete());
+        assertTrue(segmentFiles[1].delete());
+
+        connector = getConnector(8192);
+
+        try
+        {
+            List<OMRSAuditLogRecord> results = connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+            assertNotNull(results);
+
+            int remainingCount = results.size();
+            int firstRemaining = Integer.parseInt(results.get(0).getGUID().substring("log-record-".length()));
+
+            storeLogRecords(connector, 300, 300);
+
+            results = connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0);
+            assertNotNull(results);
+            assertEquals(results.size(), remainingCount + 300);
+
+            for (int i = 0; i < results.size(); i++)
+            {
+                assertEquals(results.get(i).getGUID(), "log-record-" + (firstRemaining + i));
+            }
+
+            assertEquals(connector.getAuditLogRecord("log-record-" + firstRemaining).getMessageText(), "Message " + firstRemaining);
+            assertEquals(connector.getAuditLogRecord("log-record-299").getMessageText(), "Message 299");
+            assertEquals(connector.getAuditLogRecord("log-record-599").getMessageText(), "Message 599");
+            assertNull(connector.getAuditLogRecord("log-record-0"));
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+
+
+    /**
+     * Validate that a maximum segment size that is not a number greater than zero is rejected.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testInvalidMaxSegmentSize() throws Exception
+    {
+        for (Object maxSegmentSize : new Object[]{"large", 0, -1})
+        {
+            try
+            {
+                getConnector(maxSegmentSize).disconnect();
+                assertTrue(false, "Maximum segment size " + maxSegmentSize + " accepted");
+            }
+            catch (ConnectorCheckedException expected)
+            {
+                assertEquals(expected.getReportedErrorMessageId(), "OCF-CONNECTION-400-020");
+            }
+        }
+    }
+
+
+    /**
+     * Validate that every log record accepted while the store is closing is written.  Records queued as the
+     * writer thread stops are written by close() and records queued after it are rejected.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testStoreWhileClosing() throws Exception
+    {
+        FileBasedAuditLogSegmentStore store         = new FileBasedAuditLogSegmentStore(directory, 1024L * 1024L, 4, false);
+        AtomicInteger                 acceptedCount = new AtomicInteger(0);
+        List<Thread>                  writers       = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++)
+        {
+            final int firstRecord = i * 1000;
+
+            Thread writer = new Thread(() ->
+            {
+                for (int recordNumber = firstRecord; recordNumber < firstRecord + 1000; recordNumber++)
+                {
+                    try
+                    {
+                        store.addLogRecord(new FileBasedAuditLogSegment.Entry(getLogRecord(recordNumber), "{\"guid\":\"log-record-" + recordNumber + "\"}"));
+                        acceptedCount.incrementAndGet();
+                    }
+                    catch (IOException closed)
+                    {
+                        return;
+                    }
+                }
+            });
+
+            writers.add(writer);
+            writer.start();
+        }
+
+        Thread.sleep(5);
+        store.close();
+
+        for (Thread writer : writers)
+        {
+            writer.join();
+        }
+
+        FileBasedAuditLogSegmentStore reopenedStore = new FileBasedAuditLogSegmentStore(directory, 1024L * 1024L, 4, false);
+
+        try
+        {
+            List<OMRSAuditLogRecord> results = reopenedStore.findRecords(new FileBasedAuditLogSegment.Query(Long.MIN_VALUE, Long.MAX_VALUE, null, null, 0, 0));
+            assertEquals(results.size(), acceptedCount.get());
+        }
+        finally
+        {
+            reopenedStore.close();
+        }
+    }
+
+
+    /**
+     * Validate that invalid query parameters are rejected.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testInvalidParameters() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(1024L * 1024L);
+
+        try
+        {
+            try
+            {
+                connector.getAuditLogRecordsByTimeStamp(null, null, -1, 0);
+                assertTrue(false, "Negative offset accepted");
+            }
+            catch (PagingErrorException expected)
+            {
+                assertEquals(expected.getReportedErrorMessageId(), "OMRS-AUDIT-LOG-400-009");
+            }
+
+            try
+            {
+                connector.getAuditLogRecordsByComponent(null, null, null, 0, 0);
+                assertTrue(false, "Null component accepted");
+            }
+            catch (InvalidParameterException expected)
+            {
+                assertEquals(expected.getReportedErrorMessageId(), "OMRS-AUDIT-LOG-400-010");
+            }
+
+            try
+            {
+                connector.getAuditLogRecordsByTimeStamp(new Date(baseTime + 1000L), new Date(baseTime), 0, 0);
+                assertTrue(false, "Reversed time range accepted");
+            }
+            catch (InvalidParameterException expected)
+            {
+                assertEquals(expected.getReportedErrorMessageId(), "OMRS-REPOSITORY-400-083");
+            }
+        }
+        finally
+        {
+            connector.disconnect();
+        }
+    }
+}
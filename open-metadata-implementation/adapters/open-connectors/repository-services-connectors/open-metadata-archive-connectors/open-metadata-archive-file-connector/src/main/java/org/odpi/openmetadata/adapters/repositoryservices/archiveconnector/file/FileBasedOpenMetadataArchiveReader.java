@@ -0,0 +1,225 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+
+/**
+ * FileBasedOpenMetadataArchiveReader reads an open metadata archive file with the Jackson streaming parser
+ * and passes its contents to an OpenMetadataArchiveContentProcessor.  Only one entity, relationship or
+ * classification is held in memory at a time.
+ * <p>
+ *     Each section of the archive is located with a separate pass over the file, skipping the other sections
+ *     without binding them to objects.  This means the sections reach the processor in the order that it
+ *     requires (header, types, entities, relationships, classifications) whatever their order in the file.
+ *     Archives written by Egeria store the sections in this order so each pass stops early.
+ * </p>
+ */
+class FileBasedOpenMetadataArchiveReader
+{
+    private static final String archivePropertiesSection    = "archiveProperties";
+    private static final String archiveTypeStoreSection     = "archiveTypeStore";
+    private static final String archiveInstanceStoreSection = "archiveInstanceStore";
+    private static final String entitiesSection             = "entities";
+    private static final String relationshipsSection        = "relationships";
+    private static final String classificationsSection      = "classifications";
+
+    private final File archiveFile;
+
+    private boolean archivePropertiesProcessed = false;
+
+
+    /**
+     * Constructor
+     *
+     * @param archiveFile archive file to read
+     */
+    FileBasedOpenMetadataArchiveReader(File archiveFile)
+    {
+        this.archiveFile = archiveFile;
+    }
+
+
+    /**
+     * Pass the contents of the archive to the processor.
+     *
+     * @param processor receiver of the contents of the archive
+     * @throws IOException the file can not be read or is not a valid archive
+     */
+    void readArchive(OpenMetadataArchiveContentProcessor processor) throws IOException
+    {
+        OpenMetadataArchiveProperties archiveProperties = readSection(archivePropertiesSection, OpenMetadataArchiveProperties.class);
+
+        archivePropertiesProcessed = true;
+
+        if (processor.processArchiveProperties(archiveProperties))
+        {
+            OpenMetadataArchiveTypeStore archiveTypeStore = readSection(archiveTypeStoreSection, OpenMetadataArchiveTypeStore.class);
+
+            if (archiveTypeStore != null)
+            {
+                processor.processTypeStore(archiveTypeStore);
+            }
+
+            streamInstances(entitiesSection, EntityDetail.class, processor::processEntity);
+            streamInstances(relationshipsSection, Relationship.class, processor::processRelationship);
+            streamInstances(classificationsSection, ClassificationEntityExtension.class, processor::processClassification);
+        }
+    }
+
+
+    /**
+     * Return whether the archive properties have been passed to the processor.  If the archive could not be read,
+     * this determines whether the processor has started to process the archive.
+     *
+     * @return boolean
+     */
+    boolean hasProcessedArchiveProperties()
+    {
+        return archivePropertiesProcessed;
+    }
+
+
+    /**
+     * Read one of the top level sections of the archive.
+     *
+     * @param sectionName name of the section
+     * @param sectionClass class of the section
+     * @param <T> type of the section
+     * @return section or null if it is not in the archive
+     * @throws IOException the file can not be read or is not a valid archive
+     */
+    private <T> T readSection(String   sectionName,
+                              Class<T> sectionClass) throws IOException
+    {
+        try (JsonParser parser = openParser())
+        {
+            if ((findField(parser, sectionName)) && (parser.currentToken() != JsonToken.VALUE_NULL))
+            {
+                return OMRSJSONMapper.getReader(sectionClass).readValue(parser);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Pass each instance from one of the lists in the instance store of the archive to the consumer.
+     *
+     * @param sectionName name of the list in the instance store
+     * @param instanceClass class of the instances in the list
+     * @param consumer receiver of each instance
+     * @param <T> type of the instances
+     * @throws IOException the file can not be read or is not a valid archive
+     */
+    private <T> void streamInstances(String      sectionName,
+                                     Class<T>    instanceClass,
+                                     Consumer<T> consumer) throws IOException
+    {
+        try (JsonParser parser = openParser())
+        {
+            if ((findField(parser, archiveInstanceStoreSection)) && (findField(parser, sectionName)))
+            {
+                if (parser.currentToken() == JsonToken.START_ARRAY)
+                {
+                    ObjectReader instanceReader = OMRSJSONMapper.getReader(instanceClass);
+                    JsonToken    token          = parser.nextToken();
+
+                    while (token != JsonToken.END_ARRAY)
+                    {
+                        if (token == null)
+                        {
+                            throw new IOException("Unexpected end of the " + sectionName + " list in open metadata archive " + archiveFile.getPath());
+                        }
+
+                        if (token != JsonToken.VALUE_NULL)
+                        {
+                            T instance = instanceReader.readValue(parser);
+
+                            consumer.accept(instance);
+                        }
+
+                        token = parser.nextToken();
+                    }
+                }
+                else if (parser.currentToken() != JsonToken.VALUE_NULL)
+                {
+                    throw new IOException("The " + sectionName + " section of open metadata archive " + archiveFile.getPath() + " is not a list");
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Open a parser at the start of the archive.
+     *
+     * @return parser positioned on the start of the archive object
+     * @throws IOException the file can not be read or is not a valid archive
+     */
+    private JsonParser openParser() throws IOException
+    {
+        JsonParser parser = OMRSJSONMapper.getReader(OpenMetadataArchive.class).createParser(archiveFile);
+
+        if (parser.nextToken() != JsonToken.START_OBJECT)
+        {
+            parser.close();
+
+            throw new IOException("Open metadata archive " + archiveFile.getPath() + " does not contain a JSON object");
+        }
+
+        return parser;
+    }
+
+
+    /**
+     * Move the parser to the value of the named field of the current object, skipping the values of
+     * the other fields.
+     *
+     * @param parser parser positioned on the start of an object
+     * @param fieldName name of the field to find
+     * @return true if the parser is positioned on the value of the field; false if the object does not have the
+     * field (or is not an object)
+     * @throws IOException the file can not be read or is not a valid archive
+     */
+    private boolean findField(JsonParser parser,
+                              String     fieldName) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.START_OBJECT)
+        {
+            return false;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String currentFieldName = parser.getCurrentName();
+
+            parser.nextToken();
+
+            if (fieldName.equals(currentFieldName))
+            {
+                return true;
+            }
+
+            parser.skipChildren();
+        }
+
+        return false;
+    }
+}
@@ -2,14 +2,15 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file.ffdc.FileBasedOpenMetadataArchiveStoreConnectorAuditCode;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -92,9 +93,7 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
 
             String configStoreFileContents = FileUtils.readFileToString(archiveStoreFile, "UTF-8");
 
-            ObjectMapper objectMapper = new ObjectMapper();
-
-            newOpenMetadataArchive = objectMapper.readValue(configStoreFileContents, OpenMetadataArchive.class);
+            newOpenMetadataArchive = OMRSJSONMapper.readValue(configStoreFileContents, OpenMetadataArchive.class);
         }
         catch (IOException ioException)
         {
@@ -122,6 +121,57 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
     }
 
 
+    /**
+     * Pass the contents of the archive to the processor as the file is read so that the archive is never
+     * held in memory.  If the file can not be read, the processor receives null archive properties.
+     *
+     * @param processor receiver of the contents of the archive
+     * @return true since an unreadable file is reported through the audit log
+     */
+    @Override
+    public boolean processArchiveContents(OpenMetadataArchiveContentProcessor processor)
+    {
+        FileBasedOpenMetadataArchiveReader archiveReader = new FileBasedOpenMetadataArchiveReader(new File(archiveStoreName));
+
+        try
+        {
+            log.debug("Streaming open metadata archive from file");
+
+            if (auditLog != null)
+            {
+                final String actionDescription = "Opening open metadata archive";
+
+                auditLog.logMessage(actionDescription,
+                                    FileBasedOpenMetadataArchiveStoreConnectorAuditCode.OPENING_FILE.getMessageDefinition(archiveStoreName));
+            }
+
+            archiveReader.readArchive(processor);
+        }
+        catch (IOException ioException)
+        {
+            if (auditLog != null)
+            {
+                final String actionDescription = "Unable to open file";
+
+                auditLog.logException(actionDescription,
+                                      FileBasedOpenMetadataArchiveStoreConnectorAuditCode.BAD_FILE.getMessageDefinition(archiveStoreName,
+                                                                                                                        ioException.getClass().getName(),
+                                                                                                                        ioException.getMessage()),
+                                      ioException);
+            }
+
+            log.debug("Unable to read archive", ioException);
+
+            if (! archiveReader.hasProcessedArchiveProperties())
+            {
+                processor.processArchiveProperties(null);
+            }
+        }
+
+        return true;
+    }
+
+
     /**
      * Set new contents into the archive.  This overrides any content previously stored.
      *
@@ -142,9 +192,7 @@ public class FileBasedOpenMetadataArchiveStoreConnector extends OpenMetadataArch
             }
             else
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                String archiveStoreFileContents = objectMapper.writeValueAsString(archiveContents);
+                String archiveStoreFileContents = OMRSJSONMapper.writeValueAsString(archiveContents);
 
                 FileUtils.writeStringToFile(archiveStoreFile, archiveStoreFileContents, (String)null,false);
             }
@@ -0,0 +1,306 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.archiveconnector.file;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONMapper;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the file based archive store connector streams the contents of an archive to a processor
+ * in the order that the processor requires.
+ */
+public class FileBasedOpenMetadataArchiveReaderTest
+{
+    /**
+     * Build an archive with the requested number of entities and relationships.
+     *
+     * @param entityCount number of entities
+     * @param relationshipCount number of relationships
+     * @return archive
+     */
+    private OpenMetadataArchive getArchive(int entityCount,
+                                           int relationshipCount)
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+        archiveProperties.setArchiveGUID("TestArchiveGUID");
+        archiveProperties.setArchiveName("TestArchive");
+
+        TypeDef typeDef = new EntityDef();
+        typeDef.setName("TestType");
+
+        OpenMetadataArchiveTypeStore archiveTypeStore = new OpenMetadataArchiveTypeStore();
+        archiveTypeStore.setNewTypeDefs(Collections.singletonList(typeDef));
+
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (int i = 0; i < entityCount; i++)
+        {
+            EntityDetail entity = new EntityDetail();
+            entity.setGUID("entity-" + i);
+            entities.add(entity);
+        }
+
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (int i = 0; i < relationshipCount; i++)
+        {
+            Relationship relationship = new Relationship();
+            relationship.setGUID("relationship-" + i);
+            relationships.add(relationship);
+        }
+
+        OpenMetadataArchiveInstanceStore archiveInstanceStore = new OpenMetadataArchiveInstanceStore();
+        archiveInstanceStore.setEntities(entities);
+        archiveInstanceStore.setRelationships(relationships);
+
+        OpenMetadataArchive archive = new OpenMetadataArchive();
+        archive.setArchiveProperties(archiveProperties);
+        archive.setArchiveTypeStore(archiveTypeStore);
+        archive.setArchiveInstanceStore(archiveInstanceStore);
+
+        return archive;
+    }
+
+
+    /**
+     * Create a connector for an archive file.
+     *
+     * @param archiveFile file holding the archive
+     * @return connector
+     */
+    private FileBasedOpenMetadataArchiveStoreConnector getConnector(File archiveFile)
+    {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress(archiveFile.getPath());
+
+        Connection connection = new Connection();
+        connection.setEndpoint(endpoint);
+
+        FileBasedOpenMetadataArchiveStoreConnector connector = new FileBasedOpenMetadataArchiveStoreConnector();
+        connector.initialize("TestConnectorInstanceId", new ConnectionProperties(connection));
+
+        return connector;
+    }
+
+
+    /**
+     * Validate that an archive written by the connector is streamed back in order.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testStreamArchive() throws Exception
+    {
+        File archiveFile = File.createTempFile("open-metadata-archive", ".json");
+
+        try
+        {
+            FileBasedOpenMetadataArchiveStoreConnector connector = getConnector(archiveFile);
+            connector.setArchiveContents(getArchive(250, 100));
+
+            RecordingProcessor processor = new RecordingProcessor(true);
+
+            assertTrue(connector.processArchiveContents(processor));
+            assertEquals(processor.events.size(), 352);
+            assertEquals(processor.events.get(0), "properties:TestArchive");
+            assertEquals(processor.events.get(1), "types:1");
+            assertEquals(processor.events.get(2), "entity:entity-0");
+            assertEquals(processor.events.get(251), "entity:entity-249");
+            assertEquals(processor.events.get(252), "relationship:relationship-0");
+            assertEquals(processor.events.get(351), "relationship:relationship-99");
+        }
+        finally
+        {
+            Files.deleteIfExists(archiveFile.toPath());
+        }
+    }
+
+
+    /**
+     * Validate that the sections are passed to the processor in the required order when they are stored
+     * in a different order.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testSectionsOutOfOrder() throws Exception
+    {
+        File archiveFile = File.createTempFile("open-metadata-archive", ".json");
+
+        try
+        {
+            String json = "{\"class\":\"OpenMetadataArchive\","
+                                  + "\"archiveInstanceStore\":{\"class\":\"OpenMetadataArchiveInstanceStore\","
+                                  + "\"relationships\":[{\"class\":\"Relationship\",\"guid\":\"relationship-0\"}],"
+                                  + "\"entities\":[{\"class\":\"EntityDetail\",\"guid\":\"entity-0\"},null,"
+                                  + "{\"class\":\"EntityDetail\",\"guid\":\"entity-1\"}]},"
+                                  + "\"unknownSection\":[1,{\"a\":[2]}],"
+                                  + "\"archiveTypeStore\":{\"class\":\"OpenMetadataArchiveTypeStore\"},"
+                                  + "\"archiveProperties\":{\"class\":\"OpenMetadataArchiveProperties\",\"archiveName\":\"TestArchive\"}}";
+
+            Files.write(archiveFile.toPath(), json.getBytes(StandardCharsets.UTF_8));
+
+            RecordingProcessor processor = new RecordingProcessor(true);
+
+            getConnector(archiveFile).processArchiveContents(processor);
+
+            assertEquals(processor.events.size(), 5);
+            assertEquals(processor.events.get(0), "properties:TestArchive");
+            assertEquals(processor.events.get(1), "types:0");
+            assertEquals(processor.events.get(2), "entity:entity-0");
+            assertEquals(processor.events.get(3), "entity:entity-1");
+            assertEquals(processor.events.get(4), "relationship:relationship-0");
+        }
+        finally
+        {
+            Files.deleteIfExists(archiveFile.toPath());
+        }
+    }
+
+
+    /**
+     * Validate that the rest of the archive is skipped when the processor rejects the archive properties and that
+     * a missing file results in null archive properties.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testRejectedAndMissingArchive() throws Exception
+    {
+        File archiveFile = File.createTempFile("open-metadata-archive", ".json");
+
+        try
+        {
+            Files.write(archiveFile.toPath(), OMRSJSONMapper.writeValueAsString(getArchive(10, 10)).getBytes(StandardCharsets.UTF_8));
+
+            RecordingProcessor processor = new RecordingProcessor(false);
+
+            getConnector(archiveFile).processArchiveContents(processor);
+
+            assertEquals(processor.events.size(), 1);
+        }
+        finally
+        {
+            Files.deleteIfExists(archiveFile.toPath());
+        }
+
+        RecordingProcessor processor = new RecordingProcessor(true);
+
+        getConnector(archiveFile).processArchiveContents(processor);
+
+        assertEquals(processor.events.size(), 1);
+        assertEquals(processor.events.get(0), "properties:null");
+        assertFalse(archiveFile.exists());
+    }
+
+
+    /**
+     * RecordingProcessor records the contents of the archive in the order they are received.
+     */
+    private static class RecordingProcessor implements OpenMetadataArchiveContentProcessor
+    {
+        private final List<String> events = new ArrayList<>();
+        private final boolean      acceptArchive;
+
+
+        /**
+         * Constructor
+         *
+         * @param acceptArchive whether to process the archive after the properties
+         */
+        RecordingProcessor(boolean acceptArchive)
+        {
+            this.acceptArchive = acceptArchive;
+        }
+
+
+        /**
+         * Record the archive properties.
+         *
+         * @param archiveProperties properties of the archive
+         * @return whether to process the rest of the archive
+         */
+        @Override
+        public boolean processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            events.add("properties:" + (archiveProperties == null ? null : archiveProperties.getArchiveName()));
+
+            return acceptArchive;
+        }
+
+
+        /**
+         * Record the number of new types.
+         *
+         * @param archiveTypeStore type store
+         */
+        @Override
+        public void processTypeStore(OpenMetadataArchiveTypeStore archiveTypeStore)
+        {
+            assertNotNull(archiveTypeStore);
+
+            events.add("types:" + (archiveTypeStore.getNewTypeDefs() == null ? 0 : archiveTypeStore.getNewTypeDefs().size()));
+        }
+
+
+        /**
+         * Record the entity.
+         *
+         * @param entity entity
+         */
+        @Override
+        public void processEntity(EntityDetail entity)
+        {
+            events.add("entity:" + entity.getGUID());
+        }
+
+
+        /**
+         * Record the relationship.
+         *
+         * @param relationship relationship
+         */
+        @Override
+        public void processRelationship(Relationship relationship)
+        {
+            events.add("relationship:" + relationship.getGUID());
+        }
+
+
+        /**
+         * Record the classification.
+         *
+         * @param classification classification
+         */
+        @Override
+        public void processClassification(ClassificationEntityExtension classification)
+        {
+            events.add("classification");
+        }
+    }
+}
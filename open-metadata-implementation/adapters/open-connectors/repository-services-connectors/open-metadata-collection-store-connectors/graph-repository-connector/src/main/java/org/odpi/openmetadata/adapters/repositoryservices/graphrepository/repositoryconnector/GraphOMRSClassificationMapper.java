@@ -4,7 +4,6 @@
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
@@ -23,6 +22,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +39,8 @@ public class GraphOMRSClassificationMapper {
 
     private static final Logger log = LoggerFactory.getLogger(GraphOMRSClassificationMapper.class);
 
+    private static final TypeReference<Map<String, Serializable>> MAPPING_PROPERTIES_TYPE = new TypeReference<Map<String, Serializable>>() {};
+
     private String metadataCollectionId;
     private String repositoryName;
     private OMRSRepositoryHelper repositoryHelper;
@@ -103,10 +105,9 @@ public class GraphOMRSClassificationMapper {
         if (classificationProperties != null) {
 
             // First write properties as json - useful for handling collections and possibly for full text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(classificationProperties);
+                jsonString = OMRSJSONMapper.writeValueAsString(classificationProperties);
                 log.debug("{} classification has serialized properties {}", methodName, jsonString);
                 vertex.property("classificationProperties", jsonString);
             } catch (Throwable exc) {
@@ -299,10 +300,9 @@ public class GraphOMRSClassificationMapper {
 
         List<String> maintainedByList = classification.getMaintainedBy();
         if (maintainedByList != null && !maintainedByList.isEmpty()) {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(maintainedByList);
+                jsonString = OMRSJSONMapper.writeValueAsString(maintainedByList);
                 vertex.property(PROPERTY_KEY_CLASSIFICATION_MAINTAINED_BY, jsonString);
 
             } catch (Throwable exc) {
@@ -330,10 +330,9 @@ public class GraphOMRSClassificationMapper {
 
         Map<String, Serializable> mappingProperties = classification.getMappingProperties();
         if (mappingProperties != null && !mappingProperties.isEmpty()) {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(mappingProperties);
+                jsonString = OMRSJSONMapper.writeValueAsString(mappingProperties);
                 vertex.property(PROPERTY_KEY_CLASSIFICATION_MAPPING_PROPERTIES, jsonString);
 
             } catch (Throwable exc) {
@@ -369,9 +368,8 @@ public class GraphOMRSClassificationMapper {
         String stringProps = (String) getVertexProperty(vertex, "classificationProperties");
 
         if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
+                InstanceProperties instanceProperties = OMRSJSONMapper.readValue(stringProps, InstanceProperties.class);
                 log.debug("{} classification has deserialized properties {}", methodName, instanceProperties);
                 classification.setProperties(instanceProperties);
             } catch (Throwable exc) {
@@ -445,9 +443,8 @@ public class GraphOMRSClassificationMapper {
         // maintainedBy
         String maintainedByString = (String) getVertexProperty(vertex, PROPERTY_KEY_CLASSIFICATION_MAINTAINED_BY);
         if (maintainedByString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                List<String> maintainedByList = (List<String>) objectMapper.readValue(maintainedByString, List.class);
+                List<String> maintainedByList = (List<String>) OMRSJSONMapper.readValue(maintainedByString, List.class);
                 log.debug("{} vertex has deserialized maintainedBy list {}", methodName, maintainedByList);
                 classification.setMaintainedBy(maintainedByList);
 
@@ -466,10 +463,8 @@ public class GraphOMRSClassificationMapper {
         // mappingProperties
         String mappingPropertiesString = (String) getVertexProperty(vertex, PROPERTY_KEY_CLASSIFICATION_MAPPING_PROPERTIES);
         if (mappingPropertiesString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                TypeReference<Map<String, Serializable>> typeReference = new TypeReference<Map<String, Serializable>>() {};
-                Map<String, Serializable> mappingPropertiesMap = objectMapper.readValue(mappingPropertiesString, typeReference);
+                Map<String, Serializable> mappingPropertiesMap = OMRSJSONMapper.readValue(mappingPropertiesString, MAPPING_PROPERTIES_TYPE);
                 log.debug("{} vertex has deserialized mappingProperties {}", methodName, mappingPropertiesMap);
                 classification.setMappingProperties(mappingPropertiesMap);
 
@@ -4,7 +4,6 @@ package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.reposi
 
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -26,6 +25,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +43,8 @@ public class GraphOMRSEntityMapper {
 
     private static final Logger log = LoggerFactory.getLogger(GraphOMRSEntityMapper.class);
 
+    private static final TypeReference<Map<String, Serializable>> MAPPING_PROPERTIES_TYPE = new TypeReference<Map<String, Serializable>>() {};
+
     private String                          metadataCollectionId;
     private String                          repositoryName;
     private OMRSRepositoryHelper            repositoryHelper;
@@ -130,10 +132,9 @@ public class GraphOMRSEntityMapper {
         if (instanceProperties != null) {
 
             // First write properties as json - useful for handling collections and possibly for full text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(instanceProperties);
+                jsonString = OMRSJSONMapper.writeValueAsString(instanceProperties);
                 log.debug("{} entity has serialized properties {}", methodName, jsonString);
                 vertex.property("instanceProperties", jsonString);
             } catch (Throwable exc) {
@@ -192,10 +193,9 @@ public class GraphOMRSEntityMapper {
         InstanceProperties uniqueProperties = entity.getUniqueProperties();
         if (uniqueProperties != null) {
             // First approach was to write properties as json - could be useful for text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(uniqueProperties);
+                jsonString = OMRSJSONMapper.writeValueAsString(uniqueProperties);
                 log.debug("{} entity proxy has serialized unique properties {}", methodName, jsonString);
                 vertex.property("instanceProperties", jsonString);
             } catch (Throwable exc) {
@@ -379,10 +379,9 @@ public class GraphOMRSEntityMapper {
         // can be indexed even on Relationships. Queries can use textRegex to search/retrieve.
         if (entity.getMaintainedBy() != null) {
             List<String> maintainers = entity.getMaintainedBy();
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(maintainers);
+                jsonString = OMRSJSONMapper.writeValueAsString(maintainers);
                 log.debug("{} entity maintainedBy serialized to {}", methodName, jsonString);
                 vertex.property(PROPERTY_KEY_ENTITY_MAINTAINED_BY, jsonString);
             }
@@ -413,10 +412,9 @@ public class GraphOMRSEntityMapper {
         // anticipated that it will be used for search, more for correlation.
         if (entity.getMappingProperties() != null) {
             Map<String, Serializable> mappingProperties = entity.getMappingProperties();
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(mappingProperties);
+                jsonString = OMRSJSONMapper.writeValueAsString(mappingProperties);
                 log.debug("{} entity maintainedBy serialized to {}", methodName, jsonString);
                 vertex.property(PROPERTY_KEY_ENTITY_MAPPING_PROPERTIES, jsonString);
             }
@@ -469,9 +467,8 @@ public class GraphOMRSEntityMapper {
         String stringProps = (String) getVertexProperty(vertex, "instanceProperties");
 
         if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
+                InstanceProperties instanceProperties = OMRSJSONMapper.readValue(stringProps, InstanceProperties.class);
                 log.debug("{} entity has deserialized properties {}", methodName, instanceProperties);
                 entity.setProperties(instanceProperties);
             } catch (Throwable exc) {
@@ -520,9 +517,8 @@ public class GraphOMRSEntityMapper {
         String stringProps = (String) getVertexProperty(vertex, "instanceProperties");
 
         if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
+                InstanceProperties instanceProperties = OMRSJSONMapper.readValue(stringProps, InstanceProperties.class);
                 log.debug("{} entity has deserialized properties {}", methodName, instanceProperties);
                 List<TypeDefAttribute> propertiesDefinition = repositoryHelper.getAllPropertiesForTypeDef(repositoryName, typeDef, methodName);
                 InstanceProperties uniqueAttributes = new InstanceProperties();
@@ -624,9 +620,8 @@ public class GraphOMRSEntityMapper {
 
         String maintainedByString = (String) getVertexProperty(vertex, PROPERTY_KEY_ENTITY_MAINTAINED_BY);
         if (maintainedByString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                List<String> maintainedByList = (List<String>) objectMapper.readValue(maintainedByString, List.class);
+                List<String> maintainedByList = (List<String>) OMRSJSONMapper.readValue(maintainedByString, List.class);
                 log.debug("{} entity has deserialized maintainedBy {}", methodName, maintainedByList);
                 entity.setMaintainedBy(maintainedByList);
             } catch (Throwable exc) {
@@ -644,10 +639,8 @@ public class GraphOMRSEntityMapper {
 
         String mappingPropertiesString = (String) getVertexProperty(vertex, PROPERTY_KEY_ENTITY_MAPPING_PROPERTIES);
         if (mappingPropertiesString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                TypeReference<Map<String, Serializable>> typeReference = new TypeReference<Map<String, Serializable>>() {};
-                Map<String, Serializable> mappingPropertiesMap = objectMapper.readValue(mappingPropertiesString, typeReference);
+                Map<String, Serializable> mappingPropertiesMap = OMRSJSONMapper.readValue(mappingPropertiesString, MAPPING_PROPERTIES_TYPE);
                 log.debug("{} entity has deserialized mappingProperties {}", methodName, mappingPropertiesMap);
                 entity.setMappingProperties(mappingPropertiesMap);
             } catch (Throwable exc) {
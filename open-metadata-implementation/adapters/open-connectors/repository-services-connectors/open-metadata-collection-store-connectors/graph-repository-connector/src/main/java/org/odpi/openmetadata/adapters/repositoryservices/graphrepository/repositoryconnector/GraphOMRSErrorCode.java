@@ -146,6 +146,11 @@ public enum GraphOMRSErrorCode implements ExceptionMessageSet
             "The search properties contains a values that do not match the type of property {0} - reported by the {1} method of class {2} to open metadata repository {3}",
             "The system is unable to perform the request because the provided values do not match the type of the property.",
             "Correct the caller's code and retry the request."),
+    INSTANCE_COUNT_FAILED(
+            400, "OMRS-GRAPH-REPOSITORY-400-030",
+            "The attempt to count the matching instances failed in {0} method of class {1} to open metadata repository {2}",
+            "The system was unable to perform the count request.",
+            "Check the graph database is available and retry the request."),
 
     ;
 
@@ -27,6 +27,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSSearchPredicate;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.ClassificationErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityConflictException;
@@ -421,6 +422,52 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // getEntitiesDetail
+    @Override
+    public List<EntityDetail> getEntitiesDetail(String       userId,
+                                                List<String> guids,
+                                                Date         asOfTime)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "getEntitiesDetail";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        if (asOfTime != null) {
+            log.error("{} does not support asOfTime searches", methodName);
+
+            super.reportUnsupportedOptionalFunction(methodName);
+        }
+
+        /*
+         * Perform operation - the entities are retrieved with a single traversal
+         */
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (EntityDetail entity : graphStore.getEntityDetailsFromStore(guids))
+        {
+            if (entity.getStatus() != InstanceStatus.DELETED)
+            {
+                entities.add(entity);
+            }
+        }
+
+        if (entities.isEmpty())
+        {
+            return null;
+        }
+
+        return entities;
+    }
+
+
     // addRelationship
     @Override
     public Relationship addRelationship(String               userId,
@@ -608,6 +655,52 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // getRelationships
+    @Override
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        if (asOfTime != null) {
+            log.error("{} does not support asOfTime searches", methodName);
+
+            super.reportUnsupportedOptionalFunction(methodName);
+        }
+
+        /*
+         * Perform operation - the relationships are retrieved with a single traversal
+         */
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (Relationship relationship : graphStore.getRelationshipsFromStore(guids))
+        {
+            if (relationship.getStatus() != InstanceStatus.DELETED)
+            {
+                relationships.add(relationship);
+            }
+        }
+
+        if (relationships.isEmpty())
+        {
+            return null;
+        }
+
+        return relationships;
+    }
+
+
     // updateEntityStatus
     @Override
     public EntityDetail updateEntityStatus(String           userId,
@@ -1189,6 +1282,61 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+
+    // countRelationshipsForEntity
+    @Override
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime,
+                                           Date                       effectiveTime)
+            throws
+            InvalidParameterException,
+            TypeErrorException,
+            RepositoryErrorException,
+            EntityNotKnownException,
+            UserNotAuthorizedException,
+            FunctionNotSupportedException
+    {
+        final String  methodName = "countRelationshipsForEntity";
+        final String  typeGUIDParameterName = "relationshipTypeGUID";
+
+        /*
+         * Validate parameters
+         */
+        super.countRelationshipsForEntityParameterValidation(userId,
+                entityGUID,
+                relationshipTypeGUID,
+                limitResultsByStatus,
+                asOfTime);
+
+        /*
+         * Perform operation
+         */
+        EntitySummary  entity = this.getEntitySummary(userId, entityGUID);
+
+        repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entity, methodName);
+        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entity, methodName);
+
+        if (asOfTime != null) {
+            log.error("{} does not support asOfTime searches", methodName);
+
+            super.reportUnsupportedOptionalFunction(methodName);
+        }
+
+        // The edges hold the type name rather than the type GUID
+        String relationshipTypeName = null;
+        if (relationshipTypeGUID != null) {
+            TypeDef typeDef = repositoryHelper.getTypeDef(repositoryName, typeGUIDParameterName, relationshipTypeGUID, methodName);
+            relationshipTypeName = typeDef.getName();
+        }
+
+        // The graph does not store the effectivity dates of relationships, so every relationship is effective at the effectiveTime
+        return graphStore.countRelationshipsForEntity(entityGUID, relationshipTypeName, limitResultsByStatus);
+    }
+
+
     // findEntitiesByProperty
     @Override
     public  List<EntityDetail> findEntitiesByProperty(String                 userId,
@@ -1268,6 +1416,14 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         }
 
 
+        // When every instance returned by a delegated query is retained, the graph can perform the sequencing and paging
+        GraphOMRSQueryPage queryPage = GraphOMRSQueryPage.getQueryPage(queryPlan.getQueryStrategy(),
+                                                                       limitResultsByClassification != null,
+                                                                       limitResultsByStatus,
+                                                                       fromEntityElement,
+                                                                       sequencingOrder,
+                                                                       pageSize);
+
         List<EntityDetail> foundEntities = null;
 
         // If there were any dups there must be horizontal duplication (across the types within the valid type set).
@@ -1286,7 +1442,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                                       qualifiedPropertyNameToTypeDefinedAttribute,
                                                                       shortPropertyNameToQualifiedPropertyNames,
                                                                       matchProperties,
-                                                                      matchCriteria);
+                                                                      matchCriteria,
+                                                                      queryPage);
         }
         // Process list of returned entities from sub-methods
         if (foundEntities != null)
@@ -1308,7 +1465,7 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             }
             // Perform sequencing and paging
             // Eliminate soft deleted entities and apply status and classification filtering if any was requested
-            entities = repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+            entities = repositoryHelper.formatEntityResults(retainedEntities, queryPage == null ? fromEntityElement : 0, sequencingProperty, sequencingOrder, pageSize);
         }
 
         return entities;
@@ -1316,6 +1473,87 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
 
 
 
+    // countEntitiesByProperty
+    @Override
+    public int countEntitiesByProperty(String                 userId,
+                                       String                 entityTypeGUID,
+                                       InstanceProperties     matchProperties,
+                                       MatchCriteria          matchCriteria,
+                                       List<InstanceStatus>   limitResultsByStatus,
+                                       List<String>           limitResultsByClassification,
+                                       Date                   asOfTime,
+                                       Date                   effectiveTime)
+    throws
+    InvalidParameterException,
+    TypeErrorException,
+    RepositoryErrorException,
+    PropertyErrorException,
+    PagingErrorException,
+    FunctionNotSupportedException,
+    UserNotAuthorizedException
+    {
+
+        final String methodName = "countEntitiesByProperty";
+
+        /*
+         * Validate parameters
+         */
+        super.countEntitiesByPropertyParameterValidation(userId,
+                                                         entityTypeGUID,
+                                                         matchProperties,
+                                                         matchCriteria,
+                                                         limitResultsByStatus,
+                                                         limitResultsByClassification,
+                                                         asOfTime);
+
+
+        if (asOfTime != null) {
+            log.error("{} does not support asOfTime searches", methodName);
+
+            super.reportUnsupportedOptionalFunction(methodName);
+        }
+
+        // Generate a query plan
+        GraphOMRSQueryPlan queryPlan = new   GraphOMRSQueryPlan(repositoryName,
+                                                                metadataCollectionId,
+                                                                repositoryHelper,
+                                                                TypeDefCategory.ENTITY_DEF,
+                                                                matchProperties,
+                                                                entityTypeGUID,
+                                                                null);
+
+        List<String> validTypeNames = queryPlan.getValidTypeNames();
+
+        if (validTypeNames.isEmpty())
+        {
+            return 0;
+        }
+
+        // The iterative query and classification filtering are performed on the mapped entities, so they are counted from the found entities
+        if ((queryPlan.getQueryStrategy() != GraphOMRSQueryPlan.QueryStrategy.Delegate) || (limitResultsByClassification != null))
+        {
+            return super.countEntitiesByProperty(userId,
+                                                 entityTypeGUID,
+                                                 matchProperties,
+                                                 matchCriteria,
+                                                 limitResultsByStatus,
+                                                 limitResultsByClassification,
+                                                 asOfTime,
+                                                 effectiveTime);
+        }
+
+        // The graph does not store the effectivity dates of entities, so every entity is effective at the effectiveTime
+        return graphStore.countEntitiesByPropertyForTypes(validTypeNames,
+                                                          queryPlan.getFilterTypeName(),
+                                                          queryPlan.getQualifiedPropertyNameToTypeDefinedAttribute(),
+                                                          queryPlan.getShortPropertyNameToQualifiedPropertyNames(),
+                                                          matchProperties,
+                                                          matchCriteria,
+                                                          limitResultsByStatus);
+    }
+
+
+
 
 
 
@@ -1563,6 +1801,14 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             return null;
         }
 
+        // When every instance returned by a delegated query is retained, the graph can perform the sequencing and paging
+        GraphOMRSQueryPage queryPage = GraphOMRSQueryPage.getQueryPage(queryPlan.getQueryStrategy(),
+                                                                       false,
+                                                                       limitResultsByStatus,
+                                                                       fromRelationshipElement,
+                                                                       sequencingOrder,
+                                                                       pageSize);
+
         List<Relationship> foundRelationships = null;
 
         // If there were any dups there must be horizontal duplication (across the types within the valid type set).
@@ -1581,7 +1827,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                                                 qualifiedPropertyNameToTypeDefinedAttribute,
                                                                                 shortPropertyNameToQualifiedPropertyNames,
                                                                                 matchProperties,
-                                                                                matchCriteria);
+                                                                                matchCriteria,
+                                                                                queryPage);
         }
 
         List<Relationship> relationships = null;
@@ -1603,7 +1850,7 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             }
             // Perform sequencing and paging
 
-            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, queryPage == null ? fromRelationshipElement : 0, sequencingProperty, sequencingOrder, pageSize);
         }
 
         return relationships;
@@ -1708,6 +1955,14 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             return null;
         }
 
+        // When every instance returned by a delegated query is retained, the graph can perform the sequencing and paging
+        GraphOMRSQueryPage queryPage = GraphOMRSQueryPage.getQueryPage(GraphOMRSQueryPlan.QueryStrategy.Delegate,
+                                                                       limitResultsByClassification != null,
+                                                                       limitResultsByStatus,
+                                                                       fromEntityElement,
+                                                                       sequencingOrder,
+                                                                       pageSize);
+
         List<EntityDetail> foundEntities = null;
 
         // For this find method the property maps will drive the query and there is no need to decide whether to iterate or delegate.
@@ -1716,7 +1971,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                             filterTypeName,
                                                             qualifiedPropertyNameToTypeDefinedAttribute,
                                                             shortPropertyNameToQualifiedPropertyNames,
-                                                            searchCriteria);
+                                                            searchCriteria,
+                                                            queryPage);
 
         if (foundEntities != null)
         {
@@ -1736,7 +1992,7 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 }
             }
             // Perform sequencing and paging
-            entities = repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+            entities = repositoryHelper.formatEntityResults(retainedEntities, queryPage == null ? fromEntityElement : 0, sequencingProperty, sequencingOrder, pageSize);
         }
 
         return entities;
@@ -1821,11 +2077,20 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             return null;
         }
 
+        // When every instance returned by a delegated query is retained, the graph can perform the sequencing and paging
+        GraphOMRSQueryPage queryPage = GraphOMRSQueryPage.getQueryPage(GraphOMRSQueryPlan.QueryStrategy.Delegate,
+                                                                       false,
+                                                                       limitResultsByStatus,
+                                                                       fromRelationshipElement,
+                                                                       sequencingOrder,
+                                                                       pageSize);
+
         List<Relationship> foundRelationships = findRelationshipsByPropertyValueForTypes(validTypeNames,
                                                                                          filterTypeName,
                                                                                          qualifiedPropertyNameToTypeDefinedAttribute,
                                                                                          shortPropertyNameToQualifiedPropertyNames,
-                                                                                         searchCriteria);
+                                                                                         searchCriteria,
+                                                                                         queryPage);
 
         List<Relationship> relationships = null;
 
@@ -1844,7 +2109,7 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 }
             }
             // Perform sequencing and paging
-            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, queryPage == null ? fromRelationshipElement : 0, sequencingProperty, sequencingOrder, pageSize);
         }
 
         return relationships;
@@ -1859,7 +2124,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                                    String                         filterTypeName,
                                                                    Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                                    Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
-                                                                   String                         searchCriteria)
+                                                                   String                         searchCriteria,
+                                                                   GraphOMRSQueryPage             queryPage)
     throws
         InvalidParameterException,
         RepositoryErrorException
@@ -1887,7 +2153,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                                                              qualifiedPropertyNameToTypeDefinedAttribute,
                                                                                              shortPropertyNameToQualifiedPropertyNames,
                                                                                              matchProperties,
-                                                                                             MatchCriteria.ANY);
+                                                                                             MatchCriteria.ANY,
+                                                                                             queryPage);
 
         return matchingEntities;
 
@@ -1901,7 +2168,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                                         String                         filterTypeName,
                                                                         Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                                         Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
-                                                                        String                         searchCriteria)
+                                                                        String                         searchCriteria,
+                                                                        GraphOMRSQueryPage             queryPage)
     throws
     InvalidParameterException,
     TypeErrorException,
@@ -1933,7 +2201,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                                                                        qualifiedPropertyNameToTypeDefinedAttribute,
                                                                                                        shortPropertyNameToQualifiedPropertyNames,
                                                                                                        matchProperties,
-                                                                                                       MatchCriteria.ANY);
+                                                                                                       MatchCriteria.ANY,
+                                                                                                       queryPage);
 
         return matchingRelationships;
 
@@ -2023,6 +2292,14 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             return null;
         }
 
+        // When every instance returned by a delegated query is retained, the graph can perform the sequencing and paging
+        GraphOMRSQueryPage queryPage = GraphOMRSQueryPage.getQueryPage(queryPlan.getQueryStrategy(),
+                                                                       matchClassifications != null,
+                                                                       limitResultsByStatus,
+                                                                       fromEntityElement,
+                                                                       sequencingOrder,
+                                                                       pageSize);
+
         List<EntityDetail> foundEntities = null;
 
         // If there were any dups there must be horizontal duplication (across the types within the valid type set).
@@ -2040,7 +2317,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                             filterTypeName,
                                                             qualifiedPropertyNameToTypeDefinedAttribute,
                                                             shortPropertyNameToQualifiedPropertyNames,
-                                                            matchProperties);
+                                                            matchProperties,
+                                                            queryPage);
         }
 
 
@@ -2049,13 +2327,14 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             /*
              * Eliminate soft deleted entities and apply status and classification filtering if any was requested
              */
+            OMRSSearchPredicate classificationPredicate = repositoryValidator.getSearchPredicate(matchClassifications);
             List<EntityDetail> retainedEntities = new ArrayList<>();
             for (EntityDetail entity : foundEntities)
             {
                 if (entity != null)
                 {
                     if ((repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity))
-                            && (repositoryValidator.verifyMatchingClassifications(matchClassifications, entity)))
+                            && (classificationPredicate.matches(entity, null)))
                     {
 
                         retainedEntities.add(entity);
@@ -2063,7 +2342,7 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 }
             }
             // Perform sequencing and paging
-            entities = repositoryHelper.formatEntityResults(retainedEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+            entities = repositoryHelper.formatEntityResults(retainedEntities, queryPage == null ? fromEntityElement : 0, sequencingProperty, sequencingOrder, pageSize);
         }
 
         return entities;
@@ -2185,6 +2464,14 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             return null;
         }
 
+        // When every instance returned by a delegated query is retained, the graph can perform the sequencing and paging
+        GraphOMRSQueryPage queryPage = GraphOMRSQueryPage.getQueryPage(queryPlan.getQueryStrategy(),
+                                                                       false,
+                                                                       limitResultsByStatus,
+                                                                       fromRelationshipElement,
+                                                                       sequencingOrder,
+                                                                       pageSize);
+
         List<Relationship> foundRelationships = null;
 
         // If there were any dups there must be horizontal duplication (across the types within the valid type set).
@@ -2202,7 +2489,8 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                                       filterTypeName,
                                                                       qualifiedPropertyNameToTypeDefinedAttribute,
                                                                       shortPropertyNameToQualifiedPropertyNames,
-                                                                      matchProperties);
+                                                                      matchProperties,
+                                                                      queryPage);
         }
 
 
@@ -2226,7 +2514,7 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                 }
             }
             // Perform sequencing and paging
-            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, fromRelationshipElement, sequencingProperty, sequencingOrder, pageSize);
+            relationships = repositoryHelper.formatRelationshipResults(retainedRelationships, queryPage == null ? fromRelationshipElement : 0, sequencingProperty, sequencingOrder, pageSize);
         }
 
         return relationships;
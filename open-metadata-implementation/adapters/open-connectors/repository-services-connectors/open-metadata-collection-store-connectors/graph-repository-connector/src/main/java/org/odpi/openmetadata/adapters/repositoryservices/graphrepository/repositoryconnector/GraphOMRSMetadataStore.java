@@ -59,6 +59,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
 import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
@@ -100,11 +102,20 @@ import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadat
  * GraphOMRSMetadataStore provides the graph store for the GraphRepositoryConnector
  * The Graph Store is implemented using JanusGraph and is used to store instances.
  * There is no type graph because the RCM is used to get any information about TypeDefs and AttributeTypeDefs.
+ *
+ * Each thread works in its own JanusGraph transaction so requests are processed concurrently.  Reads take no
+ * locks.  Changes take one of a fixed set of locks chosen by the GUID of each instance that they touch, so that
+ * changes to different instances proceed in parallel while changes to the same instance (or to a relationship
+ * and the entities at its ends) are applied one at a time.
  */
 class GraphOMRSMetadataStore {
 
     private static final Logger log = LoggerFactory.getLogger(GraphOMRSMetadataStore.class);
 
+    private static final int LOCK_STRIPES = 64;
+
+    private final ReentrantLock[] guidLocks = new ReentrantLock[LOCK_STRIPES];
+
     private String repositoryName;
     private String metadataCollectionId;
 
@@ -164,6 +175,77 @@ class GraphOMRSMetadataStore {
         this.entityMapper = new GraphOMRSEntityMapper(metadataCollectionId, repositoryName, repositoryHelper);
         this.classificationMapper = new GraphOMRSClassificationMapper(metadataCollectionId, repositoryName, repositoryHelper);
 
+        for (int i = 0; i < LOCK_STRIPES; i++)
+        {
+            guidLocks[i] = new ReentrantLock();
+        }
+
+    }
+
+
+    /**
+     * Take the locks that serialize changes to the instances with the supplied GUIDs.  The locks are always
+     * taken in the same order so that changes touching several instances cannot deadlock.
+     *
+     * @param guids unique identifiers of the instances that are to be changed
+     * @return locks to pass to unlockInstances when the change is complete
+     */
+    private List<ReentrantLock> lockInstances(String... guids)
+    {
+        Map<Integer, ReentrantLock> locks = new TreeMap<>();
+
+        for (String guid : guids)
+        {
+            int stripe = (guid == null) ? 0 : (guid.hashCode() & 0x7fffffff) % LOCK_STRIPES;
+
+            locks.put(stripe, guidLocks[stripe]);
+        }
+
+        List<ReentrantLock> instanceLocks = new ArrayList<>(locks.values());
+
+        for (ReentrantLock lock : instanceLocks)
+        {
+            lock.lock();
+        }
+
+        return instanceLocks;
+    }
+
+
+    /**
+     * Take the locks for a relationship and the entities at each end since the change may add an edge to
+     * the end vertices or create proxies for them.
+     *
+     * @param relationship relationship that is to be changed
+     * @return locks to pass to unlockInstances when the change is complete
+     */
+    private List<ReentrantLock> lockRelationshipAndEnds(Relationship relationship)
+    {
+        String entityOneGUID = (relationship.getEntityOneProxy() == null) ? null : relationship.getEntityOneProxy().getGUID();
+        String entityTwoGUID = (relationship.getEntityTwoProxy() == null) ? null : relationship.getEntityTwoProxy().getGUID();
+
+        return lockInstances(relationship.getGUID(), entityOneGUID, entityTwoGUID);
+    }
+
+
+    /**
+     * Release the locks taken by lockInstances.  A change that failed part way through (for example with an
+     * exception from the graph) may have left this thread's transaction open; it is rolled back first so that
+     * its partial updates are not committed by the next request on this thread.
+     *
+     * @param instanceLocks locks to release
+     */
+    private void unlockInstances(List<ReentrantLock> instanceLocks)
+    {
+        if (instanceGraph.tx().isOpen())
+        {
+            instanceGraph.tx().rollback();
+        }
+
+        for (int i = instanceLocks.size() - 1; i >= 0; i--)
+        {
+            instanceLocks.get(i).unlock();
+        }
     }
 
 
@@ -173,47 +255,66 @@ class GraphOMRSMetadataStore {
     // so we COULD re-spin it, we should NOT do that here - it should be in the MDC layer and RepoHelper layer.
     // Therefore if we get a GUID clash here we throw an exception.
     //
-    synchronized EntityDetail createEntityInStore(EntityDetail entity)
+    EntityDetail createEntityInStore(EntityDetail entity)
 
     throws RepositoryErrorException,
            InvalidParameterException
     {
         final String methodName = "createEntityInStore";
 
-        Vertex vertex;
-
-        GraphTraversalSource g = instanceGraph.traversal();
-        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entity.getGUID());
+        List<ReentrantLock> instanceLocks = lockInstances(entity.getGUID());
 
-        if (vertexIt.hasNext())
+        try
         {
+            Vertex vertex;
 
-            vertex = vertexIt.next();
-            log.debug("{} found existing vertex {}", methodName, vertex);
+            GraphTraversalSource g = instanceGraph.traversal();
+            Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entity.getGUID());
 
-            /*
-             * If the existing vertex is for a proxy entity then check that the supplied entity is a ref copy (i.e.
-             * metadataCollection is not local) and if so, clear flag and use the same vertex for the ref copy.
-             * If the existing vertex is NOT for a proxy entity OR we find it is a local entity then throw error.
-             */
-
-            if (entityMapper.isProxy(vertex))
+            if (vertexIt.hasNext())
             {
 
+                vertex = vertexIt.next();
+                log.debug("{} found existing vertex {}", methodName, vertex);
+
+                /*
+                 * If the existing vertex is for a proxy entity then check that the supplied entity is a ref copy (i.e.
+                 * metadataCollection is not local) and if so, clear flag and use the same vertex for the ref copy.
+                 * If the existing vertex is NOT for a proxy entity OR we find it is a local entity then throw error.
+                 */
 
-                if (!metadataCollectionId.equals(entity.getMetadataCollectionId()))
+                if (entityMapper.isProxy(vertex))
                 {
-                    log.debug("{} existing vertex is a proxy", methodName);
-                    // Replace the proxy with the ref copy - make sure the proxy flag is cleared then proceed to populating it below...
-                    entityMapper.clearProxy(vertex);
 
+
+                    if (!metadataCollectionId.equals(entity.getMetadataCollectionId()))
+                    {
+                        log.debug("{} existing vertex is a proxy", methodName);
+                        // Replace the proxy with the ref copy - make sure the proxy flag is cleared then proceed to populating it below...
+                        entityMapper.clearProxy(vertex);
+
+                    }
+                    else
+                    {
+                        log.error("{} existing vertex apparently a proxy, but has local metadataCollectionId", methodName);
+                        g.tx().rollback();
+
+                        final String parameterName = "metadataCollectionId";
+
+                        throw new InvalidParameterException(GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(entity.getGUID(), methodName,
+                                                                                                                          this.getClass().getName(),
+                                                                                                                          repositoryName),
+                                                            this.getClass().getName(),
+                                                            methodName,
+                                                            parameterName);
+                    }
                 }
                 else
                 {
-                    log.error("{} existing vertex apparently a proxy, but has local metadataCollectionId", methodName);
+                    log.error("{} existing vertex for GUID {} and it is not a proxy", methodName, entity.getGUID());
                     g.tx().rollback();
 
-                    final String parameterName = "metadataCollectionId";
+                    String parameterName = "entity";
 
                     throw new InvalidParameterException(GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(entity.getGUID(), methodName,
                                                                                                                       this.getClass().getName(),
@@ -225,65 +326,55 @@ class GraphOMRSMetadataStore {
             }
             else
             {
-                log.error("{} existing vertex for GUID {} and it is not a proxy", methodName, entity.getGUID());
-                g.tx().rollback();
-
-                String parameterName = "entity";
 
-                throw new InvalidParameterException(GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(entity.getGUID(), methodName,
-                                                                                                                  this.getClass().getName(),
-                                                                                                                  repositoryName),
-                                                    this.getClass().getName(),
-                                                    methodName,
-                                                    parameterName);
+                // No existing vertex found - create one
+                log.debug("{} create vertex for entity {}", methodName, entity.getGUID());
+                vertex = g.addV("Entity").next();
             }
-        }
-        else
-        {
-
-            // No existing vertex found - create one
-            log.debug("{} create vertex for entity {}", methodName, entity.getGUID());
-            vertex = g.addV("Entity").next();
-        }
 
-        // Whether created new or reusing old proxy, populate the vertex.
+            // Whether created new or reusing old proxy, populate the vertex.
 
-        try
-        {
-            entityMapper.mapEntityDetailToVertex(entity, vertex);
-
-            // Create a vertex per classification and link them to the entity vertex
-            List<Classification> classifications = entity.getClassifications();
-            if (classifications != null)
+            try
             {
-                for (Classification classification : classifications)
+                entityMapper.mapEntityDetailToVertex(entity, vertex);
+
+                // Create a vertex per classification and link them to the entity vertex
+                List<Classification> classifications = entity.getClassifications();
+                if (classifications != null)
                 {
-                    log.debug("{} add classification: {} ", methodName, classification.getName());
-                    Vertex classificationVertex = g.addV("Classification").next();
-                    classificationMapper.mapClassificationToVertex(classification, classificationVertex);
-                    vertex.addEdge("Classifier", classificationVertex);
+                    for (Classification classification : classifications)
+                    {
+                        log.debug("{} add classification: {} ", methodName, classification.getName());
+                        Vertex classificationVertex = g.addV("Classification").next();
+                        classificationMapper.mapClassificationToVertex(classification, classificationVertex);
+                        vertex.addEdge("Classifier", classificationVertex);
+                    }
                 }
-            }
 
-        }
-        catch (Exception e)
-        {
-            log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
+            }
+            catch (Exception e)
+            {
+                log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+                g.tx().rollback();
 
-            throw new RepositoryErrorException(
-                    GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
-                            entity.getGUID(), methodName,
-                            this.getClass().getName(),
-                            repositoryName),
-                    this.getClass().getName(),
-                    methodName, e);
-        }
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
+                                entity.getGUID(), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, e);
+            }
 
 
-        g.tx().commit();
+            g.tx().commit();
 
-        return entity;
+            return entity;
+        }
+        finally
+        {
+            unlockInstances(instanceLocks);
+        }
     }
 
     // A note on existence checking:
@@ -292,67 +383,75 @@ class GraphOMRSMetadataStore {
     // If the MDC found that an entity (of any description, entity, proxy or reference copy) is present - then it will not have asked you to create the proxy
     // So - if we do find that there is a GUID clash then throw exception.
     //
-    synchronized void createEntityProxyInStore(EntityProxy entityProxy)
+    void createEntityProxyInStore(EntityProxy entityProxy)
 
     throws RepositoryErrorException,
            InvalidParameterException
     {
         final String methodName = "createEntityProxyInStore";
 
-        GraphTraversalSource g = instanceGraph.traversal();
-        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityProxy.getGUID());
-        if (vertexIt.hasNext())
-        {
-            Vertex vertex = vertexIt.next();
-            log.error("{} createEntityProxyInStore found existing vertex {}", methodName, vertex);
-            g.tx().rollback();
-
-            throw new InvalidParameterException(
-                    GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(
-                            entityProxy.getGUID(), methodName,
-                            this.getClass().getName(),
-                            repositoryName),
-                    this.getClass().getName(),
-                    methodName,
-                    "entityProxy");
-        }
-
-        Vertex vertex = g.addV("Entity").next();
+        List<ReentrantLock> instanceLocks = lockInstances(entityProxy.getGUID());
 
         try
         {
-            entityMapper.mapEntityProxyToVertex(entityProxy, vertex);
+            GraphTraversalSource g = instanceGraph.traversal();
+            Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityProxy.getGUID());
+            if (vertexIt.hasNext())
+            {
+                Vertex vertex = vertexIt.next();
+                log.error("{} createEntityProxyInStore found existing vertex {}", methodName, vertex);
+                g.tx().rollback();
+
+                throw new InvalidParameterException(
+                        GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(
+                                entityProxy.getGUID(), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName,
+                        "entityProxy");
+            }
 
-            // Create a vertex per classification and link them to the entity vertex
-            List<Classification> classifications = entityProxy.getClassifications();
-            if (classifications != null)
+            Vertex vertex = g.addV("Entity").next();
+
+            try
             {
-                for (Classification classification : classifications)
+                entityMapper.mapEntityProxyToVertex(entityProxy, vertex);
+
+                // Create a vertex per classification and link them to the entity vertex
+                List<Classification> classifications = entityProxy.getClassifications();
+                if (classifications != null)
                 {
-                    log.debug("{} add classification {}", methodName, classification.getName());
-                    Vertex classificationVertex = g.addV("Classification").next();
-                    classificationMapper.mapClassificationToVertex(classification, classificationVertex);
-                    vertex.addEdge("Classifier", classificationVertex);
+                    for (Classification classification : classifications)
+                    {
+                        log.debug("{} add classification {}", methodName, classification.getName());
+                        Vertex classificationVertex = g.addV("Classification").next();
+                        classificationMapper.mapClassificationToVertex(classification, classificationVertex);
+                        vertex.addEdge("Classifier", classificationVertex);
+                    }
                 }
+
+            }
+            catch (Exception e)
+            {
+                log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+                g.tx().rollback();
+
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
+                                entityProxy.getGUID(), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, e);
             }
 
+            g.tx().commit();
         }
-        catch (Exception e)
+        finally
         {
-            log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
-
-            throw new RepositoryErrorException(
-                    GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
-                            entityProxy.getGUID(), methodName,
-                            this.getClass().getName(),
-                            repositoryName),
-                    this.getClass().getName(),
-                    methodName, e);
+            unlockInstances(instanceLocks);
         }
-
-        g.tx().commit();
-
     }
 
 
@@ -392,110 +491,118 @@ class GraphOMRSMetadataStore {
      *         else
      *             error
      */
-    synchronized void saveEntityReferenceCopyToStore(EntityDetail entity)
+    void saveEntityReferenceCopyToStore(EntityDetail entity)
 
     throws InvalidParameterException,
            RepositoryErrorException
 
     {
-
         final String methodName = "saveEntityReferenceCopyToStore";
 
-        Vertex vertex;
-
-        GraphTraversalSource g = instanceGraph.traversal();
-        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entity.getGUID());
+        List<ReentrantLock> instanceLocks = lockInstances(entity.getGUID());
 
-        if (vertexIt.hasNext())
+        try
         {
+            Vertex vertex;
 
-            vertex = vertexIt.next();
-            log.debug("{} found existing vertex {}", methodName, vertex);
+            GraphTraversalSource g = instanceGraph.traversal();
+            Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entity.getGUID());
 
-            /*
-             * Check the metadataCollectionId is not local and that it matches the metadataCollectionId of the
-             * passed entity
-             */
-            String vertexMetadataCollectionId = entityMapper.getEntityMetadataCollectionId(vertex);
-
-            if (metadataCollectionId.equals(entity.getMetadataCollectionId())
-                    || !vertexMetadataCollectionId.equals(entity.getMetadataCollectionId()))
+            if (vertexIt.hasNext())
             {
 
+                vertex = vertexIt.next();
+                log.debug("{} found existing vertex {}", methodName, vertex);
+
                 /*
-                 *  Error condition
-                 *  Either the locsl repository is being asked to save a reference copy of something it already owns,
-                 *  or it already has a proxy or reference copy of an entity from a repository other than the one that
-                 *  submitted this reference copy.
+                 * Check the metadataCollectionId is not local and that it matches the metadataCollectionId of the
+                 * passed entity
                  */
+                String vertexMetadataCollectionId = entityMapper.getEntityMetadataCollectionId(vertex);
 
-                log.error("{} found an existing vertex from a different source, with metadataCollectionId {}", methodName, vertexMetadataCollectionId);
-                g.tx().rollback();
+                if (metadataCollectionId.equals(entity.getMetadataCollectionId())
+                        || !vertexMetadataCollectionId.equals(entity.getMetadataCollectionId()))
+                {
 
-                throw new InvalidParameterException(
-                        GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(
-                                entity.getGUID(), methodName,
-                                this.getClass().getName(),
-                                repositoryName),
-                        this.getClass().getName(),
-                        methodName,
-                        "entity");
-            }
+                    /*
+                     *  Error condition
+                     *  Either the locsl repository is being asked to save a reference copy of something it already owns,
+                     *  or it already has a proxy or reference copy of an entity from a repository other than the one that
+                     *  submitted this reference copy.
+                     */
 
-        }
-        else
-        {
+                    log.error("{} found an existing vertex from a different source, with metadataCollectionId {}", methodName, vertexMetadataCollectionId);
+                    g.tx().rollback();
 
-            // No existing vertex found - create one
-            log.debug("{} create vertex for entity {}", methodName, entity.getGUID());
-            vertex = g.addV("Entity").next();
-        }
+                    throw new InvalidParameterException(
+                            GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(
+                                    entity.getGUID(), methodName,
+                                    this.getClass().getName(),
+                                    repositoryName),
+                            this.getClass().getName(),
+                            methodName,
+                            "entity");
+                }
 
-        /*
-         * Whether this just created a new vertex or is reusing an existing vertex (for a reference copy or proxy),
-         * populate the vertex.
-         * The mapping of an entity detail to the vertex will clear the proxy flag, even if previously set.
-         */
+            }
+            else
+            {
 
+                // No existing vertex found - create one
+                log.debug("{} create vertex for entity {}", methodName, entity.getGUID());
+                vertex = g.addV("Entity").next();
+            }
+
+            /*
+             * Whether this just created a new vertex or is reusing an existing vertex (for a reference copy or proxy),
+             * populate the vertex.
+             * The mapping of an entity detail to the vertex will clear the proxy flag, even if previously set.
+             */
 
-        try
-        {
-            entityMapper.mapEntityDetailToVertex(entity, vertex);
 
-            // Create a vertex per classification and link them to the entity vertex
-            List<Classification> classifications = entity.getClassifications();
-            if (classifications != null)
+            try
             {
-                for (Classification classification : classifications)
+                entityMapper.mapEntityDetailToVertex(entity, vertex);
+
+                // Create a vertex per classification and link them to the entity vertex
+                List<Classification> classifications = entity.getClassifications();
+                if (classifications != null)
                 {
-                    log.debug("{} add classification: {} ", methodName, classification.getName());
-                    Vertex classificationVertex = g.addV("Classification").next();
-                    classificationMapper.mapClassificationToVertex(classification, classificationVertex);
-                    vertex.addEdge("Classifier", classificationVertex);
+                    for (Classification classification : classifications)
+                    {
+                        log.debug("{} add classification: {} ", methodName, classification.getName());
+                        Vertex classificationVertex = g.addV("Classification").next();
+                        classificationMapper.mapClassificationToVertex(classification, classificationVertex);
+                        vertex.addEdge("Classifier", classificationVertex);
+                    }
                 }
+
+            }
+            catch (Exception e)
+            {
+                log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+                g.tx().rollback();
+
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
+                                entity.getGUID(), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, e);
             }
 
+
+            g.tx().commit();
         }
-        catch (Exception e)
+        finally
         {
-            log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
-
-            throw new RepositoryErrorException(
-                    GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
-                            entity.getGUID(), methodName,
-                            this.getClass().getName(),
-                            repositoryName),
-                    this.getClass().getName(),
-                    methodName, e);
+            unlockInstances(instanceLocks);
         }
-
-
-        g.tx().commit();
     }
 
 
-    synchronized EntityDetail getEntityDetailFromStore(String guid)
+    EntityDetail getEntityDetailFromStore(String guid)
 
     throws EntityNotKnownException,
            EntityProxyOnlyException,
@@ -592,7 +699,7 @@ class GraphOMRSMetadataStore {
         return entity;
     }
 
-    synchronized EntitySummary getEntitySummaryFromStore(String guid)
+    EntitySummary getEntitySummaryFromStore(String guid)
 
     throws EntityNotKnownException,
            RepositoryErrorException
@@ -662,7 +769,7 @@ class GraphOMRSMetadataStore {
     }
 
 
-    synchronized EntityProxy getEntityProxyFromStore(String guid)
+    EntityProxy getEntityProxyFromStore(String guid)
 
     throws RepositoryErrorException
 
@@ -721,7 +828,7 @@ class GraphOMRSMetadataStore {
     // This method needs to locate the vertices so that the edge can be created in the graph.
     // If either of these fails then throw exception
     //
-    synchronized void createRelationshipInStore(Relationship relationship)
+    void createRelationshipInStore(Relationship relationship)
 
     throws RepositoryErrorException,
            InvalidParameterException
@@ -729,88 +836,96 @@ class GraphOMRSMetadataStore {
     {
         String methodName = "createRelationshipInStore";
 
-        // Begin a graph transaction. Locate the vertices for the ends, and create an edge between them.
-
-        GraphTraversalSource g = instanceGraph.traversal();
+        List<ReentrantLock> instanceLocks = lockRelationshipAndEnds(relationship);
 
-        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, relationship.getGUID());
-        if (edgeIt.hasNext())
+        try
         {
-            Edge edge = edgeIt.next();
-            log.error("{} found existing edge {}", methodName, edge);
-            g.tx().rollback();
+            // Begin a graph transaction. Locate the vertices for the ends, and create an edge between them.
 
-            throw new InvalidParameterException(
-                    GraphOMRSErrorCode.RELATIONSHIP_ALREADY_EXISTS.getMessageDefinition(
-                            relationship.getGUID(),
-                            methodName,
-                            this.getClass().getName(),
-                            repositoryName),
-                    this.getClass().getName(),
-                    methodName, "relationship");
-        }
+            GraphTraversalSource g = instanceGraph.traversal();
 
+            Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, relationship.getGUID());
+            if (edgeIt.hasNext())
+            {
+                Edge edge = edgeIt.next();
+                log.error("{} found existing edge {}", methodName, edge);
+                g.tx().rollback();
 
-        String entityOneGUID = relationship.getEntityOneProxy().getGUID();
-        String entityTwoGUID = relationship.getEntityTwoProxy().getGUID();
+                throw new InvalidParameterException(
+                        GraphOMRSErrorCode.RELATIONSHIP_ALREADY_EXISTS.getMessageDefinition(
+                                relationship.getGUID(),
+                                methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, "relationship");
+            }
 
-        Vertex vertexOne = null;
-        Vertex vertexTwo = null;
 
-        Iterator<Vertex> vi = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityOneGUID);
-        if (vi.hasNext())
-        {
-            vertexOne = vi.next();
-            log.debug("{} found entityOne vertex {}", methodName, vertexOne);
-        }
+            String entityOneGUID = relationship.getEntityOneProxy().getGUID();
+            String entityTwoGUID = relationship.getEntityTwoProxy().getGUID();
 
-        vi = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityTwoGUID);
-        if (vi.hasNext())
-        {
-            vertexTwo = vi.next();
-            log.debug("{} found entityTwo vertex {}", methodName, vertexTwo);
-        }
+            Vertex vertexOne = null;
+            Vertex vertexTwo = null;
 
-        // If either end vertex does not exist then abandon the attempt - there should be at least a proxy if not a full entity in the store for each end
-        if (vertexOne == null || vertexTwo == null)
-        {
-            log.error("{} Could not find both ends for relationship {}", methodName, relationship.getGUID());
-            g.tx().rollback();
+            Iterator<Vertex> vi = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityOneGUID);
+            if (vi.hasNext())
+            {
+                vertexOne = vi.next();
+                log.debug("{} found entityOne vertex {}", methodName, vertexOne);
+            }
 
-            throw new RepositoryErrorException(
-                    GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
-                            relationship.getGUID(), methodName,
-                            this.getClass().getName(),
-                            repositoryName),
-                    this.getClass().getName(),
-                    methodName);
-        }
+            vi = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityTwoGUID);
+            if (vi.hasNext())
+            {
+                vertexTwo = vi.next();
+                log.debug("{} found entityTwo vertex {}", methodName, vertexTwo);
+            }
 
-        Edge edge = vertexOne.addEdge("Relationship", vertexTwo);
+            // If either end vertex does not exist then abandon the attempt - there should be at least a proxy if not a full entity in the store for each end
+            if (vertexOne == null || vertexTwo == null)
+            {
+                log.error("{} Could not find both ends for relationship {}", methodName, relationship.getGUID());
+                g.tx().rollback();
 
-        try
-        {
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
+                                relationship.getGUID(), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName);
+            }
 
-            relationshipMapper.mapRelationshipToEdge(relationship, edge);
+            Edge edge = vertexOne.addEdge("Relationship", vertexTwo);
 
-        }
-        catch (Exception e)
-        {
-            log.error("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
+            try
+            {
 
-            throw new RepositoryErrorException(
-                    GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
-                            relationship.getGUID(), methodName,
-                            this.getClass().getName(),
-                            repositoryName),
-                    this.getClass().getName(),
-                    methodName, e);
-        }
+                relationshipMapper.mapRelationshipToEdge(relationship, edge);
 
-        log.debug("{} Commit tx containing creation of edge", methodName);
-        g.tx().commit();
+            }
+            catch (Exception e)
+            {
+                log.error("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
+                g.tx().rollback();
 
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
+                                relationship.getGUID(), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, e);
+            }
+
+            log.debug("{} Commit tx containing creation of edge", methodName);
+            g.tx().commit();
+        }
+        finally
+        {
+            unlockInstances(instanceLocks);
+        }
     }
 
 
@@ -862,247 +977,329 @@ class GraphOMRSMetadataStore {
      *       - else metadataCollectionId is not local and values match
      *             update existing edge by mapping relationship
      */
-    synchronized void saveRelationshipReferenceCopyToStore(Relationship relationship)
+    void saveRelationshipReferenceCopyToStore(Relationship relationship)
 
     throws InvalidParameterException,
            RepositoryErrorException
 
     {
-
         final String methodName = "saveRelationshipReferenceCopyToStore";
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        List<ReentrantLock> instanceLocks = lockRelationshipAndEnds(relationship);
 
-        Vertex vertex;
+        try
+        {
+            GraphTraversalSource g = instanceGraph.traversal();
 
-        // Process end 1
-        EntityProxy entityOne = relationship.getEntityOneProxy();
+            Vertex vertex;
 
-        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityOne.getGUID());
+            // Process end 1
+            EntityProxy entityOne = relationship.getEntityOneProxy();
 
-        if (vertexIt.hasNext())
-        {
+            Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityOne.getGUID());
 
-            /*
-             * There is a vertex for the entity.
-             * It could be the master, a ref copy or a proxy. In any of these cases
-             * it will be reused.
-             * There is no point performing validation checks on type, home metadataCollection, etc
-             * because there could be pending events that this repository has not seen yet. Any
-             * updates to the entity will be handled via entity instance events.
-             */
+            if (vertexIt.hasNext())
+            {
 
-            vertex = vertexIt.next();
-            log.debug("{} found existing vertex for end1 {}", methodName, vertex);
+                /*
+                 * There is a vertex for the entity.
+                 * It could be the master, a ref copy or a proxy. In any of these cases
+                 * it will be reused.
+                 * There is no point performing validation checks on type, home metadataCollection, etc
+                 * because there could be pending events that this repository has not seen yet. Any
+                 * updates to the entity will be handled via entity instance events.
+                 */
 
-        }
-        else
-        {
-            // Entity does not exist, create proxy
-            createEntityProxyInStore(entityOne);
-        }
+                vertex = vertexIt.next();
+                log.debug("{} found existing vertex for end1 {}", methodName, vertex);
 
-        // Process end 2
-        EntityProxy entityTwo = relationship.getEntityTwoProxy();
-        vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityTwo.getGUID());
+            }
+            else
+            {
+                // Entity does not exist, create proxy
+                createEntityProxyInStore(entityOne);
+            }
+
+            // Process end 2
+            EntityProxy entityTwo = relationship.getEntityTwoProxy();
+            vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityTwo.getGUID());
+
+            if (vertexIt.hasNext())
+            {
+
+                /*
+                 * There is a vertex for the entity.
+                 * It could be the master, a ref copy or a proxy. In any of these cases
+                 * it will be reused.
+                 * There is no point performing validation checks on type, home metadataCollection, etc
+                 * because there could be pending events that this repository has not seen yet. Any
+                 * updates to the entity will be handled via entity instance events.
+                 */
+
+                vertex = vertexIt.next();
+                log.debug("{} found existing vertex for end2 {}", methodName, vertex);
+            }
+            else
+            {
+                // Entity does not exist, create proxy
+                createEntityProxyInStore(entityTwo);
+            }
 
-        if (vertexIt.hasNext())
-        {
 
             /*
-             * There is a vertex for the entity.
-             * It could be the master, a ref copy or a proxy. In any of these cases
-             * it will be reused.
-             * There is no point performing validation checks on type, home metadataCollection, etc
-             * because there could be pending events that this repository has not seen yet. Any
-             * updates to the entity will be handled via entity instance events.
+             * Both ends have been checked and there are vertices for both.
+             * Because we might have either created or retrieved the vertices for the entities, re-fetch them here
+             * and throw an exception on any error.
              */
 
-            vertex = vertexIt.next();
-            log.debug("{} found existing vertex for end2 {}", methodName, vertex);
-        }
-        else
-        {
-            // Entity does not exist, create proxy
-            createEntityProxyInStore(entityTwo);
-        }
+            Vertex vertexOne = null;
+            Vertex vertexTwo = null;
 
+            vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityOne.getGUID());
+            if (vertexIt.hasNext())
+            {
+                vertexOne = vertexIt.next();
+            }
+            vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityTwo.getGUID());
+            if (vertexIt.hasNext())
+            {
+                vertexTwo = vertexIt.next();
+            }
+            if (vertexOne == null || vertexTwo == null)
+            {
 
-        /*
-         * Both ends have been checked and there are vertices for both.
-         * Because we might have either created or retrieved the vertices for the entities, re-fetch them here
-         * and throw an exception on any error.
-         */
+                // Error!!
+                log.error("{} Could not locate or create vertex for entity with guid {} used in relationship {}", methodName, vertexOne == null ? entityOne.getGUID() : entityTwo.getGUID(), relationship.getGUID());
+                g.tx().rollback();
 
-        Vertex vertexOne = null;
-        Vertex vertexTwo = null;
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
+                                relationship.getGUID(), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName);
+            }
 
-        vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityOne.getGUID());
-        if (vertexIt.hasNext())
-        {
-            vertexOne = vertexIt.next();
-        }
-        vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityTwo.getGUID());
-        if (vertexIt.hasNext())
-        {
-            vertexTwo = vertexIt.next();
-        }
-        if (vertexOne == null || vertexTwo == null)
-        {
 
-            // Error!!
-            log.error("{} Could not locate or create vertex for entity with guid {} used in relationship {}", methodName, vertexOne == null ? entityOne.getGUID() : entityTwo.getGUID(), relationship.getGUID());
-            g.tx().rollback();
+            // Process relationship
+            Edge edge;
 
-            throw new RepositoryErrorException(
-                    GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
-                            relationship.getGUID(), methodName,
-                            this.getClass().getName(),
-                            repositoryName),
-                    this.getClass().getName(),
-                    methodName);
-        }
+            Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, relationship.getGUID());
 
+            if (edgeIt.hasNext())
+            {
 
-        // Process relationship
-        Edge edge;
+                edge = edgeIt.next();
+                log.debug("{} found existing edge {}", methodName, edge);
 
-        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, relationship.getGUID());
+                /*
+                 * Check the metadataCollectionId is not local and that it matches the metadataCollectionId of the
+                 * passed relationship
+                 */
+                String edgeMetadataCollectionId = relationshipMapper.getRelationshipMetadataCollectionId(edge);
 
-        if (edgeIt.hasNext())
-        {
+                if (metadataCollectionId.equals(relationship.getMetadataCollectionId())
+                        || !edgeMetadataCollectionId.equals(relationship.getMetadataCollectionId()))
+                {
 
-            edge = edgeIt.next();
-            log.debug("{} found existing edge {}", methodName, edge);
+                    /*
+                     *  Error condition
+                     *  Either the local repository is being asked to save a reference copy of something it already owns,
+                     *  or it already has a reference copy of a relationship from a repository other than the one that
+                     *  submitted this reference copy.
+                     */
 
-            /*
-             * Check the metadataCollectionId is not local and that it matches the metadataCollectionId of the
-             * passed relationship
-             */
-            String edgeMetadataCollectionId = relationshipMapper.getRelationshipMetadataCollectionId(edge);
+                    log.error("{} found an existing edge from a different source, with metadataCollectionId {}", methodName, edgeMetadataCollectionId);
+                    g.tx().rollback();
 
-            if (metadataCollectionId.equals(relationship.getMetadataCollectionId())
-                    || !edgeMetadataCollectionId.equals(relationship.getMetadataCollectionId()))
+                    final String parameterName = "relationship";
+
+                    throw new InvalidParameterException(
+                            GraphOMRSErrorCode.RELATIONSHIP_ALREADY_EXISTS.getMessageDefinition(
+                                    relationship.getGUID(),
+                                    methodName,
+                                    this.getClass().getName(),
+                                    repositoryName),
+                            this.getClass().getName(),
+                            methodName,
+                            parameterName);
+                }
+
+            }
+            else
             {
+                // No existing edge found. Create an edge for the relationship
+                edge = vertexOne.addEdge("Relationship", vertexTwo);
+            }
 
-                /*
-                 *  Error condition
-                 *  Either the local repository is being asked to save a reference copy of something it already owns,
-                 *  or it already has a reference copy of a relationship from a repository other than the one that
-                 *  submitted this reference copy.
-                 */
 
-                log.error("{} found an existing edge from a different source, with metadataCollectionId {}", methodName, edgeMetadataCollectionId);
-                g.tx().rollback();
+            // Populate the edge with the relationship
+            try
+            {
 
-                final String parameterName = "relationship";
+                relationshipMapper.mapRelationshipToEdge(relationship, edge);
 
-                throw new InvalidParameterException(
-                        GraphOMRSErrorCode.RELATIONSHIP_ALREADY_EXISTS.getMessageDefinition(
+            }
+            catch (Exception e)
+            {
+                log.error("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
+                g.tx().rollback();
+
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
                                 relationship.getGUID(),
                                 methodName,
                                 this.getClass().getName(),
                                 repositoryName),
                         this.getClass().getName(),
-                        methodName,
-                        parameterName);
+                        methodName, e);
             }
 
+            log.debug("{} Commit tx containing creation or update of edge", methodName);
+            g.tx().commit();
         }
-        else
+        finally
         {
-            // No existing edge found. Create an edge for the relationship
-            edge = vertexOne.addEdge("Relationship", vertexTwo);
+            unlockInstances(instanceLocks);
         }
+    }
 
 
-        // Populate the edge with the relationship
+    Relationship getRelationshipFromStore(String guid)
+
+    throws RepositoryErrorException
+
+    {
+        String methodName = "getRelationshipFromStore";
+
+        Relationship relationship = null;
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, guid);
+        if (edgeIt.hasNext())
+        {
+            Edge edge = edgeIt.next();
+            log.debug("{} found existing edge {}", methodName, edge);
+
+            relationship = mapEdgeToRelationshipWithEnds(g, edge, methodName);
+        }
+
+        g.tx().commit();
+
+        return relationship;
+
+    }
+
+
+    /*
+     * Map a relationship edge, together with proxies for the entities at each end, to a Relationship.
+     */
+    private Relationship mapEdgeToRelationshipWithEnds(GraphTraversalSource g,
+                                                       Edge                 edge,
+                                                       String               methodName)
+
+    throws RepositoryErrorException
+
+    {
+        Relationship relationship = new Relationship();
+
+        // Map the properties
+        relationshipMapper.mapEdgeToRelationship(edge, relationship);
+
+        // Set the relationship ends...
+        Vertex vertex = null;
         try
         {
 
-            relationshipMapper.mapRelationshipToEdge(relationship, edge);
+            vertex = edge.outVertex();
+
+            // Could test here whether each vertex is for a proxy, but it doesn't matter whether the vertex represents a full entity
+            // (i.e. EntityDetail of a local/reference copy) as opposed to an EntityProxy. It can be retrieved as a proxy anyway...
+
+            if (vertex != null)
+            {
+                log.debug("{} entity vertex {}", methodName, vertex);
+                EntityProxy entityOneProxy = new EntityProxy();
+                entityMapper.mapVertexToEntityProxy(vertex, entityOneProxy);
+                log.debug("{} entityOneProxy {}", methodName, entityOneProxy);
+                relationship.setEntityOneProxy(entityOneProxy);
+            }
+
+            vertex = edge.inVertex();
+
+            if (vertex != null)
+            {
+                log.debug("{} entity vertex {}", methodName, vertex);
+                EntityProxy entityTwoProxy = new EntityProxy();
+                entityMapper.mapVertexToEntityProxy(vertex, entityTwoProxy);
+                log.debug("{} entityTwoProxy {}", methodName, entityTwoProxy);
+                relationship.setEntityTwoProxy(entityTwoProxy);
+            }
 
         }
         catch (Exception e)
         {
-            log.error("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
+            log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
             g.tx().rollback();
 
             throw new RepositoryErrorException(
-                    GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
-                            relationship.getGUID(),
-                            methodName,
+                    GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND.getMessageDefinition(
+                            entityMapper.getEntityGUID(vertex), methodName,
                             this.getClass().getName(),
                             repositoryName),
                     this.getClass().getName(),
                     methodName, e);
         }
 
-        log.debug("{} Commit tx containing creation or update of edge", methodName);
-        g.tx().commit();
+        return relationship;
     }
 
 
-    synchronized Relationship getRelationshipFromStore(String guid)
+    /*
+     * Retrieve a list of entities in a single traversal.  The results are returned in the order of the
+     * requested guids; guids that are not found, or that only have a proxy in the graph, are left out.
+     */
+    List<EntityDetail> getEntityDetailsFromStore(List<String> guids)
 
     throws RepositoryErrorException
 
     {
-        String methodName = "getRelationshipFromStore";
+        String methodName = "getEntityDetailsFromStore";
 
-        Relationship relationship = null;
+        Map<String, EntityDetail> entitiesByGUID = new HashMap<>();
 
         GraphTraversalSource g = instanceGraph.traversal();
 
-        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, guid);
-        if (edgeIt.hasNext())
-        {
-            Edge edge = edgeIt.next();
-            log.debug("{} found existing edge {}", methodName, edge);
-
-            relationship = new Relationship();
+        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, within(guids));
 
-            // Map the properties
-            relationshipMapper.mapEdgeToRelationship(edge, relationship);
+        while (gt.hasNext())
+        {
+            Vertex vertex = gt.next();
+            log.debug("{} found entity vertex {}", methodName, vertex);
 
-            // Set the relationship ends...
-            Vertex vertex = null;
             try
             {
-
-                vertex = edge.outVertex();
-
-                // Could test here whether each vertex is for a proxy, but it doesn't matter whether the vertex represents a full entity
-                // (i.e. EntityDetail of a local/reference copy) as opposed to an EntityProxy. It can be retrieved as a proxy anyway...
-
-                if (vertex != null)
+                if (!Boolean.TRUE.equals(entityMapper.isProxy(vertex)))
                 {
-                    log.debug("{} entity vertex {}", methodName, vertex);
-                    EntityProxy entityOneProxy = new EntityProxy();
-                    entityMapper.mapVertexToEntityProxy(vertex, entityOneProxy);
-                    log.debug("{} entityOneProxy {}", methodName, entityOneProxy);
-                    relationship.setEntityOneProxy(entityOneProxy);
-                }
-
-                vertex = edge.inVertex();
-
-                if (vertex != null)
-                {
-                    log.debug("{} entity vertex {}", methodName, vertex);
-                    EntityProxy entityTwoProxy = new EntityProxy();
-                    entityMapper.mapVertexToEntityProxy(vertex, entityTwoProxy);
-                    log.debug("{} entityTwoProxy {}", methodName, entityTwoProxy);
-                    relationship.setEntityTwoProxy(entityTwoProxy);
+                    EntityDetail entity = new EntityDetail();
+                    entityMapper.mapVertexToEntityDetail(vertex, entity);
+                    entitiesByGUID.put(entity.getGUID(), entity);
                 }
-
             }
-            catch (Exception e)
+            catch (EntityProxyOnlyException e)
             {
-                log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+                // Proxies are left out of the results.
+                log.debug("{} skipping proxy vertex {}", methodName, vertex);
+            }
+            catch (RepositoryErrorException e)
+            {
+                log.error("{} Caught exception {}", methodName, e.getMessage());
                 g.tx().rollback();
 
                 throw new RepositoryErrorException(
-                        GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND.getMessageDefinition(
+                        GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
                                 entityMapper.getEntityGUID(vertex), methodName,
                                 this.getClass().getName(),
                                 repositoryName),
@@ -1113,66 +1310,128 @@ class GraphOMRSMetadataStore {
 
         g.tx().commit();
 
-        return relationship;
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = entitiesByGUID.get(guid);
 
+            if (entity != null)
+            {
+                entities.add(entity);
+            }
+        }
+
+        return entities;
     }
 
 
-    synchronized void updateEntityInStore(EntityDetail entity)
+    /*
+     * Retrieve a list of relationships in a single traversal.  The results are returned in the order of the
+     * requested guids; guids that are not found are left out.
+     */
+    List<Relationship> getRelationshipsFromStore(List<String> guids)
 
     throws RepositoryErrorException
 
     {
+        String methodName = "getRelationshipsFromStore";
 
-        String methodName = "updateEntityInStore";
+        Map<String, Relationship> relationshipsByGUID = new HashMap<>();
 
-        // Look in the graph
-        String guid = entity.getGUID();
         GraphTraversalSource g = instanceGraph.traversal();
 
-        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid);
+        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, within(guids));
 
-        // Only looking for non-proxy entities:
-        gt = gt.has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
+        while (edgeIt.hasNext())
+        {
+            Edge edge = edgeIt.next();
+            log.debug("{} found existing edge {}", methodName, edge);
 
-        if (gt.hasNext())
+            Relationship relationship = mapEdgeToRelationshipWithEnds(g, edge, methodName);
+            relationshipsByGUID.put(relationship.getGUID(), relationship);
+        }
+
+        g.tx().commit();
+
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (String guid : guids)
         {
+            Relationship relationship = relationshipsByGUID.get(guid);
 
-            Vertex vertex = gt.next();
-            log.debug("{} found entity vertex {}", methodName, vertex);
+            if (relationship != null)
+            {
+                relationships.add(relationship);
+            }
+        }
 
-            try
+        return relationships;
+    }
+
+
+    void updateEntityInStore(EntityDetail entity)
+
+    throws RepositoryErrorException
+
+    {
+        String methodName = "updateEntityInStore";
+
+        List<ReentrantLock> instanceLocks = lockInstances(entity.getGUID());
+
+        try
+        {
+            // Look in the graph
+            String guid = entity.getGUID();
+            GraphTraversalSource g = instanceGraph.traversal();
+
+            GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid);
+
+            // Only looking for non-proxy entities:
+            gt = gt.has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
+
+            if (gt.hasNext())
             {
 
-                // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
-                Boolean isProxy = entityMapper.isProxy(vertex);
-                if (!isProxy)
+                Vertex vertex = gt.next();
+                log.debug("{} found entity vertex {}", methodName, vertex);
+
+                try
                 {
 
-                    entityMapper.mapEntityDetailToVertex(entity, vertex);
+                    // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
+                    Boolean isProxy = entityMapper.isProxy(vertex);
+                    if (!isProxy)
+                    {
+
+                        entityMapper.mapEntityDetailToVertex(entity, vertex);
+
+                        updateEntityClassifications(entity, vertex, g);
+                    }
 
-                    updateEntityClassifications(entity, vertex, g);
                 }
+                catch (Exception e)
+                {
+                    log.error("{} caught exception {}", methodName, e.getMessage());
+                    g.tx().rollback();
 
+                    throw new RepositoryErrorException(
+                            GraphOMRSErrorCode.ENTITY_NOT_UPDATED.getMessageDefinition(
+                                    entity.getGUID(), methodName,
+                                    this.getClass().getName(),
+                                    repositoryName),
+                            this.getClass().getName(),
+                            methodName, e);
+                }
             }
-            catch (Exception e)
-            {
-                log.error("{} caught exception {}", methodName, e.getMessage());
-                g.tx().rollback();
 
-                throw new RepositoryErrorException(
-                        GraphOMRSErrorCode.ENTITY_NOT_UPDATED.getMessageDefinition(
-                                entity.getGUID(), methodName,
-                                this.getClass().getName(),
-                                repositoryName),
-                        this.getClass().getName(),
-                        methodName, e);
-            }
+            log.debug("{} commit entity update tx: ", methodName);
+            g.tx().commit();
+        }
+        finally
+        {
+            unlockInstances(instanceLocks);
         }
-
-        log.debug("{} commit entity update tx: ", methodName);
-        g.tx().commit();
-
     }
 
 
@@ -1272,129 +1531,153 @@ class GraphOMRSMetadataStore {
 
 
     // updateRelationshipInStore
-    synchronized void updateRelationshipInStore(Relationship relationship)
+    void updateRelationshipInStore(Relationship relationship)
 
     throws RepositoryErrorException
 
     {
-
         String methodName = "updateRelationshipInStore";
 
-        String guid = relationship.getGUID();
-        GraphTraversalSource g = instanceGraph.traversal();
-
-        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, guid);
+        List<ReentrantLock> instanceLocks = lockInstances(relationship.getGUID());
 
-        if (edgeIt.hasNext())
+        try
         {
-            Edge edge = edgeIt.next();
-            log.debug("{} found existing edge {}", methodName, edge);
+            String guid = relationship.getGUID();
+            GraphTraversalSource g = instanceGraph.traversal();
 
-            try
+            Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, guid);
+
+            if (edgeIt.hasNext())
             {
+                Edge edge = edgeIt.next();
+                log.debug("{} found existing edge {}", methodName, edge);
 
-                relationshipMapper.mapRelationshipToEdge(relationship, edge);
+                try
+                {
 
-            }
-            catch (Exception e)
-            {
+                    relationshipMapper.mapRelationshipToEdge(relationship, edge);
 
-                log.error("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
-                throw new RepositoryErrorException(
-                        GraphOMRSErrorCode.RELATIONSHIP_NOT_UPDATED.getMessageDefinition(
-                                relationship.getGUID(), methodName,
-                                this.getClass().getName(),
-                                repositoryName),
-                        this.getClass().getName(),
-                        methodName, e);
+                }
+                catch (Exception e)
+                {
+
+                    log.error("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
+                    g.tx().rollback();
+                    throw new RepositoryErrorException(
+                            GraphOMRSErrorCode.RELATIONSHIP_NOT_UPDATED.getMessageDefinition(
+                                    relationship.getGUID(), methodName,
+                                    this.getClass().getName(),
+                                    repositoryName),
+                            this.getClass().getName(),
+                            methodName, e);
+                }
             }
-        }
 
-        g.tx().commit();
+            g.tx().commit();
+        }
+        finally
+        {
+            unlockInstances(instanceLocks);
+        }
     }
 
     // removeEntityFromStore
     //
     // This method will remove the entity vertex and any classifier edges and classification vertices linked off it
 
-    synchronized void removeEntityFromStore(String entityGUID)
+    void removeEntityFromStore(String entityGUID)
     {
         final String methodName = "removeEntityFromStore";
 
-        // Look in the graph
-        GraphTraversalSource g = instanceGraph.traversal();
+        List<ReentrantLock> instanceLocks = lockInstances(entityGUID);
 
-        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityGUID);
-
-        // Only looking for non-proxy entities:
-        gt = gt.has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
-
-        if (gt.hasNext())
+        try
         {
-            Vertex vertex = gt.next();
+            // Look in the graph
+            GraphTraversalSource g = instanceGraph.traversal();
 
-            Boolean isProxy = entityMapper.isProxy(vertex);
-            if (!isProxy)
-            {
+            GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityGUID);
 
-                log.debug("{} found entity vertex {} to be removed", methodName, vertex);
+            // Only looking for non-proxy entities:
+            gt = gt.has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
+
+            if (gt.hasNext())
+            {
+                Vertex vertex = gt.next();
 
-                // Look for associated classifications.
-                Iterator<Edge> classifierEdges = vertex.edges(Direction.OUT, "Classifier");
-                while (classifierEdges.hasNext())
+                Boolean isProxy = entityMapper.isProxy(vertex);
+                if (!isProxy)
                 {
-                    Edge classifierEdge = classifierEdges.next();
-                    Vertex classificationVertex = classifierEdge.inVertex();
-                    // Get the classification's name for debug/info only
-                    Classification existingClassification = new Classification();
-                    try
-                    {
-                        classificationMapper.mapVertexToClassification(classificationVertex, existingClassification);
-                    }
-                    catch (Exception e)
+
+                    log.debug("{} found entity vertex {} to be removed", methodName, vertex);
+
+                    // Look for associated classifications.
+                    Iterator<Edge> classifierEdges = vertex.edges(Direction.OUT, "Classifier");
+                    while (classifierEdges.hasNext())
                     {
-                        log.error("{} caught exception from classification mapper for classification {}", methodName, existingClassification.getName());
-                        // Nothing you can do - just keep going
+                        Edge classifierEdge = classifierEdges.next();
+                        Vertex classificationVertex = classifierEdge.inVertex();
+                        // Get the classification's name for debug/info only
+                        Classification existingClassification = new Classification();
+                        try
+                        {
+                            classificationMapper.mapVertexToClassification(classificationVertex, existingClassification);
+                        }
+                        catch (Exception e)
+                        {
+                            log.error("{} caught exception from classification mapper for classification {}", methodName, existingClassification.getName());
+                            // Nothing you can do - just keep going
+                        }
+                        log.debug("{} removing classification {} from entity", methodName, existingClassification.getName());
+                        classifierEdge.remove();
+                        classificationVertex.remove();
                     }
-                    log.debug("{} removing classification {} from entity", methodName, existingClassification.getName());
-                    classifierEdge.remove();
-                    classificationVertex.remove();
-                }
 
-                // Finally remove the entity vertex...
-                vertex.remove();
+                    // Finally remove the entity vertex...
+                    vertex.remove();
 
-                log.debug("{} removed entity vertex with guid {}", methodName, entityGUID);
+                    log.debug("{} removed entity vertex with guid {}", methodName, entityGUID);
+                }
             }
+            g.tx().commit();
+        }
+        finally
+        {
+            unlockInstances(instanceLocks);
         }
-        g.tx().commit();
-
     }
 
 
     // removeRelationshipFromStore
-    synchronized void removeRelationshipFromStore(String relationshipGUID)
+    void removeRelationshipFromStore(String relationshipGUID)
     {
         final String methodName = "removeRelationshipFromStore";
 
-        // Look in the graph
-        GraphTraversalSource g = instanceGraph.traversal();
+        List<ReentrantLock> instanceLocks = lockInstances(relationshipGUID);
 
-        Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, relationshipGUID);
-        if (edgeIt.hasNext())
+        try
         {
-            Edge edge = edgeIt.next();
-            log.debug("{} found existing edge {}", methodName, edge);
-            edge.remove();
-            log.debug("{} removed relationship edge with guid {}", methodName, relationshipGUID);
-        }
-        g.tx().commit();
+            // Look in the graph
+            GraphTraversalSource g = instanceGraph.traversal();
 
+            Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, relationshipGUID);
+            if (edgeIt.hasNext())
+            {
+                Edge edge = edgeIt.next();
+                log.debug("{} found existing edge {}", methodName, edge);
+                edge.remove();
+                log.debug("{} removed relationship edge with guid {}", methodName, relationshipGUID);
+            }
+            g.tx().commit();
+        }
+        finally
+        {
+            unlockInstances(instanceLocks);
+        }
     }
 
     // getRelationshipsForEntity
-    synchronized List<Relationship> getRelationshipsForEntity(String entityGUID)
+    List<Relationship> getRelationshipsForEntity(String entityGUID)
 
     throws RepositoryErrorException
 
@@ -1476,6 +1759,65 @@ class GraphOMRSMetadataStore {
 
 
 
+    // countRelationshipsForEntity
+    int countRelationshipsForEntity(String               entityGUID,
+                                    String               relationshipTypeName,
+                                    List<InstanceStatus> limitResultsByStatus)
+
+    throws RepositoryErrorException
+
+    {
+        final String methodName = "countRelationshipsForEntity";
+
+        /*
+         * DELETED relationships are never returned for an entity, whatever statuses are requested
+         */
+        List<InstanceStatus> statuses = limitResultsByStatus;
+        if ((statuses != null) && (statuses.contains(InstanceStatus.DELETED)))
+        {
+            statuses = new ArrayList<>(limitResultsByStatus);
+            statuses.removeIf(status -> status == InstanceStatus.DELETED);
+        }
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Edge> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityGUID).bothE("Relationship");
+        if (relationshipTypeName != null)
+        {
+            gt = gt.has(PROPERTY_KEY_RELATIONSHIP_TYPE_NAME, relationshipTypeName);
+        }
+
+        /*
+         * The graph counts the matching edges so none of the relationships or their entity proxies are mapped.
+         * An edge that links the entity to itself is traversed from both ends so the edges are de-duplicated.
+         */
+        long count;
+
+        try
+        {
+            count = GraphOMRSQueryPage.filterRelationships(gt, statuses).dedup().count().next();
+        }
+        catch (Exception e)
+        {
+            log.error("{} Caught exception from count traversal {}", methodName, e.getMessage());
+            g.tx().rollback();
+
+            throw new RepositoryErrorException(
+                    GraphOMRSErrorCode.INSTANCE_COUNT_FAILED.getMessageDefinition(
+                            methodName,
+                            this.getClass().getName(),
+                            repositoryName),
+                    this.getClass().getName(),
+                    methodName, e);
+        }
+
+        g.tx().commit();
+
+        return (int) count;
+    }
+
+
+
     // findEntitiesByPropertyForType
     List<EntityDetail> findEntitiesByPropertyForType(String               typeDefName,
                                                      InstanceProperties   matchProperties,
@@ -1919,7 +2261,8 @@ class GraphOMRSMetadataStore {
                                                       Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                       Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
                                                       InstanceProperties             matchProperties,
-                                                      MatchCriteria                  matchCriteria)
+                                                      MatchCriteria                  matchCriteria,
+                                                      GraphOMRSQueryPage             queryPage)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -1928,12 +2271,161 @@ class GraphOMRSMetadataStore {
 
         final String methodName = "findEntitiesByPropertyForTypes";
 
-        boolean performTypeFiltering = filterTypeName != null;
-
         List<EntityDetail> entities = new ArrayList<>();
 
         GraphTraversalSource g = instanceGraph.traversal();
 
+        GraphTraversal<Vertex, Vertex> gt = getEntitiesByPropertyTraversal(g,
+                                                                           entityTypeNames,
+                                                                           filterTypeName,
+                                                                           qualifiedPropertyNameToTypeDefinedAttribute,
+                                                                           shortPropertyNameToQualifiedPropertyNames,
+                                                                           matchProperties,
+                                                                           matchCriteria,
+                                                                           methodName);
+
+        if (gt == null)
+        {
+            return null;
+        }
+
+
+        /*
+         * Optionally perform status filtering, sequencing and paging in the graph
+         */
+
+        if (queryPage != null)
+        {
+            gt = queryPage.applyToEntities(gt);
+        }
+
+
+        /*
+         * Iterate the traversal
+         */
+
+        while (gt.hasNext())
+        {
+            Vertex vertex = gt.next();
+            log.debug("{} found vertex {}", methodName, vertex);
+
+            EntityDetail entityDetail = new EntityDetail();
+            try
+            {
+                /*
+                 * Check if we have stumbled on a proxy somehow, and if so avoid processing it.
+                 */
+                Boolean isProxy = entityMapper.isProxy(vertex);
+                if (!isProxy)
+                {
+                    entityMapper.mapVertexToEntityDetail(vertex, entityDetail);
+                    entities.add(entityDetail);
+                }
+            }
+            catch (Exception e)
+            {
+                log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+                g.tx().rollback();
+
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR.getMessageDefinition(
+                                entityDetail.getGUID(), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, e);
+            }
+        }
+
+        g.tx().commit();
+
+        return entities;
+
+    }
+
+
+
+    // countEntitiesByPropertyForTypes
+    int countEntitiesByPropertyForTypes(List<String>                   entityTypeNames,
+                                        String                         filterTypeName,
+                                        Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
+                                        Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
+                                        InstanceProperties             matchProperties,
+                                        MatchCriteria                  matchCriteria,
+                                        List<InstanceStatus>           limitResultsByStatus)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+
+        final String methodName = "countEntitiesByPropertyForTypes";
+
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        GraphTraversal<Vertex, Vertex> gt = getEntitiesByPropertyTraversal(g,
+                                                                           entityTypeNames,
+                                                                           filterTypeName,
+                                                                           qualifiedPropertyNameToTypeDefinedAttribute,
+                                                                           shortPropertyNameToQualifiedPropertyNames,
+                                                                           matchProperties,
+                                                                           matchCriteria,
+                                                                           methodName);
+
+        if (gt == null)
+        {
+            return 0;
+        }
+
+        /*
+         * The graph counts the matching vertices so none of the entities are read or mapped
+         */
+        long count;
+
+        try
+        {
+            count = GraphOMRSQueryPage.filterEntities(gt, limitResultsByStatus).count().next();
+        }
+        catch (Exception e)
+        {
+            log.error("{} Caught exception from count traversal {}", methodName, e.getMessage());
+            g.tx().rollback();
+
+            throw new RepositoryErrorException(
+                    GraphOMRSErrorCode.INSTANCE_COUNT_FAILED.getMessageDefinition(
+                            methodName,
+                            this.getClass().getName(),
+                            repositoryName),
+                    this.getClass().getName(),
+                    methodName, e);
+        }
+
+        g.tx().commit();
+
+        return (int) count;
+
+    }
+
+
+    /*
+     * Build the traversal of the entity vertices that match the properties for findEntitiesByPropertyForTypes and
+     * countEntitiesByPropertyForTypes.  Null is returned (after rolling back the transaction) if no entity can match.
+     */
+    private GraphTraversal<Vertex, Vertex> getEntitiesByPropertyTraversal(GraphTraversalSource           g,
+                                                                          List<String>                   entityTypeNames,
+                                                                          String                         filterTypeName,
+                                                                          Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
+                                                                          Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
+                                                                          InstanceProperties             matchProperties,
+                                                                          MatchCriteria                  matchCriteria,
+                                                                          String                         methodName)
+
+    throws InvalidParameterException
+
+    {
+
+        boolean performTypeFiltering = filterTypeName != null;
+
         GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
 
 
@@ -2324,47 +2816,7 @@ class GraphOMRSMetadataStore {
             gt = gt.has(PROPERTY_KEY_ENTITY_TYPE_NAME, within(entityTypeNames));
         }
 
-
-        /*
-         * Iterate the traversal
-         */
-
-        while (gt.hasNext())
-        {
-            Vertex vertex = gt.next();
-            log.debug("{} found vertex {}", methodName, vertex);
-
-            EntityDetail entityDetail = new EntityDetail();
-            try
-            {
-                /*
-                 * Check if we have stumbled on a proxy somehow, and if so avoid processing it.
-                 */
-                Boolean isProxy = entityMapper.isProxy(vertex);
-                if (!isProxy)
-                {
-                    entityMapper.mapVertexToEntityDetail(vertex, entityDetail);
-                    entities.add(entityDetail);
-                }
-            }
-            catch (Exception e)
-            {
-                log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
-
-                throw new RepositoryErrorException(
-                        GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR.getMessageDefinition(
-                                entityDetail.getGUID(), methodName,
-                                this.getClass().getName(),
-                                repositoryName),
-                        this.getClass().getName(),
-                        methodName, e);
-            }
-        }
-
-        g.tx().commit();
-
-        return entities;
+        return gt;
 
     }
 
@@ -2379,7 +2831,8 @@ class GraphOMRSMetadataStore {
                                                            Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                            Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
                                                            InstanceProperties             matchProperties,
-                                                           MatchCriteria                  matchCriteria)
+                                                           MatchCriteria                  matchCriteria,
+                                                           GraphOMRSQueryPage             queryPage)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -2784,6 +3237,16 @@ class GraphOMRSMetadataStore {
         }
 
 
+        /*
+         * Optionally perform status filtering, sequencing and paging in the graph
+         */
+
+        if (queryPage != null)
+        {
+            gt = queryPage.applyToEntities(gt);
+        }
+
+
         /*
          * Iterate the traversal
          */
@@ -3265,7 +3728,8 @@ class GraphOMRSMetadataStore {
                                                            Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                            Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
                                                            InstanceProperties             matchProperties,
-                                                           MatchCriteria                  matchCriteria)
+                                                           MatchCriteria                  matchCriteria,
+                                                           GraphOMRSQueryPage             queryPage)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -3666,6 +4130,16 @@ class GraphOMRSMetadataStore {
         }
 
 
+        /*
+         * Optionally perform status filtering, sequencing and paging in the graph
+         */
+
+        if (queryPage != null)
+        {
+            gt = queryPage.applyToRelationships(gt);
+        }
+
+
         /*
          * Iterate the traversal
          */
@@ -3735,7 +4209,8 @@ class GraphOMRSMetadataStore {
                                                                 Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                                 Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
                                                                 InstanceProperties             matchProperties,
-                                                                MatchCriteria                  matchCriteria)
+                                                                MatchCriteria                  matchCriteria,
+                                                                GraphOMRSQueryPage             queryPage)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -4136,6 +4611,16 @@ class GraphOMRSMetadataStore {
         }
 
 
+        /*
+         * Optionally perform status filtering, sequencing and paging in the graph
+         */
+
+        if (queryPage != null)
+        {
+            gt = queryPage.applyToRelationships(gt);
+        }
+
+
         /*
          * Iterate the traversal
          */
@@ -6054,7 +6539,8 @@ class GraphOMRSMetadataStore {
                                             String                         filterTypeName,
                                             Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                             Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
-                                            SearchProperties               searchProperties)
+                                            SearchProperties               searchProperties,
+                                            GraphOMRSQueryPage             queryPage)
 
     throws InvalidParameterException,
            RepositoryErrorException,
@@ -6227,6 +6713,16 @@ class GraphOMRSMetadataStore {
 
         List<EntityDetail> entities = new ArrayList<>();
 
+        /*
+         * Optionally perform status filtering, sequencing and paging in the graph
+         */
+
+        if (queryPage != null)
+        {
+            gt = queryPage.applyToEntities(gt);
+        }
+
+
         /*
          * Iterate the traversal
          */
@@ -6277,7 +6773,8 @@ class GraphOMRSMetadataStore {
                                                  String                         filterTypeName,
                                                  Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                  Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
-                                                 SearchProperties               searchProperties)
+                                                 SearchProperties               searchProperties,
+                                                 GraphOMRSQueryPage             queryPage)
 
     throws InvalidParameterException,
            RepositoryErrorException,
@@ -6411,6 +6908,16 @@ class GraphOMRSMetadataStore {
 
         List<Relationship> relationships = new ArrayList<>();
 
+        /*
+         * Optionally perform status filtering, sequencing and paging in the graph
+         */
+
+        if (queryPage != null)
+        {
+            gt = queryPage.applyToRelationships(gt);
+        }
+
+
         /*
          * Iterate the traversal
          */
@@ -0,0 +1,273 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.within;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CREATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CURRENT_STATUS;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_IS_PROXY;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_UPDATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_CREATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_RELATIONSHIP_UPDATE_TIME;
+
+
+/**
+ * GraphOMRSQueryPage describes the page of results that a delegated query should return.  It is applied to
+ * the traversal built by the metadata store so that the status filtering, sequencing and paging are performed
+ * by the graph rather than by mapping every matching vertex or edge and then sorting the full list.
+ *
+ * A page is only created when every instance that the traversal returns will also be retained by the
+ * metadata collection - that is, when there is no classification filtering and the sequencing does not
+ * depend on the instance properties.  The ordering matches the comparators used by the repository helper
+ * with the addition of the GUID to break ties so that successive pages do not overlap.
+ *
+ * The page is taken from the graph before the vertices or edges are mapped to instances.  This relies on the
+ * metadata store returning an instance for every element on the page: an element that can not be mapped fails
+ * the whole request with a RepositoryErrorException rather than being skipped.  A request therefore receives
+ * either a full page (or the last, partial, page of the matching instances) or an exception, never a short page
+ * followed by further instances.  A metadata store that skipped unmappable elements would need to keep fetching
+ * from the graph until the page was full.
+ */
+public class GraphOMRSQueryPage
+{
+    /*
+     * Sorts an instance with no value for the time property as the oldest, as the repository helper does.
+     */
+    private static final Date NO_TIME = new Date(Long.MIN_VALUE);
+
+    private final List<InstanceStatus> limitResultsByStatus;
+    private final SequencingOrder      sequencingOrder;
+    private final int                  fromElement;
+    private final int                  pageSize;
+
+
+    /**
+     * Return the page to apply to a query, or null if the query must return every matching instance
+     * to the metadata collection so that it can filter, sort and page them itself.
+     *
+     * @param queryStrategy strategy chosen by the query plan
+     * @param filterByClassification whether the results will be filtered by classification after the query
+     * @param limitResultsByStatus statuses to return - null means any status except DELETED
+     * @param fromElement the starting element number of the instances to return
+     * @param sequencingOrder enum defining how the results should be ordered
+     * @param pageSize the maximum number of instances to return - zero means unrestricted
+     * @return page or null
+     */
+    static GraphOMRSQueryPage getQueryPage(GraphOMRSQueryPlan.QueryStrategy queryStrategy,
+                                           boolean                          filterByClassification,
+                                           List<InstanceStatus>             limitResultsByStatus,
+                                           int                              fromElement,
+                                           SequencingOrder                  sequencingOrder,
+                                           int                              pageSize)
+    {
+        if ((queryStrategy != GraphOMRSQueryPlan.QueryStrategy.Delegate) || (filterByClassification) || (pageSize <= 0))
+        {
+            return null;
+        }
+
+        if ((sequencingOrder == SequencingOrder.PROPERTY_ASCENDING) || (sequencingOrder == SequencingOrder.PROPERTY_DESCENDING))
+        {
+            return null;
+        }
+
+        return new GraphOMRSQueryPage(limitResultsByStatus, fromElement, sequencingOrder, pageSize);
+    }
+
+
+    /**
+     * Constructor
+     *
+     * @param limitResultsByStatus statuses to return - null means any status except DELETED
+     * @param fromElement the starting element number of the instances to return
+     * @param sequencingOrder enum defining how the results should be ordered
+     * @param pageSize the maximum number of instances to return
+     */
+    GraphOMRSQueryPage(List<InstanceStatus> limitResultsByStatus,
+                       int                  fromElement,
+                       SequencingOrder      sequencingOrder,
+                       int                  pageSize)
+    {
+        this.limitResultsByStatus = limitResultsByStatus;
+        this.fromElement = fromElement;
+        this.sequencingOrder = sequencingOrder;
+        this.pageSize = pageSize;
+    }
+
+
+    /**
+     * Add the status filtering, sequencing and paging steps to a traversal of entity vertices.
+     * Proxies are excluded in the traversal because the metadata store skips them when mapping the results.
+     *
+     * @param gt traversal returning the matching entity vertices
+     * @return traversal returning the requested page of entity vertices
+     */
+    GraphTraversal<Vertex, Vertex> applyToEntities(GraphTraversal<Vertex, Vertex> gt)
+    {
+        gt = gt.has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
+
+        return applyToElements(gt,
+                               PROPERTY_KEY_ENTITY_CURRENT_STATUS,
+                               PROPERTY_KEY_ENTITY_GUID,
+                               PROPERTY_KEY_ENTITY_CREATE_TIME,
+                               PROPERTY_KEY_ENTITY_UPDATE_TIME);
+    }
+
+
+    /**
+     * Add the status filtering, sequencing and paging steps to a traversal of relationship edges.
+     *
+     * @param gt traversal returning the matching relationship edges
+     * @return traversal returning the requested page of relationship edges
+     */
+    GraphTraversal<Edge, Edge> applyToRelationships(GraphTraversal<Edge, Edge> gt)
+    {
+        return applyToElements(gt,
+                               PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS,
+                               PROPERTY_KEY_RELATIONSHIP_GUID,
+                               PROPERTY_KEY_RELATIONSHIP_CREATE_TIME,
+                               PROPERTY_KEY_RELATIONSHIP_UPDATE_TIME);
+    }
+
+
+    /**
+     * Add only the status filtering to a traversal of entity vertices.  This is used by queries, such as counts,
+     * that need every matching entity rather than a page of them.  Proxies are excluded as they are for a page.
+     *
+     * @param gt traversal returning the matching entity vertices
+     * @param limitResultsByStatus statuses to return - null means any status except DELETED
+     * @return traversal returning the entity vertices with a requested status
+     */
+    static GraphTraversal<Vertex, Vertex> filterEntities(GraphTraversal<Vertex, Vertex> gt,
+                                                         List<InstanceStatus>           limitResultsByStatus)
+    {
+        gt = gt.has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
+
+        return filterByStatus(gt, PROPERTY_KEY_ENTITY_CURRENT_STATUS, limitResultsByStatus);
+    }
+
+
+    /**
+     * Add only the status filtering to a traversal of relationship edges.
+     *
+     * @param gt traversal returning the matching relationship edges
+     * @param limitResultsByStatus statuses to return - null means any status except DELETED
+     * @param <S> start of the traversal
+     * @return traversal returning the relationship edges with a requested status
+     */
+    static <S> GraphTraversal<S, Edge> filterRelationships(GraphTraversal<S, Edge> gt,
+                                                           List<InstanceStatus>    limitResultsByStatus)
+    {
+        return filterByStatus(gt, PROPERTY_KEY_RELATIONSHIP_CURRENT_STATUS, limitResultsByStatus);
+    }
+
+
+    /**
+     * Add the status filtering step to a traversal of vertices or edges, as performed by the repository validator
+     * on the mapped instances.
+     *
+     * @param gt traversal returning the matching elements
+     * @param statusKey property key of the current status ordinal
+     * @param limitResultsByStatus statuses to return - null means any status except DELETED
+     * @param <S> start of the traversal
+     * @param <E> vertex or edge
+     * @return traversal returning the elements with a requested status
+     */
+    private static <S, E extends Element> GraphTraversal<S, E> filterByStatus(GraphTraversal<S, E> gt,
+                                                                             String               statusKey,
+                                                                             List<InstanceStatus> limitResultsByStatus)
+    {
+        if (limitResultsByStatus == null)
+        {
+            return gt.not(__.has(statusKey, InstanceStatus.DELETED.getOrdinal()));
+        }
+
+        List<Integer> statusOrdinals = new ArrayList<>();
+
+        for (InstanceStatus status : limitResultsByStatus)
+        {
+            if (status != null)
+            {
+                statusOrdinals.add(status.getOrdinal());
+            }
+        }
+
+        return gt.has(statusKey, within(statusOrdinals));
+    }
+
+
+    /**
+     * Add the status filtering, sequencing and paging steps to a traversal of vertices or edges.
+     *
+     * @param gt traversal returning the matching elements
+     * @param statusKey property key of the current status ordinal
+     * @param guidKey property key of the GUID
+     * @param createTimeKey property key of the create time
+     * @param updateTimeKey property key of the update time
+     * @param <E> vertex or edge
+     * @return traversal returning the requested page of elements
+     */
+    private <E extends Element> GraphTraversal<E, E> applyToElements(GraphTraversal<E, E> gt,
+                                                                     String               statusKey,
+                                                                     String               guidKey,
+                                                                     String               createTimeKey,
+                                                                     String               updateTimeKey)
+    {
+        /*
+         * Status filtering
+         */
+        gt = filterByStatus(gt, statusKey, limitResultsByStatus);
+
+        /*
+         * Sequencing - ANY (or no sequencing order) leaves the graph to return the elements in whatever order is cheapest
+         */
+        if (sequencingOrder != null)
+        {
+            switch (sequencingOrder)
+            {
+                case GUID:
+                    gt = gt.order().by(guidKey, Order.asc);
+                    break;
+
+                case CREATION_DATE_OLDEST:
+                    gt = gt.order().by(__.coalesce(__.values(createTimeKey), __.constant(NO_TIME)), Order.asc).by(guidKey, Order.asc);
+                    break;
+
+                case CREATION_DATE_RECENT:
+                    gt = gt.order().by(__.coalesce(__.values(createTimeKey), __.constant(NO_TIME)), Order.desc).by(guidKey, Order.asc);
+                    break;
+
+                case LAST_UPDATE_OLDEST:
+                    gt = gt.order().by(__.coalesce(__.values(updateTimeKey), __.constant(NO_TIME)), Order.asc).by(guidKey, Order.asc);
+                    break;
+
+                case LAST_UPDATE_RECENT:
+                    gt = gt.order().by(__.coalesce(__.values(updateTimeKey), __.constant(NO_TIME)), Order.desc).by(guidKey, Order.asc);
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        /*
+         * Paging - each element in the range must map to an instance (see the class comment)
+         */
+        return gt.range(fromElement, (long) fromElement + pageSize);
+    }
+}
@@ -5,7 +5,6 @@ package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.reposi
 
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Property;
 
@@ -22,6 +21,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +36,8 @@ class GraphOMRSRelationshipMapper {
 
     private static final Logger log = LoggerFactory.getLogger(GraphOMRSRelationshipMapper.class);
 
+    private static final TypeReference<Map<String, Serializable>> MAPPING_PROPERTIES_TYPE = new TypeReference<Map<String, Serializable>>() {};
+
     private String               repositoryName;
     private String               metadataCollectionId;
     private OMRSRepositoryHelper repositoryHelper;
@@ -248,10 +250,9 @@ class GraphOMRSRelationshipMapper {
 
         List<String> maintainedByList = relationship.getMaintainedBy();
         if (maintainedByList != null && !maintainedByList.isEmpty()) {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(maintainedByList);
+                jsonString = OMRSJSONMapper.writeValueAsString(maintainedByList);
                 edge.property(PROPERTY_KEY_RELATIONSHIP_MAINTAINED_BY, jsonString);
 
             } catch (Throwable exc) {
@@ -284,10 +285,9 @@ class GraphOMRSRelationshipMapper {
 
         Map<String, Serializable> mappingProperties = relationship.getMappingProperties();
         if (mappingProperties != null && !mappingProperties.isEmpty()) {
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(mappingProperties);
+                jsonString = OMRSJSONMapper.writeValueAsString(mappingProperties);
                 edge.property(PROPERTY_KEY_RELATIONSHIP_MAPPING_PROPERTIES, jsonString);
 
             } catch (Throwable exc) {
@@ -315,11 +315,10 @@ class GraphOMRSRelationshipMapper {
         InstanceProperties instanceProperties = relationship.getProperties();
         if (instanceProperties != null) {
             // First approach is to write properties as json - useful for handling collections and possibly for full text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
 
             try {
-                jsonString = objectMapper.writeValueAsString(instanceProperties);
+                jsonString = OMRSJSONMapper.writeValueAsString(instanceProperties);
                 edge.property("relationshipProperties", jsonString);
 
             } catch (Throwable exc) {
@@ -429,9 +428,8 @@ class GraphOMRSRelationshipMapper {
         // maintainedBy
         String maintainedByString = (String) getEdgeProperty(edge, PROPERTY_KEY_RELATIONSHIP_MAINTAINED_BY);
         if (maintainedByString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                List<String> maintainedByList = (List<String>) objectMapper.readValue(maintainedByString, List.class);
+                List<String> maintainedByList = (List<String>) OMRSJSONMapper.readValue(maintainedByString, List.class);
                 log.debug("{} edge has deserialized maintainedBy list {}", methodName, maintainedByList);
                 relationship.setMaintainedBy(maintainedByList);
 
@@ -452,10 +450,8 @@ class GraphOMRSRelationshipMapper {
         // mappingProperties
         String mappingPropertiesString = (String) getEdgeProperty(edge, PROPERTY_KEY_RELATIONSHIP_MAPPING_PROPERTIES);
         if (mappingPropertiesString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                TypeReference<Map<String, Serializable>> typeReference = new TypeReference<Map<String, Serializable>>() {};
-                Map<String, Serializable> mappingPropertiesMap = objectMapper.readValue(mappingPropertiesString, typeReference);
+                Map<String, Serializable> mappingPropertiesMap = OMRSJSONMapper.readValue(mappingPropertiesString, MAPPING_PROPERTIES_TYPE);
                 log.debug("{} edge has deserialized mappingProperties {}", methodName, mappingPropertiesMap);
                 relationship.setMappingProperties(mappingPropertiesMap);
 
@@ -474,9 +470,8 @@ class GraphOMRSRelationshipMapper {
         // relationshipProperties
         String stringProps = (String) (getEdgeProperty(edge, "relationshipProperties"));
         if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
+                InstanceProperties instanceProperties = OMRSJSONMapper.readValue(stringProps, InstanceProperties.class);
                 log.debug("{} relationship has deserialized properties {}", methodName, instanceProperties);
                 relationship.setProperties(instanceProperties);
 
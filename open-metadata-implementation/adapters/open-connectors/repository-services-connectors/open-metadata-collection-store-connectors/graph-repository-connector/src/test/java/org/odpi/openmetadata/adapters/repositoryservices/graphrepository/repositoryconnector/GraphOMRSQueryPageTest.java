@@ -0,0 +1,363 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphFactory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.testng.Reporter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CREATE_TIME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CURRENT_STATUS;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_GUID;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_IS_PROXY;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_UPDATE_TIME;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the pages returned by the graph match the sequencing of the repository helper and compare the
+ * cost of retrieving the first page from the graph with retrieving and sorting every matching entity.
+ */
+public class GraphOMRSQueryPageTest
+{
+    private static final int   PAGE_SIZE         = 10;
+    private static final int[] BENCHMARK_SIZES   = { 1000, 10000 };
+    private static final int   BENCHMARK_REPEATS = 5;
+
+    private static final SequencingOrder[] SEQUENCING_ORDERS = { null,
+                                                                 SequencingOrder.ANY,
+                                                                 SequencingOrder.GUID,
+                                                                 SequencingOrder.CREATION_DATE_OLDEST,
+                                                                 SequencingOrder.CREATION_DATE_RECENT,
+                                                                 SequencingOrder.LAST_UPDATE_OLDEST,
+                                                                 SequencingOrder.LAST_UPDATE_RECENT };
+
+    private JanusGraph graph = null;
+
+
+    @BeforeClass
+    void setUp()
+    {
+        graph = createGraph(200);
+    }
+
+
+    @AfterClass
+    void tearDown()
+    {
+        graph.close();
+    }
+
+
+    @Test
+    void testQueryPageOnlyForRetainedResults()
+    {
+        assertNotNull(GraphOMRSQueryPage.getQueryPage(GraphOMRSQueryPlan.QueryStrategy.Delegate, false, null, 0, SequencingOrder.GUID, 10));
+        assertNull(GraphOMRSQueryPage.getQueryPage(GraphOMRSQueryPlan.QueryStrategy.Iterate, false, null, 0, SequencingOrder.GUID, 10));
+        assertNull(GraphOMRSQueryPage.getQueryPage(GraphOMRSQueryPlan.QueryStrategy.Delegate, true, null, 0, SequencingOrder.GUID, 10));
+        assertNull(GraphOMRSQueryPage.getQueryPage(GraphOMRSQueryPlan.QueryStrategy.Delegate, false, null, 0, SequencingOrder.GUID, 0));
+        assertNull(GraphOMRSQueryPage.getQueryPage(GraphOMRSQueryPlan.QueryStrategy.Delegate, false, null, 0, SequencingOrder.PROPERTY_ASCENDING, 10));
+    }
+
+
+    @Test
+    void testPagesMatchHelperSequencing()
+    {
+        List<List<InstanceStatus>> statusLimits = Arrays.asList(null,
+                                                                Collections.singletonList(InstanceStatus.ACTIVE),
+                                                                Arrays.asList(InstanceStatus.DELETED, InstanceStatus.DRAFT));
+
+        for (List<InstanceStatus> limitResultsByStatus : statusLimits)
+        {
+            for (SequencingOrder sequencingOrder : SEQUENCING_ORDERS)
+            {
+                List<Map<Object, Object>> expected = getAllEntities(graph, limitResultsByStatus, sequencingOrder);
+                List<Object>              pagedGUIDs = new ArrayList<>();
+
+                for (int fromElement = 0; fromElement <= expected.size(); fromElement = fromElement + PAGE_SIZE)
+                {
+                    GraphOMRSQueryPage queryPage = new GraphOMRSQueryPage(limitResultsByStatus, fromElement, sequencingOrder, PAGE_SIZE);
+
+                    List<Vertex> page = queryPage.applyToEntities(graph.traversal().V().hasLabel("Entity")).toList();
+
+                    /*
+                     * Only the last page may be short.
+                     */
+                    assertEquals(page.size(), Math.min(PAGE_SIZE, expected.size() - fromElement));
+
+                    for (Vertex vertex : page)
+                    {
+                        pagedGUIDs.add(vertex.value(PROPERTY_KEY_ENTITY_GUID));
+                    }
+                }
+
+                String context = sequencingOrder + " " + limitResultsByStatus;
+
+                assertEquals(new HashSet<>(pagedGUIDs).size(), pagedGUIDs.size(), context);
+
+                if ((sequencingOrder == null) || (sequencingOrder == SequencingOrder.ANY))
+                {
+                    Set<Object> expectedGUIDs = new HashSet<>();
+                    for (Map<Object, Object> entity : expected)
+                    {
+                        expectedGUIDs.add(entity.get(PROPERTY_KEY_ENTITY_GUID));
+                    }
+                    assertEquals(new HashSet<>(pagedGUIDs), expectedGUIDs, context);
+                }
+                else
+                {
+                    List<Object> expectedGUIDs = new ArrayList<>();
+                    for (Map<Object, Object> entity : expected)
+                    {
+                        expectedGUIDs.add(entity.get(PROPERTY_KEY_ENTITY_GUID));
+                    }
+                    assertEquals(pagedGUIDs, expectedGUIDs, context);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Without sequencing, the entities read for the first page are only those needed to fill it (plus any
+     * proxies and deleted entities that are skipped) however many entities match.
+     */
+    @Test
+    void testUnorderedFirstPageReadsOnlyTheEntitiesNeeded()
+    {
+        AtomicInteger entitiesRead = new AtomicInteger();
+
+        GraphOMRSQueryPage             queryPage = new GraphOMRSQueryPage(null, 0, SequencingOrder.ANY, PAGE_SIZE);
+        GraphTraversal<Vertex, Vertex> gt = graph.traversal().V().hasLabel("Entity").sideEffect(traverser -> entitiesRead.incrementAndGet());
+
+        assertEquals(queryPage.applyToEntities(gt).toList().size(), PAGE_SIZE);
+        assertTrue(entitiesRead.get() < PAGE_SIZE * 2, Integer.toString(entitiesRead.get()));
+    }
+
+
+    /**
+     * Benchmark the retrieval of the first page of entities.  The time taken to retrieve the page from the graph
+     * is compared with the time taken to read every matching entity and sort them, as the metadata collection did
+     * before the paging was delegated to the graph.  When no sequencing is requested, the graph stops reading
+     * entities once the page is full so the time taken does not depend on the number of matching entities.
+     * When sequencing is requested, the graph must still compare every matching entity but only the entities
+     * on the page are read in full.  The timings go to the TestNG report.
+     */
+    @Test(groups = "benchmark")
+    void benchmarkFirstPage()
+    {
+        for (int size : BENCHMARK_SIZES)
+        {
+            JanusGraph benchmarkGraph = createGraph(size);
+
+            try
+            {
+                for (SequencingOrder sequencingOrder : new SequencingOrder[]{ SequencingOrder.ANY, SequencingOrder.CREATION_DATE_RECENT })
+                {
+                    long fullResultsTime = Long.MAX_VALUE;
+                    long queryPageTime   = Long.MAX_VALUE;
+
+                    AtomicInteger entitiesRead = new AtomicInteger();
+                    AtomicInteger entitiesMapped = new AtomicInteger();
+
+                    for (int repeat = 0; repeat < BENCHMARK_REPEATS; repeat++)
+                    {
+                        long start = System.nanoTime();
+
+                        List<Map<Object, Object>> fullResults = getAllEntities(benchmarkGraph, null, sequencingOrder);
+                        assertEquals(fullResults.subList(0, PAGE_SIZE).size(), PAGE_SIZE);
+
+                        fullResultsTime = Math.min(fullResultsTime, System.nanoTime() - start);
+
+                        entitiesRead.set(0);
+                        entitiesMapped.set(0);
+
+                        start = System.nanoTime();
+
+                        GraphOMRSQueryPage             queryPage = new GraphOMRSQueryPage(null, 0, sequencingOrder, PAGE_SIZE);
+                        GraphTraversal<Vertex, Vertex> gt = benchmarkGraph.traversal().V().hasLabel("Entity").sideEffect(traverser -> entitiesRead.incrementAndGet());
+
+                        List<Map<Object, Object>> page = queryPage.applyToEntities(gt)
+                                                                  .sideEffect(traverser -> entitiesMapped.incrementAndGet())
+                                                                  .valueMap().by(__.unfold())
+                                                                  .toList();
+                        assertEquals(page.size(), PAGE_SIZE);
+
+                        queryPageTime = Math.min(queryPageTime, System.nanoTime() - start);
+                    }
+
+                    assertEquals(entitiesMapped.get(), PAGE_SIZE);
+
+                    Reporter.log(String.format("%s: %d matching entities, first page of %d: all results sorted %.2f ms, paged in graph %.2f ms (%d entities compared)",
+                                               sequencingOrder,
+                                               size,
+                                               PAGE_SIZE,
+                                               fullResultsTime / 1_000_000.0,
+                                               queryPageTime / 1_000_000.0,
+                                               entitiesRead.get()));
+                }
+            }
+            finally
+            {
+                benchmarkGraph.close();
+            }
+        }
+    }
+
+
+    /**
+     * Create an in-memory graph containing entity vertices with a mix of statuses, proxies, shared create
+     * times and missing update times.
+     *
+     * @param size number of entities
+     * @return graph
+     */
+    private JanusGraph createGraph(int size)
+    {
+        JanusGraph graph = JanusGraphFactory.build().set("storage.backend", "inmemory").open();
+
+        for (int i = 0; i < size; i++)
+        {
+            Vertex vertex = graph.addVertex("Entity");
+
+            vertex.property(PROPERTY_KEY_ENTITY_GUID, String.format("guid-%08d", (i * 7919) % size));
+            vertex.property(PROPERTY_KEY_ENTITY_IS_PROXY, (i % 23 == 0));
+            vertex.property(PROPERTY_KEY_ENTITY_CREATE_TIME, new Date(1_000_000L * (i % 50)));
+
+            if (i % 3 != 0)
+            {
+                vertex.property(PROPERTY_KEY_ENTITY_UPDATE_TIME, new Date(1_000_000L * (i % 37)));
+            }
+
+            InstanceStatus status = (i % 11 == 0) ? InstanceStatus.DELETED : (i % 5 == 0) ? InstanceStatus.DRAFT : InstanceStatus.ACTIVE;
+
+            vertex.property(PROPERTY_KEY_ENTITY_CURRENT_STATUS, status.getOrdinal());
+        }
+
+        graph.tx().commit();
+
+        return graph;
+    }
+
+
+    /**
+     * Read every entity that matches the status filter and sort them as the repository helper would, using
+     * the GUID to sequence entities that the helper considers equal.
+     *
+     * @param graph graph to read
+     * @param limitResultsByStatus statuses to return - null means any status except DELETED
+     * @param sequencingOrder sequencing order
+     * @return properties of the matching entities
+     */
+    private List<Map<Object, Object>> getAllEntities(JanusGraph           graph,
+                                                     List<InstanceStatus> limitResultsByStatus,
+                                                     SequencingOrder      sequencingOrder)
+    {
+        List<Map<Object, Object>> entities = new ArrayList<>();
+
+        for (Map<Object, Object> entity : graph.traversal().V().hasLabel("Entity").valueMap().by(__.unfold()).toList())
+        {
+            if (Boolean.TRUE.equals(entity.get(PROPERTY_KEY_ENTITY_IS_PROXY)))
+            {
+                continue;
+            }
+
+            Integer ordinal = (Integer) entity.get(PROPERTY_KEY_ENTITY_CURRENT_STATUS);
+
+            if (limitResultsByStatus == null)
+            {
+                if (ordinal == InstanceStatus.DELETED.getOrdinal())
+                {
+                    continue;
+                }
+            }
+            else
+            {
+                boolean found = false;
+                for (InstanceStatus status : limitResultsByStatus)
+                {
+                    found = found || (status.getOrdinal() == ordinal);
+                }
+
+                if (! found)
+                {
+                    continue;
+                }
+            }
+
+            entities.add(entity);
+        }
+
+        Comparator<Map<Object, Object>> byGUID = Comparator.comparing(entity -> (String) entity.get(PROPERTY_KEY_ENTITY_GUID));
+        Comparator<Map<Object, Object>> comparator = null;
+
+        if (sequencingOrder != null)
+        {
+            switch (sequencingOrder)
+            {
+                case GUID:
+                    comparator = byGUID;
+                    break;
+
+                case CREATION_DATE_OLDEST:
+                    comparator = getDateComparator(PROPERTY_KEY_ENTITY_CREATE_TIME).thenComparing(byGUID);
+                    break;
+
+                case CREATION_DATE_RECENT:
+                    comparator = getDateComparator(PROPERTY_KEY_ENTITY_CREATE_TIME).reversed().thenComparing(byGUID);
+                    break;
+
+                case LAST_UPDATE_OLDEST:
+                    comparator = getDateComparator(PROPERTY_KEY_ENTITY_UPDATE_TIME).thenComparing(byGUID);
+                    break;
+
+                case LAST_UPDATE_RECENT:
+                    comparator = getDateComparator(PROPERTY_KEY_ENTITY_UPDATE_TIME).reversed().thenComparing(byGUID);
+                    break;
+
+                default:
+                    break;
+            }
+        }
+
+        if (comparator != null)
+        {
+            entities.sort(comparator);
+        }
+
+        return entities;
+    }
+
+
+    /**
+     * Return a comparator that orders entities by a date property with missing values first, as the repository helper does.
+     *
+     * @param propertyKey date property
+     * @return comparator
+     */
+    private Comparator<Map<Object, Object>> getDateComparator(String propertyKey)
+    {
+        return Comparator.comparing(entity -> (Date) entity.get(propertyKey), Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+}
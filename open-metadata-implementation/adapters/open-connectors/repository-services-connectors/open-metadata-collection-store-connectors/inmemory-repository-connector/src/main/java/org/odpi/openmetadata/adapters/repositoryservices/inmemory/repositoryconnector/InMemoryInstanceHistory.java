@@ -0,0 +1,305 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * InMemoryInstanceHistory maintains the superseded versions of the instances of one kind (entities or relationships)
+ * for the InMemoryOMRSMetadataStore.  The versions of each instance are held in a chain sorted by the time that
+ * each version became effective (its update time, or its create time if it has never been updated) so that the version
+ * that was active at a point in time can be located with a binary search.  A second index records the time that each
+ * instance was first stored so that historical queries only need to visit the instances that existed at the requested
+ * time.
+ * <p>
+ * Each chain is guarded by its own monitor.  New versions are normally the latest so they are appended to the end
+ * of the chain, which keeps the cost of an update independent of the length of the instance's history.  Changes for
+ * a single instance are serialized by the caller.
+ *
+ * @param <T> type of instance
+ */
+class InMemoryInstanceHistory<T extends InstanceHeader>
+{
+    private final Map<String, VersionChain<T>>         versionChains = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Set<String>>      creationIndex = new ConcurrentSkipListMap<>();
+    private final Map<String, Long>                    creationTimes = new ConcurrentHashMap<>();
+
+
+    /**
+     * Default constructor
+     */
+    InMemoryInstanceHistory()
+    {
+    }
+
+
+    /**
+     * Return the time that a version of an instance became effective.
+     *
+     * @param version version of an instance
+     * @return time in milliseconds, or null if the version has no create or update time
+     */
+    static Long getEffectiveTime(InstanceHeader version)
+    {
+        if (version.getUpdateTime() != null)
+        {
+            return version.getUpdateTime().getTime();
+        }
+        else if (version.getCreateTime() != null)
+        {
+            return version.getCreateTime().getTime();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Record the time that an instance was first stored.  This has no effect if the instance is already known.
+     *
+     * @param firstVersion first stored version of the instance
+     */
+    void recordCreation(T firstVersion)
+    {
+        String guid          = firstVersion.getGUID();
+        Long   effectiveTime = getEffectiveTime(firstVersion);
+
+        if ((guid != null) && (effectiveTime != null) && (creationTimes.putIfAbsent(guid, effectiveTime) == null))
+        {
+            creationIndex.computeIfAbsent(effectiveTime, time -> ConcurrentHashMap.newKeySet()).add(guid);
+        }
+    }
+
+
+    /**
+     * Add a superseded version of an instance to its version chain.
+     *
+     * @param version superseded version
+     */
+    void addVersion(T version)
+    {
+        if ((version != null) && (version.getGUID() != null))
+        {
+            Long effectiveTime = getEffectiveTime(version);
+
+            versionChains.computeIfAbsent(version.getGUID(), guid -> new VersionChain<>()).add(version, effectiveTime);
+        }
+    }
+
+
+    /**
+     * Return the most recently superseded version of an instance.
+     *
+     * @param guid unique identifier of the instance
+     * @return latest version in the history, or null if there is no history
+     */
+    T getLatestVersion(String guid)
+    {
+        VersionChain<T> chain = versionChains.get(guid);
+
+        if (chain == null)
+        {
+            return null;
+        }
+
+        return chain.getLatestVersion();
+    }
+
+
+    /**
+     * Return the superseded version of an instance that was effective at the requested time.
+     *
+     * @param guid unique identifier of the instance
+     * @param asOfTime time of interest
+     * @return version effective at that time, or null if there is none in the history
+     */
+    T getVersionAsOf(String guid,
+                     Date   asOfTime)
+    {
+        VersionChain<T> chain = versionChains.get(guid);
+
+        if (chain == null)
+        {
+            return null;
+        }
+
+        return chain.getVersionAsOf(asOfTime.getTime());
+    }
+
+
+    /**
+     * Return the unique identifiers of the instances that had been stored by the requested time.
+     *
+     * @param asOfTime time of interest
+     * @return list of guids
+     */
+    List<String> getGUIDsKnownAsOf(Date asOfTime)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (Set<String> createdGUIDs : creationIndex.headMap(asOfTime.getTime(), true).values())
+        {
+            guids.addAll(createdGUIDs);
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * Remove all knowledge of an instance from the history.
+     *
+     * @param guid unique identifier of the instance
+     */
+    void remove(String guid)
+    {
+        versionChains.remove(guid);
+
+        Long creationTime = creationTimes.remove(guid);
+
+        if (creationTime != null)
+        {
+            creationIndex.computeIfPresent(creationTime, (time, guids) ->
+            {
+                guids.remove(guid);
+
+                if (guids.isEmpty())
+                {
+                    return null;
+                }
+
+                return guids;
+            });
+        }
+    }
+
+
+    /**
+     * VersionChain holds the superseded versions of a single instance sorted by the time that they became effective.
+     *
+     * @param <T> type of instance
+     */
+    private static class VersionChain<T extends InstanceHeader>
+    {
+        private final List<T> versions = new ArrayList<>();
+
+
+        /**
+         * Add a version to the chain.  A version that is later than all of the others is appended.
+         *
+         * @param version superseded version
+         * @param effectiveTime time the version became effective (or null if it has no time)
+         */
+        synchronized void add(T    version,
+                              Long effectiveTime)
+        {
+            if (effectiveTime == null)
+            {
+                /*
+                 * Versions without a time can never be returned by a historical query so they sort first.
+                 */
+                versions.add(0, version);
+            }
+            else if (versions.isEmpty() || isAtOrBefore(versions.get(versions.size() - 1), effectiveTime))
+            {
+                versions.add(version);
+            }
+            else
+            {
+                versions.add(findFirstVersionAfter(effectiveTime), version);
+            }
+        }
+
+
+        /**
+         * Return the most recently superseded version.
+         *
+         * @return latest version or null if the chain is empty
+         */
+        synchronized T getLatestVersion()
+        {
+            if (versions.isEmpty())
+            {
+                return null;
+            }
+
+            return versions.get(versions.size() - 1);
+        }
+
+
+        /**
+         * Return the version that was effective at the requested time.
+         *
+         * @param time time in milliseconds
+         * @return version effective at that time, or null if there is none
+         */
+        synchronized T getVersionAsOf(long time)
+        {
+            int position = findFirstVersionAfter(time);
+
+            if (position == 0)
+            {
+                return null;
+            }
+
+            T version = versions.get(position - 1);
+
+            if (getEffectiveTime(version) == null)
+            {
+                return null;
+            }
+
+            return version;
+        }
+
+
+        /**
+         * Return whether a version became effective at or before the supplied time.  Versions without a time are
+         * treated as the earliest.
+         *
+         * @param version version to test
+         * @param time time in milliseconds
+         * @return boolean
+         */
+        private static boolean isAtOrBefore(InstanceHeader version,
+                                            long           time)
+        {
+            Long effectiveTime = getEffectiveTime(version);
+
+            return (effectiveTime == null) || (effectiveTime <= time);
+        }
+
+
+        /**
+         * Locate the position of the first version in the chain that became effective after the supplied time.
+         *
+         * @param time time in milliseconds
+         * @return insertion point after all versions effective at or before the time
+         */
+        private int findFirstVersionAfter(long time)
+        {
+            int low  = 0;
+            int high = versions.size();
+
+            while (low < high)
+            {
+                int middle = (low + high) >>> 1;
+
+                if (isAtOrBefore(versions.get(middle), time))
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+    }
+}
@@ -11,10 +11,13 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSSearchPredicate;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The InMemoryOMRSMetadataCollection represents a metadata repository that supports an in-memory repository.
@@ -24,6 +27,13 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 {
     private InMemoryOMRSMetadataStore  repositoryStore = new InMemoryOMRSMetadataStore();
 
+    /*
+     * Cache of the subtype names for each type used in a query.  Entries are discarded when the type definitions
+     * change or when an instance of a type that the store has not seen before is stored.
+     */
+    private final Map<String, SubtypeNames> subtypeNamesCache    = new ConcurrentHashMap<>();
+    private final AtomicLong                typeDefChangeCount   = new AtomicLong();
+
 
     /**
      * Constructor ensures the metadata collection is linked to its connector and knows its metadata collection Id.
@@ -53,6 +63,103 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /* ==============================
+     * Group 2: Working with typedefs
+     */
+
+
+    /**
+     * Update one or more properties of the TypeDef.  The cached subtype names are discarded.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param typeDefPatch TypeDef patch describing change to TypeDef.
+     * @return updated TypeDef
+     * @throws InvalidParameterException the TypeDefPatch is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeDefNotKnownException the requested TypeDef is not found in the metadata collection.
+     * @throws PatchErrorException the TypeDef can not be updated because the supplied patch is incompatible
+     *                               with the stored TypeDef.
+     */
+    @Override
+    public TypeDef updateTypeDef(String       userId,
+                                 TypeDefPatch typeDefPatch) throws InvalidParameterException,
+                                                                   RepositoryErrorException,
+                                                                   TypeDefNotKnownException,
+                                                                   PatchErrorException
+    {
+        TypeDef typeDef = super.updateTypeDef(userId, typeDefPatch);
+
+        typeDefChangeCount.incrementAndGet();
+
+        return typeDef;
+    }
+
+
+    /**
+     * Delete the TypeDef.  The cached subtype names are discarded.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param obsoleteTypeDefGUID String unique identifier for the TypeDef.
+     * @param obsoleteTypeDefName String unique name for the TypeDef.
+     * @throws InvalidParameterException the one of TypeDef identifiers is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeDefNotKnownException the requested TypeDef is not found in the metadata collection.
+     * @throws TypeDefInUseException the TypeDef can not be deleted because there are instances of this type in the
+     *                                 the metadata collection.  These instances need to be purged before the
+     *                                 TypeDef can be deleted.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public void deleteTypeDef(String    userId,
+                              String    obsoleteTypeDefGUID,
+                              String    obsoleteTypeDefName) throws InvalidParameterException,
+                                                                    RepositoryErrorException,
+                                                                    TypeDefNotKnownException,
+                                                                    TypeDefInUseException,
+                                                                    UserNotAuthorizedException
+    {
+        super.deleteTypeDef(userId, obsoleteTypeDefGUID, obsoleteTypeDefName);
+
+        typeDefChangeCount.incrementAndGet();
+    }
+
+
+    /**
+     * Change the guid or name of an existing TypeDef.  The cached subtype names are discarded.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param originalTypeDefGUID the original guid of the TypeDef.
+     * @param originalTypeDefName the original name of the TypeDef.
+     * @param newTypeDefGUID the new identifier for the TypeDef.
+     * @param newTypeDefName new name for this TypeDef.
+     * @return typeDef new values for this TypeDef, including the new guid/name.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeDefNotKnownException the TypeDef identified by the original guid/name is not found
+     *                                    in the metadata collection.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public  TypeDef reIdentifyTypeDef(String     userId,
+                                      String     originalTypeDefGUID,
+                                      String     originalTypeDefName,
+                                      String     newTypeDefGUID,
+                                      String     newTypeDefName) throws InvalidParameterException,
+                                                                        RepositoryErrorException,
+                                                                        TypeDefNotKnownException,
+                                                                        UserNotAuthorizedException
+    {
+        TypeDef typeDef = super.reIdentifyTypeDef(userId, originalTypeDefGUID, originalTypeDefName, newTypeDefGUID, newTypeDefName);
+
+        typeDefChangeCount.incrementAndGet();
+
+        return typeDef;
+    }
+
+
     /* ===================================================
      * Group 3: Locating entity and relationship instances
      */
@@ -216,7 +323,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        EntityDetail  entity = repositoryStore.timeWarpEntityStore(asOfTime).get(guid);
+        EntityDetail  entity = repositoryStore.getEntity(guid, asOfTime);
         if (entity == null)
         {
             EntityProxy  entityProxy = repositoryStore.getEntityProxy(guid);
@@ -234,6 +341,68 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.  The
+     * returned list is in the same order as the requested guids.  Entities that are not known, or are only
+     * proxies, in the metadata collection are left out of the list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 return the present values.
+     * @return list of EntityDetail structures or null if none of the entities are known.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntitiesDetail(String       userId,
+                                                List<String> guids,
+                                                Date         asOfTime) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              UserNotAuthorizedException
+    {
+        final String  methodName = "getEntitiesDetail";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            EntityDetail entity;
+
+            if (asOfTime == null)
+            {
+                entity = repositoryStore.getEntity(guid);
+            }
+            else
+            {
+                entity = repositoryStore.getEntity(guid, asOfTime);
+            }
+
+            if ((entity != null) && (entity.getStatus() != InstanceStatus.DELETED))
+            {
+                results.add(entity);
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -298,6 +467,115 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
+        List<Relationship> entityRelationships = this.selectRelationshipsForEntity(userId,
+                                                                                   entityGUID,
+                                                                                   relationshipTypeGUID,
+                                                                                   asOfTime,
+                                                                                   methodName);
+
+        if (entityRelationships.isEmpty())
+        {
+            return null;
+        }
+
+        return repositoryHelper.formatRelationshipResults(entityRelationships,
+                                                          fromRelationshipElement,
+                                                          sequencingProperty,
+                                                          sequencingOrder,
+                                                          pageSize);
+    }
+
+
+
+    /**
+     * Return the number of relationships for a specific entity.  The relationships are counted in the store
+     * without being sorted or paged.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical query of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @param effectiveTime only count relationships that are effective at this time (null means any time).
+     * @return count of the relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime,
+                                           Date                       effectiveTime) throws InvalidParameterException,
+                                                                                            TypeErrorException,
+                                                                                            RepositoryErrorException,
+                                                                                            EntityNotKnownException,
+                                                                                            UserNotAuthorizedException
+    {
+        final String  methodName = "countRelationshipsForEntity";
+
+        /*
+         * Validate parameters
+         */
+        super.countRelationshipsForEntityParameterValidation(userId,
+                                                             entityGUID,
+                                                             relationshipTypeGUID,
+                                                             limitResultsByStatus,
+                                                             asOfTime);
+
+        /*
+         * Perform operation
+         */
+        int count = 0;
+
+        for (Relationship relationship : this.selectRelationshipsForEntity(userId,
+                                                                           entityGUID,
+                                                                           relationshipTypeGUID,
+                                                                           asOfTime,
+                                                                           methodName))
+        {
+            if (super.isEffective(relationship.getProperties(), effectiveTime))
+            {
+                count ++;
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Return the relationships stored for an entity that are of the requested type.  This is the selection
+     * shared by getRelationshipsForEntity and countRelationshipsForEntity.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param asOfTime time of the query (null means now).
+     * @param methodName calling method
+     * @return list of relationships (may be empty)
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws RepositoryErrorException there is a problem with the stored instances.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private List<Relationship> selectRelationshipsForEntity(String  userId,
+                                                            String  entityGUID,
+                                                            String  relationshipTypeGUID,
+                                                            Date    asOfTime,
+                                                            String  methodName) throws InvalidParameterException,
+                                                                                       RepositoryErrorException,
+                                                                                       EntityNotKnownException,
+                                                                                       UserNotAuthorizedException
+    {
         EntitySummary  entity = this.getEntitySummary(userId, entityGUID);
 
         repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entity, methodName);
@@ -305,9 +583,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         List<Relationship> entityRelationships = new ArrayList<>();
 
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
-        for (Relationship  storedRelationship : relationshipStore.values())
+        for (Relationship  storedRelationship : repositoryStore.getRelationshipsForEntity(entityGUID, asOfTime))
         {
             if (storedRelationship != null)
             {
@@ -332,16 +608,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
             }
         }
 
-        if (entityRelationships.isEmpty())
-        {
-            return null;
-        }
-
-        return repositoryHelper.formatRelationshipResults(entityRelationships,
-                                                          fromRelationshipElement,
-                                                          sequencingProperty,
-                                                          sequencingOrder,
-                                                          pageSize);
+        return entityRelationships;
     }
 
 
@@ -398,6 +665,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                                 PagingErrorException,
                                                                                                 UserNotAuthorizedException
     {
+        final String  methodName = "findEntitiesByProperty";
+
         /*
          * Validate parameters
          */
@@ -415,32 +684,150 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         /*
          * Perform operation
-         *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        List<EntityDetail> foundEntities = this.selectEntitiesByProperty(entityTypeGUID,
+                                                                         matchProperties,
+                                                                         matchCriteria,
+                                                                         limitResultsByStatus,
+                                                                         limitResultsByClassification,
+                                                                         asOfTime,
+                                                                         methodName);
 
-        for (EntityDetail  entity : entityStore.values())
+        return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+    }
+
+
+
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.  The
+     * entities are counted in the store without being sorted or paged.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means count the present values.
+     * @param effectiveTime only count entities that are effective at this time (null means any time).
+     * @return count of the matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    @Override
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime,
+                                       Date                      effectiveTime) throws InvalidParameterException,
+                                                                                       RepositoryErrorException,
+                                                                                       TypeErrorException,
+                                                                                       PropertyErrorException,
+                                                                                       UserNotAuthorizedException
+    {
+        final String  methodName = "countEntitiesByProperty";
+
+        /*
+         * Validate parameters
+         */
+        super.countEntitiesByPropertyParameterValidation(userId,
+                                                         entityTypeGUID,
+                                                         matchProperties,
+                                                         matchCriteria,
+                                                         limitResultsByStatus,
+                                                         limitResultsByClassification,
+                                                         asOfTime);
+
+        /*
+         * Perform operation
+         */
+        int count = 0;
+
+        for (EntityDetail entity : this.selectEntitiesByProperty(entityTypeGUID,
+                                                                 matchProperties,
+                                                                 matchCriteria,
+                                                                 limitResultsByStatus,
+                                                                 limitResultsByClassification,
+                                                                 asOfTime,
+                                                                 methodName))
+        {
+            if (super.isEffective(entity.getProperties(), effectiveTime))
+            {
+                count ++;
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Return the stored entities that match the supplied properties according to the match criteria.  This is
+     * the selection shared by findEntitiesByProperty and countEntitiesByProperty.
+     *
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match.
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus list of statuses to restrict the results to (null means all except DELETED).
+     * @param limitResultsByClassification List of classifications that must be present on all returned entities.
+     * @param asOfTime time of the query (null means now).
+     * @param methodName calling method
+     * @return list of matching entities (may be empty)
+     * @throws InvalidParameterException the match properties are not valid.
+     * @throws TypeErrorException the type guid is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem with the stored instances.
+     */
+    private List<EntityDetail> selectEntitiesByProperty(String                    entityTypeGUID,
+                                                        InstanceProperties        matchProperties,
+                                                        MatchCriteria             matchCriteria,
+                                                        List<InstanceStatus>      limitResultsByStatus,
+                                                        List<String>              limitResultsByClassification,
+                                                        Date                      asOfTime,
+                                                        String                    methodName) throws InvalidParameterException,
+                                                                                                     TypeErrorException,
+                                                                                                     RepositoryErrorException
+    {
+        /*
+         * The store's indexes narrow the candidate entities by type, status and classification.  The remaining
+         * entities are checked against the full set of match conditions.
+         */
+        OMRSSearchPredicate searchPredicate = repositoryValidator.getSearchPredicate(matchProperties, matchCriteria);
+        List<EntityDetail>  foundEntities = new ArrayList<>();
+        List<EntityDetail>  candidateEntities = repositoryStore.getEntitiesForQuery(this.getTypeNamesForQuery(entityTypeGUID,
+                                                                                                               null,
+                                                                                                               methodName),
+                                                                                    limitResultsByClassification,
+                                                                                    limitResultsByStatus,
+                                                                                    asOfTime);
+
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
                 if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
                     (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              entity,
-                                                                              entity.getProperties(),
-                                                                              matchCriteria
-                                                                              )))
+                    (searchPredicate.matches(entity, entity.getProperties())))
                 {
                     foundEntities.add(entity);
                 }
             }
         }
 
-        return repositoryHelper.formatEntityResults(foundEntities, fromEntityElement, sequencingProperty, sequencingOrder, pageSize);
+        return foundEntities;
     }
 
 
@@ -495,6 +882,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                       PagingErrorException,
                                                                                       UserNotAuthorizedException
     {
+        final String  methodName = "findEntities";
+
         /*
          * Validate parameters
          */
@@ -513,20 +902,27 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
-         */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
-
-        for (EntityDetail  entity : entityStore.values())
+         * The store's indexes narrow the candidate entities by type and status.  The remaining
+         * entities are checked against the full set of match conditions.
+         */
+        OMRSSearchPredicate classificationPredicate = repositoryValidator.getSearchPredicate(matchClassifications);
+        OMRSSearchPredicate propertyPredicate = repositoryValidator.getSearchPredicate(matchProperties);
+        List<EntityDetail>  foundEntities = new ArrayList<>();
+        List<EntityDetail>  candidateEntities = repositoryStore.getEntitiesForQuery(this.getTypeNamesForQuery(entityTypeGUID,
+                                                                                                               entitySubtypeGUIDs,
+                                                                                                               methodName),
+                                                                                    null,
+                                                                                    limitResultsByStatus,
+                                                                                    asOfTime);
+
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
                 if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entitySubtypeGUIDs, entity)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                    (repositoryValidator.verifyMatchingClassifications(matchClassifications, entity)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties, entity, entity.getProperties())))
+                    (classificationPredicate.matches(entity, null)) &&
+                    (propertyPredicate.matches(entity, entity.getProperties())))
                 {
                     foundEntities.add(entity);
                 }
@@ -593,6 +989,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                                        PagingErrorException,
                                                                                                        UserNotAuthorizedException
     {
+        final String  methodName = "findEntitiesByClassification";
+
         /*
          * Validate parameters
          */
@@ -611,16 +1009,23 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The store's indexes narrow the candidate entities to those of the right type, status and
+         * classification.  The remaining entities are checked against the full set of match conditions.
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        OMRSSearchPredicate         searchPredicate = repositoryValidator.getSearchPredicate(matchClassificationProperties, matchCriteria);
         List<EntityDetail>          foundEntities = new ArrayList<>();
 
         List<String>                classificationList = new ArrayList<>();
         classificationList.add(classificationName);
 
-        for (EntityDetail  entity : entityStore.values())
+        List<EntityDetail>          candidateEntities = repositoryStore.getEntitiesForQuery(this.getTypeNamesForQuery(entityTypeGUID,
+                                                                                                                       null,
+                                                                                                                       methodName),
+                                                                                            classificationList,
+                                                                                            limitResultsByStatus,
+                                                                                            asOfTime);
+
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
@@ -641,13 +1046,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                             {
                                 if (classificationName.equals(entityClassification.getName()))
                                 {
-                                    if (repositoryValidator.verifyMatchingInstancePropertyValues(
-                                            matchClassificationProperties,
-                                            entityClassification,
-                                            entityClassification.getProperties(),
-                                            matchCriteria
-                                            ))
-
+                                    if (searchPredicate.matches(entityClassification, entityClassification.getProperties()))
                                     {
                                         foundEntities.add(entity);
                                     }
@@ -736,22 +1135,26 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Process operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The store's indexes narrow the candidate entities by type, status and classification.  The remaining
+         * entities are checked against the search criteria.
          */
+        OMRSSearchPredicate  searchPredicate = repositoryValidator.getSearchPredicate(repositoryName, searchCriteria, methodName);
         List<EntityDetail>   foundEntities = new ArrayList<>();
-
-        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
+        List<EntityDetail>   candidateEntities = repositoryStore.getEntitiesForQuery(this.getTypeNamesForQuery(entityTypeGUID,
+                                                                                                                null,
+                                                                                                                methodName),
+                                                                                     limitResultsByClassification,
+                                                                                     limitResultsByStatus,
+                                                                                     asOfTime);
+
+        for (EntityDetail  entity : candidateEntities)
         {
             if (entity != null)
             {
                 if ((repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
                     (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
-                    (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
-                                                                                    entity.getProperties(),
-                                                                                    searchCriteria,
-                                                                                    methodName)))
+                    (searchPredicate.matches(entity, entity.getProperties())))
                 {
                     foundEntities.add(entity);
                 }
@@ -865,7 +1268,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        Relationship  relationship = repositoryStore.timeWarpRelationshipStore(asOfTime).get(guid);
+        Relationship  relationship = repositoryStore.getRelationship(guid, asOfTime);
 
         repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
         repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
@@ -874,6 +1277,67 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  The returned list is in the same order as the
+     * requested guids.  Relationships that are not known in the metadata collection are left out of the list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 return the present values.
+     * @return list of Relationship structures or null if none of the relationships are known.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<Relationship> results = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            Relationship relationship;
+
+            if (asOfTime == null)
+            {
+                relationship = repositoryStore.getRelationship(guid);
+            }
+            else
+            {
+                relationship = repositoryStore.getRelationship(guid, asOfTime);
+            }
+
+            if ((relationship != null) && (relationship.getStatus() != InstanceStatus.DELETED))
+            {
+                results.add(relationship);
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a list of relationships that match the requested conditions.  The results can be received as a series of
      * pages.
@@ -928,6 +1392,8 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                                             FunctionNotSupportedException,
                                                                                             UserNotAuthorizedException
     {
+        final String  methodName = "findRelationships";
+
         /*
          * Validate parameters
          */
@@ -946,19 +1412,24 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
+         * The store's indexes narrow the candidate relationships by type and status.  The remaining
+         * relationships are checked against the full set of match conditions.
          */
-        List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        OMRSSearchPredicate searchPredicate = repositoryValidator.getSearchPredicate(matchProperties);
+        List<Relationship>  foundRelationships = new ArrayList<>();
+        List<Relationship>  candidateRelationships = repositoryStore.getRelationshipsForQuery(this.getTypeNamesForQuery(relationshipTypeGUID,
+                                                                                                                         relationshipSubtypeGUIDs,
+                                                                                                                         methodName),
+                                                                                              limitResultsByStatus,
+                                                                                              asOfTime);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : candidateRelationships)
         {
             if (relationship != null)
             {
                 if ((repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationshipSubtypeGUIDs, relationship)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties, relationship, relationship.getProperties())))
+                    (searchPredicate.matches(relationship, relationship.getProperties())))
                 {
                     foundRelationships.add(relationship);
                 }
@@ -1048,22 +1519,24 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
+         * The store's indexes narrow the candidate relationships by type and status.  The remaining
+         * relationships are checked against the full set of match conditions.
          */
-        List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        OMRSSearchPredicate searchPredicate = repositoryValidator.getSearchPredicate(matchProperties, matchCriteria);
+        List<Relationship>  foundRelationships = new ArrayList<>();
+        List<Relationship>  candidateRelationships = repositoryStore.getRelationshipsForQuery(this.getTypeNamesForQuery(relationshipTypeGUID,
+                                                                                                                         null,
+                                                                                                                         methodName),
+                                                                                              limitResultsByStatus,
+                                                                                              asOfTime);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : candidateRelationships)
         {
             if (relationship != null)
             {
                 if ((repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              relationship,
-                                                                              relationship.getProperties(),
-                                                                              matchCriteria)))
+                    (searchPredicate.matches(relationship, relationship.getProperties())))
                 {
                     foundRelationships.add(relationship);
                 }
@@ -1147,21 +1620,24 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored relationships.
+         * The store's indexes narrow the candidate relationships by type and status.  The remaining
+         * relationships are checked against the search criteria.
          */
+        OMRSSearchPredicate searchPredicate = repositoryValidator.getSearchPredicate(repositoryName, searchCriteria, methodName);
         List<Relationship>  foundRelationships = new ArrayList<>();
+        List<Relationship>  candidateRelationships = repositoryStore.getRelationshipsForQuery(this.getTypeNamesForQuery(relationshipTypeGUID,
+                                                                                                                         null,
+                                                                                                                         methodName),
+                                                                                              limitResultsByStatus,
+                                                                                              asOfTime);
 
-        for (Relationship  relationship : repositoryStore.timeWarpRelationshipStore(asOfTime).values())
+        for (Relationship  relationship : candidateRelationships)
         {
             if (relationship != null)
             {
                 if ((repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
-                                                                                     relationship.getProperties(),
-                                                                                     searchCriteria,
-                                                                                     methodName)))
+                    (searchPredicate.matches(relationship, relationship.getProperties())))
                 {
                     foundRelationships.add(relationship);
                 }
@@ -1176,6 +1652,117 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Return the names of the types that instances must be one of to satisfy a query.  This includes the
+     * requested type (or the requested subtypes) along with all of their subtypes.  It is used to
+     * select candidate instances from the store's type index.
+     *
+     * @param typeGUID unique identifier of the type of interest (null means any type)
+     * @param subtypeGUIDs optional list of unique identifiers of subtypes to restrict the results to
+     * @param methodName calling method
+     * @return list of type names or null if the query is not restricted by type
+     * @throws TypeErrorException one of the types is not known
+     */
+    private List<String> getTypeNamesForQuery(String       typeGUID,
+                                              List<String> subtypeGUIDs,
+                                              String       methodName) throws TypeErrorException
+    {
+        final String  typeGUIDParameterName = "typeGUID";
+
+        List<String>  requestedTypeGUIDs;
+
+        if (subtypeGUIDs != null)
+        {
+            requestedTypeGUIDs = subtypeGUIDs;
+        }
+        else if (typeGUID != null)
+        {
+            requestedTypeGUIDs = Collections.singletonList(typeGUID);
+        }
+        else
+        {
+            return null;
+        }
+
+        List<String>  typeNames = new ArrayList<>();
+
+        for (String requestedTypeGUID : requestedTypeGUIDs)
+        {
+            TypeDef typeDef = repositoryHelper.getTypeDef(repositoryName, typeGUIDParameterName, requestedTypeGUID, methodName);
+
+            typeNames.add(typeDef.getName());
+            typeNames.addAll(this.getSubtypeNames(typeDef.getName()));
+        }
+
+        return typeNames;
+    }
+
+
+    /**
+     * Return the names of the subtypes of a type.  The names are cached since working them out means
+     * visiting every known type.  A cached entry is only used if there have been no changes to the type
+     * definitions, and no instances of new types stored, since it was built.  New types are added to this
+     * collection before the repository helper knows about them, so the store's type index generation is
+     * what ensures that the subtypes are picked up once instances of them exist.
+     *
+     * @param typeName name of the type
+     * @return list of subtype names (may be empty)
+     */
+    private List<String> getSubtypeNames(String typeName)
+    {
+        long typeDefGeneration   = typeDefChangeCount.get();
+        long typeIndexGeneration = repositoryStore.getTypeIndexGeneration();
+
+        SubtypeNames cachedNames = subtypeNamesCache.get(typeName);
+
+        if ((cachedNames != null) &&
+            (cachedNames.typeDefGeneration == typeDefGeneration) &&
+            (cachedNames.typeIndexGeneration == typeIndexGeneration))
+        {
+            return cachedNames.names;
+        }
+
+        List<String> subtypeNames = repositoryHelper.getSubTypesOf(repositoryName, typeName);
+
+        if (subtypeNames == null)
+        {
+            subtypeNames = new ArrayList<>();
+        }
+
+        subtypeNamesCache.put(typeName, new SubtypeNames(typeDefGeneration, typeIndexGeneration, subtypeNames));
+
+        return subtypeNames;
+    }
+
+
+    /**
+     * SubtypeNames is a cached list of subtype names along with the generations it was built for.
+     */
+    private static class SubtypeNames
+    {
+        private final long         typeDefGeneration;
+        private final long         typeIndexGeneration;
+        private final List<String> names;
+
+
+        /**
+         * Constructor supplies the values.
+         *
+         * @param typeDefGeneration count of type definition changes when the list was built
+         * @param typeIndexGeneration type index generation of the store when the list was built
+         * @param names list of subtype names
+         */
+        SubtypeNames(long         typeDefGeneration,
+                     long         typeIndexGeneration,
+                     List<String> names)
+        {
+            this.typeDefGeneration = typeDefGeneration;
+            this.typeIndexGeneration = typeIndexGeneration;
+            this.names = Collections.unmodifiableList(names);
+        }
+    }
+
+
     /**
      * Return the entities and relationships that radiate out from the supplied entity GUID.
      * The results are scoped both the instance type guids and the level.
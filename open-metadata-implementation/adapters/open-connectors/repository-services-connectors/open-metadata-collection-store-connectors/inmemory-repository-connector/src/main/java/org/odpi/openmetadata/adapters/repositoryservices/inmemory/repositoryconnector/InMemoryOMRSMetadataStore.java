@@ -3,23 +3,54 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector
+ * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector.
+ * The stores are concurrent maps so that reads never block.  Each change to an instance replaces the stored
+ * version as a whole, so queries can iterate the live stores without taking a copy.  Updates are serialized per
+ * instance GUID using a set of striped locks, allowing writers working on different instances to proceed in parallel.
  */
 class InMemoryOMRSMetadataStore
 {
-    private String                                 repositoryName           = null;
-    private volatile Map<String, EntityDetail>     entityStore              = new HashMap<>();
-    private volatile Map<String, EntityProxy>      entityProxyStore         = new HashMap<>();
-    private volatile List<EntityDetail>            entityHistoryStore       = new ArrayList<>();
-    private volatile Map<String, Relationship>     relationshipStore        = new HashMap<>();
-    private volatile List<Relationship>            relationshipHistoryStore = new ArrayList<>();
+    private static final int                            LOCK_STRIPES             = 64;
+
+    private String                                      repositoryName           = null;
+    private final Map<String, EntityDetail>             entityStore              = new ConcurrentHashMap<>();
+    private final Map<String, EntityProxy>              entityProxyStore         = new ConcurrentHashMap<>();
+    private final InMemoryInstanceHistory<EntityDetail> entityHistoryStore       = new InMemoryInstanceHistory<>();
+    private final Map<String, Relationship>             relationshipStore        = new ConcurrentHashMap<>();
+    private final InMemoryInstanceHistory<Relationship> relationshipHistoryStore = new InMemoryInstanceHistory<>();
+    private final Object[]                              guidLocks                = new Object[LOCK_STRIPES];
+
+    /*
+     * Secondary indexes over the latest versions of the instances in the entity and relationship stores.
+     * They are maintained on every change to these stores and are used to narrow the candidate instances
+     * for a query before the full matching checks are applied by the metadata collection.
+     */
+    private final Map<String, Set<String>>         entityTypeIndex                = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         entityClassificationIndex      = new ConcurrentHashMap<>();
+    private final Map<InstanceStatus, Set<String>> entityStatusIndex              = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         relationshipTypeIndex          = new ConcurrentHashMap<>();
+    private final Map<InstanceStatus, Set<String>> relationshipStatusIndex        = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>         entityRelationshipIndex        = new ConcurrentHashMap<>();
+    private final Map<String, IndexKeys>           entityIndexKeys                = new ConcurrentHashMap<>();
+    private final Map<String, IndexKeys>           relationshipIndexKeys          = new ConcurrentHashMap<>();
+
+    /*
+     * Incremented each time an instance of a type that is not in the type indexes is stored.  The metadata
+     * collection uses it to detect when its cached lists of subtype names may be missing a new type.
+     */
+    private final AtomicLong                       typeIndexGeneration            = new AtomicLong();
 
 
     /**
@@ -27,6 +58,10 @@ class InMemoryOMRSMetadataStore
      */
     InMemoryOMRSMetadataStore()
     {
+        for (int i = 0; i < LOCK_STRIPES; i++)
+        {
+            guidLocks[i] = new Object();
+        }
     }
 
 
@@ -46,7 +81,7 @@ class InMemoryOMRSMetadataStore
      *
      * @return list of EntityDetail objects
      */
-    synchronized List<EntityDetail>   getEntities()
+    List<EntityDetail>   getEntities()
     {
         return new ArrayList<>(entityStore.values());
     }
@@ -58,19 +93,52 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntityDetail  getEntity(String   guid)
+    EntityDetail  getEntity(String   guid)
     {
         return entityStore.get(guid);
     }
 
 
+    /**
+     * Return the version of the entity identified by the guid that was effective at the requested time.
+     * The current version is returned if it was effective by then; otherwise the entity's version chain
+     * in the history store is searched.
+     *
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time of interest (or null means now)
+     * @return entity object or null if the entity did not exist at that time
+     */
+    EntityDetail  getEntity(String   guid,
+                            Date     asOfTime)
+    {
+        EntityDetail  entity = entityStore.get(guid);
+
+        if (asOfTime == null)
+        {
+            return entity;
+        }
+
+        if (entity != null)
+        {
+            Long effectiveTime = InMemoryInstanceHistory.getEffectiveTime(entity);
+
+            if ((effectiveTime != null) && (effectiveTime <= asOfTime.getTime()))
+            {
+                return entity;
+            }
+        }
+
+        return entityHistoryStore.getVersionAsOf(guid, asOfTime);
+    }
+
+
     /**
      * Return the entity proxy identified by the guid.
      *
      * @param guid - unique identifier
      * @return entity proxy object
      */
-    synchronized EntityProxy  getEntityProxy(String   guid)
+    EntityProxy  getEntityProxy(String   guid)
     {
         return entityProxyStore.get(guid);
     }
@@ -83,76 +151,26 @@ class InMemoryOMRSMetadataStore
      * @param asOfTime - time for the store (or null means now)
      * @return entity store for the requested time
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
     {
         if (asOfTime == null)
         {
-            return new HashMap<>(entityStore);
+            return Collections.unmodifiableMap(entityStore);
         }
 
         Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
 
         /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
+         * Only the entities that had been stored by the asOfTime are visited.  Each one is resolved to the
+         * version that was effective at that time.
          */
-        for (EntityDetail  entity : entityStore.values())
+        for (String entityGUID : entityHistoryStore.getGUIDsKnownAsOf(asOfTime))
         {
-            if (entity != null)
-            {
-                if (entity.getUpdateTime() != null)
-                {
-                    String entityGUID = entity.getGUID();
+            EntityDetail entity = this.getEntity(entityGUID, asOfTime);
 
-                    if (entityGUID != null)
-                    {
-                        if (! entity.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedEntityStore.put(entityGUID, entity);
-                        }
-                    }
-                }
-                else if (entity.getCreateTime() != null)
-                {
-                    if (! entity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entity.getGUID(), entity);
-                    }
-                }
-            }
-        }
-
-        /*
-         * Now step through the history store picking up the versions of other entities that were active
-         * at the time of the asOfTime.
-         */
-        for (EntityDetail oldEntity : entityHistoryStore)
-        {
-            if (oldEntity != null)
+            if (entity != null)
             {
-                String entityGUID = oldEntity.getGUID();
-
-                if (oldEntity.getUpdateTime() != null)
-                {
-                    if (! oldEntity.getUpdateTime().after(asOfTime))
-                    {
-                        EntityDetail newerEntity = timeWarpedEntityStore.put(entityGUID, oldEntity);
-
-                        if (newerEntity != null)
-                        {
-                            timeWarpedEntityStore.put(entityGUID, newerEntity);
-                        }
-                        break;
-                    }
-                }
-                else if (oldEntity.getCreateTime() != null)
-                {
-                    if (! oldEntity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entityGUID, oldEntity);
-                        break;
-                    }
-                }
+                timeWarpedEntityStore.put(entityGUID, entity);
             }
         }
 
@@ -165,7 +183,7 @@ class InMemoryOMRSMetadataStore
      *
      * @return list of relationships
      */
-    synchronized List<Relationship>   getRelationships()
+    List<Relationship>   getRelationships()
     {
         return new ArrayList<>(relationshipStore.values());
     }
@@ -177,11 +195,44 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the relationship
      * @return relationship object
      */
-    protected synchronized Relationship  getRelationship(String   guid)
+    protected Relationship  getRelationship(String   guid)
     {
         return relationshipStore.get(guid);
     }
 
+
+    /**
+     * Return the version of the relationship identified by the guid that was effective at the requested time.
+     * The current version is returned if it was effective by then; otherwise the relationship's version chain
+     * in the history store is searched.
+     *
+     * @param guid - unique identifier for the relationship
+     * @param asOfTime - time of interest (or null means now)
+     * @return relationship object or null if the relationship did not exist at that time
+     */
+    Relationship  getRelationship(String   guid,
+                                  Date     asOfTime)
+    {
+        Relationship  relationship = relationshipStore.get(guid);
+
+        if (asOfTime == null)
+        {
+            return relationship;
+        }
+
+        if (relationship != null)
+        {
+            Long effectiveTime = InMemoryInstanceHistory.getEffectiveTime(relationship);
+
+            if ((effectiveTime != null) && (effectiveTime <= asOfTime.getTime()))
+            {
+                return relationship;
+            }
+        }
+
+        return relationshipHistoryStore.getVersionAsOf(guid, asOfTime);
+    }
+
     /**
      * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
      * parameter
@@ -189,81 +240,194 @@ class InMemoryOMRSMetadataStore
      * @param asOfTime - time for the store (or null means now)
      * @return relationship store for the requested time
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
     {
         if (asOfTime == null)
         {
-            return new HashMap<>(relationshipStore);
+            return Collections.unmodifiableMap(relationshipStore);
         }
 
         Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
 
-
         /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
+         * Only the relationships that had been stored by the asOfTime are visited.  Each one is resolved to the
+         * version that was effective at that time.
          */
-        for (Relationship  relationship : relationshipStore.values())
+        for (String relationshipGUID : relationshipHistoryStore.getGUIDsKnownAsOf(asOfTime))
         {
+            Relationship relationship = this.getRelationship(relationshipGUID, asOfTime);
+
             if (relationship != null)
             {
-                if (relationship.getUpdateTime() != null)
-                {
-                    String relationshipGUID = relationship.getGUID();
+                timeWarpedRelationshipStore.put(relationshipGUID, relationship);
+            }
+        }
 
-                    if (relationshipGUID != null)
-                    {
-                        if (! relationship.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, relationship);
-                        }
-                    }
-                }
-                else if (relationship.getCreateTime() != null)
-                {
-                    if (! relationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
-                    }
-                }
+        return timeWarpedRelationshipStore;
+    }
+
+
+    /**
+     * Return the entities that are candidates for a query.  When the query is for the current time, the secondary
+     * indexes are used to select the smallest set of candidates that satisfy the type, classification and status
+     * restrictions.  The caller must still apply its full matching checks to the returned entities since the
+     * result is a superset of the matching entities.
+     *
+     * @param typeNames names of the types (including subtypes) that the entities must be one of - null means any type
+     * @param classificationNames names of the classifications that must all be present - null means no restriction
+     * @param statuses list of statuses that the entities must be in - null means no restriction
+     * @param asOfTime time for the query (or null means now)
+     * @return list of candidate entities
+     */
+    List<EntityDetail> getEntitiesForQuery(List<String>         typeNames,
+                                           List<String>         classificationNames,
+                                           List<InstanceStatus> statuses,
+                                           Date                 asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return new ArrayList<>(this.timeWarpEntityStore(asOfTime).values());
+        }
+
+        List<Set<String>> candidateSets = new ArrayList<>();
+
+        if (typeNames != null)
+        {
+            candidateSets.add(this.getIndexedGUIDs(entityTypeIndex, typeNames));
+        }
+
+        if (classificationNames != null)
+        {
+            for (String classificationName : classificationNames)
+            {
+                candidateSets.add(this.getIndexedGUIDs(entityClassificationIndex, Collections.singletonList(classificationName)));
             }
         }
 
-        /*
-         * Now step through the history store picking up the versions of other relationships that were active
-         * at the time of the asOfTime.
-         */
-        for (Relationship oldRelationship : relationshipHistoryStore)
+        if ((statuses != null) && (! statuses.isEmpty()))
         {
-            if (oldRelationship != null)
+            candidateSets.add(this.getIndexedGUIDs(entityStatusIndex, statuses));
+        }
+
+        if (candidateSets.isEmpty())
+        {
+            return new ArrayList<>(entityStore.values());
+        }
+
+        List<EntityDetail> candidates = new ArrayList<>();
+
+        for (String guid : this.intersectIndexedGUIDs(candidateSets))
+        {
+            EntityDetail entity = entityStore.get(guid);
+
+            if (entity != null)
             {
-                String relationshipGUID = oldRelationship.getGUID();
+                candidates.add(entity);
+            }
+        }
 
-                if (oldRelationship.getUpdateTime() != null)
-                {
-                    if (! oldRelationship.getUpdateTime().after(asOfTime))
-                    {
-                        Relationship newerRelationship = timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
+        return candidates;
+    }
 
-                        if (newerRelationship != null)
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, newerRelationship);
-                        }
-                        break;
-                    }
-                }
-                else if (oldRelationship.getCreateTime() != null)
+
+    /**
+     * Return the relationships that are candidates for a query.  When the query is for the current time, the
+     * secondary indexes are used to select the smallest set of candidates that satisfy the type and status
+     * restrictions.  The caller must still apply its full matching checks to the returned relationships.
+     *
+     * @param typeNames names of the types (including subtypes) that the relationships must be one of - null means any type
+     * @param statuses list of statuses that the relationships must be in - null means no restriction
+     * @param asOfTime time for the query (or null means now)
+     * @return list of candidate relationships
+     */
+    List<Relationship> getRelationshipsForQuery(List<String>         typeNames,
+                                                List<InstanceStatus> statuses,
+                                                Date                 asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return new ArrayList<>(this.timeWarpRelationshipStore(asOfTime).values());
+        }
+
+        List<Set<String>> candidateSets = new ArrayList<>();
+
+        if (typeNames != null)
+        {
+            candidateSets.add(this.getIndexedGUIDs(relationshipTypeIndex, typeNames));
+        }
+
+        if ((statuses != null) && (! statuses.isEmpty()))
+        {
+            candidateSets.add(this.getIndexedGUIDs(relationshipStatusIndex, statuses));
+        }
+
+        if (candidateSets.isEmpty())
+        {
+            return new ArrayList<>(relationshipStore.values());
+        }
+
+        return this.getRelationships(this.intersectIndexedGUIDs(candidateSets));
+    }
+
+
+    /**
+     * Return the relationships that are connected to an entity.  The relationships at the current time
+     * come from the entity to relationship index.  Historical queries are served from the time warped store.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @param asOfTime time for the query (or null means now)
+     * @return list of relationships with one of their ends linked to the entity
+     */
+    List<Relationship> getRelationshipsForEntity(String entityGUID,
+                                                 Date   asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            List<Relationship> relationships = new ArrayList<>();
+
+            for (Relationship relationship : this.timeWarpRelationshipStore(asOfTime).values())
+            {
+                if (this.getEntityGUIDs(relationship).contains(entityGUID))
                 {
-                    if (! oldRelationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-                        break;
-                    }
+                    relationships.add(relationship);
                 }
             }
+
+            return relationships;
         }
 
-        return timeWarpedRelationshipStore;
+        Set<String> relationshipGUIDs = entityRelationshipIndex.get(entityGUID);
+
+        if (relationshipGUIDs == null)
+        {
+            return new ArrayList<>();
+        }
+
+        return this.getRelationships(relationshipGUIDs);
+    }
+
+
+    /**
+     * Return the current versions of the requested relationships.
+     *
+     * @param relationshipGUIDs unique identifiers of the relationships
+     * @return list of relationships
+     */
+    private List<Relationship> getRelationships(Collection<String> relationshipGUIDs)
+    {
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (String guid : relationshipGUIDs)
+        {
+            Relationship relationship = relationshipStore.get(guid);
+
+            if (relationship != null)
+            {
+                relationships.add(relationship);
+            }
+        }
+
+        return relationships;
     }
 
     /**
@@ -272,22 +436,26 @@ class InMemoryOMRSMetadataStore
      * @param entity - new version of the entity
      * @return entity with potentially updated GUID
      */
-    synchronized EntityDetail createEntityInStore(EntityDetail    entity)
+    EntityDetail createEntityInStore(EntityDetail    entity)
     {
         /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
+         * There is a small chance the randomly generated GUID will clash with an existing entity.
+         * If this happens a new GUID is generated for the entity and the process repeats.
          */
-        EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
-
-        while (existingEntity != null)
+        while (true)
         {
-            entityStore.put(entity.getGUID(), existingEntity);
+            synchronized (getGUIDLock(entity.getGUID()))
+            {
+                if (! entityStore.containsKey(entity.getGUID()))
+                {
+                    putEntity(entity);
+
+                    return entity;
+                }
+            }
+
             entity.setGUID(UUID.randomUUID().toString());
-            existingEntity = entityStore.put(entity.getGUID(), entity);
         }
-
-        return entity;
     }
 
 
@@ -297,22 +465,26 @@ class InMemoryOMRSMetadataStore
      * @param relationship - new version of the relationship
      * @return relationship with potentially updated GUID
      */
-    synchronized Relationship createRelationshipInStore(Relationship    relationship)
+    Relationship createRelationshipInStore(Relationship    relationship)
     {
         /*
          * There is a small chance the randomly generated GUID will clash with an existing relationship.
          * If this happens a new GUID is generated for the relationship and the process repeats.
          */
-        Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
-
-        while (existingRelationship != null)
+        while (true)
         {
-            relationshipStore.put(relationship.getGUID(), existingRelationship);
+            synchronized (getGUIDLock(relationship.getGUID()))
+            {
+                if (! relationshipStore.containsKey(relationship.getGUID()))
+                {
+                    putRelationship(relationship);
+
+                    return relationship;
+                }
+            }
+
             relationship.setGUID(UUID.randomUUID().toString());
-            existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
         }
-
-        return relationship;
     }
 
 
@@ -321,7 +493,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void addEntityProxyToStore(EntityProxy    entityProxy)
+    void addEntityProxyToStore(EntityProxy    entityProxy)
     {
         entityProxyStore.put(entityProxy.getGUID(), entityProxy);
     }
@@ -333,13 +505,16 @@ class InMemoryOMRSMetadataStore
      *
      * @param entity - new version of the entity
      */
-    synchronized void updateEntityInStore(EntityDetail entity)
+    void updateEntityInStore(EntityDetail entity)
     {
-        EntityDetail oldEntity = entityStore.put(entity.getGUID(), entity);
-
-        if (oldEntity != null)
+        synchronized (getGUIDLock(entity.getGUID()))
         {
-            entityHistoryStore.add(0, oldEntity);
+            EntityDetail oldEntity = putEntity(entity);
+
+            if (oldEntity != null)
+            {
+                entityHistoryStore.addVersion(oldEntity);
+            }
         }
     }
 
@@ -349,7 +524,7 @@ class InMemoryOMRSMetadataStore
      *
      * @param entityProxy - entity proxy object to add
      */
-    synchronized void updateEntityProxyInStore(EntityProxy entityProxy)
+    void updateEntityProxyInStore(EntityProxy entityProxy)
     {
         entityProxyStore.put(entityProxy.getGUID(), entityProxy);
     }
@@ -361,14 +536,16 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - new version of the relationship
      */
-    synchronized void updateRelationshipInStore(Relationship    relationship)
+    void updateRelationshipInStore(Relationship    relationship)
     {
-
-        Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
-
-        if (oldRelationship != null)
+        synchronized (getGUIDLock(relationship.getGUID()))
         {
-            relationshipHistoryStore.add(0, oldRelationship);
+            Relationship    oldRelationship = putRelationship(relationship);
+
+            if (oldRelationship != null)
+            {
+                relationshipHistoryStore.addVersion(oldRelationship);
+            }
         }
     }
 
@@ -379,9 +556,12 @@ class InMemoryOMRSMetadataStore
      *
      * @param entity - object to save
      */
-    synchronized void saveReferenceEntityToStore(EntityDetail    entity)
+    void saveReferenceEntityToStore(EntityDetail    entity)
     {
-        entityStore.put(entity.getGUID(), entity);
+        synchronized (getGUIDLock(entity.getGUID()))
+        {
+            putEntity(entity);
+        }
     }
 
 
@@ -391,9 +571,12 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - object to save
      */
-    synchronized void saveReferenceRelationshipToStore(Relationship    relationship)
+    void saveReferenceRelationshipToStore(Relationship    relationship)
     {
-        relationshipStore.put(relationship.getGUID(), relationship);
+        synchronized (getGUIDLock(relationship.getGUID()))
+        {
+            putRelationship(relationship);
+        }
     }
 
 
@@ -404,46 +587,49 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the required element
      * @return - previous version of this relationship - or null if not found
      */
-    synchronized Relationship retrievePreviousVersionOfRelationship(String   guid)
+    Relationship retrievePreviousVersionOfRelationship(String   guid)
     {
         if (guid != null)
         {
-            Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
+            synchronized (getGUIDLock(guid))
+            {
+                Relationship  currentVersionOfRelationship = relationshipStore.get(guid);
 
-            long versionNumber = 0;
+                long versionNumber = 0;
 
-            if (currentVersionOfRelationship != null)
-            {
-                versionNumber = currentVersionOfRelationship.getVersion() + 1;
-            }
+                if (currentVersionOfRelationship != null)
+                {
+                    versionNumber = currentVersionOfRelationship.getVersion() + 1;
+                }
 
 
-            for (Relationship relationship : relationshipHistoryStore)
-            {
+                Relationship  relationship = relationshipHistoryStore.getLatestVersion(guid);
+
                 if (relationship != null)
                 {
-                    if (guid.equals(relationship.getGUID()))
+                    if (versionNumber == 0)
                     {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = relationship.getVersion() + 1;
-                        }
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         */
-                        Relationship newRelationship = new Relationship(relationship);
-                        newRelationship.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newRelationship.setUpdateTime(restoreTime);
-                        relationshipStore.put(guid, newRelationship);
-                        relationshipHistoryStore.add(0, currentVersionOfRelationship);
-                        return newRelationship;
-
+                        versionNumber = relationship.getVersion() + 1;
+                    }
+                    /*
+                     * Clone the head (most recent) version in the history, set its version number to the next version
+                     * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                     * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                     * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                     * updated longer ago than was really the case.
+                     */
+                    Relationship newRelationship = new Relationship(relationship);
+                    newRelationship.setVersion(versionNumber);
+                    Date restoreTime = new Date();
+                    newRelationship.setUpdateTime(restoreTime);
+                    putRelationship(newRelationship);
+
+                    if (currentVersionOfRelationship != null)
+                    {
+                        relationshipHistoryStore.addVersion(currentVersionOfRelationship);
                     }
+
+                    return newRelationship;
                 }
             }
         }
@@ -459,47 +645,50 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the required element
      * @return - previous version of this Entity - or null if not found
      */
-    synchronized EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    EntityDetail retrievePreviousVersionOfEntity(String   guid)
     {
         if (guid != null)
         {
-            EntityDetail  currentVersionOfEntity = entityStore.get(guid);
+            synchronized (getGUIDLock(guid))
+            {
+                EntityDetail  currentVersionOfEntity = entityStore.get(guid);
 
-            long versionNumber = 0;
+                long versionNumber = 0;
 
-            if (currentVersionOfEntity != null)
-            {
-                versionNumber = currentVersionOfEntity.getVersion() + 1;
-            }
+                if (currentVersionOfEntity != null)
+                {
+                    versionNumber = currentVersionOfEntity.getVersion() + 1;
+                }
+
+                EntityDetail  entity = entityHistoryStore.getLatestVersion(guid);
 
-            for (EntityDetail entity : entityHistoryStore)
-            {
                 if (entity != null)
                 {
-                    if (guid.equals(entity.getGUID()))
+                    if (versionNumber == 0)
                     {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = entity.getVersion() + 1;
-                        }
-
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         *
-                         */
-                        EntityDetail newEntity = new EntityDetail(entity);
-                        newEntity.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newEntity.setUpdateTime(restoreTime);
-                        entityStore.put(guid, newEntity);
-                        entityHistoryStore.add(0, currentVersionOfEntity);
-                        return newEntity;
+                        versionNumber = entity.getVersion() + 1;
+                    }
 
+                    /*
+                     * Clone the head (most recent) version in the history, set its version number to the next version
+                     * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                     * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                     * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                     * updated longer ago than was really the case.
+                     *
+                     */
+                    EntityDetail newEntity = new EntityDetail(entity);
+                    newEntity.setVersion(versionNumber);
+                    Date restoreTime = new Date();
+                    newEntity.setUpdateTime(restoreTime);
+                    putEntity(newEntity);
+
+                    if (currentVersionOfEntity != null)
+                    {
+                        entityHistoryStore.addVersion(currentVersionOfEntity);
                     }
+
+                    return newEntity;
                 }
             }
         }
@@ -509,103 +698,524 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Remove an entity from the active store and add it to the history store.
+     * Purge an entity from the store.  Both the current version and its version history are removed
+     * along with its entries in the secondary indexes.
      *
      * @param entity - entity to remove
      */
-    synchronized void removeEntityFromStore(EntityDetail     entity)
+    void removeEntityFromStore(EntityDetail     entity)
     {
         String entityGUID = entity.getGUID();
-        entityStore.remove(entityGUID);
-        List<EntityDetail> purgedHistory = new ArrayList<>();
-        for (EntityDetail history : entityHistoryStore)
+
+        synchronized (getGUIDLock(entityGUID))
         {
-            if (history != null && !entityGUID.equals(history.getGUID()))
-            {
-                purgedHistory.add(history);
-            }
+            removeEntity(entityGUID);
+            entityHistoryStore.remove(entityGUID);
         }
-        entityHistoryStore = purgedHistory;
     }
 
 
     /**
-     * Remove a reference entity from the active store and add it to the history store.
+     * Purge a reference copy of an entity from the store.  Both the current version and its version history
+     * are removed along with its entries in the secondary indexes.
      *
      * @param guid - entity to remove
      */
-    synchronized void removeReferenceEntityFromStore(String     guid)
+    void removeReferenceEntityFromStore(String     guid)
     {
-        EntityDetail entity = entityStore.remove(guid);
-
-        if (entity != null)
+        synchronized (getGUIDLock(guid))
         {
-            List<EntityDetail> purgedHistory = new ArrayList<>();
-            for (EntityDetail history : entityHistoryStore)
+            EntityDetail entity = removeEntity(guid);
+
+            if (entity != null)
             {
-                if (history != null && !guid.equals(history.getGUID()))
-                {
-                    purgedHistory.add(history);
-                }
+                entityHistoryStore.remove(guid);
             }
-            entityHistoryStore = purgedHistory;
         }
     }
 
 
     /**
-     * Remove an entity from the active store and add it to the history store.
+     * Remove an entity proxy from the store.
      *
      * @param guid - entity proxy to remove
      */
-    synchronized void removeEntityProxyFromStore(String     guid)
+    void removeEntityProxyFromStore(String     guid)
     {
         entityProxyStore.remove(guid);
     }
 
 
     /**
-     * Remove a relationship from the active store and add it to the history store.
+     * Purge a relationship from the store.  Both the current version and its version history are removed
+     * along with its entries in the secondary indexes.
      *
      * @param relationship - relationship to remove
      */
-    synchronized void removeRelationshipFromStore(Relationship     relationship)
+    void removeRelationshipFromStore(Relationship     relationship)
     {
         String relationshipGUID = relationship.getGUID();
-        relationshipStore.remove(relationshipGUID);
-        List<Relationship> purgedHistory = new ArrayList<>();
-        for (Relationship history : relationshipHistoryStore)
+
+        synchronized (getGUIDLock(relationshipGUID))
         {
-            if (history != null && !relationshipGUID.equals(history.getGUID()))
+            removeRelationship(relationshipGUID);
+            relationshipHistoryStore.remove(relationshipGUID);
+        }
+    }
+
+
+    /**
+     * Purge a reference copy of a relationship from the store.  Both the current version and its version
+     * history are removed along with its entries in the secondary indexes.
+     *
+     * @param guid - relationship to remove
+     */
+    void removeReferenceRelationshipFromStore(String     guid)
+    {
+        synchronized (getGUIDLock(guid))
+        {
+            Relationship  relationship = removeRelationship(guid);
+
+            if (relationship != null)
             {
-                purgedHistory.add(history);
+                relationshipHistoryStore.remove(guid);
             }
         }
-        relationshipHistoryStore = purgedHistory;
     }
 
 
     /**
-     * Remove a reference relationship from the active store and add it to the history store.
+     * Return the lock that serializes updates to the instance with the supplied GUID.
      *
-     * @param guid - relationship to remove
+     * @param guid unique identifier of the instance
+     * @return lock object
      */
-    synchronized void removeReferenceRelationshipFromStore(String     guid)
+    private Object getGUIDLock(String guid)
     {
-        Relationship  relationship = relationshipStore.remove(guid);
+        if (guid == null)
+        {
+            return guidLocks[0];
+        }
 
-        if (relationship != null)
+        return guidLocks[(guid.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+
+    /*
+     * ==================================================
+     * Maintenance of the secondary indexes
+     */
+
+    /**
+     * Add or replace an entity in the entity store and keep the indexes in step.
+     * The caller must hold the lock for the instance's GUID.
+     *
+     * @param entity new version of the entity
+     * @return the version of the entity that was replaced (or null if this is a new entity)
+     */
+    private EntityDetail putEntity(EntityDetail entity)
+    {
+        EntityDetail oldEntity = entityStore.put(entity.getGUID(), entity);
+
+        this.unindexEntity(oldEntity);
+        this.indexEntity(entity);
+
+        entityHistoryStore.recordCreation(entity);
+
+        return oldEntity;
+    }
+
+
+    /**
+     * Remove an entity from the entity store and its indexes.
+     * The caller must hold the lock for the instance's GUID.
+     *
+     * @param guid unique identifier of the entity
+     * @return the entity that was removed (or null if it was not stored)
+     */
+    private EntityDetail removeEntity(String guid)
+    {
+        EntityDetail oldEntity = entityStore.remove(guid);
+
+        this.unindexEntity(oldEntity);
+
+        return oldEntity;
+    }
+
+
+    /**
+     * Add or replace a relationship in the relationship store and keep the indexes in step.
+     * The caller must hold the lock for the instance's GUID.
+     *
+     * @param relationship new version of the relationship
+     * @return the version of the relationship that was replaced (or null if this is a new relationship)
+     */
+    private Relationship putRelationship(Relationship relationship)
+    {
+        Relationship oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
+
+        this.unindexRelationship(oldRelationship);
+        this.indexRelationship(relationship);
+
+        relationshipHistoryStore.recordCreation(relationship);
+
+        return oldRelationship;
+    }
+
+
+    /**
+     * Remove a relationship from the relationship store and its indexes.
+     * The caller must hold the lock for the instance's GUID.
+     *
+     * @param guid unique identifier of the relationship
+     * @return the relationship that was removed (or null if it was not stored)
+     */
+    private Relationship removeRelationship(String guid)
+    {
+        Relationship oldRelationship = relationshipStore.remove(guid);
+
+        this.unindexRelationship(oldRelationship);
+
+        return oldRelationship;
+    }
+
+
+    /**
+     * Return the current generation of the type indexes.  It changes whenever an instance of a type that
+     * was not previously in the indexes is stored.
+     *
+     * @return generation number
+     */
+    long getTypeIndexGeneration()
+    {
+        return typeIndexGeneration.get();
+    }
+
+
+    /**
+     * Move the type index generation on if the type name is not yet in the type index.
+     *
+     * @param typeIndex type index that the instance is about to be added to
+     * @param typeName name of the instance's type
+     */
+    private void noteTypeName(Map<String, Set<String>> typeIndex,
+                              String                   typeName)
+    {
+        if ((typeName != null) && (! typeIndex.containsKey(typeName)))
+        {
+            typeIndexGeneration.incrementAndGet();
+        }
+    }
+
+
+    /**
+     * Add an entity to the type, classification and status indexes.  The keys used are recorded so that the
+     * entity can be removed from the indexes even if the stored object is subsequently changed in place.
+     *
+     * @param entity entity to index
+     */
+    private void indexEntity(EntityDetail entity)
+    {
+        if ((entity != null) && (entity.getGUID() != null))
+        {
+            IndexKeys indexKeys = new IndexKeys(getTypeName(entity), entity.getStatus(), getClassificationNames(entity));
+
+            this.noteTypeName(entityTypeIndex, indexKeys.typeName);
+            entityIndexKeys.put(entity.getGUID(), indexKeys);
+            updateIndexes(entity.getGUID(), indexKeys, entityTypeIndex, entityStatusIndex, entityClassificationIndex, true);
+        }
+    }
+
+
+    /**
+     * Remove an entity from the type, classification and status indexes.
+     *
+     * @param entity entity to remove from the indexes
+     */
+    private void unindexEntity(EntityDetail entity)
+    {
+        if ((entity != null) && (entity.getGUID() != null))
         {
-            List<Relationship> purgedHistory = new ArrayList<>();
-            for (Relationship history : relationshipHistoryStore)
+            IndexKeys indexKeys = entityIndexKeys.remove(entity.getGUID());
+
+            updateIndexes(entity.getGUID(), indexKeys, entityTypeIndex, entityStatusIndex, entityClassificationIndex, false);
+        }
+    }
+
+
+    /**
+     * Add a relationship to the type and status indexes and link it to the entities at its ends.
+     *
+     * @param relationship relationship to index
+     */
+    private void indexRelationship(Relationship relationship)
+    {
+        if ((relationship != null) && (relationship.getGUID() != null))
+        {
+            IndexKeys indexKeys = new IndexKeys(getTypeName(relationship), relationship.getStatus(), getEntityGUIDs(relationship));
+
+            this.noteTypeName(relationshipTypeIndex, indexKeys.typeName);
+            relationshipIndexKeys.put(relationship.getGUID(), indexKeys);
+            updateIndexes(relationship.getGUID(), indexKeys, relationshipTypeIndex, relationshipStatusIndex, entityRelationshipIndex, true);
+        }
+    }
+
+
+    /**
+     * Remove a relationship from the type, status and entity indexes.
+     *
+     * @param relationship relationship to remove from the indexes
+     */
+    private void unindexRelationship(Relationship relationship)
+    {
+        if ((relationship != null) && (relationship.getGUID() != null))
+        {
+            IndexKeys indexKeys = relationshipIndexKeys.remove(relationship.getGUID());
+
+            updateIndexes(relationship.getGUID(), indexKeys, relationshipTypeIndex, relationshipStatusIndex, entityRelationshipIndex, false);
+        }
+    }
+
+
+    /**
+     * Add or remove an instance guid from the indexes using the recorded keys.
+     *
+     * @param guid unique identifier of the instance
+     * @param indexKeys keys recorded when the instance was indexed (may be null)
+     * @param typeIndex index by type name
+     * @param statusIndex index by instance status
+     * @param linkIndex index by classification name (entities) or entity guid (relationships)
+     * @param add true to add to the indexes; false to remove
+     */
+    private static void updateIndexes(String                           guid,
+                                      IndexKeys                        indexKeys,
+                                      Map<String, Set<String>>         typeIndex,
+                                      Map<InstanceStatus, Set<String>> statusIndex,
+                                      Map<String, Set<String>>         linkIndex,
+                                      boolean                          add)
+    {
+        if (indexKeys != null)
+        {
+            if (add)
+            {
+                addToIndex(typeIndex, indexKeys.typeName, guid);
+                addToIndex(statusIndex, indexKeys.status, guid);
+
+                for (String linkKey : indexKeys.linkKeys)
+                {
+                    addToIndex(linkIndex, linkKey, guid);
+                }
+            }
+            else
+            {
+                removeFromIndex(typeIndex, indexKeys.typeName, guid);
+                removeFromIndex(statusIndex, indexKeys.status, guid);
+
+                for (String linkKey : indexKeys.linkKeys)
+                {
+                    removeFromIndex(linkIndex, linkKey, guid);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the name of the type of an instance.
+     *
+     * @param instance instance to query
+     * @return type name or null if the instance has no type
+     */
+    private static String getTypeName(InstanceHeader instance)
+    {
+        if (instance.getType() != null)
+        {
+            return instance.getType().getTypeDefName();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the names of the classifications attached to an entity.
+     *
+     * @param entity entity to query
+     * @return set of classification names (may be empty)
+     */
+    private static Set<String> getClassificationNames(EntityDetail entity)
+    {
+        Set<String> classificationNames = new HashSet<>();
+
+        if (entity.getClassifications() != null)
+        {
+            for (Classification classification : entity.getClassifications())
+            {
+                if ((classification != null) && (classification.getName() != null))
+                {
+                    classificationNames.add(classification.getName());
+                }
+            }
+        }
+
+        return classificationNames;
+    }
+
+
+    /**
+     * Return the unique identifiers of the entities at the ends of a relationship.
+     *
+     * @param relationship relationship to query
+     * @return set of entity guids (may be empty)
+     */
+    private static Set<String> getEntityGUIDs(Relationship relationship)
+    {
+        Set<String> entityGUIDs = new HashSet<>();
+
+        if ((relationship.getEntityOneProxy() != null) && (relationship.getEntityOneProxy().getGUID() != null))
+        {
+            entityGUIDs.add(relationship.getEntityOneProxy().getGUID());
+        }
+
+        if ((relationship.getEntityTwoProxy() != null) && (relationship.getEntityTwoProxy().getGUID() != null))
+        {
+            entityGUIDs.add(relationship.getEntityTwoProxy().getGUID());
+        }
+
+        return entityGUIDs;
+    }
+
+
+    /**
+     * Add an instance guid to an index.
+     *
+     * @param index index to update
+     * @param key key of the index entry
+     * @param guid unique identifier of the instance
+     * @param <K> type of the key
+     */
+    private static <K> void addToIndex(Map<K, Set<String>> index,
+                                       K                   key,
+                                       String              guid)
+    {
+        if ((key != null) && (guid != null))
+        {
+            index.compute(key, (indexKey, guids) ->
             {
-                if (history != null && !guid.equals(history.getGUID()))
+                Set<String> updatedGUIDs = guids;
+
+                if (updatedGUIDs == null)
                 {
-                    purgedHistory.add(history);
+                    updatedGUIDs = ConcurrentHashMap.newKeySet();
                 }
+
+                updatedGUIDs.add(guid);
+
+                return updatedGUIDs;
+            });
+        }
+    }
+
+    /**
+     * Remove an instance guid from an index, removing the index entry when it becomes empty.
+     *
+     * @param index index to update
+     * @param key key of the index entry
+     * @param guid unique identifier of the instance
+     * @param <K> type of the key
+     */
+    private static <K> void removeFromIndex(Map<K, Set<String>> index,
+                                            K                   key,
+                                            String              guid)
+    {
+        if ((key != null) && (guid != null))
+        {
+            index.computeIfPresent(key, (indexKey, guids) ->
+            {
+                guids.remove(guid);
+
+                if (guids.isEmpty())
+                {
+                    return null;
+                }
+
+                return guids;
+            });
+        }
+    }
+
+    /**
+     * Return the union of the guids stored under the requested keys of an index.
+     *
+     * @param index index to query
+     * @param keys keys of interest
+     * @param <K> type of the key
+     * @return set of guids (may be empty)
+     */
+    private <K> Set<String> getIndexedGUIDs(Map<K, Set<String>> index,
+                                            Collection<K>       keys)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (K key : keys)
+        {
+            Set<String> indexedGUIDs = index.get(key);
+
+            if (indexedGUIDs != null)
+            {
+                guids.addAll(indexedGUIDs);
             }
-            relationshipHistoryStore = purgedHistory;
         }
+
+        return guids;
     }
 
+
+    /**
+     * Return the guids that are present in all of the supplied sets.  The smallest set drives the intersection.
+     *
+     * @param candidateSets sets of guids from the indexes
+     * @return guids present in every set
+     */
+    private Set<String> intersectIndexedGUIDs(List<Set<String>> candidateSets)
+    {
+        candidateSets.sort(Comparator.comparingInt(Set::size));
+
+        Set<String> guids = new HashSet<>(candidateSets.get(0));
+
+        for (int i = 1; i < candidateSets.size(); i++)
+        {
+            guids.retainAll(candidateSets.get(i));
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * The keys under which an instance is stored in the secondary indexes.
+     */
+    private static class IndexKeys
+    {
+        private final String         typeName;
+        private final InstanceStatus status;
+        private final Set<String>    linkKeys;
+
+
+        /**
+         * Constructor records the keys.
+         *
+         * @param typeName name of the instance's type
+         * @param status status of the instance
+         * @param linkKeys classification names (entities) or entity guids (relationships)
+         */
+        IndexKeys(String         typeName,
+                  InstanceStatus status,
+                  Set<String>    linkKeys)
+        {
+            this.typeName = typeName;
+            this.status = status;
+            this.linkKeys = linkKeys;
+        }
+    }
 }
@@ -0,0 +1,178 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+
+public class TestInMemoryOMRSMetadataCollection
+{
+    private static final String USER_ID                = "testUser";
+    private static final String METADATA_COLLECTION_ID = "testMetadataCollectionId";
+
+    @Mock
+    private InMemoryOMRSRepositoryConnector parentConnector;
+    @Mock
+    private OMRSRepositoryValidator         repositoryValidator;
+    @Mock
+    private OMRSRepositoryHelper            repositoryHelper;
+
+    private InMemoryOMRSMetadataCollection  metadataCollection;
+
+
+    @BeforeMethod
+    public void setup()
+    {
+        MockitoAnnotations.openMocks(this);
+
+        metadataCollection = new InMemoryOMRSMetadataCollection(parentConnector,
+                                                                "testRepository",
+                                                                repositoryHelper,
+                                                                repositoryValidator,
+                                                                METADATA_COLLECTION_ID);
+    }
+
+
+    @Test
+    void testGetEntitiesDetail() throws Exception
+    {
+        metadataCollection.saveEntityReferenceCopy(USER_ID, getEntity("1111", InstanceStatus.ACTIVE, 1000));
+        metadataCollection.saveEntityReferenceCopy(USER_ID, getEntity("2222", InstanceStatus.ACTIVE, 3000));
+        metadataCollection.saveEntityReferenceCopy(USER_ID, getEntity("3333", InstanceStatus.DELETED, 1000));
+        metadataCollection.addEntityProxy(USER_ID, getProxy("4444"));
+
+        /*
+         * The results follow the order of the request.  Unknown GUIDs, proxies and deleted entities are left out.
+         */
+        assertEquals(getGUIDs(metadataCollection.getEntitiesDetail(USER_ID, list("2222", "9999", "1111"), null)),
+                     list("2222", "1111"));
+        assertEquals(getGUIDs(metadataCollection.getEntitiesDetail(USER_ID, list("1111", "4444", "3333", "2222"), null)),
+                     list("1111", "2222"));
+
+        /*
+         * Entities that did not exist at the requested time are left out.
+         */
+        assertEquals(getGUIDs(metadataCollection.getEntitiesDetail(USER_ID, list("2222", "1111"), new Date(2000))),
+                     list("1111"));
+        assertEquals(getGUIDs(metadataCollection.getEntitiesDetail(USER_ID, list("2222", "1111"), new Date(5000))),
+                     list("2222", "1111"));
+
+        assertNull(metadataCollection.getEntitiesDetail(USER_ID, list("3333", "4444", "9999"), null));
+    }
+
+
+    @Test
+    void testGetRelationships() throws Exception
+    {
+        metadataCollection.saveRelationshipReferenceCopy(USER_ID, getRelationship("5555", InstanceStatus.ACTIVE, 1000));
+        metadataCollection.saveRelationshipReferenceCopy(USER_ID, getRelationship("6666", InstanceStatus.ACTIVE, 3000));
+        metadataCollection.saveRelationshipReferenceCopy(USER_ID, getRelationship("7777", InstanceStatus.DELETED, 1000));
+
+        /*
+         * The results follow the order of the request.  Unknown GUIDs and deleted relationships are left out.
+         */
+        assertEquals(getGUIDs(metadataCollection.getRelationships(USER_ID, list("6666", "9999", "7777", "5555"), null)),
+                     list("6666", "5555"));
+
+        /*
+         * Relationships that did not exist at the requested time are left out.
+         */
+        assertEquals(getGUIDs(metadataCollection.getRelationships(USER_ID, list("6666", "5555"), new Date(2000))),
+                     list("5555"));
+        assertEquals(getGUIDs(metadataCollection.getRelationships(USER_ID, list("6666", "5555"), new Date(5000))),
+                     list("6666", "5555"));
+
+        assertNull(metadataCollection.getRelationships(USER_ID, list("7777", "9999"), null));
+    }
+
+
+    private EntityDetail getEntity(String         guid,
+                                   InstanceStatus status,
+                                   long           createTime)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setType(getType("Asset"));
+        entity.setStatus(status);
+        entity.setMetadataCollectionId("remoteMetadataCollectionId");
+        entity.setCreateTime(new Date(createTime));
+        entity.setVersion(1);
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String         guid,
+                                         InstanceStatus status,
+                                         long           createTime)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setType(getType("SemanticAssignment"));
+        relationship.setStatus(status);
+        relationship.setMetadataCollectionId("remoteMetadataCollectionId");
+        relationship.setCreateTime(new Date(createTime));
+        relationship.setVersion(1);
+        relationship.setEntityOneProxy(getProxy("1111"));
+        relationship.setEntityTwoProxy(getProxy("2222"));
+
+        return relationship;
+    }
+
+
+    private EntityProxy getProxy(String guid)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        proxy.setGUID(guid);
+        proxy.setType(getType("Asset"));
+
+        return proxy;
+    }
+
+
+    private InstanceType getType(String typeName)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefName(typeName);
+        type.setTypeDefGUID(typeName + "-guid");
+
+        return type;
+    }
+
+
+    private List<String> getGUIDs(List<? extends InstanceHeader> instances)
+    {
+        List<String> guids = new ArrayList<>();
+
+        if (instances != null)
+        {
+            for (InstanceHeader instance : instances)
+            {
+                guids.add(instance.getGUID());
+            }
+        }
+
+        return guids;
+    }
+
+
+    private static List<String> list(String... values)
+    {
+        return Arrays.asList(values);
+    }
+}
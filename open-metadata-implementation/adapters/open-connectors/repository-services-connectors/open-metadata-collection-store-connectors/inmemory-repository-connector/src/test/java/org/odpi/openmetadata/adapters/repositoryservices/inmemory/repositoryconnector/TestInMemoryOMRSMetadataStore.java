@@ -0,0 +1,344 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+
+public class TestInMemoryOMRSMetadataStore
+{
+    private static final String ASSET_TYPE    = "Asset";
+    private static final String TERM_TYPE     = "GlossaryTerm";
+    private static final String LINK_TYPE     = "SemanticAssignment";
+    private static final String CONFIDENTIAL  = "Confidentiality";
+
+    private static final int    THREAD_COUNT          = 8;
+    private static final int    OPERATIONS_PER_THREAD = 2000;
+
+
+    @Test
+    void testEntityIndexes()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createEntityInStore(getEntity("1111", ASSET_TYPE, InstanceStatus.ACTIVE, CONFIDENTIAL));
+        store.createEntityInStore(getEntity("2222", ASSET_TYPE, InstanceStatus.DRAFT, null));
+        store.createEntityInStore(getEntity("3333", TERM_TYPE, InstanceStatus.ACTIVE, CONFIDENTIAL));
+
+        assertEquals(getGUIDs(store.getEntitiesForQuery(null, null, null, null)), set("1111", "2222", "3333"));
+        assertEquals(getGUIDs(store.getEntitiesForQuery(list(ASSET_TYPE), null, null, null)), set("1111", "2222"));
+        assertEquals(getGUIDs(store.getEntitiesForQuery(null, list(CONFIDENTIAL), null, null)), set("1111", "3333"));
+        assertEquals(getGUIDs(store.getEntitiesForQuery(list(ASSET_TYPE),
+                                                        list(CONFIDENTIAL),
+                                                        list(InstanceStatus.ACTIVE),
+                                                        null)), set("1111"));
+
+        /*
+         * Changes to the stored entities must be reflected in the indexes.
+         */
+        store.updateEntityInStore(getEntity("2222", ASSET_TYPE, InstanceStatus.ACTIVE, CONFIDENTIAL));
+        assertEquals(getGUIDs(store.getEntitiesForQuery(list(ASSET_TYPE), list(CONFIDENTIAL), null, null)), set("1111", "2222"));
+        assertTrue(store.getEntitiesForQuery(null, null, list(InstanceStatus.DRAFT), null).isEmpty());
+
+        store.removeEntityFromStore(store.getEntity("1111"));
+        assertEquals(getGUIDs(store.getEntitiesForQuery(list(ASSET_TYPE), null, null, null)), set("2222"));
+    }
+
+
+    @Test
+    void testTypeIndexGeneration()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        long generation = store.getTypeIndexGeneration();
+
+        store.createEntityInStore(getEntity("1111", ASSET_TYPE, InstanceStatus.ACTIVE, null));
+        assertTrue(store.getTypeIndexGeneration() != generation);
+
+        /*
+         * Another instance of a type already in the index does not change the generation.
+         */
+        generation = store.getTypeIndexGeneration();
+        store.createEntityInStore(getEntity("2222", ASSET_TYPE, InstanceStatus.ACTIVE, null));
+        store.updateEntityInStore(getEntity("1111", ASSET_TYPE, InstanceStatus.DRAFT, null));
+        assertEquals(store.getTypeIndexGeneration(), generation);
+
+        store.createRelationshipInStore(getRelationship("4444", "1111", "2222"));
+        assertTrue(store.getTypeIndexGeneration() != generation);
+    }
+
+
+    @Test
+    void testRelationshipIndexes()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createRelationshipInStore(getRelationship("4444", "1111", "2222"));
+        store.createRelationshipInStore(getRelationship("5555", "2222", "3333"));
+
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("1111", null)), set("4444"));
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("2222", null)), set("4444", "5555"));
+        assertEquals(getGUIDs(store.getRelationshipsForQuery(list(LINK_TYPE), null, null)), set("4444", "5555"));
+
+        /*
+         * Re-pointing a relationship in place must move it between the entities.
+         */
+        Relationship relationship = store.getRelationship("5555");
+        relationship.setEntityTwoProxy(getProxy("6666"));
+        store.updateRelationshipInStore(relationship);
+
+        assertTrue(store.getRelationshipsForEntity("3333", null).isEmpty());
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("6666", null)), set("5555"));
+
+        store.removeRelationshipFromStore(store.getRelationship("4444"));
+        assertTrue(store.getRelationshipsForEntity("1111", null).isEmpty());
+        assertEquals(getGUIDs(store.getRelationshipsForEntity("2222", null)), set("5555"));
+    }
+
+
+    @Test
+    void testAsOfTimeQueries()
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        EntityDetail version1 = getEntity("1111", ASSET_TYPE, InstanceStatus.DRAFT, null);
+        version1.setCreateTime(new Date(1000));
+        version1.setVersion(1);
+        store.createEntityInStore(version1);
+
+        EntityDetail version2 = getEntity("1111", ASSET_TYPE, InstanceStatus.ACTIVE, null);
+        version2.setCreateTime(new Date(1000));
+        version2.setUpdateTime(new Date(2000));
+        version2.setVersion(2);
+        store.updateEntityInStore(version2);
+
+        EntityDetail version3 = getEntity("1111", ASSET_TYPE, InstanceStatus.ACTIVE, CONFIDENTIAL);
+        version3.setCreateTime(new Date(1000));
+        version3.setUpdateTime(new Date(3000));
+        version3.setVersion(3);
+        store.updateEntityInStore(version3);
+
+        EntityDetail laterEntity = getEntity("2222", ASSET_TYPE, InstanceStatus.ACTIVE, null);
+        laterEntity.setCreateTime(new Date(2500));
+        store.createEntityInStore(laterEntity);
+
+        assertEquals(store.getEntity("1111", new Date(500)), null);
+        assertEquals(store.getEntity("1111", new Date(1000)).getVersion(), 1);
+        assertEquals(store.getEntity("1111", new Date(2999)).getVersion(), 2);
+        assertEquals(store.getEntity("1111", new Date(3000)).getVersion(), 3);
+        assertEquals(store.getEntity("1111", null).getVersion(), 3);
+
+        assertEquals(store.timeWarpEntityStore(new Date(2000)).keySet(), set("1111"));
+        assertEquals(store.timeWarpEntityStore(new Date(2500)).keySet(), set("1111", "2222"));
+        assertEquals(store.timeWarpEntityStore(new Date(2500)).get("1111").getVersion(), 2);
+
+        /*
+         * Undo restores the most recent version from the history.
+         */
+        assertEquals(store.retrievePreviousVersionOfEntity("1111").getStatus(), InstanceStatus.ACTIVE);
+        assertEquals(store.getEntity("1111", new Date(3000)).getVersion(), 3);
+
+        store.removeEntityFromStore(store.getEntity("1111"));
+        assertEquals(store.getEntity("1111", new Date(2000)), null);
+        assertEquals(store.timeWarpEntityStore(new Date(5000)).keySet(), set("2222"));
+    }
+
+
+    @Test
+    void testConcurrentUpdates() throws Exception
+    {
+        /*
+         * Many threads changing the store at once must leave it and its indexes consistent.
+         */
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        runWorkload(store, false);
+        validateWorkloadResults(store);
+    }
+
+
+    /**
+     * Compare the store when every call is funnelled through a single monitor, as it was when all of its
+     * methods were synchronized, with the store called directly.  The timings go to the TestNG report.
+     *
+     * @throws Exception problem running the workload
+     */
+    @Test(groups = "benchmark")
+    void benchmarkConcurrentThroughput() throws Exception
+    {
+        InMemoryOMRSMetadataStore serializedStore = new InMemoryOMRSMetadataStore();
+        long serializedTime = runWorkload(serializedStore, true);
+
+        InMemoryOMRSMetadataStore concurrentStore = new InMemoryOMRSMetadataStore();
+        long concurrentTime = runWorkload(concurrentStore, false);
+
+        validateWorkloadResults(serializedStore);
+        validateWorkloadResults(concurrentStore);
+
+        Reporter.log("In-memory store workload of " + (THREAD_COUNT * OPERATIONS_PER_THREAD * 3) +
+                             " operations on " + THREAD_COUNT + " threads: serialized " +
+                             TimeUnit.NANOSECONDS.toMillis(serializedTime) + " ms, concurrent " +
+                             TimeUnit.NANOSECONDS.toMillis(concurrentTime) + " ms");
+    }
+
+
+    private void validateWorkloadResults(InMemoryOMRSMetadataStore store)
+    {
+        assertEquals(store.getEntitiesForQuery(null, null, null, null).size(), THREAD_COUNT * OPERATIONS_PER_THREAD);
+        assertEquals(store.getEntitiesForQuery(list(ASSET_TYPE), null, list(InstanceStatus.ACTIVE), null).size(),
+                     THREAD_COUNT * OPERATIONS_PER_THREAD);
+        assertTrue(store.getEntitiesForQuery(null, null, list(InstanceStatus.DRAFT), null).isEmpty());
+    }
+
+
+    private long runWorkload(InMemoryOMRSMetadataStore store,
+                             boolean                   serialized) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Future<?>> results  = new ArrayList<>();
+        Object          monitor  = new Object();
+
+        long start = System.nanoTime();
+
+        for (int thread = 0; thread < THREAD_COUNT; thread++)
+        {
+            final int threadNumber = thread;
+
+            results.add(executor.submit(() ->
+            {
+                for (int operation = 0; operation < OPERATIONS_PER_THREAD; operation++)
+                {
+                    String guid = threadNumber + "-" + operation;
+
+                    if (serialized)
+                    {
+                        synchronized (monitor)
+                        {
+                            runOperations(store, guid);
+                        }
+                    }
+                    else
+                    {
+                        runOperations(store, guid);
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> result : results)
+        {
+            result.get();
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        executor.shutdown();
+
+        return elapsed;
+    }
+
+
+    private void runOperations(InMemoryOMRSMetadataStore store,
+                               String                    guid)
+    {
+        store.createEntityInStore(getEntity(guid, ASSET_TYPE, InstanceStatus.DRAFT, null));
+        store.updateEntityInStore(getEntity(guid, ASSET_TYPE, InstanceStatus.ACTIVE, CONFIDENTIAL));
+        assertEquals(store.getEntity(guid).getStatus(), InstanceStatus.ACTIVE);
+    }
+
+
+    private EntityDetail getEntity(String         guid,
+                                   String         typeName,
+                                   InstanceStatus status,
+                                   String         classificationName)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setType(getType(typeName));
+        entity.setStatus(status);
+
+        if (classificationName != null)
+        {
+            Classification classification = new Classification();
+            classification.setName(classificationName);
+            entity.setClassifications(Collections.singletonList(classification));
+        }
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid,
+                                         String entityOneGUID,
+                                         String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setType(getType(LINK_TYPE));
+        relationship.setStatus(InstanceStatus.ACTIVE);
+        relationship.setEntityOneProxy(getProxy(entityOneGUID));
+        relationship.setEntityTwoProxy(getProxy(entityTwoGUID));
+
+        return relationship;
+    }
+
+
+    private EntityProxy getProxy(String guid)
+    {
+        EntityProxy proxy = new EntityProxy();
+
+        proxy.setGUID(guid);
+
+        return proxy;
+    }
+
+
+    private InstanceType getType(String typeName)
+    {
+        InstanceType type = new InstanceType();
+
+        type.setTypeDefName(typeName);
+        type.setTypeDefGUID(typeName + "-guid");
+
+        return type;
+    }
+
+
+    private Set<String> getGUIDs(List<? extends InstanceHeader> instances)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (InstanceHeader instance : instances)
+        {
+            guids.add(instance.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    @SafeVarargs
+    private static <T> List<T> list(T... values)
+    {
+        return Arrays.asList(values);
+    }
+
+
+    private static Set<String> set(String... values)
+    {
+        return new HashSet<>(Arrays.asList(values));
+    }
+}
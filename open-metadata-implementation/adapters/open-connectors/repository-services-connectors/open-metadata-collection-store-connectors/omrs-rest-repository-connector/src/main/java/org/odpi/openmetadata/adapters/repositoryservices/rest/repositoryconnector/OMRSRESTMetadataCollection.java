@@ -2,6 +2,7 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnector;
 
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTClientCheckedExceptionBase;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.odpi.openmetadata.repositoryservices.clients.LocalRepositoryServicesClient;
@@ -37,6 +38,10 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
 
     private boolean getHomeClassificationsSupported = true;
     private boolean getHomeClassificationsWithHistorySupported = true;
+    private boolean getEntitiesDetailSupported = true;
+    private boolean getRelationshipsSupported = true;
+    private boolean countRelationshipsForEntitySupported = true;
+    private boolean countEntitiesByPropertySupported = true;
 
 
     /**
@@ -134,6 +139,31 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Detect if a request failed because the remote server does not have the requested operation.  This is the
+     * case when the remote server is at an earlier level than the local server.
+     *
+     * @param error exception from the remote call
+     * @return true if the remote server responded with 404
+     */
+    private boolean isOperationNotFound(RepositoryErrorException error)
+    {
+        Throwable cause = error.getCause();
+
+        while (cause != null)
+        {
+            if (cause instanceof RESTClientCheckedExceptionBase)
+            {
+                return ((RESTClientCheckedExceptionBase) cause).getReportedHTTPCode() == 404;
+            }
+
+            cause = cause.getCause();
+        }
+
+        return false;
+    }
+
+
     /**
      * Validate that the metadata collection id from the remote server matches the one expected
      * locally.
@@ -954,6 +984,66 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.  The
+     * returned list is in the same order as the requested guids.  Entities that are not known, or are only
+     * proxies, in the metadata collection are left out of the list.
+     *
+     * @param userId   unique identifier for requesting user.
+     * @param guids    list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 return the present values.
+     * @return list of EntityDetail structures or null if none of the entities are known.
+     * @throws InvalidParameterException     the guid list is null or contains a null guid, or the asOfTime property is for a future time
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntitiesDetail(String       userId,
+                                                List<String> guids,
+                                                Date         asOfTime) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              FunctionNotSupportedException,
+                                                                              UserNotAuthorizedException
+    {
+        final String methodName  = "getEntitiesDetail";
+
+        validateClient(methodName);
+
+        /*
+         * If the remote server is not able to retrieve the entities in a single request,
+         * they are retrieved one at a time.  A remote server that does not have the operation
+         * is not asked again.
+         */
+        if (getEntitiesDetailSupported)
+        {
+            try
+            {
+                return omrsClient.getEntitiesDetail(userId, guids, asOfTime);
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                /*
+                 * Fall through to the single requests.
+                 */
+            }
+            catch (RepositoryErrorException error)
+            {
+                if (! isOperationNotFound(error))
+                {
+                    throw error;
+                }
+
+                getEntitiesDetailSupported = false;
+            }
+        }
+
+        return super.getEntitiesDetail(userId, guids, asOfTime);
+    }
+
+
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
      * versions of an entity, set both the 'fromTime' and 'toTime' to null.
@@ -1062,6 +1152,90 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical query of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @param effectiveTime only count relationships that are effective at this time (null means any time).
+     * @return count of the relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException there is a problem with the properties of the relationships.
+     * @throws PagingErrorException there is a problem paging through the relationships.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String               userId,
+                                           String               entityGUID,
+                                           String               relationshipTypeGUID,
+                                           List<InstanceStatus> limitResultsByStatus,
+                                           Date                 asOfTime,
+                                           Date                 effectiveTime) throws InvalidParameterException,
+                                                                                      TypeErrorException,
+                                                                                      RepositoryErrorException,
+                                                                                      EntityNotKnownException,
+                                                                                      PropertyErrorException,
+                                                                                      PagingErrorException,
+                                                                                      FunctionNotSupportedException,
+                                                                                      UserNotAuthorizedException
+    {
+        final String             methodName = "countRelationshipsForEntity";
+
+        validateClient(methodName);
+
+        /*
+         * If the remote server is not able to count the relationships, they are paged back and counted locally.
+         * A remote server that does not have the operation is not asked again.
+         */
+        if (countRelationshipsForEntitySupported)
+        {
+            try
+            {
+                return omrsClient.countRelationshipsForEntity(userId,
+                                                              entityGUID,
+                                                              relationshipTypeGUID,
+                                                              limitResultsByStatus,
+                                                              asOfTime,
+                                                              effectiveTime);
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                /*
+                 * Fall through to the paged retrieval.
+                 */
+            }
+            catch (RepositoryErrorException error)
+            {
+                if (! isOperationNotFound(error))
+                {
+                    throw error;
+                }
+
+                countRelationshipsForEntitySupported = false;
+            }
+        }
+
+        return super.countRelationshipsForEntity(userId,
+                                                 entityGUID,
+                                                 relationshipTypeGUID,
+                                                 limitResultsByStatus,
+                                                 asOfTime,
+                                                 effectiveTime);
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -1204,6 +1378,97 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means count the present values.
+     * @param effectiveTime only count entities that are effective at this time (null means any time).
+     * @return count of the matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException there is a problem paging through the entities.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime,
+                                       Date                      effectiveTime) throws InvalidParameterException,
+                                                                                       RepositoryErrorException,
+                                                                                       TypeErrorException,
+                                                                                       PropertyErrorException,
+                                                                                       PagingErrorException,
+                                                                                       FunctionNotSupportedException,
+                                                                                       UserNotAuthorizedException
+    {
+        final String       methodName = "countEntitiesByProperty";
+
+        validateClient(methodName);
+
+        /*
+         * If the remote server is not able to count the entities, they are paged back and counted locally.
+         * A remote server that does not have the operation is not asked again.
+         */
+        if (countEntitiesByPropertySupported)
+        {
+            try
+            {
+                return omrsClient.countEntitiesByProperty(userId,
+                                                          entityTypeGUID,
+                                                          matchProperties,
+                                                          matchCriteria,
+                                                          limitResultsByStatus,
+                                                          limitResultsByClassification,
+                                                          asOfTime,
+                                                          effectiveTime);
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                /*
+                 * Fall through to the paged retrieval.
+                 */
+            }
+            catch (RepositoryErrorException error)
+            {
+                if (! isOperationNotFound(error))
+                {
+                    throw error;
+                }
+
+                countEntitiesByPropertySupported = false;
+            }
+        }
+
+        return super.countEntitiesByProperty(userId,
+                                             entityTypeGUID,
+                                             matchProperties,
+                                             matchCriteria,
+                                             limitResultsByStatus,
+                                             limitResultsByClassification,
+                                             asOfTime,
+                                             effectiveTime);
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classifications attached.
      *
@@ -1433,6 +1698,65 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  The returned list is in the same order as the
+     * requested guids.  Relationships that are not known in the metadata collection are left out of the list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 return the present values.
+     * @return list of Relationship structures or null if none of the relationships are known.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the asOfTime property is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String methodName  = "getRelationships";
+
+        validateClient(methodName);
+
+        /*
+         * If the remote server is not able to retrieve the relationships in a single request,
+         * they are retrieved one at a time.  A remote server that does not have the operation
+         * is not asked again.
+         */
+        if (getRelationshipsSupported)
+        {
+            try
+            {
+                return omrsClient.getRelationships(userId, guids, asOfTime);
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                /*
+                 * Fall through to the single requests.
+                 */
+            }
+            catch (RepositoryErrorException error)
+            {
+                if (! isOperationNotFound(error))
+                {
+                    throw error;
+                }
+
+                getRelationshipsSupported = false;
+            }
+        }
+
+        return super.getRelationships(userId, guids, asOfTime);
+    }
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
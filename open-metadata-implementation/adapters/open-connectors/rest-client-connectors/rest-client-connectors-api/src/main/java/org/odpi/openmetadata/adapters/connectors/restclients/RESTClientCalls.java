@@ -4,8 +4,11 @@ package org.odpi.openmetadata.adapters.connectors.restclients;
 
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
- * RESTClientCalls provides a generic interface for calling REST Clients.
+ * RESTClientCalls provides a generic interface for calling REST Clients.  Each call has a blocking form and a
+ * form that returns a CompletableFuture so that a caller can issue several calls concurrently.
  */
 public interface RESTClientCalls
 {
@@ -138,4 +141,204 @@ public interface RESTClientCalls
                              String    urlTemplate,
                              Object    requestBody,
                              Object... params) throws RESTServerException;
+
+
+    /**
+     * Issue a GET REST call without waiting for the response.  The default implementation issues the call
+     * synchronously and returns a completed future.  Connectors that can overlap calls override this method.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    default <T> CompletableFuture<T> callGetRESTCallNoParamsAsync(String    methodName,
+                                                                  Class<T>  returnClass,
+                                                                  String    urlTemplate)
+    {
+        try
+        {
+            return CompletableFuture.completedFuture(callGetRESTCallNoParams(methodName, returnClass, urlTemplate));
+        }
+        catch (RESTServerException error)
+        {
+            return CompletableFuture.failedFuture(error);
+        }
+    }
+
+
+    /**
+     * Issue a GET REST call without waiting for the response.  The default implementation issues the call
+     * synchronously and returns a completed future.  Connectors that can overlap calls override this method.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     * @param params      a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    default <T> CompletableFuture<T> callGetRESTCallAsync(String    methodName,
+                                                          Class<T>  returnClass,
+                                                          String    urlTemplate,
+                                                          Object... params)
+    {
+        try
+        {
+            return CompletableFuture.completedFuture(callGetRESTCall(methodName, returnClass, urlTemplate, params));
+        }
+        catch (RESTServerException error)
+        {
+            return CompletableFuture.failedFuture(error);
+        }
+    }
+
+
+    /**
+     * Issue a POST REST call without waiting for the response.  The default implementation issues the call
+     * synchronously and returns a completed future.  Connectors that can overlap calls override this method.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    default <T> CompletableFuture<T> callPostRESTCallNoParamsAsync(String    methodName,
+                                                                   Class<T>  returnClass,
+                                                                   String    urlTemplate,
+                                                                   Object    requestBody)
+    {
+        try
+        {
+            return CompletableFuture.completedFuture(callPostRESTCallNoParams(methodName, returnClass, urlTemplate, requestBody));
+        }
+        catch (RESTServerException error)
+        {
+            return CompletableFuture.failedFuture(error);
+        }
+    }
+
+
+    /**
+     * Issue a POST REST call without waiting for the response.  The default implementation issues the call
+     * synchronously and returns a completed future.  Connectors that can overlap calls override this method.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    default <T> CompletableFuture<T> callPostRESTCallAsync(String    methodName,
+                                                           Class<T>  returnClass,
+                                                           String    urlTemplate,
+                                                           Object    requestBody,
+                                                           Object... params)
+    {
+        try
+        {
+            return CompletableFuture.completedFuture(callPostRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+        }
+        catch (RESTServerException error)
+        {
+            return CompletableFuture.failedFuture(error);
+        }
+    }
+
+
+    /**
+     * Issue a PUT REST call without waiting for the response.  The default implementation issues the call
+     * synchronously and returns a completed future.  Connectors that can overlap calls override this method.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    default <T> CompletableFuture<T> callPutRESTCallAsync(String    methodName,
+                                                          Class<T>  returnClass,
+                                                          String    urlTemplate,
+                                                          Object    requestBody,
+                                                          Object... params)
+    {
+        try
+        {
+            return CompletableFuture.completedFuture(callPutRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+        }
+        catch (RESTServerException error)
+        {
+            return CompletableFuture.failedFuture(error);
+        }
+    }
+
+
+    /**
+     * Issue a DELETE REST call without waiting for the response.  The default implementation issues the call
+     * synchronously and returns a completed future.  Connectors that can overlap calls override this method.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    default <T> CompletableFuture<T> callDeleteRESTCallNoParamsAsync(String    methodName,
+                                                                     Class<T>  returnClass,
+                                                                     String    urlTemplate,
+                                                                     Object    requestBody)
+    {
+        try
+        {
+            return CompletableFuture.completedFuture(callDeleteRESTCallNoParams(methodName, returnClass, urlTemplate, requestBody));
+        }
+        catch (RESTServerException error)
+        {
+            return CompletableFuture.failedFuture(error);
+        }
+    }
+
+
+    /**
+     * Issue a DELETE REST call without waiting for the response.  The default implementation issues the call
+     * synchronously and returns a completed future.  Connectors that can overlap calls override this method.
+     *
+     * @param <T> class name
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    default <T> CompletableFuture<T> callDeleteRESTCallAsync(String    methodName,
+                                                             Class<T>  returnClass,
+                                                             String    urlTemplate,
+                                                             Object    requestBody,
+                                                             Object... params)
+    {
+        try
+        {
+            return CompletableFuture.completedFuture(callDeleteRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+        }
+        catch (RESTServerException error)
+        {
+            return CompletableFuture.failedFuture(error);
+        }
+    }
 }
@@ -40,7 +40,11 @@ public enum RESTClientConnectorErrorCode
     EXCEPTION_RESPONSE_FROM_API(503, "CLIENT-SIDE-REST-API-CONNECTOR-503-003 ",
             "A {0} exception was received from REST API call {1} to server {2}: error message was: {3}",
             "The system has issued a call to an open metadata access service REST API in a remote server and has received an exception response.",
-            "The error message should indicate the cause of the error.  Otherwise look for errors in the remote server's audit log and console to understand and correct the source of the error.")
+            "The error message should indicate the cause of the error.  Otherwise look for errors in the remote server's audit log and console to understand and correct the source of the error."),
+    ASYNC_CALL_REJECTED(503, "CLIENT-SIDE-REST-API-CONNECTOR-503-004 ",
+            "The asynchronous REST API call {0} to server {1} on platform {2} was rejected because the client connector has been disconnected",
+            "The client has been asked to issue a call to a REST API after it has been shut down.  The call has not been made.",
+            "Create a new client to call the server.  Look for errors in the local server's console to understand why the client was used after it was shut down.")
     ;
 
 
@@ -2,10 +2,22 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.connectors.restclients.spring;
 
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.codehaus.plexus.util.Base64;
 import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector;
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.RESTClientConnectorErrorCode;
 import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFErrorCode;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFRuntimeException;
 import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
 import org.slf4j.Logger;
@@ -15,29 +27,72 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
  * RESTClient is responsible for issuing calls to the server's REST APIs.
  * It is supported through a connector because there are often changes in this integration and it saves
  * maintenance work if all Egeria clients use this connector.
+ *
+ * The calls are made over a pool of keep-alive HTTP connections.  The size of the pool and the timeouts
+ * can be set through the configuration properties of the connection.  Connectors with the same pool size
+ * share a single pool so the number of connections to a platform is bounded across all of the clients
+ * in the JVM rather than for each one.  The asynchronous forms of the calls are run on a small, fixed set
+ * of threads owned by the connector, so the number of calls in flight is bounded by the connection pool
+ * rather than by the number of callers.
  */
 public class SpringRESTClientConnector extends RESTClientConnector
 {
-    private RestTemplate restTemplate;
-    private String       serverName               = null;
-    private String       serverPlatformURLRoot    = null;
-    private HttpHeaders  basicAuthorizationHeader = null;
+    static final int  DEFAULT_MAX_TOTAL_CONNECTIONS       = 200;
+    static final int  DEFAULT_MAX_CONNECTIONS_PER_ROUTE   = 50;
+    static final int  DEFAULT_CONNECT_TIMEOUT             = 0;
+    static final int  DEFAULT_READ_TIMEOUT                = 0;
+    static final int  DEFAULT_CONNECTION_REQUEST_TIMEOUT  = 0;
+    static final int  DEFAULT_ASYNC_CALL_THREADS          = 10;
+
+    private static final int  VALIDATE_AFTER_INACTIVITY   = 2000;
+
+    /*
+     * The connection managers shared by the connectors, keyed by the pool sizes and the SSL settings.
+     * They are never shut down since connectors are created and discarded throughout the life of the JVM.
+     */
+    private static final Map<List<Object>, PoolingHttpClientConnectionManager> connectionManagers = new ConcurrentHashMap<>();
+
+    private RestTemplate                       restTemplate;
+    private PoolingHttpClientConnectionManager connectionManager         = null;
+    private CloseableHttpClient                httpClient                = null;
+    private ThreadPoolExecutor                 asyncCallExecutor         = null;
+    private boolean                            disconnected              = false;
+    private int                                asyncCallThreads          = DEFAULT_ASYNC_CALL_THREADS;
+    private String                             serverName                = null;
+    private String                             serverPlatformURLRoot     = null;
+    private HttpHeaders                        basicAuthorizationHeader  = null;
+    private HttpEntity<?>                      basicAuthorizationRequest = null;
 
     private static final Logger log = LoggerFactory.getLogger(SpringRESTClientConnector.class);
 
@@ -72,8 +127,15 @@ public class SpringRESTClientConnector extends RESTClientConnector
         List<HttpMessageConverter<?>> converters = restTemplate.getMessageConverters();
         converters.removeIf(httpMessageConverter -> httpMessageConverter instanceof StringHttpMessageConverter);
         converters.add(0, new StringHttpMessageConverter(StandardCharsets.UTF_8));
+
+        this.setUpConnectionPool(DEFAULT_MAX_TOTAL_CONNECTIONS,
+                                 DEFAULT_MAX_CONNECTIONS_PER_ROUTE,
+                                 DEFAULT_CONNECT_TIMEOUT,
+                                 DEFAULT_READ_TIMEOUT,
+                                 DEFAULT_CONNECTION_REQUEST_TIMEOUT);
     }
 
+
     /**
      * Initialize the connector.
      *
@@ -108,12 +170,240 @@ public class SpringRESTClientConnector extends RESTClientConnector
             log.debug("Using basic authentication to call server " + this.serverName + " on platform " + this.serverPlatformURLRoot + ".");
 
             basicAuthorizationHeader = this.createHeaders(userId, password);
+            basicAuthorizationRequest = new HttpEntity<>(basicAuthorizationHeader);
         }
         else
         {
             log.debug("Using no authentication to call server " + this.serverName + " on platform " + this.serverPlatformURLRoot + ".");
 
         }
+
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            int maxTotalConnections      = this.getIntegerProperty(configurationProperties,
+                                                                   SpringRESTClientConnectorProvider.maxTotalConnectionsProperty,
+                                                                   DEFAULT_MAX_TOTAL_CONNECTIONS);
+            int maxConnectionsPerRoute   = this.getIntegerProperty(configurationProperties,
+                                                                   SpringRESTClientConnectorProvider.maxConnectionsPerRouteProperty,
+                                                                   DEFAULT_MAX_CONNECTIONS_PER_ROUTE);
+            int connectTimeout           = this.getIntegerProperty(configurationProperties,
+                                                                   SpringRESTClientConnectorProvider.connectTimeoutProperty,
+                                                                   DEFAULT_CONNECT_TIMEOUT);
+            int readTimeout              = this.getIntegerProperty(configurationProperties,
+                                                                   SpringRESTClientConnectorProvider.readTimeoutProperty,
+                                                                   DEFAULT_READ_TIMEOUT);
+            int connectionRequestTimeout = this.getIntegerProperty(configurationProperties,
+                                                                   SpringRESTClientConnectorProvider.connectionRequestTimeoutProperty,
+                                                                   DEFAULT_CONNECTION_REQUEST_TIMEOUT);
+
+            asyncCallThreads = Math.max(1, this.getIntegerProperty(configurationProperties,
+                                                                   SpringRESTClientConnectorProvider.asyncCallThreadsProperty,
+                                                                   DEFAULT_ASYNC_CALL_THREADS));
+
+            this.setUpConnectionPool(Math.max(1, maxTotalConnections),
+                                     Math.max(1, maxConnectionsPerRoute),
+                                     connectTimeout,
+                                     readTimeout,
+                                     connectionRequestTimeout);
+        }
+    }
+
+
+    /**
+     * Return the value of an integer configuration property.
+     *
+     * @param configurationProperties properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @return property value
+     * @throws OCFRuntimeException the property is not an integer
+     */
+    private int getIntegerProperty(Map<String, Object> configurationProperties,
+                                   String              propertyName,
+                                   int                 defaultValue) throws OCFRuntimeException
+    {
+        final String methodName = "initialize";
+
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue != null)
+        {
+            try
+            {
+                return Integer.parseInt(propertyValue.toString());
+            }
+            catch (NumberFormatException error)
+            {
+                throw new OCFRuntimeException(OCFErrorCode.INVALID_CONFIGURATION_PROPERTY.getMessageDefinition(propertyName,
+                                                                                                              connectionProperties.getConnectionName(),
+                                                                                                              propertyValue.toString(),
+                                                                                                              "integer"),
+                                              this.getClass().getName(),
+                                              methodName,
+                                              error);
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Replace the HTTP transport of the REST template with a pool of keep-alive connections.  The pool is
+     * shared with the other connectors that use the same pool sizes; the timeouts belong to this connector's
+     * HTTP client.  The SSL socket factory and hostname verifier are taken from the JVM defaults so that the
+     * platform's SSL settings (such as strict.ssl=false) still apply.
+     *
+     * @param maxTotalConnections maximum number of open connections
+     * @param maxConnectionsPerRoute maximum number of open connections to a single platform
+     * @param connectTimeout milliseconds to wait for a connection to be established - zero means no limit
+     * @param readTimeout milliseconds to wait for data on an open connection - zero means no limit
+     * @param connectionRequestTimeout milliseconds to wait for a free connection from the pool - zero means no limit
+     */
+    private void setUpConnectionPool(int maxTotalConnections,
+                                     int maxConnectionsPerRoute,
+                                     int connectTimeout,
+                                     int readTimeout,
+                                     int connectionRequestTimeout)
+    {
+        PoolingHttpClientConnectionManager sharedConnectionManager = getConnectionManager(maxTotalConnections,
+                                                                                          maxConnectionsPerRoute);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                                                   .setConnectTimeout(connectTimeout)
+                                                   .setSocketTimeout(readTimeout)
+                                                   .setConnectionRequestTimeout(connectionRequestTimeout)
+                                                   .build();
+
+        CloseableHttpClient newHttpClient = HttpClients.custom()
+                                                       .useSystemProperties()
+                                                       .setConnectionManager(sharedConnectionManager)
+                                                       .setConnectionManagerShared(true)
+                                                       .setDefaultRequestConfig(requestConfig)
+                                                       .build();
+
+        restTemplate.setRequestFactory(new HttpComponentsClientHttpRequestFactory(newHttpClient));
+
+        this.closeHttpClient();
+
+        connectionManager = sharedConnectionManager;
+        httpClient = newHttpClient;
+    }
+
+
+    /**
+     * Return the pool of keep-alive connections for the requested pool sizes, creating it on first use.
+     *
+     * @param maxTotalConnections maximum number of open connections
+     * @param maxConnectionsPerRoute maximum number of open connections to a single platform
+     * @return connection manager
+     */
+    private static PoolingHttpClientConnectionManager getConnectionManager(int maxTotalConnections,
+                                                                           int maxConnectionsPerRoute)
+    {
+        SSLSocketFactory  sslSocketFactory = HttpsURLConnection.getDefaultSSLSocketFactory();
+        HostnameVerifier  hostnameVerifier = HttpsURLConnection.getDefaultHostnameVerifier();
+
+        List<Object> poolKey = Arrays.asList(maxTotalConnections, maxConnectionsPerRoute, sslSocketFactory, hostnameVerifier);
+
+        return connectionManagers.computeIfAbsent(poolKey, key ->
+        {
+            Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
+                    .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                    .register("https", new SSLConnectionSocketFactory(sslSocketFactory, hostnameVerifier))
+                    .build();
+
+            PoolingHttpClientConnectionManager newConnectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+
+            newConnectionManager.setMaxTotal(maxTotalConnections);
+            newConnectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+            /*
+             * Connections that have been idle for a while are checked before they are reused since
+             * the server may have closed them.
+             */
+            newConnectionManager.setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY);
+
+            return newConnectionManager;
+        });
+    }
+
+
+    /**
+     * Return the pool of connections used by this connector.
+     *
+     * @return connection manager
+     */
+    PoolingHttpClientConnectionManager getConnectionManager()
+    {
+        return connectionManager;
+    }
+
+
+    /**
+     * Release the current HTTP client.  The connection pool stays open for the other connectors that share it.
+     */
+    private void closeHttpClient()
+    {
+        if (httpClient != null)
+        {
+            try
+            {
+                httpClient.close();
+            }
+            catch (IOException error)
+            {
+                log.debug("Exception " + error.getClass().getName() + " with message " + error.getMessage() + " occurred closing the connection pool.");
+            }
+
+            httpClient = null;
+        }
+    }
+
+
+    /**
+     * Free up the connection pool and the threads used for asynchronous calls.  Asynchronous calls
+     * requested after this point fail.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public synchronized void disconnect() throws ConnectorCheckedException
+    {
+        disconnected = true;
+
+        if (asyncCallExecutor != null)
+        {
+            asyncCallExecutor.shutdown();
+            asyncCallExecutor = null;
+        }
+
+        this.closeHttpClient();
+
+        super.disconnect();
+    }
+
+
+    /**
+     * Return the HTTP code to report for a failed REST call.  If the remote server responded with an error
+     * status, that status is passed on so the caller can tell, for example, that the remote server does not
+     * support the requested operation (404).
+     *
+     * @param error exception from the REST call
+     * @param errorCode error code describing the failure
+     * @return HTTP code
+     */
+    private int getReportedHTTPCode(Throwable                    error,
+                                    RESTClientConnectorErrorCode errorCode)
+    {
+        if (error instanceof HttpStatusCodeException)
+        {
+            return ((HttpStatusCodeException) error).getRawStatusCode();
+        }
+
+        return errorCode.getHTTPErrorCode();
     }
 
 
@@ -166,9 +456,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
             }
             else
             {
-                HttpEntity<?> request = new HttpEntity<>(basicAuthorizationHeader);
-
-                ResponseEntity<T>  responseEntity = restTemplate.exchange(urlTemplate, HttpMethod.GET, request, returnClass);
+                ResponseEntity<T>  responseEntity = restTemplate.exchange(urlTemplate, HttpMethod.GET, basicAuthorizationRequest, returnClass);
 
                 responseObject = responseEntity.getBody();
             }
@@ -196,7 +484,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getReportedHTTPCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -237,9 +525,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
             }
             else
             {
-                HttpEntity<?> request = new HttpEntity<>(basicAuthorizationHeader);
-
-                ResponseEntity<T>  responseEntity = restTemplate.exchange(urlTemplate, HttpMethod.GET, request, returnClass, params);
+                ResponseEntity<T>  responseEntity = restTemplate.exchange(urlTemplate, HttpMethod.GET, basicAuthorizationRequest, returnClass, params);
 
                 responseObject = responseEntity.getBody();
             }
@@ -267,7 +553,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getReportedHTTPCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -318,7 +604,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 else
                 {
                     log.warn("Poorly formed POST call made by " + methodName);
-                    request = new HttpEntity<>(basicAuthorizationHeader);
+                    request = basicAuthorizationRequest;
                 }
 
                 ResponseEntity<T>  responseEntity = restTemplate.exchange(urlTemplate, HttpMethod.POST, request, returnClass);
@@ -349,7 +635,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getReportedHTTPCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -403,7 +689,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 else
                 {
                     log.warn("Poorly formed POST call made by " + methodName);
-                    request = new HttpEntity<>(basicAuthorizationHeader);
+                    request = basicAuthorizationRequest;
                 }
 
                 ResponseEntity<T>  responseEntity = restTemplate.exchange(urlTemplate, HttpMethod.POST, request, returnClass, params);
@@ -434,7 +720,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getReportedHTTPCode(error, errorCode),
                                               this.getClass().getName(),
                                               methodName,
                                               errorMessage,
@@ -506,7 +792,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getReportedHTTPCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -555,7 +841,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                 else
                 {
                     log.warn("Poorly formed POST call made by " + methodName);
-                    request = new HttpEntity<>(basicAuthorizationHeader);
+                    request = basicAuthorizationRequest;
                 }
 
                 ResponseEntity<T>  responseEntity = restTemplate.exchange(urlTemplate, HttpMethod.DELETE, request, returnClass);
@@ -586,7 +872,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getReportedHTTPCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -652,7 +938,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                                                                                                      serverPlatformURLRoot,
                                                                                                      error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getReportedHTTPCode(error, errorCode),
                                           this.getClass().getName(),
                                           methodName,
                                           errorMessage,
@@ -694,7 +980,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                     request = new HttpEntity<>(requestBody, basicAuthorizationHeader);
                 } else {
                     log.warn("Poorly formed POST call made by " + methodName);
-                    request = new HttpEntity<>(basicAuthorizationHeader);
+                    request = basicAuthorizationRequest;
                 }
 
             }
@@ -721,7 +1007,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                     serverPlatformURLRoot,
                     error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getReportedHTTPCode(error, errorCode),
                     this.getClass().getName(),
                     methodName,
                     errorMessage,
@@ -756,7 +1042,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
             if (basicAuthorizationHeader == null) {
                 request = HttpEntity.EMPTY;
             } else {
-                request = new HttpEntity<>(basicAuthorizationHeader);
+                request = basicAuthorizationRequest;
             }
 
             ResponseEntity<T> responseEntity = restTemplate.exchange(urlTemplate, HttpMethod.GET, request, responseType, params);
@@ -781,7 +1067,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                     serverPlatformURLRoot,
                     error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getReportedHTTPCode(error, errorCode),
                     this.getClass().getName(),
                     methodName,
                     errorMessage,
@@ -838,7 +1124,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                     serverPlatformURLRoot,
                     error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getReportedHTTPCode(error, errorCode),
                     this.getClass().getName(),
                     methodName,
                     errorMessage,
@@ -901,7 +1187,7 @@ public class SpringRESTClientConnector extends RESTClientConnector
                     serverPlatformURLRoot,
                     error.getMessage());
 
-            throw new RESTServerException(errorCode.getHTTPErrorCode(),
+            throw new RESTServerException(this.getReportedHTTPCode(error, errorCode),
                     this.getClass().getName(),
                     methodName,
                     errorMessage,
@@ -910,4 +1196,304 @@ public class SpringRESTClientConnector extends RESTClientConnector
                     error);
         }
     }
+
+
+    /**
+     * Issue a GET REST call without waiting for the response.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    @Override
+    public  <T> CompletableFuture<T> callGetRESTCallNoParamsAsync(String    methodName,
+                                                                  Class<T>  returnClass,
+                                                                  String    urlTemplate)
+    {
+        return this.callAsync(methodName, () -> callGetRESTCallNoParams(methodName, returnClass, urlTemplate));
+    }
+
+
+    /**
+     * Issue a GET REST call without waiting for the response.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate template of the URL for the REST API call with place-holders for the parameters.
+     * @param params      a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    @Override
+    public  <T> CompletableFuture<T> callGetRESTCallAsync(String    methodName,
+                                                          Class<T>  returnClass,
+                                                          String    urlTemplate,
+                                                          Object... params)
+    {
+        return this.callAsync(methodName, () -> callGetRESTCall(methodName, returnClass, urlTemplate, params));
+    }
+
+
+    /**
+     * Issue a POST REST call without waiting for the response.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    @Override
+    public  <T> CompletableFuture<T> callPostRESTCallNoParamsAsync(String    methodName,
+                                                                   Class<T>  returnClass,
+                                                                   String    urlTemplate,
+                                                                   Object    requestBody)
+    {
+        return this.callAsync(methodName, () -> callPostRESTCallNoParams(methodName, returnClass, urlTemplate, requestBody));
+    }
+
+
+    /**
+     * Issue a POST REST call without waiting for the response.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    @Override
+    public  <T> CompletableFuture<T> callPostRESTCallAsync(String    methodName,
+                                                           Class<T>  returnClass,
+                                                           String    urlTemplate,
+                                                           Object    requestBody,
+                                                           Object... params)
+    {
+        return this.callAsync(methodName, () -> callPostRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
+
+
+    /**
+     * Issue a PUT REST call without waiting for the response.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    @Override
+    public  <T> CompletableFuture<T> callPutRESTCallAsync(String    methodName,
+                                                          Class<T>  returnClass,
+                                                          String    urlTemplate,
+                                                          Object    requestBody,
+                                                          Object... params)
+    {
+        return this.callAsync(methodName, () -> callPutRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
+
+
+    /**
+     * Issue a DELETE REST call without waiting for the response.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    @Override
+    public  <T> CompletableFuture<T> callDeleteRESTCallNoParamsAsync(String    methodName,
+                                                                     Class<T>  returnClass,
+                                                                     String    urlTemplate,
+                                                                     Object    requestBody)
+    {
+        return this.callAsync(methodName, () -> callDeleteRESTCallNoParams(methodName, returnClass, urlTemplate, requestBody));
+    }
+
+
+    /**
+     * Issue a DELETE REST call without waiting for the response.
+     *
+     * @param <T> type of the return object
+     * @param methodName  name of the method being called.
+     * @param returnClass class of the response object.
+     * @param urlTemplate  template of the URL for the REST API call with place-holders for the parameters.
+     * @param requestBody request body for the request.
+     * @param params  a list of parameters that are slotted into the url template.
+     *
+     * @return future for the response object - completes exceptionally with RESTServerException if the call fails.
+     */
+    @Override
+    public  <T> CompletableFuture<T> callDeleteRESTCallAsync(String    methodName,
+                                                             Class<T>  returnClass,
+                                                             String    urlTemplate,
+                                                             Object    requestBody,
+                                                             Object... params)
+    {
+        return this.callAsync(methodName, () -> callDeleteRESTCall(methodName, returnClass, urlTemplate, requestBody, params));
+    }
+
+
+    /**
+     * Run a REST call on one of the connector's asynchronous call threads.
+     *
+     * @param <T> type of the return object
+     * @param methodName name of the method being called
+     * @param restCall blocking form of the call
+     * @return future that completes with the response object or the exception from the call
+     */
+    private <T> CompletableFuture<T> callAsync(String      methodName,
+                                               RESTCall<T> restCall)
+    {
+        ThreadPoolExecutor executor = this.getAsyncCallExecutor();
+
+        if (executor == null)
+        {
+            return CompletableFuture.failedFuture(this.getAsyncCallRejectedException(methodName, null));
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        try
+        {
+            executor.execute(() ->
+                             {
+                                 try
+                                 {
+                                     future.complete(restCall.call());
+                                 }
+                                 catch (Throwable error)
+                                 {
+                                     future.completeExceptionally(error);
+                                 }
+                             });
+        }
+        catch (RejectedExecutionException error)
+        {
+            /*
+             * The connector was disconnected after the executor was retrieved.
+             */
+            return CompletableFuture.failedFuture(this.getAsyncCallRejectedException(methodName, error));
+        }
+
+        return future;
+    }
+
+
+    /**
+     * Return the exception used to fail an asynchronous call that is requested once the connector is disconnected.
+     *
+     * @param methodName name of the method being called
+     * @param error exception from the executor (or null)
+     * @return exception
+     */
+    private RESTServerException getAsyncCallRejectedException(String    methodName,
+                                                              Throwable error)
+    {
+        RESTClientConnectorErrorCode errorCode = RESTClientConnectorErrorCode.ASYNC_CALL_REJECTED;
+        String errorMessage = errorCode.getErrorMessageId() + errorCode.getFormattedErrorMessage(methodName,
+                                                                                                 serverName,
+                                                                                                 serverPlatformURLRoot);
+
+        return new RESTServerException(errorCode.getHTTPErrorCode(),
+                                       this.getClass().getName(),
+                                       methodName,
+                                       errorMessage,
+                                       errorCode.getSystemAction(),
+                                       errorCode.getUserAction(),
+                                       error);
+    }
+
+
+    /**
+     * Return the executor for asynchronous calls, creating it on first use.  Connectors that only make
+     * blocking calls do not start any threads.  The threads are released when they have been idle for a minute.
+     *
+     * @return executor or null if the connector is disconnected
+     */
+    private synchronized ThreadPoolExecutor getAsyncCallExecutor()
+    {
+        if (disconnected)
+        {
+            return null;
+        }
+
+        if (asyncCallExecutor == null)
+        {
+            asyncCallExecutor = new ThreadPoolExecutor(asyncCallThreads,
+                                                       asyncCallThreads,
+                                                       60L,
+                                                       TimeUnit.SECONDS,
+                                                       new LinkedBlockingQueue<>(),
+                                                       new AsyncCallThreadFactory("RESTClient-" + serverName));
+
+            asyncCallExecutor.allowCoreThreadTimeOut(true);
+        }
+
+        return asyncCallExecutor;
+    }
+
+
+    /**
+     * RESTCall is the blocking form of a REST call that is run on an asynchronous call thread.
+     *
+     * @param <T> type of the return object
+     */
+    private interface RESTCall<T>
+    {
+        T call() throws RESTServerException;
+    }
+
+
+    /**
+     * AsyncCallThreadFactory creates named daemon threads so the asynchronous calls do not hold up the shutdown of the server.
+     */
+    private static class AsyncCallThreadFactory implements ThreadFactory
+    {
+        private String        threadNamePrefix;
+        private AtomicInteger threadNumber = new AtomicInteger(1);
+
+
+        /**
+         * Constructor supplies the prefix for the thread names.
+         *
+         * @param threadNamePrefix prefix
+         */
+        AsyncCallThreadFactory(String threadNamePrefix)
+        {
+            this.threadNamePrefix = threadNamePrefix;
+        }
+
+
+        /**
+         * Create a new thread.
+         *
+         * @param runnable logic for the thread
+         * @return new thread
+         */
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadNumber.getAndIncrement());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
 }
@@ -6,6 +6,9 @@ import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector
 import org.odpi.openmetadata.frameworks.connectors.ConnectorProviderBase;
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * SpringRESTClientConnectorProvider provides the connector provider for the SpringRESTClientConnector.
@@ -16,6 +19,13 @@ public class SpringRESTClientConnectorProvider extends RESTClientConnectorProvid
     static final String  connectorTypeName = "Spring REST Client Connector";
     static final String  connectorTypeDescription = "Connector that calls the REST API of a remote server using Spring.";
 
+    public static final String  maxTotalConnectionsProperty      = "maxTotalConnections";
+    public static final String  maxConnectionsPerRouteProperty   = "maxConnectionsPerRoute";
+    public static final String  connectTimeoutProperty           = "connectTimeout";
+    public static final String  readTimeoutProperty              = "readTimeout";
+    public static final String  connectionRequestTimeoutProperty = "connectionRequestTimeout";
+    public static final String  asyncCallThreadsProperty         = "asyncCallThreads";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * REST Client Connector implementation.
@@ -34,6 +44,15 @@ public class SpringRESTClientConnectorProvider extends RESTClientConnectorProvid
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(maxTotalConnectionsProperty);
+        recognizedConfigurationProperties.add(maxConnectionsPerRouteProperty);
+        recognizedConfigurationProperties.add(connectTimeoutProperty);
+        recognizedConfigurationProperties.add(readTimeoutProperty);
+        recognizedConfigurationProperties.add(connectionRequestTimeoutProperty);
+        recognizedConfigurationProperties.add(asyncCallThreadsProperty);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
     }
 }
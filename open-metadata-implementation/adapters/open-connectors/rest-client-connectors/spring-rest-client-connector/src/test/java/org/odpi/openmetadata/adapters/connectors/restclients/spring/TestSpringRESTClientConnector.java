@@ -0,0 +1,354 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.connectors.restclients.spring;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFRuntimeException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.testng.Reporter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Exercise the SpringRESTClientConnector against a local stub server.  The stub echoes the path of each
+ * request after a short delay so that the benchmark shows the effect of issuing calls concurrently.
+ */
+public class TestSpringRESTClientConnector
+{
+    private static final int  SERVER_DELAY     = 2;
+    private static final int  BENCHMARK_CALLS  = 200;
+
+    private HttpServer                server;
+    private ExecutorService           serverThreads;
+    private String                    platformURLRoot;
+    private SpringRESTClientConnector connector;
+
+
+    /**
+     * Start the stub server and create the connector.
+     *
+     * @throws Exception problem starting the server
+     */
+    @BeforeClass(alwaysRun = true)
+    public void setUp() throws Exception
+    {
+        /*
+         * Without TCP_NODELAY the stub server's separate writes of the response headers and body
+         * interact with delayed acknowledgements and add around 40ms to every call.
+         */
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", this::echo);
+        server.createContext("/missing", this::missing);
+
+        serverThreads = Executors.newFixedThreadPool(20);
+        server.setExecutor(serverThreads);
+        server.start();
+
+        platformURLRoot = "http://localhost:" + server.getAddress().getPort();
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(SpringRESTClientConnectorProvider.maxConnectionsPerRouteProperty, 20);
+        configurationProperties.put(SpringRESTClientConnectorProvider.asyncCallThreadsProperty, 20);
+        configurationProperties.put(SpringRESTClientConnectorProvider.connectTimeoutProperty, 5000);
+        configurationProperties.put(SpringRESTClientConnectorProvider.readTimeoutProperty, "5000");
+
+        connector = this.getConnector(configurationProperties);
+    }
+
+
+    /**
+     * Stop the connector and the stub server.
+     *
+     * @throws Exception problem stopping the connector
+     */
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws Exception
+    {
+        connector.disconnect();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+
+    /**
+     * Create and initialize a connector that calls the stub server.
+     *
+     * @param configurationProperties properties for the connection
+     * @return initialized connector
+     * @throws Exception problem creating the connector
+     */
+    private SpringRESTClientConnector getConnector(Map<String, Object> configurationProperties) throws Exception
+    {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress(platformURLRoot);
+        endpoint.setDisplayName("stubServer");
+
+        Connection connection = new Connection();
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        SpringRESTClientConnector restClientConnector = new SpringRESTClientConnector();
+
+        restClientConnector.initialize("TestConnector", new ConnectionProperties(connection));
+
+        return restClientConnector;
+    }
+
+
+    /**
+     * Return the request path (and any request body) after a short delay.
+     *
+     * @param exchange request and response
+     * @throws IOException problem writing the response
+     */
+    private void echo(HttpExchange exchange) throws IOException
+    {
+        try
+        {
+            Thread.sleep(SERVER_DELAY);
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        String response = exchange.getRequestURI().getPath();
+
+        try (InputStream requestBody = exchange.getRequestBody())
+        {
+            String body = new String(requestBody.readAllBytes(), StandardCharsets.UTF_8);
+
+            if (! body.isEmpty())
+            {
+                response = response + ":" + body;
+            }
+        }
+
+        byte[] responseBytes = response.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "text/plain;charset=UTF-8");
+        exchange.sendResponseHeaders(200, responseBytes.length);
+
+        try (OutputStream responseBody = exchange.getResponseBody())
+        {
+            responseBody.write(responseBytes);
+        }
+    }
+
+
+    /**
+     * Return an error for an unknown resource.
+     *
+     * @param exchange request and response
+     * @throws IOException problem writing the response
+     */
+    private void missing(HttpExchange exchange) throws IOException
+    {
+        exchange.sendResponseHeaders(404, -1);
+        exchange.close();
+    }
+
+
+    @Test
+    public void testBlockingCalls() throws Exception
+    {
+        assertEquals(connector.callGetRESTCall("testBlockingCalls", String.class, platformURLRoot + "/echo/{0}", "one"),
+                     "/echo/one");
+        assertEquals(connector.callPostRESTCall("testBlockingCalls", String.class, platformURLRoot + "/echo/{0}", "body", "two"),
+                     "/echo/two:body");
+    }
+
+
+    @Test
+    public void testAsyncCalls()
+    {
+        CompletableFuture<String> getResponse  = connector.callGetRESTCallAsync("testAsyncCalls",
+                                                                                String.class,
+                                                                                platformURLRoot + "/echo/{0}",
+                                                                                "three");
+        CompletableFuture<String> postResponse = connector.callPostRESTCallNoParamsAsync("testAsyncCalls",
+                                                                                         String.class,
+                                                                                         platformURLRoot + "/echo/four",
+                                                                                         "body");
+
+        assertEquals(getResponse.join(), "/echo/three");
+        assertEquals(postResponse.join(), "/echo/four:body");
+    }
+
+
+    @Test
+    public void testAsyncCallFailure()
+    {
+        CompletableFuture<String> response = connector.callGetRESTCallNoParamsAsync("testAsyncCallFailure",
+                                                                                    String.class,
+                                                                                    platformURLRoot + "/missing");
+
+        try
+        {
+            response.join();
+            fail("The call to a missing resource should fail");
+        }
+        catch (CompletionException error)
+        {
+            assertTrue(error.getCause() instanceof RESTServerException);
+            assertEquals(((RESTServerException) error.getCause()).getReportedHTTPCode(), 404);
+        }
+    }
+
+
+    @Test
+    public void testAsyncCallAfterDisconnect() throws Exception
+    {
+        SpringRESTClientConnector disconnectedConnector = this.getConnector(new HashMap<>());
+
+        assertEquals(disconnectedConnector.callGetRESTCallAsync("testAsyncCallAfterDisconnect",
+                                                                String.class,
+                                                                platformURLRoot + "/echo/{0}",
+                                                                "five").join(),
+                     "/echo/five");
+
+        disconnectedConnector.disconnect();
+
+        CompletableFuture<String> response = disconnectedConnector.callGetRESTCallAsync("testAsyncCallAfterDisconnect",
+                                                                                        String.class,
+                                                                                        platformURLRoot + "/echo/{0}",
+                                                                                        "six");
+
+        assertTrue(response.isCompletedExceptionally());
+
+        try
+        {
+            response.join();
+            fail("The call after disconnect should fail");
+        }
+        catch (CompletionException error)
+        {
+            assertTrue(error.getCause() instanceof RESTServerException);
+        }
+    }
+
+
+    @Test
+    public void testSharedConnectionPool() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(SpringRESTClientConnectorProvider.maxConnectionsPerRouteProperty, 20);
+        configurationProperties.put(SpringRESTClientConnectorProvider.readTimeoutProperty, 1000);
+
+        SpringRESTClientConnector sharingConnector = this.getConnector(configurationProperties);
+
+        /*
+         * The pool is shared with the connector that has the same pool sizes but different timeouts.
+         */
+        assertSame(sharingConnector.getConnectionManager(), connector.getConnectionManager());
+
+        configurationProperties.put(SpringRESTClientConnectorProvider.maxConnectionsPerRouteProperty, 21);
+
+        SpringRESTClientConnector separateConnector = this.getConnector(configurationProperties);
+
+        assertNotSame(separateConnector.getConnectionManager(), connector.getConnectionManager());
+
+        /*
+         * Disconnecting a connector leaves the shared pool open for the others.
+         */
+        sharingConnector.disconnect();
+        separateConnector.disconnect();
+
+        assertEquals(connector.callGetRESTCall("testSharedConnectionPool", String.class, platformURLRoot + "/echo/{0}", "seven"),
+                     "/echo/seven");
+    }
+
+
+    @Test
+    public void testInvalidConfigurationProperty() throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(SpringRESTClientConnectorProvider.readTimeoutProperty, "five seconds");
+
+        try
+        {
+            this.getConnector(configurationProperties);
+            fail("A read timeout that is not a number should be rejected");
+        }
+        catch (OCFRuntimeException error)
+        {
+            assertTrue(error.getMessage().contains(SpringRESTClientConnectorProvider.readTimeoutProperty));
+        }
+    }
+
+
+    /**
+     * Compare the throughput of blocking calls issued one after another with the same number of calls
+     * issued through the asynchronous interface.  The timings go to the TestNG report.
+     *
+     * @throws Exception problem with a call
+     */
+    @Test(groups = "benchmark")
+    public void benchmarkThroughput() throws Exception
+    {
+        final String methodName = "benchmarkThroughput";
+
+        /*
+         * Warm up the connection pool.
+         */
+        connector.callGetRESTCallNoParams(methodName, String.class, platformURLRoot + "/echo/warmup");
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < BENCHMARK_CALLS; i++)
+        {
+            connector.callGetRESTCall(methodName, String.class, platformURLRoot + "/echo/{0}", Integer.toString(i));
+        }
+
+        long blockingTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+
+        List<CompletableFuture<String>> responses = new ArrayList<>();
+
+        for (int i = 0; i < BENCHMARK_CALLS; i++)
+        {
+            responses.add(connector.callGetRESTCallAsync(methodName, String.class, platformURLRoot + "/echo/{0}", Integer.toString(i)));
+        }
+
+        for (int i = 0; i < BENCHMARK_CALLS; i++)
+        {
+            assertEquals(responses.get(i).join(), "/echo/" + i);
+        }
+
+        long asyncTime = System.nanoTime() - start;
+
+        Reporter.log(methodName + ": " + BENCHMARK_CALLS + " blocking calls at "
+                             + (BENCHMARK_CALLS * 1000000000L / Math.max(1, blockingTime)) + " calls/s; "
+                             + BENCHMARK_CALLS + " asynchronous calls at "
+                             + (BENCHMARK_CALLS * 1000000000L / Math.max(1, asyncTime)) + " calls/s.");
+    }
+}
@@ -6,6 +6,7 @@ import org.odpi.openmetadata.adminservices.ffdc.OMAGAdminAuditCode;
 import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
 import org.odpi.openmetadata.adminservices.ffdc.OMAGAdminErrorCode;
 import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationErrorException;
+import org.odpi.openmetadata.commonservices.generichandlers.OpenMetadataAPIAnchorCache;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
@@ -40,11 +41,13 @@ public abstract class AccessServiceAdmin
      * AccessServiceConfig as the accessServicesOptions.  Individual access services may support
      * additional properties.
      */
-    protected String   supportedZonesPropertyName      = "SupportedZones";      /* Common */
-    protected String   defaultZonesPropertyName        = "DefaultZones";        /* Common */
-    protected String   publishZonesPropertyName        = "PublishZones";        /* Common */
-    protected String   karmaPointPlateauPropertyName   = "KarmaPointPlateau";   /* Community Profile OMAS */
-    protected String   karmaPointIncrementPropertyName = "KarmaPointIncrement"; /* Community Profile OMAS */
+    protected String   supportedZonesPropertyName        = "SupportedZones";        /* Common */
+    protected String   defaultZonesPropertyName          = "DefaultZones";          /* Common */
+    protected String   publishZonesPropertyName          = "PublishZones";          /* Common */
+    protected String   karmaPointPlateauPropertyName     = "KarmaPointPlateau";     /* Community Profile OMAS */
+    protected String   karmaPointIncrementPropertyName   = "KarmaPointIncrement";   /* Community Profile OMAS */
+    protected String   anchorCacheMaxSizePropertyName    = "AnchorCacheMaxSize";    /* Services using the generic handlers */
+    protected String   anchorCacheTimeToLivePropertyName = "AnchorCacheTimeToLive"; /* Services using the generic handlers */
 
 
     /**
@@ -411,6 +414,112 @@ public abstract class AccessServiceAdmin
     }
 
 
+    /**
+     * Create the anchor cache used by the generic handlers of an access service and register it with the enterprise
+     * topic so that it is told about changes to the cached elements.  This must be called before the access service
+     * creates its handlers.  The AnchorCacheMaxSize option sets the maximum number of elements and anchor snapshots
+     * in the cache (zero turns the cache off) and the AnchorCacheTimeToLive option sets the number of seconds that a
+     * snapshot of an anchor entity is reused.  No cache is created if there is no enterprise topic since the cache
+     * could not be kept up to date.
+     *
+     * @param accessServiceOptions options passed to the access service.
+     * @param accessServiceFullName name of calling service
+     * @param serverName name of OMAG Server instance
+     * @param omrsTopicConnector enterprise topic connector
+     * @param auditLog audit log for error messages
+     * @throws OMAGConfigurationErrorException one of the anchor cache options is not a number.
+     */
+    protected void createAnchorCache(Map<String, Object> accessServiceOptions,
+                                     String              accessServiceFullName,
+                                     String              serverName,
+                                     OMRSTopicConnector  omrsTopicConnector,
+                                     AuditLog            auditLog) throws OMAGConfigurationErrorException
+    {
+        long maxSize = this.extractAnchorCacheOption(accessServiceOptions,
+                                                     anchorCacheMaxSizePropertyName,
+                                                     OpenMetadataAPIAnchorCache.defaultMaxSize,
+                                                     accessServiceFullName,
+                                                     auditLog);
+
+        long timeToLive = this.extractAnchorCacheOption(accessServiceOptions,
+                                                        anchorCacheTimeToLivePropertyName,
+                                                        OpenMetadataAPIAnchorCache.defaultAnchorEntityTimeToLive,
+                                                        accessServiceFullName,
+                                                        auditLog);
+
+        if ((maxSize > 0) && (omrsTopicConnector != null))
+        {
+            OpenMetadataAPIAnchorCache anchorCache = OpenMetadataAPIAnchorCache.createAnchorCache(serverName,
+                                                                                                  accessServiceFullName,
+                                                                                                  (int) Math.min(maxSize, Integer.MAX_VALUE),
+                                                                                                  OpenMetadataAPIAnchorCache.defaultAnchorGUIDTimeToLive,
+                                                                                                  timeToLive,
+                                                                                                  auditLog);
+
+            omrsTopicConnector.registerListener(anchorCache, accessServiceFullName);
+        }
+    }
+
+
+    /**
+     * Remove the anchor cache of an access service when it shuts down.  The statistics of the cache are
+     * written to the audit log.
+     *
+     * @param accessServiceFullName name of calling service
+     * @param serverName name of OMAG Server instance
+     */
+    protected void removeAnchorCache(String accessServiceFullName,
+                                     String serverName)
+    {
+        OpenMetadataAPIAnchorCache.removeAnchorCache(serverName, accessServiceFullName);
+    }
+
+
+    /**
+     * Extract one of the numeric anchor cache options from the access services option.
+     *
+     * @param accessServiceOptions options passed to the access service.
+     * @param propertyName name of the option
+     * @param defaultValue value to use if the option is not set
+     * @param accessServiceFullName name of calling service
+     * @param auditLog audit log for error messages
+     * @return option value
+     * @throws OMAGConfigurationErrorException the option is not a number.
+     */
+    private long extractAnchorCacheOption(Map<String, Object> accessServiceOptions,
+                                          String              propertyName,
+                                          long                defaultValue,
+                                          String              accessServiceFullName,
+                                          AuditLog            auditLog) throws OMAGConfigurationErrorException
+    {
+        final String  methodName = "extractAnchorCacheOption";
+
+        if ((accessServiceOptions == null) || (accessServiceOptions.get(propertyName) == null))
+        {
+            return defaultValue;
+        }
+
+        Object optionObject = accessServiceOptions.get(propertyName);
+
+        try
+        {
+            return Long.parseLong(optionObject.toString());
+        }
+        catch (Exception error)
+        {
+            logBadConfigProperties(accessServiceFullName,
+                                   propertyName,
+                                   optionObject.toString(),
+                                   auditLog,
+                                   methodName,
+                                   error);
+
+            /* unreachable */
+            return 0;
+        }
+    }
+
+
     /**
      * Log that a property value is incorrect.
      *
@@ -40,6 +40,7 @@ public class ExternalIdentifierHandler<EXTERNAL_ID, OPEN_METADATA_ELEMENT_HEADER
 {
     private OpenMetadataAPIGenericConverter<OPEN_METADATA_ELEMENT_HEADER> elementConverter;
     private Class<OPEN_METADATA_ELEMENT_HEADER>                           elementBeanClass;
+    private final ExternalIdentifierIndex                                 externalIdIndex = new ExternalIdentifierIndex(ExternalIdentifierIndex.defaultMaxSize);
 
 
     /**
@@ -96,6 +97,18 @@ public class ExternalIdentifierHandler<EXTERNAL_ID, OPEN_METADATA_ELEMENT_HEADER
     }
 
 
+    /**
+     * Return the index of external identifiers used by this handler.  Its statistics show how many lookups
+     * were resolved without searching the repositories.
+     *
+     * @return index
+     */
+    public ExternalIdentifierIndex getExternalIdentifierIndex()
+    {
+        return externalIdIndex;
+    }
+
+
     /**
      * Set up the ExternalIdentifier for the supplied element.  This external identifier may already exist for the requested
      * scope if multiple open metadata entities are needed to represent the metadata element(s) in the third party metadata source
@@ -187,6 +200,8 @@ public class ExternalIdentifierHandler<EXTERNAL_ID, OPEN_METADATA_ELEMENT_HEADER
                                                                                                      scopeQualifiedName,
                                                                                                      scopeGUID,
                                                                                                      methodName));
+
+            externalIdIndex.addExternalIdGUID(scopeGUID, identifier, externalIdGUID);
         }
         else
         {
@@ -507,21 +522,46 @@ public class ExternalIdentifierHandler<EXTERNAL_ID, OPEN_METADATA_ELEMENT_HEADER
      * @throws UserNotAuthorizedException user not authorized to issue this request
      * @throws PropertyServerException    problem accessing the property server
      */
-    private EntityDetail getExternalIdEntity(String userId,
-                                             String identifier,
-                                             String identifierParameterName,
-                                             String scopeGUID,
-                                             String scopeGUIDParameterName,
-                                             String scopeQualifiedName,
-                                             String scopeTypeName,
-                                             Date   effectiveTime,
-                                             String methodName) throws InvalidParameterException,
-                                                                       UserNotAuthorizedException,
-                                                                       PropertyServerException
+    EntityDetail getExternalIdEntity(String userId,
+                                     String identifier,
+                                     String identifierParameterName,
+                                     String scopeGUID,
+                                     String scopeGUIDParameterName,
+                                     String scopeQualifiedName,
+                                     String scopeTypeName,
+                                     Date   effectiveTime,
+                                     String methodName) throws InvalidParameterException,
+                                                               UserNotAuthorizedException,
+                                                               PropertyServerException
     {
         invalidParameterHandler.validateGUID(scopeGUID, scopeGUIDParameterName, methodName);
         invalidParameterHandler.validateName(identifier, identifierParameterName, methodName);
 
+        /*
+         * The index remembers the ExternalId entity found by an earlier request.  It is retrieved directly and checked
+         * in case it has been changed or deleted since.
+         */
+        String indexedExternalIdGUID = externalIdIndex.getExternalIdGUID(scopeGUID, identifier);
+
+        if (indexedExternalIdGUID != null)
+        {
+            EntityDetail indexedExternalIdEntity = this.getIndexedExternalIdEntity(userId,
+                                                                                   identifier,
+                                                                                   indexedExternalIdGUID,
+                                                                                   scopeGUID,
+                                                                                   scopeQualifiedName,
+                                                                                   scopeTypeName,
+                                                                                   effectiveTime,
+                                                                                   methodName);
+
+            if (indexedExternalIdEntity != null)
+            {
+                return indexedExternalIdEntity;
+            }
+
+            externalIdIndex.removeExternalIdGUID(scopeGUID, identifier, indexedExternalIdGUID);
+        }
+
         /*
          * Since the external identifier is not necessarily unique and is linked many-to-many, begin with
          * retrieving all of the ExternalId entities with the same identifier.
@@ -562,10 +602,80 @@ public class ExternalIdentifierHandler<EXTERNAL_ID, OPEN_METADATA_ELEMENT_HEADER
                                                      scopeTypeName,
                                                      effectiveTime,
                                                      methodName))
+            {
+                externalIdIndex.addExternalIdGUID(scopeGUID, identifier, externalIdEntity.getGUID());
+
+                return externalIdEntity;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Retrieve the ExternalId entity recorded in the index and check that it still has the requested identifier and scope.
+     *
+     * @param userId calling userId
+     * @param identifier identifier from the third party technology (scope)
+     * @param externalIdGUID unique identifier of the ExternalId entity from the index
+     * @param scopeGUID unique identifier of the software server capability that represents the third metadata source
+     * @param scopeQualifiedName unique name of the software server capability that represents the third metadata source
+     * @param scopeTypeName specific type name of the software server capability that represents the third party metadata source
+     * @param effectiveTime the time that the retrieved elements must be effective for
+     * @param methodName calling method
+     *
+     * @return ExternalId entity or null if the index entry is out of date
+     *
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the property server
+     */
+    private EntityDetail getIndexedExternalIdEntity(String userId,
+                                                    String identifier,
+                                                    String externalIdGUID,
+                                                    String scopeGUID,
+                                                    String scopeQualifiedName,
+                                                    String scopeTypeName,
+                                                    Date   effectiveTime,
+                                                    String methodName) throws UserNotAuthorizedException,
+                                                                              PropertyServerException
+    {
+        final String externalIdGUIDParameterName = "indexedExternalIdGUID";
+
+        try
+        {
+            EntityDetail externalIdEntity = repositoryHandler.getEntityByGUID(userId,
+                                                                              externalIdGUID,
+                                                                              externalIdGUIDParameterName,
+                                                                              OpenMetadataAPIMapper.EXTERNAL_IDENTIFIER_TYPE_NAME,
+                                                                              false,
+                                                                              false,
+                                                                              effectiveTime,
+                                                                              methodName);
+
+            if ((externalIdEntity != null) &&
+                (identifier.equals(repositoryHelper.getStringProperty(serviceName,
+                                                                      OpenMetadataAPIMapper.IDENTIFIER_PROPERTY_NAME,
+                                                                      externalIdEntity.getProperties(),
+                                                                      methodName))) &&
+                (this.validateExternalIdentifierScope(userId,
+                                                      identifier,
+                                                      externalIdEntity,
+                                                      scopeGUID,
+                                                      scopeQualifiedName,
+                                                      scopeTypeName,
+                                                      effectiveTime,
+                                                      methodName)))
             {
                 return externalIdEntity;
             }
         }
+        catch (InvalidParameterException deletedEntity)
+        {
+            /*
+             * The ExternalId entity has been deleted or is not effective.
+             */
+        }
 
         return null;
     }
@@ -668,6 +778,15 @@ public class ExternalIdentifierHandler<EXTERNAL_ID, OPEN_METADATA_ELEMENT_HEADER
 
         if ((externalIdEntity != null) && (externalIdEntity.getType() != null))
         {
+            /*
+             * ExternalId entities are anchored to the scope they are created for so the Anchors classification
+             * confirms the scope without retrieving any relationships.
+             */
+            if (scopeGUID.equals(this.getAnchorGUIDFromAnchorsClassification(externalIdEntity, methodName)))
+            {
+                return true;
+            }
+
             /*
              * An entity with the same identifier already exists - retrieve its relationships
              * to determine if connected to the same scope. An ordinary retrieve, rather than using an iterator,
@@ -1043,13 +1162,23 @@ public class ExternalIdentifierHandler<EXTERNAL_ID, OPEN_METADATA_ELEMENT_HEADER
                                                                   PropertyServerException,
                                                                   UserNotAuthorizedException
     {
-        return super.countAttachments(userId,
-                                      elementGUID,
-                                      OpenMetadataAPIMapper.REFERENCEABLE_TYPE_NAME,
-                                      OpenMetadataAPIMapper.REFERENCEABLE_TO_EXTERNAL_ID_TYPE_GUID,
-                                      OpenMetadataAPIMapper.REFERENCEABLE_TO_EXTERNAL_ID_TYPE_NAME,
-                                      effectiveTime,
-                                      methodName);
+        final String guidParameter = "elementGUID";
+
+        invalidParameterHandler.validateUserId(userId, methodName);
+        invalidParameterHandler.validateGUID(elementGUID, guidParameter, methodName);
+
+        /*
+         * External identifier links are not subject to the feedback visibility rules so the count can be
+         * made by the repository rather than by retrieving each relationship.
+         */
+        return repositoryHandler.countAttachedRelationshipsByType(userId,
+                                                                  elementGUID,
+                                                                  OpenMetadataAPIMapper.REFERENCEABLE_TYPE_NAME,
+                                                                  OpenMetadataAPIMapper.REFERENCEABLE_TO_EXTERNAL_ID_TYPE_GUID,
+                                                                  OpenMetadataAPIMapper.REFERENCEABLE_TO_EXTERNAL_ID_TYPE_NAME,
+                                                                  false,
+                                                                  effectiveTime,
+                                                                  methodName);
     }
 
 
@@ -1432,62 +1561,31 @@ public class ExternalIdentifierHandler<EXTERNAL_ID, OPEN_METADATA_ELEMENT_HEADER
         invalidParameterHandler.validateGUID(scopeGUID, scopeParameterName, methodName);
         invalidParameterHandler.validateName(externalIdentifier, externalIdentifierParameterName, methodName);
 
-        List<String> propertyNames = new ArrayList<>();
-
-        propertyNames.add(OpenMetadataAPIMapper.IDENTIFIER_PROPERTY_NAME);
+        /*
+         * The ExternalId entity for the identifier and scope is located through the index, or an exact match
+         * search on the identifier with a direct check of each candidate's scope.
+         */
+        EntityDetail externalIdEntity = this.getExternalIdEntity(userId,
+                                                                 externalIdentifier,
+                                                                 externalIdentifierParameterName,
+                                                                 scopeGUID,
+                                                                 scopeParameterName,
+                                                                 scopeQualifiedName,
+                                                                 scopeTypeName,
+                                                                 effectiveTime,
+                                                                 methodName);
 
-        List<EntityDetail> matchingExternalIds = this.getEntitiesByValue(userId,
-                                                                         externalIdentifier,
-                                                                         externalIdentifierParameterName,
-                                                                         OpenMetadataAPIMapper.EXTERNAL_IDENTIFIER_TYPE_GUID,
-                                                                         OpenMetadataAPIMapper.EXTERNAL_IDENTIFIER_TYPE_NAME,
-                                                                         propertyNames,
-                                                                         true,
-                                                                          null,
-                                                                         null,
-                                                                         false,
-                                                                         false,
-                                                                         supportedZones,
-                                                                         null,
-                                                                         0,
-                                                                         invalidParameterHandler.getMaxPagingSize(),
-                                                                         effectiveTime,
-                                                                         methodName);
-
-
-        if (matchingExternalIds != null)
+        if (externalIdEntity != null)
         {
-            final String matchingEntityGUIDParameterName = "matchingEntity.getGUID()";
-
-            for (EntityDetail matchingEntity : matchingExternalIds)
-            {
-                if (matchingEntity != null)
-                {
-                    List<Relationship> externalIdRelationships = this.getAttachmentLinks(userId,
-                                                                                         scopeGUID,
-                                                                                         scopeParameterName,
-                                                                                         scopeTypeName,
-                                                                                         OpenMetadataAPIMapper.EXTERNAL_ID_SCOPE_TYPE_GUID,
-                                                                                         OpenMetadataAPIMapper.EXTERNAL_ID_SCOPE_TYPE_NAME,
-                                                                                         scopeGUID,
-                                                                                         OpenMetadataAPIMapper.EXTERNAL_IDENTIFIER_TYPE_NAME,
-                                                                                         0,
-                                                                                         invalidParameterHandler.getMaxPagingSize(),
-                                                                                         effectiveTime,
-                                                                                         methodName);
-
-                    if ((externalIdRelationships != null) && (externalIdRelationships.isEmpty()))
-                    {
-                        return this.getElementHeaders(userId,
-                                                      matchingEntity.getGUID(),
-                                                      matchingEntityGUIDParameterName,
-                                                      startingFrom,
-                                                      pageSize,
-                                                      effectiveTime,
-                                                      methodName);
-                    }
-                }
-            }
+            final String externalIdGUIDParameterName = "externalIdEntity.getGUID()";
+
+            return this.getElementHeaders(userId,
+                                          externalIdEntity.getGUID(),
+                                          externalIdGUIDParameterName,
+                                          startingFrom,
+                                          pageSize,
+                                          effectiveTime,
+                                          methodName);
         }
 
         return null;
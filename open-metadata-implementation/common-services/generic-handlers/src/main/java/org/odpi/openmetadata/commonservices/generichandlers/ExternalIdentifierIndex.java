@@ -0,0 +1,175 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.generichandlers;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * ExternalIdentifierIndex remembers the unique identifier (GUID) of the ExternalId entity that holds an external
+ * identifier for a particular scope.  It is used by the ExternalIdentifierHandler so that an integration connector
+ * that repeatedly resolves the same external identifiers does not need to search the repositories each time.
+ * <p>
+ *     The index is only a hint.  The caller must check that the ExternalId entity it returns still has the identifier
+ *     and scope, and remove the entry if it does not.  The number of entries is bounded and the least recently used
+ *     entries are discarded when the limit is reached.
+ * </p>
+ */
+public class ExternalIdentifierIndex
+{
+    /**
+     * Default maximum number of entries in the index.
+     */
+    public static final int defaultMaxSize = 50000;
+
+    private final int maxSize;
+
+    private final Map<List<String>, String> externalIdGUIDs;
+
+    private long hitCount      = 0;
+    private long missCount     = 0;
+    private long evictionCount = 0;
+
+
+    /**
+     * Constructor
+     *
+     * @param maxSize maximum number of entries in the index
+     */
+    public ExternalIdentifierIndex(int maxSize)
+    {
+        this.maxSize         = maxSize;
+        this.externalIdGUIDs = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, String> eldest)
+            {
+                if (size() > ExternalIdentifierIndex.this.maxSize)
+                {
+                    evictionCount ++;
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+
+    /**
+     * Return the unique identifier of the ExternalId entity for the identifier in the scope.
+     *
+     * @param scopeGUID unique identifier of the software server capability that represents the third party metadata source
+     * @param identifier identifier from the third party technology
+     * @return unique identifier of the ExternalId entity or null if it is not in the index
+     */
+    public synchronized String getExternalIdGUID(String scopeGUID,
+                                                 String identifier)
+    {
+        String externalIdGUID = externalIdGUIDs.get(Arrays.asList(scopeGUID, identifier));
+
+        if (externalIdGUID == null)
+        {
+            missCount ++;
+        }
+        else
+        {
+            hitCount ++;
+        }
+
+        return externalIdGUID;
+    }
+
+
+    /**
+     * Record the ExternalId entity for the identifier in the scope.
+     *
+     * @param scopeGUID unique identifier of the software server capability that represents the third party metadata source
+     * @param identifier identifier from the third party technology
+     * @param externalIdGUID unique identifier of the ExternalId entity
+     */
+    public synchronized void addExternalIdGUID(String scopeGUID,
+                                               String identifier,
+                                               String externalIdGUID)
+    {
+        if ((scopeGUID != null) && (identifier != null) && (externalIdGUID != null))
+        {
+            externalIdGUIDs.put(Arrays.asList(scopeGUID, identifier), externalIdGUID);
+        }
+    }
+
+
+    /**
+     * Remove the entry for the identifier in the scope if it still refers to the supplied ExternalId entity.
+     *
+     * @param scopeGUID unique identifier of the software server capability that represents the third party metadata source
+     * @param identifier identifier from the third party technology
+     * @param externalIdGUID unique identifier of the ExternalId entity that is no longer valid
+     */
+    public synchronized void removeExternalIdGUID(String scopeGUID,
+                                                  String identifier,
+                                                  String externalIdGUID)
+    {
+        externalIdGUIDs.remove(Arrays.asList(scopeGUID, identifier), externalIdGUID);
+    }
+
+
+    /**
+     * Return the number of lookups answered from the index.
+     *
+     * @return count
+     */
+    public synchronized long getHitCount()
+    {
+        return hitCount;
+    }
+
+
+    /**
+     * Return the number of lookups that were not in the index.
+     *
+     * @return count
+     */
+    public synchronized long getMissCount()
+    {
+        return missCount;
+    }
+
+
+    /**
+     * Return the number of entries discarded to keep the index within its maximum size.
+     *
+     * @return count
+     */
+    public synchronized long getEvictionCount()
+    {
+        return evictionCount;
+    }
+
+
+    /**
+     * Return the number of entries in the index.
+     *
+     * @return count
+     */
+    public synchronized int getSize()
+    {
+        return externalIdGUIDs.size();
+    }
+
+
+    /**
+     * Return the maximum number of entries in the index.
+     *
+     * @return count
+     */
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+}
@@ -988,6 +988,126 @@ public class GovernanceActionHandler<B> extends OpenMetadataAPIGenericHandler<B>
 
 
 
+    /**
+     * Hand back a governance action that the caller has claimed but not started to run.  The governance action is
+     * set back to APPROVED with no processing engine so that it can be claimed again.
+     *
+     * @param userId identifier of calling user
+     * @param governanceActionGUID identifier of the governance action request
+     * @param effectiveTime             the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param methodName calling method
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException the governance action is not claimed by the caller.
+     * @throws PropertyServerException there was a problem detected by the metadata store.
+     */
+    public void releaseGovernanceAction(String userId,
+                                        String governanceActionGUID,
+                                        Date   effectiveTime,
+                                        String methodName) throws InvalidParameterException,
+                                                                  UserNotAuthorizedException,
+                                                                  PropertyServerException
+    {
+        final String guidParameterName = "governanceActionGUID";
+
+        invalidParameterHandler.validateUserId(userId, methodName);
+        invalidParameterHandler.validateGUID(governanceActionGUID, guidParameterName, methodName);
+
+        EntityDetail entity = this.getEntityFromRepository(userId,
+                                                           governanceActionGUID,
+                                                           guidParameterName,
+                                                           OpenMetadataAPIMapper.GOVERNANCE_ACTION_TYPE_NAME,
+                                                           null,
+                                                           null,
+                                                           false,
+                                                           false,
+                                                           supportedZones,
+                                                           effectiveTime,
+                                                           methodName);
+
+        if (entity != null)
+        {
+            InstanceProperties properties = entity.getProperties();
+
+            if (properties != null)
+            {
+                String processingEngineUserId = repositoryHelper.getStringProperty(serviceName,
+                                                                                   OpenMetadataAPIMapper.PROCESSING_ENGINE_USER_ID_PROPERTY_NAME,
+                                                                                   properties,
+                                                                                   methodName);
+
+                if (userId.equals(processingEngineUserId))
+                {
+                    /*
+                     * The processing engine is removed by replacing all of the properties rather than merging them.
+                     */
+                    InstanceProperties releasedProperties = new InstanceProperties(properties);
+
+                    releasedProperties.setProperty(OpenMetadataAPIMapper.PROCESSING_ENGINE_USER_ID_PROPERTY_NAME, null);
+
+                    try
+                    {
+                        releasedProperties = repositoryHelper.addEnumPropertyToInstance(serviceName,
+                                                                                        releasedProperties,
+                                                                                        OpenMetadataAPIMapper.ACTION_STATUS_PROPERTY_NAME,
+                                                                                        OpenMetadataAPIMapper.GOVERNANCE_ACTION_STATUS_ENUM_TYPE_GUID,
+                                                                                        OpenMetadataAPIMapper.GOVERNANCE_ACTION_STATUS_ENUM_TYPE_NAME,
+                                                                                        OpenMetadataAPIMapper.APPROVED_GA_STATUS_ORDINAL,
+                                                                                        methodName);
+                    }
+                    catch (TypeErrorException error)
+                    {
+                        throw new InvalidParameterException(error, OpenMetadataAPIMapper.ACTIVITY_TYPE_PROPERTY_NAME);
+                    }
+
+                    updateBeanInRepository(userId,
+                                           null,
+                                           null,
+                                           governanceActionGUID,
+                                           guidParameterName,
+                                           OpenMetadataAPIMapper.GOVERNANCE_ACTION_TYPE_GUID,
+                                           OpenMetadataAPIMapper.GOVERNANCE_ACTION_TYPE_NAME,
+                                           false,
+                                           false,
+                                           supportedZones,
+                                           releasedProperties,
+                                           false,
+                                           effectiveTime,
+                                           methodName);
+                }
+                else
+                {
+                    throw new UserNotAuthorizedException(GenericHandlersErrorCode.INVALID_PROCESSING_USER.getMessageDefinition(userId,
+                                                                                                                               methodName,
+                                                                                                                               governanceActionGUID,
+                                                                                                                               processingEngineUserId),
+                                                         this.getClass().getName(),
+                                                         methodName,
+                                                         userId);
+                }
+            }
+            else
+            {
+                throw new PropertyServerException(GenericHandlersErrorCode.MISSING_GOVERNANCE_ACTION_PROPERTIES.getMessageDefinition(governanceActionGUID,
+                                                                                                                                     guidParameterName,
+                                                                                                                                     serviceName,
+                                                                                                                                     methodName),
+                                                  this.getClass().getName(),
+                                                  methodName);
+            }
+        }
+        else
+        {
+            throw new PropertyServerException(GenericHandlersErrorCode.MISSING_GOVERNANCE_ACTION.getMessageDefinition(governanceActionGUID,
+                                                                                                                      guidParameterName,
+                                                                                                                      serviceName,
+                                                                                                                      methodName),
+                                              this.getClass().getName(),
+                                              methodName);
+        }
+    }
+
+
     /**
      * Update the status of the governance action - providing the caller is permitted.
      *
@@ -0,0 +1,876 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.generichandlers;
+
+import org.odpi.openmetadata.commonservices.generichandlers.ffdc.GenericHandlersAuditCode;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * OpenMetadataAPIAnchorCache remembers the anchors found by the generic handlers of an access service in a server.
+ * It is used by validateAnchorEntity to avoid walking the relationships of elements that have no Anchors classification
+ * and to avoid retrieving the same anchor entity again and again.
+ * <p>
+ *     There are two parts to the cache.  The first maps the unique identifier of an element to the unique identifier of its
+ *     anchor (or records that it has no anchor).  The second holds a snapshot of each anchor entity retrieved for a user.
+ *     The snapshots have a short time to live since they are used to check the visibility of the anchor.  Snapshots are
+ *     only kept for anchors that have no effectivity dates so they can be reused for any effective time.
+ * </p>
+ * <p>
+ *     The cache is registered as a listener with the enterprise OMRS topic.  Any event for an instance discards the
+ *     cached values for the entities involved.  An element's anchor is derived by walking through other elements, so
+ *     the cache also keeps the elements that depend on each anchor.  A relationship event discards the elements that
+ *     depend on the anchor of each end, since the relationship may have moved a part of the tree to another anchor.
+ *     If the anchor of an end is not known, all the cached anchors are discarded.  The number of entries in each part
+ *     of the cache is bounded: when the limit is exceeded the expired entries are removed, followed by arbitrary entries
+ *     if the cache is still too large.
+ * </p>
+ * <p>
+ *     There is one cache for each access service in a server.  It is created by the access service before its
+ *     handlers are created, and the handlers locate it using the server name and service name.
+ * </p>
+ */
+public class OpenMetadataAPIAnchorCache implements OMRSTopicListener
+{
+    /**
+     * Value stored for an element that has no anchor.
+     */
+    static final String NO_ANCHOR = "";
+
+    /**
+     * Default maximum number of elements and anchor snapshots held in the cache.
+     */
+    public static final int defaultMaxSize = 10000;
+
+    /**
+     * Default number of seconds that the anchor of an element is remembered if no event is received for it.
+     */
+    public static final long defaultAnchorGUIDTimeToLive = 600;
+
+    /**
+     * Default number of seconds that a snapshot of an anchor entity is reused.
+     */
+    public static final long defaultAnchorEntityTimeToLive = 5;
+
+    private static final Map<List<String>, OpenMetadataAPIAnchorCache> anchorCaches = new ConcurrentHashMap<>();
+
+    private final String   serverName;
+    private final String   serviceName;
+    private final int      maxSize;
+    private final long     anchorGUIDTimeToLiveNanos;
+    private final long     anchorEntityTimeToLiveNanos;
+    private final AuditLog auditLog;
+
+    private final Map<String, CachedValue<String>>                             anchorGUIDs    = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>>                                     dependents     = new ConcurrentHashMap<>();
+    private final Map<String, Map<List<Object>, CachedValue<EntityDetail>>>    anchorEntities = new ConcurrentHashMap<>();
+
+    private final AtomicLong    anchorGUIDHitCount    = new AtomicLong(0);
+    private final AtomicLong    anchorGUIDMissCount   = new AtomicLong(0);
+    private final AtomicLong    anchorEntityHitCount  = new AtomicLong(0);
+    private final AtomicLong    anchorEntityMissCount = new AtomicLong(0);
+    private final AtomicLong    evictionCount         = new AtomicLong(0);
+    private final AtomicLong    invalidationCount     = new AtomicLong(0);
+    private final AtomicLong    eventGeneration       = new AtomicLong(0);
+    private final AtomicBoolean evictionRunning       = new AtomicBoolean(false);
+
+
+    /**
+     * CachedValue is a cached value with its expiry time.
+     *
+     * @param <V> type of value
+     */
+    private static class CachedValue<V>
+    {
+        private final V    value;
+        private final long expiryTime;
+
+
+        /**
+         * Constructor
+         *
+         * @param value cached value
+         * @param expiryTime nano time when the value expires
+         */
+        CachedValue(V    value,
+                    long expiryTime)
+        {
+            this.value      = value;
+            this.expiryTime = expiryTime;
+        }
+
+
+        /**
+         * Return whether the value has expired.
+         *
+         * @param now current nano time
+         * @return boolean flag
+         */
+        boolean isExpired(long now)
+        {
+            return expiryTime - now <= 0;
+        }
+    }
+
+
+    /**
+     * Constructor
+     *
+     * @param serverName name of the server
+     * @param serviceName name of the access service
+     * @param maxSize maximum number of elements and anchor snapshots held in the cache
+     * @param anchorGUIDTimeToLive number of seconds that the anchor of an element is remembered
+     * @param anchorEntityTimeToLive number of seconds that a snapshot of an anchor entity is reused
+     * @param auditLog destination for audit log events
+     */
+    public OpenMetadataAPIAnchorCache(String   serverName,
+                                      String   serviceName,
+                                      int      maxSize,
+                                      long     anchorGUIDTimeToLive,
+                                      long     anchorEntityTimeToLive,
+                                      AuditLog auditLog)
+    {
+        this.serverName                  = serverName;
+        this.serviceName                 = serviceName;
+        this.maxSize                     = maxSize;
+        this.anchorGUIDTimeToLiveNanos   = TimeUnit.SECONDS.toNanos(anchorGUIDTimeToLive);
+        this.anchorEntityTimeToLiveNanos = TimeUnit.SECONDS.toNanos(anchorEntityTimeToLive);
+        this.auditLog                    = auditLog;
+    }
+
+
+    /**
+     * Create the anchor cache for an access service in a server.  Any previous cache for the access service is replaced.
+     * The caller should register the cache with the enterprise OMRS topic so that it receives the instance events.
+     *
+     * @param serverName name of the server
+     * @param serviceName name of the access service
+     * @param maxSize maximum number of elements and anchor snapshots held in the cache
+     * @param anchorGUIDTimeToLive number of seconds that the anchor of an element is remembered
+     * @param anchorEntityTimeToLive number of seconds that a snapshot of an anchor entity is reused
+     * @param auditLog destination for audit log events
+     * @return new cache
+     */
+    public static OpenMetadataAPIAnchorCache createAnchorCache(String   serverName,
+                                                               String   serviceName,
+                                                               int      maxSize,
+                                                               long     anchorGUIDTimeToLive,
+                                                               long     anchorEntityTimeToLive,
+                                                               AuditLog auditLog)
+    {
+        OpenMetadataAPIAnchorCache anchorCache = new OpenMetadataAPIAnchorCache(serverName,
+                                                                                serviceName,
+                                                                                maxSize,
+                                                                                anchorGUIDTimeToLive,
+                                                                                anchorEntityTimeToLive,
+                                                                                auditLog);
+
+        anchorCaches.put(Arrays.asList(serverName, serviceName), anchorCache);
+
+        return anchorCache;
+    }
+
+
+    /**
+     * Return the anchor cache for an access service in a server.
+     *
+     * @param serverName name of the server
+     * @param serviceName name of the access service
+     * @return cache or null if the access service does not use an anchor cache
+     */
+    public static OpenMetadataAPIAnchorCache getAnchorCache(String serverName,
+                                                            String serviceName)
+    {
+        return anchorCaches.get(Arrays.asList(serverName, serviceName));
+    }
+
+
+    /**
+     * Remove the anchor cache for an access service in a server when it shuts down.  The statistics of the
+     * cache are written to the audit log.
+     *
+     * @param serverName name of the server
+     * @param serviceName name of the access service
+     */
+    public static void removeAnchorCache(String serverName,
+                                         String serviceName)
+    {
+        final String methodName = "removeAnchorCache";
+
+        OpenMetadataAPIAnchorCache anchorCache = anchorCaches.remove(Arrays.asList(serverName, serviceName));
+
+        if ((anchorCache != null) && (anchorCache.auditLog != null))
+        {
+            anchorCache.auditLog.logMessage(methodName,
+                                            GenericHandlersAuditCode.ANCHOR_CACHE_STATISTICS.getMessageDefinition(serviceName,
+                                                                                                                  serverName,
+                                                                                                                  Long.toString(anchorCache.getAnchorGUIDHitCount()),
+                                                                                                                  Long.toString(anchorCache.getAnchorGUIDMissCount()),
+                                                                                                                  Long.toString(anchorCache.getAnchorEntityHitCount()),
+                                                                                                                  Long.toString(anchorCache.getAnchorEntityMissCount()),
+                                                                                                                  Long.toString(anchorCache.getEvictionCount())));
+        }
+    }
+
+
+    /**
+     * Return the unique identifier of the anchor of an element.
+     *
+     * @param elementGUID unique identifier of the element
+     * @return anchor GUID, NO_ANCHOR if the element has no anchor, or null if the anchor of the element is not cached
+     */
+    String getAnchorGUID(String elementGUID)
+    {
+        CachedValue<String> anchorGUID = anchorGUIDs.get(elementGUID);
+
+        if ((anchorGUID != null) && (! anchorGUID.isExpired(System.nanoTime())))
+        {
+            anchorGUIDHitCount.incrementAndGet();
+
+            return anchorGUID.value;
+        }
+
+        anchorGUIDMissCount.incrementAndGet();
+
+        return null;
+    }
+
+
+    /**
+     * Remember the anchor of an element.
+     *
+     * @param elementGUID unique identifier of the element
+     * @param anchorGUID unique identifier of the anchor or null if the element has no anchor
+     * @param generation event generation from before the anchor was derived
+     */
+    void addAnchorGUID(String elementGUID,
+                       String anchorGUID,
+                       long   generation)
+    {
+        CachedValue<String> cachedValue = new CachedValue<>(anchorGUID == null ? NO_ANCHOR : anchorGUID,
+                                                            System.nanoTime() + anchorGUIDTimeToLiveNanos);
+
+        anchorGUIDs.put(elementGUID, cachedValue);
+
+        if (anchorGUID != null)
+        {
+            dependents.compute(anchorGUID, (key, elementGUIDs) ->
+            {
+                Set<String> newElementGUIDs = (elementGUIDs == null) ? ConcurrentHashMap.newKeySet() : elementGUIDs;
+
+                newElementGUIDs.add(elementGUID);
+
+                return newElementGUIDs;
+            });
+        }
+
+        /*
+         * An event arrived while the anchor was being derived so it may be out of date.
+         */
+        if (eventGeneration.get() != generation)
+        {
+            if (anchorGUIDs.remove(elementGUID, cachedValue))
+            {
+                this.removeDependent(elementGUID, cachedValue);
+            }
+        }
+
+        this.checkSize();
+    }
+
+
+    /**
+     * Forget the anchor of an element because it was found to be out of date.
+     *
+     * @param elementGUID unique identifier of the element
+     */
+    void removeAnchorGUID(String elementGUID)
+    {
+        this.removeDependent(elementGUID, anchorGUIDs.remove(elementGUID));
+    }
+
+
+    /**
+     * Return a copy of the snapshot of an anchor entity retrieved for a user.
+     *
+     * @param anchorGUID unique identifier of the anchor
+     * @param userId calling user
+     * @param forLineage the query is to support lineage retrieval
+     * @param forDuplicateProcessing the query is for duplicate processing and so must not deduplicate
+     * @return anchor entity or null if there is no current snapshot
+     */
+    EntityDetail getAnchorEntity(String  anchorGUID,
+                                 String  userId,
+                                 boolean forLineage,
+                                 boolean forDuplicateProcessing)
+    {
+        Map<List<Object>, CachedValue<EntityDetail>> snapshots = anchorEntities.get(anchorGUID);
+
+        if (snapshots != null)
+        {
+            CachedValue<EntityDetail> snapshot = snapshots.get(Arrays.asList(userId, forLineage, forDuplicateProcessing));
+
+            if ((snapshot != null) && (! snapshot.isExpired(System.nanoTime())))
+            {
+                anchorEntityHitCount.incrementAndGet();
+
+                return new EntityDetail(snapshot.value);
+            }
+        }
+
+        anchorEntityMissCount.incrementAndGet();
+
+        return null;
+    }
+
+
+    /**
+     * Save a snapshot of an anchor entity retrieved for a user.  Anchors with effectivity dates are not saved.
+     *
+     * @param anchorEntity retrieved entity
+     * @param userId calling user
+     * @param forLineage the query is to support lineage retrieval
+     * @param forDuplicateProcessing the query is for duplicate processing and so must not deduplicate
+     * @param generation event generation from before the entity was retrieved
+     */
+    void addAnchorEntity(EntityDetail anchorEntity,
+                         String       userId,
+                         boolean      forLineage,
+                         boolean      forDuplicateProcessing,
+                         long         generation)
+    {
+        if ((anchorEntity == null) || (anchorEntity.getGUID() == null))
+        {
+            return;
+        }
+
+        InstanceProperties properties = anchorEntity.getProperties();
+
+        if ((properties != null) && ((properties.getEffectiveFromTime() != null) || (properties.getEffectiveToTime() != null)))
+        {
+            return;
+        }
+
+        Map<List<Object>, CachedValue<EntityDetail>> snapshots = anchorEntities.computeIfAbsent(anchorEntity.getGUID(),
+                                                                                                  anchorGUID -> new ConcurrentHashMap<>());
+
+        snapshots.put(Arrays.asList(userId, forLineage, forDuplicateProcessing),
+                      new CachedValue<>(new EntityDetail(anchorEntity), System.nanoTime() + anchorEntityTimeToLiveNanos));
+
+        if (eventGeneration.get() != generation)
+        {
+            anchorEntities.remove(anchorEntity.getGUID());
+        }
+
+        this.checkSize();
+    }
+
+
+    /**
+     * Return the current event generation.  This is passed back when values are added so that values that were
+     * retrieved while an event was processed are not cached.
+     *
+     * @return generation number
+     */
+    long getEventGeneration()
+    {
+        return eventGeneration.get();
+    }
+
+
+    /**
+     * Discard the cached values for an entity.
+     *
+     * @param entityGUID unique identifier of the entity
+     */
+    public void invalidate(String entityGUID)
+    {
+        if (entityGUID != null)
+        {
+            eventGeneration.incrementAndGet();
+            invalidationCount.incrementAndGet();
+
+            this.removeDependent(entityGUID, anchorGUIDs.remove(entityGUID));
+            anchorEntities.remove(entityGUID);
+        }
+    }
+
+
+    /**
+     * Discard the cached values for an entity and for the elements that have it as their anchor.
+     *
+     * @param entityGUID unique identifier of the entity
+     */
+    public void invalidateDependents(String entityGUID)
+    {
+        if (entityGUID != null)
+        {
+            this.invalidate(entityGUID);
+
+            Set<String> elementGUIDs = dependents.remove(entityGUID);
+
+            if (elementGUIDs != null)
+            {
+                for (String elementGUID : elementGUIDs)
+                {
+                    this.invalidate(elementGUID);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Discard all cached values.
+     */
+    public void invalidateAll()
+    {
+        eventGeneration.incrementAndGet();
+        invalidationCount.incrementAndGet();
+
+        anchorGUIDs.clear();
+        dependents.clear();
+        anchorEntities.clear();
+    }
+
+
+    /**
+     * Registry events do not affect the cache.
+     *
+     * @param event inbound event
+     */
+    @Override
+    public void processRegistryEvent(OMRSRegistryEvent event)
+    {
+    }
+
+
+    /**
+     * Type definition events do not affect the cache.
+     *
+     * @param event inbound event
+     */
+    @Override
+    public void processTypeDefEvent(OMRSTypeDefEvent event)
+    {
+    }
+
+
+    /**
+     * Discard the cached values for the entities in an instance event, along with the elements anchored to them.
+     * For a relationship, this is the entities at each end and the elements that depend on their anchors since
+     * the relationship may change the anchors of a whole part of the tree.
+     *
+     * @param event inbound event
+     */
+    @Override
+    public void processInstanceEvent(OMRSInstanceEvent event)
+    {
+        if (event != null)
+        {
+            if (event.getInstanceBatch() != null)
+            {
+                this.invalidateAll();
+                return;
+            }
+
+            this.invalidateDependents(event.getInstanceGUID());
+            this.invalidateDependents(event.getOriginalInstanceGUID());
+
+            if (event.getEntity() != null)
+            {
+                this.invalidateDependents(event.getEntity().getGUID());
+            }
+
+            if (event.getOriginalEntity() != null)
+            {
+                this.invalidateDependents(event.getOriginalEntity().getGUID());
+            }
+
+            this.invalidateRelationshipEnds(event.getRelationship());
+            this.invalidateRelationshipEnds(event.getOriginalRelationship());
+        }
+    }
+
+
+    /**
+     * Return the number of anchor lookups answered from the cache.
+     *
+     * @return count
+     */
+    public long getAnchorGUIDHitCount()
+    {
+        return anchorGUIDHitCount.get();
+    }
+
+
+    /**
+     * Return the number of anchor lookups that were not in the cache.
+     *
+     * @return count
+     */
+    public long getAnchorGUIDMissCount()
+    {
+        return anchorGUIDMissCount.get();
+    }
+
+
+    /**
+     * Return the percentage of anchor lookups answered from the cache.
+     *
+     * @return percentage
+     */
+    public double getAnchorGUIDHitRate()
+    {
+        return getHitRate(anchorGUIDHitCount.get(), anchorGUIDMissCount.get());
+    }
+
+
+    /**
+     * Return the number of anchor entity retrievals answered from the cache.
+     *
+     * @return count
+     */
+    public long getAnchorEntityHitCount()
+    {
+        return anchorEntityHitCount.get();
+    }
+
+
+    /**
+     * Return the number of anchor entity retrievals that were passed to the repositories.
+     *
+     * @return count
+     */
+    public long getAnchorEntityMissCount()
+    {
+        return anchorEntityMissCount.get();
+    }
+
+
+    /**
+     * Return the percentage of anchor entity retrievals answered from the cache.
+     *
+     * @return percentage
+     */
+    public double getAnchorEntityHitRate()
+    {
+        return getHitRate(anchorEntityHitCount.get(), anchorEntityMissCount.get());
+    }
+
+
+    /**
+     * Return the number of entries removed to keep the cache within its maximum size.
+     *
+     * @return count
+     */
+    public long getEvictionCount()
+    {
+        return evictionCount.get();
+    }
+
+
+    /**
+     * Return the number of times that cached values have been discarded because of an event.
+     *
+     * @return count
+     */
+    public long getInvalidationCount()
+    {
+        return invalidationCount.get();
+    }
+
+
+    /**
+     * Return the number of elements whose anchor is cached.
+     *
+     * @return count
+     */
+    public int getAnchorGUIDCount()
+    {
+        return anchorGUIDs.size();
+    }
+
+
+    /**
+     * Return the number of anchor entities with cached snapshots.
+     *
+     * @return count
+     */
+    public int getAnchorEntityCount()
+    {
+        return anchorEntities.size();
+    }
+
+
+    /**
+     * Return the maximum number of elements and anchor snapshots held in the cache.
+     *
+     * @return count
+     */
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+
+    /**
+     * Return the name of the server that this cache belongs to.
+     *
+     * @return server name
+     */
+    public String getServerName()
+    {
+        return serverName;
+    }
+
+
+    /**
+     * Return the name of the access service that this cache belongs to.
+     *
+     * @return service name
+     */
+    public String getServiceName()
+    {
+        return serviceName;
+    }
+
+
+    /**
+     * Calculate a hit rate.
+     *
+     * @param hitCount number of hits
+     * @param missCount number of misses
+     * @return percentage
+     */
+    private double getHitRate(long hitCount,
+                              long missCount)
+    {
+        if (hitCount + missCount == 0)
+        {
+            return 0;
+        }
+
+        return (hitCount * 100.0) / (hitCount + missCount);
+    }
+
+
+    /**
+     * Remove an element from the dependents of its anchor.
+     *
+     * @param elementGUID unique identifier of the element
+     * @param anchorGUID cached anchor of the element (may be null)
+     */
+    private void removeDependent(String              elementGUID,
+                                 CachedValue<String> anchorGUID)
+    {
+        if ((anchorGUID != null) && (! NO_ANCHOR.equals(anchorGUID.value)))
+        {
+            dependents.computeIfPresent(anchorGUID.value, (key, elementGUIDs) ->
+            {
+                elementGUIDs.remove(elementGUID);
+
+                return elementGUIDs.isEmpty() ? null : elementGUIDs;
+            });
+        }
+    }
+
+
+    /**
+     * Discard the cached values for the entities at each end of a relationship and for the elements that depend
+     * on their anchors.  If the anchor of either end is not known, the elements that depend on it can not be found
+     * so all cached anchors are discarded.
+     *
+     * @param relationship relationship from an event
+     */
+    private void invalidateRelationshipEnds(Relationship relationship)
+    {
+        if (relationship != null)
+        {
+            boolean endOneKnown = this.invalidateRelationshipEnd(relationship.getEntityOneProxy());
+            boolean endTwoKnown = this.invalidateRelationshipEnd(relationship.getEntityTwoProxy());
+
+            if (((! endOneKnown) || (! endTwoKnown)) && (! anchorGUIDs.isEmpty()))
+            {
+                this.invalidateAll();
+            }
+        }
+    }
+
+
+    /**
+     * Discard the cached values for the entity at one end of a relationship and for the elements that depend on
+     * its anchor.  The anchor comes from the cache or the Anchors classification in the entity proxy.
+     *
+     * @param entityProxy entity at one end of the relationship
+     * @return true if the anchor of the entity is known (or it is the anchor of cached elements)
+     */
+    private boolean invalidateRelationshipEnd(EntityProxy entityProxy)
+    {
+        if ((entityProxy == null) || (entityProxy.getGUID() == null))
+        {
+            return true;
+        }
+
+        String              entityGUID       = entityProxy.getGUID();
+        CachedValue<String> cachedAnchorGUID = anchorGUIDs.get(entityGUID);
+        String              classifiedAnchor = this.getAnchorGUIDFromAnchorsClassification(entityProxy);
+        boolean             anchorKnown      = (cachedAnchorGUID != null) || (classifiedAnchor != null) || (dependents.containsKey(entityGUID));
+
+        if ((cachedAnchorGUID != null) && (! NO_ANCHOR.equals(cachedAnchorGUID.value)))
+        {
+            this.invalidateDependents(cachedAnchorGUID.value);
+        }
+
+        this.invalidateDependents(classifiedAnchor);
+        this.invalidateDependents(entityGUID);
+
+        return anchorKnown;
+    }
+
+
+    /**
+     * Return the anchorGUID property from the Anchors classification of an entity proxy.
+     *
+     * @param entityProxy entity proxy from an event
+     * @return anchor GUID or null
+     */
+    private String getAnchorGUIDFromAnchorsClassification(EntityProxy entityProxy)
+    {
+        if (entityProxy.getClassifications() != null)
+        {
+            for (Classification classification : entityProxy.getClassifications())
+            {
+                if ((classification != null) &&
+                    (OpenMetadataAPIMapper.ANCHORS_CLASSIFICATION_TYPE_NAME.equals(classification.getName())) &&
+                    (classification.getProperties() != null))
+                {
+                    InstancePropertyValue anchorGUID = classification.getProperties().getPropertyValue(OpenMetadataAPIMapper.ANCHOR_GUID_PROPERTY_NAME);
+
+                    if ((anchorGUID instanceof PrimitivePropertyValue) && (((PrimitivePropertyValue) anchorGUID).getPrimitiveValue() != null))
+                    {
+                        return ((PrimitivePropertyValue) anchorGUID).getPrimitiveValue().toString();
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Evict entries if either part of the cache is too large.  Only one thread evicts at a time.
+     */
+    private void checkSize()
+    {
+        if (((anchorGUIDs.size() > maxSize) || (anchorEntities.size() > maxSize)) && (evictionRunning.compareAndSet(false, true)))
+        {
+            try
+            {
+                long now        = System.nanoTime();
+                int  targetSize = maxSize - (maxSize / 10);
+
+                evictAnchorGUIDs(now, targetSize);
+
+                /*
+                 * The evicted elements are removed from the dependents of their anchors.
+                 */
+                Iterator<Set<String>> dependentsIterator = dependents.values().iterator();
+
+                while (dependentsIterator.hasNext())
+                {
+                    Set<String> elementGUIDs = dependentsIterator.next();
+
+                    elementGUIDs.removeIf(elementGUID -> ! anchorGUIDs.containsKey(elementGUID));
+
+                    if (elementGUIDs.isEmpty())
+                    {
+                        dependentsIterator.remove();
+                    }
+                }
+
+                Iterator<Map<List<Object>, CachedValue<EntityDetail>>> snapshotIterator = anchorEntities.values().iterator();
+
+                while (snapshotIterator.hasNext())
+                {
+                    Map<List<Object>, CachedValue<EntityDetail>> snapshots = snapshotIterator.next();
+
+                    snapshots.values().removeIf(snapshot -> snapshot.isExpired(now));
+
+                    if (snapshots.isEmpty())
+                    {
+                        snapshotIterator.remove();
+                        evictionCount.incrementAndGet();
+                    }
+                }
+
+                snapshotIterator = anchorEntities.values().iterator();
+
+                while ((anchorEntities.size() > targetSize) && (snapshotIterator.hasNext()))
+                {
+                    snapshotIterator.next();
+                    snapshotIterator.remove();
+                    evictionCount.incrementAndGet();
+                }
+            }
+            finally
+            {
+                evictionRunning.set(false);
+            }
+        }
+    }
+
+
+    /**
+     * Remove the expired anchor GUIDs and then, if there are still too many, arbitrary anchor GUIDs until the
+     * cache is back to the target size.
+     *
+     * @param now current nano time
+     * @param targetSize number of anchor GUIDs to keep
+     */
+    private void evictAnchorGUIDs(long now,
+                                  int  targetSize)
+    {
+        Iterator<CachedValue<String>> anchorGUIDIterator = anchorGUIDs.values().iterator();
+
+        while (anchorGUIDIterator.hasNext())
+        {
+            if (anchorGUIDIterator.next().isExpired(now))
+            {
+                anchorGUIDIterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+
+        anchorGUIDIterator = anchorGUIDs.values().iterator();
+
+        while ((anchorGUIDs.size() > targetSize) && (anchorGUIDIterator.hasNext()))
+        {
+            anchorGUIDIterator.next();
+            anchorGUIDIterator.remove();
+            evictionCount.incrementAndGet();
+        }
+    }
+}
@@ -50,6 +50,7 @@ public class OpenMetadataAPIGenericHandler<B>
     protected List<String>                       defaultZones;
 
     protected RepositoryErrorHandler             errorHandler;
+    protected OpenMetadataAPIAnchorCache         anchorCache;
 
     private static final Logger log = LoggerFactory.getLogger(OpenMetadataAPIGenericHandler.class);
 
@@ -119,6 +120,7 @@ public class OpenMetadataAPIGenericHandler<B>
         this.auditLog                = auditLog;
 
         this.errorHandler            = new RepositoryErrorHandler(repositoryHelper, serviceName, serverName, auditLog);
+        this.anchorCache             = OpenMetadataAPIAnchorCache.getAnchorCache(serverName, serviceName);
 
         this.qualifiedNamePropertyNamesList = new ArrayList<>();
         this.qualifiedNamePropertyNamesList.add(OpenMetadataAPIMapper.QUALIFIED_NAME_PROPERTY_NAME);
@@ -143,6 +145,18 @@ public class OpenMetadataAPIGenericHandler<B>
     }
 
 
+    /**
+     * Return the anchor cache used by this handler.  Its statistics show how often anchors are found without
+     * calling the repositories.
+     *
+     * @return anchor cache or null if the service does not use an anchor cache
+     */
+    public OpenMetadataAPIAnchorCache getAnchorCache()
+    {
+        return anchorCache;
+    }
+
+
     /**
      * Return the list of supported zones for this asset.  This originates from the configuration of the access server.
      * but may be changed by the security verifier.
@@ -3719,50 +3733,74 @@ public class OpenMetadataAPIGenericHandler<B>
          * The exception occurs where the entity is not being managed by this handler, or something equivalent that maintains the Anchors
          * classification.
          */
-        String anchorGUID = this.getAnchorGUIDFromAnchorsClassification(connectToEntity, methodName);
+        String  anchorGUID          = this.getAnchorGUIDFromAnchorsClassification(connectToEntity, methodName);
+        boolean anchorGUIDFromCache = false;
 
-        if (anchorGUID == null)
+        if ((anchorGUID == null) && (anchorCache != null))
         {
             /*
-             * The classification is missing - so walk the relationships to find the anchor if it exists.
+             * The classification is missing - the anchor may have been found by an earlier request.
              */
-            anchorGUID = deriveAnchorGUID(connectToGUID, connectToEntity.getType().getTypeDefName(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            anchorGUID = anchorCache.getAnchorGUID(connectToGUID);
 
             if (anchorGUID != null)
             {
-                /*
-                 * The anchor has been found so store it in the classification so it is easy to find next time.
-                 */
-                maintainAnchorGUIDInClassification(connectToGUID,
-                                                   connectToGUIDParameterName,
-                                                   connectToType,
-                                                   connectToEntity,
-                                                   anchorGUID,
-                                                   forLineage,
-                                                   forDuplicateProcessing,
-                                                   effectiveTime,
-                                                   methodName);
+                anchorGUIDFromCache = true;
+
+                if (OpenMetadataAPIAnchorCache.NO_ANCHOR.equals(anchorGUID))
+                {
+                    anchorGUID = null;
+                }
             }
         }
 
+        if ((anchorGUID == null) && (! anchorGUIDFromCache))
+        {
+            anchorGUID = this.findAnchorGUID(connectToGUID,
+                                             connectToGUIDParameterName,
+                                             connectToType,
+                                             connectToEntity,
+                                             forLineage,
+                                             forDuplicateProcessing,
+                                             effectiveTime,
+                                             methodName);
+        }
+
         /*
          * If an anchor GUID has been found then validate it by retrieving the identified entity.  Note - anchorGUID may be null if the connectToEntity
          * is actually an anchor.
          */
-        if (anchorGUID != null)
+        if ((anchorGUID != null) && (! anchorGUID.equals(connectToEntity.getGUID())))
         {
-            final String anchorGUIDParameterName = "anchorGUID";
-
-            if (! anchorGUID.equals(connectToEntity.getGUID()))
+            try
             {
-                anchorEntity = repositoryHandler.getEntityByGUID(userId,
-                                                                 anchorGUID,
-                                                                 anchorGUIDParameterName,
-                                                                 OpenMetadataAPIMapper.REFERENCEABLE_TYPE_NAME,
-                                                                 forLineage,
-                                                                 forDuplicateProcessing,
-                                                                 effectiveTime,
-                                                                 methodName);
+                anchorEntity = this.getAnchorEntity(userId, anchorGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+            }
+            catch (InvalidParameterException unknownAnchor)
+            {
+                if (! anchorGUIDFromCache)
+                {
+                    throw unknownAnchor;
+                }
+
+                /*
+                 * The cached anchor is out of date so the relationships are walked again.
+                 */
+                anchorCache.removeAnchorGUID(connectToGUID);
+
+                anchorGUID = this.findAnchorGUID(connectToGUID,
+                                                 connectToGUIDParameterName,
+                                                 connectToType,
+                                                 connectToEntity,
+                                                 forLineage,
+                                                 forDuplicateProcessing,
+                                                 effectiveTime,
+                                                 methodName);
+
+                if ((anchorGUID != null) && (! anchorGUID.equals(connectToEntity.getGUID())))
+                {
+                    anchorEntity = this.getAnchorEntity(userId, anchorGUID, forLineage, forDuplicateProcessing, effectiveTime, methodName);
+                }
             }
         }
 
@@ -3811,6 +3849,122 @@ public class OpenMetadataAPIGenericHandler<B>
     }
 
 
+    /**
+     * Walk the relationships of an entity that has no Anchors classification to find its anchor.  If an anchor is found,
+     * it is stored in the Anchors classification so it is easy to find next time.  The result is also saved in the anchor cache
+     * (if there is one) since the classification can not always be stored.
+     *
+     * @param connectToGUID    unique id for the entity
+     * @param connectToGUIDParameterName  name of the parameter that passed the guid
+     * @param connectToType    name of type of connectToEntity
+     * @param connectToEntity  entity retrieved from the repository
+     * @param forLineage             the query is to support lineage retrieval
+     * @param forDuplicateProcessing the query is for duplicate processing and so must not deduplicate
+     * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param methodName       calling method
+     *
+     * @return anchorGUID or null
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws PropertyServerException there is a problem accessing the properties in the repositories.
+     * @throws UserNotAuthorizedException the local server userId does not have access to the repository instances
+     */
+    private String findAnchorGUID(String        connectToGUID,
+                                  String        connectToGUIDParameterName,
+                                  String        connectToType,
+                                  EntityDetail  connectToEntity,
+                                  boolean       forLineage,
+                                  boolean       forDuplicateProcessing,
+                                  Date          effectiveTime,
+                                  String        methodName) throws InvalidParameterException,
+                                                                   PropertyServerException,
+                                                                   UserNotAuthorizedException
+    {
+        long generation = (anchorCache == null) ? 0 : anchorCache.getEventGeneration();
+
+        String anchorGUID = deriveAnchorGUID(connectToGUID, connectToEntity.getType().getTypeDefName(), forLineage, forDuplicateProcessing, effectiveTime, methodName);
+
+        if (anchorGUID != null)
+        {
+            maintainAnchorGUIDInClassification(connectToGUID,
+                                               connectToGUIDParameterName,
+                                               connectToType,
+                                               connectToEntity,
+                                               anchorGUID,
+                                               forLineage,
+                                               forDuplicateProcessing,
+                                               effectiveTime,
+                                               methodName);
+        }
+
+        if (anchorCache != null)
+        {
+            anchorCache.addAnchorGUID(connectToGUID, anchorGUID, generation);
+        }
+
+        return anchorGUID;
+    }
+
+
+    /**
+     * Retrieve the anchor entity for the user.  A recent snapshot from the anchor cache is used if available.
+     *
+     * @param userId           userId of user making request.
+     * @param anchorGUID       unique identifier of the anchor
+     * @param forLineage             the query is to support lineage retrieval
+     * @param forDuplicateProcessing the query is for duplicate processing and so must not deduplicate
+     * @param effectiveTime the time that the retrieved elements must be effective for (null for any time, new Date() for now)
+     * @param methodName       calling method
+     *
+     * @return anchor entity
+     *
+     * @throws InvalidParameterException the anchor entity is not known
+     * @throws PropertyServerException there is a problem accessing the properties in the repositories.
+     * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
+     */
+    private EntityDetail getAnchorEntity(String  userId,
+                                         String  anchorGUID,
+                                         boolean forLineage,
+                                         boolean forDuplicateProcessing,
+                                         Date    effectiveTime,
+                                         String  methodName) throws InvalidParameterException,
+                                                                    PropertyServerException,
+                                                                    UserNotAuthorizedException
+    {
+        final String anchorGUIDParameterName = "anchorGUID";
+
+        long generation = 0;
+
+        if (anchorCache != null)
+        {
+            EntityDetail anchorEntity = anchorCache.getAnchorEntity(anchorGUID, userId, forLineage, forDuplicateProcessing);
+
+            if (anchorEntity != null)
+            {
+                return anchorEntity;
+            }
+
+            generation = anchorCache.getEventGeneration();
+        }
+
+        EntityDetail anchorEntity = repositoryHandler.getEntityByGUID(userId,
+                                                                      anchorGUID,
+                                                                      anchorGUIDParameterName,
+                                                                      OpenMetadataAPIMapper.REFERENCEABLE_TYPE_NAME,
+                                                                      forLineage,
+                                                                      forDuplicateProcessing,
+                                                                      effectiveTime,
+                                                                      methodName);
+
+        if (anchorCache != null)
+        {
+            anchorCache.addAnchorEntity(anchorEntity, userId, forLineage, forDuplicateProcessing, generation);
+        }
+
+        return anchorEntity;
+    }
+
+
     /**
      * Validates that the unique property is not already in use.
      *
@@ -71,6 +71,13 @@ public enum GenericHandlersAuditCode implements AuditLogMessageSet
                           "This message is to highlight that an entity has lost its anchor, and a delete was attempted on it, but failed. " +
                                   "An administrator should assess what is required for the entity, and either delete it or supply a new anchor for it."),
 
+    ANCHOR_CACHE_STATISTICS("OMAG-GENERIC-HANDLERS-0007",
+                          OMRSAuditLogRecordSeverity.INFO,
+                          "The anchor cache of the {0} service in server {1} is shutting down.  It answered {2} anchor lookups and " +
+                                  "missed {3}; it answered {4} anchor entity retrievals and missed {5}; {6} entries were evicted",
+                          "The anchor cache has been removed as the service shuts down.",
+                          "No action is required.  The hit and miss counts can be used to choose the size and time to live of the cache."),
+
     ;
 
     private String                     logMessageId;
@@ -0,0 +1,448 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.generichandlers;
+
+import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
+import org.odpi.openmetadata.commonservices.repositoryhandler.RepositoryHandler;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Verify that the external identifier index resolves identifiers by scope, stays within its maximum size
+ * and only removes entries that are out of date, and that the external identifier handler uses it to avoid
+ * searching the repository.
+ */
+public class ExternalIdentifierIndexTest
+{
+    private static final String serverName  = "TestServer";
+    private static final String serviceName = "Test OMAS";
+    private static final String userId      = "testUser";
+
+    /**
+     * Validate that the same identifier in different scopes resolves to different ExternalId entities and that
+     * out of date entries are removed.
+     */
+    @Test
+    public void testScopes()
+    {
+        ExternalIdentifierIndex index = new ExternalIdentifierIndex(ExternalIdentifierIndex.defaultMaxSize);
+
+        index.addExternalIdGUID("scope1", "table1", "guid1");
+        index.addExternalIdGUID("scope2", "table1", "guid2");
+        index.addExternalIdGUID("scope2", null, "guid3");
+
+        assertEquals(index.getSize(), 2);
+        assertEquals(index.getExternalIdGUID("scope1", "table1"), "guid1");
+        assertEquals(index.getExternalIdGUID("scope2", "table1"), "guid2");
+        assertNull(index.getExternalIdGUID("scope3", "table1"));
+        assertEquals(index.getHitCount(), 2L);
+        assertEquals(index.getMissCount(), 1L);
+
+        index.removeExternalIdGUID("scope1", "table1", "oldGUID");
+        assertEquals(index.getExternalIdGUID("scope1", "table1"), "guid1");
+
+        index.removeExternalIdGUID("scope1", "table1", "guid1");
+        assertNull(index.getExternalIdGUID("scope1", "table1"));
+        assertEquals(index.getSize(), 1);
+    }
+
+
+    /**
+     * Validate that the least recently used entries are discarded when the index is full.
+     */
+    @Test
+    public void testBoundedIndex()
+    {
+        ExternalIdentifierIndex index = new ExternalIdentifierIndex(100);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            index.addExternalIdGUID("scope", "identifier" + i, "guid" + i);
+
+            /*
+             * Keep the first entry in use so that it is not discarded.
+             */
+            assertEquals(index.getExternalIdGUID("scope", "identifier0"), "guid0");
+        }
+
+        assertEquals(index.getSize(), 100);
+        assertEquals(index.getEvictionCount(), 900L);
+        assertNull(index.getExternalIdGUID("scope", "identifier1"));
+        assertEquals(index.getExternalIdGUID("scope", "identifier999"), "guid999");
+    }
+
+
+    /**
+     * Validate that the handler resolves identifiers through the index once they have been found by a search,
+     * and that an out of date index entry falls back to the search.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testHandlerLookups() throws Exception
+    {
+        final int scopeSize = 200;
+
+        StubRepositoryHandler stubRepository = new StubRepositoryHandler();
+
+        for (int i = 0; i < scopeSize; i++)
+        {
+            stubRepository.addExternalId("guid" + i, "identifier" + i, "scope");
+        }
+
+        ExternalIdentifierHandler<OpenMetadataAPIDummyBean, OpenMetadataAPIDummyBean> handler = getHandler(stubRepository);
+
+        for (int pass = 0; pass < 2; pass++)
+        {
+            for (int i = 0; i < scopeSize; i++)
+            {
+                assertEquals(getExternalIdEntity(handler, "identifier" + i).getGUID(), "guid" + i);
+            }
+        }
+
+        assertEquals(stubRepository.getSearchCount(), (long) scopeSize);
+        assertEquals(handler.getExternalIdentifierIndex().getHitCount(), (long) scopeSize);
+
+        stubRepository.removeExternalId("guid0");
+
+        assertNull(getExternalIdEntity(handler, "identifier0"));
+        assertEquals(stubRepository.getSearchCount(), (long) scopeSize + 1);
+        assertEquals(handler.getExternalIdentifierIndex().getSize(), scopeSize - 1);
+    }
+
+
+    /**
+     * Resolve every identifier in a large scope through the handler, first by searching the stubbed repository and
+     * then through the index.  The stubbed search scans every ExternalId entity, as a repository without an index
+     * on the identifier property would.  This is in the benchmark group so it is excluded from the normal build.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test(groups = "benchmark")
+    public void benchmarkHandlerLookups() throws Exception
+    {
+        final int scopeSize = 5000;
+
+        StubRepositoryHandler stubRepository = new StubRepositoryHandler();
+
+        for (int i = 0; i < scopeSize; i++)
+        {
+            stubRepository.addExternalId("guid" + i, "identifier" + i, "largeScope");
+        }
+
+        ExternalIdentifierHandler<OpenMetadataAPIDummyBean, OpenMetadataAPIDummyBean> handler = getHandler(stubRepository);
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < scopeSize; i++)
+        {
+            assertEquals(getExternalIdEntity(handler, "identifier" + i).getGUID(), "guid" + i);
+        }
+
+        long searchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        start = System.nanoTime();
+
+        for (int i = 0; i < scopeSize; i++)
+        {
+            assertEquals(getExternalIdEntity(handler, "identifier" + i).getGUID(), "guid" + i);
+        }
+
+        long indexMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(stubRepository.getSearchCount(), (long) scopeSize);
+
+        Reporter.log("Resolved " + scopeSize + " external identifiers in a scope of " + scopeSize + " identifiers: " +
+                             searchMillis + "ms by search, " + indexMillis + "ms through the index", true);
+    }
+
+
+    /**
+     * Create an external identifier handler that uses the stubbed repository.
+     *
+     * @param stubRepository stubbed repository handler
+     * @return handler
+     */
+    private ExternalIdentifierHandler<OpenMetadataAPIDummyBean, OpenMetadataAPIDummyBean> getHandler(StubRepositoryHandler stubRepository)
+    {
+        InvalidParameterHandler invalidParameterHandler = new InvalidParameterHandler();
+
+        invalidParameterHandler.setMaxPagingSize(100);
+
+        return new ExternalIdentifierHandler<>(null,
+                                               OpenMetadataAPIDummyBean.class,
+                                               null,
+                                               OpenMetadataAPIDummyBean.class,
+                                               serviceName,
+                                               serverName,
+                                               invalidParameterHandler,
+                                               stubRepository,
+                                               stubRepository.getRepositoryHelper(),
+                                               userId,
+                                               null,
+                                               null,
+                                               null,
+                                               null,
+                                               null);
+    }
+
+
+    /**
+     * Look up the ExternalId entity for an identifier in the scope used by the stubbed repository.
+     *
+     * @param handler handler under test
+     * @param identifier identifier from the third party technology
+     * @return ExternalId entity or null
+     * @throws Exception problem in the lookup
+     */
+    private EntityDetail getExternalIdEntity(ExternalIdentifierHandler<OpenMetadataAPIDummyBean, OpenMetadataAPIDummyBean> handler,
+                                             String                                                                        identifier) throws Exception
+    {
+        final String methodName = "getExternalIdEntity";
+
+        return handler.getExternalIdEntity(userId,
+                                           identifier,
+                                           "identifier",
+                                           StubRepositoryHandler.scopeGUID,
+                                           "scopeGUID",
+                                           "TestScope",
+                                           "SoftwareServerCapability",
+                                           null,
+                                           methodName);
+    }
+
+
+    /**
+     * StubRepositoryHandler holds ExternalId entities in memory.  Retrieving an entity by GUID is a map lookup and
+     * a search on the identifier property scans every ExternalId entity.  The repository helper it supplies only
+     * implements the methods used when an ExternalId entity is looked up.
+     */
+    private static class StubRepositoryHandler extends RepositoryHandler
+    {
+        static final String scopeGUID = "scopeGUID";
+
+        private final Map<String, EntityDetail> externalIds = new LinkedHashMap<>();
+        private long                            searchCount = 0;
+
+        private final OMRSRepositoryHelper repositoryHelper = (OMRSRepositoryHelper) Proxy.newProxyInstance(OMRSRepositoryHelper.class.getClassLoader(),
+                                                                                                             new Class<?>[] { OMRSRepositoryHelper.class },
+                                                                                                             StubRepositoryHandler::invokeHelper);
+
+
+        /**
+         * Constructor
+         */
+        StubRepositoryHandler()
+        {
+            super(null, null, null, null, 100);
+        }
+
+
+        /**
+         * Add an ExternalId entity anchored to the scope.
+         *
+         * @param guid unique identifier of the ExternalId entity
+         * @param identifier identifier from the third party technology
+         * @param scopeName name used to make the entities distinct in each test
+         */
+        void addExternalId(String guid,
+                           String identifier,
+                           String scopeName)
+        {
+            InstanceType type = new InstanceType();
+            type.setTypeDefName(OpenMetadataAPIMapper.EXTERNAL_IDENTIFIER_TYPE_NAME);
+
+            InstanceProperties anchorProperties = new InstanceProperties();
+            anchorProperties.setProperty(OpenMetadataAPIMapper.ANCHOR_GUID_PROPERTY_NAME, getStringValue(scopeGUID));
+
+            Classification anchors = new Classification();
+            anchors.setName(OpenMetadataAPIMapper.ANCHORS_CLASSIFICATION_TYPE_NAME);
+            anchors.setProperties(anchorProperties);
+
+            InstanceProperties properties = new InstanceProperties();
+            properties.setProperty(OpenMetadataAPIMapper.IDENTIFIER_PROPERTY_NAME, getStringValue(identifier));
+            properties.setProperty(OpenMetadataAPIMapper.QUALIFIED_NAME_PROPERTY_NAME, getStringValue(scopeName + "::" + identifier));
+
+            EntityDetail externalId = new EntityDetail();
+            externalId.setGUID(guid);
+            externalId.setType(type);
+            externalId.setProperties(properties);
+            externalId.setClassifications(Collections.singletonList(anchors));
+
+            externalIds.put(guid, externalId);
+        }
+
+
+        /**
+         * Remove an ExternalId entity.
+         *
+         * @param guid unique identifier of the ExternalId entity
+         */
+        void removeExternalId(String guid)
+        {
+            externalIds.remove(guid);
+        }
+
+
+        /**
+         * Return the number of searches on the identifier property.
+         *
+         * @return count
+         */
+        long getSearchCount()
+        {
+            return searchCount;
+        }
+
+
+        /**
+         * Return the stubbed repository helper.
+         *
+         * @return repository helper
+         */
+        OMRSRepositoryHelper getRepositoryHelper()
+        {
+            return repositoryHelper;
+        }
+
+
+        /**
+         * Return the ExternalId entity with the requested GUID.
+         */
+        @Override
+        public EntityDetail getEntityByGUID(String  userId,
+                                            String  guid,
+                                            String  guidParameterName,
+                                            String  entityTypeName,
+                                            boolean forLineage,
+                                            boolean forDuplicateProcessing,
+                                            Date    effectiveTime,
+                                            String  methodName)
+        {
+            return externalIds.get(guid);
+        }
+
+
+        /**
+         * Scan every ExternalId entity for the requested identifier.
+         */
+        @Override
+        public List<EntityDetail> getEntitiesByName(String             userId,
+                                                    InstanceProperties nameProperties,
+                                                    String             entityTypeGUID,
+                                                    String             sequencingPropertyName,
+                                                    boolean            forLineage,
+                                                    boolean            forDuplicateProcessing,
+                                                    int                startingFrom,
+                                                    int                pageSize,
+                                                    Date               effectiveTime,
+                                                    String             methodName)
+        {
+            if (startingFrom > 0)
+            {
+                return null;
+            }
+
+            searchCount ++;
+
+            Object             identifier = nameProperties.getPropertyValue(OpenMetadataAPIMapper.IDENTIFIER_PROPERTY_NAME);
+            List<EntityDetail> results    = new ArrayList<>();
+
+            for (EntityDetail externalId : externalIds.values())
+            {
+                if (identifier.equals(externalId.getProperties().getPropertyValue(OpenMetadataAPIMapper.IDENTIFIER_PROPERTY_NAME)))
+                {
+                    results.add(externalId);
+                }
+            }
+
+            if (results.isEmpty())
+            {
+                return null;
+            }
+
+            return results;
+        }
+
+
+        /**
+         * Implement the repository helper methods used to look up an ExternalId entity.
+         *
+         * @param proxy repository helper proxy
+         * @param method called method
+         * @param args arguments
+         * @return result
+         */
+        private static Object invokeHelper(Object   proxy,
+                                           Method   method,
+                                           Object[] args)
+        {
+            switch (method.getName())
+            {
+                case "getExactMatchRegex":
+                    return args[0];
+
+                case "addStringPropertyToInstance":
+                    InstanceProperties properties = (args[1] == null) ? new InstanceProperties() : (InstanceProperties) args[1];
+                    properties.setProperty((String) args[2], getStringValue((String) args[3]));
+                    return properties;
+
+                case "getStringProperty":
+                    InstanceProperties instanceProperties = (InstanceProperties) args[2];
+                    Object             propertyValue      = (instanceProperties == null) ? null : instanceProperties.getPropertyValue((String) args[1]);
+                    return (propertyValue == null) ? null : ((PrimitivePropertyValue) propertyValue).getPrimitiveValue();
+
+                case "getClassificationFromEntity":
+                    for (Classification classification : ((EntitySummary) args[1]).getClassifications())
+                    {
+                        if (classification.getName().equals(args[2]))
+                        {
+                            return classification;
+                        }
+                    }
+                    return null;
+
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }
+
+
+        /**
+         * Create a string property value.
+         *
+         * @param value string value
+         * @return property value
+         */
+        private static PrimitivePropertyValue getStringValue(String value)
+        {
+            PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+            propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+            propertyValue.setPrimitiveValue(value);
+
+            return propertyValue;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.generichandlers;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the anchor cache remembers anchors and anchor entities, discards them when instance events arrive
+ * and stays within its maximum size.
+ */
+public class OpenMetadataAPIAnchorCacheTest
+{
+    private static final String serverName  = "TestServer";
+    private static final String serviceName = "Test OMAS";
+    private static final String userId      = "testUser";
+
+
+    /**
+     * Create an entity with the requested GUID.
+     *
+     * @param guid unique identifier
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+
+        return entity;
+    }
+
+
+    /**
+     * Create an entity proxy with an optional Anchors classification.
+     *
+     * @param guid unique identifier
+     * @param anchorGUID unique identifier of the anchor stored in the Anchors classification (or null for no classification)
+     * @return entity proxy
+     */
+    private EntityProxy getProxy(String guid,
+                                 String anchorGUID)
+    {
+        EntityProxy entityProxy = new EntityProxy();
+
+        entityProxy.setGUID(guid);
+
+        if (anchorGUID != null)
+        {
+            PrimitivePropertyValue anchorGUIDValue = new PrimitivePropertyValue();
+            anchorGUIDValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+            anchorGUIDValue.setPrimitiveValue(anchorGUID);
+
+            InstanceProperties properties = new InstanceProperties();
+            properties.setProperty(OpenMetadataAPIMapper.ANCHOR_GUID_PROPERTY_NAME, anchorGUIDValue);
+
+            Classification anchors = new Classification();
+            anchors.setName(OpenMetadataAPIMapper.ANCHORS_CLASSIFICATION_TYPE_NAME);
+            anchors.setProperties(properties);
+
+            entityProxy.setClassifications(Collections.singletonList(anchors));
+        }
+
+        return entityProxy;
+    }
+
+
+    /**
+     * Create a relationship between two entities.
+     *
+     * @param endOne entity at end one
+     * @param endTwo entity at end two
+     * @return relationship
+     */
+    private Relationship getRelationship(EntityProxy endOne,
+                                         EntityProxy endTwo)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setEntityOneProxy(endOne);
+        relationship.setEntityTwoProxy(endTwo);
+
+        return relationship;
+    }
+
+
+    /**
+     * Validate that anchor GUIDs are cached (including elements with no anchor) and discarded by events.
+     */
+    @Test
+    public void testAnchorGUIDs()
+    {
+        OpenMetadataAPIAnchorCache anchorCache = new OpenMetadataAPIAnchorCache(serverName, serviceName, 100, 600, 600, null);
+
+        assertNull(anchorCache.getAnchorGUID("column1"));
+
+        anchorCache.addAnchorGUID("column1", "asset1", anchorCache.getEventGeneration());
+        anchorCache.addAnchorGUID("column2", null, anchorCache.getEventGeneration());
+
+        assertEquals(anchorCache.getAnchorGUID("column1"), "asset1");
+        assertEquals(anchorCache.getAnchorGUID("column2"), OpenMetadataAPIAnchorCache.NO_ANCHOR);
+        assertEquals(anchorCache.getAnchorGUIDHitCount(), 2L);
+        assertEquals(anchorCache.getAnchorGUIDMissCount(), 1L);
+
+        /*
+         * A new relationship to the column may change its anchor.
+         */
+        anchorCache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT,
+                                                               getRelationship(getProxy("table1", "asset2"), getProxy("column2", null))));
+
+        assertEquals(anchorCache.getAnchorGUID("column1"), "asset1");
+        assertNull(anchorCache.getAnchorGUID("column2"));
+
+        /*
+         * An anchor derived while an event was processed is not cached.
+         */
+        long generation = anchorCache.getEventGeneration();
+
+        anchorCache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, getEntity("column1")));
+        anchorCache.addAnchorGUID("column3", "asset1", generation);
+
+        assertNull(anchorCache.getAnchorGUID("column1"));
+        assertNull(anchorCache.getAnchorGUID("column3"));
+        assertEquals(anchorCache.getAnchorGUIDCount(), 0);
+        assertTrue(anchorCache.getAnchorGUIDHitRate() > 0);
+    }
+
+
+    /**
+     * Validate that moving part of the tree to another anchor discards the anchors of the elements below it,
+     * and that all anchors are discarded when the anchor of a relationship end is not known.
+     */
+    @Test
+    public void testDescendantAnchors()
+    {
+        OpenMetadataAPIAnchorCache anchorCache = new OpenMetadataAPIAnchorCache(serverName, serviceName, 100, 600, 600, null);
+
+        anchorCache.addAnchorGUID("column1", "asset1", anchorCache.getEventGeneration());
+        anchorCache.addAnchorGUID("column2", "asset1", anchorCache.getEventGeneration());
+        anchorCache.addAnchorGUID("column3", "asset3", anchorCache.getEventGeneration());
+        anchorCache.addAnchorGUID("asset2", null, anchorCache.getEventGeneration());
+
+        /*
+         * The table that the columns are nested under is moved to another asset.
+         */
+        anchorCache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT,
+                                                               getRelationship(getProxy("asset2", null), getProxy("table1", "asset1"))));
+
+        assertNull(anchorCache.getAnchorGUID("column1"));
+        assertNull(anchorCache.getAnchorGUID("column2"));
+        assertNull(anchorCache.getAnchorGUID("asset2"));
+        assertEquals(anchorCache.getAnchorGUID("column3"), "asset3");
+
+        /*
+         * Neither end of this relationship has a known anchor.
+         */
+        anchorCache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.DELETED_RELATIONSHIP_EVENT,
+                                                               getRelationship(getProxy("schema1", null), getProxy("schema2", null))));
+
+        assertNull(anchorCache.getAnchorGUID("column3"));
+        assertEquals(anchorCache.getAnchorGUIDCount(), 0);
+    }
+
+
+    /**
+     * Validate that anchor entity snapshots are kept per user and that anchors with effectivity dates are not cached.
+     */
+    @Test
+    public void testAnchorEntities()
+    {
+        OpenMetadataAPIAnchorCache anchorCache = new OpenMetadataAPIAnchorCache(serverName, serviceName, 100, 600, 600, null);
+
+        EntityDetail asset = getEntity("asset1");
+
+        anchorCache.addAnchorEntity(asset, userId, false, false, anchorCache.getEventGeneration());
+
+        EntityDetail cachedAsset = anchorCache.getAnchorEntity("asset1", userId, false, false);
+
+        assertNotNull(cachedAsset);
+        assertTrue(cachedAsset != asset);
+        assertEquals(cachedAsset.getGUID(), "asset1");
+        assertNull(anchorCache.getAnchorEntity("asset1", "otherUser", false, false));
+        assertNull(anchorCache.getAnchorEntity("asset1", userId, true, false));
+        assertEquals(anchorCache.getAnchorEntityHitCount(), 1L);
+        assertEquals(anchorCache.getAnchorEntityMissCount(), 2L);
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setEffectiveToTime(new Date());
+
+        EntityDetail effectiveAsset = getEntity("asset2");
+        effectiveAsset.setProperties(properties);
+
+        anchorCache.addAnchorEntity(effectiveAsset, userId, false, false, anchorCache.getEventGeneration());
+        assertNull(anchorCache.getAnchorEntity("asset2", userId, false, false));
+
+        anchorCache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.DELETED_ENTITY_EVENT, asset));
+        assertNull(anchorCache.getAnchorEntity("asset1", userId, false, false));
+        assertEquals(anchorCache.getAnchorEntityCount(), 0);
+    }
+
+
+    /**
+     * Validate that expired values are not returned and that the cache stays within its maximum size.
+     */
+    @Test
+    public void testBoundedCache()
+    {
+        OpenMetadataAPIAnchorCache anchorCache = new OpenMetadataAPIAnchorCache(serverName, serviceName, 50, 600, 0, null);
+
+        anchorCache.addAnchorEntity(getEntity("asset1"), userId, false, false, anchorCache.getEventGeneration());
+        assertNull(anchorCache.getAnchorEntity("asset1", userId, false, false));
+
+        for (int i = 0; i < 500; i++)
+        {
+            anchorCache.addAnchorGUID("element" + i, "asset" + (i % 10), anchorCache.getEventGeneration());
+            anchorCache.addAnchorEntity(getEntity("asset" + i), userId, false, false, anchorCache.getEventGeneration());
+
+            assertTrue(anchorCache.getAnchorGUIDCount() <= 50);
+            assertTrue(anchorCache.getAnchorEntityCount() <= 50);
+        }
+
+        assertTrue(anchorCache.getEvictionCount() >= 900);
+    }
+
+
+    /**
+     * Validate that the handlers of a service find the cache created for the service.
+     */
+    @Test
+    public void testRegistry()
+    {
+        OpenMetadataAPIAnchorCache anchorCache = OpenMetadataAPIAnchorCache.createAnchorCache(serverName,
+                                                                                              serviceName,
+                                                                                              OpenMetadataAPIAnchorCache.defaultMaxSize,
+                                                                                              OpenMetadataAPIAnchorCache.defaultAnchorGUIDTimeToLive,
+                                                                                              OpenMetadataAPIAnchorCache.defaultAnchorEntityTimeToLive,
+                                                                                              null);
+
+        assertSame(OpenMetadataAPIAnchorCache.getAnchorCache(serverName, serviceName), anchorCache);
+        assertNull(OpenMetadataAPIAnchorCache.getAnchorCache(serverName, "Other OMAS"));
+
+        OpenMetadataAPIGenericHandler<OpenMetadataAPIDummyBean> handler = new OpenMetadataAPIGenericHandler<>(null,
+                                                                                                             OpenMetadataAPIDummyBean.class,
+                                                                                                             serviceName,
+                                                                                                             serverName,
+                                                                                                             null,
+                                                                                                             null,
+                                                                                                             null,
+                                                                                                             userId,
+                                                                                                             null,
+                                                                                                             null,
+                                                                                                             null,
+                                                                                                             null,
+                                                                                                             null);
+        assertSame(handler.getAnchorCache(), anchorCache);
+
+        OpenMetadataAPIAnchorCache.removeAnchorCache(serverName, serviceName);
+        assertNull(OpenMetadataAPIAnchorCache.getAnchorCache(serverName, serviceName));
+    }
+}
@@ -0,0 +1,24 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.connectors;
+
+/**
+ * OpenMetadataSecurityPolicyChangeListener is notified by an Open Metadata Server Security Connector when the
+ * policies that it uses to make its authorization decisions change.  The server uses this to discard any
+ * decisions that it has cached.
+ */
+public interface OpenMetadataSecurityPolicyChangeListener
+{
+    /**
+     * The policies have changed in a way that may affect any user.
+     */
+    void policyChanged();
+
+
+    /**
+     * The policies have changed in a way that only affects a single user.
+     *
+     * @param userId user affected by the change
+     */
+    void policyChangedForUser(String userId);
+}
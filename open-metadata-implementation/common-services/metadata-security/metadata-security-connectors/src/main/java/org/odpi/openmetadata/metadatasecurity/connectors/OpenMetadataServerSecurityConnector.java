@@ -47,6 +47,8 @@ public class OpenMetadataServerSecurityConnector extends ConnectorBase implement
 
     protected final String unknownTypeName = "<Unknown>";
 
+    private volatile OpenMetadataSecurityPolicyChangeListener policyChangeListener = null;
+
 
     /**
      * Write an audit log message to say that the connector is initializing.
@@ -625,6 +627,49 @@ public class OpenMetadataServerSecurityConnector extends ConnectorBase implement
     }
 
 
+    /**
+     * Register the listener to notify when the policies used by this connector change.
+     *
+     * @param policyChangeListener listener (or null to remove the listener)
+     */
+    public void setPolicyChangeListener(OpenMetadataSecurityPolicyChangeListener policyChangeListener)
+    {
+        this.policyChangeListener = policyChangeListener;
+    }
+
+
+    /**
+     * Called by the subclass when the policies used to make its authorization decisions have changed.
+     * Any decisions cached by the server are discarded.
+     */
+    protected void notifyPolicyChange()
+    {
+        OpenMetadataSecurityPolicyChangeListener listener = policyChangeListener;
+
+        if (listener != null)
+        {
+            listener.policyChanged();
+        }
+    }
+
+
+    /**
+     * Called by the subclass when the policies used to make authorization decisions for a specific user have changed.
+     * Any decisions cached by the server for this user are discarded.
+     *
+     * @param userId user affected by the change
+     */
+    protected void notifyPolicyChange(String userId)
+    {
+        OpenMetadataSecurityPolicyChangeListener listener = policyChangeListener;
+
+        if (listener != null)
+        {
+            listener.policyChangedForUser(userId);
+        }
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      *
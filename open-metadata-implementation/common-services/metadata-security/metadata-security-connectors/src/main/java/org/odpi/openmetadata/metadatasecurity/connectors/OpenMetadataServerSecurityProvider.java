@@ -11,6 +11,18 @@ import org.odpi.openmetadata.frameworks.connectors.ConnectorProviderBase;
  */
 public abstract class OpenMetadataServerSecurityProvider extends ConnectorProviderBase
 {
+    /**
+     * Configuration property that enables the cache of authorization decisions in the server.  It is the number of
+     * seconds that a decision is reused before the connector is asked again.  The cache is disabled if this
+     * property is not set (or is not positive).
+     */
+    public static final String decisionCacheTimeToLiveProperty = "decisionCacheTimeToLive";
+
+    /**
+     * Configuration property that sets the maximum number of authorization decisions held in the cache.
+     */
+    public static final String decisionCacheMaxSizeProperty = "decisionCacheMaxSize";
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * OMRS Connector implementation.
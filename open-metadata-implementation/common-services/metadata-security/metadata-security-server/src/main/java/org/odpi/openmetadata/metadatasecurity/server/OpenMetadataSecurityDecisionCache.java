@@ -0,0 +1,311 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.server;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataSecurityPolicyChangeListener;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * OpenMetadataSecurityDecisionCache remembers the authorization decisions made by an Open Metadata Server
+ * Security Connector so that repeated checks for the same user, operation and resource do not call the connector
+ * (which may consult an external policy store).  Both approvals and rejections are cached.
+ * <p>
+ *     Each decision is reused for a fixed time to live.  The number of decisions is bounded: when the limit is
+ *     exceeded the expired decisions are removed, followed by arbitrary decisions if the cache is still too large.
+ *     The connector signals a change to its policies through the OpenMetadataSecurityPolicyChangeListener
+ *     interface and the affected decisions are discarded.  A decision that was being made while the policies
+ *     changed is not cached.
+ * </p>
+ * <p>
+ *     The hit and miss counts can be used to choose the size and time to live of the cache.
+ * </p>
+ */
+public class OpenMetadataSecurityDecisionCache implements OpenMetadataSecurityPolicyChangeListener
+{
+    private final long timeToLiveNanos;
+    private final int  maxSize;
+
+    private final Map<List<Object>, Decision> decisions = new ConcurrentHashMap<>();
+
+    private final AtomicLong    hitCount          = new AtomicLong(0);
+    private final AtomicLong    missCount         = new AtomicLong(0);
+    private final AtomicLong    evictionCount     = new AtomicLong(0);
+    private final AtomicLong    invalidationCount = new AtomicLong(0);
+    private final AtomicLong    policyGeneration  = new AtomicLong(0);
+    private final AtomicBoolean evictionRunning   = new AtomicBoolean(false);
+
+
+    /**
+     * SecurityCheck calls the security connector to make a decision.
+     */
+    interface SecurityCheck
+    {
+        /**
+         * Make the decision.
+         *
+         * @throws UserNotAuthorizedException the user is not authorized
+         */
+        void validate() throws UserNotAuthorizedException;
+    }
+
+
+    /**
+     * Decision is a cached decision.
+     */
+    private static class Decision
+    {
+        private final UserNotAuthorizedException rejection;
+        private final long                       expiryTime;
+
+
+        /**
+         * Constructor
+         *
+         * @param rejection exception to throw or null if the request is authorized
+         * @param expiryTime nano time when the decision expires
+         */
+        Decision(UserNotAuthorizedException rejection,
+                 long                       expiryTime)
+        {
+            this.rejection  = rejection;
+            this.expiryTime = expiryTime;
+        }
+    }
+
+
+    /**
+     * Constructor
+     *
+     * @param timeToLiveSeconds number of seconds that a decision is reused
+     * @param maxSize maximum number of decisions to cache
+     */
+    public OpenMetadataSecurityDecisionCache(long timeToLiveSeconds,
+                                             int  maxSize)
+    {
+        this.timeToLiveNanos = TimeUnit.SECONDS.toNanos(timeToLiveSeconds);
+        this.maxSize         = maxSize;
+    }
+
+
+    /**
+     * Reuse a cached decision or make a new decision and cache it.
+     *
+     * @param decisionKey user (first element), operation and resource that the decision is for
+     * @param securityCheck call to the security connector
+     * @throws UserNotAuthorizedException the user is not authorized
+     */
+    void validate(List<Object>  decisionKey,
+                  SecurityCheck securityCheck) throws UserNotAuthorizedException
+    {
+        long     now      = System.nanoTime();
+        Decision decision = decisions.get(decisionKey);
+
+        if ((decision != null) && (decision.expiryTime - now > 0))
+        {
+            hitCount.incrementAndGet();
+
+            if (decision.rejection != null)
+            {
+                throw decision.rejection;
+            }
+
+            return;
+        }
+
+        missCount.incrementAndGet();
+
+        long generation = policyGeneration.get();
+
+        try
+        {
+            securityCheck.validate();
+
+            saveDecision(decisionKey, new Decision(null, now + timeToLiveNanos), generation);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            saveDecision(decisionKey, new Decision(error, now + timeToLiveNanos), generation);
+
+            throw error;
+        }
+    }
+
+
+    /**
+     * Discard all cached decisions because the policies have changed.
+     */
+    @Override
+    public void policyChanged()
+    {
+        policyGeneration.incrementAndGet();
+        invalidationCount.incrementAndGet();
+
+        decisions.clear();
+    }
+
+
+    /**
+     * Discard the cached decisions for a user because the policies for the user have changed.
+     *
+     * @param userId user affected by the change
+     */
+    @Override
+    public void policyChangedForUser(String userId)
+    {
+        policyGeneration.incrementAndGet();
+        invalidationCount.incrementAndGet();
+
+        decisions.keySet().removeIf(decisionKey -> (userId == null ? decisionKey.get(0) == null : userId.equals(decisionKey.get(0))));
+    }
+
+
+    /**
+     * Return the number of checks answered from the cache.
+     *
+     * @return count
+     */
+    public long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+
+    /**
+     * Return the number of checks passed to the security connector.
+     *
+     * @return count
+     */
+    public long getMissCount()
+    {
+        return missCount.get();
+    }
+
+
+    /**
+     * Return the number of decisions removed to keep the cache within its maximum size.
+     *
+     * @return count
+     */
+    public long getEvictionCount()
+    {
+        return evictionCount.get();
+    }
+
+
+    /**
+     * Return the number of times that the security connector has signalled a change to its policies.
+     *
+     * @return count
+     */
+    public long getInvalidationCount()
+    {
+        return invalidationCount.get();
+    }
+
+
+    /**
+     * Return the number of decisions in the cache.
+     *
+     * @return count
+     */
+    public int getSize()
+    {
+        return decisions.size();
+    }
+
+
+    /**
+     * Return the maximum number of decisions in the cache.
+     *
+     * @return count
+     */
+    public int getMaxSize()
+    {
+        return maxSize;
+    }
+
+
+    /**
+     * Return the number of seconds that a decision is reused.
+     *
+     * @return seconds
+     */
+    public long getTimeToLive()
+    {
+        return TimeUnit.NANOSECONDS.toSeconds(timeToLiveNanos);
+    }
+
+
+    /**
+     * Save a decision unless the policies changed while it was being made.  Decisions are evicted if the cache
+     * is too large.
+     *
+     * @param decisionKey key of the decision
+     * @param decision decision
+     * @param generation policy generation when the decision started
+     */
+    private void saveDecision(List<Object> decisionKey,
+                              Decision     decision,
+                              long         generation)
+    {
+        decisions.put(decisionKey, decision);
+
+        if (policyGeneration.get() != generation)
+        {
+            decisions.remove(decisionKey, decision);
+        }
+
+        if ((decisions.size() > maxSize) && (evictionRunning.compareAndSet(false, true)))
+        {
+            try
+            {
+                evictDecisions();
+            }
+            finally
+            {
+                evictionRunning.set(false);
+            }
+        }
+    }
+
+
+    /**
+     * Remove the expired decisions and then, if the cache is still full, arbitrary decisions until it is
+     * back to 90% of its maximum size.
+     */
+    private void evictDecisions()
+    {
+        long now = System.nanoTime();
+
+        Iterator<Decision> decisionIterator = decisions.values().iterator();
+
+        while (decisionIterator.hasNext())
+        {
+            if (decisionIterator.next().expiryTime - now <= 0)
+            {
+                decisionIterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+
+        int targetSize = maxSize - (maxSize / 10);
+
+        decisionIterator = decisions.values().iterator();
+
+        while ((decisions.size() > targetSize) && (decisionIterator.hasNext()))
+        {
+            decisionIterator.next();
+            decisionIterator.remove();
+            evictionCount.incrementAndGet();
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedExcepti
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.metadatasecurity.*;
 import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityConnector;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityProvider;
 import org.odpi.openmetadata.metadatasecurity.ffdc.OpenMetadataSecurityErrorCode;
 import org.odpi.openmetadata.metadatasecurity.properties.AssetAuditHeader;
 import org.odpi.openmetadata.metadatasecurity.properties.Asset;
@@ -24,7 +25,9 @@ import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OpenMetadataEventsSecurity;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -39,12 +42,23 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                                            OpenMetadataConnectionSecurity,
                                                            OpenMetadataAssetSecurity
 {
-    private OpenMetadataRepositorySecurity repositorySecurityConnector = null;
-    private OpenMetadataEventsSecurity     eventsSecurityConnector     = null;
-    private OpenMetadataServerSecurity     serverSecurityConnector     = null;
-    private OpenMetadataServiceSecurity    serviceSecurityConnector    = null;
-    private OpenMetadataConnectionSecurity connectionSecurityConnector = null;
-    private OpenMetadataAssetSecurity      assetSecurityConnector      = null;
+    /*
+     * The connectors are set up when the server starts and are then read without locking by the
+     * threads handling requests.
+     */
+    private volatile OpenMetadataRepositorySecurity repositorySecurityConnector = null;
+    private volatile OpenMetadataEventsSecurity     eventsSecurityConnector     = null;
+    private volatile OpenMetadataServerSecurity     serverSecurityConnector     = null;
+    private volatile OpenMetadataServiceSecurity    serviceSecurityConnector    = null;
+    private volatile OpenMetadataConnectionSecurity connectionSecurityConnector = null;
+    private volatile OpenMetadataAssetSecurity      assetSecurityConnector      = null;
+
+    /*
+     * Optional cache of the decisions made by the connector - null if caching is not configured.
+     */
+    private volatile OpenMetadataSecurityDecisionCache decisionCache = null;
+
+    private static final int defaultDecisionCacheMaxSize = 10000;
 
     /**
      * Default constructor
@@ -78,6 +92,16 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                                         auditLog,
                                                         connection);
 
+            if (connector != null)
+            {
+                decisionCache = this.getDecisionCache(connection);
+
+                if (decisionCache != null)
+                {
+                    connector.setPolicyChangeListener(decisionCache);
+                }
+            }
+
             if (connector instanceof OpenMetadataRepositorySecurity)
             {
                 repositorySecurityConnector = (OpenMetadataRepositorySecurity)connector;
@@ -110,6 +134,112 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     }
 
 
+    /**
+     * Create the cache for the connector's decisions if it is configured in the connection's configuration
+     * properties.
+     *
+     * @param connection connection from the configuration document
+     * @return cache or null if decisions are not cached
+     */
+    private OpenMetadataSecurityDecisionCache getDecisionCache(org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection   connection)
+    {
+        Map<String, Object> configurationProperties = connection.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            long timeToLive = getLongProperty(configurationProperties.get(OpenMetadataServerSecurityProvider.decisionCacheTimeToLiveProperty), 0);
+
+            if (timeToLive > 0)
+            {
+                long maxSize = getLongProperty(configurationProperties.get(OpenMetadataServerSecurityProvider.decisionCacheMaxSizeProperty),
+                                               defaultDecisionCacheMaxSize);
+
+                if (maxSize > 0)
+                {
+                    return new OpenMetadataSecurityDecisionCache(timeToLive, (int)Math.min(maxSize, Integer.MAX_VALUE));
+                }
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the value of a numeric configuration property.
+     *
+     * @param propertyValue value from the configuration properties
+     * @param defaultValue value to use if the property is not set or not a number
+     * @return value
+     */
+    private long getLongProperty(Object propertyValue,
+                                 long   defaultValue)
+    {
+        if (propertyValue instanceof Number)
+        {
+            return ((Number)propertyValue).longValue();
+        }
+        else if (propertyValue != null)
+        {
+            try
+            {
+                return Long.parseLong(propertyValue.toString().trim());
+            }
+            catch (NumberFormatException error)
+            {
+                return defaultValue;
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return the cache of decisions made by the security connector.  This provides the hit and miss counts
+     * that are used to size the cache.
+     *
+     * @return cache or null if decisions are not cached
+     */
+    public OpenMetadataSecurityDecisionCache getDecisionCache()
+    {
+        return decisionCache;
+    }
+
+
+    /**
+     * Use the cache (if configured) to make a decision.
+     *
+     * @param securityCheck call to the security connector
+     * @param userId calling user
+     * @param operation name of the check
+     * @param resources the resources that the decision depends on
+     * @throws UserNotAuthorizedException the user is not authorized
+     */
+    private void validateWithCache(OpenMetadataSecurityDecisionCache.SecurityCheck securityCheck,
+                                   String                                          userId,
+                                   String                                          operation,
+                                   Object...                                       resources) throws UserNotAuthorizedException
+    {
+        OpenMetadataSecurityDecisionCache cache = decisionCache;
+
+        if (cache == null)
+        {
+            securityCheck.validate();
+        }
+        else
+        {
+            List<Object> decisionKey = new ArrayList<>(resources.length + 2);
+
+            decisionKey.add(userId);
+            decisionKey.add(operation);
+            decisionKey.addAll(Arrays.asList(resources));
+
+            cache.validate(decisionKey, securityCheck);
+        }
+    }
+
+
     /**
      * Return the Open Metadata Server Security Connector for the connection.
      *
@@ -435,9 +565,13 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     @Override
     public void  validateUserForServer(String   userId) throws UserNotAuthorizedException
     {
-        if (serverSecurityConnector != null)
+        OpenMetadataServerSecurity connector = serverSecurityConnector;
+
+        if (connector != null)
         {
-            serverSecurityConnector.validateUserForServer(userId);
+            final String operation = "validateUserForServer";
+
+            validateWithCache(() -> connector.validateUserForServer(userId), userId, operation);
         }
     }
 
@@ -452,9 +586,13 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     @Override
     public void  validateUserAsServerAdmin(String   userId) throws UserNotAuthorizedException
     {
-        if (serverSecurityConnector != null)
+        OpenMetadataServerSecurity connector = serverSecurityConnector;
+
+        if (connector != null)
         {
-            serverSecurityConnector.validateUserAsServerAdmin(userId);
+            final String operation = "validateUserAsServerAdmin";
+
+            validateWithCache(() -> connector.validateUserAsServerAdmin(userId), userId, operation);
         }
     }
 
@@ -469,9 +607,13 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     @Override
     public void  validateUserAsServerOperator(String   userId) throws UserNotAuthorizedException
     {
-        if (serverSecurityConnector != null)
+        OpenMetadataServerSecurity connector = serverSecurityConnector;
+
+        if (connector != null)
         {
-            serverSecurityConnector.validateUserAsServerOperator(userId);
+            final String operation = "validateUserAsServerOperator";
+
+            validateWithCache(() -> connector.validateUserAsServerOperator(userId), userId, operation);
         }
     }
 
@@ -486,9 +628,13 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     @Override
     public void  validateUserAsServerInvestigator(String   userId) throws UserNotAuthorizedException
     {
-        if (serverSecurityConnector != null)
+        OpenMetadataServerSecurity connector = serverSecurityConnector;
+
+        if (connector != null)
         {
-            serverSecurityConnector.validateUserAsServerInvestigator(userId);
+            final String operation = "validateUserAsServerInvestigator";
+
+            validateWithCache(() -> connector.validateUserAsServerInvestigator(userId), userId, operation);
         }
     }
 
@@ -505,9 +651,13 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     public void  validateUserForService(String   userId,
                                         String   serviceName) throws UserNotAuthorizedException
     {
-        if (serviceSecurityConnector != null)
+        OpenMetadataServiceSecurity connector = serviceSecurityConnector;
+
+        if (connector != null)
         {
-            serviceSecurityConnector.validateUserForService(userId, serviceName);
+            final String operation = "validateUserForService";
+
+            validateWithCache(() -> connector.validateUserForService(userId, serviceName), userId, operation, serviceName);
         }
     }
 
@@ -526,9 +676,17 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
                                                  String   serviceName,
                                                  String   serviceOperationName) throws UserNotAuthorizedException
     {
-        if (serviceSecurityConnector != null)
+        OpenMetadataServiceSecurity connector = serviceSecurityConnector;
+
+        if (connector != null)
         {
-            serviceSecurityConnector.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
+            final String operation = "validateUserForServiceOperation";
+
+            validateWithCache(() -> connector.validateUserForServiceOperation(userId, serviceName, serviceOperationName),
+                              userId,
+                              operation,
+                              serviceName,
+                              serviceOperationName);
         }
     }
 
@@ -654,9 +812,19 @@ public class OpenMetadataServerSecurityVerifier implements OpenMetadataRepositor
     public void  validateUserForAssetRead(String     userId,
                                           Asset      asset) throws UserNotAuthorizedException
     {
-        if (assetSecurityConnector != null)
+        OpenMetadataAssetSecurity connector = assetSecurityConnector;
+
+        if (connector != null)
         {
-            assetSecurityConnector.validateUserForAssetRead(userId, new Asset(asset));
+            final String operation = "validateUserForAssetRead";
+
+            /*
+             * The copy of the asset is part of the key so that any change to the asset
+             * (such as its zones or owner) results in a new decision.
+             */
+            Asset assetCopy = new Asset(asset);
+
+            validateWithCache(() -> connector.validateUserForAssetRead(userId, new Asset(asset)), userId, operation, assetCopy);
         }
     }
 
@@ -0,0 +1,263 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.metadatasecurity.server;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.metadatasecurity.OpenMetadataServerSecurity;
+import org.odpi.openmetadata.metadatasecurity.OpenMetadataServiceSecurity;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityConnector;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityProvider;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the server security verifier caches the decisions of its connector when the cache is configured,
+ * and discards them when the connector signals a change to its policies.
+ */
+public class OpenMetadataSecurityDecisionCacheTest
+{
+    private static final String goodUser = "goodUser";
+    private static final String badUser  = "badUser";
+
+    private static TestSecurityConnector latestConnector = null;
+
+
+    /**
+     * Create a verifier with the test connector.
+     *
+     * @param timeToLive decision cache time to live (or null for no cache)
+     * @param maxSize decision cache maximum size (or null for the default)
+     * @return verifier
+     * @throws Exception the connector fails to start
+     */
+    private OpenMetadataServerSecurityVerifier getVerifier(Object timeToLive,
+                                                           Object maxSize) throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+
+        if (timeToLive != null)
+        {
+            configurationProperties.put(OpenMetadataServerSecurityProvider.decisionCacheTimeToLiveProperty, timeToLive);
+        }
+        if (maxSize != null)
+        {
+            configurationProperties.put(OpenMetadataServerSecurityProvider.decisionCacheMaxSizeProperty, maxSize);
+        }
+
+        ConnectorType connectorType = new ConnectorType();
+        connectorType.setConnectorProviderClassName(TestSecurityProvider.class.getName());
+
+        Connection connection = new Connection();
+        connection.setConnectorType(connectorType);
+        connection.setConfigurationProperties(configurationProperties);
+
+        OpenMetadataServerSecurityVerifier verifier = new OpenMetadataServerSecurityVerifier();
+        verifier.registerSecurityValidator("serverUser", "TestServer", null, connection);
+
+        return verifier;
+    }
+
+
+    /**
+     * Validate that repeated decisions are answered from the cache.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testCachedDecisions() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier  = getVerifier(600, "100");
+        TestSecurityConnector              connector = latestConnector;
+        OpenMetadataSecurityDecisionCache  cache     = verifier.getDecisionCache();
+
+        assertNotNull(cache);
+        assertEquals(cache.getTimeToLive(), 600L);
+        assertEquals(cache.getMaxSize(), 100);
+
+        for (int i = 0; i < 10; i++)
+        {
+            verifier.validateUserForServer(goodUser);
+            verifier.validateUserForServiceOperation(goodUser, "ServiceA", "operation" + (i % 2));
+
+            try
+            {
+                verifier.validateUserForServer(badUser);
+                assertTrue(false, "Bad user accepted");
+            }
+            catch (UserNotAuthorizedException expected)
+            {
+                // expected
+            }
+        }
+
+        assertEquals(connector.callCount.get(), 4);
+        assertEquals(cache.getMissCount(), 4L);
+        assertEquals(cache.getHitCount(), 26L);
+        assertEquals(cache.getSize(), 4);
+
+        connector.signalPolicyChange(goodUser);
+
+        verifier.validateUserForServer(goodUser);
+        assertEquals(connector.callCount.get(), 5);
+        assertEquals(cache.getSize(), 2);
+
+        connector.signalPolicyChange(null);
+
+        assertEquals(cache.getSize(), 0);
+        assertEquals(cache.getInvalidationCount(), 2L);
+    }
+
+
+    /**
+     * Validate that the cache stays within its maximum size and that it is not created unless configured.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testBoundedCache() throws Exception
+    {
+        OpenMetadataServerSecurityVerifier verifier = getVerifier(600L, 50);
+        OpenMetadataSecurityDecisionCache  cache    = verifier.getDecisionCache();
+
+        for (int i = 0; i < 500; i++)
+        {
+            verifier.validateUserForService(goodUser, "Service" + i);
+            assertTrue(cache.getSize() <= 50);
+        }
+
+        assertTrue(cache.getEvictionCount() >= 450);
+
+        verifier = getVerifier(null, null);
+        assertNull(verifier.getDecisionCache());
+
+        verifier.validateUserForServer(goodUser);
+        verifier.validateUserForServer(goodUser);
+        assertEquals(latestConnector.callCount.get(), 2);
+    }
+
+
+    /**
+     * TestSecurityProvider creates the test connector.
+     */
+    public static class TestSecurityProvider extends OpenMetadataServerSecurityProvider
+    {
+        /**
+         * Constructor
+         */
+        public TestSecurityProvider()
+        {
+            super();
+
+            super.setConnectorClassName(TestSecurityConnector.class.getName());
+        }
+    }
+
+
+    /**
+     * TestSecurityConnector rejects the bad user and counts the decisions that it makes.
+     */
+    public static class TestSecurityConnector extends OpenMetadataServerSecurityConnector implements OpenMetadataServerSecurity,
+                                                                                                     OpenMetadataServiceSecurity
+    {
+        private final AtomicInteger callCount = new AtomicInteger(0);
+
+
+        /**
+         * Constructor
+         */
+        public TestSecurityConnector()
+        {
+            latestConnector = this;
+        }
+
+
+        /**
+         * Signal a change to the policies.
+         *
+         * @param userId affected user or null for all users
+         */
+        void signalPolicyChange(String userId)
+        {
+            if (userId == null)
+            {
+                super.notifyPolicyChange();
+            }
+            else
+            {
+                super.notifyPolicyChange(userId);
+            }
+        }
+
+
+        /**
+         * Reject the bad user.
+         *
+         * @param userId calling user
+         * @throws UserNotAuthorizedException bad user
+         */
+        private void checkUser(String userId) throws UserNotAuthorizedException
+        {
+            callCount.incrementAndGet();
+
+            if (badUser.equals(userId))
+            {
+                super.validateUserForServer(userId);
+            }
+        }
+
+
+        @Override
+        public void validateUserForServer(String userId) throws UserNotAuthorizedException
+        {
+            checkUser(userId);
+        }
+
+
+        @Override
+        public void validateUserAsServerAdmin(String userId) throws UserNotAuthorizedException
+        {
+            checkUser(userId);
+        }
+
+
+        @Override
+        public void validateUserAsServerOperator(String userId) throws UserNotAuthorizedException
+        {
+            checkUser(userId);
+        }
+
+
+        @Override
+        public void validateUserAsServerInvestigator(String userId) throws UserNotAuthorizedException
+        {
+            checkUser(userId);
+        }
+
+
+        @Override
+        public void validateUserForService(String userId,
+                                           String serviceName) throws UserNotAuthorizedException
+        {
+            checkUser(userId);
+        }
+
+
+        @Override
+        public void validateUserForServiceOperation(String userId,
+                                                    String serviceName,
+                                                    String serviceOperationName) throws UserNotAuthorizedException
+        {
+            checkUser(userId);
+        }
+    }
+}
@@ -19,12 +19,17 @@ import java.util.*;
  */
 class OMAGServerInstance
 {
-    private String                                 serverName;
-    private String                                 serverType;
-    private List<OMAGServerInstanceHistory>        serverHistory      = new ArrayList<>();
-    private Map<String, OMAGServerServiceInstance> serviceInstanceMap = new HashMap<>();
-    private Date                                   serverStartTime    = new Date();
-    private OpenMetadataServerSecurityVerifier     securityVerifier   = new OpenMetadataServerSecurityVerifier();
+    private final    String                                 serverName;
+    private volatile String                                 serverType;
+    private          List<OMAGServerInstanceHistory>        serverHistory      = new ArrayList<>();
+    private          Date                                   serverStartTime    = new Date();
+    private final    OpenMetadataServerSecurityVerifier     securityVerifier   = new OpenMetadataServerSecurityVerifier();
+
+    /*
+     * Immutable map that is replaced whenever a service registers or unregisters so that
+     * getRegisteredService can be called on every request without a lock.
+     */
+    private volatile Map<String, OMAGServerServiceInstance> serviceInstanceMap = Collections.emptyMap();
 
 
     /**
@@ -74,7 +79,7 @@ class OMAGServerInstance
     /**
      * Prepare to start a new instance
      */
-    void initialize()
+    synchronized void initialize()
     {
         serverStartTime    = new Date();
     }
@@ -85,7 +90,7 @@ class OMAGServerInstance
      *
      * @return list of service names
      */
-    synchronized List<String>  getRegisteredServices()
+    List<String>  getRegisteredServices()
     {
         Set<String>  keySet = serviceInstanceMap.keySet();
 
@@ -181,7 +186,7 @@ class OMAGServerInstance
      *
      * @return connector
      */
-    synchronized OpenMetadataServerSecurityVerifier  getSecurityVerifier()
+    OpenMetadataServerSecurityVerifier  getSecurityVerifier()
     {
         return securityVerifier;
     }
@@ -198,8 +203,11 @@ class OMAGServerInstance
     {
         if (serviceInstance != null)
         {
-            serviceInstanceMap.put(serviceName, serviceInstance);
+            Map<String, OMAGServerServiceInstance> newServiceInstanceMap = new HashMap<>(serviceInstanceMap);
+
             serviceInstance.setSecurityVerifier(securityVerifier);
+            newServiceInstanceMap.put(serviceName, serviceInstance);
+            serviceInstanceMap = Collections.unmodifiableMap(newServiceInstanceMap);
         }
     }
 
@@ -215,10 +223,10 @@ class OMAGServerInstance
      * @throws UserNotAuthorizedException calling user not authorized to call the request
      * @throws PropertyServerException service is not running in this server
      */
-    synchronized OMAGServerServiceInstance getRegisteredService(String    userId,
-                                                                String    serviceName,
-                                                                String    serviceOperationName) throws UserNotAuthorizedException,
-                                                                                                       PropertyServerException
+    OMAGServerServiceInstance getRegisteredService(String    userId,
+                                                   String    serviceName,
+                                                   String    serviceOperationName) throws UserNotAuthorizedException,
+                                                                                          PropertyServerException
     {
         try
         {
@@ -252,7 +260,10 @@ class OMAGServerInstance
      */
     synchronized  void unRegisterService(String   serviceName)
     {
-        serviceInstanceMap.remove(serviceName);
+        Map<String, OMAGServerServiceInstance> newServiceInstanceMap = new HashMap<>(serviceInstanceMap);
+
+        newServiceInstanceMap.remove(serviceName);
+        serviceInstanceMap = Collections.unmodifiableMap(newServiceInstanceMap);
     }
 
 
@@ -267,11 +278,13 @@ class OMAGServerInstance
         this.serverHistory.add(new OMAGServerInstanceHistory(this.serverStartTime, new Date()));
         this.serverStartTime = null;
 
-        if (!serviceInstanceMap.isEmpty())
+        Map<String, OMAGServerServiceInstance> residualServiceInstanceMap = serviceInstanceMap;
+
+        if (!residualServiceInstanceMap.isEmpty())
         {
-            this.serviceInstanceMap = new HashMap<>();
+            this.serviceInstanceMap = Collections.emptyMap();
             throw new PropertyServerException(OMAGServerInstanceErrorCode.SERVICES_NOT_SHUTDOWN.getMessageDefinition(serverName,
-                                                                                                                     serviceInstanceMap.keySet().toString()),
+                                                                                                                     residualServiceInstanceMap.keySet().toString()),
                                               this.getClass().getName(),
                                               methodName);
         }
@@ -25,12 +25,20 @@ import java.util.*;
  * service instances for the requested server.  It manages the server name to server instance mapping.
  * The map is maintained in a static so it is scoped to the class loader.
  *
- * Instances of this class call the synchronized static methods to work with the map.
+ * Instances of this class call the static methods to work with the map.  The maps are immutable and are replaced
+ * whenever a server starts or stops (which is rare) so the lookups made by every REST call do not take a lock.
+ * Security checks are made by the server's security verifier without holding any platform-wide lock.
  */
 public class OMAGServerPlatformInstanceMap
 {
-    private static Map<String, OMAGServerInstance> activeServerInstanceMap   = new HashMap<>();
-    private static Map<String, OMAGServerInstance> inActiveServerInstanceMap = new HashMap<>();
+    private static final Object registryLock = new Object();
+
+    /*
+     * Only updated while holding registryLock.  When a server moves between the maps, it is added to the new map
+     * before it is removed from the old one so that a concurrent lookup always finds it.
+     */
+    private static volatile Map<String, OMAGServerInstance> activeServerInstanceMap   = Collections.emptyMap();
+    private static volatile Map<String, OMAGServerInstance> inActiveServerInstanceMap = Collections.emptyMap();
 
 
     /**
@@ -380,6 +388,63 @@ public class OMAGServerPlatformInstanceMap
     }
 
 
+    /**
+     * Return a copy of a server instance map with a server added.
+     *
+     * @param serverInstanceMap current map
+     * @param serverName name of the server
+     * @param serverInstance instance for the server
+     * @return new immutable map
+     */
+    private static Map<String, OMAGServerInstance> addToMap(Map<String, OMAGServerInstance> serverInstanceMap,
+                                                            String                          serverName,
+                                                            OMAGServerInstance              serverInstance)
+    {
+        Map<String, OMAGServerInstance> newServerInstanceMap = new HashMap<>(serverInstanceMap);
+
+        newServerInstanceMap.put(serverName, serverInstance);
+
+        return Collections.unmodifiableMap(newServerInstanceMap);
+    }
+
+
+    /**
+     * Return a copy of a server instance map with a server removed.
+     *
+     * @param serverInstanceMap current map
+     * @param serverName name of the server
+     * @return new immutable map
+     */
+    private static Map<String, OMAGServerInstance> removeFromMap(Map<String, OMAGServerInstance> serverInstanceMap,
+                                                                 String                          serverName)
+    {
+        Map<String, OMAGServerInstance> newServerInstanceMap = new HashMap<>(serverInstanceMap);
+
+        newServerInstanceMap.remove(serverName);
+
+        return Collections.unmodifiableMap(newServerInstanceMap);
+    }
+
+
+    /**
+     * Return the instance for a server that is either active or inactive.
+     *
+     * @param serverName name of the server
+     * @return server instance or null if the server is not known
+     */
+    private static OMAGServerInstance getKnownServerInstance(String serverName)
+    {
+        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+
+        if (serverInstance == null)
+        {
+            serverInstance = inActiveServerInstanceMap.get(serverName);
+        }
+
+        return serverInstance;
+    }
+
+
     /**
      * Return an active server instance object for the requested service.  The server instance
      * may be new, already active, or known but inactive.
@@ -387,39 +452,49 @@ public class OMAGServerPlatformInstanceMap
      * @param serverName name of the server
      * @return active OMAGServerInstance object
      */
-    private static synchronized OMAGServerInstance getActiveServerInstance(String serverName)
+    private static OMAGServerInstance getActiveServerInstance(String serverName)
     {
         /*
          * Is this a server that is currently running?
          */
         OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
 
-        if (serverInstance == null)
+        if (serverInstance != null)
         {
-            /*
-             * Is this a known server that is currently inactive?
-             */
-            serverInstance = inActiveServerInstanceMap.get(serverName);
+            return serverInstance;
+        }
+
+        synchronized (registryLock)
+        {
+            serverInstance = activeServerInstanceMap.get(serverName);
 
             if (serverInstance == null)
             {
                 /*
-                 * New server for this platform
-                 */
-                serverInstance = new OMAGServerInstance(serverName);
-                activeServerInstanceMap.put(serverName, serverInstance);
-            }
-            else
-            {
-                /*
-                 * Move the inactive server to active
+                 * Is this a known server that is currently inactive?
                  */
-                activeServerInstanceMap.put(serverName, serverInstance);
-                inActiveServerInstanceMap.remove(serverName);
+                serverInstance = inActiveServerInstanceMap.get(serverName);
+
+                if (serverInstance == null)
+                {
+                    /*
+                     * New server for this platform
+                     */
+                    serverInstance = new OMAGServerInstance(serverName);
+                    activeServerInstanceMap = addToMap(activeServerInstanceMap, serverName, serverInstance);
+                }
+                else
+                {
+                    /*
+                     * Move the inactive server to active
+                     */
+                    activeServerInstanceMap = addToMap(activeServerInstanceMap, serverName, serverInstance);
+                    inActiveServerInstanceMap = removeFromMap(inActiveServerInstanceMap, serverName);
+                }
             }
-        }
 
-        return serverInstance;
+            return serverInstance;
+        }
     }
 
 
@@ -431,17 +506,20 @@ public class OMAGServerPlatformInstanceMap
      * @param serviceName name of the service running on the server
      * @param instance instance object
      */
-    private static synchronized void  setInstanceForPlatform(String                    serverName,
-                                                             String                    serverType,
-                                                             String                    serviceName,
-                                                             OMAGServerServiceInstance instance)
+    private static void  setInstanceForPlatform(String                    serverName,
+                                                String                    serverType,
+                                                String                    serviceName,
+                                                OMAGServerServiceInstance instance)
     {
-        OMAGServerInstance  serverInstance = getActiveServerInstance(serverName);
-
-        serverInstance.registerService(serviceName, instance);
-        if (serverType != null)
+        synchronized (registryLock)
         {
-            serverInstance.setServerType(serverType);
+            OMAGServerInstance  serverInstance = getActiveServerInstance(serverName);
+
+            serverInstance.registerService(serviceName, instance);
+            if (serverType != null)
+            {
+                serverInstance.setServerType(serverType);
+            }
         }
     }
 
@@ -456,15 +534,18 @@ public class OMAGServerPlatformInstanceMap
      * @return OpenMetadataServerSecurityVerifier object
      * @throws InvalidParameterException the connector is not valid.
      */
-    private static synchronized OpenMetadataServerSecurityVerifier setServerActiveWithSecurity(String       localServerUserId,
-                                                                                               String       serverName,
-                                                                                               AuditLog     auditLog,
-                                                                                               Connection   connection) throws InvalidParameterException
+    private static OpenMetadataServerSecurityVerifier setServerActiveWithSecurity(String       localServerUserId,
+                                                                                  String       serverName,
+                                                                                  AuditLog     auditLog,
+                                                                                  Connection   connection) throws InvalidParameterException
     {
-        OMAGServerInstance  serverInstance = getActiveServerInstance(serverName);
+        synchronized (registryLock)
+        {
+            OMAGServerInstance  serverInstance = getActiveServerInstance(serverName);
 
-        serverInstance.initialize();
-        return serverInstance.registerSecurityValidator(localServerUserId, auditLog, connection);
+            serverInstance.initialize();
+            return serverInstance.registerSecurityValidator(localServerUserId, auditLog, connection);
+        }
     }
 
 
@@ -479,10 +560,10 @@ public class OMAGServerPlatformInstanceMap
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      * @throws InvalidParameterException the server name is not known
      */
-    private static synchronized String getServerInstanceType(String  userId,
-                                                             String  serverName,
-                                                             String  serviceOperationName) throws InvalidParameterException,
-                                                                                                  UserNotAuthorizedException
+    private static String getServerInstanceType(String  userId,
+                                                String  serverName,
+                                                String  serviceOperationName) throws InvalidParameterException,
+                                                                                     UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
@@ -514,8 +595,8 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceActive(String  userId,
-                                                               String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceActive(String  userId,
+                                                  String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
@@ -534,13 +615,12 @@ public class OMAGServerPlatformInstanceMap
      * @return boolean
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized boolean isServerInstanceKnown(String  userId,
-                                                              String  serverName) throws UserNotAuthorizedException
+    private static boolean isServerInstanceKnown(String  userId,
+                                                 String  serverName) throws UserNotAuthorizedException
     {
         validateUserAsInvestigatorForPlatform(userId);
 
-        return ((activeServerInstanceMap.get(serverName) != null) ||
-                (inActiveServerInstanceMap.get(serverName) != null));
+        return (getKnownServerInstance(serverName) != null);
     }
 
 
@@ -557,12 +637,12 @@ public class OMAGServerPlatformInstanceMap
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      * @throws PropertyServerException the service name is not know - indicating a logic error
      */
-    private static synchronized OMAGServerServiceInstance getInstanceForPlatform(String  userId,
-                                                                                 String  serverName,
-                                                                                 String  serviceName,
-                                                                                 String  serviceOperationName) throws InvalidParameterException,
-                                                                                                                      UserNotAuthorizedException,
-                                                                                                                      PropertyServerException
+    private static OMAGServerServiceInstance getInstanceForPlatform(String  userId,
+                                                                    String  serverName,
+                                                                    String  serviceName,
+                                                                    String  serviceOperationName) throws InvalidParameterException,
+                                                                                                         UserNotAuthorizedException,
+                                                                                                         PropertyServerException
     {
         OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
 
@@ -573,14 +653,15 @@ public class OMAGServerPlatformInstanceMap
             try
             {
                 serverSecurityVerifier.validateUserForServer(userId);
-                serverSecurityVerifier.validateUserForService(userId, serviceName);
-                serverSecurityVerifier.validateUserForServiceOperation(userId, serviceName, serviceOperationName);
             }
             catch (org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException error)
             {
                 throw new UserNotAuthorizedException(error);
             }
 
+            /*
+             * The service and service operation checks are made by the server instance.
+             */
             return serverInstance.getRegisteredService(userId, serviceName, serviceOperationName);
         }
         else
@@ -602,7 +683,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getActiveServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -633,7 +714,7 @@ public class OMAGServerPlatformInstanceMap
      * @return list of OMAG server names
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
+    private static List<String> getKnownServerListForPlatform(String userId) throws UserNotAuthorizedException
     {
         try
         {
@@ -644,8 +725,10 @@ public class OMAGServerPlatformInstanceMap
             throw new UserNotAuthorizedException(error);
         }
 
-        List<String> knownServerList = new ArrayList<>(activeServerInstanceMap.keySet());
-        knownServerList.addAll(inActiveServerInstanceMap.keySet());
+        Set<String> knownServerSet = new HashSet<>(activeServerInstanceMap.keySet());
+        knownServerSet.addAll(inActiveServerInstanceMap.keySet());
+
+        List<String> knownServerList = new ArrayList<>(knownServerSet);
 
         if (knownServerList.isEmpty())
         {
@@ -665,8 +748,8 @@ public class OMAGServerPlatformInstanceMap
      * @param serverInstance instance for the server
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized void validateUserAsServerInvestigator(String              userId,
-                                                                      OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
+    private static void validateUserAsServerInvestigator(String              userId,
+                                                         OMAGServerInstance  serverInstance) throws UserNotAuthorizedException
     {
         if (serverInstance != null)
         {
@@ -694,18 +777,13 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerStartTimeFromPlatform(String  userId,
-                                                                     String  serverName) throws InvalidParameterException,
-                                                                                                UserNotAuthorizedException
+    private static Date getServerStartTimeFromPlatform(String  userId,
+                                                       String  serverName) throws InvalidParameterException,
+                                                                                  UserNotAuthorizedException
     {
         final String  methodName = "getServerStartTimeFromPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
-
-        if (serverInstance == null)
-        {
-            serverInstance = inActiveServerInstanceMap.get(serverName);
-        }
+        OMAGServerInstance  serverInstance = getKnownServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -731,18 +809,13 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  Date getServerEndTimeFromPlatform(String  userId,
-                                                                   String  serverName) throws InvalidParameterException,
-                                                                                              UserNotAuthorizedException
+    private static Date getServerEndTimeFromPlatform(String  userId,
+                                                     String  serverName) throws InvalidParameterException,
+                                                                                UserNotAuthorizedException
     {
         final String  methodName = "getServerEndTimeFromPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
-
-        if (serverInstance == null)
-        {
-            serverInstance = inActiveServerInstanceMap.get(serverName);
-        }
+        OMAGServerInstance  serverInstance = getKnownServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -768,18 +841,13 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the serverName is not known.
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized  List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
-                                                                                              String  serverName) throws InvalidParameterException,
-                                                                                                                         UserNotAuthorizedException
+    private static List<OMAGServerInstanceHistory> getServerHistoryFromPlatform(String  userId,
+                                                                                String  serverName) throws InvalidParameterException,
+                                                                                                           UserNotAuthorizedException
     {
         final String  methodName = "getServerHistoryFromPlatform";
 
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
-
-        if (serverInstance == null)
-        {
-            serverInstance = inActiveServerInstanceMap.get(serverName);
-        }
+        OMAGServerInstance  serverInstance = getKnownServerInstance(serverName);
 
         if (serverInstance != null)
         {
@@ -804,9 +872,9 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException the server name is not known
      * @throws UserNotAuthorizedException the user is not authorized to issue the request.
      */
-    private static synchronized List<String>   getActiveServiceListForServerOnPlatform(String userId,
-                                                                                       String serverName) throws InvalidParameterException,
-                                                                                                                 UserNotAuthorizedException
+    private static List<String>   getActiveServiceListForServerOnPlatform(String userId,
+                                                                          String serverName) throws InvalidParameterException,
+                                                                                                    UserNotAuthorizedException
     {
         final String  methodName = "getActiveServiceListForServerOnPlatform";
 
@@ -842,14 +910,17 @@ public class OMAGServerPlatformInstanceMap
      * @param serverName name of the server
      * @param serviceName name of the service running on the server
      */
-    private static synchronized void removeInstanceForPlatform(String   serverName,
-                                                               String   serviceName)
+    private static void removeInstanceForPlatform(String   serverName,
+                                                  String   serviceName)
     {
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
-
-        if (serverInstance != null)
+        synchronized (registryLock)
         {
-             serverInstance.unRegisterService(serviceName);
+            OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+
+            if (serverInstance != null)
+            {
+                serverInstance.unRegisterService(serviceName);
+            }
         }
     }
 
@@ -863,31 +934,30 @@ public class OMAGServerPlatformInstanceMap
      * @throws InvalidParameterException server name is not known
      * @throws PropertyServerException server still has active services - logic error
      */
-    private static synchronized void setServerInActive(String   userId,
-                                                       String   serverName,
-                                                       String   methodName) throws InvalidParameterException,
-                                                                                   PropertyServerException
+    private static void setServerInActive(String   userId,
+                                          String   serverName,
+                                          String   methodName) throws InvalidParameterException,
+                                                                      PropertyServerException
     {
-        OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
-
-        if (serverInstance == null)
-        {
-            handleBadServerName(userId, serverName, methodName);
-        }
-        else
+        synchronized (registryLock)
         {
-            try
-            {
-                serverInstance.shutdown(methodName);
-            }
-            catch (Throwable t)
+            OMAGServerInstance  serverInstance = activeServerInstanceMap.get(serverName);
+
+            if (serverInstance == null)
             {
-                throw t;
+                handleBadServerName(userId, serverName, methodName);
             }
-            finally
+            else
             {
-                inActiveServerInstanceMap.put(serverName, serverInstance);
-                activeServerInstanceMap.remove(serverName);
+                try
+                {
+                    serverInstance.shutdown(methodName);
+                }
+                finally
+                {
+                    inActiveServerInstanceMap = addToMap(inActiveServerInstanceMap, serverName, serverInstance);
+                    activeServerInstanceMap = removeFromMap(activeServerInstanceMap, serverName);
+                }
             }
         }
     }
@@ -902,8 +972,8 @@ public class OMAGServerPlatformInstanceMap
      * @return OpenMetadataServerSecurityVerifier object - never null
      * @throws InvalidParameterException the server name is not known
      */
-    private static synchronized OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
-                                                                                                        String    serverName) throws InvalidParameterException
+    private static OpenMetadataServerSecurityVerifier getServerSecurityVerifierForPlatform(String    userId,
+                                                                                           String    serverName) throws InvalidParameterException
     {
         final String  methodName = "getServerSecurityVerifierForPlatform";
 
@@ -0,0 +1,208 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.multitenant;
+
+import org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that service instances are resolved correctly by many concurrent callers spread over several servers,
+ * and that servers move between the active and inactive lists as they start and stop.
+ */
+public class OMAGServerPlatformInstanceMapTest
+{
+    private static final String   userId       = "testUser";
+    private static final String[] serviceNames = {"Service A", "Service B", "Service C"};
+
+
+    /**
+     * Start a server with each of the test services.
+     *
+     * @param platformInstanceMap platform map
+     * @param serverName name of the server
+     * @return service instances in the same order as serviceNames
+     * @throws Exception the server fails to start
+     */
+    private List<OMAGServerServiceInstance> startServer(OMAGServerPlatformInstanceMap platformInstanceMap,
+                                                        String                        serverName) throws Exception
+    {
+        platformInstanceMap.startUpServerInstance(userId, serverName, null, null);
+
+        List<OMAGServerServiceInstance> serviceInstances = new ArrayList<>();
+
+        for (String serviceName : serviceNames)
+        {
+            serviceInstances.add(new OMAGServerServiceInstance(serverName, "TestServer", serviceName, 100) {});
+        }
+
+        return serviceInstances;
+    }
+
+
+    /**
+     * Resolve the service instances of several servers from many threads at once and check that
+     * each caller always receives the instance for its server and service.
+     *
+     * @param serverCount number of servers to start
+     * @param threadCount number of concurrent callers
+     * @param lookupsPerTask number of lookups made by each caller
+     * @return elapsed time of the lookups in milliseconds
+     * @throws Exception problem in the test
+     */
+    private long runConcurrentLookups(int serverCount,
+                                      int threadCount,
+                                      int lookupsPerTask) throws Exception
+    {
+        OMAGServerPlatformInstanceMap         platformInstanceMap = new OMAGServerPlatformInstanceMap();
+        List<List<OMAGServerServiceInstance>> serverInstances     = new ArrayList<>();
+
+        for (int i = 0; i < serverCount; i++)
+        {
+            serverInstances.add(startServer(platformInstanceMap, "ConcurrentServer" + i));
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+        try
+        {
+            List<Future<Integer>> results = new ArrayList<>();
+            long                  start   = System.nanoTime();
+
+            for (int task = 0; task < threadCount; task++)
+            {
+                final int taskNumber = task;
+
+                results.add(executorService.submit(() ->
+                {
+                    int mismatches = 0;
+
+                    for (int i = 0; i < lookupsPerTask; i++)
+                    {
+                        int server  = (taskNumber + i) % serverCount;
+                        int service = i % serviceNames.length;
+
+                        OMAGServerServiceInstance instance = platformInstanceMap.getServiceInstance(userId,
+                                                                                                    "ConcurrentServer" + server,
+                                                                                                    serviceNames[service],
+                                                                                                    "runConcurrentLookups");
+                        if (instance != serverInstances.get(server).get(service))
+                        {
+                            mismatches ++;
+                        }
+                    }
+
+                    return mismatches;
+                }));
+            }
+
+            for (Future<Integer> result : results)
+            {
+                assertEquals(result.get().intValue(), 0);
+            }
+
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Validate that concurrent callers always receive the instance for their server and service.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testConcurrentLookups() throws Exception
+    {
+        runConcurrentLookups(4, 8, 1000);
+    }
+
+
+    /**
+     * Report the throughput of service instance lookups under contention.  This is in the benchmark group
+     * so it is excluded from the normal build.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test(groups = "benchmark")
+    public void benchmarkConcurrentLookups() throws Exception
+    {
+        final int serverCount    = 8;
+        final int threadCount    = 32;
+        final int lookupsPerTask = 20000;
+
+        long elapsedMillis = runConcurrentLookups(serverCount, threadCount, lookupsPerTask);
+
+        Reporter.log("Resolved " + (threadCount * lookupsPerTask) + " service instances from " + threadCount +
+                             " threads across " + serverCount + " servers in " + elapsedMillis + "ms", true);
+    }
+
+
+    /**
+     * Validate that a server moves to the inactive list when it shuts down and back again when it restarts.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testServerLifecycle() throws Exception
+    {
+        final String serverName = "LifecycleServer";
+
+        OMAGServerPlatformInstanceMap   platformInstanceMap = new OMAGServerPlatformInstanceMap();
+        List<OMAGServerServiceInstance> serviceInstances    = startServer(platformInstanceMap, serverName);
+
+        assertTrue(platformInstanceMap.isServerActive(userId, serverName));
+        assertEquals(platformInstanceMap.getServerType(userId, serverName, "testServerLifecycle"), "TestServer");
+        assertEquals(platformInstanceMap.getActiveServiceListForServer(userId, serverName).size(), serviceNames.length);
+        assertSame(platformInstanceMap.getServiceInstance(userId, serverName, serviceNames[1], "testServerLifecycle"),
+                   serviceInstances.get(1));
+
+        for (OMAGServerServiceInstance serviceInstance : serviceInstances)
+        {
+            serviceInstance.shutdown();
+        }
+
+        platformInstanceMap.shutdownServerInstance(userId, serverName, "testServerLifecycle");
+
+        assertFalse(platformInstanceMap.isServerActive(userId, serverName));
+        assertTrue(platformInstanceMap.isServerKnown(userId, serverName));
+        assertTrue(platformInstanceMap.getKnownServerList(userId).contains(serverName));
+        assertNotNull(platformInstanceMap.getServerEndTime(userId, serverName));
+        assertNull(platformInstanceMap.getActiveServiceListForServer(userId, serverName));
+        assertEquals(platformInstanceMap.getServerHistory(userId, serverName).size(), 1);
+
+        try
+        {
+            platformInstanceMap.getServiceInstance(userId, serverName, serviceNames[0], "testServerLifecycle");
+            assertTrue(false, "Inactive server returned a service instance");
+        }
+        catch (InvalidParameterException expected)
+        {
+            // expected
+        }
+
+        startServer(platformInstanceMap, serverName);
+
+        assertTrue(platformInstanceMap.isServerActive(userId, serverName));
+        assertEquals(platformInstanceMap.getKnownServerList(userId).stream().filter(serverName::equals).count(), 1L);
+        assertEquals(platformInstanceMap.getServerHistory(userId, serverName).size(), 1);
+    }
+}
@@ -4812,6 +4812,35 @@ public class RepositoryHandler
                                                 String  methodName) throws PropertyServerException,
                                                                            UserNotAuthorizedException
     {
+        final String localMethodName = "countAttachedRelationshipsByType";
+
+        /*
+         * When none of the retrieved relationships can be filtered out as duplicates, the repository is able to count
+         * them without returning them.
+         */
+        if ((forDuplicateProcessing) || (! this.isDuplicateFilteringNeeded(relationshipTypeName, methodName)))
+        {
+            try
+            {
+                return metadataCollection.countRelationshipsForEntity(userId,
+                                                                      startingEntityGUID,
+                                                                      relationshipTypeGUID,
+                                                                      null,
+                                                                      null,
+                                                                      effectiveTime);
+            }
+            catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException  error)
+            {
+                errorHandler.handleUnauthorizedUser(userId, methodName);
+            }
+            catch (Exception   error)
+            {
+                errorHandler.handleRepositoryError(error, methodName, localMethodName);
+            }
+
+            return 0;
+        }
+
         List<Relationship> relationships = this.getRelationshipsByType(userId,
                                                                        startingEntityGUID,
                                                                        startingEntityTypeName,
@@ -4839,6 +4868,58 @@ public class RepositoryHandler
     }
 
 
+    /**
+     * Determine whether relationships of the requested type could be removed as duplicates by the RelationshipAccumulator.
+     * This is the case when the type, or any of its subtypes, has an end with a cardinality of AT_MOST_ONE.
+     * If the type is not known, the answer is always true.
+     *
+     * @param relationshipTypeName type name for the relationship to follow
+     * @param methodName  name of calling method
+     * @return boolean flag
+     */
+    private boolean isDuplicateFilteringNeeded(String relationshipTypeName,
+                                               String methodName)
+    {
+        if (relationshipTypeName == null)
+        {
+            return true;
+        }
+
+        List<String> typeNames = new ArrayList<>();
+
+        typeNames.add(relationshipTypeName);
+
+        List<String> subTypeNames = repositoryHelper.getSubTypesOf(methodName, relationshipTypeName);
+
+        if (subTypeNames != null)
+        {
+            typeNames.addAll(subTypeNames);
+        }
+
+        for (String typeName : typeNames)
+        {
+            TypeDef typeDef = repositoryHelper.getTypeDefByName(methodName, typeName);
+
+            if (typeDef instanceof RelationshipDef)
+            {
+                RelationshipDef relationshipDef = (RelationshipDef)typeDef;
+
+                if ((relationshipDef.getEndDef1().getAttributeCardinality() == RelationshipEndCardinality.AT_MOST_ONE) ||
+                            (relationshipDef.getEndDef2().getAttributeCardinality() == RelationshipEndCardinality.AT_MOST_ONE))
+                {
+                    return true;
+                }
+            }
+            else
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
     /**
      * Return the list of relationships of the requested type connecting the supplied entities.
      *
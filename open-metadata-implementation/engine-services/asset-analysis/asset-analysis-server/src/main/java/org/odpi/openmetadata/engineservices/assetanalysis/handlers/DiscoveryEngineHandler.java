@@ -95,7 +95,7 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
         if (discoveryServiceCache != null)
         {
-            return runDiscoveryService(assetGUID, discoveryRequestType, analysisParameters, annotationTypes, discoveryServiceCache);
+            return runDiscoveryService(assetGUID, discoveryRequestType, analysisParameters, annotationTypes, discoveryServiceCache, false);
         }
 
         return null;
@@ -146,7 +146,8 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                 discoveryRequestType,
                                                 analysisParameters,
                                                 annotationTypes,
-                                                discoveryServiceCache);
+                                                discoveryServiceCache,
+                                                true);
                         }
                     }
 
@@ -169,10 +170,12 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Queue an instance of a discovery service to run in one of the discovery engine's worker threads and
+     * return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
+     * @param startTime requested start time of the governance action - earlier requests run first
      * @param requestParameters name-value properties to control the governance action service
      * @param requestSourceElements metadata elements associated with the request to the governance action service
      * @param actionTargetElements metadata elements that need to be worked on by the governance action service
@@ -181,11 +184,13 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
      *
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user not authorized to issue this request.
-     * @throws PropertyServerException there was a problem detected by the governance action engine.
+     * @throws PropertyServerException there was a problem detected by the governance action engine or
+     *                                 too many requests are waiting to run.
      */
     @Override
     public GovernanceServiceHandler runGovernanceService(String                     governanceActionGUID,
                                                          String                     requestType,
+                                                         Date                       startTime,
                                                          Map<String, String>        requestParameters,
                                                          List<RequestSourceElement> requestSourceElements,
                                                          List<ActionTargetElement>  actionTargetElements) throws InvalidParameterException,
@@ -225,8 +230,10 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                               governanceActionGUID,
                                                                                               governanceServiceCache);
 
-            Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString());
-            thread.start();
+            super.runGovernanceServiceHandler(discoveryServiceHandler,
+                                              governanceServiceCache.getGovernanceServiceName() + assetGUID,
+                                              startTime,
+                                              methodName);
 
             return discoveryServiceHandler;
         }
@@ -236,28 +243,33 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a discovery service in its own thread.
+     * Queue an instance of a discovery service to run in one of the discovery engine's worker threads.
      *
      * @param assetGUID unique identifier of the asset to analyse
      * @param discoveryRequestType type of discovery
      * @param suppliedAnalysisParameters parameters for the discovery
      * @param annotationTypes types of annotations that can be returned
      * @param governanceServiceCache factory for discovery services.
+     * @param waitForQueue wait for space in the queue rather than rejecting the request if the discovery engine is busy
      *
      * @return unique identifier for this request.
      *
      * @throws InvalidParameterException one of the parameters is null or invalid.
      * @throws UserNotAuthorizedException user not authorized to issue this request.
-     * @throws PropertyServerException there was a problem detected by the discovery engine.
+     * @throws PropertyServerException there was a problem detected by the discovery engine or
+     *                                 too many requests are waiting to run.
      */
     private String runDiscoveryService(String                 assetGUID,
                                        String                 discoveryRequestType,
                                        Map<String, String>    suppliedAnalysisParameters,
                                        List<String>           annotationTypes,
-                                       GovernanceServiceCache governanceServiceCache) throws InvalidParameterException,
-                                                                                             UserNotAuthorizedException,
-                                                                                             PropertyServerException
+                                       GovernanceServiceCache governanceServiceCache,
+                                       boolean                waitForQueue) throws InvalidParameterException,
+                                                                                   UserNotAuthorizedException,
+                                                                                   PropertyServerException
     {
+        final String methodName = "runDiscoveryService";
+
         DiscoveryServiceHandler discoveryServiceHandler = this.getDiscoveryServiceHandler(assetGUID,
                                                                                           discoveryRequestType,
                                                                                           suppliedAnalysisParameters,
@@ -265,8 +277,20 @@ public class DiscoveryEngineHandler extends GovernanceEngineHandler
                                                                                           null,
                                                                                           governanceServiceCache);
 
-        Thread thread = new Thread(discoveryServiceHandler, governanceServiceCache.getGovernanceServiceName() + assetGUID + new Date().toString());
-        thread.start();
+        if (waitForQueue)
+        {
+            super.runGovernanceServiceHandlerWhenQueued(discoveryServiceHandler,
+                                                        governanceServiceCache.getGovernanceServiceName() + assetGUID,
+                                                        null,
+                                                        methodName);
+        }
+        else
+        {
+            super.runGovernanceServiceHandler(discoveryServiceHandler,
+                                              governanceServiceCache.getGovernanceServiceName() + assetGUID,
+                                              null,
+                                              methodName);
+        }
 
         return discoveryServiceHandler.getDiscoveryReportGUID();
     }
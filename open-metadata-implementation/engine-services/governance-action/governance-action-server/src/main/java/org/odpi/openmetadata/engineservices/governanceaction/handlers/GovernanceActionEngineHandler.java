@@ -93,10 +93,12 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Queue an instance of a governance action service to run in one of the governance engine's worker threads and
+     * return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
+     * @param startTime requested start time of the governance action - earlier requests run first
      * @param requestParameters name-value properties to control the governance action service
      * @param requestSourceElements metadata elements associated with the request to the governance action service
      * @param actionTargetElements metadata elements that need to be worked on by the governance action service
@@ -104,11 +106,13 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
      * @return service handler for this request
      *
      * @throws InvalidParameterException one of the parameters is null or invalid.
-     * @throws PropertyServerException there was a problem detected by the governance action engine.
+     * @throws PropertyServerException there was a problem detected by the governance action engine or
+     *                                 too many requests are waiting to run.
      */
     @Override
     public GovernanceServiceHandler runGovernanceService(String                     governanceActionGUID,
                                                          String                     requestType,
+                                                         Date                       startTime,
                                                          Map<String, String>        requestParameters,
                                                          List<RequestSourceElement> requestSourceElements,
                                                          List<ActionTargetElement>  actionTargetElements) throws InvalidParameterException,
@@ -140,8 +144,10 @@ public class GovernanceActionEngineHandler extends GovernanceEngineHandler
                                                                                                                governanceListenerManager,
                                                                                                                auditLog);
 
-            Thread thread = new Thread(governanceActionServiceHandler, governanceServiceCache.getGovernanceServiceName() + governanceActionGUID + new Date().toString());
-            thread.start();
+            super.runGovernanceServiceHandler(governanceActionServiceHandler,
+                                              governanceServiceCache.getGovernanceServiceName() + governanceActionGUID,
+                                              startTime,
+                                              methodName);
 
             return governanceActionServiceHandler;
         }
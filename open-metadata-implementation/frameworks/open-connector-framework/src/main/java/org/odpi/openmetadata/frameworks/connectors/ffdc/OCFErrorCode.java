@@ -105,6 +105,10 @@ public enum OCFErrorCode implements ExceptionMessageSet
             "Virtual connection {0} has no embedded connections",
             "The virtual connection properties object is invalid because it does not include any embedded connections.",
             "Add embedded connections to the virtual connection and retry the request."),
+    INVALID_CONFIGURATION_PROPERTY(400, "OCF-CONNECTION-400-020",
+            "The {0} configuration property in connection {1} is set to \"{2}\" which is not a valid {3}",
+            "The system is unable to initialize the requested connector because one of the configuration properties in its connection has a value that the connector can not use.",
+            "Correct the value of the configuration property in the connection and retry the request."),
     UNKNOWN_ENDPOINT(404, "OCF-CONNECTOR-404-001",
             "Endpoint {0} in connection {1} for connector instance {2} is either unknown or unavailable",
             "The requested action is not able to complete because the remote endpoint where the assets are located is not responding.  It may be unavailable or unknown.",
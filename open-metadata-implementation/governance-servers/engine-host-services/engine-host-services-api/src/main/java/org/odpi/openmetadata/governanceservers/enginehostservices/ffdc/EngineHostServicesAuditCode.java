@@ -298,6 +298,13 @@ public enum EngineHostServicesAuditCode implements AuditLogMessageSet
                                 "Review the error messages and resolve the cause of the problem.  Once resolved, it is possible to " +
                                         "retry the governance action by updating its status back to REQUESTED status."),
 
+    GOVERNANCE_ACTION_QUEUE_FULL("ENGINE-HOST-SERVICES-0033",
+                                 OMRSAuditLogRecordSeverity.ACTION,
+                                 "Governance engine {0} in engine host server {1} is not able to run governance action {2} because {3} requests are already waiting to run",
+                                 "The governance action is left in APPROVED status and is not claimed by this engine host server.",
+                                 "If this happens regularly, increase the maxConcurrentGovernanceServices or maxQueuedGovernanceServices options " +
+                                         "for the engine service, or spread the work over more engine host servers."),
+
     NO_OMAS_SERVER_URL("ENGINE-HOST-SERVICES-0150",
                        OMRSAuditLogRecordSeverity.ERROR,
                        "{0} in server {1} is not configured with the platform URL root for the {2}",
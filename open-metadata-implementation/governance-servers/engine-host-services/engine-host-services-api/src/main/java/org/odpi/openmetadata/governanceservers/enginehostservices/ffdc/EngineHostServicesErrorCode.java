@@ -241,6 +241,19 @@ public enum EngineHostServicesErrorCode implements ExceptionMessageSet
                                      "This is a configuration error.  Update the configuration for the engine host service to ensure governance engines are correctly " +
                                              "matched to the engine services.  Once the cause is resolved, restart the server."),
 
+    GOVERNANCE_SERVICE_QUEUE_FULL(400, "ENGINE-HOST-SERVICES-400-025",
+                                  "Governance engine {0} in engine host server {1} is not able to accept a new governance request because {2} requests are already waiting to run",
+                                  "The governance request is rejected.  The governance engine continues to run the requests that are already queued.",
+                                  "Retry the request once the governance engine is less busy.  If this happens regularly, increase the " +
+                                          "maxConcurrentGovernanceServices or maxQueuedGovernanceServices options for the engine service, or spread the " +
+                                          "work over more engine host servers."),
+
+    BAD_ENGINE_SERVICE_OPTION(400, "ENGINE-HOST-SERVICES-400-026",
+                              "The {0} option value of {1} for engine service {2} in engine host server {3} is not a number",
+                              "The engine service is not able to start because it can not interpret its options.",
+                              "Correct the option in the engine service configuration so it is a whole number, or remove it to use the default, " +
+                                      "and then restart the server."),
+
     NO_OMAS_SERVER_URL(400,"ENGINE-HOST-SERVICES-400-102",
                        "{0} in server {1} is not configured with the platform URL root for the {2}",
                        "The engine service is not able to locate the metadata server to retrieve the configuration for " +
@@ -31,6 +31,14 @@ public class GovernanceEngineSummary implements Serializable
     private String                 governanceEngineDescription = null;
     private GovernanceEngineStatus governanceEngineStatus      = null;
     private List<String>           governanceRequestTypes      = null;
+    private int                    maxConcurrentServices       = 0;
+    private int                    maxQueuedServices           = 0;
+    private int                    queuedServiceCount          = 0;
+    private int                    runningServiceCount         = 0;
+    private long                   completedServiceCount       = 0L;
+    private long                   rejectedServiceCount        = 0L;
+    private long                   averageQueueWaitTime        = 0L;
+    private long                   longestQueueWaitTime        = 0L;
 
 
     /**
@@ -57,6 +65,14 @@ public class GovernanceEngineSummary implements Serializable
             governanceEngineDescription = template.getGovernanceEngineDescription();
             governanceEngineStatus = template.getGovernanceEngineStatus();
             governanceRequestTypes = template.getGovernanceRequestTypes();
+            maxConcurrentServices = template.getMaxConcurrentServices();
+            maxQueuedServices = template.getMaxQueuedServices();
+            queuedServiceCount = template.getQueuedServiceCount();
+            runningServiceCount = template.getRunningServiceCount();
+            completedServiceCount = template.getCompletedServiceCount();
+            rejectedServiceCount = template.getRejectedServiceCount();
+            averageQueueWaitTime = template.getAverageQueueWaitTime();
+            longestQueueWaitTime = template.getLongestQueueWaitTime();
         }
     }
 
@@ -224,6 +240,182 @@ public class GovernanceEngineSummary implements Serializable
     }
 
 
+    /**
+     * Return the maximum number of governance services that can run at once in this governance engine.
+     *
+     * @return count
+     */
+    public int getMaxConcurrentServices()
+    {
+        return maxConcurrentServices;
+    }
+
+
+    /**
+     * Set up the maximum number of governance services that can run at once in this governance engine.
+     *
+     * @param maxConcurrentServices count
+     */
+    public void setMaxConcurrentServices(int maxConcurrentServices)
+    {
+        this.maxConcurrentServices = maxConcurrentServices;
+    }
+
+
+    /**
+     * Return the maximum number of governance service requests that can wait to run in this governance engine.
+     *
+     * @return count
+     */
+    public int getMaxQueuedServices()
+    {
+        return maxQueuedServices;
+    }
+
+
+    /**
+     * Set up the maximum number of governance service requests that can wait to run in this governance engine.
+     *
+     * @param maxQueuedServices count
+     */
+    public void setMaxQueuedServices(int maxQueuedServices)
+    {
+        this.maxQueuedServices = maxQueuedServices;
+    }
+
+
+    /**
+     * Return the number of governance service requests waiting to run.
+     *
+     * @return count
+     */
+    public int getQueuedServiceCount()
+    {
+        return queuedServiceCount;
+    }
+
+
+    /**
+     * Set up the number of governance service requests waiting to run.
+     *
+     * @param queuedServiceCount count
+     */
+    public void setQueuedServiceCount(int queuedServiceCount)
+    {
+        this.queuedServiceCount = queuedServiceCount;
+    }
+
+
+    /**
+     * Return the number of governance services that are running.
+     *
+     * @return count
+     */
+    public int getRunningServiceCount()
+    {
+        return runningServiceCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that are running.
+     *
+     * @param runningServiceCount count
+     */
+    public void setRunningServiceCount(int runningServiceCount)
+    {
+        this.runningServiceCount = runningServiceCount;
+    }
+
+
+    /**
+     * Return the number of governance services that have finished running since the server started.
+     *
+     * @return count
+     */
+    public long getCompletedServiceCount()
+    {
+        return completedServiceCount;
+    }
+
+
+    /**
+     * Set up the number of governance services that have finished running since the server started.
+     *
+     * @param completedServiceCount count
+     */
+    public void setCompletedServiceCount(long completedServiceCount)
+    {
+        this.completedServiceCount = completedServiceCount;
+    }
+
+
+    /**
+     * Return the number of governance service requests rejected because too many requests were waiting to run.
+     *
+     * @return count
+     */
+    public long getRejectedServiceCount()
+    {
+        return rejectedServiceCount;
+    }
+
+
+    /**
+     * Set up the number of governance service requests rejected because too many requests were waiting to run.
+     *
+     * @param rejectedServiceCount count
+     */
+    public void setRejectedServiceCount(long rejectedServiceCount)
+    {
+        this.rejectedServiceCount = rejectedServiceCount;
+    }
+
+
+    /**
+     * Return the average number of milliseconds that a governance service request waited to run.
+     *
+     * @return milliseconds
+     */
+    public long getAverageQueueWaitTime()
+    {
+        return averageQueueWaitTime;
+    }
+
+
+    /**
+     * Set up the average number of milliseconds that a governance service request waited to run.
+     *
+     * @param averageQueueWaitTime milliseconds
+     */
+    public void setAverageQueueWaitTime(long averageQueueWaitTime)
+    {
+        this.averageQueueWaitTime = averageQueueWaitTime;
+    }
+
+
+    /**
+     * Return the longest number of milliseconds that a governance service request waited to run.
+     *
+     * @return milliseconds
+     */
+    public long getLongestQueueWaitTime()
+    {
+        return longestQueueWaitTime;
+    }
+
+
+    /**
+     * Set up the longest number of milliseconds that a governance service request waited to run.
+     *
+     * @param longestQueueWaitTime milliseconds
+     */
+    public void setLongestQueueWaitTime(long longestQueueWaitTime)
+    {
+        this.longestQueueWaitTime = longestQueueWaitTime;
+    }
+
+
     /**
      * JSON-style toString
      *
@@ -240,6 +432,14 @@ public class GovernanceEngineSummary implements Serializable
                        ", governanceEngineDescription='" + governanceEngineDescription + '\'' +
                        ", governanceEngineStatus=" + governanceEngineStatus +
                        ", governanceRequestTypes=" + governanceRequestTypes +
+                       ", maxConcurrentServices=" + maxConcurrentServices +
+                       ", maxQueuedServices=" + maxQueuedServices +
+                       ", queuedServiceCount=" + queuedServiceCount +
+                       ", runningServiceCount=" + runningServiceCount +
+                       ", completedServiceCount=" + completedServiceCount +
+                       ", rejectedServiceCount=" + rejectedServiceCount +
+                       ", averageQueueWaitTime=" + averageQueueWaitTime +
+                       ", longestQueueWaitTime=" + longestQueueWaitTime +
                        '}';
     }
 
@@ -268,7 +468,15 @@ public class GovernanceEngineSummary implements Serializable
                        Objects.equals(governanceEngineGUID, that.governanceEngineGUID) &&
                 Objects.equals(governanceEngineDescription, that.governanceEngineDescription) &&
                 governanceEngineStatus == that.governanceEngineStatus &&
-                Objects.equals(governanceRequestTypes, that.governanceRequestTypes);
+                Objects.equals(governanceRequestTypes, that.governanceRequestTypes) &&
+                maxConcurrentServices == that.maxConcurrentServices &&
+                maxQueuedServices == that.maxQueuedServices &&
+                queuedServiceCount == that.queuedServiceCount &&
+                runningServiceCount == that.runningServiceCount &&
+                completedServiceCount == that.completedServiceCount &&
+                rejectedServiceCount == that.rejectedServiceCount &&
+                averageQueueWaitTime == that.averageQueueWaitTime &&
+                longestQueueWaitTime == that.longestQueueWaitTime;
     }
 
 
@@ -281,6 +489,8 @@ public class GovernanceEngineSummary implements Serializable
    public int hashCode()
    {
        return Objects.hash(governanceEngineName, governanceEngineTypeName, governanceEngineService,
-                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes);
+                           governanceEngineGUID, governanceEngineDescription, governanceEngineStatus, governanceRequestTypes,
+                           maxConcurrentServices, maxQueuedServices, queuedServiceCount, runningServiceCount, completedServiceCount,
+                           rejectedServiceCount, averageQueueWaitTime, longestQueueWaitTime);
    }
 }
@@ -54,6 +54,7 @@ public abstract class GovernanceEngineHandler
 
 
     private GovernanceServiceCacheMap  governanceServiceLookupTable = new GovernanceServiceCacheMap();
+    private GovernanceServiceExecutor  governanceServiceExecutor;   /* Initialized in constructor */
 
 
     /**
@@ -90,6 +91,7 @@ public abstract class GovernanceEngineHandler
         this.serverClient = serverClient;
         this.auditLog = auditLog;
         this.maxPageSize = maxPageSize;
+        this.governanceServiceExecutor = new GovernanceServiceExecutor(serverName, governanceEngineName);
     }
 
 
@@ -106,6 +108,20 @@ public abstract class GovernanceEngineHandler
     }
 
 
+    /**
+     * Set up the limits on the governance services that run in this governance engine.  Values of zero or less
+     * leave the default in place.
+     *
+     * @param maxConcurrentServices maximum number of governance services that can run at once
+     * @param maxQueuedServices maximum number of governance service requests that can wait to run
+     */
+    public void setGovernanceServiceLimits(int maxConcurrentServices,
+                                           int maxQueuedServices)
+    {
+        governanceServiceExecutor.setLimits(maxConcurrentServices, maxQueuedServices);
+    }
+
+
     /**
      * Return a summary of the governance engine
      *
@@ -126,6 +142,14 @@ public abstract class GovernanceEngineHandler
         }
 
         mySummary.setGovernanceRequestTypes(governanceServiceLookupTable.getGovernanceRequestTypes());
+        mySummary.setMaxConcurrentServices(governanceServiceExecutor.getMaxConcurrentServices());
+        mySummary.setMaxQueuedServices(governanceServiceExecutor.getMaxQueuedServices());
+        mySummary.setQueuedServiceCount(governanceServiceExecutor.getQueuedCount());
+        mySummary.setRunningServiceCount(governanceServiceExecutor.getRunningCount());
+        mySummary.setCompletedServiceCount(governanceServiceExecutor.getCompletedCount());
+        mySummary.setRejectedServiceCount(governanceServiceExecutor.getRejectedCount());
+        mySummary.setAverageQueueWaitTime(governanceServiceExecutor.getAverageQueueWaitTime());
+        mySummary.setLongestQueueWaitTime(governanceServiceExecutor.getLongestQueueWaitTime());
         mySummary.setGovernanceEngineStatus(GovernanceEngineStatus.ASSIGNED);
 
         if (governanceEngineGUID != null)
@@ -349,6 +373,45 @@ public abstract class GovernanceEngineHandler
     }
 
 
+    /**
+     * Queue a governance service to run once one of the governance engine's worker threads is free.
+     * The request is rejected if too many requests are already waiting.
+     *
+     * @param governanceServiceHandler handler that runs the governance service
+     * @param requestName name used for the thread while the governance service runs
+     * @param startTime requested start time (null means now) - earlier requests run first
+     * @param methodName calling method
+     * @throws PropertyServerException the governance engine is too busy to accept the request
+     */
+    protected void runGovernanceServiceHandler(Runnable governanceServiceHandler,
+                                               String   requestName,
+                                               Date     startTime,
+                                               String   methodName) throws PropertyServerException
+    {
+        governanceServiceExecutor.execute(governanceServiceHandler, requestName, startTime, methodName);
+    }
+
+
+    /**
+     * Queue a governance service to run once one of the governance engine's worker threads is free.
+     * If too many requests are already waiting, the caller waits until there is space.  This is used when
+     * issuing a large batch of requests.
+     *
+     * @param governanceServiceHandler handler that runs the governance service
+     * @param requestName name used for the thread while the governance service runs
+     * @param startTime requested start time (null means now) - earlier requests run first
+     * @param methodName calling method
+     * @throws PropertyServerException the governance engine is shutting down
+     */
+    protected void runGovernanceServiceHandlerWhenQueued(Runnable governanceServiceHandler,
+                                                         String   requestName,
+                                                         Date     startTime,
+                                                         String   methodName) throws PropertyServerException
+    {
+        governanceServiceExecutor.executeWhenQueued(governanceServiceHandler, requestName, startTime, methodName);
+    }
+
+
     /**
      * GovernanceServiceCacheMap maintains the map of governance request types to governance services.
      * It is synchronized because the map is being rebuilt periodically.
@@ -423,17 +486,56 @@ public abstract class GovernanceEngineHandler
 
             if (properties.getActionStatus() == GovernanceActionStatus.APPROVED)
             {
-                serverClient.claimGovernanceAction(serverUserId, governanceActionGUID);
+                /*
+                 * If the governance engine is too busy, the governance action is left for another engine host server
+                 * (or a later retry) rather than being claimed and then rejected.  A place in the queue is reserved
+                 * before the governance action is claimed so it can not be taken by another request in the meantime.
+                 */
+                if (! governanceServiceExecutor.tryReserve())
+                {
+                    auditLog.logMessage(methodName,
+                                        EngineHostServicesAuditCode.GOVERNANCE_ACTION_QUEUE_FULL.getMessageDefinition(governanceEngineName,
+                                                                                                                      serverName,
+                                                                                                                      governanceActionGUID,
+                                                                                                                      Integer.toString(governanceServiceExecutor.getMaxQueuedServices())));
+                    return;
+                }
+
+                try
+                {
+                    serverClient.claimGovernanceAction(serverUserId, governanceActionGUID);
 
-                // todo if the start date is in the future then the governance action should be given to the scheduler
+                    // todo if the start date is in the future then the governance action should be given to the scheduler
 
-                serverClient.updateGovernanceActionStatus(serverUserId, governanceActionGUID, GovernanceActionStatus.IN_PROGRESS);
+                    serverClient.updateGovernanceActionStatus(serverUserId, governanceActionGUID, GovernanceActionStatus.IN_PROGRESS);
 
-                runGovernanceService(governanceActionGUID,
-                                     properties.getRequestType(),
-                                     properties.getRequestParameters(),
-                                     properties.getRequestSourceElements(),
-                                     properties.getActionTargetElements());
+                    try
+                    {
+                        runGovernanceService(governanceActionGUID,
+                                             properties.getRequestType(),
+                                             properties.getStartTime(),
+                                             properties.getRequestParameters(),
+                                             properties.getRequestSourceElements(),
+                                             properties.getActionTargetElements());
+                    }
+                    catch (PropertyServerException error)
+                    {
+                        /*
+                         * If the governance engine rejected the request because it is shutting down, the governance
+                         * action is handed back for another engine host server to run.  Other errors are reported.
+                         */
+                        if (governanceServiceExecutor.isRejection(error))
+                        {
+                            serverClient.releaseGovernanceAction(serverUserId, governanceActionGUID);
+                        }
+
+                        throw error;
+                    }
+                }
+                finally
+                {
+                    governanceServiceExecutor.releaseReservation();
+                }
             }
         }
         catch (Exception error)
@@ -449,10 +551,12 @@ public abstract class GovernanceEngineHandler
 
 
     /**
-     * Run an instance of a governance action service in its own thread and return the handler (for disconnect processing).
+     * Queue an instance of a governance action service to run in one of the governance engine's worker threads and
+     * return the handler (for disconnect processing).
      *
      * @param governanceActionGUID unique identifier of the asset to analyse
      * @param requestType unique identifier of the asset that the annotations should be attached to
+     * @param startTime requested start time of the governance action - earlier requests run first
      * @param requestParameters name-value properties to control the governance action service
      * @param requestSourceElements metadata elements associated with the request to the governance action service
      * @param actionTargetElements metadata elements that need to be worked on by the governance action service
@@ -465,6 +569,7 @@ public abstract class GovernanceEngineHandler
      */
     public abstract GovernanceServiceHandler runGovernanceService(String                     governanceActionGUID,
                                                                   String                     requestType,
+                                                                  Date                       startTime,
                                                                   Map<String, String>        requestParameters,
                                                                   List<RequestSourceElement> requestSourceElements,
                                                                   List<ActionTargetElement>  actionTargetElements) throws InvalidParameterException,
@@ -492,7 +597,8 @@ public abstract class GovernanceEngineHandler
 
 
     /**
-     * Confirms termination of the governance engine.
+     * Confirms termination of the governance engine.  Governance actions that are waiting to run are released
+     * so they can be claimed again.
      */
     public void terminate()
     {
@@ -505,5 +611,34 @@ public abstract class GovernanceEngineHandler
         governanceEngineGUID = null;
         governanceEngineProperties = null;
         governanceServiceLookupTable.clear();
+
+        /*
+         * The governance actions that were waiting to run are already claimed by this engine host so they are
+         * handed back for another engine host server to run.
+         */
+        for (Runnable discardedService : governanceServiceExecutor.shutdown())
+        {
+            if (discardedService instanceof GovernanceServiceHandler)
+            {
+                String governanceActionGUID = ((GovernanceServiceHandler) discardedService).getGovernanceActionGUID();
+
+                if (governanceActionGUID != null)
+                {
+                    try
+                    {
+                        serverClient.releaseGovernanceAction(serverUserId, governanceActionGUID);
+                    }
+                    catch (Exception error)
+                    {
+                        auditLog.logException(actionDescription,
+                                              EngineHostServicesAuditCode.ACTION_PROCESSING_ERROR.getMessageDefinition(actionDescription,
+                                                                                                                       error.getClass().getName(),
+                                                                                                                       governanceActionGUID,
+                                                                                                                       error.getMessage()),
+                                              error);
+                    }
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,552 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesErrorCode;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+
+/**
+ * GovernanceServiceExecutor runs the governance services for a single governance engine.  The number of governance
+ * services running at once is limited and the requests that are waiting to run are held in a bounded queue.
+ * Requests with the earliest start time run first; requests with the same start time run in the order they arrived.
+ * When the queue is full, new requests are rejected with a PropertyServerException (or the caller waits for space in the
+ * queue if it is processing a large batch of requests).  A caller that must do work before it queues a request (such as
+ * claiming a governance action) reserves a place in the queue first with tryReserve().
+ * <p>
+ *     Worker threads are created as requests arrive and end once the queue is empty, so an idle governance engine has
+ *     no threads.  The worker thread is renamed while it runs each governance service to help diagnose problems.
+ * </p>
+ */
+public class GovernanceServiceExecutor
+{
+    /**
+     * Engine service option that sets the maximum number of governance services that can run at once in each governance engine.
+     */
+    public static final String maxConcurrentServicesOption = "maxConcurrentGovernanceServices";
+
+    /**
+     * Engine service option that sets the maximum number of governance service requests that can wait to run in each
+     * governance engine.
+     */
+    public static final String maxQueuedServicesOption = "maxQueuedGovernanceServices";
+
+    /**
+     * Default maximum number of governance services that can run at once.
+     */
+    public static final int defaultMaxConcurrentServices = 20;
+
+    /**
+     * Default maximum number of governance service requests that can wait to run.
+     */
+    public static final int defaultMaxQueuedServices = 1000;
+
+    private final String serverName;
+    private final String governanceEngineName;
+
+    private final PriorityQueue<QueuedService> queuedServices = new PriorityQueue<>();
+    private final Set<Thread>                  reservations   = new HashSet<>();
+
+    private int  maxConcurrentServices = defaultMaxConcurrentServices;
+    private int  maxQueuedServices     = defaultMaxQueuedServices;
+    private int  workerCount           = 0;
+    private int  runningCount          = 0;
+    private long completedCount        = 0;
+    private long rejectedCount         = 0;
+    private long startedCount          = 0;
+    private long totalQueueWaitTime    = 0;
+    private long longestQueueWaitTime  = 0;
+    private long requestSequence       = 0;
+    private int  workerSequence        = 0;
+
+    private boolean active = true;
+
+
+    /**
+     * QueuedService is a governance service request that is waiting to run.
+     */
+    private static class QueuedService implements Comparable<QueuedService>
+    {
+        private final Runnable governanceService;
+        private final String   requestName;
+        private final long     startTime;
+        private final long     queuedTime;
+        private final long     sequence;
+
+
+        /**
+         * Constructor
+         *
+         * @param governanceService handler that runs the governance service
+         * @param requestName name used for the thread while the governance service runs
+         * @param startTime requested start time in milliseconds
+         * @param queuedTime time the request was queued in milliseconds
+         * @param sequence order that the request arrived
+         */
+        QueuedService(Runnable governanceService,
+                      String   requestName,
+                      long     startTime,
+                      long     queuedTime,
+                      long     sequence)
+        {
+            this.governanceService = governanceService;
+            this.requestName       = requestName;
+            this.startTime         = startTime;
+            this.queuedTime        = queuedTime;
+            this.sequence          = sequence;
+        }
+
+
+        /**
+         * Order by start time and then by arrival.
+         *
+         * @param other other request
+         * @return comparison result
+         */
+        @Override
+        public int compareTo(QueuedService other)
+        {
+            int result = Long.compare(startTime, other.startTime);
+
+            if (result == 0)
+            {
+                result = Long.compare(sequence, other.sequence);
+            }
+
+            return result;
+        }
+    }
+
+
+    /**
+     * Constructor
+     *
+     * @param serverName name of the engine host server - used for messages
+     * @param governanceEngineName name of the governance engine - used for messages and thread names
+     */
+    public GovernanceServiceExecutor(String serverName,
+                                     String governanceEngineName)
+    {
+        this.serverName           = serverName;
+        this.governanceEngineName = governanceEngineName;
+    }
+
+
+    /**
+     * Change the limits of the executor.  Values of zero or less leave the limit unchanged.  A lower limit on the
+     * number of running governance services takes effect as the running governance services complete.
+     *
+     * @param maxConcurrentServices maximum number of governance services that can run at once
+     * @param maxQueuedServices maximum number of governance service requests that can wait to run
+     */
+    public synchronized void setLimits(int maxConcurrentServices,
+                                       int maxQueuedServices)
+    {
+        if (maxConcurrentServices > 0)
+        {
+            this.maxConcurrentServices = maxConcurrentServices;
+        }
+
+        if (maxQueuedServices > 0)
+        {
+            this.maxQueuedServices = maxQueuedServices;
+        }
+
+        this.startWorkers();
+        this.notifyAll();
+    }
+
+
+    /**
+     * Queue a governance service to run.  The request is rejected if the queue is full, unless the calling thread
+     * has reserved a place in the queue with tryReserve(), in which case the reservation is used.
+     *
+     * @param governanceService handler that runs the governance service
+     * @param requestName name used for the thread while the governance service runs
+     * @param startTime requested start time (null means now)
+     * @param methodName calling method
+     * @throws PropertyServerException the queue is full or the governance engine is shutting down
+     */
+    public synchronized void execute(Runnable governanceService,
+                                     String   requestName,
+                                     Date     startTime,
+                                     String   methodName) throws PropertyServerException
+    {
+        boolean reserved = reservations.remove(Thread.currentThread());
+
+        if ((! active) || ((! reserved) && (this.getUsedQueueSpace() >= maxQueuedServices)))
+        {
+            rejectedCount ++;
+
+            throw new PropertyServerException(EngineHostServicesErrorCode.GOVERNANCE_SERVICE_QUEUE_FULL.getMessageDefinition(governanceEngineName,
+                                                                                                                            serverName,
+                                                                                                                            Integer.toString(maxQueuedServices)),
+                                              this.getClass().getName(),
+                                              methodName);
+        }
+
+        this.queueService(governanceService, requestName, startTime);
+    }
+
+
+    /**
+     * Queue a governance service to run, waiting for space in the queue if it is full.  This is used when the
+     * caller is submitting a large batch of requests.
+     *
+     * @param governanceService handler that runs the governance service
+     * @param requestName name used for the thread while the governance service runs
+     * @param startTime requested start time (null means now)
+     * @param methodName calling method
+     * @throws PropertyServerException the governance engine is shutting down or the caller is interrupted
+     */
+    public synchronized void executeWhenQueued(Runnable governanceService,
+                                               String   requestName,
+                                               Date     startTime,
+                                               String   methodName) throws PropertyServerException
+    {
+        try
+        {
+            while ((active) && (! reservations.contains(Thread.currentThread())) && (this.getUsedQueueSpace() >= maxQueuedServices))
+            {
+                this.wait();
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        this.execute(governanceService, requestName, startTime, methodName);
+    }
+
+
+    /**
+     * Reserve a place in the queue for the calling thread.  The reservation is used by the thread's next call to
+     * execute() so that request is not rejected because the queue is full.  The reservation must be released with
+     * releaseReservation() if no request is queued.
+     *
+     * @return true if a place is reserved; false if the queue is full or the governance engine is shutting down
+     */
+    public synchronized boolean tryReserve()
+    {
+        if ((! active) || (this.getUsedQueueSpace() >= maxQueuedServices))
+        {
+            return false;
+        }
+
+        reservations.add(Thread.currentThread());
+
+        return true;
+    }
+
+
+    /**
+     * Release the calling thread's reservation if it was not used by execute().
+     */
+    public synchronized void releaseReservation()
+    {
+        if (reservations.remove(Thread.currentThread()))
+        {
+            this.notifyAll();
+        }
+    }
+
+
+    /**
+     * Return whether an exception is the rejection of a request by execute() because the queue is full or the
+     * governance engine is shutting down, in which case the governance service was not queued.
+     *
+     * @param error exception from execute()
+     * @return boolean
+     */
+    public boolean isRejection(PropertyServerException error)
+    {
+        final String rejectionMessageId = EngineHostServicesErrorCode.GOVERNANCE_SERVICE_QUEUE_FULL.getMessageDefinition().getMessageId();
+
+        return (error != null) && (rejectionMessageId.equals(error.getReportedErrorMessageId()));
+    }
+
+
+    /**
+     * Return the number of governance service requests waiting to run.
+     *
+     * @return count
+     */
+    public synchronized int getQueuedCount()
+    {
+        return queuedServices.size();
+    }
+
+
+    /**
+     * Return the number of governance services that are running.
+     *
+     * @return count
+     */
+    public synchronized int getRunningCount()
+    {
+        return runningCount;
+    }
+
+
+    /**
+     * Return the number of governance services that have finished running.
+     *
+     * @return count
+     */
+    public synchronized long getCompletedCount()
+    {
+        return completedCount;
+    }
+
+
+    /**
+     * Return the number of governance service requests that were rejected because the queue was full.
+     *
+     * @return count
+     */
+    public synchronized long getRejectedCount()
+    {
+        return rejectedCount;
+    }
+
+
+    /**
+     * Return the average number of milliseconds that a governance service request waited in the queue.
+     *
+     * @return milliseconds
+     */
+    public synchronized long getAverageQueueWaitTime()
+    {
+        if (startedCount == 0)
+        {
+            return 0;
+        }
+
+        return totalQueueWaitTime / startedCount;
+    }
+
+
+    /**
+     * Return the longest number of milliseconds that a governance service request waited in the queue.
+     *
+     * @return milliseconds
+     */
+    public synchronized long getLongestQueueWaitTime()
+    {
+        return longestQueueWaitTime;
+    }
+
+
+    /**
+     * Return the maximum number of governance services that can run at once.
+     *
+     * @return count
+     */
+    public synchronized int getMaxConcurrentServices()
+    {
+        return maxConcurrentServices;
+    }
+
+
+    /**
+     * Return the maximum number of governance service requests that can wait to run.
+     *
+     * @return count
+     */
+    public synchronized int getMaxQueuedServices()
+    {
+        return maxQueuedServices;
+    }
+
+
+    /**
+     * Discard the requests that are waiting to run and reject new requests.  Running governance services
+     * are not interrupted.  The discarded requests are returned so the caller can release the work they
+     * represent.
+     *
+     * @return governance services that were waiting to run
+     */
+    public synchronized List<Runnable> shutdown()
+    {
+        List<Runnable> discardedServices = new ArrayList<>();
+
+        for (QueuedService queuedService : queuedServices)
+        {
+            discardedServices.add(queuedService.governanceService);
+        }
+
+        active = false;
+        queuedServices.clear();
+        reservations.clear();
+
+        this.notifyAll();
+
+        return discardedServices;
+    }
+
+
+    /**
+     * Return the number of places in the queue that are taken by waiting requests or reservations.
+     * The caller holds the lock.
+     *
+     * @return count
+     */
+    private int getUsedQueueSpace()
+    {
+        return queuedServices.size() + reservations.size();
+    }
+
+
+    /**
+     * Add a request to the queue and start a worker if there is capacity.  The caller holds the lock.
+     *
+     * @param governanceService handler that runs the governance service
+     * @param requestName name used for the thread while the governance service runs
+     * @param startTime requested start time (null means now)
+     */
+    private void queueService(Runnable governanceService,
+                              String   requestName,
+                              Date     startTime)
+    {
+        long now = System.currentTimeMillis();
+
+        queuedServices.add(new QueuedService(governanceService,
+                                             requestName,
+                                             startTime == null ? now : startTime.getTime(),
+                                             now,
+                                             requestSequence ++));
+
+        this.startWorkers();
+    }
+
+
+    /**
+     * Start enough workers to process the queue within the concurrency limit.  The caller holds the lock.
+     */
+    private void startWorkers()
+    {
+        final String threadName = "::GovernanceServiceExecutor::Worker-";
+
+        while ((workerCount < maxConcurrentServices) && (workerCount < queuedServices.size() + runningCount))
+        {
+            workerCount ++;
+
+            Thread worker = new Thread(this::runQueuedServices, governanceEngineName + threadName + (++ workerSequence));
+            worker.start();
+        }
+    }
+
+
+    /**
+     * Remove the next request from the queue and record its wait time.  Null is returned (and the worker ends)
+     * when the queue is empty or there are more workers than the concurrency limit.
+     *
+     * @param finishedService true if the worker has just finished running a governance service
+     * @return next request or null
+     */
+    private synchronized QueuedService getNextService(boolean finishedService)
+    {
+        if (finishedService)
+        {
+            runningCount --;
+            completedCount ++;
+        }
+
+        QueuedService nextService = null;
+
+        if (workerCount <= maxConcurrentServices)
+        {
+            nextService = queuedServices.poll();
+        }
+
+        if (nextService == null)
+        {
+            workerCount --;
+        }
+        else
+        {
+            long queueWaitTime = System.currentTimeMillis() - nextService.queuedTime;
+
+            runningCount ++;
+            startedCount ++;
+            totalQueueWaitTime = totalQueueWaitTime + queueWaitTime;
+            longestQueueWaitTime = Math.max(longestQueueWaitTime, queueWaitTime);
+
+            /*
+             * There is now space in the queue for callers waiting in executeWhenQueued.
+             */
+            this.notifyAll();
+        }
+
+        return nextService;
+    }
+
+
+    /**
+     * Called when a governance service ends its worker thread with an Error.  The governance service is counted
+     * as completed, the worker is removed and another worker is started if there are requests waiting.
+     */
+    private synchronized void abandonWorker()
+    {
+        runningCount --;
+        completedCount ++;
+        workerCount --;
+
+        this.startWorkers();
+        this.notifyAll();
+    }
+
+
+    /**
+     * This is the method that runs in each worker thread.
+     */
+    private void runQueuedServices()
+    {
+        String        workerName  = Thread.currentThread().getName();
+        QueuedService nextService = getNextService(false);
+
+        try
+        {
+            while (nextService != null)
+            {
+                try
+                {
+                    Thread.currentThread().setName(workerName + "::" + nextService.requestName);
+
+                    nextService.governanceService.run();
+                }
+                catch (Exception error)
+                {
+                    /*
+                     * The governance service handlers log their own errors.  The worker carries on with the next request.
+                     */
+                }
+                finally
+                {
+                    Thread.currentThread().setName(workerName);
+                }
+
+                nextService = getNextService(true);
+            }
+        }
+        finally
+        {
+            /*
+             * An Error from the governance service ends the worker before getNextService() has counted the
+             * governance service as finished.
+             */
+            if (nextService != null)
+            {
+                abandonWorker();
+            }
+        }
+    }
+}
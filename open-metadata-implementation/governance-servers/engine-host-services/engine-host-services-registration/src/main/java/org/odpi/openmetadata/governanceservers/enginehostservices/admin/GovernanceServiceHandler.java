@@ -100,6 +100,17 @@ public abstract class GovernanceServiceHandler implements Runnable
     }
 
 
+    /**
+     * Return the unique identifier of the governance action that triggered this governance service.
+     *
+     * @return string guid or null if the governance service was requested directly
+     */
+    public String getGovernanceActionGUID()
+    {
+        return governanceActionGUID;
+    }
+
+
     /**
      * Return the unique name for the hosting governance engine.
      *
@@ -0,0 +1,313 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.governanceservers.enginehostservices.admin;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesErrorCode;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Verify that GovernanceServiceExecutor limits the governance services that run and wait to run, honours
+ * reservations, runs the waiting requests in start time order and keeps its counts.
+ */
+public class GovernanceServiceExecutorTest
+{
+    private static final String methodName  = "test";
+    private static final long   waitTimeout = 10000L;
+
+    private GovernanceServiceExecutor executor;
+    private CountDownLatch            blockingServiceLatch;
+
+
+    @BeforeMethod
+    public void setUp()
+    {
+        executor = new GovernanceServiceExecutor("TestServer", "TestEngine");
+        blockingServiceLatch = new CountDownLatch(1);
+    }
+
+
+    @AfterMethod
+    public void tearDown()
+    {
+        blockingServiceLatch.countDown();
+        executor.shutdown();
+    }
+
+
+    /**
+     * A governance service that runs until the test releases it.
+     */
+    private final Runnable blockingService = () ->
+    {
+        try
+        {
+            blockingServiceLatch.await(waitTimeout, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
+    };
+
+
+    /**
+     * Wait for a condition to become true.
+     *
+     * @param condition condition
+     * @param description description for the failure message
+     * @throws InterruptedException the test is interrupted
+     */
+    private void waitFor(BooleanSupplier condition,
+                         String          description) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + waitTimeout;
+
+        while (! condition.getAsBoolean())
+        {
+            if (System.currentTimeMillis() > deadline)
+            {
+                fail("Timed out waiting for " + description);
+            }
+
+            Thread.sleep(10);
+        }
+    }
+
+
+    /**
+     * Occupy the only worker with the blocking service.
+     *
+     * @param maxQueuedServices maximum number of requests that can wait
+     * @throws Exception problem in the test
+     */
+    private void startBlockingService(int maxQueuedServices) throws Exception
+    {
+        executor.setLimits(1, maxQueuedServices);
+        executor.execute(blockingService, "blockingService", null, methodName);
+
+        waitFor(() -> executor.getRunningCount() == 1, "the blocking service to start");
+    }
+
+
+    @Test
+    public void testQueueFullRejection() throws Exception
+    {
+        startBlockingService(2);
+
+        executor.execute(() -> {}, "queued1", null, methodName);
+        executor.execute(() -> {}, "queued2", null, methodName);
+
+        assertEquals(executor.getQueuedCount(), 2);
+
+        try
+        {
+            executor.execute(() -> {}, "rejected", null, methodName);
+            fail("Request accepted when the queue is full");
+        }
+        catch (PropertyServerException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(), "ENGINE-HOST-SERVICES-400-025");
+            assertTrue(executor.isRejection(error));
+        }
+
+        assertEquals(executor.getRejectedCount(), 1);
+        assertEquals(executor.getQueuedCount(), 2);
+        assertFalse(executor.isRejection(new PropertyServerException(EngineHostServicesErrorCode.SERVICE_INSTANCE_FAILURE.getMessageDefinition("TestServer",
+                                                                                                                                            "Exception",
+                                                                                                                                            "test"),
+                                                                     this.getClass().getName(),
+                                                                     methodName)));
+    }
+
+
+    @Test
+    public void testReservations() throws Exception
+    {
+        startBlockingService(1);
+
+        assertTrue(executor.tryReserve());
+
+        /*
+         * The reservation takes the only place in the queue so other threads are rejected ...
+         */
+        List<Exception> otherThreadErrors = Collections.synchronizedList(new ArrayList<>());
+
+        Thread otherThread = new Thread(() ->
+        {
+            assertFalse(executor.tryReserve());
+
+            try
+            {
+                executor.execute(() -> {}, "otherThread", null, methodName);
+            }
+            catch (PropertyServerException error)
+            {
+                otherThreadErrors.add(error);
+            }
+        });
+
+        otherThread.start();
+        otherThread.join();
+
+        assertEquals(otherThreadErrors.size(), 1);
+
+        /*
+         * ... while the thread holding the reservation uses it.
+         */
+        executor.execute(() -> {}, "reserved", null, methodName);
+        assertEquals(executor.getQueuedCount(), 1);
+        assertFalse(executor.tryReserve());
+
+        /*
+         * A reservation that is released gives its place back.
+         */
+        blockingServiceLatch.countDown();
+        waitFor(() -> executor.getCompletedCount() == 2, "the queued services to complete");
+
+        assertTrue(executor.tryReserve());
+        executor.releaseReservation();
+
+        Thread finalThread = new Thread(() ->
+        {
+            try
+            {
+                executor.execute(() -> {}, "finalThread", null, methodName);
+            }
+            catch (PropertyServerException error)
+            {
+                otherThreadErrors.add(error);
+            }
+        });
+
+        finalThread.start();
+        finalThread.join();
+
+        assertEquals(otherThreadErrors.size(), 1);
+    }
+
+
+    @Test
+    public void testStartTimeOrdering() throws Exception
+    {
+        startBlockingService(10);
+
+        long         now      = System.currentTimeMillis();
+        List<String> runOrder = Collections.synchronizedList(new ArrayList<>());
+
+        executor.execute(() -> runOrder.add("third"), "third", new Date(now + 3000), methodName);
+        executor.execute(() -> runOrder.add("first"), "first", new Date(now + 1000), methodName);
+        executor.execute(() -> runOrder.add("fourth"), "fourth", new Date(now + 3000), methodName);
+        executor.execute(() -> runOrder.add("second"), "second", new Date(now + 2000), methodName);
+        executor.execute(() -> runOrder.add("now"), "now", null, methodName);
+
+        blockingServiceLatch.countDown();
+        waitFor(() -> runOrder.size() == 5, "the queued services to run");
+
+        assertEquals(runOrder, List.of("now", "first", "second", "third", "fourth"));
+    }
+
+
+    @Test
+    public void testCounters() throws Exception
+    {
+        executor.setLimits(2, 10);
+
+        executor.execute(blockingService, "blocking1", null, methodName);
+        executor.execute(blockingService, "blocking2", null, methodName);
+        executor.execute(() -> {}, "waiting", null, methodName);
+
+        waitFor(() -> executor.getRunningCount() == 2, "the blocking services to start");
+
+        assertEquals(executor.getQueuedCount(), 1);
+        assertEquals(executor.getCompletedCount(), 0);
+        assertEquals(executor.getMaxConcurrentServices(), 2);
+        assertEquals(executor.getMaxQueuedServices(), 10);
+
+        blockingServiceLatch.countDown();
+        waitFor(() -> executor.getCompletedCount() == 3, "the services to complete");
+
+        assertEquals(executor.getRunningCount(), 0);
+        assertEquals(executor.getQueuedCount(), 0);
+        assertEquals(executor.getRejectedCount(), 0);
+        assertTrue(executor.getLongestQueueWaitTime() >= executor.getAverageQueueWaitTime());
+    }
+
+
+    @Test
+    public void testErrorInGovernanceService() throws Exception
+    {
+        executor.setLimits(1, 10);
+
+        CountDownLatch nextServiceLatch = new CountDownLatch(1);
+
+        executor.execute(() -> { throw new Error("Test error from governance service"); }, "failing", null, methodName);
+        executor.execute(nextServiceLatch::countDown, "next", null, methodName);
+
+        assertTrue(nextServiceLatch.await(waitTimeout, TimeUnit.MILLISECONDS), "Service after the error did not run");
+
+        waitFor(() -> executor.getCompletedCount() == 2, "the services to complete");
+        assertEquals(executor.getRunningCount(), 0);
+
+        /*
+         * The worker that ended with the error no longer counts against the concurrency limit.
+         */
+        CountDownLatch laterServiceLatch = new CountDownLatch(1);
+
+        executor.execute(laterServiceLatch::countDown, "later", null, methodName);
+        assertTrue(laterServiceLatch.await(waitTimeout, TimeUnit.MILLISECONDS), "Later service did not run");
+    }
+
+
+    @Test
+    public void testShutdown() throws Exception
+    {
+        startBlockingService(10);
+
+        Runnable queued1 = () -> {};
+        Runnable queued2 = () -> {};
+
+        executor.execute(queued1, "queued1", null, methodName);
+        executor.execute(queued2, "queued2", null, methodName);
+
+        List<Runnable> discardedServices = executor.shutdown();
+
+        assertEquals(new HashSet<>(discardedServices), new HashSet<>(List.of(queued1, queued2)));
+        assertEquals(executor.getQueuedCount(), 0);
+        assertFalse(executor.tryReserve());
+
+        try
+        {
+            executor.execute(() -> {}, "afterShutdown", null, methodName);
+            fail("Request accepted after shutdown");
+        }
+        catch (PropertyServerException error)
+        {
+            assertTrue(executor.isRejection(error));
+        }
+
+        /*
+         * The running governance service is not interrupted.
+         */
+        assertEquals(executor.getRunningCount(), 1);
+        blockingServiceLatch.countDown();
+        waitFor(() -> executor.getRunningCount() == 0, "the running service to complete");
+    }
+}
@@ -18,6 +18,7 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.governanceservers.enginehostservices.admin.EngineServiceAdmin;
 import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceEngineHandler;
+import org.odpi.openmetadata.governanceservers.enginehostservices.admin.GovernanceServiceExecutor;
 import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesAuditCode;
 import org.odpi.openmetadata.governanceservers.enginehostservices.ffdc.EngineHostServicesErrorCode;
 import org.odpi.openmetadata.governanceservers.enginehostservices.threads.EngineConfigurationRefreshThread;
@@ -313,6 +314,17 @@ public class EngineHostOperationalServices
                                                                       methodName);
                         }
 
+                        int maxConcurrentServices = this.getIntegerOption(engineServiceConfig, GovernanceServiceExecutor.maxConcurrentServicesOption);
+                        int maxQueuedServices     = this.getIntegerOption(engineServiceConfig, GovernanceServiceExecutor.maxQueuedServicesOption);
+
+                        for (GovernanceEngineHandler governanceEngineHandler : serviceEngineHandlers.values())
+                        {
+                            if (governanceEngineHandler != null)
+                            {
+                                governanceEngineHandler.setGovernanceServiceLimits(maxConcurrentServices, maxQueuedServices);
+                            }
+                        }
+
                         governanceEngineHandlers.putAll(serviceEngineHandlers);
                         engineServiceAdminList.add(engineServiceAdmin);
                         activatedEngineServices.add(engineServiceConfig.getEngineServiceFullName());
@@ -399,6 +411,45 @@ public class EngineHostOperationalServices
 
 
 
+    /**
+     * Return the value of a numeric engine service option.  Zero is returned if the option is not set.
+     *
+     * @param engineServiceConfig configuration for the engine service
+     * @param optionName name of the option
+     * @return option value
+     * @throws OMAGConfigurationErrorException the option is not a number
+     */
+    private int getIntegerOption(EngineServiceConfig engineServiceConfig,
+                                 String              optionName) throws OMAGConfigurationErrorException
+    {
+        final String methodName = "getIntegerOption";
+
+        Map<String, Object> engineServiceOptions = engineServiceConfig.getEngineServiceOptions();
+
+        if ((engineServiceOptions != null) && (engineServiceOptions.get(optionName) != null))
+        {
+            Object optionValue = engineServiceOptions.get(optionName);
+
+            try
+            {
+                return Integer.parseInt(optionValue.toString());
+            }
+            catch (NumberFormatException error)
+            {
+                throw new OMAGConfigurationErrorException(EngineHostServicesErrorCode.BAD_ENGINE_SERVICE_OPTION.getMessageDefinition(optionName,
+                                                                                                                                     optionValue.toString(),
+                                                                                                                                     engineServiceConfig.getEngineServiceFullName(),
+                                                                                                                                     localServerName),
+                                                          this.getClass().getName(),
+                                                          methodName,
+                                                          error);
+            }
+        }
+
+        return 0;
+    }
+
+
     /**
      * Create an instance of the engine service's admin class from the class name in the configuration.
      *
@@ -120,6 +120,11 @@ public enum IntegrationDaemonServicesErrorCode implements ExceptionMessageSet
                                  "The integration daemon shuts down, this error is reported to the caller and a similar message is written to the audit log.",
                                   "Update the configuration for the integration service to include a value for the default permitted synchronization."),
 
+    BAD_REFRESH_WORKER_COUNT(400, "INTEGRATION-DAEMON-SERVICES-400-013",
+                             "The integration daemon {0} is not able to use the refreshWorkerCount option value of {1} from integration service {2} because it is not a number",
+                             "The integration daemon fails to start because it can not size the pool of threads that refresh its integration connectors.",
+                             "Correct the refreshWorkerCount option in the integration service configuration so it is a whole number, or remove it to use the default, and then restart the integration daemon."),
+
 
     /*
      * Invalid use of statistics methods.
@@ -30,6 +30,8 @@ public class IntegrationConnectorReport implements Serializable
     private IntegrationConnectorStatus connectorStatus          = null;
     private Date                       lastStatusChange         = null;
     private Date                       lastRefreshTime          = null;
+    private Long                       lastRefreshDuration      = null;
+    private Long                       lastRefreshOverrun       = null;
     private long                       minMinutesBetweenRefresh = 0L;
     private String                     failingExceptionMessage  = null;
     private Map<String, Object>        statistics               = null;
@@ -56,6 +58,8 @@ public class IntegrationConnectorReport implements Serializable
             connectorStatus          = template.getConnectorStatus();
             lastStatusChange         = template.getLastStatusChange();
             lastRefreshTime          = template.getLastRefreshTime();
+            lastRefreshDuration      = template.getLastRefreshDuration();
+            lastRefreshOverrun       = template.getLastRefreshOverrun();
             minMinutesBetweenRefresh = template.getMinMinutesBetweenRefresh();
             failingExceptionMessage  = template.getFailingExceptionMessage();
             statistics               = template.getStatistics();
@@ -153,6 +157,54 @@ public class IntegrationConnectorReport implements Serializable
     }
 
 
+    /**
+     * Return the number of milliseconds that the last call to refresh took.  Null means it has never been refreshed.
+     *
+     * @return milliseconds
+     */
+    public Long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Set up the number of milliseconds that the last call to refresh took.  Null means it has never been refreshed.
+     *
+     * @param lastRefreshDuration milliseconds
+     */
+    public void setLastRefreshDuration(Long lastRefreshDuration)
+    {
+        this.lastRefreshDuration = lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the number of milliseconds that the last call to refresh ran beyond the configured refresh interval,
+     * delaying the next refresh.  Zero means the refresh completed within its interval.  Null means it has
+     * never been refreshed.
+     *
+     * @return milliseconds
+     */
+    public Long getLastRefreshOverrun()
+    {
+        return lastRefreshOverrun;
+    }
+
+
+    /**
+     * Set up the number of milliseconds that the last call to refresh ran beyond the configured refresh interval,
+     * delaying the next refresh.  Zero means the refresh completed within its interval.  Null means it has
+     * never been refreshed.
+     *
+     * @param lastRefreshOverrun milliseconds
+     */
+    public void setLastRefreshOverrun(Long lastRefreshOverrun)
+    {
+        this.lastRefreshOverrun = lastRefreshOverrun;
+    }
+
+
     /**
      * Return the configured minimum time between calls to refresh.  This gives an indication of when the
      * next refresh is due.  Null means refresh is only called at server start up and in response to an API request.
@@ -236,6 +288,8 @@ public class IntegrationConnectorReport implements Serializable
                 ", connectorStatus=" + connectorStatus +
                 ", lastStatusChange=" + lastStatusChange +
                 ", lastRefreshTime=" + lastRefreshTime +
+                ", lastRefreshDuration=" + lastRefreshDuration +
+                ", lastRefreshOverrun=" + lastRefreshOverrun +
                 ", minMinutesBetweenRefresh=" + minMinutesBetweenRefresh +
                 ", failingExceptionMessage='" + failingExceptionMessage + '\'' +
                 ", statistics=" + statistics +
@@ -266,6 +320,8 @@ public class IntegrationConnectorReport implements Serializable
                 connectorStatus == that.connectorStatus &&
                 Objects.equals(lastStatusChange, that.lastStatusChange) &&
                 Objects.equals(lastRefreshTime, that.lastRefreshTime) &&
+                Objects.equals(lastRefreshDuration, that.lastRefreshDuration) &&
+                Objects.equals(lastRefreshOverrun, that.lastRefreshOverrun) &&
                 Objects.equals(failingExceptionMessage, that.failingExceptionMessage) &&
                 Objects.equals(statistics, that.statistics);
     }
@@ -279,6 +335,7 @@ public class IntegrationConnectorReport implements Serializable
     @Override
     public int hashCode()
     {
-        return Objects.hash(connectorName, connectorStatus, lastStatusChange, lastRefreshTime, minMinutesBetweenRefresh, failingExceptionMessage, statistics);
+        return Objects.hash(connectorName, connectorStatus, lastStatusChange, lastRefreshTime, lastRefreshDuration, lastRefreshOverrun,
+                            minMinutesBetweenRefresh, failingExceptionMessage, statistics);
     }
 }
@@ -57,7 +57,9 @@ public class IntegrationConnectorHandler implements Serializable
     private Date                                lastStatusChange                    = null;
     private String                              failingExceptionMessage             = null;
     private Map<String, Object>                 statistics                          = null;
-    private Date                                lastRefreshTime                     = null;
+    private volatile Date                       lastRefreshTime                     = null;
+    private volatile Long                       lastRefreshDuration                 = null;
+    private volatile Long                       lastRefreshOverrun                  = null;
 
 
     /**
@@ -164,6 +166,30 @@ public class IntegrationConnectorHandler implements Serializable
     }
 
 
+    /**
+     * Return the number of milliseconds that the last call to refresh took.  Null means it has never been refreshed.
+     *
+     * @return milliseconds
+     */
+    Long getLastRefreshDuration()
+    {
+        return lastRefreshDuration;
+    }
+
+
+    /**
+     * Return the number of milliseconds that the last call to refresh ran beyond the configured refresh interval,
+     * delaying the next refresh.  Zero means the refresh completed within its interval.  Null means it has
+     * never been refreshed.
+     *
+     * @return milliseconds
+     */
+    Long getLastRefreshOverrun()
+    {
+        return lastRefreshOverrun;
+    }
+
+
     /**
      * Return the configured minimum time between calls to refresh.  This gives an indication of when the
      * next refresh is due.  Null means refresh is only called at server start up and in response to an API request.
@@ -393,6 +419,8 @@ public class IntegrationConnectorHandler implements Serializable
     {
         final String operationName = "refresh";
 
+        long startTime = System.currentTimeMillis();
+
         try
         {
             if (integrationConnectorStatus == IntegrationConnectorStatus.INITIALIZED)
@@ -426,6 +454,21 @@ public class IntegrationConnectorHandler implements Serializable
         {
             processConnectorException(actionDescription, operationName, error);
         }
+        finally
+        {
+            long duration = System.currentTimeMillis() - startTime;
+
+            this.lastRefreshDuration = duration;
+
+            if (minMinutesBetweenRefresh > 0)
+            {
+                this.lastRefreshOverrun = Math.max(duration - (minMinutesBetweenRefresh * 60000), 0L);
+            }
+            else
+            {
+                this.lastRefreshOverrun = 0L;
+            }
+        }
     }
 
 
@@ -511,6 +554,8 @@ public class IntegrationConnectorHandler implements Serializable
         this.failingExceptionMessage             = null;
         this.statistics                          = null;
         this.lastRefreshTime                     = null;
+        this.lastRefreshDuration                 = null;
+        this.lastRefreshOverrun                  = null;
     }
 
 
@@ -134,6 +134,8 @@ public class IntegrationServiceHandler
                     connectorReport.setStatistics(connectorHandler.getStatistics());
                     connectorReport.setLastStatusChange(connectorHandler.getLastStatusChange());
                     connectorReport.setLastRefreshTime(connectorHandler.getLastRefreshTime());
+                    connectorReport.setLastRefreshDuration(connectorHandler.getLastRefreshDuration());
+                    connectorReport.setLastRefreshOverrun(connectorHandler.getLastRefreshOverrun());
                     connectorReport.setMinMinutesBetweenRefresh(connectorHandler.getMinMinutesBetweenRefresh());
 
                     connectorReports.add(connectorReport);
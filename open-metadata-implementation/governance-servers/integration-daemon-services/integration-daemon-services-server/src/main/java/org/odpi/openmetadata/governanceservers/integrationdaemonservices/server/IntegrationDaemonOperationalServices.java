@@ -93,6 +93,11 @@ public class IntegrationDaemonOperationalServices
                                                           methodName);
             }
 
+            /*
+             * The refresh worker count is validated before any of the integration connectors are created.
+             */
+            int refreshWorkerCount = this.getRefreshWorkerCount(configuration);
+
             /*
              * Initialize each of the integration services and accumulate the integration connector handlers for the
              * integration daemon handler.
@@ -151,6 +156,7 @@ public class IntegrationDaemonOperationalServices
              */
             IntegrationDaemonThread integrationDaemonThread = new IntegrationDaemonThread(localServerName,
                                                                                           daemonConnectorHandlers,
+                                                                                          refreshWorkerCount,
                                                                                           auditLog);
 
             integrationDaemonThread.start();
@@ -195,6 +201,50 @@ public class IntegrationDaemonOperationalServices
     }
 
 
+    /**
+     * Return the number of threads that refresh the integration connectors.  This is set through the
+     * refreshWorkerCount integration service option.  The largest value from the integration services is used.
+     * Zero means use the default.
+     *
+     * @param configuration config properties
+     * @return count
+     * @throws OMAGConfigurationErrorException the option is not a number
+     */
+    private int getRefreshWorkerCount(List<IntegrationServiceConfig> configuration) throws OMAGConfigurationErrorException
+    {
+        final String methodName = "getRefreshWorkerCount";
+
+        int refreshWorkerCount = 0;
+
+        for (IntegrationServiceConfig integrationServiceConfig : configuration)
+        {
+            if ((integrationServiceConfig != null) && (integrationServiceConfig.getIntegrationServiceOptions() != null))
+            {
+                Object option = integrationServiceConfig.getIntegrationServiceOptions().get(IntegrationDaemonThread.refreshWorkerCountOption);
+
+                if (option != null)
+                {
+                    try
+                    {
+                        refreshWorkerCount = Math.max(refreshWorkerCount, Integer.parseInt(option.toString()));
+                    }
+                    catch (NumberFormatException error)
+                    {
+                        throw new OMAGConfigurationErrorException(IntegrationDaemonServicesErrorCode.BAD_REFRESH_WORKER_COUNT.getMessageDefinition(localServerName,
+                                                                                                                                                  option.toString(),
+                                                                                                                                                  integrationServiceConfig.getIntegrationServiceFullName()),
+                                                                  this.getClass().getName(),
+                                                                  methodName,
+                                                                  error);
+                    }
+                }
+            }
+        }
+
+        return refreshWorkerCount;
+    }
+
+
     /**
      * Return the open metadata server's root URL from the configuration.
      *
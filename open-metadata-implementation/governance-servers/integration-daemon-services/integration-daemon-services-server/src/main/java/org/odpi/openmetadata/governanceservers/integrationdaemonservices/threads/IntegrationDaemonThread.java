@@ -9,25 +9,120 @@ import org.odpi.openmetadata.governanceservers.integrationdaemonservices.handler
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * IntegrationDaemonThread is the class responsible for managing executing integration connectors
  * within an integration daemon.  It manages the automated refresh of the connectors.
  * The connectors are also being refreshed through the REST API.
+ * <p>
+ *     The connectors are held in a queue ordered by the time that their next refresh is due.  This is calculated
+ *     from the time of the last refresh and the connector's minimum minutes between refresh.  When a refresh is due,
+ *     it is passed to a pool of worker threads so that a slow connector does not delay the others.  A connector
+ *     is only returned to the queue once its refresh is complete, so the same connector is never refreshed by
+ *     two workers at once.  A connector that has not been refreshed since it was (re)started is refreshed
+ *     within a second.
+ * </p>
  */
 public class IntegrationDaemonThread implements Runnable
 {
     private static final Logger log = LoggerFactory.getLogger(IntegrationDaemonThread.class);
 
+    /**
+     * Integration service option that sets the number of worker threads refreshing the connectors.
+     * If more than one integration service sets this option, the largest value is used.
+     */
+    public static final String refreshWorkerCountOption = "refreshWorkerCount";
+
+    private static final long maxWaitTime = 1000;
+
     private String                            integrationDaemonName;
     private List<IntegrationConnectorHandler> connectorHandlers;
+    private int                               refreshWorkerCount;
     private AuditLog                          auditLog;
 
+    private final PriorityQueue<ScheduledRefresh> refreshQueue = new PriorityQueue<>();
+    private final AtomicBoolean                   running      = new AtomicBoolean(false);
+    private final AtomicInteger                   workerNumber = new AtomicInteger(0);
+
+    private volatile ExecutorService refreshWorkers = null;
 
-    private final AtomicBoolean running = new AtomicBoolean(false);
+    private long refreshSequence = 0;
+
+
+    /**
+     * ScheduledRefresh is an entry in the refresh queue.
+     */
+    private static class ScheduledRefresh implements Comparable<ScheduledRefresh>
+    {
+        private final IntegrationConnectorHandler connectorHandler;
+        private final long                        nextDueTime;
+        private final long                        sequence;
+
+
+        /**
+         * Constructor
+         *
+         * @param connectorHandler connector to refresh
+         * @param nextDueTime time in milliseconds when the refresh is due
+         * @param sequence tie breaker so connectors due at the same time are refreshed in the order they were queued
+         */
+        ScheduledRefresh(IntegrationConnectorHandler connectorHandler,
+                         long                        nextDueTime,
+                         long                        sequence)
+        {
+            this.connectorHandler = connectorHandler;
+            this.nextDueTime      = nextDueTime;
+            this.sequence         = sequence;
+        }
+
+
+        /**
+         * Order by due time.
+         *
+         * @param other other entry
+         * @return comparison result
+         */
+        @Override
+        public int compareTo(ScheduledRefresh other)
+        {
+            int result = Long.compare(nextDueTime, other.nextDueTime);
+
+            if (result == 0)
+            {
+                result = Long.compare(sequence, other.sequence);
+            }
+
+            return result;
+        }
+    }
+
+
+    /**
+     * Constructor provides access to the variables needed to run the connector.  The number of worker
+     * threads is based on the number of connectors and processors.
+     *
+     * @param integrationDaemonName name of this integration daemon server
+     * @param connectorHandlers wrapper for the connector.
+     * @param auditLog logging destination
+     */
+    public IntegrationDaemonThread(String                            integrationDaemonName,
+                                   List<IntegrationConnectorHandler> connectorHandlers,
+                                   AuditLog                          auditLog)
+    {
+        this(integrationDaemonName, connectorHandlers, 0, auditLog);
+    }
 
 
     /**
@@ -35,15 +130,44 @@ public class IntegrationDaemonThread implements Runnable
      *
      * @param integrationDaemonName name of this integration daemon server
      * @param connectorHandlers wrapper for the connector.
+     * @param refreshWorkerCount number of threads refreshing the connectors - zero or less means use the default
      * @param auditLog logging destination
      */
     public IntegrationDaemonThread(String                            integrationDaemonName,
                                    List<IntegrationConnectorHandler> connectorHandlers,
+                                   int                               refreshWorkerCount,
                                    AuditLog                          auditLog)
     {
         this.integrationDaemonName = integrationDaemonName;
         this.connectorHandlers     = connectorHandlers;
         this.auditLog              = auditLog;
+
+        if (refreshWorkerCount > 0)
+        {
+            this.refreshWorkerCount = refreshWorkerCount;
+        }
+        else
+        {
+            int connectorCount = 1;
+
+            if (connectorHandlers != null)
+            {
+                connectorCount = Math.max(connectorHandlers.size(), 1);
+            }
+
+            this.refreshWorkerCount = Math.min(connectorCount, Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+
+    /**
+     * Return the number of worker threads refreshing the connectors.
+     *
+     * @return count
+     */
+    public int getRefreshWorkerCount()
+    {
+        return refreshWorkerCount;
     }
 
 
@@ -60,66 +184,81 @@ public class IntegrationDaemonThread implements Runnable
 
 
     /**
-     * Requests that the integration daemon thread shuts down.
+     * Requests that the integration daemon thread shuts down.  Refreshes that are in progress are allowed to complete.
      */
     public void stop()
     {
         running.set(false);
+
+        synchronized (refreshQueue)
+        {
+            refreshQueue.notifyAll();
+        }
+
+        ExecutorService workers = refreshWorkers;
+
+        if (workers != null)
+        {
+            workers.shutdown();
+        }
     }
 
 
     /**
-     * This is the method that runs in the new thread when it is started.
+     * This is the method that runs in the new thread when it is started.  It passes each connector to the
+     * worker threads when its refresh is due.
      */
     @Override
     public void run()
     {
         final String actionDescription = "Periodic refresh of connector";
+        final String threadName        = "::IntegrationDaemonThread::Worker-";
 
         running.set(true);
 
         auditLog.logMessage(actionDescription,
                             IntegrationDaemonServicesAuditCode.DAEMON_THREAD_STARTING.getMessageDefinition(integrationDaemonName));
 
-        while (running.get())
+        refreshWorkers = Executors.newFixedThreadPool(refreshWorkerCount,
+                                                      runnable -> new Thread(runnable,
+                                                                             integrationDaemonName + threadName + workerNumber.incrementAndGet()));
+
+        if (connectorHandlers != null)
         {
-            Date now = new Date();
+            Set<IntegrationConnectorHandler> queuedHandlers = Collections.newSetFromMap(new IdentityHashMap<>());
+            long                             now            = System.currentTimeMillis();
 
-            for (IntegrationConnectorHandler connectorHandler : connectorHandlers)
+            synchronized (refreshQueue)
             {
-                if (connectorHandler != null)
+                for (IntegrationConnectorHandler connectorHandler : connectorHandlers)
                 {
-                    try
-                    {
-                        if (connectorHandler.getLastRefreshTime() == null)
-                        {
-                            connectorHandler.refreshConnector(actionDescription, true);
-                        }
-                        else if (connectorHandler.getMinMinutesBetweenRefresh() > 0)
-                        {
-                            long nextRefreshTime =
-                                    connectorHandler.getLastRefreshTime().getTime() +
-                                            (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
-
-                            if (nextRefreshTime < now.getTime())
-                            {
-                                connectorHandler.refreshConnector(actionDescription, false);
-                            }
-                        }
-                    }
-                    catch (Exception error)
+                    if ((connectorHandler != null) && (queuedHandlers.add(connectorHandler)))
                     {
-                        auditLog.logMessage(actionDescription,
-                                            IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
-                                                                                                                                  error.getClass().getName(),
-                                                                                                                                  error.getMessage()));
+                        scheduleRefresh(connectorHandler, now);
                     }
                 }
             }
+        }
 
-            waitToRetry();
+        while (running.get())
+        {
+            List<ScheduledRefresh> dueRefreshes = getDueRefreshes();
+
+            for (ScheduledRefresh dueRefresh : dueRefreshes)
+            {
+                try
+                {
+                    refreshWorkers.execute(() -> refreshConnector(dueRefresh.connectorHandler, actionDescription));
+                }
+                catch (RejectedExecutionException error)
+                {
+                    log.debug("Refresh not started because the integration daemon thread is stopping", error);
+                }
+            }
         }
 
+        refreshWorkers.shutdown();
+
         auditLog.logMessage(actionDescription,
                             IntegrationDaemonServicesAuditCode.DAEMON_THREAD_TERMINATING.getMessageDefinition(integrationDaemonName));
 
@@ -127,19 +266,152 @@ public class IntegrationDaemonThread implements Runnable
 
 
     /**
-     * Wait before retrying ...
+     * Wait until at least one refresh is due (or a second has passed) and remove the due refreshes from the queue.
+     *
+     * @return list of refreshes to run
+     */
+    private List<ScheduledRefresh> getDueRefreshes()
+    {
+        List<ScheduledRefresh> dueRefreshes = new ArrayList<>();
+
+        synchronized (refreshQueue)
+        {
+            long now = System.currentTimeMillis();
+
+            promoteRestartedConnectors(now);
+
+            ScheduledRefresh nextRefresh = refreshQueue.peek();
+
+            while ((nextRefresh != null) && (nextRefresh.nextDueTime <= now))
+            {
+                dueRefreshes.add(refreshQueue.poll());
+                nextRefresh = refreshQueue.peek();
+            }
+
+            if ((dueRefreshes.isEmpty()) && (running.get()))
+            {
+                long waitTime = maxWaitTime;
+
+                if (nextRefresh != null)
+                {
+                    waitTime = Math.min(nextRefresh.nextDueTime - now, maxWaitTime);
+                }
+
+                try
+                {
+                    refreshQueue.wait(waitTime);
+                }
+                catch (InterruptedException error)
+                {
+                    log.error("Ignored exception from wait - probably ok", error);
+                }
+            }
+        }
+
+        return dueRefreshes;
+    }
+
+
+    /**
+     * A connector that is restarted through the REST API has its last refresh time cleared.  These connectors
+     * are moved to the front of the queue so they are refreshed promptly rather than at their old due time.
+     * Connectors that are already waiting to retry a failed refresh are left alone.
+     *
+     * @param now current time
      */
-    private void waitToRetry()
+    private void promoteRestartedConnectors(long now)
     {
-        final int  sleepTime = 1000;
+        List<ScheduledRefresh> restartedConnectors = null;
+
+        for (ScheduledRefresh scheduledRefresh : refreshQueue)
+        {
+            if ((scheduledRefresh.nextDueTime > now + maxWaitTime) && (scheduledRefresh.connectorHandler.getLastRefreshTime() == null))
+            {
+                if (restartedConnectors == null)
+                {
+                    restartedConnectors = new ArrayList<>();
+                }
+
+                restartedConnectors.add(scheduledRefresh);
+            }
+        }
 
+        if (restartedConnectors != null)
+        {
+            for (ScheduledRefresh restartedConnector : restartedConnectors)
+            {
+                refreshQueue.remove(restartedConnector);
+                scheduleRefresh(restartedConnector.connectorHandler, now);
+            }
+        }
+    }
+
+
+    /**
+     * Refresh a connector on a worker thread and return it to the queue with its next due time.
+     *
+     * @param connectorHandler connector to refresh
+     * @param actionDescription description of the activity
+     */
+    private void refreshConnector(IntegrationConnectorHandler connectorHandler,
+                                  String                      actionDescription)
+    {
         try
         {
-            Thread.sleep(sleepTime);
+            connectorHandler.refreshConnector(actionDescription, connectorHandler.getLastRefreshTime() == null);
         }
         catch (Exception error)
         {
-            log.error("Ignored exception from sleep - probably ok", error);
+            auditLog.logMessage(actionDescription,
+                                IntegrationDaemonServicesAuditCode.DAEMON_THREAD_CONNECTOR_ERROR.getMessageDefinition(integrationDaemonName,
+                                                                                                                      error.getClass().getName(),
+                                                                                                                      error.getMessage()));
+        }
+        finally
+        {
+            synchronized (refreshQueue)
+            {
+                scheduleRefresh(connectorHandler, getNextDueTime(connectorHandler));
+                refreshQueue.notifyAll();
+            }
+        }
+    }
+
+
+    /**
+     * Calculate when the next refresh of a connector is due.  A connector without a refresh interval stays in the
+     * queue (at the back) so that it is found if it is restarted.  A connector whose refresh failed is retried
+     * after a second.
+     *
+     * @param connectorHandler connector
+     * @return time in milliseconds
+     */
+    private long getNextDueTime(IntegrationConnectorHandler connectorHandler)
+    {
+        Date lastRefreshTime = connectorHandler.getLastRefreshTime();
+
+        if (lastRefreshTime == null)
+        {
+            return System.currentTimeMillis() + maxWaitTime;
+        }
+        else if (connectorHandler.getMinMinutesBetweenRefresh() > 0)
+        {
+            return lastRefreshTime.getTime() + (connectorHandler.getMinMinutesBetweenRefresh() * 60000);
         }
+
+        return Long.MAX_VALUE;
+    }
+
+
+    /**
+     * Add a connector to the refresh queue.  The caller must hold the refresh queue lock.
+     *
+     * @param connectorHandler connector
+     * @param nextDueTime time in milliseconds when the refresh is due
+     */
+    private void scheduleRefresh(IntegrationConnectorHandler connectorHandler,
+                                 long                        nextDueTime)
+    {
+        refreshQueue.add(new ScheduledRefresh(connectorHandler, nextDueTime, refreshSequence++));
     }
 }
@@ -2,7 +2,6 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
@@ -21,11 +20,14 @@ import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
 import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
@@ -53,6 +55,12 @@ import java.util.List;
  *         connectors that implement OpenMetadataTopic.
  *     </li>
  * </ul>
+ * <p>
+ *     Each OMRSTopicListener is passed its events by its own OMRSTopicListenerDispatcher so that a listener that
+ *     is slow to process its events does not hold up the other listeners.  The number of worker threads and the
+ *     size of the queues for each listener are set with the listenerWorkers, listenerQueueSize and
+ *     listenerQueueTimeout configuration properties.
+ * </p>
  */
 public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
                                                                  VirtualConnectorExtension,
@@ -61,10 +69,18 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 {
     private static final Logger       log      = LoggerFactory.getLogger(OMRSTopicConnector.class);
 
+    public static final String LISTENER_WORKERS_PROPERTY       = "listenerWorkers";
+    public static final String LISTENER_QUEUE_SIZE_PROPERTY    = "listenerQueueSize";
+    public static final String LISTENER_QUEUE_TIMEOUT_PROPERTY = "listenerQueueTimeout";
+
+    public static final int    DEFAULT_LISTENER_WORKERS        = 1;
+    public static final int    DEFAULT_LISTENER_QUEUE_SIZE     = 1000;
+    public static final long   DEFAULT_LISTENER_QUEUE_TIMEOUT  = 0L;
+
     private List<Connector> embeddedConnectors = null;
 
-    private List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
-    private List<OpenMetadataTopicConnector> eventBusConnectors     = new ArrayList<>();
+    private List<OMRSTopicListenerDispatcher> listenerDispatchers = new CopyOnWriteArrayList<>();
+    private List<OpenMetadataTopicConnector>  eventBusConnectors  = new ArrayList<>();
 
     private String                    connectionName       = OMRSAuditingComponent.OMRS_TOPIC_CONNECTOR.getComponentName();
     private String                    topicName = "<Unknown>";
@@ -135,7 +151,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     {
         if (topicListener != null)
         {
-            internalTopicListeners.add(new OMRSTopicListenerWrapper(topicListener, auditLog));
+            this.addListenerDispatcher(new OMRSTopicListenerWrapper(topicListener, auditLog), "<Unknown Service>", auditLog);
         }
         else
         {
@@ -161,9 +177,9 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     {
         if (topicListener != null)
         {
-            internalTopicListeners.add(new OMRSTopicListenerWrapper(topicListener,
-                                                                    serviceName,
-                                                                    auditLog.createNewAuditLog(OMRSAuditingComponent.ENTERPRISE_TOPIC_LISTENER)));
+            AuditLog listenerAuditLog = auditLog.createNewAuditLog(OMRSAuditingComponent.ENTERPRISE_TOPIC_LISTENER);
+
+            this.addListenerDispatcher(new OMRSTopicListenerWrapper(topicListener, serviceName, listenerAuditLog), serviceName, listenerAuditLog);
         }
         else
         {
@@ -176,6 +192,79 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Create the dispatcher that passes the events to a listener.  Its sizing is taken from the
+     * configuration properties of the connection.
+     *
+     * @param topicListener wrapped listener
+     * @param serviceName name of the service that the listener is from
+     * @param listenerAuditLog log destination for the listener
+     */
+    private void addListenerDispatcher(OMRSTopicListener topicListener,
+                                       String            serviceName,
+                                       AuditLog          listenerAuditLog)
+    {
+        int  workerCount  = (int) this.getConfigurationProperty(LISTENER_WORKERS_PROPERTY, DEFAULT_LISTENER_WORKERS);
+        int  queueSize    = (int) this.getConfigurationProperty(LISTENER_QUEUE_SIZE_PROPERTY, DEFAULT_LISTENER_QUEUE_SIZE);
+        long maxQueueWait = this.getConfigurationProperty(LISTENER_QUEUE_TIMEOUT_PROPERTY, DEFAULT_LISTENER_QUEUE_TIMEOUT);
+
+        listenerDispatchers.add(new OMRSTopicListenerDispatcher(this,
+                                                                topicListener,
+                                                                serviceName,
+                                                                listenerAuditLog,
+                                                                Math.max(workerCount, 1),
+                                                                Math.max(queueSize, 1),
+                                                                Math.max(maxQueueWait, 0L)));
+    }
+
+
+    /**
+     * Return the numeric value of a configuration property from the connection, or the default if it is not set.
+     *
+     * @param propertyName name of the configuration property
+     * @param defaultValue value to use if the property is not set
+     * @return property value
+     */
+    private long getConfigurationProperty(String propertyName,
+                                          long   defaultValue)
+    {
+        if (connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object propertyValue = configurationProperties.get(propertyName);
+
+                if (propertyValue instanceof Number)
+                {
+                    return ((Number) propertyValue).longValue();
+                }
+            }
+        }
+
+        return defaultValue;
+    }
+
+
+    /**
+     * Return the statistics describing the queues of events waiting for each of the registered listeners.
+     *
+     * @return list of statistics, one for each listener
+     */
+    public List<OMRSTopicListenerStatistics> getListenerStatistics()
+    {
+        List<OMRSTopicListenerStatistics> listenerStatistics = new ArrayList<>();
+
+        for (OMRSTopicListenerDispatcher listenerDispatcher : listenerDispatchers)
+        {
+            listenerStatistics.add(listenerDispatcher.getStatistics());
+        }
+
+        return listenerStatistics;
+    }
+
+
     /**
      * Indicates that the connector is completely configured and can begin processing.
      * OMRSTopicConnector needs to pass on the start() to its embedded connectors.
@@ -367,13 +456,13 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                String eventString = OMRSJSONMapper.writeValueAsString(event);
 
                 for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
                 {
                     if (eventBusConnector != null)
                     {
-                        eventBusConnector.sendEvent(objectMapper.writeValueAsString(event));
+                        eventBusConnector.sendEvent(eventString);
                     }
                 }
             }
@@ -407,7 +496,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
 
     /**
-     * Receives events from the real topic, parses them into event objects and passes them on to
+     * Receives events from the real topic, parses them into event objects and queues them for
      * the OMRSTopicListeners registered with this connector.
      *
      * @param event inbound event
@@ -416,7 +505,6 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     public void processEvent(String event)
     {
         final String actionDescription = "Process an OMRS Event";
-        final String methodName = "processEvent";
 
         if (event != null)
         {
@@ -427,9 +515,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                eventBean = objectMapper.readValue(event, OMRSEventBean.class);
+                eventBean = OMRSJSONMapper.readValue(event, OMRSEventBean.class);
             }
             catch (Exception   exception)
             {
@@ -443,32 +529,20 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
 
             /*
-             * If the event bean is successfully created then pass it on to the registered listeners.
+             * If the event bean is successfully created then queue it for each of the registered listeners.
+             * The futures of the queued events are added to the processing context of the event bus thread
+             * so the event is not recorded as processed until each listener has processed it.
              */
             if (eventBean instanceof OMRSEventV1)
             {
-                OMRSEventBean finalEventBean = eventBean;
-                internalTopicListeners.parallelStream().forEach((topicListener) ->
-                {
-                    try
-                    {
-                        this.processOMRSEvent((OMRSEventV1) finalEventBean, topicListener);
-                    }
-                    catch (Throwable  error)
-                    {
-                        log.debug("Unable to pass event to one of the topic listeners");
+                InternalOMRSEventProcessingContext processingContext = InternalOMRSEventProcessingContext.getInstance();
 
-                        if (auditLog != null)
-                        {
-                            auditLog.logException(methodName,
-                                                  OMRSAuditCode.EVENT_PROCESSING_ERROR.getMessageDefinition(event,
-                                                                                                            error.toString(),
-                                                                                                            topicListener.toString()),
-                                                  event,
-                                                  error);
-                        }
-                    }
-                });
+                for (OMRSTopicListenerDispatcher listenerDispatcher : listenerDispatchers)
+                {
+                    processingContext.addAsyncProcessingResult(listenerDispatcher.dispatch((OMRSEventV1) eventBean,
+                                                                                           event,
+                                                                                           processingContext.getCurrentMessageId()));
+                }
             }
         }
         else
@@ -483,6 +557,40 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     }
 
 
+    /**
+     * Pass an event to a listener.  This is called on the listener's worker thread.
+     *
+     * @param eventBean Version 1 of the OMRSEvent that defines the category and payload of the incoming event.
+     * @param event inbound event as received from the event bus
+     * @param topicListener listener that will receive the event.
+     */
+    void passEventToListener(OMRSEventV1       eventBean,
+                             String            event,
+                             OMRSTopicListener topicListener)
+    {
+        final String methodName = "passEventToListener";
+
+        try
+        {
+            this.processOMRSEvent(eventBean, topicListener);
+        }
+        catch (Throwable  error)
+        {
+            log.debug("Unable to pass event to one of the topic listeners");
+
+            if (auditLog != null)
+            {
+                auditLog.logException(methodName,
+                                      OMRSAuditCode.EVENT_PROCESSING_ERROR.getMessageDefinition(event,
+                                                                                                error.toString(),
+                                                                                                topicListener.toString()),
+                                      event,
+                                      error);
+            }
+        }
+    }
+
+
     /**
      * Process the OMRS Event bean.  The processing is careful of nulls and ignores an event
      * that is incorrectly formatted.  The assumption is that the unformatted part of the message
@@ -565,6 +673,11 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
             eventBusConnector.disconnect();
         }
 
+        for (OMRSTopicListenerDispatcher listenerDispatcher : listenerDispatchers)
+        {
+            listenerDispatcher.shutdown();
+        }
+
         if (auditLog != null)
         {
             auditLog.logMessage(actionDescription,
@@ -0,0 +1,391 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.odpi.openmetadata.repositoryservices.events.future.CompletedFuture;
+import org.odpi.openmetadata.repositoryservices.events.future.DelegatableFuture;
+import org.odpi.openmetadata.repositoryservices.events.future.OMRSFuture;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * OMRSTopicListenerDispatcher passes the inbound events to one of the OMRSTopicListeners registered with the
+ * OMRSTopicConnector.  Each listener has its own dispatcher with its own worker threads and bounded queues so
+ * a listener that is slow to process its events does not hold up the other listeners.
+ * <p>
+ *     Each worker has its own queue.  Instance events are routed to a worker by the GUID of the instance so
+ *     the events for an instance are passed to the listener in the order they were received.
+ *     Registry and TypeDef events are routed to the first worker.  With a single worker (the default) the
+ *     listener receives all events in the order they were received.
+ * </p>
+ * <p>
+ *     When a worker's queue is full the event bus thread waits for space, which slows down the
+ *     consumption of events from the event bus.  If a maximum wait time is set, an event that can not be
+ *     queued within that time is discarded and an audit log message is written.  The counters are
+ *     returned as OMRSTopicListenerStatistics.
+ * </p>
+ * <p>
+ *     Each queued event has a future that completes once the listener has processed the event, along with
+ *     any asynchronous processing that the listener registered through the OMRSEventProcessingContext
+ *     on the worker thread.  The event bus connector waits for these futures before it records the event
+ *     as processed.  When the dispatcher is shutdown, the workers pass the events still in their queues
+ *     to the listener before they stop.
+ * </p>
+ */
+class OMRSTopicListenerDispatcher
+{
+    private static final Logger log = LoggerFactory.getLogger(OMRSTopicListenerDispatcher.class);
+
+    private final OMRSTopicConnector  topicConnector;
+    private final OMRSTopicListener   topicListener;
+    private final String              serviceName;
+    private final AuditLog            auditLog;
+    private final int                 queueSize;
+    private final long                maxQueueWait;
+    private final List<Worker>        workers = new ArrayList<>();
+
+    private final AtomicLong          eventsQueued      = new AtomicLong(0);
+    private final AtomicLong          eventsProcessed   = new AtomicLong(0);
+    private final AtomicLong          eventsDropped     = new AtomicLong(0);
+    private final AtomicLong          backpressureWaits = new AtomicLong(0);
+    private final AtomicLong          lastEventLag      = new AtomicLong(0);
+    private final AtomicLong          maxEventLag       = new AtomicLong(0);
+
+    private volatile boolean          keepRunning = true;
+
+
+    /**
+     * Constructor starts the worker threads.
+     *
+     * @param topicConnector connector that received the events
+     * @param topicListener listener to pass the events to
+     * @param serviceName name of the service that registered the listener
+     * @param auditLog log destination
+     * @param workerCount number of worker threads
+     * @param queueSize maximum number of events waiting for each worker
+     * @param maxQueueWait maximum time in milliseconds to wait for space in a queue - zero means wait until there is space
+     */
+    OMRSTopicListenerDispatcher(OMRSTopicConnector topicConnector,
+                                OMRSTopicListener  topicListener,
+                                String             serviceName,
+                                AuditLog           auditLog,
+                                int                workerCount,
+                                int                queueSize,
+                                long               maxQueueWait)
+    {
+        this.topicConnector = topicConnector;
+        this.topicListener = topicListener;
+        this.serviceName = serviceName;
+        this.auditLog = auditLog;
+        this.queueSize = queueSize;
+        this.maxQueueWait = maxQueueWait;
+
+        for (int i = 0; i < workerCount; i++)
+        {
+            Worker worker = new Worker(serviceName + " OMRSTopicListener dispatcher-" + (i + 1));
+
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+
+    /**
+     * Queue an event for the listener.
+     *
+     * @param eventBean parsed event
+     * @param event event as received from the event bus
+     * @param messageId unique identifier of the event on the event bus
+     * @return future that completes when the listener has processed the event, or the event is discarded
+     */
+    OMRSFuture dispatch(OMRSEventV1 eventBean,
+                        String      event,
+                        String      messageId)
+    {
+        final String methodName = "dispatch";
+
+        String instanceGUID = null;
+
+        if ((eventBean.getEventCategory() == OMRSEventCategory.INSTANCE) && (eventBean.getInstanceEventSection() != null))
+        {
+            instanceGUID = eventBean.getInstanceEventSection().getInstanceGUID();
+        }
+
+        Worker      worker      = workers.get(instanceGUID == null ? 0 : Math.floorMod(instanceGUID.hashCode(), workers.size()));
+        QueuedEvent queuedEvent = new QueuedEvent(eventBean, event, messageId);
+
+        /*
+         * The event is counted before it is queued so the processed count never exceeds the queued count.
+         */
+        eventsQueued.incrementAndGet();
+
+        try
+        {
+            if (! worker.queue.offer(queuedEvent))
+            {
+                backpressureWaits.incrementAndGet();
+
+                if (maxQueueWait > 0)
+                {
+                    if (! worker.queue.offer(queuedEvent, maxQueueWait, TimeUnit.MILLISECONDS))
+                    {
+                        log.debug("Discarded event for " + serviceName + " after waiting " + maxQueueWait + " ms");
+
+                        if (auditLog != null)
+                        {
+                            auditLog.logMessage(methodName,
+                                                OMRSAuditCode.EVENT_DISPATCH_QUEUE_FULL.getMessageDefinition(serviceName,
+                                                                                                             Long.toString(maxQueueWait)),
+                                                event);
+                        }
+
+                        return this.discardEvent(queuedEvent);
+                    }
+                }
+                else
+                {
+                    worker.queue.put(queuedEvent);
+                }
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+
+            return this.discardEvent(queuedEvent);
+        }
+
+        /*
+         * An event queued while the dispatcher is shutting down may arrive after the worker has drained its
+         * queue.  Once the worker has stopped, such an event is passed to the listener on this thread, where
+         * any asynchronous processing the listener registers goes straight into the event's processing context.
+         */
+        if (! keepRunning)
+        {
+            try
+            {
+                worker.join();
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            if (worker.queue.remove(queuedEvent))
+            {
+                if (worker.isAlive())
+                {
+                    return this.discardEvent(queuedEvent);
+                }
+
+                topicConnector.passEventToListener(queuedEvent.eventBean, queuedEvent.event, topicListener);
+
+                eventsProcessed.incrementAndGet();
+                queuedEvent.completion.setDelegate(CompletedFuture.INSTANCE);
+            }
+        }
+
+        return queuedEvent.completion;
+    }
+
+
+    /**
+     * Record that an event was not passed to the listener and complete its future so the event bus
+     * connector does not wait for it.
+     *
+     * @param queuedEvent discarded event
+     * @return completed future
+     */
+    private OMRSFuture discardEvent(QueuedEvent queuedEvent)
+    {
+        eventsQueued.decrementAndGet();
+        eventsDropped.incrementAndGet();
+
+        queuedEvent.completion.setDelegate(CompletedFuture.INSTANCE);
+
+        return queuedEvent.completion;
+    }
+
+
+    /**
+     * Return the current values of the counters.
+     *
+     * @return statistics
+     */
+    OMRSTopicListenerStatistics getStatistics()
+    {
+        OMRSTopicListenerStatistics statistics = new OMRSTopicListenerStatistics();
+        int                         queueDepth = 0;
+
+        for (Worker worker : workers)
+        {
+            queueDepth = queueDepth + worker.queue.size();
+        }
+
+        statistics.setServiceName(serviceName);
+        statistics.setWorkerCount(workers.size());
+        statistics.setQueueCapacity(workers.size() * queueSize);
+        statistics.setQueueDepth(queueDepth);
+        statistics.setEventsQueued(eventsQueued.get());
+        statistics.setEventsProcessed(eventsProcessed.get());
+        statistics.setEventsDropped(eventsDropped.get());
+        statistics.setBackpressureWaits(backpressureWaits.get());
+        statistics.setLastEventLag(lastEventLag.get());
+        statistics.setMaxEventLag(maxEventLag.get());
+
+        return statistics;
+    }
+
+
+    /**
+     * Stop the worker threads.  Each worker passes the events still waiting in its queue to the listener
+     * before it stops.
+     */
+    void shutdown()
+    {
+        keepRunning = false;
+
+        for (Worker worker : workers)
+        {
+            worker.interrupt();
+        }
+    }
+
+
+    /**
+     * QueuedEvent holds an event waiting for the listener along with the time it was queued and the
+     * future that completes when it has been processed.
+     */
+    private static class QueuedEvent
+    {
+        private final OMRSEventV1       eventBean;
+        private final String            event;
+        private final String            messageId;
+        private final long              queueTime  = System.currentTimeMillis();
+        private final DelegatableFuture completion = new DelegatableFuture();
+
+
+        /**
+         * Constructor supplies the event.
+         *
+         * @param eventBean parsed event
+         * @param event event as received from the event bus
+         * @param messageId unique identifier of the event on the event bus
+         */
+        QueuedEvent(OMRSEventV1 eventBean,
+                    String      event,
+                    String      messageId)
+        {
+            this.eventBean = eventBean;
+            this.event = event;
+            this.messageId = messageId;
+        }
+    }
+
+
+    /**
+     * Worker is a daemon thread that passes the events from its queue to the listener one at a time.
+     */
+    private class Worker extends Thread
+    {
+        private final BlockingQueue<QueuedEvent> queue = new ArrayBlockingQueue<>(queueSize);
+
+
+        /**
+         * Constructor supplies the thread name.
+         *
+         * @param threadName name of the thread
+         */
+        Worker(String threadName)
+        {
+            super(threadName);
+
+            this.setDaemon(true);
+        }
+
+
+        /**
+         * Pass the queued events to the listener until the dispatcher is shutdown, and then pass the
+         * events that are still queued.
+         */
+        @Override
+        public void run()
+        {
+            while (keepRunning)
+            {
+                QueuedEvent queuedEvent;
+
+                try
+                {
+                    queuedEvent = queue.take();
+                }
+                catch (InterruptedException error)
+                {
+                    break;
+                }
+
+                this.processEvent(queuedEvent);
+            }
+
+            /*
+             * Clear the interrupt from shutdown so it does not disturb the listener.
+             */
+            Thread.interrupted();
+
+            QueuedEvent queuedEvent = queue.poll();
+
+            while (queuedEvent != null)
+            {
+                this.processEvent(queuedEvent);
+
+                queuedEvent = queue.poll();
+            }
+        }
+
+
+        /**
+         * Pass an event to the listener.  The listener sees the event's processing context on this thread
+         * so any asynchronous processing it registers is included in the event's completion.
+         *
+         * @param queuedEvent event to process
+         */
+        private void processEvent(QueuedEvent queuedEvent)
+        {
+            long lag = System.currentTimeMillis() - queuedEvent.queueTime;
+
+            lastEventLag.set(lag);
+            maxEventLag.accumulateAndGet(lag, Math::max);
+
+            InternalOMRSEventProcessingContext.clear();
+
+            InternalOMRSEventProcessingContext processingContext = InternalOMRSEventProcessingContext.getInstance();
+
+            processingContext.setCurrentMessageId(queuedEvent.messageId);
+
+            try
+            {
+                topicConnector.passEventToListener(queuedEvent.eventBean, queuedEvent.event, topicListener);
+            }
+            finally
+            {
+                queuedEvent.completion.setDelegate(processingContext.getOverallAsyncProcessingResult());
+
+                InternalOMRSEventProcessingContext.clear();
+
+                eventsProcessed.incrementAndGet();
+            }
+        }
+    }
+}
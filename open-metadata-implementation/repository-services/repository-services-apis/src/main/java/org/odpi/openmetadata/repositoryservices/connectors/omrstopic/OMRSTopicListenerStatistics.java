@@ -0,0 +1,326 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+
+/**
+ * OMRSTopicListenerStatistics describes the state of the queue of events waiting to be passed to one of the
+ * OMRSTopicListeners registered with the OMRSTopicConnector.  It is a snapshot taken when it is requested.
+ */
+public class OMRSTopicListenerStatistics implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private String serviceName          = null;
+    private int    workerCount          = 0;
+    private int    queueCapacity        = 0;
+    private int    queueDepth           = 0;
+    private long   eventsQueued         = 0;
+    private long   eventsProcessed      = 0;
+    private long   eventsDropped        = 0;
+    private long   backpressureWaits    = 0;
+    private long   lastEventLag         = 0;
+    private long   maxEventLag          = 0;
+
+
+    /**
+     * Default constructor
+     */
+    public OMRSTopicListenerStatistics()
+    {
+    }
+
+
+    /**
+     * Return the name of the service that registered the listener.
+     *
+     * @return service name
+     */
+    public String getServiceName()
+    {
+        return serviceName;
+    }
+
+
+    /**
+     * Set up the name of the service that registered the listener.
+     *
+     * @param serviceName service name
+     */
+    public void setServiceName(String serviceName)
+    {
+        this.serviceName = serviceName;
+    }
+
+
+    /**
+     * Return the number of worker threads passing events to the listener.
+     *
+     * @return count
+     */
+    public int getWorkerCount()
+    {
+        return workerCount;
+    }
+
+
+    /**
+     * Set up the number of worker threads passing events to the listener.
+     *
+     * @param workerCount count
+     */
+    public void setWorkerCount(int workerCount)
+    {
+        this.workerCount = workerCount;
+    }
+
+
+    /**
+     * Return the maximum number of events that can wait for the listener (across all of the workers).
+     *
+     * @return count
+     */
+    public int getQueueCapacity()
+    {
+        return queueCapacity;
+    }
+
+
+    /**
+     * Set up the maximum number of events that can wait for the listener (across all of the workers).
+     *
+     * @param queueCapacity count
+     */
+    public void setQueueCapacity(int queueCapacity)
+    {
+        this.queueCapacity = queueCapacity;
+    }
+
+
+    /**
+     * Return the number of events waiting for the listener.
+     *
+     * @return count
+     */
+    public int getQueueDepth()
+    {
+        return queueDepth;
+    }
+
+
+    /**
+     * Set up the number of events waiting for the listener.
+     *
+     * @param queueDepth count
+     */
+    public void setQueueDepth(int queueDepth)
+    {
+        this.queueDepth = queueDepth;
+    }
+
+
+    /**
+     * Return the number of events queued for the listener since the connector started.
+     *
+     * @return count
+     */
+    public long getEventsQueued()
+    {
+        return eventsQueued;
+    }
+
+
+    /**
+     * Set up the number of events queued for the listener since the connector started.
+     *
+     * @param eventsQueued count
+     */
+    public void setEventsQueued(long eventsQueued)
+    {
+        this.eventsQueued = eventsQueued;
+    }
+
+
+    /**
+     * Return the number of events passed to the listener since the connector started.
+     *
+     * @return count
+     */
+    public long getEventsProcessed()
+    {
+        return eventsProcessed;
+    }
+
+
+    /**
+     * Set up the number of events passed to the listener since the connector started.
+     *
+     * @param eventsProcessed count
+     */
+    public void setEventsProcessed(long eventsProcessed)
+    {
+        this.eventsProcessed = eventsProcessed;
+    }
+
+
+    /**
+     * Return the number of events discarded because the listener's queue stayed full.
+     *
+     * @return count
+     */
+    public long getEventsDropped()
+    {
+        return eventsDropped;
+    }
+
+
+    /**
+     * Set up the number of events discarded because the listener's queue stayed full.
+     *
+     * @param eventsDropped count
+     */
+    public void setEventsDropped(long eventsDropped)
+    {
+        this.eventsDropped = eventsDropped;
+    }
+
+
+    /**
+     * Return the number of times that the event bus had to wait for space in the listener's queue.
+     *
+     * @return count
+     */
+    public long getBackpressureWaits()
+    {
+        return backpressureWaits;
+    }
+
+
+    /**
+     * Set up the number of times that the event bus had to wait for space in the listener's queue.
+     *
+     * @param backpressureWaits count
+     */
+    public void setBackpressureWaits(long backpressureWaits)
+    {
+        this.backpressureWaits = backpressureWaits;
+    }
+
+
+    /**
+     * Return the time in milliseconds that the most recent event waited in the queue before it was
+     * passed to the listener.
+     *
+     * @return milliseconds
+     */
+    public long getLastEventLag()
+    {
+        return lastEventLag;
+    }
+
+
+    /**
+     * Set up the time in milliseconds that the most recent event waited in the queue before it was
+     * passed to the listener.
+     *
+     * @param lastEventLag milliseconds
+     */
+    public void setLastEventLag(long lastEventLag)
+    {
+        this.lastEventLag = lastEventLag;
+    }
+
+
+    /**
+     * Return the longest time in milliseconds that an event has waited in the queue before it was
+     * passed to the listener.
+     *
+     * @return milliseconds
+     */
+    public long getMaxEventLag()
+    {
+        return maxEventLag;
+    }
+
+
+    /**
+     * Set up the longest time in milliseconds that an event has waited in the queue before it was
+     * passed to the listener.
+     *
+     * @param maxEventLag milliseconds
+     */
+    public void setMaxEventLag(long maxEventLag)
+    {
+        this.maxEventLag = maxEventLag;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSTopicListenerStatistics{" +
+                       "serviceName='" + serviceName + '\'' +
+                       ", workerCount=" + workerCount +
+                       ", queueCapacity=" + queueCapacity +
+                       ", queueDepth=" + queueDepth +
+                       ", eventsQueued=" + eventsQueued +
+                       ", eventsProcessed=" + eventsProcessed +
+                       ", eventsDropped=" + eventsDropped +
+                       ", backpressureWaits=" + backpressureWaits +
+                       ", lastEventLag=" + lastEventLag +
+                       ", maxEventLag=" + maxEventLag +
+                       '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (objectToCompare == null || getClass() != objectToCompare.getClass())
+        {
+            return false;
+        }
+        OMRSTopicListenerStatistics that = (OMRSTopicListenerStatistics) objectToCompare;
+        return workerCount == that.workerCount &&
+                       queueCapacity == that.queueCapacity &&
+                       queueDepth == that.queueDepth &&
+                       eventsQueued == that.eventsQueued &&
+                       eventsProcessed == that.eventsProcessed &&
+                       eventsDropped == that.eventsDropped &&
+                       backpressureWaits == that.backpressureWaits &&
+                       lastEventLag == that.lastEventLag &&
+                       maxEventLag == that.maxEventLag &&
+                       Objects.equals(serviceName, that.serviceName);
+    }
+
+
+    /**
+     * Return a hash code based on the values of this object.
+     *
+     * @return in hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(serviceName, workerCount, queueCapacity, queueDepth, eventsQueued, eventsProcessed,
+                            eventsDropped, backpressureWaits, lastEventLag, maxEventLag);
+    }
+}
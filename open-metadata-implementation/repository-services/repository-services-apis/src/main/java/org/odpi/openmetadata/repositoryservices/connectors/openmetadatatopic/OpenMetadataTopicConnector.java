@@ -25,7 +25,9 @@ import org.slf4j.LoggerFactory;
  * extend this class to include the interaction with the eventing/messaging layer.
  * <ul>
  *     <li>
- *         For inbound events it should call the protected distributeEvents() method.
+ *         For inbound events it should return the events from the protected checkForIncomingEvents() method
+ *         and call the protected eventsAvailable() method when new events arrive so the listener thread
+ *         wakes up immediately rather than waiting for the next poll.
  *     </li>
  *     <li>
  *         For outbound events, callers will invoke the sendEvent() method.
@@ -46,6 +48,14 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
     private volatile boolean keepRunning = false;
 
+    /*
+     * The listener thread waits on eventSignal when there are no events to process.  eventsPending records
+     * that events arrived since the listener thread last checked so a signal is not lost if it arrives
+     * while the listener thread is distributing events.
+     */
+    private final Object eventSignal   = new Object();
+    private boolean      eventsPending = false;
+
     private List<OpenMetadataTopicListener> topicListeners     = new ArrayList<>();
     private String                          listenerThreadName = defaultThreadName;
     private String                          topicName          = defaultTopicName;
@@ -86,12 +96,16 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         {
             try
             {
+                boolean eventsReceived = false;
+
                 try
                 {
                     List<IncomingEvent> receivedEvents = checkForIncomingEvents();
 
                     if ((receivedEvents != null) && (!receivedEvents.isEmpty()))
                     {
+                        eventsReceived = true;
+
                         for (IncomingEvent event : receivedEvents)
                         {
                             if (event != null)
@@ -106,7 +120,13 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
                     log.error("Bad exception from checkForEvents", error);
                 }
 
-                Thread.sleep(sleepTime);
+                /*
+                 * Keep draining while events are arriving - only wait when the topic is idle.
+                 */
+                if (! eventsReceived)
+                {
+                    waitForEvents();
+                }
             }
             catch (InterruptedException   wakeUp)
             {
@@ -121,11 +141,48 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
 
     /**
-     * Pass an event that has been received on the topic to each of the registered listeners.
+     * Wait until the subclass signals that events have arrived, or the sleep time has passed.  The sleep time
+     * bounds the wait so subclasses that do not call eventsAvailable() are still polled as before.
+     *
+     * @throws InterruptedException the listener thread was interrupted
+     */
+    private void waitForEvents() throws InterruptedException
+    {
+        synchronized (eventSignal)
+        {
+            if ((! eventsPending) && (keepRunning) && (sleepTime > 0))
+            {
+                eventSignal.wait(sleepTime);
+            }
+
+            eventsPending = false;
+        }
+    }
+
+
+    /**
+     * Called by the subclass when one or more events have arrived on the topic.  It wakes the listener
+     * thread so the events are returned from checkForIncomingEvents() and distributed to the listeners
+     * without waiting for the sleep time to pass.
+     */
+    protected void eventsAvailable()
+    {
+        synchronized (eventSignal)
+        {
+            eventsPending = true;
+            eventSignal.notifyAll();
+        }
+    }
+
+
+    /**
+     * Pass an event that has been received on the topic to each of the registered listeners.  This is
+     * called on the listener thread for the events returned by checkForIncomingEvents().  Subclasses
+     * that pass events to the listeners on their own threads may call it directly.
      *
      * @param event OMRSEvent to distribute
      */
-    private void distributeEvent(IncomingEvent event)
+    protected void distributeEvent(IncomingEvent event)
     {
         //Initially clear the async event processing context to ensure that it will only
         //have results from processing this event
@@ -274,5 +331,10 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
         super.disconnect();
 
         keepRunning = false;
+
+        /*
+         * Wake the listener thread so it notices it has been stopped.
+         */
+        eventsAvailable();
     }
 }
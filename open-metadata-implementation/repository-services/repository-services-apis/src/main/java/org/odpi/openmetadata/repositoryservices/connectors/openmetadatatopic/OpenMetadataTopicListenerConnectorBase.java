@@ -3,10 +3,10 @@
 
 package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
 import org.odpi.openmetadata.frameworks.connectors.VirtualConnectorExtension;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONMapper;
 
 import java.util.List;
 
@@ -72,9 +72,7 @@ public abstract class OpenMetadataTopicListenerConnectorBase extends OpenMetadat
         /*
          * Parse the string (JSON) event into a bean.
          */
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        return objectMapper.readValue(event, eventClass);
+        return OMRSJSONMapper.readValue(event, eventClass);
     }
 
 
@@ -0,0 +1,74 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveTypeStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+/**
+ * OpenMetadataArchiveContentProcessor receives the contents of an open metadata archive one section at a time
+ * so that the archive does not need to be held in memory while it is loaded.  The sections are always passed
+ * in the following order, whatever their order in the stored archive:
+ * <ul>
+ *     <li>
+ *         The archive properties from the header (always called, possibly with null).
+ *     </li>
+ *     <li>
+ *         The type store (if the archive has one).
+ *     </li>
+ *     <li>
+ *         Each entity from the instance store.
+ *     </li>
+ *     <li>
+ *         Each relationship from the instance store.
+ *     </li>
+ *     <li>
+ *         Each classification from the instance store.
+ *     </li>
+ * </ul>
+ */
+public interface OpenMetadataArchiveContentProcessor
+{
+    /**
+     * Process the properties from the header of the archive.
+     *
+     * @param archiveProperties properties of the archive - null if the archive has no header
+     * @return whether the rest of the archive should be passed to the processor
+     */
+    boolean processArchiveProperties(OpenMetadataArchiveProperties archiveProperties);
+
+
+    /**
+     * Process the type definitions from the archive.
+     *
+     * @param archiveTypeStore type store from the archive
+     */
+    void processTypeStore(OpenMetadataArchiveTypeStore archiveTypeStore);
+
+
+    /**
+     * Process an entity from the instance store of the archive.
+     *
+     * @param entity entity
+     */
+    void processEntity(EntityDetail entity);
+
+
+    /**
+     * Process a relationship from the instance store of the archive.
+     *
+     * @param relationship relationship
+     */
+    void processRelationship(Relationship relationship);
+
+
+    /**
+     * Process a classification from the instance store of the archive.
+     *
+     * @param classification classification and the entity it is attached to
+     */
+    void processClassification(ClassificationEntityExtension classification);
+}
@@ -5,6 +5,11 @@ package org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.ConnectorBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ClassificationEntityExtension;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 
 
 /**
@@ -26,4 +31,83 @@ public abstract class OpenMetadataArchiveStoreConnector extends ConnectorBase im
     {
         this.auditLog = auditLog;
     }
+
+
+    /**
+     * Pass the contents of the archive to the processor one section at a time.  This implementation retrieves
+     * the whole archive with getArchiveContents().  Connectors that are able to read their archive incrementally
+     * override this method so that large archives do not need to be held in memory.
+     *
+     * @param processor receiver of the contents of the archive
+     * @return false if the archive is empty
+     */
+    public boolean processArchiveContents(OpenMetadataArchiveContentProcessor processor)
+    {
+        return replayArchiveContents(this.getArchiveContents(), processor);
+    }
+
+
+    /**
+     * Pass the contents of an archive that is already in memory to the processor one section at a time.
+     *
+     * @param archiveContents archive
+     * @param processor receiver of the contents of the archive
+     * @return false if the archive is empty
+     */
+    public static boolean replayArchiveContents(OpenMetadataArchive                 archiveContents,
+                                                OpenMetadataArchiveContentProcessor processor)
+    {
+        if (archiveContents == null)
+        {
+            return false;
+        }
+
+        if (processor.processArchiveProperties(archiveContents.getArchiveProperties()))
+        {
+            if (archiveContents.getArchiveTypeStore() != null)
+            {
+                processor.processTypeStore(archiveContents.getArchiveTypeStore());
+            }
+
+            OpenMetadataArchiveInstanceStore archiveInstanceStore = archiveContents.getArchiveInstanceStore();
+
+            if (archiveInstanceStore != null)
+            {
+                if (archiveInstanceStore.getEntities() != null)
+                {
+                    for (EntityDetail entity : archiveInstanceStore.getEntities())
+                    {
+                        if (entity != null)
+                        {
+                            processor.processEntity(entity);
+                        }
+                    }
+                }
+
+                if (archiveInstanceStore.getRelationships() != null)
+                {
+                    for (Relationship relationship : archiveInstanceStore.getRelationships())
+                    {
+                        if (relationship != null)
+                        {
+                            processor.processRelationship(relationship);
+                        }
+                    }
+                }
+
+                if (archiveInstanceStore.getClassifications() != null)
+                {
+                    for (ClassificationEntityExtension classification : archiveInstanceStore.getClassifications())
+                    {
+                        if (classification != null)
+                        {
+                            processor.processClassification(classification);
+                        }
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
 }
@@ -115,6 +115,7 @@ import org.slf4j.LoggerFactory;
 public abstract class OMRSMetadataCollection implements AuditLoggingComponent
 {
     static final private String       defaultRepositoryName = "Open Metadata Repository";
+    static final private int          defaultCountPageSize  = 1000;
 
     protected String                  metadataCollectionId;                            /* Initialized in constructor */
     protected String                  metadataCollectionName = null;                   /* Initialized in constructor */
@@ -253,6 +254,46 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
     }
 
 
+    /**
+     * Return the page size used when counting instances by paging through them.
+     *
+     * @return maximum page size of the repository, or the default if the repository has no maximum
+     */
+    protected int getCountPageSize()
+    {
+        if ((parentConnector != null) && (parentConnector.getMaxPageSize() > 0))
+        {
+            return parentConnector.getMaxPageSize();
+        }
+
+        return defaultCountPageSize;
+    }
+
+
+    /**
+     * Test whether an instance is effective at the requested time, using the effectivity dates in its properties.
+     *
+     * @param properties properties of the instance
+     * @param effectiveTime time to test (null means any time)
+     * @return boolean flag
+     */
+    protected boolean isEffective(InstanceProperties properties,
+                                  Date               effectiveTime)
+    {
+        if ((effectiveTime == null) || (properties == null))
+        {
+            return true;
+        }
+
+        if ((properties.getEffectiveFromTime() != null) && (effectiveTime.before(properties.getEffectiveFromTime())))
+        {
+            return false;
+        }
+
+        return (properties.getEffectiveToTime() == null) || (! effectiveTime.after(properties.getEffectiveToTime()));
+    }
+
+
     /* ======================================================================
      * Group 1: Confirm the identity of the metadata repository being called.
      */
@@ -841,6 +882,30 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                              UserNotAuthorizedException;
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.  The
+     * returned list is in the same order as the requested guids.  Entities that are not known, or are only
+     * proxies, in the metadata collection are left out of the list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 return the present values.
+     * @return list of EntityDetail structures or null if none of the entities are known.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public abstract List<EntityDetail> getEntitiesDetail(String       userId,
+                                                         List<String> guids,
+                                                         Date         asOfTime) throws InvalidParameterException,
+                                                                                       RepositoryErrorException,
+                                                                                       FunctionNotSupportedException,
+                                                                                       UserNotAuthorizedException;
+
+
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
      * versions of an entity, set both the 'fromTime' and 'toTime' to null.
@@ -926,6 +991,89 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                                                              UserNotAuthorizedException;
 
 
+    /**
+     * Return the number of relationships for a specific entity.  This default implementation pages through the
+     * relationships returned by getRelationshipsForEntity.  Repositories that are able to count the relationships
+     * without retrieving them should override this method.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical query of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @param effectiveTime only count relationships that are effective at this time (null means any time).
+     * @return count of the relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException there is a problem with the properties of the relationships.
+     * @throws PagingErrorException there is a problem paging through the relationships.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime,
+                                           Date                       effectiveTime) throws InvalidParameterException,
+                                                                                            TypeErrorException,
+                                                                                            RepositoryErrorException,
+                                                                                            EntityNotKnownException,
+                                                                                            PropertyErrorException,
+                                                                                            PagingErrorException,
+                                                                                            FunctionNotSupportedException,
+                                                                                            UserNotAuthorizedException
+    {
+        int count       = 0;
+        int fromElement = 0;
+        int pageSize    = this.getCountPageSize();
+
+        List<Relationship> relationships = this.getRelationshipsForEntity(userId,
+                                                                          entityGUID,
+                                                                          relationshipTypeGUID,
+                                                                          fromElement,
+                                                                          limitResultsByStatus,
+                                                                          asOfTime,
+                                                                          null,
+                                                                          SequencingOrder.GUID,
+                                                                          pageSize);
+
+        /*
+         * Repositories may return fewer elements than requested so the paging continues until an empty page is returned.
+         */
+        while ((relationships != null) && (! relationships.isEmpty()))
+        {
+            for (Relationship relationship : relationships)
+            {
+                if ((relationship != null) && (this.isEffective(relationship.getProperties(), effectiveTime)))
+                {
+                    count ++;
+                }
+            }
+
+            fromElement = fromElement + relationships.size();
+
+            relationships = this.getRelationshipsForEntity(userId,
+                                                           entityGUID,
+                                                           relationshipTypeGUID,
+                                                           fromElement,
+                                                           limitResultsByStatus,
+                                                           asOfTime,
+                                                           null,
+                                                           SequencingOrder.GUID,
+                                                           pageSize);
+        }
+
+        return count;
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -1034,6 +1182,98 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                                                           UserNotAuthorizedException;
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.  This default
+     * implementation pages through the entities returned by findEntitiesByProperty.  Repositories that are able to
+     * count the entities without retrieving them should override this method.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means count the present values.
+     * @param effectiveTime only count entities that are effective at this time (null means any time).
+     * @return count of the matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException there is a problem paging through the entities.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime,
+                                       Date                      effectiveTime) throws InvalidParameterException,
+                                                                                       RepositoryErrorException,
+                                                                                       TypeErrorException,
+                                                                                       PropertyErrorException,
+                                                                                       PagingErrorException,
+                                                                                       FunctionNotSupportedException,
+                                                                                       UserNotAuthorizedException
+    {
+        int count       = 0;
+        int fromElement = 0;
+        int pageSize    = this.getCountPageSize();
+
+        List<EntityDetail> entities = this.findEntitiesByProperty(userId,
+                                                                  entityTypeGUID,
+                                                                  matchProperties,
+                                                                  matchCriteria,
+                                                                  fromElement,
+                                                                  limitResultsByStatus,
+                                                                  limitResultsByClassification,
+                                                                  asOfTime,
+                                                                  null,
+                                                                  SequencingOrder.GUID,
+                                                                  pageSize);
+
+        /*
+         * Repositories may return fewer elements than requested so the paging continues until an empty page is returned.
+         */
+        while ((entities != null) && (! entities.isEmpty()))
+        {
+            for (EntityDetail entity : entities)
+            {
+                if ((entity != null) && (this.isEffective(entity.getProperties(), effectiveTime)))
+                {
+                    count ++;
+                }
+            }
+
+            fromElement = fromElement + entities.size();
+
+            entities = this.findEntitiesByProperty(userId,
+                                                   entityTypeGUID,
+                                                   matchProperties,
+                                                   matchCriteria,
+                                                   fromElement,
+                                                   limitResultsByStatus,
+                                                   limitResultsByClassification,
+                                                   asOfTime,
+                                                   null,
+                                                   SequencingOrder.GUID,
+                                                   pageSize);
+        }
+
+        return count;
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classifications attached.
      *
@@ -1208,6 +1448,29 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                             UserNotAuthorizedException;
 
 
+    /**
+     * Return a list of relationships in a single request.  The returned list is in the same order as the
+     * requested guids.  Relationships that are not known in the metadata collection are left out of the list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 return the present values.
+     * @return list of Relationship structures or null if none of the relationships are known.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public abstract List<Relationship> getRelationships(String       userId,
+                                                        List<String> guids,
+                                                        Date         asOfTime) throws InvalidParameterException,
+                                                                                      RepositoryErrorException,
+                                                                                      FunctionNotSupportedException,
+                                                                                      UserNotAuthorizedException;
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
@@ -1843,6 +1843,47 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate the parameters for a retrieve of a list of instances.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the instances.
+     * @param asOfTime the time used to determine which version of the instances that is desired (may be null).
+     * @param methodName name of calling method.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the date is for a future time
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     */
+    protected  void getInstancesParameterValidation(String       userId,
+                                                    List<String> guids,
+                                                    Date         asOfTime,
+                                                    String       methodName) throws InvalidParameterException,
+                                                                                    RepositoryErrorException
+    {
+        final String  guidsParameterName = "guids";
+        final String  asOfTimeParameter  = "asOfTime";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+
+        if (guids == null)
+        {
+            repositoryValidator.validateGUID(repositoryName, guidsParameterName, null, methodName);
+        }
+        else
+        {
+            for (String guid : guids)
+            {
+                repositoryValidator.validateGUID(repositoryName, guidsParameterName, guid, methodName);
+            }
+        }
+
+        repositoryValidator.validateAsOfTime(repositoryName, asOfTimeParameter, asOfTime, methodName);
+    }
+
+
     /**
      * Validate the parameters for a retrieve multiple historical versions of an instance.
      *
@@ -1933,6 +1974,49 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate the parameters for countRelationshipsForEntity.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical query of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    protected void countRelationshipsForEntityParameterValidation(String                     userId,
+                                                                  String                     entityGUID,
+                                                                  String                     relationshipTypeGUID,
+                                                                  List<InstanceStatus>       limitResultsByStatus,
+                                                                  Date                       asOfTime) throws InvalidParameterException,
+                                                                                                              TypeErrorException,
+                                                                                                              RepositoryErrorException,
+                                                                                                              UserNotAuthorizedException
+    {
+        final String methodName        = "countRelationshipsForEntity";
+        final String guidParameterName = "entityGUID";
+        final String typeGUIDParameter = "relationshipTypeGUID";
+        final String asOfTimeParameter = "asOfTime";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+        repositoryValidator.validateGUID(repositoryName, guidParameterName, entityGUID, methodName);
+        repositoryValidator.validateAsOfTime(repositoryName, asOfTimeParameter, asOfTime, methodName);
+        repositoryValidator.validateOptionalTypeGUID(repositoryName, typeGUIDParameter, relationshipTypeGUID,
+                                                     methodName);
+    }
+
+
     /**
      * Validate the parameters for findEntitiesByProperty.
      *
@@ -2001,6 +2085,58 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate the parameters for countEntitiesByProperty.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (contains wildcards).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means count the present values.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    protected void countEntitiesByPropertyParameterValidation(String                    userId,
+                                                              String                    entityTypeGUID,
+                                                              InstanceProperties        matchProperties,
+                                                              MatchCriteria             matchCriteria,
+                                                              List<InstanceStatus>      limitResultsByStatus,
+                                                              List<String>              limitResultsByClassification,
+                                                              Date                      asOfTime) throws InvalidParameterException,
+                                                                                                         RepositoryErrorException,
+                                                                                                         TypeErrorException,
+                                                                                                         PropertyErrorException,
+                                                                                                         UserNotAuthorizedException
+    {
+        final String methodName                   = "countEntitiesByProperty";
+        final String matchCriteriaParameterName   = "matchCriteria";
+        final String matchPropertiesParameterName = "matchProperties";
+        final String typeGUIDParameterName        = "entityTypeGUID";
+        final String asOfTimeParameter            = "asOfTime";
+
+
+        super.basicRequestValidation(userId, methodName);
+        repositoryValidator.validateOptionalTypeGUID(repositoryName, typeGUIDParameterName, entityTypeGUID, methodName);
+        repositoryValidator.validateAsOfTime(repositoryName, asOfTimeParameter, asOfTime, methodName);
+        repositoryValidator.validateMatchCriteria(repositoryName,
+                                                  matchCriteriaParameterName,
+                                                  matchPropertiesParameterName,
+                                                  matchCriteria,
+                                                  matchProperties,
+                                                  methodName);
+    }
+
+
     /**
      * Validate the parameters for findEntities.
      *
@@ -2759,6 +2895,75 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.  The
+     * returned list is in the same order as the requested guids.  Entities that are not known, or are only
+     * proxies, in the metadata collection are left out of the list.
+     *
+     * This default implementation retrieves each entity in turn.  Repositories that are able to retrieve
+     * many entities in one operation should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 return the present values.
+     * @return list of EntityDetail structures or null if none of the entities are known.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntitiesDetail(String       userId,
+                                                List<String> guids,
+                                                Date         asOfTime) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              FunctionNotSupportedException,
+                                                                              UserNotAuthorizedException
+    {
+        final String  methodName = "getEntitiesDetail";
+
+        /*
+         * Validate parameters
+         */
+        this.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            try
+            {
+                if (asOfTime == null)
+                {
+                    results.add(this.getEntityDetail(userId, guid));
+                }
+                else
+                {
+                    results.add(this.getEntityDetail(userId, guid, asOfTime));
+                }
+            }
+            catch (EntityNotKnownException | EntityProxyOnlyException error)
+            {
+                /*
+                 * Unknown instances are left out of the results.
+                 */
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
      * versions of an entity, set both the 'fromTime' and 'toTime' to null.
@@ -3312,6 +3517,74 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  The returned list is in the same order as the
+     * requested guids.  Relationships that are not known in the metadata collection are left out of the list.
+     *
+     * This default implementation retrieves each relationship in turn.  Repositories that are able to retrieve
+     * many relationships in one operation should override it.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 return the present values.
+     * @return list of Relationship structures or null if none of the relationships are known.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        this.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<Relationship> results = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            try
+            {
+                if (asOfTime == null)
+                {
+                    results.add(this.getRelationship(userId, guid));
+                }
+                else
+                {
+                    results.add(this.getRelationship(userId, guid, asOfTime));
+                }
+            }
+            catch (RelationshipNotKnownException error)
+            {
+                /*
+                 * Unknown instances are left out of the results.
+                 */
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
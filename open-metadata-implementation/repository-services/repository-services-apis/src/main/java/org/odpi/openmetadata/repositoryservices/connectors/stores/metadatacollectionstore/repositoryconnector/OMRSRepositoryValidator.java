@@ -1494,6 +1494,77 @@ public interface OMRSRepositoryValidator
                                                        String             methodName) throws RepositoryErrorException;
 
 
+    /**
+     * Compile the match properties for a find request into a predicate that gives the same result as
+     * verifyMatchingInstancePropertyValues for each instance it is passed.  The default implementation
+     * calls verifyMatchingInstancePropertyValues without compiling the match properties.
+     *
+     * @param matchProperties  the properties to match.
+     * @param matchCriteria  rule on how the match should occur.
+     * @return compiled predicate
+     */
+    default OMRSSearchPredicate getSearchPredicate(InstanceProperties matchProperties,
+                                                   MatchCriteria      matchCriteria)
+    {
+        return (instanceHeader, instanceProperties) -> this.verifyMatchingInstancePropertyValues(matchProperties,
+                                                                                                 instanceHeader,
+                                                                                                 instanceProperties,
+                                                                                                 matchCriteria);
+    }
+
+
+    /**
+     * Compile the property-based conditions for a find request into a predicate that gives the same result as
+     * verifyMatchingInstancePropertyValues for each instance it is passed.  The default implementation
+     * calls verifyMatchingInstancePropertyValues without compiling the conditions.
+     *
+     * @param matchProperties  the property-based conditions to match.
+     * @return compiled predicate
+     */
+    default OMRSSearchPredicate getSearchPredicate(SearchProperties matchProperties)
+    {
+        return (instanceHeader, instanceProperties) -> this.verifyMatchingInstancePropertyValues(matchProperties,
+                                                                                                 instanceHeader,
+                                                                                                 instanceProperties);
+    }
+
+
+    /**
+     * Compile the classification-based conditions for a find request into a predicate that gives the same result as
+     * verifyMatchingClassifications for each entity it is passed as the instance header.  The default
+     * implementation calls verifyMatchingClassifications without compiling the conditions.
+     *
+     * @param matchClassifications  the classification-based conditions to match.
+     * @return compiled predicate
+     */
+    default OMRSSearchPredicate getSearchPredicate(SearchClassifications matchClassifications)
+    {
+        return (instanceHeader, instanceProperties) -> this.verifyMatchingClassifications(matchClassifications,
+                                                                                          (EntitySummary)instanceHeader);
+    }
+
+
+    /**
+     * Compile the search criteria (a regular expression) for a find request into a predicate that gives the same
+     * result as verifyInstancePropertiesMatchSearchCriteria for each instance it is passed.  The default
+     * implementation calls verifyInstancePropertiesMatchSearchCriteria without compiling the regular expression.
+     *
+     * @param sourceName  source of the request (used for logging)
+     * @param searchCriteria  regular expression for testing the property values
+     * @param methodName  name of the method requiring the search.
+     * @return compiled predicate
+     */
+    default OMRSSearchPredicate getSearchPredicate(String sourceName,
+                                                   String searchCriteria,
+                                                   String methodName)
+    {
+        return (instanceHeader, instanceProperties) -> this.verifyInstancePropertiesMatchSearchCriteria(sourceName,
+                                                                                                        instanceProperties,
+                                                                                                        searchCriteria,
+                                                                                                        methodName);
+    }
+
+
     /**
      * Return the string form of a property value.  Can be used as propertyValue on find property
      * value calls.
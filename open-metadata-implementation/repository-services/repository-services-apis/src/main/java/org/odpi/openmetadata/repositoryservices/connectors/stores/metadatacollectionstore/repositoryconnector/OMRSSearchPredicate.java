@@ -0,0 +1,31 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
+/**
+ * OMRSSearchPredicate is the compiled form of the search conditions passed on a find request.  It is
+ * created once by the OMRSRepositoryValidator before a repository iterates through its stored instances and
+ * is then used to test each instance in turn.  The regular expressions in the search conditions are
+ * compiled when the predicate is created rather than for each property of each instance that is tested.
+ * A predicate holds no state about the instances it has tested and so may be used by multiple threads.
+ */
+public interface OMRSSearchPredicate
+{
+    /**
+     * Test whether an instance matches the search conditions.
+     *
+     * @param instanceHeader the header of the instance.  For classification conditions this is the entity.
+     * @param instanceProperties the properties from the instance.
+     * @return boolean flag indicating whether the instance matches
+     * @throws InvalidParameterException invalid search conditions
+     * @throws RepositoryErrorException the properties are not properly set up in the instance
+     */
+    boolean matches(InstanceAuditHeader instanceHeader,
+                    InstanceProperties  instanceProperties) throws InvalidParameterException,
+                                                                   RepositoryErrorException;
+}
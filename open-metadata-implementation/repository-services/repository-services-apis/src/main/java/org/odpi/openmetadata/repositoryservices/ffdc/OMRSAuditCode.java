@@ -386,6 +386,19 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                               "or a Repository Proxy that connects to a third party repository that supports this type of metadata.  " +
                               "Detail of the different types of servers are found in the admin guide."),
 
+    ARCHIVE_LOAD_PROGRESS("OMRS-AUDIT-0056",
+                      OMRSAuditLogRecordSeverity.INFO,
+                      "The Open Metadata Repository Services (OMRS) has loaded {0} instances from open metadata archive {1}",
+                      "The local server is part way through loading the instances from the open metadata archive.",
+                      "No action is required.  This message is logged periodically while a large archive is loaded."),
+
+    ARCHIVE_INSTANCE_NOT_LOADED("OMRS-AUDIT-0057",
+                      OMRSAuditLogRecordSeverity.EXCEPTION,
+                      "The Open Metadata Repository Services (OMRS) is unable to load instance {0} from open metadata archive {1} because of a {2} exception with message {3}",
+                      "The local server skips the instance and continues to load the rest of the archive.",
+                      "Review the exception to determine why the instance could not be saved in the local repository.  " +
+                              "Correct the archive or the local repository and reload the archive."),
+
     REGISTERED_WITH_COHORT("OMRS-AUDIT-0060",
                            OMRSAuditLogRecordSeverity.COHORT,
                            "Registering with open metadata repository cohort {0} using metadata collection id {1}",
@@ -441,6 +454,15 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                           "The OMRS Topic Connector was passed a null event by the event bus.",
                           "Review the exception to identify the source of the error and correct it."),
 
+    EVENT_DISPATCH_QUEUE_FULL("OMRS-AUDIT-0103",
+                              OMRSAuditLogRecordSeverity.ERROR,
+                              "The event queue for the {0} topic listener is full and an event has been discarded after waiting {1} milliseconds",
+                              "The listener is not processing events as fast as they are arriving on the cohort topic.  " +
+                                      "The information in the discarded event is not available to the service.",
+                              "Review the statistics for the topic listener and the activity of the service.  Increase the " +
+                                      "listenerWorkers, listenerQueueSize or listenerQueueTimeout configuration properties of the " +
+                                      "cohort topic connection if the service needs more time to process its events."),
+
     SEND_REGISTRY_EVENT_ERROR("OMRS-AUDIT-0105",
                               OMRSAuditLogRecordSeverity.EXCEPTION,
                               "Unable to send a registry event for cohort {0} due to an error in the OMRS Topic Connector",
@@ -920,6 +942,12 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                                        "The local server is processing a federated query to all members of the connected cohorts.  However one of the members is not responding correctly and so it has been skipped from the call. The remote server is probably not running, or has been incorrectly configured.",
                                        "Validate the availability and configuration of the remote server.  It may be a temporary failure due to an outage in the network or the server itself.  However, if the remote server is not configured correctly, or has changed its metadata collection id, then this wil lbe a permanent error and this server will not be included in the federated query until it is fixed."),
 
+    SLOW_METADATA_COLLECTION("OMRS-AUDIT-0402",
+                             OMRSAuditLogRecordSeverity.ACTION,
+                             "Abandoning call to repository {0} (metadata collection {1}) during the {2} operation since it did not respond within {3} milliseconds",
+                             "The local server is processing a federated query to all members of the connected cohorts.  However one of the members did not respond before the deadline for the request and so its results have been excluded from the response.",
+                             "Validate the availability and performance of the remote server.  If it is routinely slow to respond, increase the federated request timeout in the enterprise connector's configuration properties."),
+
     PROCESS_UNKNOWN_EVENT("OMRS-AUDIT-8001",
                           OMRSAuditLogRecordSeverity.ERROR,
                           "Received unknown event: {0}",
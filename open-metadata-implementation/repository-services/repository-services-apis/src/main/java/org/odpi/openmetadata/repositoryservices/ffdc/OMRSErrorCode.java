@@ -581,6 +581,14 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The system is unable to store the log record to this destination because it is not able to" +
                                               " convert its contents into a suitable format.",
             "Investigate and correct the cause of the conversion failure."),
+    INVALID_AUDIT_LOG_PAGING(400, "OMRS-AUDIT-LOG-400-009",
+            "The Audit Log destination {0} has been passed an offset of {1} and a maximum of {2} log records on the {3} query",
+            "The system is unable to process the query request because neither the offset nor the maximum number of log records may be negative.",
+            "Correct the paging parameters passed by the caller and retry the request."),
+    NULL_AUDIT_LOG_QUERY_VALUE(400, "OMRS-AUDIT-LOG-400-010",
+            "A null value for the {0} parameter has been passed to the {1} query of Audit Log destination {2}",
+            "The system is unable to process the query request because it needs a value to match the log records against.",
+            "Correct the parameters passed by the caller and retry the request."),
     REPOSITORY_NOT_AVAILABLE(404, "OMRS-REPOSITORY-404-001",
             "The open metadata repository connector for server {0} is not active and is unable to service the {1} request",
             "The system is unable to retrieve any metadata properties from this repository.",
@@ -858,6 +866,10 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The enterprise repository services has detected a repository connector from cohort {0} for metadata collection identifier {1} that has a null metadata collection API object.",
             "There is an internal error in the OMRS Repository Connector implementation.",
             "Raise a Github issue on the Egeria project to get this fixed."),
+    COHORT_MEMBER_TIMEOUT(503, "OMRS-ENTERPRISE-REPOSITORY-503-004",
+            "The enterprise repository services did not receive a response from metadata collection {0} within {1} milliseconds during the {2} operation.",
+            "The request to this member of the cohort has been abandoned and its results are not included in the response.",
+            "Validate the availability and performance of the remote server.  If it is routinely slow to respond, increase the federated request timeout in the enterprise connector's configuration properties."),
     NULL_CONTENT_MANAGER(503, "OMRS-LOCAL-REPOSITORY-503-001",
             "A null repository content manager has been passed to one of the local repository's components on method {0}.",
             "There is an internal error in the OMRS Local Repository Connector implementation, or the way it has been initialized.",
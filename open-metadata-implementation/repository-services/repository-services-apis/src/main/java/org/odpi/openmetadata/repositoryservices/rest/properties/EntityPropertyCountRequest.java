@@ -0,0 +1,197 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.rest.properties;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+
+/**
+ * EntityPropertyCountRequest adds the match properties, match criteria and classifications to a request to
+ * count entities.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class EntityPropertyCountRequest extends InstanceCountRequest
+{
+    private static final long    serialVersionUID = 1L;
+
+    private InstanceProperties matchProperties              = null;
+    private MatchCriteria      matchCriteria                = null;
+    private List<String>       limitResultsByClassification = null;
+
+
+    /**
+     * Default constructor
+     */
+    public EntityPropertyCountRequest()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public EntityPropertyCountRequest(EntityPropertyCountRequest template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            this.matchProperties = template.getMatchProperties();
+            this.matchCriteria = template.getMatchCriteria();
+            this.limitResultsByClassification = template.getLimitResultsByClassification();
+        }
+    }
+
+
+    /**
+     * Return the properties to match.
+     *
+     * @return instance properties
+     */
+    public InstanceProperties getMatchProperties()
+    {
+        return matchProperties;
+    }
+
+
+    /**
+     * Set up the properties to match.
+     *
+     * @param matchProperties instance properties
+     */
+    public void setMatchProperties(InstanceProperties matchProperties)
+    {
+        this.matchProperties = matchProperties;
+    }
+
+
+    /**
+     * Return how the match properties should be matched.
+     *
+     * @return match criteria enum
+     */
+    public MatchCriteria getMatchCriteria()
+    {
+        return matchCriteria;
+    }
+
+
+    /**
+     * Set up how the match properties should be matched.
+     *
+     * @param matchCriteria match criteria enum
+     */
+    public void setMatchCriteria(MatchCriteria matchCriteria)
+    {
+        this.matchCriteria = matchCriteria;
+    }
+
+
+    /**
+     * Return the list of classifications that must be present on the counted entities.
+     *
+     * @return list of classification names
+     */
+    public List<String> getLimitResultsByClassification()
+    {
+        if (limitResultsByClassification == null)
+        {
+            return null;
+        }
+        else if (limitResultsByClassification.isEmpty())
+        {
+            return null;
+        }
+        else
+        {
+            return limitResultsByClassification;
+        }
+    }
+
+
+    /**
+     * Set up the list of classifications that must be present on the counted entities.
+     *
+     * @param limitResultsByClassification list of classification names
+     */
+    public void setLimitResultsByClassification(List<String> limitResultsByClassification)
+    {
+        this.limitResultsByClassification = limitResultsByClassification;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "EntityPropertyCountRequest{" +
+                "matchProperties=" + matchProperties +
+                ", matchCriteria=" + matchCriteria +
+                ", limitResultsByClassification=" + limitResultsByClassification +
+                ", typeGUID='" + getTypeGUID() + '\'' +
+                ", effectiveTime=" + getEffectiveTime() +
+                ", asOfTime=" + getAsOfTime() +
+                ", limitResultsByStatus=" + getLimitResultsByStatus() +
+                '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof EntityPropertyCountRequest))
+        {
+            return false;
+        }
+        if (!super.equals(objectToCompare))
+        {
+            return false;
+        }
+        EntityPropertyCountRequest
+                that = (EntityPropertyCountRequest) objectToCompare;
+        return Objects.equals(getMatchProperties(), that.getMatchProperties()) &&
+                       getMatchCriteria() == that.getMatchCriteria() &&
+                       Objects.equals(getLimitResultsByClassification(), that.getLimitResultsByClassification());
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(super.hashCode(), getMatchProperties(), getMatchCriteria(), getLimitResultsByClassification());
+    }
+}
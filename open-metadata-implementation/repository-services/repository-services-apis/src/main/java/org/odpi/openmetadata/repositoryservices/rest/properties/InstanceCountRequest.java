@@ -0,0 +1,162 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.rest.properties;
+
+import com.fasterxml.jackson.annotation.*;
+
+import java.util.Date;
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+
+/**
+ * InstanceCountRequest carries the parameters for a request to count metadata instances.  It extends the
+ * historical find request with the type of instance to count and the time that the counted instances
+ * must be effective.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME,
+        include = JsonTypeInfo.As.PROPERTY,
+        property = "class")
+@JsonSubTypes(
+        {
+                @JsonSubTypes.Type(value = EntityPropertyCountRequest.class, name = "EntityPropertyCountRequest")
+        })
+public class InstanceCountRequest extends OMRSAPIHistoricalFindRequest
+{
+    private static final long    serialVersionUID = 1L;
+
+    private String typeGUID      = null;
+    private Date   effectiveTime = null;
+
+
+    /**
+     * Default constructor
+     */
+    public InstanceCountRequest()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public InstanceCountRequest(InstanceCountRequest template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            this.typeGUID = template.getTypeGUID();
+            this.effectiveTime = template.getEffectiveTime();
+        }
+    }
+
+
+    /**
+     * Return the type of the instances to count.  Null means all types.
+     *
+     * @return type guid
+     */
+    public String getTypeGUID()
+    {
+        return typeGUID;
+    }
+
+
+    /**
+     * Set up the type of the instances to count.  Null means all types.
+     *
+     * @param typeGUID type guid
+     */
+    public void setTypeGUID(String typeGUID)
+    {
+        this.typeGUID = typeGUID;
+    }
+
+
+    /**
+     * Return the time that the counted instances must be effective.  Null means any time.
+     *
+     * @return date object
+     */
+    public Date getEffectiveTime()
+    {
+        return effectiveTime;
+    }
+
+
+    /**
+     * Set up the time that the counted instances must be effective.  Null means any time.
+     *
+     * @param effectiveTime date object
+     */
+    public void setEffectiveTime(Date effectiveTime)
+    {
+        this.effectiveTime = effectiveTime;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "InstanceCountRequest{" +
+                "typeGUID='" + typeGUID + '\'' +
+                ", effectiveTime=" + effectiveTime +
+                ", asOfTime=" + getAsOfTime() +
+                ", limitResultsByStatus=" + getLimitResultsByStatus() +
+                '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof InstanceCountRequest))
+        {
+            return false;
+        }
+        if (!super.equals(objectToCompare))
+        {
+            return false;
+        }
+        InstanceCountRequest
+                that = (InstanceCountRequest) objectToCompare;
+        return Objects.equals(getTypeGUID(), that.getTypeGUID()) &&
+                       Objects.equals(getEffectiveTime(), that.getEffectiveTime());
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(super.hashCode(), getTypeGUID(), getEffectiveTime());
+    }
+}
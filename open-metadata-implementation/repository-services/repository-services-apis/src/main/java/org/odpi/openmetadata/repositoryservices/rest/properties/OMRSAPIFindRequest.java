@@ -25,6 +25,7 @@ import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_
         {
                 @JsonSubTypes.Type(value = OMRSAPIPagedFindRequest.class, name = "OMRSAPIPagedFindRequest"),
                 @JsonSubTypes.Type(value = OMRSAPIHistoricalFindRequest.class, name = "OMRSAPIHistoricalFindRequest"),
+                @JsonSubTypes.Type(value = InstanceCountRequest.class, name = "InstanceCountRequest"),
                 @JsonSubTypes.Type(value = EntityNeighborhoodFindRequest.class, name = "EntityNeighborhoodFindRequest")
         })
 public class OMRSAPIFindRequest extends OMRSAPIRequest
@@ -0,0 +1,120 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.utilities;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * OMRSJSONMapper provides a single, shared Jackson configuration for converting the repository services beans
+ * to and from JSON.  Creating an ObjectMapper is expensive and each new mapper has to rediscover the
+ * serializers and deserializers for the beans it handles.  This is significant on the hot paths, such as
+ * the sending and receiving of OMRS events and the mapping of instances to and from a graph, where a
+ * new mapper was created for every value.
+ *
+ * The ObjectReader and ObjectWriter instances returned are immutable and thread-safe.  An ObjectReader is
+ * cached for each target type so that the deserializer lookup happens once.  The mapper has the default
+ * Jackson configuration so the JSON produced and accepted is unchanged.
+ */
+public class OMRSJSONMapper
+{
+    private static final ObjectMapper            objectMapper = new ObjectMapper();
+    private static final ObjectWriter            objectWriter = objectMapper.writer();
+    private static final Map<Type, ObjectReader> readers      = new ConcurrentHashMap<>();
+
+
+    /**
+     * Private constructor since all methods are static.
+     */
+    private OMRSJSONMapper()
+    {
+    }
+
+
+    /**
+     * Return the thread-safe reader for the requested type.
+     *
+     * @param valueType class of the object to create
+     * @return object reader
+     */
+    public static ObjectReader getReader(Class<?> valueType)
+    {
+        return readers.computeIfAbsent(valueType, type -> objectMapper.readerFor(valueType));
+    }
+
+
+    /**
+     * Return the thread-safe reader for the requested generic type.
+     *
+     * @param typeReference generic type of the object to create
+     * @return object reader
+     */
+    public static ObjectReader getReader(TypeReference<?> typeReference)
+    {
+        return readers.computeIfAbsent(typeReference.getType(), type -> objectMapper.readerFor(typeReference));
+    }
+
+
+    /**
+     * Return the thread-safe writer.
+     *
+     * @return object writer
+     */
+    public static ObjectWriter getWriter()
+    {
+        return objectWriter;
+    }
+
+
+    /**
+     * Parse the JSON string into an object of the requested class.
+     *
+     * @param json JSON string
+     * @param valueType class of the object to create
+     * @param <T> type of the object to create
+     * @return new object
+     * @throws JsonProcessingException the JSON is not valid or does not match the class
+     */
+    public static <T> T readValue(String   json,
+                                  Class<T> valueType) throws JsonProcessingException
+    {
+        return getReader(valueType).readValue(json);
+    }
+
+
+    /**
+     * Parse the JSON string into an object of the requested generic type.
+     *
+     * @param json JSON string
+     * @param typeReference generic type of the object to create
+     * @param <T> type of the object to create
+     * @return new object
+     * @throws JsonProcessingException the JSON is not valid or does not match the type
+     */
+    public static <T> T readValue(String           json,
+                                  TypeReference<T> typeReference) throws JsonProcessingException
+    {
+        return getReader(typeReference).readValue(json);
+    }
+
+
+    /**
+     * Convert the object into a JSON string.
+     *
+     * @param value object to convert
+     * @return JSON string
+     * @throws JsonProcessingException the object can not be serialized
+     */
+    public static String writeValueAsString(Object value) throws JsonProcessingException
+    {
+        return objectWriter.writeValueAsString(value);
+    }
+}
@@ -0,0 +1,7 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+/**
+ * This package provides common utilities used by the repository services and the connectors that plug into them.
+ */
+package org.odpi.openmetadata.repositoryservices.utilities;
@@ -0,0 +1,425 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.odpi.openmetadata.repositoryservices.events.future.OMRSFuture;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONMapper;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the OMRSTopicConnector passes the events to each listener in order for each instance,
+ * that a slow listener does not hold up the other listeners, that an event is only recorded as processed
+ * once every listener has processed it, and that queued events are not lost when the connector disconnects.
+ */
+public class OMRSTopicConnectorTest
+{
+    private static final long WAIT_TIME = 10000L;
+
+
+    /**
+     * Create a topic connector with the requested sizing for the listener queues.
+     *
+     * @param configurationProperties configuration properties for the connection
+     * @return connector
+     */
+    private OMRSTopicConnector getTopicConnector(Map<String, Object> configurationProperties)
+    {
+        Connection connection = new Connection();
+        connection.setConfigurationProperties(configurationProperties);
+
+        OMRSTopicConnector topicConnector = new OMRSTopicConnector();
+        topicConnector.initialize("TestConnectorInstanceId", new ConnectionProperties(connection));
+
+        return topicConnector;
+    }
+
+
+    /**
+     * Return an instance event in the format it is received from the event bus.
+     *
+     * @param guid unique identifier of the entity
+     * @param version version of the entity
+     * @return JSON event
+     * @throws Exception the event can not be serialized
+     */
+    private String getInstanceEvent(String guid,
+                                    long   version) throws Exception
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setVersion(version);
+
+        return OMRSJSONMapper.writeValueAsString(new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, entity).getOMRSEventV1());
+    }
+
+
+    /**
+     * Wait until the listener has been passed the expected number of events (or the wait time expires).
+     *
+     * @param topicConnector connector
+     * @param listenerIndex index of the listener in the statistics
+     * @param eventCount expected number of events
+     * @throws Exception interrupted
+     */
+    private void waitForEvents(OMRSTopicConnector topicConnector,
+                               int                listenerIndex,
+                               long               eventCount) throws Exception
+    {
+        long endTime = System.currentTimeMillis() + WAIT_TIME;
+
+        while ((topicConnector.getListenerStatistics().get(listenerIndex).getEventsProcessed() < eventCount)
+                       && (System.currentTimeMillis() < endTime))
+        {
+            Thread.sleep(10);
+        }
+    }
+
+
+    /**
+     * Validate that the events for each instance reach the listener in the order they were received
+     * when the listener has several workers.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testInstanceOrderIsPreserved() throws Exception
+    {
+        final int instanceCount = 5;
+        final int versionCount  = 50;
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(OMRSTopicConnector.LISTENER_WORKERS_PROPERTY, 4);
+
+        OMRSTopicConnector topicConnector = getTopicConnector(configurationProperties);
+        RecordingListener  listener       = new RecordingListener(null);
+
+        topicConnector.registerListener(listener);
+
+        for (long version = 1; version <= versionCount; version++)
+        {
+            for (int instance = 0; instance < instanceCount; instance++)
+            {
+                topicConnector.processEvent(getInstanceEvent("TestGUID" + instance, version));
+            }
+        }
+
+        waitForEvents(topicConnector, 0, instanceCount * versionCount);
+
+        OMRSTopicListenerStatistics statistics = topicConnector.getListenerStatistics().get(0);
+
+        assertEquals(statistics.getWorkerCount(), 4);
+        assertEquals(statistics.getEventsQueued(), instanceCount * versionCount);
+        assertEquals(statistics.getEventsProcessed(), instanceCount * versionCount);
+        assertEquals(statistics.getEventsDropped(), 0);
+        assertEquals(statistics.getQueueDepth(), 0);
+
+        for (int instance = 0; instance < instanceCount; instance++)
+        {
+            List<Long> versions = listener.getVersions("TestGUID" + instance);
+
+            assertEquals(versions.size(), versionCount);
+
+            for (int i = 0; i < versionCount; i++)
+            {
+                assertEquals(versions.get(i).longValue(), i + 1L);
+            }
+        }
+
+        topicConnector.disconnect();
+    }
+
+
+    /**
+     * Validate that a listener that does not process its events does not hold up another listener, and that
+     * the events it can not queue are counted once the maximum wait time has passed.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testSlowListenerDoesNotHoldUpOthers() throws Exception
+    {
+        final int eventCount = 20;
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(OMRSTopicConnector.LISTENER_QUEUE_SIZE_PROPERTY, 5);
+        configurationProperties.put(OMRSTopicConnector.LISTENER_QUEUE_TIMEOUT_PROPERTY, 10);
+
+        OMRSTopicConnector topicConnector = getTopicConnector(configurationProperties);
+        CountDownLatch     releaseLatch   = new CountDownLatch(1);
+        RecordingListener  slowListener   = new RecordingListener(releaseLatch);
+        RecordingListener  fastListener   = new RecordingListener(null);
+
+        topicConnector.registerListener(slowListener);
+        topicConnector.registerListener(fastListener);
+
+        for (long version = 1; version <= eventCount; version++)
+        {
+            topicConnector.processEvent(getInstanceEvent("TestGUID", version));
+        }
+
+        waitForEvents(topicConnector, 1, eventCount);
+
+        OMRSTopicListenerStatistics slowStatistics = topicConnector.getListenerStatistics().get(0);
+        OMRSTopicListenerStatistics fastStatistics = topicConnector.getListenerStatistics().get(1);
+
+        assertEquals(fastListener.getVersions("TestGUID").size(), eventCount);
+        assertEquals(fastStatistics.getEventsDropped(), 0);
+
+        assertTrue(slowStatistics.getEventsDropped() > 0, slowStatistics.toString());
+        assertTrue(slowStatistics.getBackpressureWaits() > 0, slowStatistics.toString());
+        assertEquals(slowStatistics.getEventsQueued() + slowStatistics.getEventsDropped(), eventCount);
+        assertEquals(slowStatistics.getQueueCapacity(), 5);
+
+        releaseLatch.countDown();
+
+        waitForEvents(topicConnector, 0, slowStatistics.getEventsQueued());
+
+        assertEquals(slowListener.getVersions("TestGUID").size(), slowStatistics.getEventsQueued());
+
+        topicConnector.disconnect();
+    }
+
+
+    /**
+     * Wait until the future is done (or the wait time expires).
+     *
+     * @param future future to wait for
+     * @throws Exception interrupted
+     */
+    private void waitForFuture(OMRSFuture future) throws Exception
+    {
+        long endTime = System.currentTimeMillis() + WAIT_TIME;
+
+        while ((! future.isDone()) && (System.currentTimeMillis() < endTime))
+        {
+            Thread.sleep(10);
+        }
+    }
+
+
+    /**
+     * Validate that the future for an event in the event bus thread's processing context only completes once
+     * each listener has processed the event, including any asynchronous processing the listener registered,
+     * and that the listener sees the message identifier of the event.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testEventCompletesAfterListenerProcessing() throws Exception
+    {
+        OMRSTopicConnector topicConnector = getTopicConnector(new HashMap<>());
+        CountDownLatch     releaseLatch   = new CountDownLatch(1);
+        RecordingListener  slowListener   = new RecordingListener(releaseLatch);
+        RecordingListener  fastListener   = new RecordingListener(null);
+
+        CompletableFuture<Void> asyncProcessing = new CompletableFuture<>();
+
+        fastListener.setAsyncProcessing(asyncProcessing);
+
+        topicConnector.registerListener(slowListener);
+        topicConnector.registerListener(fastListener);
+
+        /*
+         * Set up the processing context as the event bus connector does before passing an event.
+         */
+        InternalOMRSEventProcessingContext.clear();
+        InternalOMRSEventProcessingContext.getInstance().setCurrentMessageId("TestMessageId");
+
+        topicConnector.processEvent(getInstanceEvent("TestGUID", 1));
+
+        OMRSFuture processingResult = InternalOMRSEventProcessingContext.getInstance().getOverallAsyncProcessingResult();
+
+        InternalOMRSEventProcessingContext.clear();
+
+        waitForEvents(topicConnector, 1, 1);
+
+        assertEquals(fastListener.getMessageIds(), Collections.singletonList("TestMessageId"));
+        assertFalse(processingResult.isDone());
+
+        releaseLatch.countDown();
+        waitForEvents(topicConnector, 0, 1);
+
+        assertEquals(slowListener.getMessageIds(), Collections.singletonList("TestMessageId"));
+        assertFalse(processingResult.isDone());
+
+        asyncProcessing.complete(null);
+        waitForFuture(processingResult);
+
+        assertTrue(processingResult.isDone());
+
+        topicConnector.disconnect();
+    }
+
+
+    /**
+     * Validate that the events waiting in a listener's queue are passed to the listener when the
+     * connector disconnects.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testDisconnectDrainsQueuedEvents() throws Exception
+    {
+        final int eventCount = 10;
+
+        OMRSTopicConnector topicConnector = getTopicConnector(new HashMap<>());
+        CountDownLatch     releaseLatch   = new CountDownLatch(1);
+        RecordingListener  slowListener   = new RecordingListener(releaseLatch);
+
+        topicConnector.registerListener(slowListener);
+
+        InternalOMRSEventProcessingContext.clear();
+
+        for (long version = 1; version <= eventCount; version++)
+        {
+            topicConnector.processEvent(getInstanceEvent("TestGUID", version));
+        }
+
+        OMRSFuture processingResult = InternalOMRSEventProcessingContext.getInstance().getOverallAsyncProcessingResult();
+
+        InternalOMRSEventProcessingContext.clear();
+
+        topicConnector.disconnect();
+        releaseLatch.countDown();
+
+        waitForFuture(processingResult);
+
+        assertTrue(processingResult.isDone());
+        assertEquals(slowListener.getVersions("TestGUID").size(), eventCount);
+        assertEquals(topicConnector.getListenerStatistics().get(0).getEventsProcessed(), eventCount);
+    }
+
+
+    /**
+     * RecordingListener remembers the versions of the instances and the message identifiers of the events it
+     * receives.  It can be made to wait before processing each event, and to register asynchronous processing
+     * for each event.
+     */
+    private static class RecordingListener implements OMRSTopicListener
+    {
+        private final Map<String, List<Long>> versions   = new HashMap<>();
+        private final List<String>            messageIds = new ArrayList<>();
+        private final CountDownLatch          releaseLatch;
+        private CompletableFuture<Void>       asyncProcessing = null;
+
+
+        /**
+         * Constructor supplies the latch to wait on before processing each event.
+         *
+         * @param releaseLatch latch or null to process events immediately
+         */
+        RecordingListener(CountDownLatch releaseLatch)
+        {
+            this.releaseLatch = releaseLatch;
+        }
+
+
+        /**
+         * Return the versions received for an instance in the order they were received.
+         *
+         * @param guid unique identifier of the instance
+         * @return list of versions
+         */
+        synchronized List<Long> getVersions(String guid)
+        {
+            return new ArrayList<>(versions.getOrDefault(guid, new ArrayList<>()));
+        }
+
+
+        /**
+         * Return the message identifiers of the events received in the order they were received.
+         *
+         * @return list of message identifiers
+         */
+        synchronized List<String> getMessageIds()
+        {
+            return new ArrayList<>(messageIds);
+        }
+
+
+        /**
+         * Set the future to register as the asynchronous processing of each event.
+         *
+         * @param asyncProcessing future
+         */
+        synchronized void setAsyncProcessing(CompletableFuture<Void> asyncProcessing)
+        {
+            this.asyncProcessing = asyncProcessing;
+        }
+
+
+        @Override
+        public void processRegistryEvent(OMRSRegistryEvent event)
+        {
+        }
+
+
+        @Override
+        public void processTypeDefEvent(OMRSTypeDefEvent event)
+        {
+        }
+
+
+        @Override
+        public void processInstanceEvent(OMRSInstanceEvent event)
+        {
+            if (releaseLatch != null)
+            {
+                /*
+                 * Keep waiting if the worker is interrupted by a disconnect so the event is still recorded.
+                 */
+                boolean interrupted = false;
+                boolean released    = false;
+
+                while (! released)
+                {
+                    try
+                    {
+                        releaseLatch.await(WAIT_TIME, TimeUnit.MILLISECONDS);
+                        released = true;
+                    }
+                    catch (InterruptedException error)
+                    {
+                        interrupted = true;
+                    }
+                }
+
+                if (interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            synchronized (this)
+            {
+                versions.computeIfAbsent(event.getInstanceGUID(), guid -> new ArrayList<>()).add(event.getEntity().getVersion());
+                messageIds.add(OMRSEventProcessingContext.getCurrentMessageId());
+
+                if (asyncProcessing != null)
+                {
+                    OMRSEventProcessingContext.addAsyncProcessingResult(asyncProcessing);
+                }
+            }
+        }
+    }
+}
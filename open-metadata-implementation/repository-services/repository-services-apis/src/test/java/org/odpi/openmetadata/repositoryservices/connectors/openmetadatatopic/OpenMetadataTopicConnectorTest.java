@@ -0,0 +1,293 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that the listener thread of the OpenMetadataTopicConnector is woken as soon as events arrive
+ * rather than waiting for its sleep time to pass, and that it still polls subclasses that do not signal.
+ */
+public class OpenMetadataTopicConnectorTest
+{
+    private static final long WAIT_TIME = 5000L;
+
+
+    /**
+     * Create and start a topic connector with a registered listener.
+     *
+     * @param signalEvents whether the connector wakes the listener thread when events are sent
+     * @param sleepTime maximum time the listener thread waits for events
+     * @param listener listener to register
+     * @return connector
+     * @throws Exception the connector fails to start
+     */
+    private TestTopicConnector getTopicConnector(boolean                   signalEvents,
+                                                 int                       sleepTime,
+                                                 OpenMetadataTopicListener listener) throws Exception
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put("sleepTime", sleepTime);
+
+        Connection connection = new Connection();
+        connection.setConfigurationProperties(configurationProperties);
+
+        TestTopicConnector topicConnector = new TestTopicConnector(signalEvents);
+        topicConnector.initialize("TestConnectorInstanceId", new ConnectionProperties(connection));
+        topicConnector.setAuditLog(new AuditLog(new TestAuditLogDestination(), 0, "TestComponent", "Test", null));
+        topicConnector.registerListener(listener);
+        topicConnector.start();
+
+        return topicConnector;
+    }
+
+
+    /**
+     * Validate that an event reaches the listener without waiting for the sleep time.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testEventWakesListener() throws Exception
+    {
+        RecordingListener  listener       = new RecordingListener(1);
+        TestTopicConnector topicConnector = getTopicConnector(true, 60000, listener);
+
+        try
+        {
+            /*
+             * Allow the listener thread to find the topic empty and start waiting.
+             */
+            Thread.sleep(200);
+
+            topicConnector.sendEvent("Event1");
+
+            assertTrue(listener.await(), "Event not passed to listener before the sleep time");
+            assertEquals(listener.getEvents().get(0), "Event1");
+        }
+        finally
+        {
+            topicConnector.disconnect();
+        }
+    }
+
+
+    /**
+     * Validate that a burst of events that arrive while the listener thread is busy are all passed on
+     * in order without waiting for the sleep time between batches.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testBurstIsDrained() throws Exception
+    {
+        final int eventCount = 500;
+
+        RecordingListener  listener       = new RecordingListener(eventCount);
+        TestTopicConnector topicConnector = getTopicConnector(true, 60000, listener);
+
+        try
+        {
+            for (int i = 0; i < eventCount; i++)
+            {
+                topicConnector.sendEvent("Event" + i);
+            }
+
+            assertTrue(listener.await(), "Events not passed to listener before the sleep time");
+
+            List<String> events = listener.getEvents();
+
+            for (int i = 0; i < eventCount; i++)
+            {
+                assertEquals(events.get(i), "Event" + i);
+            }
+        }
+        finally
+        {
+            topicConnector.disconnect();
+        }
+    }
+
+
+    /**
+     * Validate that a connector that does not signal the arrival of events is still polled.
+     *
+     * @throws Exception problem in the test
+     */
+    @Test
+    public void testUnsignalledEventIsPolled() throws Exception
+    {
+        RecordingListener  listener       = new RecordingListener(1);
+        TestTopicConnector topicConnector = getTopicConnector(false, 50, listener);
+
+        try
+        {
+            topicConnector.sendEvent("Event1");
+
+            assertTrue(listener.await(), "Event not passed to listener");
+        }
+        finally
+        {
+            topicConnector.disconnect();
+        }
+    }
+
+
+    /**
+     * TestTopicConnector holds the sent events in memory until the listener thread checks for them.
+     */
+    private static class TestTopicConnector extends OpenMetadataTopicConnector
+    {
+        private final Queue<String> topic = new ConcurrentLinkedQueue<>();
+        private final boolean       signalEvents;
+
+
+        /**
+         * Constructor
+         *
+         * @param signalEvents whether to wake the listener thread when events are sent
+         */
+        TestTopicConnector(boolean signalEvents)
+        {
+            this.signalEvents = signalEvents;
+        }
+
+
+        /**
+         * Add the event to the topic.
+         *
+         * @param event event to send
+         */
+        @Override
+        public void sendEvent(String event)
+        {
+            topic.add(event);
+
+            if (signalEvents)
+            {
+                super.eventsAvailable();
+            }
+        }
+
+
+        /**
+         * Return the events added to the topic since the last check.
+         *
+         * @return list of events
+         */
+        @Override
+        protected List<IncomingEvent> checkForIncomingEvents()
+        {
+            List<IncomingEvent> events = new ArrayList<>();
+            String              event  = topic.poll();
+
+            while (event != null)
+            {
+                events.add(new IncomingEvent(event, String.valueOf(events.size())));
+                event = topic.poll();
+            }
+
+            return events;
+        }
+    }
+
+
+    /**
+     * RecordingListener records the events it receives.
+     */
+    private static class RecordingListener implements OpenMetadataTopicListener
+    {
+        private final List<String>   events = new ArrayList<>();
+        private final CountDownLatch latch;
+
+
+        /**
+         * Constructor
+         *
+         * @param eventCount number of events to wait for
+         */
+        RecordingListener(int eventCount)
+        {
+            this.latch = new CountDownLatch(eventCount);
+        }
+
+
+        /**
+         * Record the event.
+         *
+         * @param event inbound event
+         */
+        @Override
+        public synchronized void processEvent(String event)
+        {
+            events.add(event);
+            latch.countDown();
+        }
+
+
+        /**
+         * Wait for the expected number of events.
+         *
+         * @return true if they arrived within the wait time
+         * @throws InterruptedException interrupted
+         */
+        boolean await() throws InterruptedException
+        {
+            return latch.await(WAIT_TIME, TimeUnit.MILLISECONDS);
+        }
+
+
+        /**
+         * Return the events received so far.
+         *
+         * @return list of events
+         */
+        synchronized List<String> getEvents()
+        {
+            return new ArrayList<>(events);
+        }
+    }
+
+
+    /**
+     * TestAuditLogDestination discards the audit log records.
+     */
+    private static class TestAuditLogDestination extends AuditLogDestination
+    {
+        /**
+         * Constructor
+         */
+        TestAuditLogDestination()
+        {
+            super(null);
+        }
+
+
+        /**
+         * Discard the log record.
+         *
+         * @param logRecord log record
+         */
+        @Override
+        public void addLogRecord(AuditLogRecord logRecord)
+        {
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RelationshipNotKnownException;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+
+/**
+ * Verify the default implementations of the bulk retrieval methods in OMRSMetadataCollectionBase.  They
+ * retrieve each instance in turn through the single instance methods of the repository.
+ */
+public class OMRSMetadataCollectionBaseTest
+{
+    private static final String USER_ID = "testUser";
+
+    private StubMetadataCollection metadataCollection;
+
+
+    @BeforeMethod
+    public void setUp() throws Exception
+    {
+        OMRSRepositoryConnector parentConnector = new OMRSRepositoryConnector() {};
+        parentConnector.start();
+
+        metadataCollection = new StubMetadataCollection(parentConnector,
+                                                        getStub(OMRSRepositoryHelper.class),
+                                                        getStub(OMRSRepositoryValidator.class));
+
+        metadataCollection.addEntity(getEntity("1111", 1000));
+        metadataCollection.addEntity(getEntity("2222", 3000));
+        metadataCollection.addProxy("3333");
+        metadataCollection.addRelationship(getRelationship("5555", 1000));
+        metadataCollection.addRelationship(getRelationship("6666", 3000));
+    }
+
+
+    @Test
+    public void testGetEntitiesDetail() throws Exception
+    {
+        /*
+         * The results follow the order of the request.  Unknown GUIDs and proxies are left out.
+         */
+        assertEquals(getGUIDs(metadataCollection.getEntitiesDetail(USER_ID, list("2222", "9999", "3333", "1111"), null)),
+                     list("2222", "1111"));
+
+        /*
+         * The asOfTime is passed to the single entity retrievals.
+         */
+        assertEquals(getGUIDs(metadataCollection.getEntitiesDetail(USER_ID, list("2222", "1111"), new Date(2000))),
+                     list("1111"));
+
+        assertNull(metadataCollection.getEntitiesDetail(USER_ID, list("3333", "9999"), null));
+    }
+
+
+    @Test
+    public void testGetRelationships() throws Exception
+    {
+        /*
+         * The results follow the order of the request.  Unknown GUIDs are left out.
+         */
+        assertEquals(getGUIDs(metadataCollection.getRelationships(USER_ID, list("6666", "9999", "5555"), null)),
+                     list("6666", "5555"));
+
+        /*
+         * The asOfTime is passed to the single relationship retrievals.
+         */
+        assertEquals(getGUIDs(metadataCollection.getRelationships(USER_ID, list("6666", "5555"), new Date(2000))),
+                     list("5555"));
+
+        assertNull(metadataCollection.getRelationships(USER_ID, list("9999"), null));
+    }
+
+
+    private EntityDetail getEntity(String guid,
+                                   long   createTime)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setCreateTime(new Date(createTime));
+
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid,
+                                         long   createTime)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setCreateTime(new Date(createTime));
+
+        return relationship;
+    }
+
+
+    private List<String> getGUIDs(List<? extends InstanceHeader> instances)
+    {
+        List<String> guids = new ArrayList<>();
+
+        if (instances != null)
+        {
+            for (InstanceHeader instance : instances)
+            {
+                guids.add(instance.getGUID());
+            }
+        }
+
+        return guids;
+    }
+
+
+    private static List<String> list(String... values)
+    {
+        return Arrays.asList(values);
+    }
+
+
+    /**
+     * Return an implementation of an interface where every method does nothing and returns null.
+     *
+     * @param interfaceClass interface to implement
+     * @param <T> type of the interface
+     * @return stub implementation
+     */
+    private static <T> T getStub(Class<T> interfaceClass)
+    {
+        return interfaceClass.cast(Proxy.newProxyInstance(interfaceClass.getClassLoader(),
+                                                          new Class<?>[]{interfaceClass},
+                                                          (proxy, method, args) -> null));
+    }
+
+
+    /**
+     * StubMetadataCollection only supports the single instance retrievals.  An instance is returned for an
+     * asOfTime request if it had been created by that time.
+     */
+    private static class StubMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private final Map<String, EntityDetail> entities      = new HashMap<>();
+        private final Set<String>               proxies       = new HashSet<>();
+        private final Map<String, Relationship> relationships = new HashMap<>();
+
+
+        StubMetadataCollection(OMRSRepositoryConnector parentConnector,
+                               OMRSRepositoryHelper    repositoryHelper,
+                               OMRSRepositoryValidator repositoryValidator)
+        {
+            super(parentConnector, "stubRepository", repositoryHelper, repositoryValidator, "stubMetadataCollectionId");
+        }
+
+
+        void addEntity(EntityDetail entity)
+        {
+            entities.put(entity.getGUID(), entity);
+        }
+
+
+        void addProxy(String guid)
+        {
+            proxies.add(guid);
+        }
+
+
+        void addRelationship(Relationship relationship)
+        {
+            relationships.put(relationship.getGUID(), relationship);
+        }
+
+
+        @Override
+        public EntityDetail getEntityDetail(String userId,
+                                            String guid) throws EntityNotKnownException,
+                                                                EntityProxyOnlyException
+        {
+            return this.getEntityDetail(userId, guid, new Date());
+        }
+
+
+        @Override
+        public EntityDetail getEntityDetail(String userId,
+                                            String guid,
+                                            Date   asOfTime) throws EntityNotKnownException,
+                                                                    EntityProxyOnlyException
+        {
+            final String methodName = "getEntityDetail";
+
+            if (proxies.contains(guid))
+            {
+                throw new EntityProxyOnlyException(OMRSErrorCode.ENTITY_PROXY_ONLY.getMessageDefinition(guid,
+                                                                                                        repositoryName,
+                                                                                                        "guid",
+                                                                                                        methodName),
+                                                   this.getClass().getName(),
+                                                   methodName);
+            }
+
+            EntityDetail entity = entities.get(guid);
+
+            if ((entity == null) || (entity.getCreateTime().after(asOfTime)))
+            {
+                throw new EntityNotKnownException(OMRSErrorCode.ENTITY_NOT_KNOWN.getMessageDefinition(guid,
+                                                                                                      methodName,
+                                                                                                      repositoryName),
+                                                  this.getClass().getName(),
+                                                  methodName);
+            }
+
+            return entity;
+        }
+
+
+        @Override
+        public Relationship getRelationship(String userId,
+                                            String guid) throws RelationshipNotKnownException
+        {
+            return this.getRelationship(userId, guid, new Date());
+        }
+
+
+        @Override
+        public Relationship getRelationship(String userId,
+                                            String guid,
+                                            Date   asOfTime) throws RelationshipNotKnownException
+        {
+            final String methodName = "getRelationship";
+
+            Relationship relationship = relationships.get(guid);
+
+            if ((relationship == null) || (relationship.getCreateTime().after(asOfTime)))
+            {
+                throw new RelationshipNotKnownException(OMRSErrorCode.RELATIONSHIP_NOT_KNOWN.getMessageDefinition(guid,
+                                                                                                                  methodName,
+                                                                                                                  repositoryName),
+                                                        this.getClass().getName(),
+                                                        methodName);
+            }
+
+            return relationship;
+        }
+    }
+}
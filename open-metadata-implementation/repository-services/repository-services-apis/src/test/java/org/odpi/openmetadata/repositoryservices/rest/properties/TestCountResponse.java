@@ -0,0 +1,237 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.repositoryservices.rest.properties;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Validate that the CountResponse bean can be cloned, compared, serialized, deserialized and printed as a String.
+ */
+public class TestCountResponse
+{
+    private Map<String, Object>  additionalProperties           = new HashMap<>();
+
+
+    /**
+     * Default constructor
+     */
+    public TestCountResponse()
+    {
+
+    }
+
+
+    /**
+     * Set up an example object to test.
+     *
+     * @return filled in object
+     */
+    private CountResponse getTestObject()
+    {
+        CountResponse testObject = new CountResponse();
+
+        testObject.setCount(42);
+        testObject.setExceptionClassName(InvalidParameterException.class.getName());
+        testObject.setExceptionErrorMessage("TestErrorMessage");
+        testObject.setExceptionSystemAction("TestSystemAction");
+        testObject.setExceptionUserAction("TestUserAction");
+
+        testObject.setRelatedHTTPCode(400);
+        testObject.setExceptionProperties(additionalProperties);
+
+        return testObject;
+    }
+
+
+    /**
+     * Validate that the object that comes out of the test has the same content as the original test object.
+     *
+     * @param resultObject object returned by the test
+     */
+    private void validateResultObject(CountResponse  resultObject)
+    {
+        assertTrue(resultObject.getCount() == 42);
+        assertTrue(resultObject.getExceptionClassName().equals(InvalidParameterException.class.getName()));
+        assertTrue(resultObject.getExceptionErrorMessage().equals("TestErrorMessage"));
+        assertTrue(resultObject.getExceptionSystemAction().equals("TestSystemAction"));
+        assertTrue(resultObject.getExceptionUserAction().equals("TestUserAction"));
+
+        assertTrue(resultObject.getRelatedHTTPCode() == 400);
+        assertTrue(resultObject.getExceptionProperties() == null);
+    }
+
+
+    /**
+     * Validate that the object is initialized properly
+     */
+    @Test public void testNullObject()
+    {
+        CountResponse    nullObject = new CountResponse();
+
+        assertTrue(nullObject.getCount() == 0);
+        assertTrue(nullObject.getRelatedHTTPCode() == 200);
+        assertTrue(nullObject.getExceptionClassName() == null);
+        assertTrue(nullObject.getExceptionErrorMessage() == null);
+        assertTrue(nullObject.getExceptionSystemAction() == null);
+        assertTrue(nullObject.getExceptionUserAction() == null);
+        assertTrue(nullObject.getExceptionProperties() == null);
+
+        nullObject = new CountResponse(null);
+
+        assertTrue(nullObject.getCount() == 0);
+        assertTrue(nullObject.getRelatedHTTPCode() == 200);
+        assertTrue(nullObject.getExceptionClassName() == null);
+        assertTrue(nullObject.getExceptionErrorMessage() == null);
+        assertTrue(nullObject.getExceptionSystemAction() == null);
+        assertTrue(nullObject.getExceptionUserAction() == null);
+        assertTrue(nullObject.getExceptionProperties() == null);
+    }
+
+
+    /**
+     * Validate that exception properties are managed properly
+     */
+    @Test public void testExceptionProperties()
+    {
+        Map<String, Object>   propertyMap;
+        CountResponse         testObject = new CountResponse();
+
+        assertTrue(testObject.getExceptionProperties() == null);
+
+        propertyMap = null;
+        testObject = new CountResponse();
+        testObject.setExceptionProperties(propertyMap);
+
+        assertTrue(testObject.getExceptionProperties() == null);
+
+        propertyMap = new HashMap<>();
+        testObject = new CountResponse();
+        testObject.setExceptionProperties(propertyMap);
+
+        assertTrue(testObject.getExceptionProperties() == null);
+
+        propertyMap.put("propertyName", "propertyValue");
+        testObject = new CountResponse();
+        testObject.setExceptionProperties(propertyMap);
+
+        Map<String, Object>   retrievedPropertyMap = testObject.getExceptionProperties();
+
+        assertTrue(retrievedPropertyMap != null);
+        assertFalse(retrievedPropertyMap.isEmpty());
+        assertTrue("propertyValue".equals(retrievedPropertyMap.get("propertyName")));
+    }
+
+
+    /**
+     * Validate that 2 different objects with the same content are evaluated as equal.
+     * Also that different objects are considered not equal.
+     */
+    @Test public void testEquals()
+    {
+        assertFalse(getTestObject().equals(null));
+        assertFalse(getTestObject().equals("DummyString"));
+        assertTrue(getTestObject().equals(getTestObject()));
+
+        CountResponse  sameObject = getTestObject();
+        assertTrue(sameObject.equals(sameObject));
+
+        CountResponse  differentObject = getTestObject();
+        differentObject.setExceptionErrorMessage("Different");
+        assertFalse(getTestObject().equals(differentObject));
+
+        differentObject = getTestObject();
+        differentObject.setCount(7);
+        assertFalse(getTestObject().equals(differentObject));
+    }
+
+
+    /**
+     *  Validate that 2 different objects with the same content have the same hash code.
+     */
+    @Test public void testHashCode()
+    {
+        assertTrue(getTestObject().hashCode() == getTestObject().hashCode());
+    }
+
+
+    /**
+     *  Validate that an object cloned from another object has the same content as the original
+     */
+    @Test public void testClone()
+    {
+        validateResultObject(new CountResponse(getTestObject()));
+    }
+
+
+    /**
+     * Validate that an object generated from a JSON String has the same content as the object used to
+     * create the JSON String.
+     */
+    @Test public void testJSON()
+    {
+        ObjectMapper objectMapper = new ObjectMapper();
+        String       jsonString   = null;
+
+        /*
+         * This class
+         */
+        try
+        {
+            jsonString = objectMapper.writeValueAsString(getTestObject());
+        }
+        catch (Throwable  exc)
+        {
+            assertTrue(false, "Exception: " + exc.getMessage());
+        }
+
+        try
+        {
+            validateResultObject(objectMapper.readValue(jsonString, CountResponse.class));
+        }
+        catch (Throwable  exc)
+        {
+            assertTrue(false, "Exception: " + exc.getMessage());
+        }
+
+        /*
+         * Through superclass
+         */
+        OMRSAPIResponse superObject = getTestObject();
+
+        try
+        {
+            jsonString = objectMapper.writeValueAsString(superObject);
+        }
+        catch (Throwable  exc)
+        {
+            assertTrue(false, "Exception: " + exc.getMessage());
+        }
+
+        try
+        {
+            validateResultObject((CountResponse) objectMapper.readValue(jsonString, OMRSAPIResponse.class));
+        }
+        catch (Throwable  exc)
+        {
+            assertTrue(false, "Exception: " + exc.getMessage());
+        }
+    }
+
+
+    /**
+     * Test that toString is overridden.
+     */
+    @Test public void testToString()
+    {
+        assertTrue(getTestObject().toString().contains("CountResponse"));
+    }
+}
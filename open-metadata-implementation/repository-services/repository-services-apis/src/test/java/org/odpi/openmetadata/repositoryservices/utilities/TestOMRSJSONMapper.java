@@ -0,0 +1,127 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+
+package org.odpi.openmetadata.repositoryservices.utilities;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventCategory;
+import org.odpi.openmetadata.repositoryservices.events.OMRSEventOriginator;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1InstanceSection;
+import org.testng.annotations.Test;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Verify that OMRSJSONMapper produces the same JSON as a default ObjectMapper and that events survive a
+ * round trip.
+ */
+public class TestOMRSJSONMapper
+{
+    /**
+     * Build an instance event with an entity that has a few properties.
+     *
+     * @return event
+     */
+    private OMRSEventV1 getInstanceEvent()
+    {
+        OMRSEventOriginator originator = new OMRSEventOriginator();
+        originator.setMetadataCollectionId("TestMetadataCollectionId");
+        originator.setServerName("TestServer");
+
+        InstanceType type = new InstanceType();
+        type.setTypeDefName("Asset");
+        type.setTypeDefGUID("TestTypeDefGUID");
+
+        InstanceProperties     properties = new InstanceProperties();
+        PrimitivePropertyValue value      = new PrimitivePropertyValue();
+        value.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        value.setPrimitiveValue("Asset::TestName");
+        value.setTypeName("string");
+        properties.setProperty("qualifiedName", value);
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID("TestGUID");
+        entity.setType(type);
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setMetadataCollectionId("TestMetadataCollectionId");
+        entity.setCreateTime(new Date(1000L));
+        entity.setProperties(properties);
+
+        OMRSEventV1InstanceSection instanceSection = new OMRSEventV1InstanceSection();
+        instanceSection.setEventType(OMRSInstanceEventType.NEW_ENTITY_EVENT);
+        instanceSection.setTypeDefGUID("TestTypeDefGUID");
+        instanceSection.setTypeDefName("Asset");
+        instanceSection.setInstanceGUID("TestGUID");
+        instanceSection.setEntity(entity);
+
+        OMRSEventV1 event = new OMRSEventV1();
+        event.setTimestamp(new Date(2000L));
+        event.setOriginator(originator);
+        event.setEventCategory(OMRSEventCategory.INSTANCE);
+        event.setInstanceEventSection(instanceSection);
+
+        return event;
+    }
+
+
+    /**
+     * Validate that the shared mapper produces the same JSON as a default mapper and that the event
+     * is unchanged by a round trip.
+     *
+     * @throws Exception the event can not be converted
+     */
+    @Test
+    public void testEventRoundTrip() throws Exception
+    {
+        OMRSEventV1 event = getInstanceEvent();
+
+        String json = OMRSJSONMapper.writeValueAsString(event);
+
+        assertEquals(json, new ObjectMapper().writeValueAsString(event));
+
+        OMRSEventBean eventBean = OMRSJSONMapper.readValue(json, OMRSEventBean.class);
+
+        assertTrue(eventBean instanceof OMRSEventV1);
+        assertEquals(((OMRSEventV1) eventBean).getInstanceEventSection().getEntity(), event.getInstanceEventSection().getEntity());
+        assertEquals(OMRSJSONMapper.writeValueAsString(eventBean), json);
+    }
+
+
+    /**
+     * Validate that readers are reused for the same type.
+     *
+     * @throws Exception the map can not be converted
+     */
+    @Test
+    public void testReadersAreCached() throws Exception
+    {
+        assertSame(OMRSJSONMapper.getReader(OMRSEventBean.class), OMRSJSONMapper.getReader(OMRSEventBean.class));
+        assertSame(OMRSJSONMapper.getReader(new TypeReference<Map<String, Serializable>>() {}),
+                   OMRSJSONMapper.getReader(new TypeReference<Map<String, Serializable>>() {}));
+
+        Map<String, Serializable> mappingProperties = new HashMap<>();
+        mappingProperties.put("TestName", "TestValue");
+
+        Map<String, Serializable> result = OMRSJSONMapper.readValue(OMRSJSONMapper.writeValueAsString(mappingProperties),
+                                                                    new TypeReference<Map<String, Serializable>>() {});
+
+        assertEquals(result, mappingProperties);
+    }
+}
@@ -1235,6 +1235,49 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.  The
+     * returned list is in the same order as the requested guids.  Entities that are not known, or are only
+     * proxies, in the metadata collection are left out of the list.
+     *
+     * @param userId   unique identifier for requesting user.
+     * @param guids    list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 return the present values.
+     * @return list of EntityDetail structures or null if none of the entities are known.
+     * @throws InvalidParameterException     the guid list is null or contains a null guid, or the asOfTime property is for a future time
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntitiesDetail(String       userId,
+                                                List<String> guids,
+                                                Date         asOfTime) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              FunctionNotSupportedException,
+                                                                              UserNotAuthorizedException
+    {
+        final String methodName  = "getEntitiesDetail";
+        final String operationSpecificURL = "instances/entities/by-guids";
+
+        InstanceGUIDListRequest requestBody = new InstanceGUIDListRequest();
+        requestBody.setGUIDs(guids);
+        requestBody.setAsOfTime(asOfTime);
+        EntityListResponse restResult = this.callEntityListPostRESTCall(methodName,
+                                                                        restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                                        requestBody,
+                                                                        userId);
+
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getEntities();
+    }
+
+
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
      * versions of an entity, set both the 'fromTime' and 'toTime' to null.
@@ -1399,6 +1442,72 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.
+     *
+     * @param userId                  unique identifier for requesting user.
+     * @param entityGUID              String unique identifier for the entity.
+     * @param relationshipTypeGUID    String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus    By default, relationships in all statuses are counted.  However, it is possible
+     *                                to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                                status values.
+     * @param asOfTime                Requests a historical query of the relationships for the entity.  Null means count the
+     *                                present values.
+     * @param effectiveTime           only count relationships that are effective at this time (null means any time).
+     * @return count of the relationships.
+     * @throws InvalidParameterException     a parameter is invalid or null.
+     * @throws TypeErrorException            the type guid passed on the request is not known by the
+     *                                       metadata collection.
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws EntityNotKnownException       the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException        there is a problem with the properties of the relationships.
+     * @throws PagingErrorException          there is a problem paging through the relationships.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    public int countRelationshipsForEntity(String               userId,
+                                           String               entityGUID,
+                                           String               relationshipTypeGUID,
+                                           List<InstanceStatus> limitResultsByStatus,
+                                           Date                 asOfTime,
+                                           Date                 effectiveTime) throws InvalidParameterException,
+                                                                                      TypeErrorException,
+                                                                                      RepositoryErrorException,
+                                                                                      EntityNotKnownException,
+                                                                                      PropertyErrorException,
+                                                                                      PagingErrorException,
+                                                                                      FunctionNotSupportedException,
+                                                                                      UserNotAuthorizedException
+    {
+        final String         methodName             = "countRelationshipsForEntity";
+        final String         operationSpecificURL   = "instances/entity/{1}/relationships/count";
+        InstanceCountRequest countRequestParameters = new InstanceCountRequest();
+
+        countRequestParameters.setTypeGUID(relationshipTypeGUID);
+        countRequestParameters.setLimitResultsByStatus(limitResultsByStatus);
+        countRequestParameters.setAsOfTime(asOfTime);
+        countRequestParameters.setEffectiveTime(effectiveTime);
+
+        CountResponse restResult = this.callCountPostRESTCall(methodName,
+                                                              restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                              countRequestParameters,
+                                                              userId,
+                                                              entityGUID);
+
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowEntityNotKnownException(methodName, restResult);
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowPropertyErrorException(methodName, restResult);
+        this.detectAndThrowTypeErrorException(methodName, restResult);
+        this.detectAndThrowPagingErrorException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getCount();
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -1620,6 +1729,76 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means count the present values.
+     * @param effectiveTime only count entities that are effective at this time (null means any time).
+     * @return count of the matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException there is a problem paging through the entities.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime,
+                                       Date                      effectiveTime) throws InvalidParameterException,
+                                                                                       RepositoryErrorException,
+                                                                                       TypeErrorException,
+                                                                                       PropertyErrorException,
+                                                                                       PagingErrorException,
+                                                                                       FunctionNotSupportedException,
+                                                                                       UserNotAuthorizedException
+    {
+        final String               methodName             = "countEntitiesByProperty";
+        final String               operationSpecificURL   = "instances/entities/by-property/count";
+        EntityPropertyCountRequest countRequestParameters = new EntityPropertyCountRequest();
+
+        countRequestParameters.setTypeGUID(entityTypeGUID);
+        countRequestParameters.setMatchProperties(matchProperties);
+        countRequestParameters.setMatchCriteria(matchCriteria);
+        countRequestParameters.setLimitResultsByStatus(limitResultsByStatus);
+        countRequestParameters.setLimitResultsByClassification(limitResultsByClassification);
+        countRequestParameters.setAsOfTime(asOfTime);
+        countRequestParameters.setEffectiveTime(effectiveTime);
+
+        CountResponse restResult = this.callCountPostRESTCall(methodName,
+                                                              restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                              countRequestParameters,
+                                                              userId);
+
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowTypeErrorException(methodName, restResult);
+        this.detectAndThrowPropertyErrorException(methodName, restResult);
+        this.detectAndThrowPagingErrorException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getCount();
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classifications attached.
      *
@@ -1955,6 +2134,48 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  The returned list is in the same order as the
+     * requested guids.  Relationships that are not known in the metadata collection are left out of the list.
+     *
+     * @param userId   unique identifier for requesting user.
+     * @param guids    list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 return the present values.
+     * @return list of Relationship structures or null if none of the relationships are known.
+     * @throws InvalidParameterException     the guid list is null or contains a null guid, or the asOfTime property is for a future time
+     * @throws RepositoryErrorException      there is a problem communicating with the metadata repository where
+     *                                       the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException    the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String methodName  = "getRelationships";
+        final String operationSpecificURL = "instances/relationships/by-guids";
+
+        InstanceGUIDListRequest requestBody = new InstanceGUIDListRequest();
+        requestBody.setGUIDs(guids);
+        requestBody.setAsOfTime(asOfTime);
+        RelationshipListResponse restResult = this.callRelationshipListPostRESTCall(methodName,
+                                                                                    restURLRoot + rootServiceNameInURL + userIdInURL + serviceURLMarker + operationSpecificURL,
+                                                                                    requestBody,
+                                                                                    userId);
+
+        this.detectAndThrowInvalidParameterException(methodName, restResult);
+        this.detectAndThrowFunctionNotSupportedException(methodName, restResult);
+        this.detectAndThrowUserNotAuthorizedException(methodName, restResult);
+        this.detectAndThrowRepositoryErrorException(methodName, restResult);
+
+        return restResult.getRelationships();
+    }
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
@@ -5030,6 +5251,29 @@ public abstract class MetadataCollectionServicesClient implements AuditLoggingCo
     }
 
 
+    /**
+     * Issue a POST REST call that returns a CountResponse object.
+     *
+     * @param methodName name of the method being called
+     * @param operationSpecificURL template of the URL for the REST API call with place-holders for the parameters
+     * @param requestBody request body object
+     * @param params a list of parameters that are slotted into the url template
+     * @return CountResponse
+     * @throws RepositoryErrorException something went wrong with the REST call stack.
+     */
+    private CountResponse callCountPostRESTCall(String    methodName,
+                                                String    operationSpecificURL,
+                                                Object    requestBody,
+                                                Object... params) throws RepositoryErrorException
+    {
+        return this.callPostRESTCall(methodName,
+                                     CountResponse.class,
+                                     operationSpecificURL,
+                                     requestBody,
+                                     params);
+    }
+
+
     /**
      * Issue a GET REST call that returns a EntityDetailResponse object.
      *
@@ -11,6 +11,7 @@ import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveContentProcessor;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
@@ -22,6 +23,11 @@ import org.odpi.openmetadata.repositoryservices.localrepository.repositoryconten
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * OMRSArchiveManager manages the loading and unloading of open metadata archives from the local OMRS repository.
@@ -29,10 +35,15 @@ import java.util.List;
  */
 public class OMRSArchiveManager
 {
+    private static final int defaultArchiveLoadThreads   = Math.min(4, Runtime.getRuntime().availableProcessors());
+    private static final int archiveLoadBatchSize        = 500;
+    private static final int archiveLoadProgressInterval = 10000;
+
     private String                                  localMetadataCollectionId   = null;
     private List<OpenMetadataArchiveStoreConnector> openMetadataArchiveStores   = new ArrayList<>();
     private OMRSRepositoryContentManager            repositoryContentManager    = null;
     private LocalOMRSInstanceEventProcessor         localInstanceEventProcessor = null;
+    private int                                     archiveLoadThreads;
 
 
     /*
@@ -50,8 +61,26 @@ public class OMRSArchiveManager
      */
     public OMRSArchiveManager(List<OpenMetadataArchiveStoreConnector>    startUpOpenMetadataArchives,
                               AuditLog                                   auditLog)
+    {
+        this(startUpOpenMetadataArchives, auditLog, defaultArchiveLoadThreads);
+    }
+
+
+    /**
+     * Constructor to save the initial list of open metadata archives from the server startup configuration
+     * along with the number of threads used to load the instances from each archive into the local repository.
+     * With one thread, the instances are loaded one at a time in the order they appear in the archive.
+     *
+     * @param startUpOpenMetadataArchives  initial list of open metadata archives provided in startup configuration
+     * @param auditLog audit log for this component.
+     * @param archiveLoadThreads number of threads loading instances from an archive
+     */
+    public OMRSArchiveManager(List<OpenMetadataArchiveStoreConnector>    startUpOpenMetadataArchives,
+                              AuditLog                                   auditLog,
+                              int                                        archiveLoadThreads)
     {
         this.auditLog = auditLog;
+        this.archiveLoadThreads = Math.max(1, archiveLoadThreads);
 
         if (startUpOpenMetadataArchives != null)
         {
@@ -145,8 +174,9 @@ public class OMRSArchiveManager
 
 
     /**
-     * Unpack and process the contents an open metadata archive , passing its contents to the local
-     * repository (if it exists).
+     * Unpack and process the contents an open metadata archive store, passing its contents to the local
+     * repository (if it exists).  The contents are passed to the archive loader as they are read from the
+     * store.
      *
      * @param archiveStore open metadata archive  to process
      * @param archiveSource source of the archive - such as file name
@@ -164,17 +194,24 @@ public class OMRSArchiveManager
              * Each archive store has a header, a section of new type definitions (TypeDefs) and a section of
              * metadata instances.
              */
-            OpenMetadataArchive archiveContent = archiveStore.getArchiveContents();
+            ArchiveLoader archiveLoader = new ArchiveLoader(archiveSource, typeDefProcessor, instanceProcessor);
 
-            if (archiveContent == null)
+            try
             {
-                final String     actionDescription = "Process Open Metadata Archive";
+                if (archiveStore.processArchiveContents(archiveLoader))
+                {
+                    archiveLoader.complete();
+                }
+                else
+                {
+                    final String     actionDescription = "Process Open Metadata Archive";
 
-                auditLog.logMessage(actionDescription, OMRSAuditCode.EMPTY_ARCHIVE.getMessageDefinition(archiveSource));
+                    auditLog.logMessage(actionDescription, OMRSAuditCode.EMPTY_ARCHIVE.getMessageDefinition(archiveSource));
+                }
             }
-            else
+            finally
             {
-                processOpenMetadataArchive(archiveContent, archiveSource, typeDefProcessor, instanceProcessor);
+                archiveLoader.close();
             }
         }
     }
@@ -194,40 +231,16 @@ public class OMRSArchiveManager
                                             OMRSTypeDefEventProcessorInterface    typeDefProcessor,
                                             OMRSInstanceEventProcessorInterface   instanceProcessor)
     {
-        final String     actionDescription = "Process Open Metadata Archive";
+        ArchiveLoader archiveLoader = new ArchiveLoader(archiveSource, typeDefProcessor, instanceProcessor);
 
-        OpenMetadataArchiveProperties archiveProperties = archiveContent.getArchiveProperties();
-
-        if (archiveProperties != null)
+        try
         {
-            auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
-
-
-            OpenMetadataArchiveTypeStore     archiveTypeStore     = archiveContent.getArchiveTypeStore();
-            OpenMetadataArchiveInstanceStore archiveInstanceStore = archiveContent.getArchiveInstanceStore();
-
-            int                              typeCount            = 0;
-            int                              instanceCount        = 0;
-
-
-            if (archiveTypeStore != null)
-            {
-                typeCount = this.processTypeDefStore(archiveProperties, archiveTypeStore, typeDefProcessor);
-            }
-
-            if (archiveInstanceStore != null)
-            {
-                instanceCount = this.processInstanceStore(archiveProperties, archiveInstanceStore, instanceProcessor);
-            }
-
-            auditLog.logMessage(actionDescription,
-                                OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
-                                                                                     Integer.toString(instanceCount),
-                                                                                     archiveProperties.getArchiveName()));
+            OpenMetadataArchiveStoreConnector.replayArchiveContents(archiveContent, archiveLoader);
+            archiveLoader.complete();
         }
-        else
+        finally
         {
-            auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
+            archiveLoader.close();
         }
     }
 
@@ -340,200 +353,6 @@ public class OMRSArchiveManager
     }
 
 
-    /**
-     * The InstanceStore is in three parts: an optional list of entities followed by an optional list
-     * of relationships followed by an optional list of classifications.
-     *
-     * It is possible that this archive has been processed before
-     * and so any duplicates detected are ignored.  However, conflicting instances are detected.
-     * Any problems found in applying the archive contents are recorded on the audit log.
-     *
-     * @param archiveProperties properties describing the archive used in logging
-     * @param archiveInstanceStore the instance store to process
-     * @param instanceProcessor the processor to add the instances to the local repository.  It may be null
-     *                          if there is no local repository configured for this server.
-     * @return instance count
-     */
-    private int  processInstanceStore(OpenMetadataArchiveProperties             archiveProperties,
-                                      OpenMetadataArchiveInstanceStore          archiveInstanceStore,
-                                      OMRSInstanceEventProcessorInterface       instanceProcessor)
-    {
-        List<EntityDetail>                  entities        = archiveInstanceStore.getEntities();
-        List<Relationship>                  relationships   = archiveInstanceStore.getRelationships();
-        List<ClassificationEntityExtension> classifications = archiveInstanceStore.getClassifications();
-        int                                 instanceCount   = 0;
-
-        if (instanceProcessor != null)
-        {
-            String                 homeMetadataCollectionId   = archiveProperties.getArchiveGUID();
-            String                 archiveName                = archiveProperties.getArchiveName();
-            String                 originatorServerType       = OpenMetadataArchiveType.CONTENT_PACK.getName();
-            InstanceProvenanceType provenanceType             = InstanceProvenanceType.CONTENT_PACK;
-            Date                   archiveCreationTime        = archiveProperties.getCreationDate();
-            String                 originatorName             = archiveProperties.getOriginatorName();
-            String                 archiveVersion             = archiveProperties.getArchiveVersion();
-            String                 originatorOrganizationName = archiveProperties.getOriginatorOrganization();
-            String                 originatorLicense          = archiveProperties.getOriginatorLicense();
-
-            String archiveId = originatorName + " (" + archiveVersion + ")";
-
-            if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
-            {
-                provenanceType       = InstanceProvenanceType.EXPORT_ARCHIVE;
-                originatorServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
-            }
-            else if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.REPOSITORY_BACKUP)
-            {
-                provenanceType       = InstanceProvenanceType.LOCAL_COHORT;
-                originatorServerType = OpenMetadataArchiveType.REPOSITORY_BACKUP.getName();
-            }
-
-            if (entities != null)
-            {
-                for (EntityDetail entity : entities)
-                {
-                    if (entity != null)
-                    {
-                        this.setInstanceAuditHeader(localMetadataCollectionId,
-                                                    homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    entity);
-
-                        /*
-                         * There is no need to support delete in archive because the elements are
-                         * reference copies and can be deleted from the receiving repositories.
-                         */
-                        if (entity.getVersion() == 1L)
-                        {
-                            instanceProcessor.processNewEntityEvent(archiveId,
-                                                                    homeMetadataCollectionId,
-                                                                    archiveName,
-                                                                    originatorServerType,
-                                                                    originatorOrganizationName,
-                                                                    entity);
-                        }
-                        else
-                        {
-                            instanceProcessor.processUpdatedEntityEvent(archiveId,
-                                                                        homeMetadataCollectionId,
-                                                                        archiveName,
-                                                                        originatorServerType,
-                                                                        originatorOrganizationName,
-                                                                        null,
-                                                                        entity);
-                        }
-
-                        instanceCount++;
-                    }
-                }
-            }
-
-            if (relationships != null)
-            {
-                for (Relationship relationship : relationships)
-                {
-                    if (relationship != null)
-                    {
-                        this.setInstanceAuditHeader(localMetadataCollectionId,
-                                                    homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    relationship);
-
-                        /*
-                         * There is no need to support delete in archive because the elements are
-                         * reference copies and can be deleted from the receiving repositories.
-                         */
-                        if (relationship.getVersion() == 1L)
-                        {
-                            instanceProcessor.processNewRelationshipEvent(archiveId,
-                                                                          homeMetadataCollectionId,
-                                                                          archiveName,
-                                                                          originatorServerType,
-                                                                          originatorOrganizationName,
-                                                                          relationship);
-                        }
-                        else
-                        {
-                            instanceProcessor.processUpdatedRelationshipEvent(archiveId,
-                                                                              homeMetadataCollectionId,
-                                                                              archiveName,
-                                                                              originatorServerType,
-                                                                              originatorOrganizationName,
-                                                                              null,
-                                                                              relationship);
-                        }
-
-                        instanceCount ++;
-                    }
-                }
-            }
-
-
-            if (classifications != null)
-            {
-                for (ClassificationEntityExtension classificationEntityExtension : classifications)
-                {
-                    if (classificationEntityExtension != null)
-                    {
-                        Classification classification = classificationEntityExtension.getClassification();
-
-                        this.setInstanceAuditHeader(localMetadataCollectionId,
-                                                    homeMetadataCollectionId,
-                                                    archiveName,
-                                                    originatorName,
-                                                    archiveCreationTime,
-                                                    provenanceType,
-                                                    originatorLicense,
-                                                    classification);
-
-                        classificationEntityExtension.setClassification(classification);
-
-                        // Todo
-                        /* new methods required
-                        if (classification.getVersion() == 1L)
-                        {
-                            instanceProcessor.processNewClassificationEvent(archiveId,
-                                                                            homeMetadataCollectionId,
-                                                                            originatorServerName,
-                                                                            originatorServerType,
-                                                                            originatorOrganizationName,
-                                                                            classificationEntityExtension);
-                        }
-                        else
-                        {
-                            instanceProcessor.processUpdatedClassificationEvent(archiveId,
-                                                                                homeMetadataCollectionId,
-                                                                                originatorServerName,
-                                                                                originatorServerType,
-                                                                                originatorOrganizationName,
-                                                                                classificationEntityExtension);
-                        }
-
-                        instanceCount ++;
-                        */
-                    }
-                }
-            }
-        }
-        else
-        {
-            final String actionDescription = "Processing instances from archive";
-
-            auditLog.logMessage(actionDescription, OMRSAuditCode.NO_INSTANCE_PROCESSOR.getMessageDefinition());
-        }
-
-        return instanceCount;
-    }
-
-
     /**
      * Set up the header of an archive instance.  The header information from the archive
      * is used in the instance header unless it is set up explicitly in an export archive.
@@ -614,4 +433,449 @@ public class OMRSArchiveManager
             instance.setVersion(1L);
         }
     }
+
+
+    /**
+     * ArchiveLoader receives the contents of an open metadata archive as it is read and passes them to the
+     * local repository.  The type definitions are processed as soon as they are received.  The instances are
+     * collected into batches and loaded by a pool of threads.  An instance is always loaded by the same thread
+     * (chosen from its unique identifier) so multiple versions of an instance are applied in the order they
+     * appear in the archive.  All of the entities are loaded before the first relationship is loaded
+     * so that the relationships can refer to them.  There are only a limited number of batches waiting to
+     * load at any one time so the memory needed does not grow with the size of the archive.
+     * <p>
+     * The classifications in the instance store are not yet loaded.
+     * </p>
+     */
+    private class ArchiveLoader implements OpenMetadataArchiveContentProcessor
+    {
+        private final String                              archiveSource;
+        private final OMRSTypeDefEventProcessorInterface  typeDefProcessor;
+        private final OMRSInstanceEventProcessorInterface instanceProcessor;
+
+        private OpenMetadataArchiveProperties archiveProperties          = null;
+        private String                        homeMetadataCollectionId   = null;
+        private String                        archiveName                = null;
+        private String                        originatorServerType       = OpenMetadataArchiveType.CONTENT_PACK.getName();
+        private InstanceProvenanceType        provenanceType             = InstanceProvenanceType.CONTENT_PACK;
+        private Date                          archiveCreationTime        = null;
+        private String                        originatorName             = null;
+        private String                        originatorOrganizationName = null;
+        private String                        originatorLicense          = null;
+        private String                        archiveId                  = null;
+
+        private int                           typeCount                   = 0;
+        private final AtomicInteger           instanceCount               = new AtomicInteger(0);
+        private boolean                       loadingRelationships        = false;
+        private boolean                       noInstanceProcessorReported = false;
+
+        private List<ExecutorService>           loaderThreads = null;
+        private List<List<InstanceHeader>>      batches       = null;
+        private final Semaphore                 batchPermits  = new Semaphore(archiveLoadThreads * 2);
+
+
+        /**
+         * Constructor
+         *
+         * @param archiveSource source of the archive - such as file name
+         * @param typeDefProcessor processor of type definitions found in the archive
+         * @param instanceProcessor processor of instances found in the archive
+         */
+        ArchiveLoader(String                              archiveSource,
+                      OMRSTypeDefEventProcessorInterface  typeDefProcessor,
+                      OMRSInstanceEventProcessorInterface instanceProcessor)
+        {
+            this.archiveSource = archiveSource;
+            this.typeDefProcessor = typeDefProcessor;
+            this.instanceProcessor = instanceProcessor;
+        }
+
+
+        /**
+         * Save the properties of the archive that are used to fill out the headers of the instances.
+         *
+         * @param archiveProperties properties of the archive - null if the archive has no header
+         * @return whether the rest of the archive should be processed
+         */
+        @Override
+        public boolean processArchiveProperties(OpenMetadataArchiveProperties archiveProperties)
+        {
+            final String     actionDescription = "Process Open Metadata Archive";
+
+            if (archiveProperties == null)
+            {
+                auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_PROPERTIES_IN_ARCHIVE.getMessageDefinition(archiveSource));
+
+                return false;
+            }
+
+            auditLog.logMessage(actionDescription, OMRSAuditCode.PROCESSING_ARCHIVE.getMessageDefinition(archiveProperties.getArchiveName()));
+
+            this.archiveProperties = archiveProperties;
+            this.homeMetadataCollectionId = archiveProperties.getArchiveGUID();
+            this.archiveName = archiveProperties.getArchiveName();
+            this.archiveCreationTime = archiveProperties.getCreationDate();
+            this.originatorName = archiveProperties.getOriginatorName();
+            this.originatorOrganizationName = archiveProperties.getOriginatorOrganization();
+            this.originatorLicense = archiveProperties.getOriginatorLicense();
+            this.archiveId = originatorName + " (" + archiveProperties.getArchiveVersion() + ")";
+
+            if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.METADATA_EXPORT)
+            {
+                provenanceType       = InstanceProvenanceType.EXPORT_ARCHIVE;
+                originatorServerType = OpenMetadataArchiveType.METADATA_EXPORT.getName();
+            }
+            else if (archiveProperties.getArchiveType() == OpenMetadataArchiveType.REPOSITORY_BACKUP)
+            {
+                provenanceType       = InstanceProvenanceType.LOCAL_COHORT;
+                originatorServerType = OpenMetadataArchiveType.REPOSITORY_BACKUP.getName();
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Pass the type definitions to the type definition processor.
+         *
+         * @param archiveTypeStore type store from the archive
+         */
+        @Override
+        public void processTypeStore(OpenMetadataArchiveTypeStore archiveTypeStore)
+        {
+            typeCount = typeCount + processTypeDefStore(archiveProperties, archiveTypeStore, typeDefProcessor);
+        }
+
+
+        /**
+         * Queue an entity for loading.
+         *
+         * @param entity entity
+         */
+        @Override
+        public void processEntity(EntityDetail entity)
+        {
+            if (hasInstanceProcessor())
+            {
+                setArchiveAuditHeader(entity);
+                queueInstance(entity);
+            }
+        }
+
+
+        /**
+         * Queue a relationship for loading.  The first relationship waits for all of the entities to load.
+         *
+         * @param relationship relationship
+         */
+        @Override
+        public void processRelationship(Relationship relationship)
+        {
+            if (hasInstanceProcessor())
+            {
+                if (! loadingRelationships)
+                {
+                    loadingRelationships = true;
+                    waitForBatches();
+                }
+
+                setArchiveAuditHeader(relationship);
+                queueInstance(relationship);
+            }
+        }
+
+
+        /**
+         * Fill out the header of a classification.  There are no events to load classifications so they are
+         * not yet passed to the local repository.
+         *
+         * @param classificationEntityExtension classification and the entity it is attached to
+         */
+        @Override
+        public void processClassification(ClassificationEntityExtension classificationEntityExtension)
+        {
+            if (hasInstanceProcessor())
+            {
+                Classification classification = classificationEntityExtension.getClassification();
+
+                if (classification != null)
+                {
+                    setArchiveAuditHeader(classification);
+
+                    classificationEntityExtension.setClassification(classification);
+                }
+            }
+        }
+
+
+        /**
+         * Wait for the queued instances to load and record the completion of the archive.
+         */
+        void complete()
+        {
+            waitForBatches();
+
+            if (archiveProperties != null)
+            {
+                final String     actionDescription = "Process Open Metadata Archive";
+
+                auditLog.logMessage(actionDescription,
+                                    OMRSAuditCode.COMPLETED_ARCHIVE.getMessageDefinition(Integer.toString(typeCount),
+                                                                                         Integer.toString(instanceCount.get()),
+                                                                                         archiveProperties.getArchiveName()));
+            }
+        }
+
+
+        /**
+         * Stop the loader threads.
+         */
+        void close()
+        {
+            if (loaderThreads != null)
+            {
+                for (ExecutorService loaderThread : loaderThreads)
+                {
+                    loaderThread.shutdown();
+                }
+            }
+        }
+
+
+        /**
+         * Check that there is a local repository to load the instances into.  The first time there is not,
+         * this is recorded in the audit log.
+         *
+         * @return whether there is an instance processor
+         */
+        private boolean hasInstanceProcessor()
+        {
+            if (instanceProcessor == null)
+            {
+                if (! noInstanceProcessorReported)
+                {
+                    final String actionDescription = "Processing instances from archive";
+
+                    auditLog.logMessage(actionDescription, OMRSAuditCode.NO_INSTANCE_PROCESSOR.getMessageDefinition());
+
+                    noInstanceProcessorReported = true;
+                }
+
+                return false;
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Set up the header of an archive instance from the archive properties.
+         *
+         * @param instance instance to fill in
+         */
+        private void setArchiveAuditHeader(InstanceAuditHeader instance)
+        {
+            setInstanceAuditHeader(localMetadataCollectionId,
+                                   homeMetadataCollectionId,
+                                   archiveName,
+                                   originatorName,
+                                   archiveCreationTime,
+                                   provenanceType,
+                                   originatorLicense,
+                                   instance);
+        }
+
+
+        /**
+         * Add an instance to the batch for its loader thread, passing the batch to the thread when it is full.
+         * With a single loader thread, the instance is loaded immediately on the caller's thread.
+         *
+         * @param instance entity or relationship
+         */
+        private void queueInstance(InstanceHeader instance)
+        {
+            if (archiveLoadThreads <= 1)
+            {
+                loadInstance(instance);
+                return;
+            }
+
+            if (loaderThreads == null)
+            {
+                loaderThreads = new ArrayList<>();
+                batches = new ArrayList<>();
+
+                for (int i = 0; i < archiveLoadThreads; i++)
+                {
+                    final String threadName = "OMRSArchiveLoader-" + (i + 1);
+
+                    loaderThreads.add(Executors.newSingleThreadExecutor(runnable ->
+                                                                        {
+                                                                            Thread thread = new Thread(runnable, threadName);
+                                                                            thread.setDaemon(true);
+                                                                            return thread;
+                                                                        }));
+                    batches.add(new ArrayList<>());
+                }
+            }
+
+            int loaderThread = 0;
+
+            if (instance.getGUID() != null)
+            {
+                loaderThread = Math.floorMod(instance.getGUID().hashCode(), archiveLoadThreads);
+            }
+
+            List<InstanceHeader> batch = batches.get(loaderThread);
+
+            batch.add(instance);
+
+            if (batch.size() >= archiveLoadBatchSize)
+            {
+                submitBatch(loaderThread);
+            }
+        }
+
+
+        /**
+         * Pass the current batch of a loader thread to the thread.  This waits if the maximum number of
+         * batches are already waiting to load.
+         *
+         * @param loaderThread index of the loader thread
+         */
+        private void submitBatch(int loaderThread)
+        {
+            List<InstanceHeader> batch = batches.get(loaderThread);
+
+            if (! batch.isEmpty())
+            {
+                batches.set(loaderThread, new ArrayList<>());
+
+                batchPermits.acquireUninterruptibly();
+
+                try
+                {
+                    loaderThreads.get(loaderThread).execute(() ->
+                                                            {
+                                                                try
+                                                                {
+                                                                    for (InstanceHeader instance : batch)
+                                                                    {
+                                                                        loadInstance(instance);
+                                                                    }
+                                                                }
+                                                                finally
+                                                                {
+                                                                    batchPermits.release();
+                                                                }
+                                                            });
+                }
+                catch (RejectedExecutionException error)
+                {
+                    batchPermits.release();
+                    throw error;
+                }
+            }
+        }
+
+
+        /**
+         * Pass any partly filled batches to the loader threads and wait for all of the batches to load.
+         */
+        private void waitForBatches()
+        {
+            if (loaderThreads != null)
+            {
+                for (int i = 0; i < loaderThreads.size(); i++)
+                {
+                    submitBatch(i);
+                }
+
+                batchPermits.acquireUninterruptibly(archiveLoadThreads * 2);
+                batchPermits.release(archiveLoadThreads * 2);
+            }
+        }
+
+
+        /**
+         * Pass an entity or relationship to the local repository.  There is no need to support delete in archive
+         * because the elements are reference copies and can be deleted from the receiving repositories.
+         * A failure to load an instance is logged and the rest of the archive continues to load.
+         *
+         * @param instance entity or relationship
+         */
+        private void loadInstance(InstanceHeader instance)
+        {
+            final String actionDescription = "Load instance from Open Metadata Archive";
+
+            try
+            {
+                if (instance instanceof EntityDetail)
+                {
+                    EntityDetail entity = (EntityDetail) instance;
+
+                    if (entity.getVersion() == 1L)
+                    {
+                        instanceProcessor.processNewEntityEvent(archiveId,
+                                                                homeMetadataCollectionId,
+                                                                archiveName,
+                                                                originatorServerType,
+                                                                originatorOrganizationName,
+                                                                entity);
+                    }
+                    else
+                    {
+                        instanceProcessor.processUpdatedEntityEvent(archiveId,
+                                                                    homeMetadataCollectionId,
+                                                                    archiveName,
+                                                                    originatorServerType,
+                                                                    originatorOrganizationName,
+                                                                    null,
+                                                                    entity);
+                    }
+                }
+                else
+                {
+                    Relationship relationship = (Relationship) instance;
+
+                    if (relationship.getVersion() == 1L)
+                    {
+                        instanceProcessor.processNewRelationshipEvent(archiveId,
+                                                                      homeMetadataCollectionId,
+                                                                      archiveName,
+                                                                      originatorServerType,
+                                                                      originatorOrganizationName,
+                                                                      relationship);
+                    }
+                    else
+                    {
+                        instanceProcessor.processUpdatedRelationshipEvent(archiveId,
+                                                                          homeMetadataCollectionId,
+                                                                          archiveName,
+                                                                          originatorServerType,
+                                                                          originatorOrganizationName,
+                                                                          null,
+                                                                          relationship);
+                    }
+                }
+
+                int count = instanceCount.incrementAndGet();
+
+                if (count % archiveLoadProgressInterval == 0)
+                {
+                    auditLog.logMessage(actionDescription,
+                                        OMRSAuditCode.ARCHIVE_LOAD_PROGRESS.getMessageDefinition(Integer.toString(count), archiveName));
+                }
+            }
+            catch (Exception error)
+            {
+                auditLog.logException(actionDescription,
+                                      OMRSAuditCode.ARCHIVE_INSTANCE_NOT_LOADED.getMessageDefinition(instance.getGUID(),
+                                                                                                     archiveName,
+                                                                                                     error.getClass().getName(),
+                                                                                                     error.getMessage()),
+                                      error);
+            }
+        }
+    }
 }
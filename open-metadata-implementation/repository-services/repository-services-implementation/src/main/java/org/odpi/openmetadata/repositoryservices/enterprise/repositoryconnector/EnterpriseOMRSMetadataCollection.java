@@ -134,7 +134,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            enterpriseParentConnector.getFederationWorkerPool(),
+                                                                            auditLog,
+                                                                            methodName);
         GetAllTypesExecutor executor = new GetAllTypesExecutor(userId,
                                                                methodName,
                                                                localMetadataCollectionId,
@@ -1082,6 +1086,69 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.  The
+     * returned list is in the same order as the requested guids.  Entities that are not known, or are only
+     * proxies, in the metadata collection are left out of the list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 return the present values.
+     * @return list of EntityDetail structures or null if none of the entities are known.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntitiesDetail(String       userId,
+                                                List<String> guids,
+                                                Date         asOfTime) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              FunctionNotSupportedException,
+                                                                              UserNotAuthorizedException
+    {
+        final String  methodName = "getEntitiesDetail";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl   federationControl = new ParallelFederationControl(userId,
+                                                                              cohortConnectors,
+                                                                              enterpriseParentConnector.getFederationWorkerPool(),
+                                                                              auditLog,
+                                                                              methodName);
+        GetEntitiesExecutor executor          = new GetEntitiesExecutor(userId,
+                                                                        guids,
+                                                                        asOfTime,
+                                                                        localMetadataCollectionId,
+                                                                        auditLog,
+                                                                        repositoryValidator,
+                                                                        methodName);
+
+        /*
+         * Ready to process the request.  Each repository receives the whole list of guids in one call.
+         * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
+         * there are no positive results from any repository.
+         */
+        federationControl.executeCommand(executor);
+
+        return executor.getResults(enterpriseParentConnector, this);
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1154,7 +1221,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            enterpriseParentConnector.getFederationWorkerPool(),
+                                                                            auditLog,
+                                                                            methodName);
         GetRelationshipsForEntityExecutor executor          = new GetRelationshipsForEntityExecutor(userId,
                                                                                                     entityGUID,
                                                                                                     relationshipTypeGUID,
@@ -1193,6 +1264,93 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.  When the enterprise connector is only connected
+     * to a single repository, the count is delegated to that repository.  Otherwise the relationships are
+     * retrieved from the cohort and counted once any duplicate copies have been removed.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param asOfTime Requests a historical query of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @param effectiveTime only count relationships that are effective at this time (null means any time).
+     * @return count of the relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException there is a problem with the properties of the relationships.
+     * @throws PagingErrorException there is a problem paging through the relationships.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String               userId,
+                                           String               entityGUID,
+                                           String               relationshipTypeGUID,
+                                           List<InstanceStatus> limitResultsByStatus,
+                                           Date                 asOfTime,
+                                           Date                 effectiveTime) throws InvalidParameterException,
+                                                                                      TypeErrorException,
+                                                                                      RepositoryErrorException,
+                                                                                      EntityNotKnownException,
+                                                                                      PropertyErrorException,
+                                                                                      PagingErrorException,
+                                                                                      FunctionNotSupportedException,
+                                                                                      UserNotAuthorizedException
+    {
+        final String  methodName        = "countRelationshipsForEntity";
+
+        /*
+         * Validate parameters
+         */
+        super.countRelationshipsForEntityParameterValidation(userId,
+                                                             entityGUID,
+                                                             relationshipTypeGUID,
+                                                             limitResultsByStatus,
+                                                             asOfTime);
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        if ((cohortConnectors != null) && (cohortConnectors.size() == 1) && (cohortConnectors.get(0) != null))
+        {
+            OMRSMetadataCollection metadataCollection = cohortConnectors.get(0).getMetadataCollection();
+
+            validateMetadataCollection(metadataCollection, methodName);
+
+            return metadataCollection.countRelationshipsForEntity(userId,
+                                                                  entityGUID,
+                                                                  relationshipTypeGUID,
+                                                                  limitResultsByStatus,
+                                                                  asOfTime,
+                                                                  effectiveTime);
+        }
+
+        /*
+         * The same relationship may be stored in more than one repository, so the federated results are counted
+         * after they have been combined.
+         */
+        return super.countRelationshipsForEntity(userId,
+                                                 entityGUID,
+                                                 relationshipTypeGUID,
+                                                 limitResultsByStatus,
+                                                 asOfTime,
+                                                 effectiveTime);
+    }
+
+
     /**
      * Return a list of entities that match the supplied properties according to the match criteria.  The results
      * can be returned over many pages.
@@ -1273,7 +1431,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            enterpriseParentConnector.getFederationWorkerPool(),
+                                                                            auditLog,
+                                                                            methodName);
         FindEntitiesByPropertyExecutor executor          = new FindEntitiesByPropertyExecutor(userId,
                                                                                               entityTypeGUID,
                                                                                               matchProperties,
@@ -1301,6 +1463,102 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.  When the
+     * enterprise connector is only connected to a single repository, the count is delegated to that repository.
+     * Otherwise the entities are retrieved from the cohort and counted once any duplicate copies have been removed.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means count the present values.
+     * @param effectiveTime only count entities that are effective at this time (null means any time).
+     * @return count of the matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException there is a problem paging through the entities.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countEntitiesByProperty(String               userId,
+                                       String               entityTypeGUID,
+                                       InstanceProperties   matchProperties,
+                                       MatchCriteria        matchCriteria,
+                                       List<InstanceStatus> limitResultsByStatus,
+                                       List<String>         limitResultsByClassification,
+                                       Date                 asOfTime,
+                                       Date                 effectiveTime) throws InvalidParameterException,
+                                                                                  RepositoryErrorException,
+                                                                                  TypeErrorException,
+                                                                                  PropertyErrorException,
+                                                                                  PagingErrorException,
+                                                                                  FunctionNotSupportedException,
+                                                                                  UserNotAuthorizedException
+    {
+        final String  methodName = "countEntitiesByProperty";
+
+        /*
+         * Validate parameters
+         */
+        super.countEntitiesByPropertyParameterValidation(userId,
+                                                         entityTypeGUID,
+                                                         matchProperties,
+                                                         matchCriteria,
+                                                         limitResultsByStatus,
+                                                         limitResultsByClassification,
+                                                         asOfTime);
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        if ((cohortConnectors != null) && (cohortConnectors.size() == 1) && (cohortConnectors.get(0) != null))
+        {
+            OMRSMetadataCollection metadataCollection = cohortConnectors.get(0).getMetadataCollection();
+
+            validateMetadataCollection(metadataCollection, methodName);
+
+            return metadataCollection.countEntitiesByProperty(userId,
+                                                              entityTypeGUID,
+                                                              matchProperties,
+                                                              matchCriteria,
+                                                              limitResultsByStatus,
+                                                              limitResultsByClassification,
+                                                              asOfTime,
+                                                              effectiveTime);
+        }
+
+        /*
+         * The same entity may be stored in more than one repository, so the federated results are counted
+         * after they have been combined.
+         */
+        return super.countEntitiesByProperty(userId,
+                                             entityTypeGUID,
+                                             matchProperties,
+                                             matchCriteria,
+                                             limitResultsByStatus,
+                                             limitResultsByClassification,
+                                             asOfTime,
+                                             effectiveTime);
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -1379,7 +1637,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            enterpriseParentConnector.getFederationWorkerPool(),
+                                                                            auditLog,
+                                                                            methodName);
         FindEntitiesExecutor executor       = new FindEntitiesExecutor(userId,
                                                                        entityTypeGUID,
                                                                        entitySubtypeGUIDs,
@@ -1491,7 +1753,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            enterpriseParentConnector.getFederationWorkerPool(),
+                                                                            auditLog,
+                                                                            methodName);
         FindEntitiesByClassificationExecutor executor          = new FindEntitiesByClassificationExecutor(userId,
                                                                                                           entityTypeGUID,
                                                                                                           classificationName,
@@ -1599,7 +1865,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            enterpriseParentConnector.getFederationWorkerPool(),
+                                                                            auditLog,
+                                                                            methodName);
         FindEntitiesByPropertyValueExecutor executor          = new FindEntitiesByPropertyValueExecutor(userId,
                                                                                                         entityTypeGUID,
                                                                                                         searchCriteria,
@@ -1774,6 +2044,68 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  The returned list is in the same order as the
+     * requested guids.  Relationships that are not known in the metadata collection are left out of the list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 return the present values.
+     * @return list of Relationship structures or null if none of the relationships are known.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String  methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl        federationControl = new ParallelFederationControl(userId,
+                                                                                   cohortConnectors,
+                                                                                   enterpriseParentConnector.getFederationWorkerPool(),
+                                                                                   auditLog,
+                                                                                   methodName);
+        GetRelationshipsExecutor executor          = new GetRelationshipsExecutor(userId,
+                                                                                  guids,
+                                                                                  asOfTime,
+                                                                                  localMetadataCollectionId,
+                                                                                  auditLog,
+                                                                                  repositoryValidator,
+                                                                                  methodName);
+
+        /*
+         * Ready to process the request.  Each repository receives the whole list of guids in one call.
+         * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
+         * there are no positive results from any repository.
+         */
+        federationControl.executeCommand(executor);
+
+        return executor.getResults(enterpriseParentConnector);
+    }
+
+
     /**
      * Return a list of relationships that match the requested conditions.  The results can be received as a series of
      * pages.
@@ -1852,7 +2184,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            enterpriseParentConnector.getFederationWorkerPool(),
+                                                                            auditLog,
+                                                                            methodName);
         FindRelationshipsExecutor executor          = new FindRelationshipsExecutor(userId,
                                                                                     relationshipTypeGUID,
                                                                                     relationshipSubtypeGUIDs,
@@ -1957,7 +2293,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            enterpriseParentConnector.getFederationWorkerPool(),
+                                                                            auditLog,
+                                                                            methodName);
         FindRelationshipsByPropertyExecutor executor          = new FindRelationshipsByPropertyExecutor(userId,
                                                                                                         relationshipTypeGUID,
                                                                                                         matchProperties,
@@ -2061,7 +2401,11 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, auditLog, methodName);
+        FederationControl federationControl = new ParallelFederationControl(userId,
+                                                                            cohortConnectors,
+                                                                            enterpriseParentConnector.getFederationWorkerPool(),
+                                                                            auditLog,
+                                                                            methodName);
         FindRelationshipsByPropertyValueExecutor executor          = new FindRelationshipsByPropertyValueExecutor(userId,
                                                                                                                   relationshipTypeGUID,
                                                                                                                   searchCriteria,
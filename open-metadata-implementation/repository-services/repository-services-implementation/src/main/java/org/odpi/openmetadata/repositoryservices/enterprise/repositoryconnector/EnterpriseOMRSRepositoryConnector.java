@@ -13,6 +13,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorConsumer;
 import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorManager;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationWorkerPool;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeException;
@@ -20,6 +21,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeExcept
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * EnterpriseOMRSRepositoryConnector supports federating calls to multiple metadata repositories.  As a result,
@@ -34,6 +36,12 @@ import java.util.List;
  *     repositories in the connected open metadata repository cohort(s).  It does by registering as an OMRSConnectorConsumer
  *     with the OMRSConnectorManager to be notified when connectors to new open metadata repositories are available.
  * </p>
+ * <p>
+ *     Federated queries are issued to the members of the cohort(s) in parallel using a pool of worker threads.
+ *     The pool is sized using the maxFederationWorkers and federationQueueSize configuration properties and
+ *     the federationRequestTimeout configuration property sets the number of milliseconds to wait for the
+ *     members to respond.
+ * </p>
  */
 public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector implements OMRSConnectorConsumer
 {
@@ -45,7 +53,8 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     private String                              localMetadataCollectionId = null;
     private List<FederatedConnector>            remoteCohortConnectors    = new ArrayList<>();
 
-    private String callingServiceName = null;
+    private String                              callingServiceName        = null;
+    private FederationWorkerPool                federationWorkerPool      = null;
 
     private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSRepositoryConnector.class);
 
@@ -123,6 +132,42 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
             auditLog.logMessage(actionDescription, OMRSAuditCode.STARTING_ENTERPRISE_CONNECTOR.getMessageDefinition(callingServiceName));
         }
 
+        int  maxFederationWorkers     = FederationWorkerPool.DEFAULT_MAX_WORKERS;
+        int  federationQueueSize      = FederationWorkerPool.DEFAULT_QUEUE_SIZE;
+        long federationRequestTimeout = FederationWorkerPool.DEFAULT_REQUEST_TIMEOUT;
+
+        if (connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object   maxWorkers = configurationProperties.get("maxFederationWorkers");
+                Object   queueSize  = configurationProperties.get("federationQueueSize");
+                Object   timeout    = configurationProperties.get("federationRequestTimeout");
+
+                if (maxWorkers instanceof Integer)
+                {
+                    maxFederationWorkers = (Integer)maxWorkers;
+                }
+
+                if (queueSize instanceof Integer)
+                {
+                    federationQueueSize = (Integer)queueSize;
+                }
+
+                if (timeout instanceof Number)
+                {
+                    federationRequestTimeout = ((Number)timeout).longValue();
+                }
+            }
+        }
+
+        federationWorkerPool = new FederationWorkerPool("EnterpriseFederation-" + callingServiceName,
+                                                        maxFederationWorkers,
+                                                        federationQueueSize,
+                                                        federationRequestTimeout);
+
         if (connectorManager != null)
         {
             this.connectorConsumerId = connectorManager.registerConnectorConsumer(this);
@@ -160,6 +205,11 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
             connectorManager.unregisterConnectorConsumer(connectorConsumerId);
         }
 
+        if (federationWorkerPool != null)
+        {
+            federationWorkerPool.shutdown();
+        }
+
         localConnector = null;
         remoteCohortConnectors = new ArrayList<>();
     }
@@ -438,6 +488,17 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
     }
 
 
+    /**
+     * Return the worker threads used to issue federated queries in parallel.
+     *
+     * @return worker pool, or null if the connector is not started
+     */
+    FederationWorkerPool getFederationWorkerPool()
+    {
+        return federationWorkerPool;
+    }
+
+
     /**
      * Returns the list of repository connectors that the EnterpriseOMRSRepositoryConnector is federating queries across.
      *
@@ -9,16 +9,23 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * EntityAccumulator accumulates and validates entities received from a collection of open metadata
  * repositories.  It removes duplicates from the list by choosing the latest entity details object.
  *
+ * In merge mode, the sorted lists of entities from each repository are held until the results are extracted
+ * and then merged until the requested page is complete.
+ *
  * This class may be called simultaneously from many different threads so it must be thread-safe.
  */
 public class EntityAccumulator extends QueryInstanceAccumulatorBase
@@ -26,6 +33,10 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
     private volatile Map<String, EntityDetail>         accumulatedEntities        = new HashMap<>();
     private volatile Map<String, List<Classification>> accumulatedClassifications = new HashMap<>();
 
+    private InstancePageMerger<EntityDetail>           pageMerger                 = null;
+    private List<String>                               mergedEntityGUIDs          = null;
+    private final Object                               mergeLock                  = new Object();
+
 
     /**
      * Construct a entity accumulator.  Its base class manages the common variables needed to
@@ -171,6 +182,139 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
     }
 
 
+    /**
+     * Add the sorted list of entities returned by a repository to the accumulator.  In merge mode, the list
+     * is held for merging with the other repositories' lists when the results are extracted, and the page retriever
+     * is used if more entities are needed from this repository.  Otherwise the entities are added straight away.
+     *
+     * @param entities list of retrieved entities
+     * @param metadataCollectionId source metadata collection
+     * @param pageRetriever used to retrieve further pages of entities from the repository
+     */
+    public synchronized void addEntities(List<EntityDetail>                  entities,
+                                         String                              metadataCollectionId,
+                                         InstancePageRetriever<EntityDetail> pageRetriever)
+    {
+        if ((super.isMergingResults()) && (metadataCollectionId != null))
+        {
+            if (pageMerger == null)
+            {
+                pageMerger = new InstancePageMerger<>(OMRSRepositoryContentHelper.getEntityComparator(sequencingProperty, sequencingOrder),
+                                                      super.getMemberPageSize());
+            }
+
+            pageMerger.addMember(metadataCollectionId, entities, pageRetriever);
+
+            if (entities == null)
+            {
+                super.setResultsReturned(metadataCollectionId, 0);
+            }
+            else
+            {
+                super.setResultsReturned(metadataCollectionId, entities.size());
+            }
+        }
+        else
+        {
+            this.addEntities(entities, metadataCollectionId);
+        }
+    }
+
+
+    /**
+     * Detach the page merger from the accumulator so the merge can run without holding the accumulator's lock.
+     *
+     * @return page merger or null if there is nothing to merge
+     */
+    private synchronized InstancePageMerger<EntityDetail> takePageMerger()
+    {
+        InstancePageMerger<EntityDetail> merger = pageMerger;
+
+        pageMerger = null;
+
+        return merger;
+    }
+
+
+    /**
+     * Merge the lists of entities from each repository until the requested page is complete.  Further pages may
+     * be requested from the repositories so the merge runs without holding the accumulator's lock.  The merged
+     * entities are only added to the accumulator, along with the other copies that have already been retrieved,
+     * once the merge is complete.
+     *
+     * @param merger page merger holding the sorted lists from each repository
+     */
+    private void mergeEntities(InstancePageMerger<EntityDetail> merger)
+    {
+        final String methodName = "getResults";
+
+        int                requiredEntities    = super.getMemberPageSize();
+        Set<String>        previousGUIDs       = this.getAccumulatedGUIDs();
+        Set<String>        newGUIDs            = new HashSet<>();
+        List<String>       newGUIDList         = new ArrayList<>();
+        List<EntityDetail> mergedEntities      = new ArrayList<>();
+        List<String>       mergedCollectionIds = new ArrayList<>();
+
+        merger.merge((entity, metadataCollectionId) ->
+                     {
+                         if ((! previousGUIDs.contains(entity.getGUID())) && (newGUIDs.add(entity.getGUID())))
+                         {
+                             newGUIDList.add(entity.getGUID());
+                         }
+
+                         mergedEntities.add(entity);
+                         mergedCollectionIds.add(metadataCollectionId);
+
+                         return (newGUIDList.size() < requiredEntities);
+                     },
+                     (metadataCollectionId, error) -> super.captureGenericException(methodName, metadataCollectionId, error));
+
+        this.saveMergedEntities(merger, mergedEntities, mergedCollectionIds, newGUIDList);
+    }
+
+
+    /**
+     * Return the unique identifiers of the entities already in the accumulator.
+     *
+     * @return set of guids
+     */
+    private synchronized Set<String> getAccumulatedGUIDs()
+    {
+        return new HashSet<>(accumulatedEntities.keySet());
+    }
+
+
+    /**
+     * Add the merged entities to the accumulator.  The other copies of the merged entities that have already been
+     * retrieved are then added so the latest version and the full set of classifications are used.
+     *
+     * @param merger page merger used for the merge
+     * @param mergedEntities entities passed by the merge in sequence
+     * @param mergedCollectionIds metadata collection ids of the repositories that returned each merged entity
+     * @param newGUIDList unique identifiers of the entities added by the merge in sequence
+     */
+    private synchronized void saveMergedEntities(InstancePageMerger<EntityDetail> merger,
+                                                 List<EntityDetail>               mergedEntities,
+                                                 List<String>                     mergedCollectionIds,
+                                                 List<String>                     newGUIDList)
+    {
+        for (int i = 0; i < mergedEntities.size(); i++)
+        {
+            this.addEntity(mergedEntities.get(i), mergedCollectionIds.get(i));
+        }
+
+        merger.visitRetrieved((entity, metadataCollectionId) ->
+                              {
+                                  if (accumulatedEntities.containsKey(entity.getGUID()))
+                                  {
+                                      this.addEntity(entity, metadataCollectionId);
+                                  }
+                              });
+
+        mergedEntityGUIDs = newGUIDList;
+    }
+
+
     /**
      * Extract the results - this will the a unique list of entities selected from the instances
      * supplied to this accumulator.  It should be called once all of the executors have completed processing
@@ -180,8 +324,36 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
      * @param metadataCollection enterprise metadata collection
      * @return list of entities
      */
-    public synchronized List<EntityDetail> getResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
-                                                      OMRSMetadataCollection            metadataCollection)
+    public List<EntityDetail> getResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                         OMRSMetadataCollection            metadataCollection)
+    {
+        /*
+         * The merge may call the repositories for further pages so it is serialized on its own lock
+         * rather than the accumulator's lock.
+         */
+        synchronized (mergeLock)
+        {
+            InstancePageMerger<EntityDetail> merger = this.takePageMerger();
+
+            if (merger != null)
+            {
+                this.mergeEntities(merger);
+            }
+        }
+
+        return this.extractResults(repositoryConnector, metadataCollection);
+    }
+
+
+    /**
+     * Build the results from the accumulated entities.
+     *
+     * @param repositoryConnector enterprise connector
+     * @param metadataCollection enterprise metadata collection
+     * @return list of entities
+     */
+    private synchronized List<EntityDetail> extractResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                                           OMRSMetadataCollection            metadataCollection)
     {
         if (accumulatedEntities.isEmpty())
         {
@@ -195,7 +367,7 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
 
             if (metadataCollection != null)
             {
-                for (EntityDetail accumulatedEntity : accumulatedEntities.values())
+                for (EntityDetail accumulatedEntity : this.getAccumulatedEntities())
                 {
                     if (accumulatedEntity != null)
                     {
@@ -212,6 +384,21 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
             {
                 return null;
             }
+            else if (mergedEntityGUIDs != null)
+            {
+                /*
+                 * The latest version of an entity may sort differently from the copy that was merged so the
+                 * merged results are sorted again before the requested page is extracted.
+                 */
+                Comparator<EntityDetail> comparator = OMRSRepositoryContentHelper.getEntityComparator(sequencingProperty, sequencingOrder);
+
+                if (comparator != null)
+                {
+                    results.sort(comparator);
+                }
+
+                return super.getRequestedPage(results);
+            }
             else
             {
                 return results;
@@ -220,6 +407,29 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
     }
 
 
+    /**
+     * Return the accumulated entities.  In merge mode they are returned in the order they were merged.
+     *
+     * @return list of entities
+     */
+    private List<EntityDetail> getAccumulatedEntities()
+    {
+        if (mergedEntityGUIDs == null)
+        {
+            return new ArrayList<>(accumulatedEntities.values());
+        }
+
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String entityGUID : mergedEntityGUIDs)
+        {
+            entities.add(accumulatedEntities.get(entityGUID));
+        }
+
+        return entities;
+    }
+
+
     /**
      * Return the list of entities that where retrieved from other repositories and not stored in the local repository.
      * The local repository may use this list to send out refresh requests on the OMRS Topic.  If the rules allow, and
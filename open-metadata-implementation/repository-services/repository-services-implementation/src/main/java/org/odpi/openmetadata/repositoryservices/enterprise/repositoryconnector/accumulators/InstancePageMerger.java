@@ -0,0 +1,266 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+/**
+ * InstancePageMerger performs a k-way merge of the sorted pages of instances returned by each repository
+ * in the cohort.  Each repository is represented by a cursor over the page it returned.  The merge takes
+ * the next instance in sequence from the cursors until the consumer has all it needs.  When the page from a
+ * repository is used up, the next page is requested from that repository, but only if it returned a full page.
+ *
+ * It is used by a single thread once all of the repositories have returned their first page.  Since further
+ * pages are requested from the repositories during the merge, the accumulators run the merge without holding
+ * their own lock.
+ *
+ * @param <T> type of instance
+ */
+class InstancePageMerger<T extends InstanceHeader>
+{
+    private Comparator<T>         comparator;
+    private int                   memberPageSize;
+    private List<MemberCursor<T>> cursors = new ArrayList<>();
+
+
+    /**
+     * Constructor
+     *
+     * @param comparator sequence of the instances
+     * @param memberPageSize number of instances requested from a repository on each request
+     */
+    InstancePageMerger(Comparator<T> comparator,
+                       int           memberPageSize)
+    {
+        this.comparator = comparator;
+        this.memberPageSize = memberPageSize;
+    }
+
+
+    /**
+     * Add the first page returned by a repository.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @param firstPage sorted instances returned by the repository
+     * @param pageRetriever used to request further pages, may be null
+     */
+    void addMember(String                   metadataCollectionId,
+                   List<T>                  firstPage,
+                   InstancePageRetriever<T> pageRetriever)
+    {
+        cursors.add(new MemberCursor<>(metadataCollectionId, cursors.size(), firstPage, pageRetriever, memberPageSize));
+    }
+
+
+    /**
+     * Pass the instances from all of the repositories to the consumer in sequence until the consumer returns
+     * false or there are no more instances.
+     *
+     * @param consumer receives each instance along with the metadata collection id of the repository that returned it.
+     *                 It returns true to continue the merge.
+     * @param errorHandler receives any exception from a request for a further page.  The repository is not called again.
+     */
+    void merge(BiPredicate<T, String>        consumer,
+               BiConsumer<String, Exception> errorHandler)
+    {
+        PriorityQueue<MemberCursor<T>> queue = new PriorityQueue<>(Math.max(cursors.size(), 1), (one, two) ->
+        {
+            int result = comparator.compare(one.peek(), two.peek());
+
+            if (result == 0)
+            {
+                /*
+                 * Preserve the order that the repositories were called in for equivalent instances.
+                 */
+                result = Integer.compare(one.memberNumber, two.memberNumber);
+            }
+
+            return result;
+        });
+
+        for (MemberCursor<T> cursor : cursors)
+        {
+            if (cursor.hasNext(errorHandler))
+            {
+                queue.add(cursor);
+            }
+        }
+
+        while (! queue.isEmpty())
+        {
+            MemberCursor<T> cursor = queue.poll();
+
+            if (! consumer.test(cursor.next(), cursor.metadataCollectionId))
+            {
+                return;
+            }
+
+            if (cursor.hasNext(errorHandler))
+            {
+                queue.add(cursor);
+            }
+        }
+    }
+
+
+    /**
+     * Pass the instances that have already been retrieved but not yet merged to the visitor.  This does not
+     * request any more pages.  It is used after the merge has stopped to pick up other copies of the merged instances.
+     *
+     * @param visitor receives each instance along with the metadata collection id of the repository that returned it
+     */
+    void visitRetrieved(BiConsumer<T, String> visitor)
+    {
+        for (MemberCursor<T> cursor : cursors)
+        {
+            for (T instance : cursor.getRemaining())
+            {
+                visitor.accept(instance, cursor.metadataCollectionId);
+            }
+        }
+    }
+
+
+    /**
+     * MemberCursor steps through the instances returned by a single repository, requesting further pages as needed.
+     *
+     * @param <T> type of instance
+     */
+    private static class MemberCursor<T>
+    {
+        private String                   metadataCollectionId;
+        private int                      memberNumber;
+        private InstancePageRetriever<T> pageRetriever;
+        private int                      pageSize;
+        private List<T>                  page;
+        private int                      pagePosition  = 0;
+        private int                      nextElement;
+        private boolean                  moreAvailable;
+
+
+        /**
+         * Constructor
+         *
+         * @param metadataCollectionId unique identifier of the repository's metadata collection
+         * @param memberNumber order that the repository was added to the merger
+         * @param firstPage first page of instances returned by the repository
+         * @param pageRetriever used to request further pages, may be null
+         * @param pageSize number of instances requested on each request
+         */
+        MemberCursor(String                   metadataCollectionId,
+                     int                      memberNumber,
+                     List<T>                  firstPage,
+                     InstancePageRetriever<T> pageRetriever,
+                     int                      pageSize)
+        {
+            this.metadataCollectionId = metadataCollectionId;
+            this.memberNumber = memberNumber;
+            this.pageRetriever = pageRetriever;
+            this.pageSize = pageSize;
+            this.setPage(firstPage);
+        }
+
+
+        /**
+         * Save a page returned by the repository, dropping any null entries.  A short page means the repository
+         * has no more instances.
+         *
+         * @param newPage page of instances
+         */
+        private void setPage(List<T> newPage)
+        {
+            page = new ArrayList<>();
+
+            if (newPage != null)
+            {
+                for (T instance : newPage)
+                {
+                    if (instance != null)
+                    {
+                        page.add(instance);
+                    }
+                }
+
+                nextElement = nextElement + newPage.size();
+                moreAvailable = (pageRetriever != null) && (pageSize > 0) && (newPage.size() >= pageSize);
+            }
+            else
+            {
+                moreAvailable = false;
+            }
+
+            pagePosition = 0;
+        }
+
+
+        /**
+         * Return whether there is another instance, requesting the next page from the repository if necessary.
+         *
+         * @param errorHandler receives any exception from the request for the next page
+         * @return boolean
+         */
+        boolean hasNext(BiConsumer<String, Exception> errorHandler)
+        {
+            while (pagePosition >= page.size())
+            {
+                if (! moreAvailable)
+                {
+                    return false;
+                }
+
+                try
+                {
+                    setPage(pageRetriever.getPage(nextElement, pageSize));
+                }
+                catch (Exception error)
+                {
+                    moreAvailable = false;
+                    errorHandler.accept(metadataCollectionId, error);
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Return the instances from the current page that have not been returned by next.
+         *
+         * @return list of instances
+         */
+        List<T> getRemaining()
+        {
+            return page.subList(pagePosition, page.size());
+        }
+
+
+        /**
+         * Return the current instance without moving on.  Only valid after hasNext has returned true.
+         *
+         * @return instance
+         */
+        T peek()
+        {
+            return page.get(pagePosition);
+        }
+
+
+        /**
+         * Return the current instance and move on.  Only valid after hasNext has returned true.
+         *
+         * @return instance
+         */
+        T next()
+        {
+            return page.get(pagePosition++);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import java.util.List;
+
+/**
+ * InstancePageRetriever is supplied by an executor to an accumulator so that the accumulator can request further
+ * pages of results from a single repository while it is merging the results from the cohort.
+ *
+ * @param <T> type of instance returned
+ */
+public interface InstancePageRetriever<T>
+{
+    /**
+     * Issue the executor's request to its repository for the requested page of results.
+     *
+     * @param fromElement starting element number of the instances to return
+     * @param pageSize maximum number of instances to return
+     * @return list of instances or null if there are no more
+     * @throws Exception problem retrieving the page
+     */
+    List<T> getPage(int fromElement,
+                    int pageSize) throws Exception;
+}
@@ -4,6 +4,7 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
@@ -14,11 +15,22 @@ import java.util.List;
 /**
  * QueryAccumulatorBase acts as a base class to the accumulators that need to visit each repository and
  * combine results.
+ *
+ * When the request asks for a page of results in a specific sequence, the accumulator switches to merge mode.
+ * Each repository is asked for the first fromElement + pageSize instances in sequence (the most it could
+ * contribute to the requested page) and the sorted lists are merged as the results are extracted.  The merge
+ * stops as soon as the requested page is known, asking a repository for more instances only if duplicates
+ * mean its first list was not enough.
  */
 public class QueryInstanceAccumulatorBase extends QueryAccumulatorBase
 {
     protected List<String>            locallyStoredInstancesGUIDs = new ArrayList<>();
 
+    protected int                     fromElement                 = 0;
+    protected int                     pageSize                    = 0;
+    protected String                  sequencingProperty          = null;
+    protected SequencingOrder         sequencingOrder             = null;
+
     /**
      * Construct a query accumulator.  This base class manages the common variables needed to
      * control the execution of requests across all members of the cohort(s).
@@ -35,6 +47,69 @@ public class QueryInstanceAccumulatorBase extends QueryAccumulatorBase
     }
 
 
+    /**
+     * Set up the paging and sequencing parameters from the request.  These determine whether the results from the
+     * repositories are merged.
+     *
+     * @param fromElement starting element number of the instances to return
+     * @param pageSize maximum number of instances to return - zero means unlimited
+     * @param sequencingProperty name of the property used to sequence the results
+     * @param sequencingOrder sequence requested for the results
+     */
+    public synchronized void setPagingParameters(int             fromElement,
+                                                 int             pageSize,
+                                                 String          sequencingProperty,
+                                                 SequencingOrder sequencingOrder)
+    {
+        this.fromElement = Math.max(fromElement, 0);
+        this.pageSize = pageSize;
+        this.sequencingProperty = sequencingProperty;
+        this.sequencingOrder = sequencingOrder;
+    }
+
+
+    /**
+     * Return whether the sorted results from each repository are merged to produce the requested page.
+     * This is only possible when the request is for a page of results in a specific sequence.
+     *
+     * @return boolean flag
+     */
+    public synchronized boolean isMergingResults()
+    {
+        return (pageSize > 0) && (sequencingOrder != null) && (sequencingOrder != SequencingOrder.ANY);
+    }
+
+
+    /**
+     * Return the number of instances to request from each repository in merge mode.  A single repository can
+     * contribute no more than this number of instances to the requested page.
+     *
+     * @return number of instances
+     */
+    public synchronized int getMemberPageSize()
+    {
+        return fromElement + pageSize;
+    }
+
+
+    /**
+     * Return the requested page from the merged results.
+     *
+     * @param mergedResults results in sequence
+     * @param <T> type of instance
+     * @return requested page or null if there are no results in the page
+     */
+    <T> List<T> getRequestedPage(List<T> mergedResults)
+    {
+        if (fromElement >= mergedResults.size())
+        {
+            return null;
+        }
+
+        return new ArrayList<>(mergedResults.subList(fromElement, Math.min(fromElement + pageSize, mergedResults.size())));
+    }
+
+
     /**
      * Return a flag indicating whether the incoming element should be preferred over the current saved element.
      *
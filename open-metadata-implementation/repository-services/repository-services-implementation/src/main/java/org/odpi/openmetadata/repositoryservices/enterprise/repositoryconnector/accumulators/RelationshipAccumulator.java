@@ -6,22 +6,33 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * RelationshipAccumulator accumulates and validates relationships received from a collection of open metadata
  * repositories.  It removes duplicates from the list by choosing the latest version.
  *
+ * In merge mode, the sorted lists of relationships from each repository are held until the results are extracted
+ * and then merged until the requested page is complete.
+ *
  * This class may be called simultaneously from many different threads so it must be thread-safe.
  */
 public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
 {
     private volatile Map<String, Relationship> accumulatedRelationships   = new HashMap<>();
 
+    private InstancePageMerger<Relationship>   pageMerger                 = null;
+    private List<String>                       mergedRelationshipGUIDs    = null;
+    private final Object                       mergeLock                  = new Object();
+
 
     /**
      * Construct a relationship accumulator.  Its base class manages the common variables needed to
@@ -107,6 +118,139 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
     }
 
 
+    /**
+     * Add the sorted list of relationships returned by a repository to the accumulator.  In merge mode, the list
+     * is held for merging with the other repositories' lists when the results are extracted, and the page retriever
+     * is used if more relationships are needed from this repository.  Otherwise the relationships are added straight away.
+     *
+     * @param relationships list of retrieved relationships
+     * @param metadataCollectionId source metadata collection
+     * @param pageRetriever used to retrieve further pages of relationships from the repository
+     */
+    public synchronized void addRelationships(List<Relationship>                  relationships,
+                                              String                              metadataCollectionId,
+                                              InstancePageRetriever<Relationship> pageRetriever)
+    {
+        if ((super.isMergingResults()) && (metadataCollectionId != null))
+        {
+            if (pageMerger == null)
+            {
+                pageMerger = new InstancePageMerger<>(OMRSRepositoryContentHelper.getRelationshipComparator(sequencingProperty, sequencingOrder),
+                                                      super.getMemberPageSize());
+            }
+
+            pageMerger.addMember(metadataCollectionId, relationships, pageRetriever);
+
+            if (relationships == null)
+            {
+                super.setResultsReturned(metadataCollectionId, 0);
+            }
+            else
+            {
+                super.setResultsReturned(metadataCollectionId, relationships.size());
+            }
+        }
+        else
+        {
+            this.addRelationships(relationships, metadataCollectionId);
+        }
+    }
+
+
+    /**
+     * Detach the page merger from the accumulator so the merge can run without holding the accumulator's lock.
+     *
+     * @return page merger or null if there is nothing to merge
+     */
+    private synchronized InstancePageMerger<Relationship> takePageMerger()
+    {
+        InstancePageMerger<Relationship> merger = pageMerger;
+
+        pageMerger = null;
+
+        return merger;
+    }
+
+
+    /**
+     * Merge the lists of relationships from each repository until the requested page is complete.  Further pages may
+     * be requested from the repositories so the merge runs without holding the accumulator's lock.  The merged
+     * relationships are only added to the accumulator, along with the other copies that have already been retrieved,
+     * once the merge is complete.
+     *
+     * @param merger page merger holding the sorted lists from each repository
+     */
+    private void mergeRelationships(InstancePageMerger<Relationship> merger)
+    {
+        final String methodName = "getResults";
+
+        int                requiredRelationships = super.getMemberPageSize();
+        Set<String>        previousGUIDs         = this.getAccumulatedGUIDs();
+        Set<String>        newGUIDs              = new HashSet<>();
+        List<String>       newGUIDList           = new ArrayList<>();
+        List<Relationship> mergedRelationships   = new ArrayList<>();
+        List<String>       mergedCollectionIds   = new ArrayList<>();
+
+        merger.merge((relationship, metadataCollectionId) ->
+                     {
+                         if ((! previousGUIDs.contains(relationship.getGUID())) && (newGUIDs.add(relationship.getGUID())))
+                         {
+                             newGUIDList.add(relationship.getGUID());
+                         }
+
+                         mergedRelationships.add(relationship);
+                         mergedCollectionIds.add(metadataCollectionId);
+
+                         return (newGUIDList.size() < requiredRelationships);
+                     },
+                     (metadataCollectionId, error) -> super.captureGenericException(methodName, metadataCollectionId, error));
+
+        this.saveMergedRelationships(merger, mergedRelationships, mergedCollectionIds, newGUIDList);
+    }
+
+
+    /**
+     * Return the unique identifiers of the relationships already in the accumulator.
+     *
+     * @return set of guids
+     */
+    private synchronized Set<String> getAccumulatedGUIDs()
+    {
+        return new HashSet<>(accumulatedRelationships.keySet());
+    }
+
+
+    /**
+     * Add the merged relationships to the accumulator.  The other copies of the merged relationships that have
+     * already been retrieved are then added so the latest version is used.
+     *
+     * @param merger page merger used for the merge
+     * @param mergedRelationships relationships passed by the merge in sequence
+     * @param mergedCollectionIds metadata collection ids of the repositories that returned each merged relationship
+     * @param newGUIDList unique identifiers of the relationships added by the merge in sequence
+     */
+    private synchronized void saveMergedRelationships(InstancePageMerger<Relationship> merger,
+                                                      List<Relationship>               mergedRelationships,
+                                                      List<String>                     mergedCollectionIds,
+                                                      List<String>                     newGUIDList)
+    {
+        for (int i = 0; i < mergedRelationships.size(); i++)
+        {
+            this.addRelationship(mergedRelationships.get(i), mergedCollectionIds.get(i));
+        }
+
+        merger.visitRetrieved((relationship, metadataCollectionId) ->
+                              {
+                                  if (accumulatedRelationships.containsKey(relationship.getGUID()))
+                                  {
+                                      this.addRelationship(relationship, metadataCollectionId);
+                                  }
+                              });
+
+        mergedRelationshipGUIDs = newGUIDList;
+    }
+
+
     /**
      * Extract the results - this will the a unique list of relationships selected from the instances
      * supplied to this accumulator.  It should be called once all of the executors have completed processing
@@ -115,7 +259,33 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
      * @param repositoryConnector enterprise connector
      * @return list of relationships
      */
-    public synchronized List<Relationship>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    public List<Relationship>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    {
+        /*
+         * The merge may call the repositories for further pages so it is serialized on its own lock
+         * rather than the accumulator's lock.
+         */
+        synchronized (mergeLock)
+        {
+            InstancePageMerger<Relationship> merger = this.takePageMerger();
+
+            if (merger != null)
+            {
+                this.mergeRelationships(merger);
+            }
+        }
+
+        return this.extractResults(repositoryConnector);
+    }
+
+
+    /**
+     * Build the results from the accumulated relationships.
+     *
+     * @param repositoryConnector enterprise connector
+     * @return list of relationships
+     */
+    private synchronized List<Relationship> extractResults(EnterpriseOMRSRepositoryConnector repositoryConnector)
     {
         if (accumulatedRelationships.isEmpty())
         {
@@ -124,7 +294,31 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
         else
         {
             this.makeRefreshRecommendations(repositoryConnector);
-            return new ArrayList<>(accumulatedRelationships.values());
+
+            if (mergedRelationshipGUIDs == null)
+            {
+                return new ArrayList<>(accumulatedRelationships.values());
+            }
+
+            List<Relationship> results = new ArrayList<>();
+
+            for (String relationshipGUID : mergedRelationshipGUIDs)
+            {
+                results.add(accumulatedRelationships.get(relationshipGUID));
+            }
+
+            /*
+             * The latest version of a relationship may sort differently from the copy that was merged so the
+             * merged results are sorted again before the requested page is extracted.
+             */
+            Comparator<Relationship> comparator = OMRSRepositoryContentHelper.getRelationshipComparator(sequencingProperty, sequencingOrder);
+
+            if (comparator != null)
+            {
+                results.sort(comparator);
+            }
+
+            return super.getRequestedPage(results);
         }
     }
 
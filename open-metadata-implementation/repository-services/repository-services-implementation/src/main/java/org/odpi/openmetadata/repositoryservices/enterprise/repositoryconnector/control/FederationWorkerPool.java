@@ -0,0 +1,140 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FederationWorkerPool manages the worker threads used by the ParallelFederationControl to issue
+ * requests to the members of the cohort(s) in parallel.  One pool is shared by all of the requests
+ * made through an enterprise connector.
+ *
+ * The pool has a fixed maximum number of threads and a bounded queue of waiting requests.  When both are full,
+ * the request to a cohort member is run on the calling thread, which slows the caller down rather than
+ * rejecting the request.  Each federated request has a deadline (the request timeout) after which any
+ * cohort members that have not responded are abandoned.
+ */
+public class FederationWorkerPool
+{
+    public static final int  DEFAULT_MAX_WORKERS     = 10;
+    public static final int  DEFAULT_QUEUE_SIZE      = 100;
+    public static final long DEFAULT_REQUEST_TIMEOUT = 60000L;
+
+    private ThreadPoolExecutor workers;
+    private long               requestTimeout;
+
+
+    /**
+     * Constructor supplies the sizing of the pool.
+     *
+     * @param threadNamePrefix prefix for the names of the worker threads
+     * @param maxWorkers maximum number of worker threads
+     * @param queueSize maximum number of requests waiting for a worker thread
+     * @param requestTimeout maximum time in milliseconds to wait for the cohort members to respond to a request
+     */
+    public FederationWorkerPool(String threadNamePrefix,
+                                int    maxWorkers,
+                                int    queueSize,
+                                long   requestTimeout)
+    {
+        this.requestTimeout = requestTimeout;
+        this.workers = new ThreadPoolExecutor(maxWorkers,
+                                              maxWorkers,
+                                              60L,
+                                              TimeUnit.SECONDS,
+                                              new ArrayBlockingQueue<>(queueSize),
+                                              new WorkerThreadFactory(threadNamePrefix),
+                                              new ThreadPoolExecutor.CallerRunsPolicy());
+
+        /*
+         * Idle threads are released so a quiet server does not hold on to them.
+         */
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+
+    /**
+     * Return the maximum time in milliseconds to wait for the cohort members to respond to a request.
+     *
+     * @return milliseconds
+     */
+    public long getRequestTimeout()
+    {
+        return requestTimeout;
+    }
+
+
+    /**
+     * Queue a request to a cohort member.
+     *
+     * @param request request to run
+     * @return future used to wait for the request to complete
+     */
+    Future<?> submit(Runnable request)
+    {
+        return workers.submit(request);
+    }
+
+
+    /**
+     * Return whether the pool is still accepting requests.
+     *
+     * @return boolean
+     */
+    boolean isActive()
+    {
+        return ! workers.isShutdown();
+    }
+
+
+    /**
+     * Stop the worker threads.  Requests in progress are interrupted.
+     */
+    public void shutdown()
+    {
+        workers.shutdownNow();
+    }
+
+
+    /**
+     * WorkerThreadFactory creates named daemon threads so the workers do not hold up the shutdown of the server.
+     */
+    private static class WorkerThreadFactory implements ThreadFactory
+    {
+        private String        threadNamePrefix;
+        private AtomicInteger threadNumber = new AtomicInteger(1);
+
+
+        /**
+         * Constructor supplies the prefix for the thread names.
+         *
+         * @param threadNamePrefix prefix
+         */
+        WorkerThreadFactory(String threadNamePrefix)
+        {
+            this.threadNamePrefix = threadNamePrefix;
+        }
+
+
+        /**
+         * Create a new worker thread.
+         *
+         * @param runnable logic for the thread
+         * @return new thread
+         */
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadNumber.getAndIncrement());
+
+            thread.setDaemon(true);
+
+            return thread;
+        }
+    }
+}
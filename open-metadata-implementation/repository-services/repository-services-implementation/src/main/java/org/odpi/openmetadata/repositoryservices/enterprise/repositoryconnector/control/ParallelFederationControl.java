@@ -5,22 +5,37 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * ParallelFederationControl uses multiple worker threads to perform the calls to different systems in parallel.
+ * Each cohort member is called through its own clone of the executor.  The clones share the executor's
+ * accumulator, which assembles the results.
+ *
+ * The calling thread waits for the responses until the deadline set by the worker pool's request timeout.
+ * Cohort members that have not responded by then are abandoned and reported to the accumulator as a
+ * RepositoryErrorException, so a slow or dead member can not stall the request.
+ *
+ * Executors that can not be cloned, or controls created without a worker pool, call each cohort member in turn.
  */
 public class ParallelFederationControl extends FederationControlBase
 {
-    // todo at this point the parallel federation control uses a sequential since the
-    // todo worker threads are not implemented.
+    private FederationWorkerPool workerPool;
 
 
     /**
-     * Constructor for a federated query
+     * Constructor for a federated query that calls each cohort member in turn on the calling thread.
      *
      * @param userId calling user
      * @param cohortConnectors list of connectors to call
@@ -31,9 +46,29 @@ public class ParallelFederationControl extends FederationControlBase
                                      List<OMRSRepositoryConnector> cohortConnectors,
                                      AuditLog                      auditLog,
                                      String                        methodName)
+    {
+        this(userId, cohortConnectors, null, auditLog, methodName);
+    }
+
+
+    /**
+     * Constructor for a federated query that calls the cohort members in parallel.
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param workerPool threads used to call the cohort members - null means use the calling thread
+     * @param auditLog logging destination
+     * @param methodName calling method
+     */
+    public ParallelFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     FederationWorkerPool          workerPool,
+                                     AuditLog                      auditLog,
+                                     String                        methodName)
     {
         super(userId, cohortConnectors, auditLog, methodName);
 
+        this.workerPool = workerPool;
     }
 
 
@@ -48,20 +83,148 @@ public class ParallelFederationControl extends FederationControlBase
     {
         if (super.cohortConnectors != null)
         {
-            for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+            if ((workerPool != null) && (workerPool.isActive()) && (executor instanceof CloneableRepositoryExecutor))
+            {
+                executeInParallel((CloneableRepositoryExecutor)executor);
+            }
+            else
             {
-                if (cohortConnector != null)
+                for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
                 {
-                    OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+                    if (cohortConnector != null)
+                    {
+                        OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
 
-                    String metadataCollectionId = this.validateMetadataCollection(cohortConnector, metadataCollection, methodName);
+                        String metadataCollectionId = this.validateMetadataCollection(cohortConnector, metadataCollection, methodName);
 
-                    if (metadataCollectionId != null)
-                    {
-                        executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+                        if (metadataCollectionId != null)
+                        {
+                            executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+                        }
                     }
                 }
             }
         }
     }
+
+
+    /**
+     * Issue a clone of the executor to each cohort member through the worker pool and wait for them
+     * to complete or for the deadline to pass.
+     *
+     * @param executor command to execute
+     * @throws RepositoryErrorException problem with the state of one of the repositories.
+     */
+    private void executeInParallel(CloneableRepositoryExecutor executor) throws RepositoryErrorException
+    {
+        List<FederatedRequest> requests = new ArrayList<>();
+
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+                String metadataCollectionId = this.validateMetadataCollection(cohortConnector, metadataCollection, methodName);
+
+                if (metadataCollectionId != null)
+                {
+                    CloneableRepositoryExecutor requestExecutor = executor.getClone();
+
+                    Future<?> future = workerPool.submit(() -> requestExecutor.issueRequestToRepository(metadataCollectionId,
+                                                                                                          metadataCollection));
+
+                    requests.add(new FederatedRequest(cohortConnector.getRepositoryName(),
+                                                      metadataCollectionId,
+                                                      requestExecutor,
+                                                      future));
+                }
+            }
+        }
+
+        long requestTimeout = workerPool.getRequestTimeout();
+        long deadline       = System.currentTimeMillis() + requestTimeout;
+
+        for (FederatedRequest request : requests)
+        {
+            try
+            {
+                request.future.get(Math.max(deadline - System.currentTimeMillis(), 0L), TimeUnit.MILLISECONDS);
+            }
+            catch (TimeoutException error)
+            {
+                request.future.cancel(true);
+
+                auditLog.logMessage(methodName,
+                                    OMRSAuditCode.SLOW_METADATA_COLLECTION.getMessageDefinition(request.repositoryName,
+                                                                                                request.metadataCollectionId,
+                                                                                                methodName,
+                                                                                                Long.toString(requestTimeout)));
+
+                request.executor.captureAbandonedRequest(request.metadataCollectionId,
+                                                         new RepositoryErrorException(OMRSErrorCode.COHORT_MEMBER_TIMEOUT.getMessageDefinition(request.metadataCollectionId,
+                                                                                                                                                Long.toString(requestTimeout),
+                                                                                                                                                methodName),
+                                                                                      this.getClass().getName(),
+                                                                                      methodName));
+            }
+            catch (ExecutionException error)
+            {
+                Throwable cause = error.getCause();
+
+                request.executor.captureAbandonedRequest(request.metadataCollectionId,
+                                                         new RepositoryErrorException(OMRSErrorCode.UNEXPECTED_EXCEPTION_FROM_COHORT.getMessageDefinition(cause.getClass().getName(),
+                                                                                                                                                          methodName,
+                                                                                                                                                          cause.getMessage()),
+                                                                                      this.getClass().getName(),
+                                                                                      methodName,
+                                                                                      cause));
+            }
+            catch (InterruptedException error)
+            {
+                /*
+                 * The calling thread is being shut down so the outstanding requests are abandoned.
+                 */
+                for (FederatedRequest outstandingRequest : requests)
+                {
+                    outstandingRequest.future.cancel(true);
+                }
+
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * FederatedRequest records the details of the request issued to a single cohort member.
+     */
+    private static class FederatedRequest
+    {
+        private String                      repositoryName;
+        private String                      metadataCollectionId;
+        private CloneableRepositoryExecutor executor;
+        private Future<?>                   future;
+
+
+        /**
+         * Constructor
+         *
+         * @param repositoryName name of the cohort member's repository
+         * @param metadataCollectionId unique identifier of the cohort member's metadata collection
+         * @param executor executor issuing the request
+         * @param future future used to wait for the request
+         */
+        FederatedRequest(String                      repositoryName,
+                         String                      metadataCollectionId,
+                         CloneableRepositoryExecutor executor,
+                         Future<?>                   future)
+        {
+            this.repositoryName = repositoryName;
+            this.metadataCollectionId = metadataCollectionId;
+            this.executor = executor;
+            this.future = future;
+        }
+    }
 }
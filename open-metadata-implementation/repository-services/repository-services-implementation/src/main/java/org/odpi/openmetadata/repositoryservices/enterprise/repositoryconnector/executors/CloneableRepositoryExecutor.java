@@ -2,11 +2,13 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
 
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
 /**
  * CloneableRepositoryExecutor describes the interface for a repository executor that can be cloned to run
  * in parallel.  They use a shared accumulator to gather and assemble the result.
  */
-public interface CloneableRepositoryExecutor
+public interface CloneableRepositoryExecutor extends RepositoryExecutor
 {
     /**
      * Return a clone of this executor with the same command parameters and accumulator instance.
@@ -14,4 +16,15 @@ public interface CloneableRepositoryExecutor
      * @return clone of this executor
      */
     CloneableRepositoryExecutor getClone();
+
+
+    /**
+     * Record that the request to a repository was abandoned before it completed, for example, because
+     * the repository did not respond in time.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param error exception describing why the request was abandoned
+     */
+    void captureAbandonedRequest(String                   metadataCollectionId,
+                                 RepositoryErrorException error);
 }
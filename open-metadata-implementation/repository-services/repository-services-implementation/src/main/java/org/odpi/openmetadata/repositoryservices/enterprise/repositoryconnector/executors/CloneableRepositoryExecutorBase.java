@@ -4,6 +4,7 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.QueryAccumulatorBase;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
 
 /**
@@ -12,12 +13,31 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.a
  */
 abstract class CloneableRepositoryExecutorBase extends RepositoryExecutorBase implements CloneableRepositoryExecutor
 {
+    private QueryAccumulatorBase queryAccumulator;
+
+
     CloneableRepositoryExecutorBase(String               userId,
                                     String               methodName,
                                     QueryAccumulatorBase accumulator)
     {
         super(userId, methodName);
 
+        this.queryAccumulator = accumulator;
+
         accumulator.registerExecutor();
     }
+
+
+    /**
+     * Record that the request to a repository was abandoned before it completed.  The exception is saved in the
+     * shared accumulator and will be returned if there are no positive results from any repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param error exception describing why the request was abandoned
+     */
+    public void captureAbandonedRequest(String                   metadataCollectionId,
+                                        RepositoryErrorException error)
+    {
+        queryAccumulator.captureException(metadataCollectionId, error);
+    }
 }
@@ -186,19 +186,11 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
             /*
              * Issue the request
              */
-            List<EntityDetail> results = metadataCollection.findEntitiesByClassification(userId,
-                                                                                         instanceTypeGUID,
-                                                                                         classificationName,
-                                                                                         matchClassificationProperties,
-                                                                                         matchCriteria,
-                                                                                         startingElement,
-                                                                                         limitResultsByStatus,
-                                                                                         asOfTime,
-                                                                                         sequencingProperty,
-                                                                                         sequencingOrder,
-                                                                                         pageSize);
+            List<EntityDetail> results = this.getPage(metadataCollection, super.getMemberStartingElement(), super.getMemberPageSize());
 
-            accumulator.addEntities(results, metadataCollectionId);
+            accumulator.addEntities(results,
+                                    metadataCollectionId,
+                                    (nextElement, nextPageSize) -> this.getPage(metadataCollection, nextElement, nextPageSize));
 
         }
         catch (InvalidParameterException error)
@@ -242,6 +234,47 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
     }
 
 
+    /**
+     * Issue the request to the repository for a page of entities.
+     *
+     * @param metadataCollection metadata collection object for the repository
+     * @param fromElement starting element number of the entities to return
+     * @param pageSize maximum number of entities to return
+     * @return list of entities or null
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws FunctionNotSupportedException the repository does not support this call.
+     * @throws ClassificationErrorException the classification request is not known to the metadata collection.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws PropertyErrorException the properties specified are not valid for the requested type.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private List<EntityDetail> getPage(OMRSMetadataCollection metadataCollection,
+                                       int                    fromElement,
+                                       int                    pageSize) throws InvalidParameterException,
+                                                                               FunctionNotSupportedException,
+                                                                               ClassificationErrorException,
+                                                                               PagingErrorException,
+                                                                               TypeErrorException,
+                                                                               PropertyErrorException,
+                                                                               RepositoryErrorException,
+                                                                               UserNotAuthorizedException
+    {
+        return metadataCollection.findEntitiesByClassification(userId,
+                                                               instanceTypeGUID,
+                                                               classificationName,
+                                                               matchClassificationProperties,
+                                                               matchCriteria,
+                                                               fromElement,
+                                                               limitResultsByStatus,
+                                                               asOfTime,
+                                                               sequencingProperty,
+                                                               sequencingOrder,
+                                                               pageSize);
+    }
+
+
     /**
      * Return the results or exception.
      *
@@ -178,18 +178,11 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
             /*
              * Issue the request
              */
-            List<EntityDetail> results = metadataCollection.findEntitiesByPropertyValue(userId,
-                                                                                        instanceTypeGUID,
-                                                                                        searchCriteria,
-                                                                                        startingElement,
-                                                                                        limitResultsByStatus,
-                                                                                        limitResultsByClassification,
-                                                                                        asOfTime,
-                                                                                        sequencingProperty,
-                                                                                        sequencingOrder,
-                                                                                        pageSize);
+            List<EntityDetail> results = this.getPage(metadataCollection, super.getMemberStartingElement(), super.getMemberPageSize());
 
-            accumulator.addEntities(results, metadataCollectionId);
+            accumulator.addEntities(results,
+                                    metadataCollectionId,
+                                    (nextElement, nextPageSize) -> this.getPage(metadataCollection, nextElement, nextPageSize));
         }
         catch (InvalidParameterException error)
         {
@@ -228,6 +221,44 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
     }
 
 
+    /**
+     * Issue the request to the repository for a page of entities.
+     *
+     * @param metadataCollection metadata collection object for the repository
+     * @param fromElement starting element number of the entities to return
+     * @param pageSize maximum number of entities to return
+     * @return list of entities or null
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws FunctionNotSupportedException the repository does not support this call.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     * @throws PropertyErrorException the properties specified are not valid for the requested type.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    private List<EntityDetail> getPage(OMRSMetadataCollection metadataCollection,
+                                       int                    fromElement,
+                                       int                    pageSize) throws InvalidParameterException,
+                                                                               FunctionNotSupportedException,
+                                                                               TypeErrorException,
+                                                                               PagingErrorException,
+                                                                               PropertyErrorException,
+                                                                               RepositoryErrorException,
+                                                                               UserNotAuthorizedException
+    {
+        return metadataCollection.findEntitiesByPropertyValue(userId,
+                                                              instanceTypeGUID,
+                                                              searchCriteria,
+                                                              fromElement,
+                                                              limitResultsByStatus,
+                                                              limitResultsByClassification,
+                                                              asOfTime,
+                                                              sequencingProperty,
+                                                              sequencingOrder,
+                                                              pageSize);
+    }
+
+
     /**
      * Return the results or exception.
      *
@@ -173,17 +173,11 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
             /*
              * Issue the request
              */
-            List<Relationship> results = metadataCollection.findRelationshipsByPropertyValue(userId,
-                                                                                             instanceTypeGUID,
-                                                                                             searchCriteria,
-                                                                                             startingElement,
-                                                                                             limitResultsByStatus,
-                                                                                             asOfTime,
-                                                                                             sequencingProperty,
-                                                                                             sequencingOrder,
-                                                                                             pageSize);
+            List<Relationship> results = this.getPage(metadataCollection, super.getMemberStartingElement(), super.getMemberPageSize());
 
-            accumulator.addRelationships(results, metadataCollectionId);
+            accumulator.addRelationships(results,
+                                         metadataCollectionId,
+                                         (nextElement, nextPageSize) -> this.getPage(metadataCollection, nextElement, nextPageSize));
         }
         catch (InvalidParameterException error)
         {
@@ -222,6 +216,43 @@ public class FindRelationshipsByPropertyValueExecutor extends PageableRepository
     }
 
 
+    /**
+     * Issue the request to the repository for a page of relationships.
+     *
+     * @param metadataCollection metadata collection object for the repository
+     * @param fromElement starting element number of the relationships to return
+     * @param pageSize maximum number of relationships to return
+     * @return list of relationships or null
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws FunctionNotSupportedException the repository does not support this call.
+     * @throws PropertyErrorException the properties specified are not valid for the requested type.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws PagingErrorException the paging/sequencing parameters are set up incorrectly.
+     */
+    private List<Relationship> getPage(OMRSMetadataCollection metadataCollection,
+                                       int                    fromElement,
+                                       int                    pageSize) throws InvalidParameterException,
+                                                                               FunctionNotSupportedException,
+                                                                               PropertyErrorException,
+                                                                               RepositoryErrorException,
+                                                                               UserNotAuthorizedException,
+                                                                               TypeErrorException,
+                                                                               PagingErrorException
+    {
+        return metadataCollection.findRelationshipsByPropertyValue(userId,
+                                                                   instanceTypeGUID,
+                                                                   searchCriteria,
+                                                                   fromElement,
+                                                                   limitResultsByStatus,
+                                                                   asOfTime,
+                                                                   sequencingProperty,
+                                                                   sequencingOrder,
+                                                                   pageSize);
+    }
+
+
     /**
      * Return the results of the combined requests.
      *
@@ -0,0 +1,201 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.RelationshipAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * GetRelationshipsExecutor is the executor for the getRelationships request.  The whole list of guids is passed
+ * to each repository in a single call and the results are combined so that the latest version of each relationship
+ * is returned.
+ * This request can be issued in parallel - the call to each request potentially running in a different thread.
+ */
+public class GetRelationshipsExecutor extends CloneableRepositoryExecutorBase
+{
+    private List<String>            relationshipGUIDs;
+    private Date                    asOfTime;
+    private RelationshipAccumulator accumulator;
+
+
+    /**
+     * Create the executor.  The parameters provide the parameters for issuing the requests and
+     * combining the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param relationshipGUIDs list of unique identifiers for the relationships.
+     * @param asOfTime Requests a historical query of the relationships.  Null means return the present values.
+     * @param localMetadataCollectionId unique identifier for the local repository - may be null if no local repository
+     * @param auditLog logging destination
+     * @param repositoryValidator validator for resulting relationships
+     * @param methodName calling method
+     */
+    public GetRelationshipsExecutor(String                  userId,
+                                    List<String>            relationshipGUIDs,
+                                    Date                    asOfTime,
+                                    String                  localMetadataCollectionId,
+                                    AuditLog                auditLog,
+                                    OMRSRepositoryValidator repositoryValidator,
+                                    String                  methodName)
+    {
+        this(userId,
+             relationshipGUIDs,
+             asOfTime,
+             new RelationshipAccumulator(localMetadataCollectionId, auditLog, repositoryValidator),
+             methodName);
+    }
+
+
+    /**
+     * Create the executor.  The parameters provide the parameters for issuing the requests and
+     * combining the results.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param relationshipGUIDs list of unique identifiers for the relationships.
+     * @param asOfTime Requests a historical query of the relationships.  Null means return the present values.
+     * @param accumulator location for results and returned exceptions
+     * @param methodName calling method
+     */
+    private GetRelationshipsExecutor(String                  userId,
+                                     List<String>            relationshipGUIDs,
+                                     Date                    asOfTime,
+                                     RelationshipAccumulator accumulator,
+                                     String                  methodName)
+    {
+        super(userId, methodName, accumulator);
+
+        this.relationshipGUIDs = relationshipGUIDs;
+        this.asOfTime = asOfTime;
+        this.accumulator = accumulator;
+    }
+
+
+    /**
+     * Return a clone of this executor with the same command parameters and accumulator instance.
+     * This is used when setting up the parallel execution of the work.  Each clone executes
+     * the calls to a single open metadata repository.
+     *
+     * @return clone of this executor
+     */
+    public CloneableRepositoryExecutor getClone()
+    {
+        return new GetRelationshipsExecutor(userId, relationshipGUIDs, asOfTime, accumulator, methodName);
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that the required results have been achieved
+     */
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        try
+        {
+            /*
+             * Issue the request
+             */
+            List<Relationship> results = metadataCollection.getRelationships(userId, relationshipGUIDs, asOfTime);
+
+            accumulator.addRelationships(results, metadataCollectionId);
+        }
+        catch (InvalidParameterException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (FunctionNotSupportedException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (RepositoryErrorException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            accumulator.captureException(metadataCollectionId, error);
+        }
+        catch (Exception error)
+        {
+            accumulator.captureGenericException(methodName, metadataCollectionId, error);
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return the results or exception.
+     *
+     * @param repositoryConnector enterprise connector
+     *
+     * @return list of relationships in the order of the requested guids; null means none of the relationships are known.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getResults(EnterpriseOMRSRepositoryConnector repositoryConnector) throws InvalidParameterException,
+                                                                                                      RepositoryErrorException,
+                                                                                                      FunctionNotSupportedException,
+                                                                                                      UserNotAuthorizedException
+    {
+        if (accumulator.resultsReturned())
+        {
+            List<Relationship> accumulatedRelationships = accumulator.getResults(repositoryConnector);
+
+            if (accumulatedRelationships == null)
+            {
+                return null;
+            }
+
+            /*
+             * The accumulator does not preserve the order of the request.
+             */
+            Map<String, Relationship> relationshipMap = new HashMap<>();
+
+            for (Relationship relationship : accumulatedRelationships)
+            {
+                relationshipMap.put(relationship.getGUID(), relationship);
+            }
+
+            List<Relationship> results = new ArrayList<>();
+
+            for (String relationshipGUID : relationshipGUIDs)
+            {
+                Relationship relationship = relationshipMap.get(relationshipGUID);
+
+                if (relationship != null)
+                {
+                    results.add(relationship);
+                }
+            }
+
+            return results;
+        }
+
+        accumulator.throwCapturedUserNotAuthorizedException();
+        accumulator.throwCapturedRepositoryErrorException();
+        accumulator.throwCapturedGenericException(methodName);
+        accumulator.throwCapturedInvalidParameterException();
+        accumulator.throwCapturedFunctionNotSupportedException();
+
+        return null;
+    }
+}
@@ -65,6 +65,42 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
         this.asOfTime = asOfTime;
 
         this.queryInstanceAccumulator = accumulator;
+
+        accumulator.setPagingParameters(startingElement, pageSize, sequencingProperty, sequencingOrder);
+    }
+
+
+    /**
+     * Return the starting element to request from a repository.  When the accumulator is merging the results,
+     * each repository is asked for its results from the start.
+     *
+     * @return starting element number
+     */
+    int getMemberStartingElement()
+    {
+        if (queryInstanceAccumulator.isMergingResults())
+        {
+            return 0;
+        }
+
+        return startingElement;
+    }
+
+
+    /**
+     * Return the page size to request from a repository.  When the accumulator is merging the results,
+     * each repository is asked for enough results to fill the requested page on its own.
+     *
+     * @return maximum number of elements to return
+     */
+    int getMemberPageSize()
+    {
+        if (queryInstanceAccumulator.isMergingResults())
+        {
+            return queryInstanceAccumulator.getMemberPageSize();
+        }
+
+        return pageSize;
     }
 
 
@@ -1875,6 +1875,46 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
         return this.getValidatedEntity(userId, entity);
     }
 
+
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.  The
+     * returned list is in the same order as the requested guids.  Entities that are not known, or are only
+     * proxies, in the metadata collection are left out of the list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @param asOfTime the time used to determine which version of the entities that is desired.  Null means
+     *                 return the present values.
+     * @return list of EntityDetail structures or null if none of the entities are known.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntitiesDetail(String       userId,
+                                                List<String> guids,
+                                                Date         asOfTime) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              FunctionNotSupportedException,
+                                                                              UserNotAuthorizedException
+    {
+        final String methodName = "getEntitiesDetail";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> entities = realMetadataCollection.getEntitiesDetail(userId, guids, asOfTime);
+
+        return securityVerifyReadEntityList(userId, entities);
+    }
+
     
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
@@ -2008,6 +2048,78 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.  The count is pushed down to the real
+     * repository unless a repository security connector is filtering the relationships that the user can see,
+     * in which case the relationships are retrieved, filtered and counted.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @param limitResultsByStatus By default, relationships in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values except DELETED.
+     * @param asOfTime Requests a historical query of the relationships for the entity.  Null means count the
+     *                 present values.
+     * @param effectiveTime only count relationships that are effective at this time (null means any time).
+     * @return count of the relationships.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws EntityNotKnownException the requested entity instance is not known in the metadata collection.
+     * @throws PropertyErrorException there is a problem with the properties of the relationships.
+     * @throws PagingErrorException there is a problem paging through the relationships.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public int countRelationshipsForEntity(String                     userId,
+                                           String                     entityGUID,
+                                           String                     relationshipTypeGUID,
+                                           List<InstanceStatus>       limitResultsByStatus,
+                                           Date                       asOfTime,
+                                           Date                       effectiveTime) throws InvalidParameterException,
+                                                                                            TypeErrorException,
+                                                                                            RepositoryErrorException,
+                                                                                            EntityNotKnownException,
+                                                                                            PropertyErrorException,
+                                                                                            PagingErrorException,
+                                                                                            FunctionNotSupportedException,
+                                                                                            UserNotAuthorizedException
+    {
+        /*
+         * Validate parameters
+         */
+        super.countRelationshipsForEntityParameterValidation(userId,
+                                                             entityGUID,
+                                                             relationshipTypeGUID,
+                                                             limitResultsByStatus,
+                                                             asOfTime);
+
+        if (securityVerifier instanceof OMRSMetadataDefaultRepositorySecurity)
+        {
+            /*
+             * Perform operation
+             */
+            return realMetadataCollection.countRelationshipsForEntity(userId,
+                                                                      entityGUID,
+                                                                      relationshipTypeGUID,
+                                                                      limitResultsByStatus,
+                                                                      asOfTime,
+                                                                      effectiveTime);
+        }
+
+        return super.countRelationshipsForEntity(userId,
+                                                 entityGUID,
+                                                 relationshipTypeGUID,
+                                                 limitResultsByStatus,
+                                                 asOfTime,
+                                                 effectiveTime);
+    }
+
+
     /**
      * Return a list of entities that match the supplied properties according to the match criteria.  The results
      * can be returned over many pages.
@@ -2101,6 +2213,88 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.  The count
+     * is pushed down to the real repository unless a repository security connector is filtering the entities that
+     * the user can see, in which case the entities are retrieved, filtered and counted.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityTypeGUID String unique identifier for the entity type of interest (null means any entity type).
+     * @param matchProperties Optional list of entity properties to match (where any String property's value should
+     *                        be defined as a Java regular expression, even if it should be an exact match).
+     * @param matchCriteria Enum defining how the match properties should be matched to the entities in the repository.
+     * @param limitResultsByStatus By default, entities in all non-DELETED statuses are counted.  However, it is possible
+     *                             to specify a list of statuses (eg ACTIVE) to restrict the results to.  Null means all
+     *                             status values except DELETED.
+     * @param limitResultsByClassification List of classifications that must be present on all counted entities.
+     * @param asOfTime Requests a historical query of the entity.  Null means count the present values.
+     * @param effectiveTime only count entities that are effective at this time (null means any time).
+     * @return count of the matching entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the
+     *                              metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity.
+     * @throws PagingErrorException there is a problem paging through the entities.
+     * @throws FunctionNotSupportedException the repository does not support one of the provided parameters.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @see OMRSRepositoryHelper#getExactMatchRegex(String)
+     */
+    @Override
+    public int countEntitiesByProperty(String                    userId,
+                                       String                    entityTypeGUID,
+                                       InstanceProperties        matchProperties,
+                                       MatchCriteria             matchCriteria,
+                                       List<InstanceStatus>      limitResultsByStatus,
+                                       List<String>              limitResultsByClassification,
+                                       Date                      asOfTime,
+                                       Date                      effectiveTime) throws InvalidParameterException,
+                                                                                       RepositoryErrorException,
+                                                                                       TypeErrorException,
+                                                                                       PropertyErrorException,
+                                                                                       PagingErrorException,
+                                                                                       FunctionNotSupportedException,
+                                                                                       UserNotAuthorizedException
+    {
+        /*
+         * Validate parameters
+         */
+        super.countEntitiesByPropertyParameterValidation(userId,
+                                                         entityTypeGUID,
+                                                         matchProperties,
+                                                         matchCriteria,
+                                                         limitResultsByStatus,
+                                                         limitResultsByClassification,
+                                                         asOfTime);
+
+        if (securityVerifier instanceof OMRSMetadataDefaultRepositorySecurity)
+        {
+            /*
+             * Perform operation
+             */
+            return realMetadataCollection.countEntitiesByProperty(userId,
+                                                                  entityTypeGUID,
+                                                                  matchProperties,
+                                                                  matchCriteria,
+                                                                  limitResultsByStatus,
+                                                                  limitResultsByClassification,
+                                                                  asOfTime,
+                                                                  effectiveTime);
+        }
+
+        return super.countEntitiesByProperty(userId,
+                                             entityTypeGUID,
+                                             matchProperties,
+                                             matchCriteria,
+                                             limitResultsByStatus,
+                                             limitResultsByClassification,
+                                             asOfTime,
+                                             effectiveTime);
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -2488,6 +2682,45 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return a list of relationships in a single request.  The returned list is in the same order as the
+     * requested guids.  Relationships that are not known in the metadata collection are left out of the list.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the relationships.
+     * @param asOfTime the time used to determine which version of the relationships that is desired.  Null means
+     *                 return the present values.
+     * @return list of Relationship structures or null if none of the relationships are known.
+     * @throws InvalidParameterException the guid list is null or contains a null guid or the date is for a future time.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws FunctionNotSupportedException the repository does not support the asOfTime parameter.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationships(String       userId,
+                                               List<String> guids,
+                                               Date         asOfTime) throws InvalidParameterException,
+                                                                             RepositoryErrorException,
+                                                                             FunctionNotSupportedException,
+                                                                             UserNotAuthorizedException
+    {
+        final String methodName = "getRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.getInstancesParameterValidation(userId, guids, asOfTime, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<Relationship> relationships = realMetadataCollection.getRelationships(userId, guids, asOfTime);
+
+        return securityVerifyReadRelationshipList(userId, relationships);
+    }
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
@@ -2160,24 +2160,11 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
             return null;
         }
 
-        // If there is no sequencing order, or it is defined as 'ANY', there is no sorting to do
-        if (sequencingOrder != null && !sequencingOrder.equals(SequencingOrder.ANY))
+        Comparator<EntityDetail> comparator = getEntityComparator(sequencingProperty, sequencingOrder);
+
+        if (comparator != null)
         {
-            if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
-            {
-                // If the sequencing is property-based, handover to the property comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareProperties(
-                        one.getProperties(),
-                        two.getProperties(),
-                        sequencingProperty,
-                        sequencingOrder
-                ));
-            }
-            else
-            {
-                // Otherwise handover to the instance comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder));
-            }
+            fullResults.sort(comparator);
         }
 
         if ((fromElement == 0) && (pageSize > fullResultsSize))
@@ -2232,24 +2219,11 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
             return null;
         }
 
-        // If there is no sequencing order, or it is defined as 'ANY', there is no sorting to do
-        if (sequencingOrder != null && !sequencingOrder.equals(SequencingOrder.ANY))
+        Comparator<Relationship> comparator = getRelationshipComparator(sequencingProperty, sequencingOrder);
+
+        if (comparator != null)
         {
-            if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
-            {
-                // If the sequencing is property-based, handover to the property comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareProperties(
-                        one.getProperties(),
-                        two.getProperties(),
-                        sequencingProperty,
-                        sequencingOrder
-                ));
-            }
-            else
-            {
-                // Otherwise handover to the instance comparator
-                fullResults.sort((one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder));
-            }
+            fullResults.sort(comparator);
         }
 
         if ((fromElement == 0) && (pageSize == 0 || pageSize > fullResultsSize))
@@ -2266,6 +2240,70 @@ public class OMRSRepositoryContentHelper extends OMRSRepositoryPropertiesUtiliti
     }
 
 
+    /**
+     * Return the comparator that sorts entities into the requested sequence.  This is the ordering used by
+     * formatEntityResults and is available to components that need to merge sorted lists of entities.
+     *
+     * @param sequencingProperty String name of the property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @return comparator or null if no sorting is required
+     */
+    public static Comparator<EntityDetail> getEntityComparator(String          sequencingProperty,
+                                                               SequencingOrder sequencingOrder)
+    {
+        // If there is no sequencing order, or it is defined as 'ANY', there is no sorting to do
+        if (sequencingOrder == null || sequencingOrder.equals(SequencingOrder.ANY))
+        {
+            return null;
+        }
+
+        if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
+        {
+            // If the sequencing is property-based, handover to the property comparator
+            return (one, two) -> OMRSRepositoryContentHelper.compareProperties(one.getProperties(),
+                                                                               two.getProperties(),
+                                                                               sequencingProperty,
+                                                                               sequencingOrder);
+        }
+
+        // Otherwise handover to the instance comparator
+        return (one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder);
+    }
+
+
+    /**
+     * Return the comparator that sorts relationships into the requested sequence.  This is the ordering used by
+     * formatRelationshipResults and is available to components that need to merge sorted lists of relationships.
+     *
+     * @param sequencingProperty String name of the property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @return comparator or null if no sorting is required
+     */
+    public static Comparator<Relationship> getRelationshipComparator(String          sequencingProperty,
+                                                                     SequencingOrder sequencingOrder)
+    {
+        // If there is no sequencing order, or it is defined as 'ANY', there is no sorting to do
+        if (sequencingOrder == null || sequencingOrder.equals(SequencingOrder.ANY))
+        {
+            return null;
+        }
+
+        if (sequencingOrder.equals(SequencingOrder.PROPERTY_ASCENDING) || sequencingOrder.equals(SequencingOrder.PROPERTY_DESCENDING))
+        {
+            // If the sequencing is property-based, handover to the property comparator
+            return (one, two) -> OMRSRepositoryContentHelper.compareProperties(one.getProperties(),
+                                                                               two.getProperties(),
+                                                                               sequencingProperty,
+                                                                               sequencingOrder);
+        }
+
+        // Otherwise handover to the instance comparator
+        return (one, two) -> OMRSRepositoryContentHelper.compareInstances(one, two, sequencingOrder);
+    }
+
+
     /**
      * Compare the two instances and determine the sort order based on the nominated non-property sort order.
      *
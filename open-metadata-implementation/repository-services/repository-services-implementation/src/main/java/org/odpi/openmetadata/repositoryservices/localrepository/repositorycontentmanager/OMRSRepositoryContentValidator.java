@@ -11,11 +11,13 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSSearchPredicate;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.function.Function;
 
 import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyCategory.ENUM;
 import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyCategory.PRIMITIVE;
@@ -3680,6 +3682,24 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     @Override
     public int countMatchingPropertyValues(InstanceProperties       matchProperties,
                                            InstanceProperties       instanceProperties) throws InvalidParameterException
+    {
+        return this.countMatchingPropertyValues(matchProperties, instanceProperties, SearchStringMatcher::getMatcher);
+    }
+
+
+    /**
+     * Count the number of matching property values that an instance has using the supplied compiled
+     * regular expressions.
+     *
+     * @param matchProperties the properties to match.
+     * @param instanceProperties the properties from the instance.
+     * @param matchers lookup of the compiled form of each regular expression
+     * @return integer count of the matching properties.
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private int countMatchingPropertyValues(InstanceProperties                    matchProperties,
+                                            InstanceProperties                    instanceProperties,
+                                            Function<String, SearchStringMatcher> matchers) throws InvalidParameterException
     {
         final String  methodName = "countMatchingPropertyValues";
         int           matchingProperties = 0;
@@ -3803,7 +3823,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                 {
                                                     try
                                                     {
-                                                        if (instancePropertyValueString.matches(matchPropertyValueString))
+                                                        if (matchers.apply(matchPropertyValueString).matches(instancePropertyValueString))
                                                         {
                                                             matchingProperties++;
                                                         }
@@ -3842,11 +3862,13 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
      * @param propertyMap map with the properties
      * @param propertyName name of the property to test
      * @param expectedValue expected value
+     * @param matchers lookup of the compiled form of each regular expression
      * @return boolean result
      */
-    private  boolean  checkStringPropertyValue(Map<String, InstancePropertyValue>   propertyMap,
-                                               String                               propertyName,
-                                               String                               expectedValue)
+    private  boolean  checkStringPropertyValue(Map<String, InstancePropertyValue>    propertyMap,
+                                               String                                propertyName,
+                                               String                                expectedValue,
+                                               Function<String, SearchStringMatcher> matchers)
     {
         boolean                 result = false;
         InstancePropertyValue   instancePropertyValue = propertyMap.get(propertyName);
@@ -3862,7 +3884,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                     if (matchValue != null)
                     {
-                        if (expectedValue.matches(matchValue))
+                        if (matchers.apply(matchValue).matches(expectedValue))
                         {
                             result = true;
                         }
@@ -3939,6 +3961,25 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     public int countMatchingHeaderPropertyValues(InstanceProperties       matchProperties,
                                                  InstanceAuditHeader      instanceHeader,
                                                  InstanceProperties       instanceProperties)
+    {
+        return this.countMatchingHeaderPropertyValues(matchProperties, instanceHeader, instanceProperties, SearchStringMatcher::getMatcher);
+    }
+
+
+    /**
+     * Count the number of matching property values that an instance has in its header using the supplied
+     * compiled regular expressions.
+     *
+     * @param matchProperties  the properties to match.
+     * @param instanceHeader  the header properties from the instance.
+     * @param instanceProperties  the effectivity dates.
+     * @param matchers lookup of the compiled form of each regular expression
+     * @return integer count of the matching properties.
+     */
+    private int countMatchingHeaderPropertyValues(InstanceProperties                    matchProperties,
+                                                  InstanceAuditHeader                   instanceHeader,
+                                                  InstanceProperties                    instanceProperties,
+                                                  Function<String, SearchStringMatcher> matchers)
     {
         final String metadataCollectionIdPropertyName = "metadataCollectionId";
         final String metadataCollectionNamePropertyName = "metadataCollectionName";
@@ -3959,27 +4000,27 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
             if (propertyMap != null)
             {
-                if (this.checkStringPropertyValue(propertyMap, metadataCollectionIdPropertyName, instanceHeader.getMetadataCollectionId()))
+                if (this.checkStringPropertyValue(propertyMap, metadataCollectionIdPropertyName, instanceHeader.getMetadataCollectionId(), matchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, metadataCollectionNamePropertyName, instanceHeader.getMetadataCollectionName()))
+                if (this.checkStringPropertyValue(propertyMap, metadataCollectionNamePropertyName, instanceHeader.getMetadataCollectionName(), matchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, typeNamePropertyName, instanceHeader.getType().getTypeDefName()))
+                if (this.checkStringPropertyValue(propertyMap, typeNamePropertyName, instanceHeader.getType().getTypeDefName(), matchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, typeGUIDPropertyName, instanceHeader.getType().getTypeDefGUID()))
+                if (this.checkStringPropertyValue(propertyMap, typeGUIDPropertyName, instanceHeader.getType().getTypeDefGUID(), matchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, createdByPropertyName, instanceHeader.getCreatedBy()))
+                if (this.checkStringPropertyValue(propertyMap, createdByPropertyName, instanceHeader.getCreatedBy(), matchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, updatedByPropertyName, instanceHeader.getUpdatedBy()))
+                if (this.checkStringPropertyValue(propertyMap, updatedByPropertyName, instanceHeader.getUpdatedBy(), matchers))
                 {
                     matchingProperties ++;
                 }
@@ -4023,11 +4064,36 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                         InstanceAuditHeader  instanceHeader,
                                                         InstanceProperties   instanceProperties,
                                                         MatchCriteria        matchCriteria) throws InvalidParameterException
+    {
+        return this.verifyMatchingInstancePropertyValues(matchProperties,
+                                                         instanceHeader,
+                                                         instanceProperties,
+                                                         matchCriteria,
+                                                         SearchStringMatcher::getMatcher);
+    }
+
+
+    /**
+     * Determine if the instance properties match the match criteria using the supplied compiled regular expressions.
+     *
+     * @param matchProperties  the properties to match.
+     * @param instanceHeader the header of the instance.
+     * @param instanceProperties  the properties from the instance.
+     * @param matchCriteria  rule on how the match should occur.
+     * @param matchers lookup of the compiled form of each regular expression
+     * @return boolean flag indicating whether the two sets of properties match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private boolean verifyMatchingInstancePropertyValues(InstanceProperties                    matchProperties,
+                                                         InstanceAuditHeader                   instanceHeader,
+                                                         InstanceProperties                    instanceProperties,
+                                                         MatchCriteria                         matchCriteria,
+                                                         Function<String, SearchStringMatcher> matchers) throws InvalidParameterException
     {
         if (matchProperties != null && matchProperties.getInstanceProperties() != null)
         {
-            int matchingProperties = this.countMatchingPropertyValues(matchProperties, instanceProperties) +
-                                     this.countMatchingHeaderPropertyValues(matchProperties, instanceHeader, instanceProperties);
+            int matchingProperties = this.countMatchingPropertyValues(matchProperties, instanceProperties, matchers) +
+                                     this.countMatchingHeaderPropertyValues(matchProperties, instanceHeader, instanceProperties, matchers);
 
             switch (matchCriteria)
             {
@@ -4108,6 +4174,29 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     public boolean verifyMatchingInstancePropertyValues(SearchProperties    matchProperties,
                                                         InstanceAuditHeader instanceHeader,
                                                         InstanceProperties  instanceProperties) throws InvalidParameterException
+    {
+        return this.verifyMatchingInstancePropertyValues(matchProperties,
+                                                         instanceHeader,
+                                                         instanceProperties,
+                                                         SearchStringMatcher::getMatcher);
+    }
+
+
+    /**
+     * Determine if the instance properties match the property-based conditions using the supplied compiled
+     * regular expressions.
+     *
+     * @param matchProperties  the property-based conditions to match.
+     * @param instanceHeader the header of the instance.
+     * @param instanceProperties  the properties from the instance.
+     * @param matchers lookup of the compiled form of each regular expression
+     * @return boolean flag indicating whether the two sets of properties match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private boolean verifyMatchingInstancePropertyValues(SearchProperties                      matchProperties,
+                                                         InstanceAuditHeader                   instanceHeader,
+                                                         InstanceProperties                    instanceProperties,
+                                                         Function<String, SearchStringMatcher> matchers) throws InvalidParameterException
     {
         final String methodName = "verifyMatchingInstancePropertyValues";
         if (matchProperties == null)
@@ -4119,7 +4208,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
         for (PropertyCondition condition : conditions)
         {
             // Simplest way: this will also short-circuit to true immediately if nested conditions is null
-            boolean matchesNested = verifyMatchingInstancePropertyValues(condition.getNestedConditions(), instanceHeader, instanceProperties);
+            boolean matchesNested = verifyMatchingInstancePropertyValues(condition.getNestedConditions(), instanceHeader, instanceProperties, matchers);
             String propertyName = condition.getProperty();
             InstancePropertyValue testValue = condition.getValue();
             InstancePropertyValue actualValue = null;
@@ -4220,7 +4309,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                             else
                             {
                                 String actual = actualValue.valueAsString();
-                                matchesProperties = actual.matches(test);
+                                matchesProperties = matchers.apply(test).matches(actual);
                             }
                         }
                         else
@@ -4270,6 +4359,24 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     @Override
     public boolean verifyMatchingClassifications(SearchClassifications matchClassifications,
                                                  EntitySummary         entity) throws InvalidParameterException
+    {
+        return this.verifyMatchingClassifications(matchClassifications, entity, SearchStringMatcher::getMatcher);
+    }
+
+
+    /**
+     * Determine if the instance properties match the classification-based conditions using the supplied compiled
+     * regular expressions.
+     *
+     * @param matchClassifications  the classification-based conditions to match.
+     * @param entity  the entity instance.
+     * @param matchers lookup of the compiled form of each regular expression
+     * @return boolean flag indicating whether the classifications match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private boolean verifyMatchingClassifications(SearchClassifications                 matchClassifications,
+                                                  EntitySummary                         entity,
+                                                  Function<String, SearchStringMatcher> matchers) throws InvalidParameterException
     {
         if (matchClassifications == null)
         {
@@ -4297,7 +4404,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                 {
                     if (classificationName.equals(classification.getName()))
                     {
-                        classificationMatches = verifyMatchingInstancePropertyValues(properties, entity, classification.getProperties());
+                        classificationMatches = verifyMatchingInstancePropertyValues(properties, entity, classification.getProperties(), matchers);
                     }
                 }
                 matchingClassificationCount += (isClassified && classificationMatches) ? 1 : 0;
@@ -4438,6 +4545,34 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                                InstanceProperties  properties,
                                                                String              searchCriteria,
                                                                String              methodName) throws RepositoryErrorException
+    {
+        SearchStringMatcher matcher = null;
+
+        if (searchCriteria != null)
+        {
+            matcher = SearchStringMatcher.getMatcher(searchCriteria);
+        }
+
+        return this.verifyInstancePropertiesMatchSearchCriteria(sourceName, properties, searchCriteria, matcher, methodName);
+    }
+
+
+    /**
+     * Search for property values matching the compiled search criteria.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param properties list of properties associated with the in instance
+     * @param searchCriteria regular expression for testing the property values
+     * @param matcher compiled form of the search criteria - null if there is no search criteria
+     * @param methodName name of the method requiring the search.
+     * @return boolean indicating whether the search criteria is located in any of the string parameter values.
+     * @throws RepositoryErrorException the properties are not properly set up in the instance
+     */
+    private boolean verifyInstancePropertiesMatchSearchCriteria(String              sourceName,
+                                                                InstanceProperties  properties,
+                                                                String              searchCriteria,
+                                                                SearchStringMatcher matcher,
+                                                                String              methodName) throws RepositoryErrorException
     {
         if (properties == null)
         {
@@ -4462,7 +4597,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                             if (stringProperty != null)
                             {
-                                if (stringProperty.matches(searchCriteria))
+                                if (matcher.matches(stringProperty))
                                 {
                                     return true;
                                 }
@@ -4476,7 +4611,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         String  enumValue = enumPropertyValue.getSymbolicName();
                         if (enumValue != null)
                         {
-                            if (enumValue.matches(searchCriteria))
+                            if (matcher.matches(enumValue))
                             {
                                 return true;
                             }
@@ -4489,6 +4624,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
                                                                         structPropertyValue.getAttributes(),
                                                                         searchCriteria,
+                                                                        matcher,
                                                                         methodName))
                         {
                             return true;
@@ -4501,6 +4637,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
                                                                         arrayPropertyValue.getArrayValues(),
                                                                         searchCriteria,
+                                                                        matcher,
                                                                         methodName))
                         {
                             return true;
@@ -4513,6 +4650,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                         if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
                                                                         mapPropertyValue.getMapValues(),
                                                                         searchCriteria,
+                                                                        matcher,
                                                                         methodName))
                         {
                             return true;
@@ -4660,6 +4798,185 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     }
 
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSSearchPredicate getSearchPredicate(InstanceProperties matchProperties,
+                                                  MatchCriteria      matchCriteria)
+    {
+        Map<String, SearchStringMatcher> compiledMatchers = new HashMap<>();
+
+        this.compileMatchProperties(matchProperties, compiledMatchers);
+
+        Function<String, SearchStringMatcher> matchers = this.getMatcherLookup(compiledMatchers);
+
+        return (instanceHeader, instanceProperties) -> this.verifyMatchingInstancePropertyValues(matchProperties,
+                                                                                                 instanceHeader,
+                                                                                                 instanceProperties,
+                                                                                                 matchCriteria,
+                                                                                                 matchers);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSSearchPredicate getSearchPredicate(SearchProperties matchProperties)
+    {
+        Map<String, SearchStringMatcher> compiledMatchers = new HashMap<>();
+
+        this.compileSearchProperties(matchProperties, compiledMatchers);
+
+        Function<String, SearchStringMatcher> matchers = this.getMatcherLookup(compiledMatchers);
+
+        return (instanceHeader, instanceProperties) -> this.verifyMatchingInstancePropertyValues(matchProperties,
+                                                                                                 instanceHeader,
+                                                                                                 instanceProperties,
+                                                                                                 matchers);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSSearchPredicate getSearchPredicate(SearchClassifications matchClassifications)
+    {
+        Map<String, SearchStringMatcher> compiledMatchers = new HashMap<>();
+
+        if ((matchClassifications != null) && (matchClassifications.getConditions() != null))
+        {
+            for (ClassificationCondition condition : matchClassifications.getConditions())
+            {
+                if (condition != null)
+                {
+                    this.compileSearchProperties(condition.getMatchProperties(), compiledMatchers);
+                }
+            }
+        }
+
+        Function<String, SearchStringMatcher> matchers = this.getMatcherLookup(compiledMatchers);
+
+        return (instanceHeader, instanceProperties) -> this.verifyMatchingClassifications(matchClassifications,
+                                                                                          (EntitySummary)instanceHeader,
+                                                                                          matchers);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSSearchPredicate getSearchPredicate(String sourceName,
+                                                  String searchCriteria,
+                                                  String methodName)
+    {
+        SearchStringMatcher matcher = null;
+
+        if (searchCriteria != null)
+        {
+            matcher = new SearchStringMatcher(searchCriteria);
+        }
+
+        final SearchStringMatcher searchCriteriaMatcher = matcher;
+
+        return (instanceHeader, instanceProperties) -> this.verifyInstancePropertiesMatchSearchCriteria(sourceName,
+                                                                                                        instanceProperties,
+                                                                                                        searchCriteria,
+                                                                                                        searchCriteriaMatcher,
+                                                                                                        methodName);
+    }
+
+
+    /**
+     * Compile the regular expressions that may be used to test the match properties.  A string value may be
+     * used as it is or wrapped as a contains match depending on the type of property it is tested against.
+     *
+     * @param matchProperties the properties to match.
+     * @param compiledMatchers map of regular expression to compiled form
+     */
+    private void compileMatchProperties(InstanceProperties               matchProperties,
+                                        Map<String, SearchStringMatcher> compiledMatchers)
+    {
+        if ((matchProperties != null) && (matchProperties.getInstanceProperties() != null))
+        {
+            for (InstancePropertyValue matchPropertyValue : matchProperties.getInstanceProperties().values())
+            {
+                if (matchPropertyValue != null)
+                {
+                    String matchPropertyValueString = this.getStringFromPropertyValue(matchPropertyValue);
+
+                    if (matchPropertyValueString != null)
+                    {
+                        compiledMatchers.put(matchPropertyValueString, new SearchStringMatcher(matchPropertyValueString));
+                        compiledMatchers.put(".*" + matchPropertyValueString + ".*", new SearchStringMatcher(".*" + matchPropertyValueString + ".*"));
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Compile the regular expressions used in the LIKE conditions of the property-based conditions,
+     * including any nested conditions.
+     *
+     * @param matchProperties the property-based conditions to match.
+     * @param compiledMatchers map of regular expression to compiled form
+     */
+    private void compileSearchProperties(SearchProperties                 matchProperties,
+                                         Map<String, SearchStringMatcher> compiledMatchers)
+    {
+        if ((matchProperties != null) && (matchProperties.getConditions() != null))
+        {
+            for (PropertyCondition condition : matchProperties.getConditions())
+            {
+                if (condition != null)
+                {
+                    this.compileSearchProperties(condition.getNestedConditions(), compiledMatchers);
+
+                    InstancePropertyValue testValue = condition.getValue();
+
+                    if ((condition.getOperator() == PropertyComparisonOperator.LIKE) && (testValue instanceof PrimitivePropertyValue))
+                    {
+                        String test = testValue.valueAsString();
+
+                        if (test != null)
+                        {
+                            compiledMatchers.put(test, new SearchStringMatcher(test));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the lookup for the compiled regular expressions of a search predicate.  Any regular expression
+     * that was not compiled in advance is taken from the shared cache.
+     *
+     * @param compiledMatchers map of regular expression to compiled form
+     * @return lookup function
+     */
+    private Function<String, SearchStringMatcher> getMatcherLookup(Map<String, SearchStringMatcher> compiledMatchers)
+    {
+        return (regex) ->
+        {
+            SearchStringMatcher matcher = compiledMatchers.get(regex);
+
+            if (matcher == null)
+            {
+                matcher = SearchStringMatcher.getMatcher(regex);
+            }
+
+            return matcher;
+        };
+    }
+
+
     /**
      * Throw a logic error exception if this object does not have a repository content manager.
      * This would occur if if is being used in an environment where the OMRS has not been properly
@@ -0,0 +1,236 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * SearchStringMatcher is the compiled form of a regular expression used in a search.  It gives the same
+ * result as String.matches() without compiling the regular expression on every call.
+ *
+ * The exact match, starts with, ends with and contains regular expressions created by the
+ * OMRSRepositoryHelper (a literal string quoted between \Q and \E, optionally preceded and/or followed by .*)
+ * are run as the equivalent String operation.  Since "." does not match a line terminator, values that
+ * contain a line terminator are passed to the compiled pattern for the wild card forms.
+ *
+ * A regular expression that does not compile is remembered and the error is thrown on each call to matches
+ * so that the caller sees the same exception as String.matches() would have raised.
+ */
+class SearchStringMatcher
+{
+    private static final String QUOTE_START = "\\Q";
+    private static final String QUOTE_END   = "\\E";
+    private static final String ANY_CHARS   = ".*";
+
+    private static final int    MAX_CACHED_MATCHERS = 1000;
+
+    private static final Map<String, SearchStringMatcher> cachedMatchers = Collections.synchronizedMap(new MatcherCache());
+
+    private enum LiteralMatch
+    {
+        None,
+        Exact,
+        StartsWith,
+        EndsWith,
+        Contains
+    }
+
+    private final LiteralMatch           literalMatch;
+    private final String                 literal;
+    private final Pattern                pattern;
+    private final PatternSyntaxException patternError;
+
+
+    /**
+     * Return the matcher for the regular expression.  Matchers are cached so that the many
+     * calls made to the validator for each request do not recompile the same regular expression.
+     * The least recently used matcher is dropped when the cache is full.
+     *
+     * @param regex regular expression
+     * @return matcher
+     */
+    static SearchStringMatcher getMatcher(String regex)
+    {
+        SearchStringMatcher matcher = cachedMatchers.get(regex);
+
+        if (matcher == null)
+        {
+            matcher = new SearchStringMatcher(regex);
+
+            cachedMatchers.put(regex, matcher);
+        }
+
+        return matcher;
+    }
+
+
+    /**
+     * Constructor compiles the regular expression.
+     *
+     * @param regex regular expression
+     */
+    SearchStringMatcher(String regex)
+    {
+        LiteralMatch           literalMatch = LiteralMatch.None;
+        String                 literal      = null;
+        Pattern                pattern      = null;
+        PatternSyntaxException patternError = null;
+
+        if (isQuotedLiteral(regex))
+        {
+            literalMatch = LiteralMatch.Exact;
+            literal = regex.substring(2, regex.length() - 2);
+        }
+        else if ((regex.length() > 4) && (regex.startsWith(ANY_CHARS)) && (regex.endsWith(ANY_CHARS))
+                         && (isQuotedLiteral(regex.substring(2, regex.length() - 2))))
+        {
+            literalMatch = LiteralMatch.Contains;
+            literal = regex.substring(4, regex.length() - 4);
+        }
+        else if ((regex.endsWith(ANY_CHARS)) && (isQuotedLiteral(regex.substring(0, regex.length() - 2))))
+        {
+            literalMatch = LiteralMatch.StartsWith;
+            literal = regex.substring(2, regex.length() - 4);
+        }
+        else if ((regex.startsWith(ANY_CHARS)) && (isQuotedLiteral(regex.substring(2))))
+        {
+            literalMatch = LiteralMatch.EndsWith;
+            literal = regex.substring(4, regex.length() - 2);
+        }
+
+        if (literalMatch != LiteralMatch.Exact)
+        {
+            try
+            {
+                pattern = Pattern.compile(regex);
+            }
+            catch (PatternSyntaxException error)
+            {
+                patternError = error;
+            }
+        }
+
+        this.literalMatch = literalMatch;
+        this.literal = literal;
+        this.pattern = pattern;
+        this.patternError = patternError;
+    }
+
+
+    /**
+     * Return whether the value matches the whole of the regular expression.
+     *
+     * @param value value to test
+     * @return boolean result
+     * @throws PatternSyntaxException the regular expression is not valid
+     */
+    boolean matches(String value)
+    {
+        if (patternError != null)
+        {
+            throw patternError;
+        }
+
+        switch (literalMatch)
+        {
+            case Exact:
+                return literal.equals(value);
+
+            case StartsWith:
+                if (! hasLineTerminator(value))
+                {
+                    return value.startsWith(literal);
+                }
+                break;
+
+            case EndsWith:
+                if (! hasLineTerminator(value))
+                {
+                    return value.endsWith(literal);
+                }
+                break;
+
+            case Contains:
+                if (! hasLineTerminator(value))
+                {
+                    return value.contains(literal);
+                }
+                break;
+        }
+
+        return pattern.matcher(value).matches();
+    }
+
+
+    /**
+     * Return whether the regular expression is a single string quoted between \Q and \E.
+     *
+     * @param regex regular expression
+     * @return boolean result
+     */
+    private static boolean isQuotedLiteral(String regex)
+    {
+        return (regex.length() >= 4)
+                && (regex.startsWith(QUOTE_START))
+                && (regex.endsWith(QUOTE_END))
+                && (regex.indexOf(QUOTE_END) == regex.length() - 2);
+    }
+
+
+    /**
+     * Return whether the value contains a character that "." does not match.
+     *
+     * @param value value to test
+     * @return boolean result
+     */
+    private static boolean hasLineTerminator(String value)
+    {
+        for (int i = 0; i < value.length(); i++)
+        {
+            char character = value.charAt(i);
+
+            if ((character == '\n') || (character == '\r') || (character == '\u0085')
+                        || (character == '\u2028') || (character == '\u2029'))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * MatcherCache holds the most recently used matchers.
+     */
+    private static class MatcherCache extends LinkedHashMap<String, SearchStringMatcher>
+    {
+        private static final long serialVersionUID = 1L;
+
+
+        /**
+         * Constructor sets up the map to keep the entries in access order.
+         */
+        MatcherCache()
+        {
+            super(16, 0.75f, true);
+        }
+
+
+        /**
+         * Drop the least recently used matcher once the cache is full.
+         *
+         * @param eldest least recently used entry
+         * @return boolean result
+         */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SearchStringMatcher> eldest)
+        {
+            return size() > MAX_CACHED_MATCHERS;
+        }
+    }
+}
@@ -2001,6 +2001,72 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the entities and the optional asOfTime.
+     * @return EntityListResponse:
+     * list of EntityDetail structures in the order requested (unknown entities are left out) or
+     * InvalidParameterException the guid list is null or contains a null guid or the asOfTime property is for a future time or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  EntityListResponse getEntitiesDetail(String                  serverName,
+                                                 String                  userId,
+                                                 InstanceGUIDListRequest guidListRequest)
+    {
+        final  String   methodName = "getEntitiesDetail";
+
+        log.debug("Calling method: " + methodName);
+
+        List<String> guids    = null;
+        Date         asOfTime = null;
+
+        EntityListResponse response = new EntityListResponse();
+
+        if (guidListRequest != null)
+        {
+            guids    = guidListRequest.getGUIDs();
+            asOfTime = guidListRequest.getAsOfTime();
+        }
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            response.setEntities(metadataCollection.getEntitiesDetail(userId, guids, asOfTime));
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (FunctionNotSupportedException  error)
+        {
+            captureFunctionNotSupportedException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (Exception error)
+        {
+            captureGenericException(response, error, userId, serverName, methodName);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Return all historical versions of an entity within the bounds of the provided timestamps. To retrieve all historical
      * versions of an entity, set both the 'fromTime' and 'toTime' to null.
@@ -2344,6 +2410,103 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param countRequestParameters parameters used to limit the relationships that are counted.
+     * @return CountResponse:
+     * count of the relationships or
+     * InvalidParameterException a parameter is invalid or null or
+     * TypeErrorException the type guid passed on the request is not known by the metadata collection or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored or
+     * EntityNotKnownException the requested entity instance is not known in the metadata collection or
+     * PropertyErrorException there is a problem with the properties of the relationships or
+     * PagingErrorException there is a problem paging through the relationships or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public CountResponse countRelationshipsForEntity(String               serverName,
+                                                     String               userId,
+                                                     String               entityGUID,
+                                                     InstanceCountRequest countRequestParameters)
+    {
+        final  String   methodName = "countRelationshipsForEntity";
+
+        log.debug("Calling method: " + methodName);
+
+        String               relationshipTypeGUID = null;
+        List<InstanceStatus> limitResultsByStatus = null;
+        Date                 asOfTime             = null;
+        Date                 effectiveTime        = null;
+
+        CountResponse response = new CountResponse();
+
+        if (countRequestParameters != null)
+        {
+            relationshipTypeGUID = countRequestParameters.getTypeGUID();
+            limitResultsByStatus = countRequestParameters.getLimitResultsByStatus();
+            asOfTime             = countRequestParameters.getAsOfTime();
+            effectiveTime        = countRequestParameters.getEffectiveTime();
+        }
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            response.setCount(metadataCollection.countRelationshipsForEntity(userId,
+                                                                             entityGUID,
+                                                                             relationshipTypeGUID,
+                                                                             limitResultsByStatus,
+                                                                             asOfTime,
+                                                                             effectiveTime));
+        }
+        catch (RepositoryErrorException error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (FunctionNotSupportedException error)
+        {
+            captureFunctionNotSupportedException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (EntityNotKnownException error)
+        {
+            captureEntityNotKnownException(response, error);
+        }
+        catch (PropertyErrorException error)
+        {
+            capturePropertyErrorException(response, error);
+        }
+        catch (TypeErrorException error)
+        {
+            captureTypeErrorException(response, error);
+        }
+        catch (PagingErrorException error)
+        {
+            capturePagingErrorException(response, error);
+        }
+        catch (Exception error)
+        {
+            captureGenericException(response, error, userId, serverName, methodName);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Return a list of entities that match the supplied conditions.  The results can be returned over many pages.
      *
@@ -2862,6 +3025,105 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param countRequestParameters parameters used to limit the entities that are counted.
+     * @return CountResponse:
+     * count of the matching entities or
+     * InvalidParameterException a parameter is invalid or null or
+     * TypeErrorException the type guid passed on the request is not known by the metadata collection or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored or
+     * PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity or
+     * PagingErrorException there is a problem paging through the entities or
+     * FunctionNotSupportedException the repository does not support one of the provided parameters or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  CountResponse countEntitiesByProperty(String                     serverName,
+                                                  String                     userId,
+                                                  EntityPropertyCountRequest countRequestParameters)
+    {
+        final  String   methodName = "countEntitiesByProperty";
+
+        log.debug("Calling method: " + methodName);
+
+        String                    entityTypeGUID                    = null;
+        InstanceProperties        matchProperties                   = null;
+        MatchCriteria             matchCriteria                     = null;
+        List<InstanceStatus>      limitResultsByStatus              = null;
+        List<String>              limitResultsByClassification      = null;
+        Date                      asOfTime                          = null;
+        Date                      effectiveTime                     = null;
+
+        CountResponse response = new CountResponse();
+
+        if (countRequestParameters != null)
+        {
+            entityTypeGUID                    = countRequestParameters.getTypeGUID();
+            matchProperties                   = countRequestParameters.getMatchProperties();
+            matchCriteria                     = countRequestParameters.getMatchCriteria();
+            limitResultsByStatus              = countRequestParameters.getLimitResultsByStatus();
+            limitResultsByClassification      = countRequestParameters.getLimitResultsByClassification();
+            asOfTime                          = countRequestParameters.getAsOfTime();
+            effectiveTime                     = countRequestParameters.getEffectiveTime();
+        }
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            response.setCount(metadataCollection.countEntitiesByProperty(userId,
+                                                                         entityTypeGUID,
+                                                                         matchProperties,
+                                                                         matchCriteria,
+                                                                         limitResultsByStatus,
+                                                                         limitResultsByClassification,
+                                                                         asOfTime,
+                                                                         effectiveTime));
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (FunctionNotSupportedException  error)
+        {
+            captureFunctionNotSupportedException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (TypeErrorException error)
+        {
+            captureTypeErrorException(response, error);
+        }
+        catch (PropertyErrorException error)
+        {
+            capturePropertyErrorException(response, error);
+        }
+        catch (PagingErrorException error)
+        {
+            capturePagingErrorException(response, error);
+        }
+        catch (Exception error)
+        {
+            captureGenericException(response, error, userId, serverName, methodName);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classification attached.
      *
@@ -3585,6 +3847,72 @@ public class OMRSRepositoryRESTServices
     }
 
 
+    /**
+     * Return a list of relationships in a single request.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the relationships and the optional asOfTime.
+     * @return RelationshipListResponse:
+     * list of Relationship structures in the order requested (unknown relationships are left out) or
+     * InvalidParameterException the guid list is null or contains a null guid or the asOfTime property is for a future time or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public  RelationshipListResponse getRelationships(String                  serverName,
+                                                      String                  userId,
+                                                      InstanceGUIDListRequest guidListRequest)
+    {
+        final  String   methodName = "getRelationships";
+
+        log.debug("Calling method: " + methodName);
+
+        List<String> guids    = null;
+        Date         asOfTime = null;
+
+        RelationshipListResponse response = new RelationshipListResponse();
+
+        if (guidListRequest != null)
+        {
+            guids    = guidListRequest.getGUIDs();
+            asOfTime = guidListRequest.getAsOfTime();
+        }
+
+        try
+        {
+            OMRSMetadataCollection metadataCollection = validateRepository(userId, serverName, methodName);
+
+            response.setRelationships(metadataCollection.getRelationships(userId, guids, asOfTime));
+        }
+        catch (RepositoryErrorException  error)
+        {
+            captureRepositoryErrorException(response, error);
+        }
+        catch (FunctionNotSupportedException  error)
+        {
+            captureFunctionNotSupportedException(response, error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            captureUserNotAuthorizedException(response, error);
+        }
+        catch (InvalidParameterException error)
+        {
+            captureInvalidParameterException(response, error);
+        }
+        catch (Exception error)
+        {
+            captureGenericException(response, error, userId, serverName, methodName);
+        }
+
+        log.debug("Returning from method: " + methodName + " with response: " + response.toString());
+
+        return response;
+    }
+
+
     /**
      * Return all historical versions of a relationship within the bounds of the provided timestamps. To retrieve all
      * historical versions of a relationship, set both the 'fromTime' and 'toTime' to null.
@@ -0,0 +1,135 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class RelationshipAccumulatorTest
+{
+    @Test
+    void testMergedPage()
+    {
+        RelationshipAccumulator accumulator = new RelationshipAccumulator(null, null, null);
+        accumulator.setPagingParameters(1, 2, null, SequencingOrder.GUID);
+
+        assertTrue(accumulator.isMergingResults());
+        assertEquals(accumulator.getMemberPageSize(), 3);
+
+        List<Integer> requestedPages = new ArrayList<>();
+
+        accumulator.addRelationships(list(getRelationship("a", 1), getRelationship("c", 1), getRelationship("e", 1)),
+                                     "member1",
+                                     (fromElement, pageSize) ->
+                                     {
+                                         requestedPages.add(fromElement);
+                                         return null;
+                                     });
+        accumulator.addRelationships(list(getRelationship("a", 2), getRelationship("b", 1)),
+                                     "member2",
+                                     null);
+
+        List<Relationship> results = accumulator.getResults(null);
+
+        assertEquals(getGUIDs(results), list("b", "c"));
+        assertTrue(requestedPages.isEmpty());
+    }
+
+
+    @Test
+    void testLatestVersionKept()
+    {
+        RelationshipAccumulator accumulator = new RelationshipAccumulator(null, null, null);
+        accumulator.setPagingParameters(0, 1, null, SequencingOrder.GUID);
+
+        accumulator.addRelationships(list(getRelationship("a", 1)), "member1", null);
+        accumulator.addRelationships(list(getRelationship("a", 3)), "member2", null);
+        accumulator.addRelationships(list(getRelationship("b", 1)), "member3", null);
+
+        List<Relationship> results = accumulator.getResults(null);
+
+        assertEquals(results.size(), 1);
+        assertEquals(results.get(0).getGUID(), "a");
+        assertEquals(results.get(0).getVersion(), 3);
+    }
+
+
+    @Test
+    void testFurtherPagesRequested()
+    {
+        RelationshipAccumulator accumulator = new RelationshipAccumulator(null, null, null);
+        accumulator.setPagingParameters(0, 2, null, SequencingOrder.GUID);
+
+        List<Integer> requestedPages = new ArrayList<>();
+
+        /*
+         * Both members return the same instances so the first pages only hold one distinct relationship
+         * and more are needed from one of the members.
+         */
+        accumulator.addRelationships(list(getRelationship("a", 1), getRelationship("a", 1)),
+                                     "member1",
+                                     (fromElement, pageSize) ->
+                                     {
+                                         requestedPages.add(fromElement);
+                                         return list(getRelationship("b", 1), getRelationship("d", 1));
+                                     });
+        accumulator.addRelationships(list(getRelationship("a", 1)), "member2", null);
+
+        List<Relationship> results = accumulator.getResults(null);
+
+        assertEquals(getGUIDs(results), list("a", "b"));
+        assertEquals(requestedPages, list(2));
+    }
+
+
+    @Test
+    void testUnsequencedResultsNotMerged()
+    {
+        RelationshipAccumulator accumulator = new RelationshipAccumulator(null, null, null);
+        accumulator.setPagingParameters(0, 1, null, SequencingOrder.ANY);
+
+        assertFalse(accumulator.isMergingResults());
+
+        accumulator.addRelationships(list(getRelationship("a", 1)), "member1", null);
+        accumulator.addRelationships(list(getRelationship("b", 1)), "member2", null);
+
+        assertEquals(accumulator.getResults(null).size(), 2);
+    }
+
+
+    private Relationship getRelationship(String guid,
+                                         long   version)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setVersion(version);
+
+        return relationship;
+    }
+
+
+    private List<String> getGUIDs(List<Relationship> relationships)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (Relationship relationship : relationships)
+        {
+            guids.add(relationship.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    @SafeVarargs
+    private static <T> List<T> list(T... values)
+    {
+        return new ArrayList<>(Arrays.asList(values));
+    }
+}
@@ -0,0 +1,278 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogDestination;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogRecord;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.GetEntitiesExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Verify that ParallelFederationControl returns by the deadline set by the worker pool when a cohort member
+ * is slow to respond, and that the slow member is reported through the executor's accumulator.
+ */
+public class ParallelFederationControlTest
+{
+    private static final String USER_ID         = "testUser";
+    private static final long   REQUEST_TIMEOUT = 500L;
+    private static final long   SLOW_RESPONSE   = 10000L;
+
+    private FederationWorkerPool workerPool;
+    private AuditLog             auditLog;
+
+
+    @BeforeMethod
+    public void setUp()
+    {
+        workerPool = new FederationWorkerPool("ParallelFederationControlTest", 5, 10, REQUEST_TIMEOUT);
+        auditLog = new AuditLog(new TestAuditLogDestination(), 0, "TestComponent", "Test", null);
+    }
+
+
+    @AfterMethod
+    public void tearDown()
+    {
+        workerPool.shutdown();
+    }
+
+
+    @Test
+    public void testSlowAndFailingMembers() throws Exception
+    {
+        final String methodName = "testSlowAndFailingMembers";
+
+        List<OMRSRepositoryConnector> cohortConnectors = new ArrayList<>();
+
+        OMRSRepositoryConnector fastConnector = getCohortConnector("fastMember", 0L, false);
+
+        cohortConnectors.add(fastConnector);
+        cohortConnectors.add(getCohortConnector("slowMember", SLOW_RESPONSE, false));
+        cohortConnectors.add(getCohortConnector("failingMember", 0L, true));
+
+        GetEntitiesExecutor executor = new GetEntitiesExecutor(USER_ID,
+                                                               Collections.singletonList("1111"),
+                                                               null,
+                                                               null,
+                                                               auditLog,
+                                                               null,
+                                                               methodName);
+
+        ParallelFederationControl control = new ParallelFederationControl(USER_ID,
+                                                                          cohortConnectors,
+                                                                          workerPool,
+                                                                          auditLog,
+                                                                          methodName);
+
+        long startTime = System.currentTimeMillis();
+
+        control.executeCommand(executor);
+
+        long elapsedTime = System.currentTimeMillis() - startTime;
+
+        /*
+         * The request completes by the deadline rather than waiting for the slow member.
+         */
+        assertTrue(elapsedTime < SLOW_RESPONSE / 2, "Request took " + elapsedTime + " milliseconds");
+
+        /*
+         * The results from the fast member are returned even though the other members did not respond.
+         */
+        List<EntityDetail> results = executor.getResults(null, fastConnector.getMetadataCollection());
+
+        assertEquals(results.size(), 1);
+        assertEquals(results.get(0).getMetadataCollectionId(), "fastMember");
+    }
+
+
+    @Test
+    public void testSlowMemberReported() throws Exception
+    {
+        final String methodName = "testSlowMemberReported";
+
+        List<OMRSRepositoryConnector> cohortConnectors = new ArrayList<>();
+
+        cohortConnectors.add(getCohortConnector("failingMember", 0L, true));
+        cohortConnectors.add(getCohortConnector("slowMember", SLOW_RESPONSE, false));
+
+        GetEntitiesExecutor executor = new GetEntitiesExecutor(USER_ID,
+                                                               Collections.singletonList("1111"),
+                                                               null,
+                                                               null,
+                                                               auditLog,
+                                                               null,
+                                                               methodName);
+
+        ParallelFederationControl control = new ParallelFederationControl(USER_ID,
+                                                                          cohortConnectors,
+                                                                          workerPool,
+                                                                          auditLog,
+                                                                          methodName);
+
+        long startTime = System.currentTimeMillis();
+
+        control.executeCommand(executor);
+
+        long elapsedTime = System.currentTimeMillis() - startTime;
+
+        assertTrue(elapsedTime < SLOW_RESPONSE / 2, "Request took " + elapsedTime + " milliseconds");
+
+        /*
+         * With no results returned, the timeout captured for the slow member is passed back to the caller.
+         */
+        try
+        {
+            executor.getResults(null, null);
+            fail("RepositoryErrorException expected");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(), "OMRS-ENTERPRISE-REPOSITORY-503-004");
+            assertTrue(error.getReportedErrorMessage().contains("slowMember"));
+        }
+    }
+
+
+    /**
+     * Return a connector for a cohort member.
+     *
+     * @param metadataCollectionId unique identifier of the cohort member's metadata collection
+     * @param responseTime milliseconds the cohort member takes to respond
+     * @param failing whether the cohort member fails every request
+     * @return connector
+     */
+    private OMRSRepositoryConnector getCohortConnector(String  metadataCollectionId,
+                                                       long    responseTime,
+                                                       boolean failing)
+    {
+        return new MemberRepositoryConnector(metadataCollectionId, responseTime, failing);
+    }
+
+
+    /**
+     * MemberRepositoryConnector is the connector for a cohort member.
+     */
+    private static class MemberRepositoryConnector extends OMRSRepositoryConnector
+    {
+        MemberRepositoryConnector(String  metadataCollectionId,
+                                  long    responseTime,
+                                  boolean failing)
+        {
+            super.setRepositoryName(metadataCollectionId + "Repository");
+            super.metadataCollection = new MemberMetadataCollection(this, metadataCollectionId, responseTime, failing);
+        }
+    }
+
+
+    /**
+     * MemberMetadataCollection returns an entity for any getEntitiesDetail request after the configured
+     * delay or, if it is failing, throws an unexpected exception.
+     */
+    private static class MemberMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private final long    responseTime;
+        private final boolean failing;
+
+
+        MemberMetadataCollection(OMRSRepositoryConnector parentConnector,
+                                 String                  metadataCollectionId,
+                                 long                    responseTime,
+                                 boolean                 failing)
+        {
+            super(parentConnector, metadataCollectionId + "Repository", null, null, metadataCollectionId);
+
+            this.responseTime = responseTime;
+            this.failing = failing;
+        }
+
+
+        /**
+         * The test has no repository helper or validator so the identifier is returned without validation.
+         *
+         * @param userId calling user
+         * @return metadata collection id
+         */
+        @Override
+        public String getMetadataCollectionId(String userId)
+        {
+            return metadataCollectionId;
+        }
+
+
+        @Override
+        public List<EntityDetail> getEntitiesDetail(String       userId,
+                                                    List<String> guids,
+                                                    Date         asOfTime)
+        {
+            if (failing)
+            {
+                throw new IllegalStateException("Cohort member " + metadataCollectionId + " has failed");
+            }
+
+            try
+            {
+                Thread.sleep(responseTime);
+            }
+            catch (InterruptedException error)
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            List<EntityDetail> entities = new ArrayList<>();
+
+            for (String guid : guids)
+            {
+                EntityDetail entity = new EntityDetail();
+
+                entity.setGUID(guid);
+                entity.setMetadataCollectionId(metadataCollectionId);
+                entity.setVersion(1);
+                entities.add(entity);
+            }
+
+            return entities;
+        }
+    }
+
+
+    /**
+     * TestAuditLogDestination discards the audit log records.
+     */
+    private static class TestAuditLogDestination extends AuditLogDestination
+    {
+        /**
+         * Constructor
+         */
+        TestAuditLogDestination()
+        {
+            super(null);
+        }
+
+
+        /**
+         * Discard the log record.
+         *
+         * @param logRecord log record
+         */
+        @Override
+        public void addLogRecord(AuditLogRecord logRecord)
+        {
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class GetEntitiesExecutorTest
+{
+    @Test
+    void testResultsInRequestOrder() throws Exception
+    {
+        GetEntitiesExecutor executor = new GetEntitiesExecutor("testUser",
+                                                               list("a", "b", "x", "c"),
+                                                               null,
+                                                               null,
+                                                               null,
+                                                               null,
+                                                               "testResultsInRequestOrder");
+
+        MemberMetadataCollection member1 = new MemberMetadataCollection(list(getEntity("c", 1), getEntity("a", 1)));
+        MemberMetadataCollection member2 = new MemberMetadataCollection(list(getEntity("b", 1), getEntity("a", 2)));
+
+        executor.issueRequestToRepository("member1", member1);
+        executor.issueRequestToRepository("member2", member2);
+
+        List<EntityDetail> results = executor.getResults(null, member1);
+
+        assertEquals(getGUIDs(results), list("a", "b", "c"));
+        assertEquals(results.get(0).getVersion(), 2);
+    }
+
+
+    @Test
+    void testNoEntitiesKnown() throws Exception
+    {
+        GetEntitiesExecutor executor = new GetEntitiesExecutor("testUser",
+                                                               list("a", "b"),
+                                                               null,
+                                                               null,
+                                                               null,
+                                                               null,
+                                                               "testNoEntitiesKnown");
+
+        MemberMetadataCollection member1 = new MemberMetadataCollection(null);
+
+        executor.issueRequestToRepository("member1", member1);
+
+        assertNull(executor.getResults(null, member1));
+    }
+
+
+    private EntityDetail getEntity(String guid,
+                                   long   version)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(version);
+
+        return entity;
+    }
+
+
+    private List<String> getGUIDs(List<EntityDetail> entities)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (EntityDetail entity : entities)
+        {
+            guids.add(entity.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    @SafeVarargs
+    private static <T> List<T> list(T... values)
+    {
+        return new ArrayList<>(Arrays.asList(values));
+    }
+
+
+    /**
+     * MemberMetadataCollection returns the same entities, in its own order, for any request.
+     */
+    private static class MemberMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private final List<EntityDetail> entities;
+
+
+        MemberMetadataCollection(List<EntityDetail> entities)
+        {
+            super(null, "memberRepository", null, null, "memberMetadataCollectionId");
+
+            this.entities = entities;
+        }
+
+
+        @Override
+        public List<EntityDetail> getEntitiesDetail(String       userId,
+                                                    List<String> guids,
+                                                    Date         asOfTime)
+        {
+            return entities;
+        }
+    }
+}
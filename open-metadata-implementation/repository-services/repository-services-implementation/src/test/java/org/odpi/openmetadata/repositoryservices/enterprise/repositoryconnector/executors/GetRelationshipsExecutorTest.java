@@ -0,0 +1,114 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+import static org.testng.Assert.*;
+
+public class GetRelationshipsExecutorTest
+{
+    @Test
+    void testResultsInRequestOrder() throws Exception
+    {
+        GetRelationshipsExecutor executor = new GetRelationshipsExecutor("testUser",
+                                                                         list("a", "b", "x", "c"),
+                                                                         null,
+                                                                         null,
+                                                                         null,
+                                                                         null,
+                                                                         "testResultsInRequestOrder");
+
+        MemberMetadataCollection member1 = new MemberMetadataCollection(list(getRelationship("c", 1), getRelationship("a", 1)));
+        MemberMetadataCollection member2 = new MemberMetadataCollection(list(getRelationship("b", 1), getRelationship("a", 2)));
+
+        executor.issueRequestToRepository("member1", member1);
+        executor.issueRequestToRepository("member2", member2);
+
+        List<Relationship> results = executor.getResults(null);
+
+        assertEquals(getGUIDs(results), list("a", "b", "c"));
+        assertEquals(results.get(0).getVersion(), 2);
+    }
+
+
+    @Test
+    void testNoRelationshipsKnown() throws Exception
+    {
+        GetRelationshipsExecutor executor = new GetRelationshipsExecutor("testUser",
+                                                                         list("a", "b"),
+                                                                         null,
+                                                                         null,
+                                                                         null,
+                                                                         null,
+                                                                         "testNoRelationshipsKnown");
+
+        MemberMetadataCollection member1 = new MemberMetadataCollection(null);
+
+        executor.issueRequestToRepository("member1", member1);
+
+        assertNull(executor.getResults(null));
+    }
+
+
+    private Relationship getRelationship(String guid,
+                                         long   version)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setVersion(version);
+
+        return relationship;
+    }
+
+
+    private List<String> getGUIDs(List<Relationship> relationships)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (Relationship relationship : relationships)
+        {
+            guids.add(relationship.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    @SafeVarargs
+    private static <T> List<T> list(T... values)
+    {
+        return new ArrayList<>(Arrays.asList(values));
+    }
+
+
+    /**
+     * MemberMetadataCollection returns the same relationships, in its own order, for any request.
+     */
+    private static class MemberMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private final List<Relationship> relationships;
+
+
+        MemberMetadataCollection(List<Relationship> relationships)
+        {
+            super(null, "memberRepository", null, null, "memberMetadataCollectionId");
+
+            this.relationships = relationships;
+        }
+
+
+        @Override
+        public List<Relationship> getRelationships(String       userId,
+                                                   List<String> guids,
+                                                   Date         asOfTime)
+        {
+            return relationships;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSSearchPredicate;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.regex.PatternSyntaxException;
+
+import static org.testng.Assert.*;
+
+public class SearchStringMatcherTest
+{
+    private static final String[] SEARCH_STRINGS = { "abc", "a.c", "", "a\\Eb", "\\Q", "a*" };
+    private static final String[] VALUES         = { "abc", "xabcx", "xxabc", "abcxx", "a.c", "ABC", "xa.cx", "", "a\\Eb", "\\Q", "a*",
+                                                     "x\nabc", "abc\nx", "x\u2028abc" };
+
+
+    @Test
+    void testHelperRegexesMatchAsStringMatches()
+    {
+        OMRSRepositoryHelper helper = new OMRSRepositoryContentHelper(null);
+
+        for (String searchString : SEARCH_STRINGS)
+        {
+            for (boolean insensitive : new boolean[]{ false, true })
+            {
+                for (String regex : new String[]{ helper.getExactMatchRegex(searchString, insensitive),
+                                                  helper.getStartsWithRegex(searchString, insensitive),
+                                                  helper.getEndsWithRegex(searchString, insensitive),
+                                                  helper.getContainsRegex(searchString, insensitive),
+                                                  ".*" + helper.getExactMatchRegex(searchString) + ".*" })
+                {
+                    SearchStringMatcher matcher = new SearchStringMatcher(regex);
+
+                    for (String value : VALUES)
+                    {
+                        assertEquals(matcher.matches(value), value.matches(regex), regex + " against " + value);
+                    }
+                }
+            }
+        }
+    }
+
+
+    @Test
+    void testRegexesMatchAsStringMatches()
+    {
+        for (String regex : new String[]{ "a.c", ".*b.*", "(?i)abc", ".*", "\\Qa\\E\\Qb\\E", "\\Qa\\Eb.*" })
+        {
+            SearchStringMatcher matcher = SearchStringMatcher.getMatcher(regex);
+
+            for (String value : VALUES)
+            {
+                assertEquals(matcher.matches(value), value.matches(regex), regex + " against " + value);
+            }
+        }
+    }
+
+
+    @Test
+    void testInvalidRegex()
+    {
+        SearchStringMatcher matcher = new SearchStringMatcher("a(b");
+
+        assertThrows(PatternSyntaxException.class, () -> matcher.matches("ab"));
+    }
+
+
+    @Test
+    void testSearchPredicates() throws Exception
+    {
+        OMRSRepositoryHelper    helper    = new OMRSRepositoryContentHelper(null);
+        OMRSRepositoryValidator validator = new OMRSRepositoryContentValidator(new OMRSRepositoryContentManager("test", null));
+
+        InstanceType type = new InstanceType();
+        type.setTypeDefName("Asset");
+
+        EntityDetail entity = new EntityDetail();
+        entity.setType(type);
+        entity.setProperties(helper.addStringPropertyToInstance("test", null, "qualifiedName", "Asset::abc", "test"));
+
+        InstanceProperties matchProperties = helper.addStringPropertyToInstance("test",
+                                                                                null,
+                                                                                "qualifiedName",
+                                                                                helper.getEndsWithRegex("abc"),
+                                                                                "test");
+
+        OMRSSearchPredicate predicate = validator.getSearchPredicate(matchProperties, MatchCriteria.ALL);
+
+        assertTrue(predicate.matches(entity, entity.getProperties()));
+        assertEquals(predicate.matches(entity, entity.getProperties()),
+                     validator.verifyMatchingInstancePropertyValues(matchProperties, entity, entity.getProperties(), MatchCriteria.ALL));
+        assertFalse(validator.getSearchPredicate(matchProperties, MatchCriteria.NONE).matches(entity, entity.getProperties()));
+
+        PrimitivePropertyValue likeValue = new PrimitivePropertyValue();
+        likeValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        likeValue.setPrimitiveValue(helper.getStartsWithRegex("Asset"));
+
+        PropertyCondition condition = new PropertyCondition();
+        condition.setProperty("qualifiedName");
+        condition.setOperator(PropertyComparisonOperator.LIKE);
+        condition.setValue(likeValue);
+
+        SearchProperties searchProperties = new SearchProperties();
+        searchProperties.setConditions(Collections.singletonList(condition));
+        searchProperties.setMatchCriteria(MatchCriteria.ALL);
+
+        assertTrue(validator.getSearchPredicate(searchProperties).matches(entity, entity.getProperties()));
+
+        assertTrue(validator.getSearchPredicate("test", helper.getContainsRegex("::"), "test").matches(entity, entity.getProperties()));
+        assertFalse(validator.getSearchPredicate("test", helper.getExactMatchRegex("abc"), "test").matches(entity, entity.getProperties()));
+    }
+}
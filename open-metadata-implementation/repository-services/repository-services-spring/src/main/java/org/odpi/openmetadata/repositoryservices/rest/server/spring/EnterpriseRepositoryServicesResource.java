@@ -484,6 +484,30 @@ public class EnterpriseRepositoryServicesResource
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities in a single request.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the entities and the optional asOfTime.
+     * @return EntityListResponse:
+     * list of EntityDetail structures in the order requested (unknown entities are left out) or
+     * InvalidParameterException the guid list is null or contains a null guid or the asOfTime property is for a future time or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entities/by-guids")
+
+    public  EntityListResponse getEntitiesDetail(@PathVariable String                  serverName,
+                                                 @PathVariable String                  userId,
+                                                 @RequestBody  InstanceGUIDListRequest guidListRequest)
+    {
+        return restAPI.getEntitiesDetail(serverName, userId, guidListRequest);
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -548,6 +572,38 @@ public class EnterpriseRepositoryServicesResource
     }
 
 
+    /**
+     * Return the number of relationships for a specific entity.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param entityGUID String unique identifier for the entity.
+     * @param countRequestParameters parameters used to limit the relationships that are counted.
+     * @return CountResponse:
+     * count of the relationships or
+     * InvalidParameterException a parameter is invalid or null or
+     * TypeErrorException the type guid passed on the request is not known by the metadata collection or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored or
+     * EntityNotKnownException the requested entity instance is not known in the metadata collection or
+     * PropertyErrorException there is a problem with the properties of the relationships or
+     * PagingErrorException there is a problem paging through the relationships or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entity/{entityGUID}/relationships/count")
+
+    public CountResponse countRelationshipsForEntity(@PathVariable String               serverName,
+                                                     @PathVariable String               userId,
+                                                     @PathVariable String               entityGUID,
+                                                     @RequestBody  InstanceCountRequest countRequestParameters)
+    {
+        return restAPI.countRelationshipsForEntity(serverName, userId,
+                                                   entityGUID,
+                                                   countRequestParameters);
+    }
+
+
     /**
      * Return a list of entities that match the supplied conditions.  The results can be returned over many pages.
      *
@@ -664,6 +720,34 @@ public class EnterpriseRepositoryServicesResource
     }
 
 
+    /**
+     * Return the number of entities that match the supplied properties according to the match criteria.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param countRequestParameters parameters used to limit the entities that are counted.
+     * @return CountResponse:
+     * count of the matching entities or
+     * InvalidParameterException a parameter is invalid or null or
+     * TypeErrorException the type guid passed on the request is not known by the metadata collection or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored or
+     * PropertyErrorException the properties specified are not valid for any of the requested types of
+     *                                  entity or
+     * PagingErrorException there is a problem paging through the entities or
+     * FunctionNotSupportedException the repository does not support one of the provided parameters or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entities/by-property/count")
+
+    public  CountResponse countEntitiesByProperty(@PathVariable String                     serverName,
+                                                  @PathVariable String                     userId,
+                                                  @RequestBody  EntityPropertyCountRequest countRequestParameters)
+    {
+        return restAPI.countEntitiesByProperty(serverName, userId, countRequestParameters);
+    }
+
+
     /**
      * Return a list of entities that have the requested type of classification attached.
      *
@@ -868,6 +952,30 @@ public class EnterpriseRepositoryServicesResource
     }
 
 
+    /**
+     * Return a list of relationships in a single request.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param guidListRequest list of unique identifiers for the relationships and the optional asOfTime.
+     * @return RelationshipListResponse:
+     * list of Relationship structures in the order requested (unknown relationships are left out) or
+     * InvalidParameterException the guid list is null or contains a null guid or the asOfTime property is for a future time or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * FunctionNotSupportedException the repository does not support asOfTime parameter or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/relationships/by-guids")
+
+    public  RelationshipListResponse getRelationships(@PathVariable String                  serverName,
+                                                      @PathVariable String                  userId,
+                                                      @RequestBody  InstanceGUIDListRequest guidListRequest)
+    {
+        return restAPI.getRelationships(serverName, userId, guidListRequest);
+    }
+
+
     /**
      * Return a list of relationships that match the requested conditions.  The results can be broken into pages.
      *